@@ -0,0 +1,99 @@
+/*
+ * Copyright © 2020-2025 ForgeRock AS (obst@forgerock.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.forgerock.sapi.gateway.ob.uk.rs.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Compares the results of a benchmark run against a baseline, both in JMH's JSON result format (-rf json).
+ * <p>
+ * Prints the change in score of every benchmark present in both files and exits with status 1 if any benchmark is
+ * slower than the baseline by more than the threshold (default 10%), taking the benchmark mode into account: a
+ * throughput benchmark regresses when its score falls, a time benchmark when its score rises.
+ * <p>
+ * A missing or empty baseline is reported as "no baseline" and the comparison exits with status 0, as there is nothing
+ * to compare against until one is recorded with {@code make benchmarks-baseline}.
+ * <p>
+ * Usage: BenchmarkComparison &lt;baseline.json&gt; &lt;results.json&gt; [thresholdPercent]
+ */
+public class BenchmarkComparison {
+
+    private static final double DEFAULT_THRESHOLD_PERCENT = 10.0;
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: BenchmarkComparison <baseline.json> <results.json> [thresholdPercent]");
+            System.exit(2);
+        }
+        final double thresholdPercent = args.length > 2 ? Double.parseDouble(args[2]) : DEFAULT_THRESHOLD_PERCENT;
+        final ObjectMapper objectMapper = new ObjectMapper();
+        final File baselineFile = new File(args[0]);
+        final Map<String, JsonNode> baseline = baselineFile.isFile() ? readResults(objectMapper, baselineFile) : Map.of();
+        if (baseline.isEmpty()) {
+            System.out.println("no baseline: " + baselineFile + " holds no results, record one with 'make benchmarks-baseline'");
+            return;
+        }
+        final Map<String, JsonNode> results = readResults(objectMapper, new File(args[1]));
+
+        int regressions = 0;
+        for (Entry<String, JsonNode> result : results.entrySet()) {
+            final JsonNode baselineResult = baseline.get(result.getKey());
+            if (baselineResult == null) {
+                System.out.printf("%-110s %14s%n", result.getKey(), "no baseline");
+                continue;
+            }
+            final double baselineScore = baselineResult.path("primaryMetric").path("score").asDouble();
+            final double score = result.getValue().path("primaryMetric").path("score").asDouble();
+            final double changePercent = (score - baselineScore) / baselineScore * 100;
+            final boolean higherIsBetter = "thrpt".equals(result.getValue().path("mode").asText());
+            final boolean regression = higherIsBetter ? changePercent < -thresholdPercent : changePercent > thresholdPercent;
+            if (regression) {
+                regressions++;
+            }
+            System.out.printf("%-110s %+13.1f%% %s%s%n", result.getKey(), changePercent,
+                    result.getValue().path("primaryMetric").path("scoreUnit").asText(), regression ? "  REGRESSION" : "");
+        }
+        System.out.printf("%d of %d benchmarks regressed by more than %.1f%%%n", regressions, results.size(), thresholdPercent);
+        if (regressions > 0) {
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Reads a JMH JSON result file, keyed by the benchmark name and its parameters.
+     */
+    private static Map<String, JsonNode> readResults(ObjectMapper objectMapper, File file) throws IOException {
+        final Map<String, JsonNode> results = new LinkedHashMap<>();
+        for (JsonNode result : objectMapper.readTree(file)) {
+            final StringBuilder key = new StringBuilder(result.path("benchmark").asText());
+            final Iterator<Entry<String, JsonNode>> params = result.path("params").fields();
+            while (params.hasNext()) {
+                final Entry<String, JsonNode> param = params.next();
+                key.append(' ').append(param.getKey()).append('=').append(param.getValue().asText());
+            }
+            results.put(key.toString(), result);
+        }
+        return results;
+    }
+}
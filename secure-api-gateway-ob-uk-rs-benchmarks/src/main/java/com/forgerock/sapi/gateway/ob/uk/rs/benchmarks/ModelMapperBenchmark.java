@@ -0,0 +1,119 @@
+/*
+ * Copyright © 2020-2025 ForgeRock AS (obst@forgerock.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.forgerock.sapi.gateway.ob.uk.rs.benchmarks;
+
+import static uk.org.openbanking.testsupport.v3.payment.OBWriteInternationalScheduledConsentTestDataFactory.aValidOBWriteInternationalScheduled3DataInitiation;
+
+import java.net.URI;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.forgerock.sapi.gateway.ob.uk.common.datamodel.converter.v3.mapper.FRModelMapper;
+import com.forgerock.sapi.gateway.ob.uk.rs.server.common.mapper.OBConsentResponseInitiationMapper;
+import com.forgerock.sapi.gateway.ob.uk.rs.server.v4.common.mapper.OBStatusReasonMapper;
+import com.forgerock.sapi.gateway.rs.resource.store.api.admin.events.FRDataEventsConverter;
+import com.forgerock.sapi.gateway.rs.resource.store.repo.entity.event.FREventMessageEntity;
+
+import uk.org.openbanking.datamodel.v3.event.OBEvent1;
+import uk.org.openbanking.datamodel.v3.event.OBEventLink1;
+import uk.org.openbanking.datamodel.v3.event.OBEventNotification1;
+import uk.org.openbanking.datamodel.v3.event.OBEventResourceUpdate1;
+import uk.org.openbanking.datamodel.v3.event.OBEventSubject1;
+import uk.org.openbanking.datamodel.v3.payment.OBWriteInternationalScheduled3DataInitiation;
+import uk.org.openbanking.datamodel.v3.payment.OBWriteInternationalScheduledConsentResponse6DataInitiation;
+import uk.org.openbanking.datamodel.v4.common.OBStatusReason;
+import uk.org.openbanking.datamodel.v4.payment.OBWriteDomesticResponse5Data;
+
+/**
+ * Compares the reflective {@link FRModelMapper} with the compile time generated mappers that replaced it on the
+ * payment response and event paths.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ModelMapperBenchmark {
+
+    private OBWriteInternationalScheduled3DataInitiation initiation;
+    private List<OBStatusReason> statusReasons;
+    private FREventMessageEntity eventMessageEntity;
+
+    @Setup
+    public void setup() {
+        initiation = aValidOBWriteInternationalScheduled3DataInitiation();
+        statusReasons = new OBWriteDomesticResponse5Data().getStatusReason();
+        eventMessageEntity = FREventMessageEntity.builder()
+                .jti("b460a07c-4962-43d1-85ee-9dc10fbb8f6c")
+                .iss("https://examplebank.com/")
+                .iat(1516239022)
+                .sub(URI.create("https://examplebank.com/api/open-banking/v3.1.10/pisp/domestic-payments/pmt-7290-003"))
+                .aud("7umx5nTR33811QyQfi")
+                .txn("dfc51628-3479-4b81-ad60-210b43d02306")
+                .toe(1516239022)
+                .events(new OBEvent1().urnColonUkColonOrgColonOpenbankingColonEventsColonResourceUpdate(
+                        new OBEventResourceUpdate1().subject(new OBEventSubject1()
+                                .subjectType("http://openbanking.org.uk/rid_http://openbanking.org.uk/rty")
+                                .httpColonOpenbankingOrgUkRid("pmt-7290-003")
+                                .httpColonOpenbankingOrgUkRty("domestic-payment")
+                                .httpColonOpenbankingOrgUkRlk(List.of(new OBEventLink1()
+                                        .link("https://examplebank.com/api/open-banking/v3.1.10/pisp/domestic-payments/pmt-7290-003")
+                                        .version("v3.1.10"))))))
+                .build();
+    }
+
+    @Benchmark
+    public OBWriteInternationalScheduledConsentResponse6DataInitiation initiationReflective() {
+        return FRModelMapper.map(initiation, OBWriteInternationalScheduledConsentResponse6DataInitiation.class);
+    }
+
+    @Benchmark
+    public OBWriteInternationalScheduledConsentResponse6DataInitiation initiationGenerated() {
+        return OBConsentResponseInitiationMapper.INSTANCE.toOBWriteInternationalScheduledConsentResponse6DataInitiation(initiation);
+    }
+
+    @Benchmark
+    public OBStatusReason statusReasonReflective() {
+        return FRModelMapper.map(statusReasons, OBStatusReason.class);
+    }
+
+    @Benchmark
+    public OBStatusReason statusReasonGenerated() {
+        return OBStatusReasonMapper.toOBStatusReason(statusReasons);
+    }
+
+    @Benchmark
+    public OBEventNotification1 eventNotificationReflective() {
+        return FRModelMapper.map(eventMessageEntity, OBEventNotification1.class);
+    }
+
+    @Benchmark
+    public OBEventNotification1 eventNotificationGenerated() {
+        return FRDataEventsConverter.toOBEventNotification1(eventMessageEntity);
+    }
+}
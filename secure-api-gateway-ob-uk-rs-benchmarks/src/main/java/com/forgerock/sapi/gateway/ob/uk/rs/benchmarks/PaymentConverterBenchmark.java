@@ -0,0 +1,77 @@
+/*
+ * Copyright © 2020-2025 ForgeRock AS (obst@forgerock.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.forgerock.sapi.gateway.ob.uk.rs.benchmarks;
+
+import static uk.org.openbanking.testsupport.v3.payment.OBWriteDomesticConsentTestDataFactory.aValidOBWriteDomesticConsent4;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.forgerock.sapi.gateway.ob.uk.common.datamodel.converter.v3.mapper.FRModelMapper;
+import com.forgerock.sapi.gateway.ob.uk.common.datamodel.converter.v3.payment.FRWriteDomesticConsentConverter;
+import com.forgerock.sapi.gateway.ob.uk.common.datamodel.payment.FRWriteDomesticConsent;
+
+import uk.org.openbanking.datamodel.v3.payment.OBWriteDomesticConsent4;
+import uk.org.openbanking.datamodel.v4.payment.OBWriteDomestic2DataInitiation;
+
+/**
+ * Conversions between the OBIE and FR data models that are made to build every payment consent and payment response.
+ * <p>
+ * The hand written FR*Converter conversions are measured alongside {@link FRModelMapper#map}, the reflective mapper
+ * used by the v4 controllers to convert between the v3 and v4 OBIE models.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class PaymentConverterBenchmark {
+
+    private OBWriteDomesticConsent4 obConsent;
+    private FRWriteDomesticConsent frConsent;
+
+    @Setup
+    public void setup() {
+        obConsent = aValidOBWriteDomesticConsent4();
+        frConsent = FRWriteDomesticConsentConverter.toFRWriteDomesticConsent(obConsent);
+    }
+
+    @Benchmark
+    public FRWriteDomesticConsent toFRWriteDomesticConsent() {
+        return FRWriteDomesticConsentConverter.toFRWriteDomesticConsent(obConsent);
+    }
+
+    @Benchmark
+    public OBWriteDomesticConsent4 toOBWriteDomesticConsent4() {
+        return FRWriteDomesticConsentConverter.toOBWriteDomesticConsent4(frConsent);
+    }
+
+    @Benchmark
+    public OBWriteDomestic2DataInitiation modelMapperInitiationToV4() {
+        return FRModelMapper.map(obConsent.getData().getInitiation(), OBWriteDomestic2DataInitiation.class);
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright © 2020-2025 ForgeRock AS (obst@forgerock.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.forgerock.sapi.gateway.ob.uk.rs.benchmarks;
+
+import java.io.StringReader;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.forgerock.sapi.gateway.ob.uk.common.error.OBErrorException;
+import com.forgerock.sapi.gateway.ob.uk.rs.server.common.payment.file.PaymentFile;
+import com.forgerock.sapi.gateway.ob.uk.rs.server.common.payment.file.PaymentFileSummary;
+import com.forgerock.sapi.gateway.ob.uk.rs.server.common.payment.file.processor.json.OBIEPaymentInitiation31FileProcessor;
+import com.forgerock.sapi.gateway.ob.uk.rs.server.common.payment.file.processor.xml.OBIEPain001FileProcessor;
+
+/**
+ * Parsing of payment files in the two formats supported by the RS, for files of 1k, 10k and 100k transactions.
+ * <p>
+ * The streaming benchmarks pass each payment to a consumer as it is parsed, as is done when a file is uploaded, the
+ * processFile benchmarks also hold all payments of the file in memory, as is done when a file payment is submitted.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 10)
+@Measurement(iterations = 5, time = 10)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class PaymentFileProcessorBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    private int numberOfTransactions;
+
+    private OBIEPaymentInitiation31FileProcessor jsonFileProcessor;
+    private OBIEPain001FileProcessor pain001FileProcessor;
+    private String jsonFile;
+    private String pain001File;
+
+    @Setup
+    public void setup() {
+        jsonFileProcessor = new OBIEPaymentInitiation31FileProcessor();
+        pain001FileProcessor = new OBIEPain001FileProcessor();
+        jsonFile = createPaymentInitiation31File(numberOfTransactions);
+        pain001File = createPain001File(numberOfTransactions);
+    }
+
+    @Benchmark
+    public PaymentFileSummary streamPaymentInitiation31File(Blackhole blackhole) throws OBErrorException {
+        return jsonFileProcessor.processFile(new StringReader(jsonFile), blackhole::consume);
+    }
+
+    @Benchmark
+    public PaymentFile processPaymentInitiation31File() throws OBErrorException {
+        return jsonFileProcessor.processFile(jsonFile);
+    }
+
+    @Benchmark
+    public PaymentFileSummary streamPain001File(Blackhole blackhole) throws OBErrorException {
+        return pain001FileProcessor.processFile(new StringReader(pain001File), blackhole::consume);
+    }
+
+    @Benchmark
+    public PaymentFile processPain001File() throws OBErrorException {
+        return pain001FileProcessor.processFile(pain001File);
+    }
+
+    static String createPaymentInitiation31File(int numberOfTransactions) {
+        final StringBuilder file = new StringBuilder("{\"Data\":{\"DomesticPayments\":[");
+        for (int i = 0; i < numberOfTransactions; i++) {
+            if (i > 0) {
+                file.append(',');
+            }
+            file.append("{\"InstructionIdentification\":\"INSTR-").append(i).append('"')
+                .append(",\"EndToEndIdentification\":\"E2E-").append(i).append('"')
+                .append(",\"LocalInstrument\":\"UK.OBIE.FPS\"")
+                .append(",\"InstructedAmount\":{\"Amount\":\"").append(amount(i)).append("\",\"Currency\":\"GBP\"}")
+                .append(",\"DebtorAccount\":{\"SchemeName\":\"UK.OBIE.SortCodeAccountNumber\",\"Identification\":\"11280001234567\",\"Name\":\"Andrea Smith\"}")
+                .append(",\"CreditorAccount\":{\"SchemeName\":\"UK.OBIE.SortCodeAccountNumber\",\"Identification\":\"0808")
+                .append(String.format("%010d", i)).append("\",\"Name\":\"Bob Clements\"}")
+                .append(",\"RemittanceInformation\":{\"Reference\":\"REF-").append(i)
+                .append("\",\"Unstructured\":\"Internal ops code ").append(i).append("\"}}");
+        }
+        return file.append("]}}").toString();
+    }
+
+    static String createPain001File(int numberOfTransactions) {
+        final StringBuilder file = new StringBuilder("<?xml version=\"1.0\" encoding=\"UTF-8\"?>")
+                .append("<Document xmlns=\"urn:iso:std:iso:20022:tech:xsd:pain.001.001.08\"><CstmrCdtTrfInitn>")
+                .append("<GrpHdr><MsgId>BENCHMARK</MsgId><CreDtTm>2024-01-01T09:00:00</CreDtTm>")
+                .append("<NbOfTxs>").append(numberOfTransactions).append("</NbOfTxs>")
+                .append("<InitgPty><Nm>ABC Corporation</Nm></InitgPty></GrpHdr>")
+                .append("<PmtInf><PmtInfId>BENCHMARK/1</PmtInfId><PmtMtd>TRF</PmtMtd>")
+                .append("<ReqdExctnDt><Dt>2024-01-02</Dt></ReqdExctnDt><Dbtr><Nm>ABC Corporation</Nm></Dbtr>")
+                .append("<DbtrAcct><Id><Othr><Id>00125574999</Id></Othr></Id></DbtrAcct>")
+                .append("<DbtrAgt><FinInstnId><BICFI>BBBBGB22</BICFI></FinInstnId></DbtrAgt>");
+        for (int i = 0; i < numberOfTransactions; i++) {
+            file.append("<CdtTrfTxInf><PmtId><InstrId>INSTR-").append(i).append("</InstrId>")
+                .append("<EndToEndId>E2E-").append(i).append("</EndToEndId></PmtId>")
+                .append("<Amt><InstdAmt Ccy=\"GBP\">").append(amount(i)).append("</InstdAmt></Amt>")
+                .append("<Cdtr><Nm>Bob Clements</Nm></Cdtr>")
+                .append("<CdtrAcct><Id><Othr><Id>0808").append(String.format("%010d", i)).append("</Id></Othr></Id></CdtrAcct>")
+                .append("<RmtInf><Ustrd>Internal ops code ").append(i).append("</Ustrd>")
+                .append("<Strd><CdtrRefInf><Ref>REF-").append(i).append("</Ref></CdtrRefInf></Strd></RmtInf>")
+                .append("</CdtTrfTxInf>");
+        }
+        return file.append("</PmtInf></CstmrCdtTrfInitn></Document>").toString();
+    }
+
+    private static String amount(int i) {
+        return (i % 1000 + 1) + "." + String.format("%02d", i % 100);
+    }
+}
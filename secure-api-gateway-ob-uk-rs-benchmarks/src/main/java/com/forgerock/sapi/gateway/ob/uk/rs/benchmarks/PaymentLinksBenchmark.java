@@ -0,0 +1,86 @@
+/*
+ * Copyright © 2020-2025 ForgeRock AS (obst@forgerock.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.forgerock.sapi.gateway.ob.uk.rs.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import com.forgerock.sapi.gateway.ob.uk.rs.server.api.obie.payment.v3_1_10.domesticpayments.DomesticPaymentsApiController;
+import com.forgerock.sapi.gateway.ob.uk.rs.server.common.util.PaginationUtil;
+import com.forgerock.sapi.gateway.ob.uk.rs.server.common.util.link.LinksHelper;
+
+import uk.org.openbanking.datamodel.v3.common.Links;
+
+/**
+ * Creation of the Links returned in every OBIE response: the paginated links of account reads and the self links of
+ * payment resources, which are built from the current request by Spring HATEOAS.
+ * <p>
+ * Benchmarks run in a single thread, so the request bound in {@link #setup()} is seen by every invocation.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class PaymentLinksBenchmark {
+
+    private static final String TRANSACTIONS_URL = "https://rs.aspsp.example.com/open-banking/v3.1.10/aisp/accounts/"
+            + "e2a8ca5e-2ad2-4e1b-8d5b-7c3e5c9b2a4f/transactions?fromBookingDateTime=2024-01-01T00:00:00";
+
+    @Setup
+    public void setup() {
+        final MockHttpServletRequest request = new MockHttpServletRequest("POST", "/open-banking/v3.1.10/pisp/domestic-payments");
+        request.setScheme("https");
+        request.setServerName("rs.aspsp.example.com");
+        request.setServerPort(443);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    }
+
+    @TearDown
+    public void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Benchmark
+    public Links generateFirstPageLinks() {
+        return PaginationUtil.generateLinks(TRANSACTIONS_URL, 0, 10);
+    }
+
+    @Benchmark
+    public Links generateMiddlePageLinks() {
+        return PaginationUtil.generateLinks(TRANSACTIONS_URL, 5, 10);
+    }
+
+    @Benchmark
+    public Links createDomesticPaymentLink() {
+        return LinksHelper.createDomesticPaymentLink(DomesticPaymentsApiController.class, "PDC_5e9f3b2a1c");
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright © 2020-2025 ForgeRock AS (obst@forgerock.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.forgerock.sapi.gateway.ob.uk.rs.benchmarks;
+
+import static uk.org.openbanking.testsupport.v3.payment.OBWriteDomesticConsentTestDataFactory.aValidOBWriteDomesticConsent4;
+import static uk.org.openbanking.testsupport.v4.payment.OBWriteInternationalConsentTestDataFactory.aValidOBWriteInternationalConsent5;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.forgerock.sapi.gateway.ob.uk.common.error.OBErrorResponseException;
+import com.forgerock.sapi.gateway.ob.uk.rs.server.configuration.validation.DefaultOBValidationModule;
+import com.forgerock.sapi.gateway.ob.uk.rs.validation.ValidateAll;
+import com.forgerock.sapi.gateway.ob.uk.rs.validation.ValidationResult;
+import com.forgerock.sapi.gateway.ob.uk.rs.validation.Validator;
+import com.forgerock.sapi.gateway.ob.uk.rs.validation.obie.BaseOBValidator;
+import com.forgerock.sapi.gateway.ob.uk.rs.validation.obie.OBValidationService;
+import com.forgerock.sapi.gateway.ob.uk.rs.validation.obie.v3.payment.OBRisk1Validator;
+import com.forgerock.sapi.gateway.ob.uk.rs.validation.obie.v4.payment.OBRisk1ValidatorV4;
+
+import uk.org.openbanking.datamodel.v3.error.OBError1;
+import uk.org.openbanking.datamodel.v3.payment.OBWriteDomestic2DataInitiationInstructedAmount;
+import uk.org.openbanking.datamodel.v3.payment.OBWriteDomesticConsent4;
+import uk.org.openbanking.datamodel.v4.payment.OBWriteInternationalConsent5;
+
+/**
+ * Validation of payment consent requests by the validators created by the {@link DefaultOBValidationModule}, which
+ * runs on every consent creation.
+ * <p>
+ * The domestic consent rules are also measured as a flat {@link ValidateAll} chain, which is how
+ * {@link OBValidationService} combines a list of validators.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class PaymentValidationBenchmark {
+
+    private OBValidationService<OBWriteDomesticConsent4> domesticPaymentConsentValidator;
+    private OBValidationService<OBWriteInternationalConsent5> internationalPaymentConsentValidatorV4;
+    private ValidateAll<OBWriteDomesticConsent4, OBError1> domesticPaymentConsentValidateAll;
+    private OBWriteDomesticConsent4 domesticPaymentConsent;
+    private OBWriteInternationalConsent5 internationalPaymentConsent;
+
+    @Setup
+    public void setup() {
+        final DefaultOBValidationModule validationModule = new DefaultOBValidationModule();
+        final OBRisk1Validator riskValidator = validationModule.paymentRiskValidator(false);
+        final OBRisk1ValidatorV4 riskValidatorV4 = validationModule.paymentRiskValidatorV4(false);
+        domesticPaymentConsentValidator = validationModule.domesticPaymentConsentValidator(riskValidator);
+        internationalPaymentConsentValidatorV4 = validationModule.internationalPaymentConsentValidatorV4(riskValidatorV4);
+
+        final BaseOBValidator<OBWriteDomestic2DataInitiationInstructedAmount> instructedAmountValidator = validationModule.instructedAmountValidator();
+        domesticPaymentConsentValidateAll = new ValidateAll<>(List.<Validator<OBWriteDomesticConsent4, OBError1>>of(
+                consent -> instructedAmountValidator.validate(consent.getData().getInitiation().getInstructedAmount()),
+                consent -> riskValidator.validate(consent.getRisk())));
+
+        domesticPaymentConsent = aValidOBWriteDomesticConsent4();
+        internationalPaymentConsent = aValidOBWriteInternationalConsent5();
+    }
+
+    @Benchmark
+    public OBWriteDomesticConsent4 validateDomesticPaymentConsent() throws OBErrorResponseException {
+        domesticPaymentConsentValidator.validate(domesticPaymentConsent);
+        return domesticPaymentConsent;
+    }
+
+    @Benchmark
+    public ValidationResult<OBError1> validateAllDomesticPaymentConsent() {
+        return domesticPaymentConsentValidateAll.validate(domesticPaymentConsent);
+    }
+
+    @Benchmark
+    public OBWriteInternationalConsent5 validateInternationalPaymentConsentV4() throws OBErrorResponseException {
+        internationalPaymentConsentValidatorV4.validate(internationalPaymentConsent);
+        return internationalPaymentConsent;
+    }
+}
@@ -74,6 +74,9 @@ public interface TransactionsApi {
             @ApiParam(value = "Page number.", required = false, defaultValue = "0")
             @RequestParam(value = "page", defaultValue = "0") int page,
 
+            @ApiParam(value = "Opaque cursor returned in Links.Next when keyset pagination is in use.", required = false)
+            @RequestParam(value = "cursor", required = false) String cursor,
+
             @ApiParam(value = "An Authorisation Token as per https://tools.ietf.org/html/rfc6750", required = true)
             @RequestHeader(value = "Authorization", required = true) String authorization,
 
@@ -191,6 +194,9 @@ public interface TransactionsApi {
             @ApiParam(value = "Page number.", required = false, defaultValue = "0")
             @RequestParam(value = "page", defaultValue = "0") int page,
 
+            @ApiParam(value = "Opaque cursor returned in Links.Next when keyset pagination is in use.", required = false)
+            @RequestParam(value = "cursor", required = false) String cursor,
+
             @ApiParam(value = "An Authorisation Token as per https://tools.ietf.org/html/rfc6750", required = true)
             @RequestHeader(value = "Authorization", required = true) String authorization,
 
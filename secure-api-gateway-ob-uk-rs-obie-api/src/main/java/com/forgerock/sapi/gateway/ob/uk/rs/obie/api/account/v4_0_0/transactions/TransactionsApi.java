@@ -120,7 +120,8 @@ public interface TransactionsApi {
             @Parameter(name = "toBookingDateTime", description = "The UTC ISO 8601 Date Time to filter transactions TO NB Time component is optional - set to 00:00:00 for just Date. If the Date Time contains a timezone, the ASPSP must ignore the timezone component.", in = ParameterIn.QUERY) @Valid @RequestParam(value = "toBookingDateTime", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime toBookingDateTime,
             @Parameter(name = "x-api-client-id", description = "OAuth2.0 client_id of the ApiClient making the request", in = ParameterIn.HEADER) @RequestHeader(value = "x-api-client-id") String apiClientId,
             @Parameter(name = "x-intent-id", description = "openbanking_intent_id from the access_token", in = ParameterIn.HEADER) @RequestHeader(value = "x-intent-id") String consentId,
-            @Parameter(name = "page", description = "Page number.", in = ParameterIn.HEADER) @RequestHeader(value = "page", defaultValue = "0") int page
+            @Parameter(name = "page", description = "Page number.", in = ParameterIn.HEADER) @RequestHeader(value = "page", defaultValue = "0") int page,
+            @Parameter(name = "cursor", description = "Opaque cursor returned in Links.Next when keyset pagination is in use.", in = ParameterIn.QUERY) @RequestParam(value = "cursor", required = false) String cursor
     ) throws OBErrorException;
 
     /**
@@ -193,7 +194,8 @@ public interface TransactionsApi {
             @Parameter(name = "toBookingDateTime", description = "The UTC ISO 8601 Date Time to filter transactions TO NB Time component is optional - set to 00:00:00 for just Date. If the Date Time contains a timezone, the ASPSP must ignore the timezone component.", in = ParameterIn.QUERY) @Valid @RequestParam(value = "toBookingDateTime", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime toBookingDateTime,
             @Parameter(name = "x-api-client-id", description = "OAuth2.0 client_id of the ApiClient making the request", in = ParameterIn.HEADER) @RequestHeader(value = "x-api-client-id") String apiClientId,
             @Parameter(name = "x-intent-id", description = "openbanking_intent_id from the access_token", in = ParameterIn.HEADER) @RequestHeader(value = "x-intent-id") String consentId,
-            @Parameter(name = "page", description = "Page number.", in = ParameterIn.HEADER) @RequestHeader(value = "page", defaultValue = "0") int page
+            @Parameter(name = "page", description = "Page number.", in = ParameterIn.HEADER) @RequestHeader(value = "page", defaultValue = "0") int page,
+            @Parameter(name = "cursor", description = "Opaque cursor returned in Links.Next when keyset pagination is in use.", in = ParameterIn.QUERY) @RequestParam(value = "cursor", required = false) String cursor
     ) throws OBErrorException;
 
 }
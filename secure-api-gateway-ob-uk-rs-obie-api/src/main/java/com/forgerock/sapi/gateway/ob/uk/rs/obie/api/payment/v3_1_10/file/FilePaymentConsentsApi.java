@@ -230,7 +230,7 @@ public interface FilePaymentConsentsApi {
     @RequestMapping(value = "/file-payment-consents/{ConsentId}/file",
             produces = {"*/*"},
             method = RequestMethod.GET)
-    ResponseEntity<String> getFilePaymentConsentsConsentIdFile(
+    ResponseEntity<Object> getFilePaymentConsentsConsentIdFile(
             @ApiParam(value = "ConsentId", required = true)
             @PathVariable("ConsentId") String consentId,
 
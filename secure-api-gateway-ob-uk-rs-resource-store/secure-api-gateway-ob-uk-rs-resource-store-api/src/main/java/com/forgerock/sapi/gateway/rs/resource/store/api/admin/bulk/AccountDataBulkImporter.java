@@ -0,0 +1,175 @@
+/*
+ * Copyright © 2020-2025 ForgeRock AS (obst@forgerock.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.forgerock.sapi.gateway.rs.resource.store.api.admin.bulk;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.forgerock.sapi.gateway.rs.resource.store.datamodel.user.FRDataImportReport;
+import com.forgerock.sapi.gateway.rs.resource.store.repo.entity.account.FRBalance;
+import com.forgerock.sapi.gateway.rs.resource.store.repo.entity.account.FRBeneficiary;
+import com.forgerock.sapi.gateway.rs.resource.store.repo.entity.account.FRDirectDebit;
+import com.forgerock.sapi.gateway.rs.resource.store.repo.entity.account.FROffer;
+import com.forgerock.sapi.gateway.rs.resource.store.repo.entity.account.FRScheduledPayment;
+import com.forgerock.sapi.gateway.rs.resource.store.repo.entity.account.FRStandingOrder;
+import com.forgerock.sapi.gateway.rs.resource.store.repo.entity.account.FRStatement;
+import com.forgerock.sapi.gateway.rs.resource.store.repo.entity.account.FRTransaction;
+import com.forgerock.sapi.gateway.rs.resource.store.repo.mongo.accounts.FRAccountDataBatch;
+import com.forgerock.sapi.gateway.rs.resource.store.repo.mongo.accounts.FRAccountDataBulkRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Version independent part of the admin data import: validates the document limits for all of a user's new account
+ * data with a single query and writes it with a bulk insert per collection.
+ * <p>
+ * When rs.data.import.parallel is enabled the accounts are converted and written concurrently, each account's batch
+ * being written by a separate task.
+ */
+@Component
+@Slf4j
+public class AccountDataBulkImporter implements DisposableBean {
+
+    // The resource types which are subject to rs.data.upload.limit.documents, with the name used in the error message
+    private static final Map<Class<?>, String> LIMITED_RESOURCES = new LinkedHashMap<>();
+
+    static {
+        LIMITED_RESOURCES.put(FRBalance.class, "balance");
+        LIMITED_RESOURCES.put(FRBeneficiary.class, "beneficiaries");
+        LIMITED_RESOURCES.put(FRDirectDebit.class, "direct debits");
+        LIMITED_RESOURCES.put(FRStandingOrder.class, "standing orders");
+        LIMITED_RESOURCES.put(FRTransaction.class, "transactions");
+        LIMITED_RESOURCES.put(FRStatement.class, "statements");
+        LIMITED_RESOURCES.put(FRScheduledPayment.class, "scheduled payments");
+        LIMITED_RESOURCES.put(FROffer.class, "offers");
+    }
+
+    private final FRAccountDataBulkRepository accountDataBulkRepository;
+    private final int documentLimit;
+    private final ExecutorService executor;
+
+    public AccountDataBulkImporter(FRAccountDataBulkRepository accountDataBulkRepository,
+                                   @Value("${rs.data.upload.limit.documents}") Integer documentLimit,
+                                   @Value("${rs.data.import.parallel:false}") boolean parallel,
+                                   @Value("${rs.data.import.threads:4}") int threads) {
+        this.accountDataBulkRepository = accountDataBulkRepository;
+        this.documentLimit = documentLimit;
+        this.executor = parallel ? Executors.newFixedThreadPool(threads, new CustomizableThreadFactory("data-import-")) : null;
+    }
+
+    /**
+     * Converts the account data into batches, one per account.
+     *
+     * @param numberOfAccounts the number of accounts being imported
+     * @param converter        converts the account at the index into a batch, it must be safe to call concurrently for
+     *                         different indexes
+     * @return the batches, in account order
+     */
+    public List<FRAccountDataBatch> convert(int numberOfAccounts, IntFunction<FRAccountDataBatch> converter) {
+        if (executor == null) {
+            return IntStream.range(0, numberOfAccounts).mapToObj(converter).toList();
+        }
+        return runAll(IntStream.range(0, numberOfAccounts)
+                .<Supplier<FRAccountDataBatch>>mapToObj(index -> () -> converter.apply(index))
+                .toList());
+    }
+
+    /**
+     * Checks that writing the batches would not take the number of documents of any limited resource type belonging to
+     * the user's accounts over rs.data.upload.limit.documents.
+     *
+     * @param accountIds all the user's account ids, including those of the accounts being imported
+     * @throws ResponseStatusException PAYLOAD_TOO_LARGE if a limit would be exceeded
+     */
+    public void checkDocumentLimits(Set<String> accountIds, List<FRAccountDataBatch> batches) {
+        final FRAccountDataBatch newDocuments = merge(batches);
+        final Map<Class<?>, List<?>> newDocumentsByEntityClass = newDocuments.getDocumentsByEntityClass();
+        final Map<Class<?>, Long> existingCounts = accountDataBulkRepository.countByAccountIdIn(accountIds, LIMITED_RESOURCES.keySet());
+        LIMITED_RESOURCES.forEach((entityClass, resourceName) -> {
+            if (existingCounts.get(entityClass) + newDocumentsByEntityClass.get(entityClass).size() > documentLimit) {
+                throw new ResponseStatusException(HttpStatus.PAYLOAD_TOO_LARGE,
+                        String.format("Cannot add %s as it has exceeded maximum limit of %s", resourceName, documentLimit));
+            }
+        });
+    }
+
+    /**
+     * Writes the batches, either as a single bulk insert per collection or, in parallel mode, concurrently per account.
+     *
+     * @return report of the number of accounts imported and the number of documents written by collection name
+     */
+    public FRDataImportReport write(List<FRAccountDataBatch> batches) {
+        final long start = System.currentTimeMillis();
+        final List<Map<String, Integer>> results;
+        if (executor == null) {
+            results = List.of(accountDataBulkRepository.insertAll(merge(batches)));
+        } else {
+            results = runAll(batches.stream()
+                    .<Supplier<Map<String, Integer>>>map(batch -> () -> accountDataBulkRepository.insertAll(batch))
+                    .toList());
+        }
+        final Map<String, Integer> rowsWritten = new LinkedHashMap<>();
+        results.forEach(result -> result.forEach((collection, rows) -> rowsWritten.merge(collection, rows, Integer::sum)));
+        final int accountsImported = batches.stream().mapToInt(batch -> batch.getAccounts().size()).sum();
+        log.info("Imported account data for {} accounts in {}ms, documents written by collection: {}",
+                accountsImported, System.currentTimeMillis() - start, rowsWritten);
+        return new FRDataImportReport(accountsImported, rowsWritten);
+    }
+
+    private static FRAccountDataBatch merge(List<FRAccountDataBatch> batches) {
+        final FRAccountDataBatch merged = new FRAccountDataBatch();
+        batches.forEach(merged::addAll);
+        return merged;
+    }
+
+    private <T> List<T> runAll(List<Supplier<T>> tasks) {
+        final List<CompletableFuture<T>> futures = new ArrayList<>(tasks.size());
+        tasks.forEach(task -> futures.add(CompletableFuture.supplyAsync(task, executor)));
+        try {
+            return futures.stream().map(CompletableFuture::join).toList();
+        } catch (CompletionException e) {
+            // Surface validation errors, such as a ResponseStatusException, as if the task had been run inline
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    @Override
+    public void destroy() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+}
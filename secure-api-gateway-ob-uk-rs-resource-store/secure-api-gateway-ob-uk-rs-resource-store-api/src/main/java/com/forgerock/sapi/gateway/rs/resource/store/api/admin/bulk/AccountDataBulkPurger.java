@@ -0,0 +1,182 @@
+/*
+ * Copyright © 2020-2025 ForgeRock AS (obst@forgerock.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.forgerock.sapi.gateway.rs.resource.store.api.admin.bulk;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import com.forgerock.sapi.gateway.rs.resource.store.repo.entity.account.FRAccount;
+import com.forgerock.sapi.gateway.rs.resource.store.repo.entity.account.FRBalance;
+import com.forgerock.sapi.gateway.rs.resource.store.repo.entity.account.FRBeneficiary;
+import com.forgerock.sapi.gateway.rs.resource.store.repo.entity.account.FRDirectDebit;
+import com.forgerock.sapi.gateway.rs.resource.store.repo.entity.account.FROffer;
+import com.forgerock.sapi.gateway.rs.resource.store.repo.entity.account.FRParty;
+import com.forgerock.sapi.gateway.rs.resource.store.repo.entity.account.FRProduct;
+import com.forgerock.sapi.gateway.rs.resource.store.repo.entity.account.FRScheduledPayment;
+import com.forgerock.sapi.gateway.rs.resource.store.repo.entity.account.FRStandingOrder;
+import com.forgerock.sapi.gateway.rs.resource.store.repo.entity.account.FRStatement;
+import com.forgerock.sapi.gateway.rs.resource.store.repo.entity.account.FRTransaction;
+import com.forgerock.sapi.gateway.rs.resource.store.repo.entity.customerinfo.FRCustomerInfoEntity;
+import com.forgerock.sapi.gateway.rs.resource.store.repo.mongo.accounts.FRAccountDataBulkRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Version independent removal of a user's data: deletes the documents of all the user's accounts with a single
+ * accountId IN (...) delete per collection, running the collections concurrently on a pool of rs.data.purge.threads.
+ * <p>
+ * Large users can be purged asynchronously, the {@link DataPurgeJob} returned by {@link #submit(String)} is polled
+ * through {@link #getJob(String)}. Jobs, synchronous ones included, are held in memory by the instance that ran them
+ * for rs.data.purge.job-retention after they finish.
+ */
+@Component
+@Slf4j
+public class AccountDataBulkPurger implements DisposableBean {
+
+    // The collections holding documents which belong to an account, the accounts themselves are deleted last
+    private static final List<Class<?>> ACCOUNT_RESOURCES = List.of(FRBalance.class, FRProduct.class,
+            FRBeneficiary.class, FRDirectDebit.class, FRStandingOrder.class, FRTransaction.class, FRStatement.class,
+            FRScheduledPayment.class, FRParty.class, FROffer.class);
+
+    private final FRAccountDataBulkRepository accountDataBulkRepository;
+    private final Duration jobRetention;
+    private final ExecutorService deleteExecutor;
+    // Async purges run one at a time, so that a batch of them does not starve the synchronous purges of the pool
+    private final ExecutorService jobExecutor;
+    private final Map<String, DataPurgeJob> jobs = new ConcurrentHashMap<>();
+
+    public AccountDataBulkPurger(FRAccountDataBulkRepository accountDataBulkRepository,
+                                 @Value("${rs.data.purge.threads:4}") int threads,
+                                 @Value("${rs.data.purge.job-retention:1h}") Duration jobRetention) {
+        this.accountDataBulkRepository = accountDataBulkRepository;
+        this.jobRetention = jobRetention;
+        this.deleteExecutor = Executors.newFixedThreadPool(threads, new CustomizableThreadFactory("data-purge-"));
+        this.jobExecutor = Executors.newSingleThreadExecutor(new CustomizableThreadFactory("data-purge-job-"));
+    }
+
+    /**
+     * Deletes the user's accounts, the documents belonging to them, the user's parties and customer info.
+     *
+     * @return the completed job, with the number of documents deleted by collection name
+     */
+    public DataPurgeJob purge(String userId) {
+        final DataPurgeJob job = register(userId);
+        try {
+            run(job);
+        } catch (RuntimeException e) {
+            job.failed(e.getMessage());
+            throw e;
+        }
+        return job;
+    }
+
+    /**
+     * Submits an asynchronous purge of the user's data.
+     *
+     * @return the pending job, to be polled through {@link #getJob(String)}
+     */
+    public DataPurgeJob submit(String userId) {
+        final DataPurgeJob job = register(userId);
+        jobExecutor.execute(() -> {
+            try {
+                run(job);
+            } catch (RuntimeException e) {
+                log.error("Failed to purge data of user {}", job.getUserId(), e);
+                job.failed(e.getMessage());
+            }
+        });
+        return job;
+    }
+
+    public Optional<DataPurgeJob> getJob(String jobId) {
+        return Optional.ofNullable(jobs.get(jobId));
+    }
+
+    private DataPurgeJob register(String userId) {
+        removeExpiredJobs();
+        final DataPurgeJob job = new DataPurgeJob(userId);
+        jobs.put(job.getId(), job);
+        return job;
+    }
+
+    private void run(DataPurgeJob job) {
+        job.running();
+        final long start = System.currentTimeMillis();
+        final String userId = job.getUserId();
+        final List<String> accountIds = accountDataBulkRepository.findAccountIdsByUserId(userId);
+
+        final Map<String, CompletableFuture<Long>> deletes = new LinkedHashMap<>();
+        for (Class<?> entityClass : ACCOUNT_RESOURCES) {
+            deletes.put(accountDataBulkRepository.getCollectionName(entityClass),
+                    runAsync(() -> accountDataBulkRepository.deleteByAccountIdIn(entityClass, accountIds)));
+        }
+        final CompletableFuture<Long> userParties = runAsync(() -> accountDataBulkRepository.deletePartiesByUserId(userId));
+        final CompletableFuture<Long> customerInfo = runAsync(() -> accountDataBulkRepository.deleteCustomerInfoByUserId(userId));
+
+        final Map<String, Long> deletedCounts = new LinkedHashMap<>();
+        deletes.forEach((collection, delete) -> deletedCounts.put(collection, join(delete)));
+        deletedCounts.merge(accountDataBulkRepository.getCollectionName(FRParty.class), join(userParties), Long::sum);
+        deletedCounts.put(accountDataBulkRepository.getCollectionName(FRCustomerInfoEntity.class), join(customerInfo));
+        // Only once everything belonging to them has gone, so that a failed purge can be retried
+        final long deletedAccounts = accountDataBulkRepository.deleteAccountsByIdIn(accountIds);
+        deletedCounts.put(accountDataBulkRepository.getCollectionName(FRAccount.class), deletedAccounts);
+
+        log.info("Purged data of user {} with {} accounts in {}ms, documents deleted by collection: {}",
+                userId, accountIds.size(), System.currentTimeMillis() - start, deletedCounts);
+        job.completed(deletedAccounts, deletedCounts);
+    }
+
+    private void removeExpiredJobs() {
+        final Instant expiry = Instant.now().minus(jobRetention);
+        jobs.values().removeIf(job -> job.isFinished() && job.getCompletedAt().isBefore(expiry));
+    }
+
+    private CompletableFuture<Long> runAsync(Supplier<Long> delete) {
+        return CompletableFuture.supplyAsync(delete, deleteExecutor);
+    }
+
+    private static long join(CompletableFuture<Long> delete) {
+        try {
+            return delete.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    @Override
+    public void destroy() {
+        jobExecutor.shutdownNow();
+        deleteExecutor.shutdownNow();
+    }
+}
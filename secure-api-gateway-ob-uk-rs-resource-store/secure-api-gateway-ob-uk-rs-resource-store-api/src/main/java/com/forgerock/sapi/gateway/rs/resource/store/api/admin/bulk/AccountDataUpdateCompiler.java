@@ -0,0 +1,164 @@
+/*
+ * Copyright © 2020-2025 ForgeRock AS (obst@forgerock.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.forgerock.sapi.gateway.rs.resource.store.api.admin.bulk;
+
+import org.springframework.data.mongodb.core.query.Update;
+
+import com.forgerock.sapi.gateway.ob.uk.common.datamodel.account.FRAccountBeneficiary;
+import com.forgerock.sapi.gateway.ob.uk.common.datamodel.account.FRDirectDebitData;
+import com.forgerock.sapi.gateway.ob.uk.common.datamodel.account.FROfferData;
+import com.forgerock.sapi.gateway.ob.uk.common.datamodel.account.FRScheduledPaymentData;
+import com.forgerock.sapi.gateway.ob.uk.common.datamodel.account.FRStandingOrderData;
+import com.forgerock.sapi.gateway.ob.uk.common.datamodel.account.FRStatementData;
+import com.forgerock.sapi.gateway.ob.uk.common.datamodel.account.FRTransactionData;
+
+/**
+ * Compiles the diffs of the admin data update API into targeted updates, which set only the fields present in the diff
+ * rather than rewriting the whole document. Fields which are copied to the top level of an entity for querying (e.g.
+ * the transaction's bookingDateTime) are set in both places.
+ * <p>
+ * As the update bypasses the entity, the updated audit date is set by the update itself.
+ */
+public final class AccountDataUpdateCompiler {
+
+    private static final String UPDATED = "updated";
+
+    private AccountDataUpdateCompiler() {
+    }
+
+    public static Update beneficiaryUpdate(FRAccountBeneficiary diff) {
+        return new FieldUpdate("beneficiary")
+                .set("reference", diff.getReference())
+                .set("creditorAccount", diff.getCreditorAccount())
+                .toUpdate();
+    }
+
+    public static Update directDebitUpdate(FRDirectDebitData diff) {
+        return new FieldUpdate("directDebit")
+                .set("name", diff.getName())
+                .set("directDebitStatusCode", diff.getDirectDebitStatusCode())
+                .set("mandateIdentification", diff.getMandateIdentification())
+                .set("previousPaymentAmount", diff.getPreviousPaymentAmount())
+                .set("previousPaymentDateTime", diff.getPreviousPaymentDateTime())
+                .toUpdate();
+    }
+
+    public static Update standingOrderUpdate(FRStandingOrderData diff) {
+        return new FieldUpdate("standingOrder")
+                .set("frequency", diff.getFrequency())
+                .set("reference", diff.getReference())
+                .set("firstPaymentAmount", diff.getFirstPaymentAmount())
+                .set("firstPaymentDateTime", diff.getFirstPaymentDateTime())
+                .set("nextPaymentAmount", diff.getNextPaymentAmount())
+                .set("nextPaymentDateTime", diff.getNextPaymentDateTime())
+                .set("finalPaymentAmount", diff.getFinalPaymentAmount())
+                .set("finalPaymentDateTime", diff.getFinalPaymentDateTime())
+                .set("creditorAccount", diff.getCreditorAccount())
+                .toUpdate();
+    }
+
+    public static Update transactionUpdate(FRTransactionData diff) {
+        return new FieldUpdate("transaction")
+                .set("transactionReference", diff.getTransactionReference())
+                .set("amount", diff.getAmount())
+                .set("creditDebitIndicator", diff.getCreditDebitIndicator())
+                .set("status", diff.getStatus())
+                .setWithTopLevel("bookingDateTime", diff.getBookingDateTime())
+                .set("valueDateTime", diff.getValueDateTime())
+                .set("transactionInformation", diff.getTransactionInformation())
+                .set("bankTransactionCode", diff.getBankTransactionCode())
+                .set("proprietaryBankTransactionCode", diff.getProprietaryBankTransactionCode())
+                .set("balance", diff.getBalance())
+                .toUpdate();
+    }
+
+    public static Update statementUpdate(FRStatementData diff) {
+        return new FieldUpdate("statement")
+                .setWithTopLevel("endDateTime", diff.getEndDateTime())
+                .setWithTopLevel("startDateTime", diff.getStartDateTime())
+                .set("type", diff.getType())
+                .set("creationDateTime", diff.getCreationDateTime())
+                .set("statementAmounts", diff.getStatementAmounts())
+                .set("statementBenefits", diff.getStatementBenefits())
+                .set("statementDateTimes", diff.getStatementDateTimes())
+                .set("statementDescriptions", diff.getStatementDescriptions())
+                .set("statementFees", diff.getStatementFees())
+                .set("statementInterests", diff.getStatementInterests())
+                .set("statementRates", diff.getStatementRates())
+                .set("statementReference", diff.getStatementReference())
+                .set("statementValues", diff.getStatementValues())
+                .toUpdate();
+    }
+
+    public static Update scheduledPaymentUpdate(FRScheduledPaymentData diff) {
+        return new FieldUpdate("scheduledPayment")
+                .set("creditorAccount", diff.getCreditorAccount())
+                .set("instructedAmount", diff.getInstructedAmount())
+                .set("reference", diff.getReference())
+                .set("creditorAgent", diff.getCreditorAgent())
+                .set("scheduledPaymentDateTime", diff.getScheduledPaymentDateTime())
+                .set("scheduledType", diff.getScheduledType())
+                .toUpdate();
+    }
+
+    public static Update offerUpdate(FROfferData diff) {
+        return new FieldUpdate("offer")
+                .set("amount", diff.getAmount())
+                .set("description", diff.getDescription())
+                .set("endDateTime", diff.getEndDateTime())
+                .set("startDateTime", diff.getStartDateTime())
+                .set("URL", diff.getURL())
+                .set("value", diff.getValue())
+                .set("fee", diff.getFee())
+                .set("offerType", diff.getOfferType())
+                .set("rate", diff.getRate())
+                .set("term", diff.getTerm())
+                .toUpdate();
+    }
+
+    /**
+     * Sets the non-null fields of the entity's nested data object.
+     */
+    private static class FieldUpdate {
+
+        private final String prefix;
+        private final Update update = new Update();
+
+        FieldUpdate(String field) {
+            this.prefix = field + ".";
+        }
+
+        FieldUpdate set(String field, Object value) {
+            if (value != null) {
+                update.set(prefix + field, value);
+            }
+            return this;
+        }
+
+        FieldUpdate setWithTopLevel(String field, Object value) {
+            if (value != null) {
+                update.set(prefix + field, value);
+                update.set(field, value);
+            }
+            return this;
+        }
+
+        Update toUpdate() {
+            // Always present, so that a diff without any fields still checks the document exists
+            return update.currentDate(UPDATED);
+        }
+    }
+}
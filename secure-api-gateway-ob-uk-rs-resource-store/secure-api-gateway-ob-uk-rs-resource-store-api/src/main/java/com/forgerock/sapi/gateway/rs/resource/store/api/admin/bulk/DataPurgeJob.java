@@ -0,0 +1,78 @@
+/*
+ * Copyright © 2020-2025 ForgeRock AS (obst@forgerock.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.forgerock.sapi.gateway.rs.resource.store.api.admin.bulk;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.UUID;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import lombok.Getter;
+
+/**
+ * The status of a purge of a user's data, as returned by the admin data API. Purges submitted in async mode are
+ * polled through their id until they are COMPLETED or FAILED.
+ */
+@Getter
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class DataPurgeJob {
+
+    public enum Status {
+        PENDING,
+        RUNNING,
+        COMPLETED,
+        FAILED
+    }
+
+    private final String id;
+    private final String userId;
+    private final Instant createdAt;
+    private volatile Status status;
+    private volatile Instant completedAt;
+    private volatile long deletedAccounts;
+    // The number of documents deleted by collection name, set once the purge has completed
+    private volatile Map<String, Long> deletedCounts;
+    private volatile String error;
+
+    DataPurgeJob(String userId) {
+        this.id = UUID.randomUUID().toString();
+        this.userId = userId;
+        this.createdAt = Instant.now();
+        this.status = Status.PENDING;
+    }
+
+    void running() {
+        this.status = Status.RUNNING;
+    }
+
+    void completed(long deletedAccounts, Map<String, Long> deletedCounts) {
+        this.deletedAccounts = deletedAccounts;
+        this.deletedCounts = deletedCounts;
+        this.completedAt = Instant.now();
+        this.status = Status.COMPLETED;
+    }
+
+    void failed(String error) {
+        this.error = error;
+        this.completedAt = Instant.now();
+        this.status = Status.FAILED;
+    }
+
+    boolean isFinished() {
+        return status == Status.COMPLETED || status == Status.FAILED;
+    }
+}
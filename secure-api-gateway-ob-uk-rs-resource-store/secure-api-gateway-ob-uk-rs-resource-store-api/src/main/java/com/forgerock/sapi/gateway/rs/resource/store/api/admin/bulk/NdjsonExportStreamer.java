@@ -0,0 +1,143 @@
+/*
+ * Copyright © 2020-2025 ForgeRock AS (obst@forgerock.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.forgerock.sapi.gateway.rs.resource.store.api.admin.bulk;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Runs NDJSON exports on a pool of rs.data.export.threads, sending the records to a {@link ResponseBodyEmitter} a chunk
+ * at a time.
+ * <p>
+ * The emitter is given the export's own timeout, rs.data.export.timeout, so that long exports don't need the async
+ * request timeout of every endpoint to be raised. An export which times out, or whose client disconnects, stops at the
+ * next record it writes.
+ */
+@Component
+@Slf4j
+public class NdjsonExportStreamer implements DisposableBean {
+
+    private static final int CHUNK_SIZE = 64 * 1024;
+
+    private final ObjectMapper objectMapper;
+    private final Duration timeout;
+    private final ExecutorService exportExecutor;
+
+    public NdjsonExportStreamer(ObjectMapper objectMapper,
+                                @Value("${rs.data.export.threads:2}") int threads,
+                                @Value("${rs.data.export.timeout:15m}") Duration timeout) {
+        this.objectMapper = objectMapper;
+        this.timeout = timeout;
+        this.exportExecutor = Executors.newFixedThreadPool(threads, new CustomizableThreadFactory("data-export-"));
+    }
+
+    /**
+     * Starts the export, the returned emitter completes once the export has written all of its records.
+     *
+     * @param export writes the records of the export
+     */
+    public ResponseBodyEmitter stream(Consumer<NdjsonExportWriter> export) {
+        final ResponseBodyEmitter emitter = new ResponseBodyEmitter(timeout.toMillis());
+        final EmitterOutputStream outputStream = new EmitterOutputStream(emitter);
+        emitter.onTimeout(outputStream::cancel);
+        emitter.onError(e -> outputStream.cancel());
+        exportExecutor.execute(() -> {
+            try {
+                export.accept(new NdjsonExportWriter(objectMapper, outputStream));
+                outputStream.flush();
+                emitter.complete();
+            } catch (IOException | RuntimeException e) {
+                log.warn("Data export did not complete", e);
+                emitter.completeWithError(e);
+            }
+        });
+        return emitter;
+    }
+
+    @Override
+    public void destroy() {
+        exportExecutor.shutdownNow();
+    }
+
+    /**
+     * Buffers the records written by an export and sends them to the emitter in chunks of CHUNK_SIZE bytes, sending
+     * blocks until the chunk is written to the client so at most one chunk per export is held in memory.
+     */
+    private static class EmitterOutputStream extends OutputStream {
+
+        private final ResponseBodyEmitter emitter;
+        private final ByteArrayOutputStream chunk = new ByteArrayOutputStream(CHUNK_SIZE);
+        private volatile boolean cancelled;
+
+        private EmitterOutputStream(ResponseBodyEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            ensureNotCancelled();
+            chunk.write(b);
+            sendFullChunk();
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            ensureNotCancelled();
+            chunk.write(b, off, len);
+            sendFullChunk();
+        }
+
+        @Override
+        public void flush() throws IOException {
+            if (chunk.size() > 0) {
+                ensureNotCancelled();
+                emitter.send(chunk.toByteArray(), NdjsonExportWriter.APPLICATION_NDJSON);
+                chunk.reset();
+            }
+        }
+
+        private void sendFullChunk() throws IOException {
+            if (chunk.size() >= CHUNK_SIZE) {
+                flush();
+            }
+        }
+
+        private void cancel() {
+            cancelled = true;
+        }
+
+        private void ensureNotCancelled() throws IOException {
+            if (cancelled) {
+                throw new IOException("Export cancelled, it timed out or the client disconnected");
+            }
+        }
+    }
+}
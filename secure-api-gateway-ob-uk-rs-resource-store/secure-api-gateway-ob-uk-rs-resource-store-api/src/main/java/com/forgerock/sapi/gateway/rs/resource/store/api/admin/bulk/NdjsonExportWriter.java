@@ -0,0 +1,80 @@
+/*
+ * Copyright © 2020-2025 ForgeRock AS (obst@forgerock.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.forgerock.sapi.gateway.rs.resource.store.api.admin.bulk;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+
+import org.springframework.http.MediaType;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import lombok.Value;
+
+/**
+ * Writes exported data as newline delimited JSON, one record per line, so that an export can be written as it is read
+ * from the database rather than being built up in memory first.
+ * <p>
+ * Each line is a {@link ExportRecord} holding the type of the data (e.g. account, transaction), the id of the account it
+ * belongs to and the data itself in its OB API representation.
+ */
+public class NdjsonExportWriter {
+
+    public static final MediaType APPLICATION_NDJSON = MediaType.parseMediaType("application/x-ndjson");
+    public static final String APPLICATION_NDJSON_VALUE = "application/x-ndjson";
+    /**
+     * Header of a paged export which has more pages, holding the afterAccountId to request the next page with.
+     */
+    public static final String NEXT_AFTER_ACCOUNT_ID_HEADER = "x-next-after-account-id";
+
+    private static final byte NEWLINE = '\n';
+
+    private final ObjectWriter recordWriter;
+    private final OutputStream outputStream;
+
+    public NdjsonExportWriter(ObjectMapper objectMapper, OutputStream outputStream) {
+        this.recordWriter = objectMapper.writerFor(ExportRecord.class);
+        this.outputStream = outputStream;
+    }
+
+    /**
+     * Writes a record as a single line.
+     *
+     * @param type      the type of the data
+     * @param accountId the id of the account which the data belongs to, or null if the data does not belong to an account
+     * @param data      the data to write
+     * @throws UncheckedIOException if the record could not be written, for example because the client disconnected
+     */
+    public void write(String type, String accountId, Object data) {
+        try {
+            outputStream.write(recordWriter.writeValueAsBytes(new ExportRecord(type, accountId, data)));
+            outputStream.write(NEWLINE);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Value
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class ExportRecord {
+        String type;
+        String accountId;
+        Object data;
+    }
+}
@@ -17,7 +17,6 @@ package com.forgerock.sapi.gateway.rs.resource.store.api.admin.events;
 
 import java.util.Objects;
 
-import com.forgerock.sapi.gateway.ob.uk.common.datamodel.converter.v3.mapper.FRModelMapper;
 import com.forgerock.sapi.gateway.ob.uk.common.datamodel.event.FREventMessage;
 import com.forgerock.sapi.gateway.rs.resource.store.repo.entity.event.FREventMessageEntity;
 
@@ -27,24 +26,24 @@ public class FRDataEventsConverter {
 
     public static final FREventMessageEntity toFREventMessageEntity(String apiClientId, FREventMessage frEventMessage) {
         Objects.requireNonNull(apiClientId, "api client Id must not be null");
-        FREventMessageEntity entity = FRModelMapper.map(frEventMessage, FREventMessageEntity.class);
+        FREventMessageEntity entity = FREventMessageMapper.INSTANCE.toFREventMessageEntity(frEventMessage);
         entity.setApiClientId(apiClientId);
         return entity;
     }
 
     public static final FREventMessageEntity toFREventMessageEntity(String apiClientId, OBEventNotification1 obEventNotification1) {
         Objects.requireNonNull(apiClientId, "api client Id must not be null");
-        FREventMessageEntity entity = FRModelMapper.map(obEventNotification1, FREventMessageEntity.class);
+        FREventMessageEntity entity = FREventMessageMapper.INSTANCE.toFREventMessageEntity(obEventNotification1);
         entity.setApiClientId(apiClientId);
         return entity;
     }
 
     public static final OBEventNotification1 toOBEventNotification1(FREventMessageEntity entity) {
-        return FRModelMapper.map(entity, OBEventNotification1.class);
+        return FREventMessageMapper.INSTANCE.toOBEventNotification1(entity);
     }
 
     public static final FREventMessage toFREventMessage(FREventMessageEntity entity) {
-        return FRModelMapper.map(entity, FREventMessage.class);
+        return FREventMessageMapper.INSTANCE.toFREventMessage(entity);
     }
 
 }
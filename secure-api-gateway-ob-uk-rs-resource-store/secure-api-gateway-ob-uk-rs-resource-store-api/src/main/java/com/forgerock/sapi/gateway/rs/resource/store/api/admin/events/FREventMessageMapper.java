@@ -0,0 +1,45 @@
+/*
+ * Copyright © 2020-2025 ForgeRock AS (obst@forgerock.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.forgerock.sapi.gateway.rs.resource.store.api.admin.events;
+
+import org.mapstruct.Mapper;
+import org.mapstruct.ReportingPolicy;
+import org.mapstruct.factory.Mappers;
+
+import com.forgerock.sapi.gateway.ob.uk.common.datamodel.event.FREventMessage;
+import com.forgerock.sapi.gateway.rs.resource.store.repo.entity.event.FREventMessageEntity;
+
+import uk.org.openbanking.datamodel.v3.event.OBEventNotification1;
+
+/**
+ * Mappings between {@link FREventMessageEntity} and the FR and OB event models used by {@link FRDataEventsConverter}.
+ * <p>
+ * The implementation is generated at compile time. Properties are matched by name, properties without a source (such
+ * as the entity's id and apiClientId) are left unset.
+ */
+@Mapper(unmappedTargetPolicy = ReportingPolicy.IGNORE)
+interface FREventMessageMapper {
+
+    FREventMessageMapper INSTANCE = Mappers.getMapper(FREventMessageMapper.class);
+
+    FREventMessageEntity toFREventMessageEntity(FREventMessage frEventMessage);
+
+    FREventMessageEntity toFREventMessageEntity(OBEventNotification1 obEventNotification1);
+
+    OBEventNotification1 toOBEventNotification1(FREventMessageEntity entity);
+
+    FREventMessage toFREventMessage(FREventMessageEntity entity);
+}
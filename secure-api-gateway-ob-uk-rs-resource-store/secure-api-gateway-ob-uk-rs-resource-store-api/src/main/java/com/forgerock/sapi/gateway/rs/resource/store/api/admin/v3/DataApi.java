@@ -16,6 +16,8 @@
 package com.forgerock.sapi.gateway.rs.resource.store.api.admin.v3;
 
 import com.forgerock.sapi.gateway.ob.uk.rs.cloud.client.exceptions.ExceptionClient;
+import com.forgerock.sapi.gateway.rs.resource.store.api.admin.bulk.DataPurgeJob;
+import com.forgerock.sapi.gateway.rs.resource.store.api.admin.bulk.NdjsonExportWriter;
 import com.forgerock.sapi.gateway.rs.resource.store.datamodel.account.v3.FRAccountData;
 import com.forgerock.sapi.gateway.rs.resource.store.datamodel.user.v3.FRUserData;
 import io.swagger.annotations.*;
@@ -23,10 +25,12 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
 import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
 
 @Api(tags = "Data API", description = "the internal Data API")
 @RequestMapping("/admin/data")
@@ -51,6 +55,28 @@ public interface DataApi {
             @PageableDefault Pageable pageable
     );
 
+    @ApiOperation(value = "Streams all Account data", nickname = "streamAccountData",
+            notes = "Streams a page of Account data as newline delimited JSON, one account or account resource per line. "
+                    + "Accounts are exported in id order, when there are more pages the x-next-after-account-id header "
+                    + "holds the afterAccountId of the next page")
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "Data streamed successfully"),
+            @ApiResponse(code = 400, message = "Bad request"),
+            @ApiResponse(code = 403, message = "Forbidden"),
+            @ApiResponse(code = 405, message = "Method Not Allowed"),
+            @ApiResponse(code = 406, message = "Not Acceptable"),
+            @ApiResponse(code = 429, message = "Too Many Requests"),
+            @ApiResponse(code = 500, message = "Internal Server Error")})
+    @RequestMapping(value = "/account",
+            produces = {NdjsonExportWriter.APPLICATION_NDJSON_VALUE},
+            method = RequestMethod.GET)
+    ResponseEntity<ResponseBodyEmitter> streamAccountData(
+            @ApiParam(value = "Id of the last account of the previous page, omitted for the first page")
+            @RequestParam(value = "afterAccountId", required = false) String afterAccountId,
+            @ApiParam(value = "Maximum number of accounts in the page, defaults to and may not exceed rs.data.export.account-limit")
+            @RequestParam(value = "limit", required = false) Integer limit
+    );
+
     @ApiOperation(value = "User has data", nickname = "has-data",
             notes = "Determines if a user has data in Mongo DB", response = Boolean.class)
     @ApiResponses(value = {
@@ -87,6 +113,25 @@ public interface DataApi {
             @RequestParam("userId") String userId
     );
 
+    @ApiOperation(value = "Stream User data", nickname = "streamUserData",
+            notes = "Streams all data for a user as newline delimited JSON, the user's details followed by one account or account resource per line")
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "Streams the data for a User"),
+            @ApiResponse(code = 400, message = "Bad request"),
+            @ApiResponse(code = 403, message = "Forbidden"),
+            @ApiResponse(code = 404, message = "Not found"),
+            @ApiResponse(code = 405, message = "Method Not Allowed"),
+            @ApiResponse(code = 406, message = "Not Acceptable"),
+            @ApiResponse(code = 429, message = "Too Many Requests"),
+            @ApiResponse(code = 500, message = "Internal Server Error")})
+    @RequestMapping(value = "/user",
+            produces = {NdjsonExportWriter.APPLICATION_NDJSON_VALUE},
+            method = RequestMethod.GET)
+    ResponseEntity<ResponseBodyEmitter> streamUserData(
+            @ApiParam(value = "UserId", required = true)
+            @RequestParam("userId") String userId
+    );
+
     @ApiOperation(value = "Update User data", nickname = "updateUserData",
             notes = "Updates a user's data", response = FRUserData.class)
     @ApiResponses(value = {
@@ -143,4 +188,47 @@ public interface DataApi {
             @ApiParam(value = "UserName", required = true)
             @RequestParam("userName") String userName
     ) throws ExceptionClient;
+
+    @ApiOperation(value = "Purge User data", nickname = "purgeUserData",
+            notes = "Deletes a user's data from Mongo DB with a single delete per collection, returning the number of "
+                    + "documents deleted from each. Large users can be purged asynchronously, the returned job is "
+                    + "then polled until it has completed", response = DataPurgeJob.class)
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "The user's data was deleted", response = DataPurgeJob.class),
+            @ApiResponse(code = 202, message = "The purge of the user's data was submitted", response = DataPurgeJob.class),
+            @ApiResponse(code = 400, message = "Bad request"),
+            @ApiResponse(code = 403, message = "Forbidden"),
+            @ApiResponse(code = 404, message = "Not found"),
+            @ApiResponse(code = 405, message = "Method Not Allowed"),
+            @ApiResponse(code = 406, message = "Not Acceptable"),
+            @ApiResponse(code = 429, message = "Too Many Requests"),
+            @ApiResponse(code = 500, message = "Internal Server Error")})
+    @RequestMapping(value = "/user/purge",
+            produces = {"application/json; charset=utf-8"},
+            method = RequestMethod.POST)
+    ResponseEntity<DataPurgeJob> purgeUserData(
+            @ApiParam(value = "UserName", required = true)
+            @RequestParam("userName") String userName,
+            @ApiParam(value = "Whether to purge the data asynchronously")
+            @RequestParam(value = "async", defaultValue = "false") boolean async
+    ) throws ExceptionClient;
+
+    @ApiOperation(value = "Get purge job", nickname = "getPurgeJob",
+            notes = "Returns the status of a purge of a user's data", response = DataPurgeJob.class)
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "The purge job", response = DataPurgeJob.class),
+            @ApiResponse(code = 400, message = "Bad request"),
+            @ApiResponse(code = 403, message = "Forbidden"),
+            @ApiResponse(code = 404, message = "Not found"),
+            @ApiResponse(code = 405, message = "Method Not Allowed"),
+            @ApiResponse(code = 406, message = "Not Acceptable"),
+            @ApiResponse(code = 429, message = "Too Many Requests"),
+            @ApiResponse(code = 500, message = "Internal Server Error")})
+    @RequestMapping(value = "/user/purge/{jobId}",
+            produces = {"application/json; charset=utf-8"},
+            method = RequestMethod.GET)
+    ResponseEntity<DataPurgeJob> getPurgeJob(
+            @ApiParam(value = "Job id", required = true)
+            @PathVariable("jobId") String jobId
+    );
 }
@@ -15,20 +15,10 @@
  */
 package com.forgerock.sapi.gateway.rs.resource.store.api.admin.v3;
 
-import static com.forgerock.sapi.gateway.ob.uk.common.datamodel.converter.v3.account.FRAccountBeneficiaryConverter.toOBBeneficiary5;
-import static com.forgerock.sapi.gateway.ob.uk.common.datamodel.converter.v3.account.FRCashBalanceConverter.toOBReadBalance1DataBalance;
-import static com.forgerock.sapi.gateway.ob.uk.common.datamodel.converter.v3.account.FRDirectDebitConverter.toOBReadDirectDebit2DataDirectDebit;
-import static com.forgerock.sapi.gateway.ob.uk.common.datamodel.converter.v3.account.FRFinancialAccountConverter.toOBAccount6;
-import static com.forgerock.sapi.gateway.ob.uk.common.datamodel.converter.v3.account.FROfferConverter.toOBReadOffer1DataOffer;
 import static com.forgerock.sapi.gateway.ob.uk.common.datamodel.converter.v3.account.FRPartyConverter.toFRPartyData;
 import static com.forgerock.sapi.gateway.ob.uk.common.datamodel.converter.v3.account.FRPartyConverter.toOBParty2;
-import static com.forgerock.sapi.gateway.ob.uk.common.datamodel.converter.v3.account.FRStatementConverter.toOBStatement2;
-import static com.forgerock.sapi.gateway.ob.uk.common.datamodel.converter.v3.account.FRTransactionConverter.toOBTransaction6;
-import static com.forgerock.sapi.gateway.ob.uk.common.datamodel.converter.v3.payment.FRScheduledPaymentConverter.toOBScheduledPayment3;
-import static com.forgerock.sapi.gateway.ob.uk.common.datamodel.converter.v3.payment.FRStandingOrderConverter.toOBStandingOrder6;
 
 import java.util.ArrayList;
-import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
@@ -42,14 +32,20 @@ import org.springframework.data.web.PageableDefault;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
 
-import com.forgerock.sapi.gateway.ob.uk.common.datamodel.account.FRFinancialAccount;
 import com.forgerock.sapi.gateway.ob.uk.common.datamodel.account.FRPartyData;
 import com.forgerock.sapi.gateway.ob.uk.rs.cloud.client.exceptions.ExceptionClient;
 import com.forgerock.sapi.gateway.ob.uk.rs.cloud.client.model.User;
 import com.forgerock.sapi.gateway.ob.uk.rs.cloud.client.services.UserClientService;
+import com.forgerock.sapi.gateway.rs.resource.store.api.admin.bulk.AccountDataBulkPurger;
+import com.forgerock.sapi.gateway.rs.resource.store.api.admin.bulk.DataPurgeJob;
+import com.forgerock.sapi.gateway.rs.resource.store.api.admin.bulk.NdjsonExportStreamer;
+import com.forgerock.sapi.gateway.rs.resource.store.api.admin.bulk.NdjsonExportWriter;
 import com.forgerock.sapi.gateway.rs.resource.store.api.admin.exceptions.DataApiException;
 import com.forgerock.sapi.gateway.rs.resource.store.datamodel.account.v3.FRAccountData;
 import com.forgerock.sapi.gateway.rs.resource.store.datamodel.user.v3.FRUserData;
@@ -57,16 +53,7 @@ import com.forgerock.sapi.gateway.rs.resource.store.repo.entity.account.FRAccoun
 import com.forgerock.sapi.gateway.rs.resource.store.repo.entity.account.FRParty;
 import com.forgerock.sapi.gateway.rs.resource.store.repo.entity.customerinfo.FRCustomerInfoConverter;
 import com.forgerock.sapi.gateway.rs.resource.store.repo.mongo.accounts.accounts.FRAccountRepository;
-import com.forgerock.sapi.gateway.rs.resource.store.repo.mongo.accounts.balances.FRBalanceRepository;
-import com.forgerock.sapi.gateway.rs.resource.store.repo.mongo.accounts.beneficiaries.FRBeneficiaryRepository;
-import com.forgerock.sapi.gateway.rs.resource.store.repo.mongo.accounts.directdebits.FRDirectDebitRepository;
-import com.forgerock.sapi.gateway.rs.resource.store.repo.mongo.accounts.offers.FROfferRepository;
 import com.forgerock.sapi.gateway.rs.resource.store.repo.mongo.accounts.party.FRPartyRepository;
-import com.forgerock.sapi.gateway.rs.resource.store.repo.mongo.accounts.products.FRProductRepository;
-import com.forgerock.sapi.gateway.rs.resource.store.repo.mongo.accounts.scheduledpayments.FRScheduledPaymentRepository;
-import com.forgerock.sapi.gateway.rs.resource.store.repo.mongo.accounts.standingorders.FRStandingOrderRepository;
-import com.forgerock.sapi.gateway.rs.resource.store.repo.mongo.accounts.statements.FRStatementRepository;
-import com.forgerock.sapi.gateway.rs.resource.store.repo.mongo.accounts.transactions.FRTransactionRepository;
 import com.forgerock.sapi.gateway.rs.resource.store.repo.mongo.customerinfo.FRCustomerInfoRepository;
 
 import lombok.extern.slf4j.Slf4j;
@@ -76,51 +63,39 @@ import lombok.extern.slf4j.Slf4j;
 public class DataApiController implements DataApi {
 
     private final FRAccountRepository accountsRepository;
-    private final FRBalanceRepository balanceRepository;
-    private final FRBeneficiaryRepository beneficiaryRepository;
-    private final FRDirectDebitRepository directDebitRepository;
-    private final FRProductRepository productRepository;
-    private final FRStandingOrderRepository standingOrderRepository;
-    private final FRTransactionRepository transactionRepository;
-    private final FRStatementRepository statementRepository;
-    private final FRScheduledPaymentRepository scheduledPayment1Repository;
     private final FRPartyRepository partyRepository;
-    private final FROfferRepository offerRepository;
 
     private final FRCustomerInfoRepository customerInfoRepository;
     private final boolean isCustomerInfoEnabled;
     private final DataUpdater dataUpdater;
     private final DataCreator dataCreator;
+    private final DataImporter dataImporter;
     private final DataExporter dataExporter;
+    private final AccountDataBulkPurger accountDataBulkPurger;
     private final UserClientService userClientService;
+    private final NdjsonExportStreamer ndjsonExportStreamer;
+    private final int exportAccountLimit;
 
-    public DataApiController(FRDirectDebitRepository directDebitRepository, FRAccountRepository accountsRepository,
-                             FRBalanceRepository balanceRepository, FRBeneficiaryRepository beneficiaryRepository,
-                             FRProductRepository productRepository, FRStandingOrderRepository standingOrderRepository,
-                             FRTransactionRepository transactionRepository, FRStatementRepository statementRepository,
-                             DataCreator dataCreator, FRScheduledPaymentRepository scheduledPayment1Repository,
+    public DataApiController(FRAccountRepository accountsRepository, DataCreator dataCreator, DataImporter dataImporter,
                              FRPartyRepository partyRepository, FRCustomerInfoRepository customerInfoRepository,
                              @Value("${rs.data.customerInfo.enabled:false}") Boolean isCustomerInfoEnabled,
-                             DataUpdater dataUpdater, DataExporter dataExporter, FROfferRepository offerRepository,
-                             UserClientService userClientService
+                             DataUpdater dataUpdater, DataExporter dataExporter,
+                             AccountDataBulkPurger accountDataBulkPurger, UserClientService userClientService,
+                             NdjsonExportStreamer ndjsonExportStreamer,
+                             @Value("${rs.data.export.account-limit:1000}") int exportAccountLimit
     ) {
-        this.directDebitRepository = directDebitRepository;
         this.accountsRepository = accountsRepository;
-        this.balanceRepository = balanceRepository;
-        this.beneficiaryRepository = beneficiaryRepository;
-        this.productRepository = productRepository;
-        this.standingOrderRepository = standingOrderRepository;
-        this.transactionRepository = transactionRepository;
-        this.statementRepository = statementRepository;
         this.dataCreator = dataCreator;
-        this.scheduledPayment1Repository = scheduledPayment1Repository;
+        this.dataImporter = dataImporter;
         this.partyRepository = partyRepository;
         this.customerInfoRepository = customerInfoRepository;
         this.dataUpdater = dataUpdater;
-        this.offerRepository = offerRepository;
         this.userClientService = userClientService;
         this.isCustomerInfoEnabled = isCustomerInfoEnabled;
         this.dataExporter = dataExporter;
+        this.accountDataBulkPurger = accountDataBulkPurger;
+        this.ndjsonExportStreamer = ndjsonExportStreamer;
+        this.exportAccountLimit = exportAccountLimit;
     }
 
     @Override
@@ -143,19 +118,62 @@ public class DataApiController implements DataApi {
         return ResponseEntity.ok(accountsRepository.findByUserID(userId).size() > 0);
     }
 
+    @Override
+    public ResponseEntity<ResponseBodyEmitter> streamAccountData(
+            @RequestParam(value = "afterAccountId", required = false) String afterAccountId,
+            @RequestParam(value = "limit", required = false) Integer limit
+    ) {
+        final int pageSize = limit != null ? limit : exportAccountLimit;
+        if (pageSize < 1 || pageSize > exportAccountLimit) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "limit must be between 1 and " + exportAccountLimit);
+        }
+        // One more id than the page holds is read to find out whether there is a next page
+        final List<String> accountIds = dataExporter.findAccountIds(afterAccountId, pageSize + 1);
+        final ResponseEntity.BodyBuilder response = ResponseEntity.ok().contentType(NdjsonExportWriter.APPLICATION_NDJSON);
+        final List<String> pageAccountIds;
+        if (accountIds.size() > pageSize) {
+            pageAccountIds = accountIds.subList(0, pageSize);
+            response.header(NdjsonExportWriter.NEXT_AFTER_ACCOUNT_ID_HEADER, pageAccountIds.get(pageSize - 1));
+        } else {
+            pageAccountIds = accountIds;
+        }
+        return response.body(ndjsonExportStreamer.stream(writer -> dataExporter.exportAccounts(pageAccountIds, writer)));
+    }
+
     @Override
     public ResponseEntity<FRUserData> exportUserData(
             @RequestParam("userId") String userId
     ) {
+        FRUserData userData = getUserDetails(userId);
+        for (FRAccount account : accountsRepository.findByUserID(userId)) {
+            userData.addAccountData(dataExporter.exportAccountData(account));
+        }
+        return ResponseEntity.ok(userData);
+    }
+
+    @Override
+    public ResponseEntity<ResponseBodyEmitter> streamUserData(
+            @RequestParam("userId") String userId
+    ) {
+        // Resolved before streaming starts so that an unknown user results in an error response
+        FRUserData userDetails = getUserDetails(userId);
+        return ResponseEntity.ok()
+                .contentType(NdjsonExportWriter.APPLICATION_NDJSON)
+                .body(ndjsonExportStreamer.stream(writer -> {
+                    writer.write("user", null, userDetails);
+                    dataExporter.exportUserAccounts(userId, writer);
+                }));
+    }
+
+    /**
+     * @return the user's data without any account data
+     */
+    private FRUserData getUserDetails(String userId) {
         try {
             final User user = userClientService.getUserById(userId);
 
             FRUserData userData = new FRUserData(userId);
             userData.setUserName(user.getUserName());
-            for (FRAccount account : accountsRepository.findByUserID(userId)) {
-                userData.addAccountData(dataExporter.exportAccountData(account));
-            }
-
             userData.setCustomerInfo(
                     FRCustomerInfoConverter.entityToDto(
                             customerInfoRepository.findByUserID(userId)
@@ -166,7 +184,7 @@ public class DataApiController implements DataApi {
             if (byUserId != null) {
                 userData.setParty(toOBParty2(byUserId.getParty()));
             }
-            return ResponseEntity.ok(userData);
+            return userData;
         } catch (ExceptionClient e) {
             log.error(
                     "Status: {}, reason: {}",
@@ -297,38 +315,8 @@ public class DataApiController implements DataApi {
                     .map(FRAccount::getId)
                     .collect(Collectors.toSet());
 
-            for (FRAccountData accountData : userData.getAccountDatas()) {
-                FRAccountData accountDataResponse = new FRAccountData();
-
-                //Account
-                if (accountData.getAccount() != null) {
-                    FRFinancialAccount frAccount = dataCreator.createAccount(accountData, userId).getAccount();
-                    accountDataResponse.setAccount(toOBAccount6(frAccount));
-                    existingAccountIds.add(accountDataResponse.getAccount().getAccountId());
-                }
-                //Product
-                dataCreator.createProducts(accountData, existingAccountIds).ifPresent(accountDataResponse::setProduct);
-                //Party
-                dataCreator.createParty(accountData).ifPresent(p -> accountDataResponse.setParty(toOBParty2(p)));
-                //Balance
-                dataCreator.createBalances(accountData, existingAccountIds).forEach(b -> accountDataResponse.addBalance(toOBReadBalance1DataBalance(b.getBalance())));
-                //Beneficiaries
-                dataCreator.createBeneficiaries(accountData, existingAccountIds).forEach(b -> accountDataResponse.addBeneficiary(toOBBeneficiary5(b.getBeneficiary())));
-                //Direct debits
-                dataCreator.createDirectDebits(accountData, existingAccountIds).forEach(d -> accountDataResponse.addDirectDebit(toOBReadDirectDebit2DataDirectDebit(d.getDirectDebit())));
-                //Standing orders
-                dataCreator.createStandingOrders(accountData, existingAccountIds).forEach(d -> accountDataResponse.addStandingOrder(toOBStandingOrder6(d.getStandingOrder())));
-                //Transactions
-                dataCreator.createTransactions(accountData, existingAccountIds).forEach(d -> accountDataResponse.addTransaction(toOBTransaction6(d.getTransaction())));
-                //Statements
-                dataCreator.createStatements(accountData, existingAccountIds).forEach(d -> accountDataResponse.addStatement(toOBStatement2(d.getStatement())));
-                //Scheduled payments
-                dataCreator.createScheduledPayments(accountData, existingAccountIds).forEach(d -> accountDataResponse.addScheduledPayment(toOBScheduledPayment3(d.getScheduledPayment())));
-                //offers
-                dataCreator.createOffers(accountData, existingAccountIds).forEach(d -> accountDataResponse.addOffer(toOBReadOffer1DataOffer(d.getOffer())));
-
-                userDataResponse.addAccountData(accountDataResponse);
-            }
+            userDataResponse.setImportReport(dataImporter.importAccountData(userData.getAccountDatas(), userId,
+                    existingAccountIds, userDataResponse::addAccountData));
             return ResponseEntity.ok(userDataResponse);
 
         } catch (ExceptionClient exceptionClient) {
@@ -350,12 +338,8 @@ public class DataApiController implements DataApi {
             User user = userClientService.getUserByName(userName);
             if (user != null) {
                 log.debug("deleting user account data for user Id '{}'", user.getId());
-                customerInfoRepository.deleteFRCustomerInfoByUserID(user.getId());
-                Collection<FRAccount> accounts = accountsRepository.findByUserID(user.getId());
-                for (FRAccount account : accounts) {
-                    deleteAccount(account, user.getId());
-                }
-                return ResponseEntity.ok(accounts.size() > 0);
+                DataPurgeJob job = accountDataBulkPurger.purge(user.getId());
+                return ResponseEntity.ok(job.getDeletedAccounts() > 0);
             }
         } catch (ExceptionClient exceptionClient) {
             if (exceptionClient.getErrorClient().getErrorType().getHttpStatus().equals(HttpStatus.NOT_FOUND)) {
@@ -372,19 +356,36 @@ public class DataApiController implements DataApi {
         return ResponseEntity.ok(false);
     }
 
-    private void deleteAccount(FRAccount account, String userId) {
-        accountsRepository.deleteById(account.getId());
-        balanceRepository.deleteBalanceByAccountId(account.getId());
-        productRepository.deleteProductByAccountId(account.getId());
-        beneficiaryRepository.deleteBeneficiaryByAccountId(account.getId());
-        directDebitRepository.deleteDirectDebitByAccountId(account.getId());
-        standingOrderRepository.deleteStandingOrderByAccountId(account.getId());
-        transactionRepository.deleteTransactionByAccountId(account.getId());
-        statementRepository.deleteFRStatementByAccountId(account.getId());
-        scheduledPayment1Repository.deleteFRScheduledPaymentByAccountId(account.getId());
-        partyRepository.deleteFRPartyByAccountId(account.getId());
-        offerRepository.deleteFROfferByAccountId(account.getId());
-        partyRepository.deleteFRPartyByUserId(userId);
+    @Override
+    public ResponseEntity<DataPurgeJob> purgeUserData(
+            @RequestParam("userName") String userName,
+            @RequestParam(value = "async", defaultValue = "false") boolean async
+    ) throws DataApiException {
+        try {
+            User user = userClientService.getUserByName(userName);
+            if (user == null) {
+                throw new ResponseStatusException(HttpStatus.NOT_FOUND, "User '" + userName + "' not found");
+            }
+            if (async) {
+                return ResponseEntity.accepted().body(accountDataBulkPurger.submit(user.getId()));
+            }
+            return ResponseEntity.ok(accountDataBulkPurger.purge(user.getId()));
+        } catch (ExceptionClient exceptionClient) {
+            log.error(
+                    "Status: {}, reason: {}",
+                    exceptionClient.getErrorClient().getErrorType().getHttpStatus(),
+                    exceptionClient.getReason()
+            );
+            throw new DataApiException(exceptionClient);
+        }
+    }
 
+    @Override
+    public ResponseEntity<DataPurgeJob> getPurgeJob(
+            @PathVariable("jobId") String jobId
+    ) {
+        return accountDataBulkPurger.getJob(jobId)
+                .map(ResponseEntity::ok)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Purge job " + jobId + " not found"));
     }
 }
@@ -26,35 +26,30 @@ import static com.forgerock.sapi.gateway.ob.uk.common.datamodel.converter.v3.acc
 import static com.forgerock.sapi.gateway.ob.uk.common.datamodel.converter.v3.payment.FRScheduledPaymentConverter.toOBScheduledPayment3;
 import static com.forgerock.sapi.gateway.ob.uk.common.datamodel.converter.v3.payment.FRStandingOrderConverter.toOBStandingOrder6;
 
-import java.util.ArrayList;
 import java.util.List;
-import java.util.function.BiFunction;
-import java.util.function.Function;
 import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
+import com.forgerock.sapi.gateway.rs.resource.store.api.admin.bulk.NdjsonExportWriter;
 import com.forgerock.sapi.gateway.rs.resource.store.datamodel.account.v3.FRAccountData;
 import com.forgerock.sapi.gateway.rs.resource.store.repo.entity.account.FRAccount;
+import com.forgerock.sapi.gateway.rs.resource.store.repo.entity.account.FRBalance;
+import com.forgerock.sapi.gateway.rs.resource.store.repo.entity.account.FRBeneficiary;
+import com.forgerock.sapi.gateway.rs.resource.store.repo.entity.account.FRDirectDebit;
+import com.forgerock.sapi.gateway.rs.resource.store.repo.entity.account.FROffer;
 import com.forgerock.sapi.gateway.rs.resource.store.repo.entity.account.FRParty;
 import com.forgerock.sapi.gateway.rs.resource.store.repo.entity.account.FRProduct;
 import com.forgerock.sapi.gateway.rs.resource.store.repo.entity.account.FRScheduledPayment;
 import com.forgerock.sapi.gateway.rs.resource.store.repo.entity.account.FRStandingOrder;
-import com.forgerock.sapi.gateway.rs.resource.store.repo.mongo.accounts.balances.FRBalanceRepository;
-import com.forgerock.sapi.gateway.rs.resource.store.repo.mongo.accounts.beneficiaries.FRBeneficiaryRepository;
-import com.forgerock.sapi.gateway.rs.resource.store.repo.mongo.accounts.directdebits.FRDirectDebitRepository;
-import com.forgerock.sapi.gateway.rs.resource.store.repo.mongo.accounts.offers.FROfferRepository;
+import com.forgerock.sapi.gateway.rs.resource.store.repo.entity.account.FRStatement;
+import com.forgerock.sapi.gateway.rs.resource.store.repo.entity.account.FRTransaction;
+import com.forgerock.sapi.gateway.rs.resource.store.repo.mongo.accounts.FRAccountDataBulkRepository;
 import com.forgerock.sapi.gateway.rs.resource.store.repo.mongo.accounts.party.FRPartyRepository;
-import com.forgerock.sapi.gateway.rs.resource.store.repo.mongo.accounts.products.FRProductRepository;
-import com.forgerock.sapi.gateway.rs.resource.store.repo.mongo.accounts.scheduledpayments.FRScheduledPaymentRepository;
-import com.forgerock.sapi.gateway.rs.resource.store.repo.mongo.accounts.standingorders.FRStandingOrderRepository;
-import com.forgerock.sapi.gateway.rs.resource.store.repo.mongo.accounts.statements.FRStatementRepository;
-import com.forgerock.sapi.gateway.rs.resource.store.repo.mongo.accounts.transactions.FRTransactionRepository;
 
 import uk.org.openbanking.datamodel.v3.account.OBBeneficiary5;
 import uk.org.openbanking.datamodel.v3.account.OBParty2;
@@ -70,10 +65,6 @@ import uk.org.openbanking.datamodel.v3.account.OBTransaction6;
 @Service("V3.1.10DataExporter")
 public class DataExporter {
 
-    /**
-     * Default filter used when querying for data to export, accepts all data returned from the repository
-     */
-    private static final Predicate ACCEPT_ALL_FILTER = obj -> true;
     /**
      * Filter which removes corrupt FRStandingOrder data, this data cannot be updated by the {@link DataUpdater} due
      * to the FRStandingOrder.id not matching the FRStandingOrder.standingOrder.standingOrderId.
@@ -94,42 +85,18 @@ public class DataExporter {
             frScheduledPayment -> frScheduledPayment.getScheduledPayment() != null
                     && frScheduledPayment.getId().equals(frScheduledPayment.getScheduledPayment().getScheduledPaymentId());
 
-    private final FRBalanceRepository balanceRepository;
-    private final FRBeneficiaryRepository beneficiaryRepository;
-    private final FRDirectDebitRepository directDebitRepository;
-    private final FRProductRepository productRepository;
-    private final FRStandingOrderRepository standingOrderRepository;
-    private final FRTransactionRepository transactionRepository;
-    private final FRStatementRepository statementRepository;
-    private final FRScheduledPaymentRepository scheduledPaymentRepository;
+    private final FRAccountDataBulkRepository accountDataBulkRepository;
     private final FRPartyRepository partyRepository;
-    private final FROfferRepository offerRepository;
 
     private final int dataPageSize;
 
     @Autowired
-    public DataExporter(FRBalanceRepository balanceRepository,
-                        FRBeneficiaryRepository beneficiaryRepository,
-                        FRDirectDebitRepository directDebitRepository,
-                        FRProductRepository productRepository,
-                        FRStandingOrderRepository standingOrderRepository,
-                        FRTransactionRepository transactionRepository,
-                        FRStatementRepository statementRepository,
-                        FRScheduledPaymentRepository scheduledPaymentRepository,
+    public DataExporter(FRAccountDataBulkRepository accountDataBulkRepository,
                         FRPartyRepository partyRepository,
-                        FROfferRepository offerRepository,
                         @Value("${rs.data.export.page.size:500}") int dataPageSize
     ) {
-        this.balanceRepository = balanceRepository;
-        this.beneficiaryRepository = beneficiaryRepository;
-        this.directDebitRepository = directDebitRepository;
-        this.productRepository = productRepository;
-        this.standingOrderRepository = standingOrderRepository;
-        this.transactionRepository = transactionRepository;
-        this.statementRepository = statementRepository;
-        this.scheduledPaymentRepository = scheduledPaymentRepository;
+        this.accountDataBulkRepository = accountDataBulkRepository;
         this.partyRepository = partyRepository;
-        this.offerRepository = offerRepository;
         this.dataPageSize = dataPageSize;
     }
 
@@ -138,20 +105,66 @@ public class DataExporter {
         accountData.setAccount(toOBAccount6(account.getAccount()));
 
         final String accountId = account.getId();
-        accountData.setTransactions(getTransactions(accountId));
+        accountData.setTransactions(toList(streamTransactions(accountId)));
         accountData.setProduct(getProduct(accountId));
-        accountData.setBalances(getBalances(accountId));
-        accountData.setBeneficiaries(getBeneficiaries(accountId));
-        accountData.setDirectDebits(getDirectDebits(accountId));
-        accountData.setStandingOrders(getStandingOrders(accountId));
-        accountData.setStatements(getStatements(accountId));
-        accountData.setScheduledPayments(getScheduledPayments(accountId));
-        accountData.setOffers(getOffers(accountId));
+        accountData.setBalances(toList(streamBalances(accountId)));
+        accountData.setBeneficiaries(toList(streamBeneficiaries(accountId)));
+        accountData.setDirectDebits(toList(streamDirectDebits(accountId)));
+        accountData.setStandingOrders(toList(streamStandingOrders(accountId)));
+        accountData.setStatements(toList(streamStatements(accountId)));
+        accountData.setScheduledPayments(toList(streamScheduledPayments(accountId)));
+        accountData.setOffers(toList(streamOffers(accountId)));
         accountData.setParty(getParty(accountId));
 
         return accountData;
     }
 
+    /**
+     * Writes the account and its resources as NDJSON records, reading each resource type through a cursor so that the
+     * memory used does not depend on the amount of data the account has.
+     */
+    void exportAccountData(FRAccount account, NdjsonExportWriter writer) {
+        final String accountId = account.getId();
+        writer.write("account", accountId, toOBAccount6(account.getAccount()));
+        writeAll(writer, "product", accountId, Stream.ofNullable(getProduct(accountId)));
+        writeAll(writer, "party", accountId, Stream.ofNullable(getParty(accountId)));
+        writeAll(writer, "balance", accountId, streamBalances(accountId));
+        writeAll(writer, "beneficiary", accountId, streamBeneficiaries(accountId));
+        writeAll(writer, "directDebit", accountId, streamDirectDebits(accountId));
+        writeAll(writer, "standingOrder", accountId, streamStandingOrders(accountId));
+        writeAll(writer, "transaction", accountId, streamTransactions(accountId));
+        writeAll(writer, "statement", accountId, streamStatements(accountId));
+        writeAll(writer, "scheduledPayment", accountId, streamScheduledPayments(accountId));
+        writeAll(writer, "offer", accountId, streamOffers(accountId));
+    }
+
+    /**
+     * Reads a page of account ids to export, in id order.
+     *
+     * @param afterAccountId the id the page starts after, or null for the first page
+     */
+    List<String> findAccountIds(String afterAccountId, int limit) {
+        return accountDataBulkRepository.findAccountIds(afterAccountId, limit);
+    }
+
+    /**
+     * Writes the accounts and their resources as NDJSON records, in id order.
+     */
+    void exportAccounts(List<String> accountIds, NdjsonExportWriter writer) {
+        try (Stream<FRAccount> accounts = accountDataBulkRepository.streamAccountsById(accountIds, dataPageSize)) {
+            accounts.forEach(account -> exportAccountData(account, writer));
+        }
+    }
+
+    /**
+     * Writes the user's accounts and their resources as NDJSON records.
+     */
+    void exportUserAccounts(String userId, NdjsonExportWriter writer) {
+        try (Stream<FRAccount> accounts = accountDataBulkRepository.streamAccountsByUserId(userId, dataPageSize)) {
+            accounts.forEach(account -> exportAccountData(account, writer));
+        }
+    }
+
     private OBParty2 getParty(String accountId) {
         final FRParty party = partyRepository.findByAccountId(accountId);
         if (party != null) {
@@ -160,99 +173,67 @@ public class DataExporter {
         return null;
     }
 
-    private List<OBReadOffer1DataOfferInner> getOffers(String accountId) {
-        return executePagingFindQuery(accountId, offerRepository::findByAccountId,
-                frOffer -> toOBReadOffer1DataOffer(frOffer.getOffer()));
+    private Stream<OBReadOffer1DataOfferInner> streamOffers(String accountId) {
+        return stream(accountId, FROffer.class).map(frOffer -> toOBReadOffer1DataOffer(frOffer.getOffer()));
     }
 
-    private List<OBScheduledPayment3> getScheduledPayments(String accountId) {
-        return executePagingFindQuery(accountId, scheduledPaymentRepository::findByAccountId,
-                REMOVE_CORRUPT_SCHEDULED_PAYMENTS_FILTER,
-                frScheduledPayment -> toOBScheduledPayment3(frScheduledPayment.getScheduledPayment()));
+    private Stream<OBScheduledPayment3> streamScheduledPayments(String accountId) {
+        return stream(accountId, FRScheduledPayment.class)
+                .filter(REMOVE_CORRUPT_SCHEDULED_PAYMENTS_FILTER)
+                .map(frScheduledPayment -> toOBScheduledPayment3(frScheduledPayment.getScheduledPayment()));
     }
 
-    private List<OBStatement2> getStatements(String accountId) {
-        return executePagingFindQuery(accountId, statementRepository::findByAccountId,
-                frStatement -> toOBStatement2(frStatement.getStatement()));
+    private Stream<OBStatement2> streamStatements(String accountId) {
+        return stream(accountId, FRStatement.class).map(frStatement -> toOBStatement2(frStatement.getStatement()));
     }
 
-    private List<OBStandingOrder6> getStandingOrders(String accountId) {
-        return executePagingFindQuery(accountId, standingOrderRepository::findByAccountId,
-                REMOVE_CORRUPT_STANDING_ORDERS_FILTER,
-                frStandingOrder -> toOBStandingOrder6(frStandingOrder.getStandingOrder()));
+    private Stream<OBStandingOrder6> streamStandingOrders(String accountId) {
+        return stream(accountId, FRStandingOrder.class)
+                .filter(REMOVE_CORRUPT_STANDING_ORDERS_FILTER)
+                .map(frStandingOrder -> toOBStandingOrder6(frStandingOrder.getStandingOrder()));
     }
 
-    private List<OBReadDirectDebit2DataDirectDebitInner> getDirectDebits(String accountId) {
-        return executePagingFindQuery(accountId, directDebitRepository::findByAccountId,
-                frDirectDebit -> toOBReadDirectDebit2DataDirectDebit(frDirectDebit.getDirectDebit()));
+    private Stream<OBReadDirectDebit2DataDirectDebitInner> streamDirectDebits(String accountId) {
+        return stream(accountId, FRDirectDebit.class)
+                .map(frDirectDebit -> toOBReadDirectDebit2DataDirectDebit(frDirectDebit.getDirectDebit()));
     }
 
-    private List<OBBeneficiary5> getBeneficiaries(String accountId) {
-        return executePagingFindQuery(accountId, beneficiaryRepository::findByAccountId,
-                frBeneficiary -> toOBBeneficiary5(frBeneficiary.getBeneficiary()));
+    private Stream<OBBeneficiary5> streamBeneficiaries(String accountId) {
+        return stream(accountId, FRBeneficiary.class).map(frBeneficiary -> toOBBeneficiary5(frBeneficiary.getBeneficiary()));
     }
 
-    private List<OBReadBalance1DataBalanceInner> getBalances(String accountId) {
-        return executePagingFindQuery(accountId, balanceRepository::findByAccountId,
-                frBalance -> toOBReadBalance1DataBalance(frBalance.getBalance()));
+    private Stream<OBReadBalance1DataBalanceInner> streamBalances(String accountId) {
+        return stream(accountId, FRBalance.class).map(frBalance -> toOBReadBalance1DataBalance(frBalance.getBalance()));
     }
 
     private OBReadProduct2DataProductInner getProduct(String accountId) {
-        final Page<FRProduct> product = productRepository.findByAccountId(accountId, PageRequest.ofSize(1));
-        if (product.hasContent()) {
-            return product.getContent().get(0).getProduct();
+        try (Stream<FRProduct> products = stream(accountId, FRProduct.class)) {
+            return products.findFirst().map(FRProduct::getProduct).orElse(null);
         }
-        return null;
     }
 
-    private List<OBTransaction6> getTransactions(String accountId) {
-        return executePagingFindQuery(accountId, transactionRepository::findByAccountId,
-                frTransaction -> toOBTransaction6(frTransaction.getTransaction()));
-    }
-
-    private <F, O> List<O> executePagingFindQuery(String accountId,
-                                                  BiFunction<String, Pageable, Page<F>> findByAccountIdPagerQuery,
-                                                  Function<F, O> obDataModelConverter) {
-
-        return executePagingFindQuery(accountId, findByAccountIdPagerQuery, ACCEPT_ALL_FILTER, obDataModelConverter);
+    private Stream<OBTransaction6> streamTransactions(String accountId) {
+        return stream(accountId, FRTransaction.class).map(frTransaction -> toOBTransaction6(frTransaction.getTransaction()));
     }
 
     /**
-     * Helper function for executing a query that returns data in pages.
-     *
-     * @param accountId                 the id of the account that we are ret
-     * @param findByAccountIdPagerQuery Function which takes an accountId and a Pageable and returns a Page of data
-     * @param dataFilter                Predicate which returns true if the data is to be returned in the response,
-     *                                  this is designed to allow corrupt data to be removed
-     * @param obDataModelConverter      Function which takes an FR data model object and converts it into an OB
-     *                                  data model object
-     * @param <F>                       FR data model type (database representation)
-     * @param <O>                       OB data model type (OB API representation)
-     * @return List of OB data model objects retrieved by executing the query for the given accountId, returns an empty list if
-     * the query finds no results
+     * Streams the account's documents of the entity class through a cursor which fetches dataPageSize documents at a
+     * time, the stream must be closed to release the cursor.
      */
-    private <F, O> List<O> executePagingFindQuery(String accountId,
-                                                  BiFunction<String, Pageable, Page<F>> findByAccountIdPagerQuery,
-                                                  Predicate<F> dataFilter,
-                                                  Function<F, O> obDataModelConverter) {
-        int pageNumber = 0;
-        Page<F> pageOfFrItems;
-        List<O> obItems = null;
-        do {
-            pageOfFrItems = findByAccountIdPagerQuery.apply(accountId, PageRequest.of(pageNumber, dataPageSize));
-            if (obItems == null) {
-                obItems = new ArrayList<>((int) pageOfFrItems.getTotalElements());
-            }
-            for (F frItem : pageOfFrItems.getContent()) {
-                if (dataFilter.test(frItem)) {
-                    obItems.add(obDataModelConverter.apply(frItem));
-                }
-            }
-            pageNumber++;
+    private <F> Stream<F> stream(String accountId, Class<F> entityClass) {
+        return accountDataBulkRepository.streamByAccountId(entityClass, accountId, dataPageSize);
+    }
+
+    private static <O> List<O> toList(Stream<O> stream) {
+        try (stream) {
+            return stream.collect(Collectors.toList());
         }
-        while (pageOfFrItems.hasNext());
+    }
 
-        return obItems;
+    private static void writeAll(NdjsonExportWriter writer, String type, String accountId, Stream<?> stream) {
+        try (stream) {
+            stream.forEach(data -> writer.write(type, accountId, data));
+        }
     }
 
 }
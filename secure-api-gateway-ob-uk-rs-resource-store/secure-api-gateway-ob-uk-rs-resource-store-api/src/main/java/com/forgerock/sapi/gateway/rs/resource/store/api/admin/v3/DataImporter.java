@@ -0,0 +1,155 @@
+/*
+ * Copyright © 2020-2025 ForgeRock AS (obst@forgerock.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.forgerock.sapi.gateway.rs.resource.store.api.admin.v3;
+
+import static com.forgerock.sapi.gateway.ob.uk.common.datamodel.converter.v3.account.FRAccountBeneficiaryConverter.toOBBeneficiary5;
+import static com.forgerock.sapi.gateway.ob.uk.common.datamodel.converter.v3.account.FRCashBalanceConverter.toOBReadBalance1DataBalance;
+import static com.forgerock.sapi.gateway.ob.uk.common.datamodel.converter.v3.account.FRDirectDebitConverter.toOBReadDirectDebit2DataDirectDebit;
+import static com.forgerock.sapi.gateway.ob.uk.common.datamodel.converter.v3.account.FRFinancialAccountConverter.toOBAccount6;
+import static com.forgerock.sapi.gateway.ob.uk.common.datamodel.converter.v3.account.FROfferConverter.toOBReadOffer1DataOffer;
+import static com.forgerock.sapi.gateway.ob.uk.common.datamodel.converter.v3.account.FRPartyConverter.toOBParty2;
+import static com.forgerock.sapi.gateway.ob.uk.common.datamodel.converter.v3.account.FRStatementConverter.toOBStatement2;
+import static com.forgerock.sapi.gateway.ob.uk.common.datamodel.converter.v3.account.FRTransactionConverter.toOBTransaction6;
+import static com.forgerock.sapi.gateway.ob.uk.common.datamodel.converter.v3.payment.FRScheduledPaymentConverter.toOBScheduledPayment3;
+import static com.forgerock.sapi.gateway.ob.uk.common.datamodel.converter.v3.payment.FRStandingOrderConverter.toOBStandingOrder6;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.forgerock.sapi.gateway.ob.uk.common.datamodel.account.FRBalanceType;
+import com.forgerock.sapi.gateway.rs.resource.store.api.admin.bulk.AccountDataBulkImporter;
+import com.forgerock.sapi.gateway.rs.resource.store.datamodel.user.FRDataImportReport;
+import com.forgerock.sapi.gateway.rs.resource.store.datamodel.account.v3.FRAccountData;
+import com.forgerock.sapi.gateway.rs.resource.store.repo.entity.account.FRAccount;
+import com.forgerock.sapi.gateway.rs.resource.store.repo.entity.account.FRBalance;
+import com.forgerock.sapi.gateway.rs.resource.store.repo.mongo.accounts.FRAccountDataBatch;
+import com.forgerock.sapi.gateway.rs.resource.store.repo.mongo.accounts.balances.FRBalanceRepository;
+
+/**
+ * Imports a user's account data in bulk: all the account data is converted and validated before anything is written,
+ * the document limits are checked with a single query and the documents are written with a bulk insert per collection.
+ */
+@Service("V3.1.10DataImporter")
+public class DataImporter {
+
+    private final DataCreator dataCreator;
+    private final AccountDataBulkImporter accountDataBulkImporter;
+    private final FRBalanceRepository balanceRepository;
+    private final int accountLimit;
+
+    public DataImporter(DataCreator dataCreator, AccountDataBulkImporter accountDataBulkImporter,
+                        FRBalanceRepository balanceRepository,
+                        @Value("${rs.data.upload.limit.accounts}") Integer accountLimit) {
+        this.dataCreator = dataCreator;
+        this.accountDataBulkImporter = accountDataBulkImporter;
+        this.balanceRepository = balanceRepository;
+        this.accountLimit = accountLimit;
+    }
+
+    /**
+     * Creates the account data for the user.
+     *
+     * @param accountDatas the account data to create
+     * @param userId the id of the user
+     * @param existingAccountIds the ids of the user's existing accounts, the ids of the new accounts are added to it
+     * @param createdAccountDataConsumer receives the created account data, in the same order as accountDatas, once
+     *                                   it has been written
+     * @return report of the documents written
+     */
+    FRDataImportReport importAccountData(List<FRAccountData> accountDatas, String userId, Set<String> existingAccountIds,
+                                         Consumer<FRAccountData> createdAccountDataConsumer) {
+        final Map<String, Set<FRBalanceType>> existingBalanceTypes = getBalanceTypesByAccountId(existingAccountIds);
+
+        // Create the accounts first so that resources may refer to any of the user's accounts, as the ids are random
+        // the new accounts have no existing balances
+        final List<FRAccount> accounts = new ArrayList<>(accountDatas.size());
+        for (FRAccountData accountData : accountDatas) {
+            final FRAccount account = accountData.getAccount() != null ? dataCreator.toAccount(accountData, userId) : null;
+            if (account != null) {
+                existingAccountIds.add(account.getId());
+            }
+            accounts.add(account);
+        }
+        if (existingAccountIds.size() > accountLimit) {
+            throw new ResponseStatusException(HttpStatus.PAYLOAD_TOO_LARGE,
+                    String.format("Cannot add account as it has exceeded maximum limit of %s", accountLimit));
+        }
+
+        final List<FRAccountDataBatch> batches = accountDataBulkImporter.convert(accountDatas.size(), index -> {
+            final FRAccountData accountData = accountDatas.get(index);
+            final FRAccountDataBatch batch = new FRAccountDataBatch();
+            if (accounts.get(index) != null) {
+                batch.getAccounts().add(accounts.get(index));
+            }
+            dataCreator.toProduct(accountData, existingAccountIds).ifPresent(batch.getProducts()::add);
+            dataCreator.toParty(accountData).ifPresent(batch.getParties()::add);
+            batch.getBalances().addAll(dataCreator.toBalances(accountData, existingAccountIds,
+                    (accountId, balanceType) -> existingBalanceTypes.getOrDefault(accountId, Set.of()).contains(balanceType)));
+            batch.getBeneficiaries().addAll(dataCreator.toBeneficiaries(accountData, existingAccountIds));
+            batch.getDirectDebits().addAll(dataCreator.toDirectDebits(accountData, existingAccountIds));
+            batch.getStandingOrders().addAll(dataCreator.toStandingOrders(accountData, existingAccountIds));
+            batch.getTransactions().addAll(dataCreator.toTransactions(accountData, existingAccountIds));
+            batch.getStatements().addAll(dataCreator.toStatements(accountData, existingAccountIds));
+            batch.getScheduledPayments().addAll(dataCreator.toScheduledPayments(accountData, existingAccountIds));
+            batch.getOffers().addAll(dataCreator.toOffers(accountData, existingAccountIds));
+            return batch;
+        });
+        accountDataBulkImporter.checkDocumentLimits(existingAccountIds, batches);
+        final FRDataImportReport importReport = accountDataBulkImporter.write(batches);
+
+        batches.stream().map(DataImporter::toAccountDataResponse).forEach(createdAccountDataConsumer);
+        return importReport;
+    }
+
+    private Map<String, Set<FRBalanceType>> getBalanceTypesByAccountId(Set<String> accountIds) {
+        final Map<String, Set<FRBalanceType>> balanceTypes = new HashMap<>();
+        if (accountIds.isEmpty()) {
+            return balanceTypes;
+        }
+        for (FRBalance balance : balanceRepository.findByAccountIdIn(new ArrayList<>(accountIds))) {
+            if (balance.getBalance() != null) {
+                balanceTypes.computeIfAbsent(balance.getAccountId(), accountId -> new HashSet<>()).add(balance.getBalance().getType());
+            }
+        }
+        return balanceTypes;
+    }
+
+    private static FRAccountData toAccountDataResponse(FRAccountDataBatch batch) {
+        final FRAccountData accountDataResponse = new FRAccountData();
+        batch.getAccounts().forEach(a -> accountDataResponse.setAccount(toOBAccount6(a.getAccount())));
+        batch.getProducts().forEach(p -> accountDataResponse.setProduct(p.getProduct()));
+        batch.getParties().forEach(p -> accountDataResponse.setParty(toOBParty2(p.getParty())));
+        batch.getBalances().forEach(b -> accountDataResponse.addBalance(toOBReadBalance1DataBalance(b.getBalance())));
+        batch.getBeneficiaries().forEach(b -> accountDataResponse.addBeneficiary(toOBBeneficiary5(b.getBeneficiary())));
+        batch.getDirectDebits().forEach(d -> accountDataResponse.addDirectDebit(toOBReadDirectDebit2DataDirectDebit(d.getDirectDebit())));
+        batch.getStandingOrders().forEach(d -> accountDataResponse.addStandingOrder(toOBStandingOrder6(d.getStandingOrder())));
+        batch.getTransactions().forEach(d -> accountDataResponse.addTransaction(toOBTransaction6(d.getTransaction())));
+        batch.getStatements().forEach(d -> accountDataResponse.addStatement(toOBStatement2(d.getStatement())));
+        batch.getScheduledPayments().forEach(d -> accountDataResponse.addScheduledPayment(toOBScheduledPayment3(d.getScheduledPayment())));
+        batch.getOffers().forEach(d -> accountDataResponse.addOffer(toOBReadOffer1DataOffer(d.getOffer())));
+        return accountDataResponse;
+    }
+}
@@ -23,6 +23,8 @@ import com.forgerock.sapi.gateway.rs.resource.store.repo.entity.account.FRAccoun
 import com.forgerock.sapi.gateway.rs.resource.store.repo.entity.account.*;
 import com.forgerock.sapi.gateway.rs.resource.store.repo.entity.customerinfo.FRCustomerInfoConverter;
 import com.forgerock.sapi.gateway.rs.resource.store.repo.entity.customerinfo.FRCustomerInfoEntity;
+import com.forgerock.sapi.gateway.rs.resource.store.repo.mongo.accounts.FRAccountDataBulkRepository;
+import com.forgerock.sapi.gateway.rs.resource.store.repo.mongo.accounts.FRAccountDataChanges;
 import com.forgerock.sapi.gateway.rs.resource.store.repo.mongo.accounts.accounts.FRAccountRepository;
 import com.forgerock.sapi.gateway.rs.resource.store.repo.mongo.accounts.balances.FRBalanceRepository;
 import com.forgerock.sapi.gateway.rs.resource.store.repo.mongo.accounts.beneficiaries.FRBeneficiaryRepository;
@@ -56,6 +58,13 @@ import static com.forgerock.sapi.gateway.ob.uk.common.datamodel.converter.v3.acc
 import static com.forgerock.sapi.gateway.ob.uk.common.datamodel.converter.v3.account.FRTransactionConverter.toFRTransactionData;
 import static com.forgerock.sapi.gateway.ob.uk.common.datamodel.converter.v3.payment.FRScheduledPaymentConverter.toFRScheduledPaymentData;
 import static com.forgerock.sapi.gateway.ob.uk.common.datamodel.converter.v3.payment.FRStandingOrderConverter.toFRStandingOrderData;
+import static com.forgerock.sapi.gateway.rs.resource.store.api.admin.bulk.AccountDataUpdateCompiler.beneficiaryUpdate;
+import static com.forgerock.sapi.gateway.rs.resource.store.api.admin.bulk.AccountDataUpdateCompiler.directDebitUpdate;
+import static com.forgerock.sapi.gateway.rs.resource.store.api.admin.bulk.AccountDataUpdateCompiler.offerUpdate;
+import static com.forgerock.sapi.gateway.rs.resource.store.api.admin.bulk.AccountDataUpdateCompiler.scheduledPaymentUpdate;
+import static com.forgerock.sapi.gateway.rs.resource.store.api.admin.bulk.AccountDataUpdateCompiler.standingOrderUpdate;
+import static com.forgerock.sapi.gateway.rs.resource.store.api.admin.bulk.AccountDataUpdateCompiler.statementUpdate;
+import static com.forgerock.sapi.gateway.rs.resource.store.api.admin.bulk.AccountDataUpdateCompiler.transactionUpdate;
 
 @Service("V3.1.10DataUpdater")
 @NoArgsConstructor
@@ -73,6 +82,7 @@ public class DataUpdater {
     private FRPartyRepository partyRepository;
     private FROfferRepository offerRepository;
     private FRCustomerInfoRepository customerInfoRepository;
+    private FRAccountDataBulkRepository accountDataBulkRepository;
     private int documentLimit;
 
     @Autowired
@@ -82,6 +92,7 @@ public class DataUpdater {
                        FRTransactionRepository transactionRepository, FRStatementRepository statementRepository,
                        FRScheduledPaymentRepository scheduledPaymentRepository, FRPartyRepository partyRepository,
                        FROfferRepository offerRepository, FRCustomerInfoRepository customerInfoRepository,
+                       FRAccountDataBulkRepository accountDataBulkRepository,
                        @Value("${rs.data.upload.limit.documents}") Integer documentLimit
     ) {
         this.accountsRepository = accountsRepository;
@@ -96,6 +107,7 @@ public class DataUpdater {
         this.partyRepository = partyRepository;
         this.offerRepository = offerRepository;
         this.customerInfoRepository = customerInfoRepository;
+        this.accountDataBulkRepository = accountDataBulkRepository;
         this.documentLimit = documentLimit;
     }
 
@@ -289,8 +301,7 @@ public class DataUpdater {
     void updateBeneficiaries(FRAccountData accountDataDiff, Set<String> accountIds) {
         String accountId = accountDataDiff.getAccount().getAccountId();
         //Beneficiaries
-        List<FRBeneficiary> beneficiariesToSave = new ArrayList<>();
-        List<FRBeneficiary> newBeneficiariesToSave = new ArrayList<>();
+        FRAccountDataChanges<FRBeneficiary> changes = new FRAccountDataChanges<>(FRBeneficiary.class, accountId);
         for (OBBeneficiary5 obBeneficiaryDiff : accountDataDiff.getBeneficiaries()) {
 
             if (obBeneficiaryDiff.getAccountId() != null && !obBeneficiaryDiff.getAccountId().equals(accountId)) {
@@ -306,40 +317,23 @@ public class DataUpdater {
                 beneficiary.setAccountId(accountId);
                 beneficiary.setBeneficiary(frBeneficiaryDiff);
                 beneficiary.setId(frBeneficiaryDiff.getBeneficiaryId());
-                newBeneficiariesToSave.add(beneficiary);
+                changes.insert(beneficiary);
             } else {
-                Optional<FRBeneficiary> isBeneficiary = beneficiaryRepository.findById(frBeneficiaryDiff.getBeneficiaryId());
-                if (isBeneficiary.isEmpty() || !isBeneficiary.get().getAccountId().equals(frBeneficiaryDiff.getAccountId())) {
-                    throw new ResponseStatusException(HttpStatus.NOT_FOUND, "The beneficiary id '"
-                            + frBeneficiaryDiff.getBeneficiaryId() + "' doesn't exist or doesn't belongs to this account ID.");
-                }
-                FRAccountBeneficiary beneficiary = isBeneficiary.get().getBeneficiary();
-                if (frBeneficiaryDiff.getReference() != null) {
-                    beneficiary.setReference(frBeneficiaryDiff.getReference());
-                }
-                if (frBeneficiaryDiff.getCreditorAccount() != null) {
-                    beneficiary.setCreditorAccount(frBeneficiaryDiff.getCreditorAccount());
-                }
-                beneficiariesToSave.add(isBeneficiary.get());
-
+                checkBelongsToAccount("beneficiary", frBeneficiaryDiff.getBeneficiaryId(), frBeneficiaryDiff.getAccountId());
+                changes.update(frBeneficiaryDiff.getBeneficiaryId(), beneficiaryUpdate(frBeneficiaryDiff));
             }
         }
-        if (beneficiaryRepository.countByAccountIdIn(accountIds) + newBeneficiariesToSave.size() > documentLimit) {
+        if (beneficiaryRepository.countByAccountIdIn(accountIds) + changes.getInserts().size() > documentLimit) {
             throw new ResponseStatusException(HttpStatus.PAYLOAD_TOO_LARGE,
                     String.format("Cannot add beneficiaries as it has exceeded maximum limit of %s", documentLimit));
         }
-        List<FRBeneficiary> allBeneficiaries = ImmutableList.<FRBeneficiary>builder()
-                .addAll(beneficiariesToSave)
-                .addAll(newBeneficiariesToSave)
-                .build();
-        beneficiaryRepository.saveAll(allBeneficiaries);
+        applyChanges("beneficiary", changes);
     }
 
     void updateDirectDebits(FRAccountData accountDataDiff, Set<String> accountIds) {
         String accountId = accountDataDiff.getAccount().getAccountId();
         //Direct Debits
-        List<FRDirectDebit> directDebitsToSave = new ArrayList<>();
-        List<FRDirectDebit> newDirectDebitsToSave = new ArrayList<>();
+        FRAccountDataChanges<FRDirectDebit> changes = new FRAccountDataChanges<>(FRDirectDebit.class, accountId);
         for (OBReadDirectDebit2DataDirectDebitInner obDirectDebitDiff : accountDataDiff.getDirectDebits()) {
 
             if (obDirectDebitDiff.getAccountId() != null && !obDirectDebitDiff.getAccountId().equals(accountId)) {
@@ -355,48 +349,23 @@ public class DataUpdater {
                 directDebit.setAccountId(accountId);
                 directDebit.setDirectDebit(frDirectDebitDiff);
                 directDebit.setId(frDirectDebitDiff.getDirectDebitId());
-                newDirectDebitsToSave.add(directDebit);
+                changes.insert(directDebit);
             } else {
-                Optional<FRDirectDebit> isDirectDebit = directDebitRepository.findById(frDirectDebitDiff.getDirectDebitId());
-                if (isDirectDebit.isEmpty() || !isDirectDebit.get().getAccountId().equals(frDirectDebitDiff.getAccountId())) {
-                    throw new ResponseStatusException(HttpStatus.NOT_FOUND, "The direct debit id '"
-                            + frDirectDebitDiff.getDirectDebitId() + "' doesn't exist or doesn't belongs to this account ID.");
-                }
-                FRDirectDebitData directDebit = isDirectDebit.get().getDirectDebit();
-                if (frDirectDebitDiff.getName() != null) {
-                    directDebit.setName(frDirectDebitDiff.getName());
-                }
-                if (frDirectDebitDiff.getDirectDebitStatusCode() != null) {
-                    directDebit.setDirectDebitStatusCode(frDirectDebitDiff.getDirectDebitStatusCode());
-                }
-                if (frDirectDebitDiff.getMandateIdentification() != null) {
-                    directDebit.setMandateIdentification(frDirectDebitDiff.getMandateIdentification());
-                }
-                if (frDirectDebitDiff.getPreviousPaymentAmount() != null) {
-                    directDebit.setPreviousPaymentAmount(frDirectDebitDiff.getPreviousPaymentAmount());
-                }
-                if (frDirectDebitDiff.getPreviousPaymentDateTime() != null) {
-                    directDebit.setPreviousPaymentDateTime(frDirectDebitDiff.getPreviousPaymentDateTime());
-                }
-                directDebitsToSave.add(isDirectDebit.get());
+                checkBelongsToAccount("direct debit", frDirectDebitDiff.getDirectDebitId(), frDirectDebitDiff.getAccountId());
+                changes.update(frDirectDebitDiff.getDirectDebitId(), directDebitUpdate(frDirectDebitDiff));
             }
         }
-        if (directDebitRepository.countByAccountIdIn(accountIds) + newDirectDebitsToSave.size() > documentLimit) {
+        if (directDebitRepository.countByAccountIdIn(accountIds) + changes.getInserts().size() > documentLimit) {
             throw new ResponseStatusException(HttpStatus.PAYLOAD_TOO_LARGE,
                     String.format("Cannot add direct debits as it has exceeded maximum limit of %s", documentLimit));
         }
-        List<FRDirectDebit> allDirectDebits = ImmutableList.<FRDirectDebit>builder()
-                .addAll(directDebitsToSave)
-                .addAll(newDirectDebitsToSave)
-                .build();
-        directDebitRepository.saveAll(allDirectDebits);
+        applyChanges("direct debit", changes);
     }
 
     void updateStandingOrders(FRAccountData accountDataDiff, Set<String> accountIds) {
         String accountId = accountDataDiff.getAccount().getAccountId();
         //Standing orders
-        List<FRStandingOrder> standingOrdersToSave = new ArrayList<>();
-        List<FRStandingOrder> newStandingOrdersToSave = new ArrayList<>();
+        FRAccountDataChanges<FRStandingOrder> changes = new FRAccountDataChanges<>(FRStandingOrder.class, accountId);
         for (OBStandingOrder6 obStandingOrderDiff : accountDataDiff.getStandingOrders()) {
 
             if (obStandingOrderDiff.getAccountId() != null && !obStandingOrderDiff.getAccountId().equals(accountId)) {
@@ -413,61 +382,23 @@ public class DataUpdater {
                 standingOrder.setStandingOrder(frStandingOrderDiff);
                 standingOrder.setId(frStandingOrderDiff.getStandingOrderId());
                 standingOrder.setStatus(FRStandingOrder.StandingOrderStatus.PENDING);
-                newStandingOrdersToSave.add(standingOrder);
+                changes.insert(standingOrder);
             } else {
-                Optional<FRStandingOrder> isStandingOrder = standingOrderRepository.findById(frStandingOrderDiff.getStandingOrderId());
-                if (isStandingOrder.isEmpty() || !isStandingOrder.get().getAccountId().equals(frStandingOrderDiff.getAccountId())) {
-                    throw new ResponseStatusException(HttpStatus.NOT_FOUND, "The standing order id '"
-                            + frStandingOrderDiff.getStandingOrderId() + "' doesn't exist or doesn't belongs to this account ID.");
-                }
-
-                FRStandingOrderData standingOrder = isStandingOrder.get().getStandingOrder();
-                if (frStandingOrderDiff.getFrequency() != null) {
-                    standingOrder.setFrequency(frStandingOrderDiff.getFrequency());
-                }
-                if (frStandingOrderDiff.getReference() != null) {
-                    standingOrder.setReference(frStandingOrderDiff.getReference());
-                }
-                if (frStandingOrderDiff.getFirstPaymentAmount() != null) {
-                    standingOrder.setFirstPaymentAmount(frStandingOrderDiff.getFirstPaymentAmount());
-                }
-                if (frStandingOrderDiff.getFirstPaymentDateTime() != null) {
-                    standingOrder.setFirstPaymentDateTime(frStandingOrderDiff.getFirstPaymentDateTime());
-                }
-                if (frStandingOrderDiff.getNextPaymentAmount() != null) {
-                    standingOrder.setNextPaymentAmount(frStandingOrderDiff.getNextPaymentAmount());
-                }
-                if (frStandingOrderDiff.getNextPaymentDateTime() != null) {
-                    standingOrder.setNextPaymentDateTime(frStandingOrderDiff.getNextPaymentDateTime());
-                }
-                if (frStandingOrderDiff.getFinalPaymentAmount() != null) {
-                    standingOrder.setFinalPaymentAmount(frStandingOrderDiff.getFinalPaymentAmount());
-                }
-                if (frStandingOrderDiff.getFinalPaymentDateTime() != null) {
-                    standingOrder.setFinalPaymentDateTime(frStandingOrderDiff.getFinalPaymentDateTime());
-                }
-                if (frStandingOrderDiff.getCreditorAccount() != null) {
-                    standingOrder.setCreditorAccount(frStandingOrderDiff.getCreditorAccount());
-                }
-                standingOrdersToSave.add(isStandingOrder.get());
+                checkBelongsToAccount("standing order", frStandingOrderDiff.getStandingOrderId(), frStandingOrderDiff.getAccountId());
+                changes.update(frStandingOrderDiff.getStandingOrderId(), standingOrderUpdate(frStandingOrderDiff));
             }
         }
-        if (standingOrderRepository.countByAccountIdIn(accountIds) + newStandingOrdersToSave.size() > documentLimit) {
+        if (standingOrderRepository.countByAccountIdIn(accountIds) + changes.getInserts().size() > documentLimit) {
             throw new ResponseStatusException(HttpStatus.PAYLOAD_TOO_LARGE,
                     String.format("Cannot add standing orders as it has exceeded maximum limit of %s", documentLimit));
         }
-        List<FRStandingOrder> allStandingOrders = ImmutableList.<FRStandingOrder>builder()
-                .addAll(standingOrdersToSave)
-                .addAll(newStandingOrdersToSave)
-                .build();
-        standingOrderRepository.saveAll(allStandingOrders);
+        applyChanges("standing order", changes);
     }
 
     void updateTransactions(FRAccountData accountDataDiff, Set<String> accountIds) {
         String accountId = accountDataDiff.getAccount().getAccountId();
         //Transactions
-        List<FRTransaction> transactionsToSave = new ArrayList<>();
-        List<FRTransaction> newTransactionsToSave = new ArrayList<>();
+        FRAccountDataChanges<FRTransaction> changes = new FRAccountDataChanges<>(FRTransaction.class, accountId);
         for (OBTransaction6 obTransactionDiff : accountDataDiff.getTransactions()) {
 
             if (obTransactionDiff.getAccountId() != null && !obTransactionDiff.getAccountId().equals(accountId)) {
@@ -484,64 +415,23 @@ public class DataUpdater {
                 transaction.setBookingDateTime((frTransactionDiff.getBookingDateTime()));
                 transaction.setTransaction(frTransactionDiff);
                 transaction.setId(frTransactionDiff.getTransactionId());
-                newTransactionsToSave.add(transaction);
+                changes.insert(transaction);
             } else {
-                Optional<FRTransaction> isTransaction = transactionRepository.findById(frTransactionDiff.getTransactionId());
-                if (isTransaction.isEmpty() || !isTransaction.get().getAccountId().equals(frTransactionDiff.getAccountId())) {
-                    throw new ResponseStatusException(HttpStatus.NOT_FOUND, "The transaction id '"
-                            + frTransactionDiff.getTransactionId() + "' doesn't exist or doesn't belongs to this account ID.");
-                }
-                FRTransactionData transaction = isTransaction.get().getTransaction();
-                if (frTransactionDiff.getTransactionReference() != null) {
-                    transaction.setTransactionReference(frTransactionDiff.getTransactionReference());
-                }
-                if (frTransactionDiff.getAmount() != null) {
-                    transaction.setAmount(frTransactionDiff.getAmount());
-                }
-                if (frTransactionDiff.getCreditDebitIndicator() != null) {
-                    transaction.setCreditDebitIndicator(frTransactionDiff.getCreditDebitIndicator());
-                }
-                if (frTransactionDiff.getStatus() != null) {
-                    transaction.setStatus(frTransactionDiff.getStatus());
-                }
-                if (frTransactionDiff.getBookingDateTime() != null) {
-                    transaction.setBookingDateTime(frTransactionDiff.getBookingDateTime());
-                    isTransaction.get().setBookingDateTime(frTransactionDiff.getBookingDateTime());
-                }
-                if (frTransactionDiff.getValueDateTime() != null) {
-                    transaction.setValueDateTime(frTransactionDiff.getValueDateTime());
-                }
-                if (frTransactionDiff.getTransactionInformation() != null) {
-                    transaction.setTransactionInformation(frTransactionDiff.getTransactionInformation());
-                }
-                if (frTransactionDiff.getBankTransactionCode() != null) {
-                    transaction.setBankTransactionCode(frTransactionDiff.getBankTransactionCode());
-                }
-                if (frTransactionDiff.getProprietaryBankTransactionCode() != null) {
-                    transaction.setProprietaryBankTransactionCode(frTransactionDiff.getProprietaryBankTransactionCode());
-                }
-                if (frTransactionDiff.getBalance() != null) {
-                    transaction.setBalance(frTransactionDiff.getBalance());
-                }
-                transactionsToSave.add(isTransaction.get());
+                checkBelongsToAccount("transaction", frTransactionDiff.getTransactionId(), frTransactionDiff.getAccountId());
+                changes.update(frTransactionDiff.getTransactionId(), transactionUpdate(frTransactionDiff));
             }
         }
-        if (transactionRepository.countByAccountIdIn(accountIds) + newTransactionsToSave.size() > documentLimit) {
+        if (transactionRepository.countByAccountIdIn(accountIds) + changes.getInserts().size() > documentLimit) {
             throw new ResponseStatusException(HttpStatus.PAYLOAD_TOO_LARGE,
                     String.format("Cannot add transactions as it has exceeded maximum limit of %s", documentLimit));
         }
-        List<FRTransaction> allTransactions = ImmutableList.<FRTransaction>builder()
-                .addAll(transactionsToSave)
-                .addAll(newTransactionsToSave)
-                .build();
-        transactionRepository.saveAll(allTransactions);
+        applyChanges("transaction", changes);
     }
 
     void updateStatements(FRAccountData accountDataDiff, Set<String> accountIds) {
         String accountId = accountDataDiff.getAccount().getAccountId();
         //Statements
-        List<FRStatement> statementsToSave = new ArrayList<>();
-        List<FRStatement> newStatementsToSave = new ArrayList<>();
+        FRAccountDataChanges<FRStatement> changes = new FRAccountDataChanges<>(FRStatement.class, accountId);
         for (OBStatement2 obStatementDiff : accountDataDiff.getStatements()) {
 
             if (obStatementDiff.getAccountId() != null && !obStatementDiff.getAccountId().equals(accountId)) {
@@ -553,79 +443,27 @@ public class DataUpdater {
             if (frStatementDiff.getStatementId() == null) {
                 frStatementDiff.setAccountId(accountId);
                 frStatementDiff.setStatementId(UUID.randomUUID().toString());
-                FRStatement statement1 = new FRStatement();
-                statement1.setAccountId(accountId);
-                statement1.setStatement(frStatementDiff);
-                statement1.setId(frStatementDiff.getStatementId());
-                newStatementsToSave.add(statement1);
+                FRStatement statement = new FRStatement();
+                statement.setAccountId(accountId);
+                statement.setStatement(frStatementDiff);
+                statement.setId(frStatementDiff.getStatementId());
+                changes.insert(statement);
             } else {
-                Optional<FRStatement> isStatement = statementRepository.findById(frStatementDiff.getStatementId());
-                if (isStatement.isEmpty() || !isStatement.get().getAccountId().equals(frStatementDiff.getAccountId())) {
-                    throw new ResponseStatusException(HttpStatus.NOT_FOUND, "The statement id '"
-                            + frStatementDiff.getStatementId() + "' doesn't exist or doesn't belongs to this account ID.");
-                }
-
-                FRStatementData statement = isStatement.get().getStatement();
-                if (frStatementDiff.getEndDateTime() != null) {
-                    statement.setEndDateTime(frStatementDiff.getEndDateTime());
-                    isStatement.get().setEndDateTime(frStatementDiff.getEndDateTime());
-                }
-                if (frStatementDiff.getStartDateTime() != null) {
-                    statement.setStartDateTime(frStatementDiff.getStartDateTime());
-                    isStatement.get().setStartDateTime(frStatementDiff.getStartDateTime());
-                }
-                if (frStatementDiff.getType() != null) {
-                    statement.setType(frStatementDiff.getType());
-                }
-                if (frStatementDiff.getCreationDateTime() != null) {
-                    statement.setCreationDateTime(frStatementDiff.getCreationDateTime());
-                }
-                if (frStatementDiff.getStatementAmounts() != null) {
-                    statement.setStatementAmounts(frStatementDiff.getStatementAmounts());
-                }
-                if (frStatementDiff.getStatementBenefits() != null) {
-                    statement.setStatementBenefits(frStatementDiff.getStatementBenefits());
-                }
-                if (frStatementDiff.getStatementDateTimes() != null) {
-                    statement.setStatementDateTimes(frStatementDiff.getStatementDateTimes());
-                }
-                if (frStatementDiff.getStatementDescriptions() != null) {
-                    statement.setStatementDescriptions(frStatementDiff.getStatementDescriptions());
-                }
-                if (frStatementDiff.getStatementFees() != null) {
-                    statement.setStatementFees(frStatementDiff.getStatementFees());
-                }
-                if (frStatementDiff.getStatementInterests() != null) {
-                    statement.setStatementInterests(frStatementDiff.getStatementInterests());
-                }
-                if (frStatementDiff.getStatementRates() != null) {
-                    statement.setStatementRates(frStatementDiff.getStatementRates());
-                }
-                if (frStatementDiff.getStatementReference() != null) {
-                    statement.setStatementReference(frStatementDiff.getStatementReference());
-                }
-                if (frStatementDiff.getStatementValues() != null) {
-                    statement.setStatementValues(frStatementDiff.getStatementValues());
-                }
-                statementsToSave.add(isStatement.get());
+                checkBelongsToAccount("statement", frStatementDiff.getStatementId(), frStatementDiff.getAccountId());
+                changes.update(frStatementDiff.getStatementId(), statementUpdate(frStatementDiff));
             }
         }
-        if (statementRepository.countByAccountIdIn(accountIds) + newStatementsToSave.size() > documentLimit) {
+        if (statementRepository.countByAccountIdIn(accountIds) + changes.getInserts().size() > documentLimit) {
             throw new ResponseStatusException(HttpStatus.PAYLOAD_TOO_LARGE,
                     String.format("Cannot add statements as it has exceeded maximum limit of %s", documentLimit));
         }
-        List<FRStatement> allStatements = ImmutableList.<FRStatement>builder()
-                .addAll(statementsToSave)
-                .addAll(newStatementsToSave)
-                .build();
-        statementRepository.saveAll(allStatements);
+        applyChanges("statement", changes);
     }
 
     void updateScheduledPayments(FRAccountData accountDataDiff, Set<String> accountIds) {
         String accountId = accountDataDiff.getAccount().getAccountId();
         //Scheduled Payment
-        List<FRScheduledPayment> scheduledPaymentToSave = new ArrayList<>();
-        List<FRScheduledPayment> newScheduledPaymentToSave = new ArrayList<>();
+        FRAccountDataChanges<FRScheduledPayment> changes = new FRAccountDataChanges<>(FRScheduledPayment.class, accountId);
         for (OBScheduledPayment3 obScheduledDiff : accountDataDiff.getScheduledPayments()) {
 
             if (obScheduledDiff.getAccountId() != null && !obScheduledDiff.getAccountId().equals(accountId)) {
@@ -637,57 +475,28 @@ public class DataUpdater {
             if (frScheduledDiff.getScheduledPaymentId() == null) {
                 frScheduledDiff.setAccountId(accountId);
                 frScheduledDiff.setScheduledPaymentId(UUID.randomUUID().toString());
-                FRScheduledPayment scheduledPayment1 = new FRScheduledPayment();
-                scheduledPayment1.setAccountId(accountId);
-                scheduledPayment1.setScheduledPayment(frScheduledDiff);
-                scheduledPayment1.setId(frScheduledDiff.getScheduledPaymentId());
-                scheduledPayment1.setStatus(FRScheduledPayment.ScheduledPaymentStatus.PENDING);
-                newScheduledPaymentToSave.add(scheduledPayment1);
+                FRScheduledPayment scheduledPayment = new FRScheduledPayment();
+                scheduledPayment.setAccountId(accountId);
+                scheduledPayment.setScheduledPayment(frScheduledDiff);
+                scheduledPayment.setId(frScheduledDiff.getScheduledPaymentId());
+                scheduledPayment.setStatus(FRScheduledPayment.ScheduledPaymentStatus.PENDING);
+                changes.insert(scheduledPayment);
             } else {
-                Optional<FRScheduledPayment> isScheduledPayment = scheduledPaymentRepository.findById(frScheduledDiff.getScheduledPaymentId());
-                if (isScheduledPayment.isEmpty() || !isScheduledPayment.get().getAccountId().equals(frScheduledDiff.getAccountId())) {
-                    throw new ResponseStatusException(HttpStatus.NOT_FOUND, "The scheduled payment id '"
-                            + frScheduledDiff.getScheduledPaymentId() + "' doesn't exist or doesn't belongs to this account ID.");
-                }
-
-                FRScheduledPaymentData scheduledPayment = isScheduledPayment.get().getScheduledPayment();
-                if (frScheduledDiff.getCreditorAccount() != null) {
-                    scheduledPayment.setCreditorAccount(frScheduledDiff.getCreditorAccount());
-                }
-                if (frScheduledDiff.getInstructedAmount() != null) {
-                    scheduledPayment.setInstructedAmount(frScheduledDiff.getInstructedAmount());
-                }
-                if (frScheduledDiff.getReference() != null) {
-                    scheduledPayment.setReference(frScheduledDiff.getReference());
-                }
-                if (frScheduledDiff.getCreditorAgent() != null) {
-                    scheduledPayment.setCreditorAgent(frScheduledDiff.getCreditorAgent());
-                }
-                if (frScheduledDiff.getScheduledPaymentDateTime() != null) {
-                    scheduledPayment.setScheduledPaymentDateTime(frScheduledDiff.getScheduledPaymentDateTime());
-                }
-                if (frScheduledDiff.getScheduledType() != null) {
-                    scheduledPayment.setScheduledType(frScheduledDiff.getScheduledType());
-                }
-                scheduledPaymentToSave.add(isScheduledPayment.get());
+                checkBelongsToAccount("scheduled payment", frScheduledDiff.getScheduledPaymentId(), frScheduledDiff.getAccountId());
+                changes.update(frScheduledDiff.getScheduledPaymentId(), scheduledPaymentUpdate(frScheduledDiff));
             }
         }
-        if (scheduledPaymentRepository.countByAccountIdIn(accountIds) + newScheduledPaymentToSave.size() > documentLimit) {
+        if (scheduledPaymentRepository.countByAccountIdIn(accountIds) + changes.getInserts().size() > documentLimit) {
             throw new ResponseStatusException(HttpStatus.PAYLOAD_TOO_LARGE,
                     String.format("Cannot add schedule payments as it has exceeded maximum limit of %s", documentLimit));
         }
-        List<FRScheduledPayment> allScheduledPayments = ImmutableList.<FRScheduledPayment>builder()
-                .addAll(scheduledPaymentToSave)
-                .addAll(newScheduledPaymentToSave)
-                .build();
-        scheduledPaymentRepository.saveAll(allScheduledPayments);
+        applyChanges("scheduled payment", changes);
     }
 
     void updateOffers(FRAccountData accountDataDiff, Set<String> accountIds) {
         String accountId = accountDataDiff.getAccount().getAccountId();
         //Offers
-        List<FROffer> offersToSave = new ArrayList<>();
-        List<FROffer> newOffersToSave = new ArrayList<>();
+        FRAccountDataChanges<FROffer> changes = new FRAccountDataChanges<>(FROffer.class, accountId);
         for (OBReadOffer1DataOfferInner obOfferDiff : accountDataDiff.getOffers()) {
 
             if (obOfferDiff.getAccountId() != null && !obOfferDiff.getAccountId().equals(accountId)) {
@@ -699,61 +508,46 @@ public class DataUpdater {
             if (frOfferDiff.getOfferId() == null) {
                 frOfferDiff.setAccountId(accountId);
                 frOfferDiff.setOfferId(UUID.randomUUID().toString());
-                FROffer offer1 = new FROffer();
-                offer1.setAccountId(accountId);
-                offer1.setOffer(frOfferDiff);
-                offer1.setId(frOfferDiff.getOfferId());
-                newOffersToSave.add(offer1);
+                FROffer offer = new FROffer();
+                offer.setAccountId(accountId);
+                offer.setOffer(frOfferDiff);
+                offer.setId(frOfferDiff.getOfferId());
+                changes.insert(offer);
             } else {
-                Optional<FROffer> isOffers = offerRepository.findById(frOfferDiff.getOfferId());
-                if (isOffers.isEmpty() || !isOffers.get().getAccountId().equals(frOfferDiff.getAccountId())) {
-                    throw new ResponseStatusException(HttpStatus.NOT_FOUND, "The offer id '"
-                            + frOfferDiff.getOfferId() + "' doesn't exist or doesn't belongs to this account ID.");
-                }
-
-                FROfferData offer = isOffers.get().getOffer();
-                if (frOfferDiff.getAmount() != null) {
-                    offer.setAmount(frOfferDiff.getAmount());
-                }
-                if (frOfferDiff.getDescription() != null) {
-                    offer.setDescription(frOfferDiff.getDescription());
-                }
-                if (frOfferDiff.getEndDateTime() != null) {
-                    offer.setEndDateTime(frOfferDiff.getEndDateTime());
-                }
-                if (frOfferDiff.getStartDateTime() != null) {
-                    offer.setStartDateTime(frOfferDiff.getStartDateTime());
-                }
-                if (frOfferDiff.getURL() != null) {
-                    offer.setURL(frOfferDiff.getURL());
-                }
-                if (frOfferDiff.getValue() != null) {
-                    offer.setValue(frOfferDiff.getValue());
-                }
-                if (frOfferDiff.getFee() != null) {
-                    offer.setFee(frOfferDiff.getFee());
-                }
-                if (frOfferDiff.getOfferType() != null) {
-                    offer.setOfferType(frOfferDiff.getOfferType());
-                }
-                if (frOfferDiff.getRate() != null) {
-                    offer.setRate(frOfferDiff.getRate());
-                }
-                if (frOfferDiff.getTerm() != null) {
-                    offer.setTerm(frOfferDiff.getTerm());
-                }
-                offersToSave.add(isOffers.get());
+                checkBelongsToAccount("offer", frOfferDiff.getOfferId(), frOfferDiff.getAccountId());
+                changes.update(frOfferDiff.getOfferId(), offerUpdate(frOfferDiff));
             }
         }
-        if (offerRepository.countByAccountIdIn(accountIds) + newOffersToSave.size() > documentLimit) {
+        if (offerRepository.countByAccountIdIn(accountIds) + changes.getInserts().size() > documentLimit) {
             throw new ResponseStatusException(HttpStatus.PAYLOAD_TOO_LARGE,
                     String.format("Cannot add offers as it has exceeded maximum limit of %s", documentLimit));
         }
-        List<FROffer> allOffers = ImmutableList.<FROffer>builder()
-                .addAll(offersToSave)
-                .addAll(newOffersToSave)
-                .build();
-        offerRepository.saveAll(allOffers);
+        applyChanges("offer", changes);
+    }
+
+    /**
+     * Rejects an update of an existing document when the diff isn't for the account being updated, ownership of the
+     * document itself is checked by the update's filter.
+     */
+    private static void checkBelongsToAccount(String resourceName, String id, String diffAccountId) {
+        if (diffAccountId == null) {
+            throw notFound(resourceName, List.of(id));
+        }
+    }
+
+    /**
+     * Inserts the new documents and updates the existing ones with a single bulk write.
+     */
+    private void applyChanges(String resourceName, FRAccountDataChanges<?> changes) {
+        List<String> unmatchedIds = accountDataBulkRepository.applyChanges(changes);
+        if (!unmatchedIds.isEmpty()) {
+            throw notFound(resourceName, unmatchedIds);
+        }
+    }
+
+    private static ResponseStatusException notFound(String resourceName, List<String> ids) {
+        return new ResponseStatusException(HttpStatus.NOT_FOUND, "The " + resourceName + " id '"
+                + String.join("', '", ids) + "' doesn't exist or doesn't belongs to this account ID.");
     }
 
     void updateCustomerInfo(FRCustomerInfo customerInfo, String userId) {
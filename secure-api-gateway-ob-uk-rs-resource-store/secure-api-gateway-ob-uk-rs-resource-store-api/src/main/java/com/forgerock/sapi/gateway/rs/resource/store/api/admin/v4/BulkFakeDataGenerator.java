@@ -0,0 +1,408 @@
+/*
+ * Copyright © 2020-2025 ForgeRock AS (obst@forgerock.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.forgerock.sapi.gateway.rs.resource.store.api.admin.v4;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.joda.time.DateTime;
+import org.joda.time.DateTimeZone;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.forgerock.sapi.gateway.ob.uk.common.datamodel.account.FRAccountBeneficiary;
+import com.forgerock.sapi.gateway.ob.uk.common.datamodel.account.FRBalanceType;
+import com.forgerock.sapi.gateway.ob.uk.common.datamodel.account.FRCashBalance;
+import com.forgerock.sapi.gateway.ob.uk.common.datamodel.account.FRCreditDebitIndicator;
+import com.forgerock.sapi.gateway.ob.uk.common.datamodel.account.FRDirectDebitData;
+import com.forgerock.sapi.gateway.ob.uk.common.datamodel.account.FRFinancialAccount;
+import com.forgerock.sapi.gateway.ob.uk.common.datamodel.account.FRPartyData;
+import com.forgerock.sapi.gateway.ob.uk.common.datamodel.account.FRStandingOrderData;
+import com.forgerock.sapi.gateway.ob.uk.common.datamodel.account.FRStatementData;
+import com.forgerock.sapi.gateway.ob.uk.common.datamodel.account.FRTransactionData;
+import com.forgerock.sapi.gateway.ob.uk.common.datamodel.common.FRAccountIdentifier;
+import com.forgerock.sapi.gateway.ob.uk.common.datamodel.common.FRAmount;
+import com.forgerock.sapi.gateway.ob.uk.common.datamodel.payment.FRExternalCategoryPurposeCode;
+import com.forgerock.sapi.gateway.ob.uk.common.datamodel.payment.FRExternalPaymentPurposeCode;
+import com.forgerock.sapi.gateway.rs.resource.store.repo.entity.account.FRAccount;
+import com.forgerock.sapi.gateway.rs.resource.store.repo.entity.account.FRBalance;
+import com.forgerock.sapi.gateway.rs.resource.store.repo.entity.account.FRBeneficiary;
+import com.forgerock.sapi.gateway.rs.resource.store.repo.entity.account.FRDirectDebit;
+import com.forgerock.sapi.gateway.rs.resource.store.repo.entity.account.FRParty;
+import com.forgerock.sapi.gateway.rs.resource.store.repo.entity.account.FRProduct;
+import com.forgerock.sapi.gateway.rs.resource.store.repo.entity.account.FRStandingOrder;
+import com.forgerock.sapi.gateway.rs.resource.store.repo.entity.account.FRStatement;
+import com.forgerock.sapi.gateway.rs.resource.store.repo.entity.account.FRTransaction;
+import com.forgerock.sapi.gateway.rs.resource.store.repo.mongo.accounts.FRAccountDataBatch;
+import com.forgerock.sapi.gateway.rs.resource.store.repo.mongo.accounts.FRAccountDataBulkRepository;
+
+import lombok.extern.slf4j.Slf4j;
+import uk.org.openbanking.datamodel.v3.account.OBExternalStatementAmountType1Code;
+import uk.org.openbanking.datamodel.v3.account.OBReadProduct2DataProductInner;
+import uk.org.openbanking.datamodel.v3.account.OBReadProduct2DataProductInnerProductType;
+import uk.org.openbanking.datamodel.v3.common.OBExternalAccountIdentification4Code;
+
+/**
+ * Generates high volumes of fake account data for capacity testing, far more than the random profile of
+ * {@link FakeDataApiController} creates for a single user.
+ * <p>
+ * Each user is generated by a separate task from its own random number generator, derived from the seed and the index
+ * of the user, so the same seed and parameters always produce the same data whatever the number of threads. Dates are
+ * relative to the start of the current month. Each user's documents are written with a bulk insert per collection.
+ */
+@Component
+@Slf4j
+public class BulkFakeDataGenerator implements DisposableBean {
+
+    private static final String GBP = "GBP";
+    // The number of beneficiaries, direct debits and standing orders generated per account is random, up to this
+    private static final int MAX_PAYEES_PER_ACCOUNT = 7;
+    private static final int BALANCES_PER_ACCOUNT = 2;
+    private static final long SEED_INCREMENT = 0x9E3779B97F4A7C15L;
+
+    private final FRAccountDataBulkRepository accountDataBulkRepository;
+    private final int documentLimit;
+    private final int accountLimit;
+    private final ExecutorService executor;
+
+    public BulkFakeDataGenerator(FRAccountDataBulkRepository accountDataBulkRepository,
+                                 @Value("${rs.data.upload.limit.documents}") Integer documentLimit,
+                                 @Value("${rs.data.upload.limit.accounts}") Integer accountLimit,
+                                 @Value("${rs.data.fake.bulk.threads:4}") int threads) {
+        this.accountDataBulkRepository = accountDataBulkRepository;
+        this.documentLimit = documentLimit;
+        this.accountLimit = accountLimit;
+        this.executor = Executors.newFixedThreadPool(threads, new CustomizableThreadFactory("fake-data-"));
+    }
+
+    /**
+     * Generates and writes the data of the users "{userPrefix}-0" to "{userPrefix}-{users - 1}".
+     *
+     * @param seed the seed of the data, the same seed and parameters produce the same users, account ids and data
+     * @param companies the company names payees and references are picked from
+     * @param names the person names creditor accounts and transaction information are picked from
+     * @throws ResponseStatusException PAYLOAD_TOO_LARGE if a user's data would exceed rs.data.upload.limit.accounts or
+     *                                 rs.data.upload.limit.documents, CONFLICT if accounts of users with the prefix
+     *                                 already exist, in both cases before any data has been written
+     */
+    public Result generate(String userPrefix, int users, int accountsPerUser, int months, int transactionsPerMonth,
+                           long seed, List<String> companies, List<String> names) {
+        checkLimits(accountsPerUser, months, transactionsPerMonth);
+        // The same prefix and seed would generate the same ids, writing some of the users before failing on duplicates
+        if (accountDataBulkRepository.existsAccountByUserIdPrefix(userPrefix + "-")) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT,
+                    String.format("Accounts already exist for users with the prefix '%s'", userPrefix));
+        }
+        final long start = System.currentTimeMillis();
+        final DateTime firstMonth = DateTime.now(DateTimeZone.UTC).withTimeAtStartOfDay().dayOfMonth().withMinimumValue()
+                .minusMonths(months);
+        final Map<String, Long> documentsWritten = new ConcurrentHashMap<>();
+        final AtomicLong accounts = new AtomicLong();
+
+        final List<CompletableFuture<Void>> tasks = new ArrayList<>(users);
+        for (int userIndex = 0; userIndex < users; userIndex++) {
+            final String userId = userPrefix + "-" + userIndex;
+            final SplittableRandom random = new SplittableRandom(seed + userIndex * SEED_INCREMENT);
+            tasks.add(CompletableFuture.runAsync(() -> {
+                final FRAccountDataBatch batch = generateUser(random, userId, accountsPerUser, firstMonth, months,
+                        transactionsPerMonth, companies, names);
+                accountDataBulkRepository.insertAll(batch)
+                        .forEach((collection, rows) -> documentsWritten.merge(collection, (long) rows, Long::sum));
+                accounts.addAndGet(batch.getAccounts().size());
+            }, executor));
+        }
+        try {
+            tasks.forEach(CompletableFuture::join);
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+
+        final long durationMillis = System.currentTimeMillis() - start;
+        log.info("Generated {} users with {} accounts in {}ms, documents written by collection: {}",
+                users, accounts.get(), durationMillis, documentsWritten);
+        return new Result(seed, users, accounts.get(), Map.copyOf(documentsWritten), durationMillis);
+    }
+
+    private void checkLimits(int accountsPerUser, int months, int transactionsPerMonth) {
+        if (accountsPerUser > accountLimit) {
+            throw new ResponseStatusException(HttpStatus.PAYLOAD_TOO_LARGE,
+                    String.format("Cannot add account as it has exceeded maximum limit of %s", accountLimit));
+        }
+        // The limits apply to all the documents of a type belonging to a user's accounts
+        checkDocumentLimit("balance", (long) accountsPerUser * BALANCES_PER_ACCOUNT);
+        checkDocumentLimit("beneficiaries", (long) accountsPerUser * MAX_PAYEES_PER_ACCOUNT);
+        checkDocumentLimit("direct debits", (long) accountsPerUser * MAX_PAYEES_PER_ACCOUNT);
+        checkDocumentLimit("standing orders", (long) accountsPerUser * MAX_PAYEES_PER_ACCOUNT);
+        checkDocumentLimit("transactions", (long) accountsPerUser * months * transactionsPerMonth);
+        checkDocumentLimit("statements", (long) accountsPerUser * months);
+    }
+
+    private void checkDocumentLimit(String resourceName, long documents) {
+        if (documents > documentLimit) {
+            throw new ResponseStatusException(HttpStatus.PAYLOAD_TOO_LARGE,
+                    String.format("Cannot add %s as it has exceeded maximum limit of %s", resourceName, documentLimit));
+        }
+    }
+
+    private FRAccountDataBatch generateUser(SplittableRandom random, String userId, int accountsPerUser,
+                                            DateTime firstMonth, int months, int transactionsPerMonth,
+                                            List<String> companies, List<String> names) {
+        final FRAccountDataBatch batch = new FRAccountDataBatch();
+        final String partyId = randomId(random);
+        batch.getParties().add(FRParty.builder()
+                .id(partyId)
+                .userId(userId)
+                .party(FRPartyData.builder().partyId(partyId).name(userId).build())
+                .build());
+        for (int i = 0; i < accountsPerUser; i++) {
+            generateAccount(random, batch, userId, firstMonth, months, transactionsPerMonth, companies, names);
+        }
+        return batch;
+    }
+
+    private void generateAccount(SplittableRandom random, FRAccountDataBatch batch, String userId, DateTime firstMonth,
+                                 int months, int transactionsPerMonth, List<String> companies, List<String> names) {
+        // 6-digit sort code followed by an 8-digit account number
+        final String accountId = String.valueOf(random.nextInt(100000, 999999)) + random.nextInt(10000000, 99999999);
+        final FRAccount account = FRAccount.builder()
+                .id(accountId)
+                .userID(userId)
+                .account(FRFinancialAccount.builder()
+                        .accountId(accountId)
+                        .accountType(FRFinancialAccount.FRAccountTypeCode.PERSONAL)
+                        .accountSubType(FRFinancialAccount.FRAccountSubTypeCode.CURRENTACCOUNT)
+                        .currency(GBP)
+                        .nickname("Capacity test")
+                        .status(FRFinancialAccount.FRAccountStatusCode.ENABLED)
+                        .statusUpdateDateTime(firstMonth)
+                        .accounts(List.of(accountIdentifier(OBExternalAccountIdentification4Code.SORTCODEACCOUNTNUMBER,
+                                accountId, userId)))
+                        .build())
+                .build();
+        batch.getAccounts().add(account);
+
+        final String productId = randomId(random);
+        batch.getProducts().add(FRProduct.builder()
+                .id(productId)
+                .accountId(accountId)
+                .product(new OBReadProduct2DataProductInner()
+                        .accountId(accountId)
+                        .productId(productId)
+                        .productType(OBReadProduct2DataProductInnerProductType.PERSONALCURRENTACCOUNT)
+                        .productName("Capacity test product"))
+                .build());
+        final String accountPartyId = randomId(random);
+        batch.getParties().add(FRParty.builder()
+                .id(accountPartyId)
+                .accountId(accountId)
+                .party(FRPartyData.builder().partyId(accountPartyId).name(userId).build())
+                .build());
+
+        for (int i = random.nextInt(2, MAX_PAYEES_PER_ACCOUNT + 1); i > 0; i--) {
+            final String beneficiaryId = randomId(random);
+            batch.getBeneficiaries().add(FRBeneficiary.builder()
+                    .id(beneficiaryId)
+                    .accountId(accountId)
+                    .beneficiary(FRAccountBeneficiary.builder()
+                            .accountId(accountId)
+                            .beneficiaryId(beneficiaryId)
+                            .beneficiaryType(FRAccountBeneficiary.FRBeneficiaryType.ORDINARY)
+                            .reference(randomElement(random, companies))
+                            .creditorAccount(randomCreditorAccount(random, names))
+                            .build())
+                    .build());
+        }
+        for (int i = random.nextInt(2, MAX_PAYEES_PER_ACCOUNT + 1); i > 0; i--) {
+            final String directDebitId = randomId(random);
+            batch.getDirectDebits().add(FRDirectDebit.builder()
+                    .id(directDebitId)
+                    .accountId(accountId)
+                    .directDebit(FRDirectDebitData.builder()
+                            .accountId(accountId)
+                            .directDebitId(directDebitId)
+                            .directDebitStatusCode(FRDirectDebitData.FRDirectDebitStatus.ACTIVE)
+                            .name(randomElement(random, companies))
+                            .previousPaymentAmount(randomAmount(random, 10, 500))
+                            .build())
+                    .build());
+        }
+        for (int i = random.nextInt(2, MAX_PAYEES_PER_ACCOUNT + 1); i > 0; i--) {
+            final String standingOrderId = randomId(random);
+            final FRAmount amount = randomAmount(random, 10, 500);
+            batch.getStandingOrders().add(FRStandingOrder.builder()
+                    .id(standingOrderId)
+                    .accountId(accountId)
+                    .standingOrder(FRStandingOrderData.builder()
+                            .accountId(accountId)
+                            .standingOrderId(standingOrderId)
+                            .standingOrderStatusCode(FRStandingOrderData.FRStandingOrderStatus.ACTIVE)
+                            .firstPaymentAmount(amount)
+                            .nextPaymentAmount(amount)
+                            .creditorAccount(randomCreditorAccount(random, names))
+                            .build())
+                    .build());
+        }
+
+        double balance = round(random.nextDouble(1000, 10000));
+        DateTime month = firstMonth;
+        for (int m = 0; m < months; m++) {
+            final String statementId = randomId(random);
+            final DateTime statementEnd = month.plusMonths(1).minusDays(1);
+            batch.getStatements().add(FRStatement.builder()
+                    .id(statementId)
+                    .accountId(accountId)
+                    .startDateTime(month)
+                    .endDateTime(statementEnd)
+                    .statement(FRStatementData.builder()
+                            .accountId(accountId)
+                            .statementId(statementId)
+                            .statementReference(month.toString("yyyy-MM"))
+                            .type(FRStatementData.FRStatementType.REGULARPERIODIC)
+                            .startDateTime(month)
+                            .endDateTime(statementEnd)
+                            .statementAmounts(List.of(FRStatementData.FRStatementAmount.builder()
+                                    .amount(amount(balance))
+                                    .creditDebitIndicator(FRCreditDebitIndicator.CREDIT)
+                                    .type(OBExternalStatementAmountType1Code.PREVIOUSCLOSINGBALANCE.toString())
+                                    .build()))
+                            .build())
+                    .build());
+
+            final long monthMillis = month.plusMonths(1).getMillis() - month.getMillis();
+            for (int t = 0; t < transactionsPerMonth; t++) {
+                final DateTime bookingDateTime = month.plus(random.nextLong(monthMillis));
+                final FRCreditDebitIndicator creditDebitIndicator = random.nextBoolean()
+                        ? FRCreditDebitIndicator.CREDIT : FRCreditDebitIndicator.DEBIT;
+                final double transactionAmount = round(random.nextDouble(10, 500));
+                balance = round(creditDebitIndicator == FRCreditDebitIndicator.CREDIT
+                        ? balance + transactionAmount : balance - transactionAmount);
+                final String transactionId = randomId(random);
+                final FRTransaction transaction = FRTransaction.builder()
+                        .id(transactionId)
+                        .accountId(accountId)
+                        .statementIds(List.of(statementId))
+                        .bookingDateTime(bookingDateTime)
+                        .transaction(FRTransactionData.builder()
+                                .accountId(accountId)
+                                .transactionId(transactionId)
+                                .transactionReference("Ref " + random.nextInt(10000))
+                                .amount(amount(transactionAmount))
+                                .creditDebitIndicator(creditDebitIndicator)
+                                .status(FRTransactionData.FREntryStatus.BOOKED)
+                                .bookingDateTime(bookingDateTime)
+                                .valueDateTime(bookingDateTime)
+                                .paymentPurposeCode(FRExternalPaymentPurposeCode.ACCT)
+                                .categoryPurposeCode(FRExternalCategoryPurposeCode.BONU)
+                                .transactionInformation(randomElement(random, names))
+                                .balance(FRTransactionData.FRTransactionCashBalance.builder()
+                                        .amount(amount(Math.abs(balance)))
+                                        .creditDebitIndicator(balance < 0 ? FRCreditDebitIndicator.DEBIT : FRCreditDebitIndicator.CREDIT)
+                                        .type(FRBalanceType.INTERIMBOOKED)
+                                        .build())
+                                .build())
+                        .build();
+                batch.getTransactions().add(transaction);
+            }
+            month = month.plusMonths(1);
+        }
+        account.setLatestStatementId(batch.getStatements().get(batch.getStatements().size() - 1).getId());
+
+        for (FRBalanceType balanceType : List.of(FRBalanceType.INTERIMAVAILABLE, FRBalanceType.INTERIMBOOKED)) {
+            batch.getBalances().add(FRBalance.builder()
+                    .accountId(accountId)
+                    .balance(FRCashBalance.builder()
+                            .accountId(accountId)
+                            .amount(amount(Math.abs(balance)))
+                            .creditDebitIndicator(balance < 0 ? FRCreditDebitIndicator.DEBIT : FRCreditDebitIndicator.CREDIT)
+                            .type(balanceType)
+                            .dateTime(month)
+                            .build())
+                    .build());
+        }
+    }
+
+    private static FRAccountIdentifier randomCreditorAccount(SplittableRandom random, List<String> names) {
+        final String identification = String.valueOf(random.nextInt(100000, 999999)) + random.nextInt(10000000, 99999999);
+        return accountIdentifier(OBExternalAccountIdentification4Code.SORTCODEACCOUNTNUMBER, identification,
+                randomElement(random, names));
+    }
+
+    private static FRAccountIdentifier accountIdentifier(OBExternalAccountIdentification4Code schemeName,
+                                                         String identification, String name) {
+        return FRAccountIdentifier.builder()
+                .schemeName(schemeName.toString())
+                .identification(identification)
+                .name(name)
+                .build();
+    }
+
+    private static String randomId(SplittableRandom random) {
+        return new UUID(random.nextLong(), random.nextLong()).toString();
+    }
+
+    private static String randomElement(SplittableRandom random, List<String> values) {
+        return values.get(random.nextInt(values.size()));
+    }
+
+    private static FRAmount randomAmount(SplittableRandom random, double min, double max) {
+        return amount(round(random.nextDouble(min, max)));
+    }
+
+    private static FRAmount amount(double amount) {
+        return FRAmount.builder().amount(BigDecimal.valueOf(amount).setScale(2, RoundingMode.HALF_UP).toPlainString())
+                .currency(GBP).build();
+    }
+
+    private static double round(double value) {
+        return BigDecimal.valueOf(value).setScale(2, RoundingMode.HALF_UP).doubleValue();
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Summary of a bulk generation.
+     */
+    @lombok.Value
+    public static class Result {
+        long seed;
+        int users;
+        long accounts;
+        // The number of documents written by collection name
+        Map<String, Long> documentsWritten;
+        long durationMillis;
+    }
+}
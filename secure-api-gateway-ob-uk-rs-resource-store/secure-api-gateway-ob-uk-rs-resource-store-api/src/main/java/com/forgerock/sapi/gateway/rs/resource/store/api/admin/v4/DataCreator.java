@@ -33,6 +33,7 @@ import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
+import java.util.function.BiPredicate;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
@@ -41,6 +42,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.web.server.ResponseStatusException;
 
+import com.forgerock.sapi.gateway.ob.uk.common.datamodel.account.FRBalanceType;
 import com.forgerock.sapi.gateway.ob.uk.common.datamodel.account.FRPartyData;
 import com.forgerock.sapi.gateway.ob.uk.common.datamodel.customerinfo.FRCustomerInfo;
 import com.forgerock.sapi.gateway.rs.resource.store.datamodel.account.v4.FRAccountData;
@@ -128,6 +130,15 @@ public class DataCreator {
     }
 
     List<FROffer> createOffers(FRAccountData accountData, Set<String> accountIds) {
+        List<FROffer> offers = toOffers(accountData, accountIds);
+        if (offerRepository.countByAccountIdIn(accountIds) + offers.size() > documentLimit) {
+            throw new ResponseStatusException(HttpStatus.PAYLOAD_TOO_LARGE,
+                    String.format("Cannot add offers as it has exceeded maximum limit of %s", documentLimit));
+        }
+        return offerRepository.saveAll(offers);
+    }
+
+    List<FROffer> toOffers(FRAccountData accountData, Set<String> accountIds) {
         List<FROffer> offers = new ArrayList<>();
         for (OBReadOffer1DataOfferInner obOffer : accountData.getOffers()) {
             String accountId = obOffer.getAccountId() != null ? obOffer.getAccountId() : accountData.getAccount().getAccountId();
@@ -142,14 +153,19 @@ public class DataCreator {
             offer.setId(obOffer.getOfferId());
             offers.add(offer);
         }
-        if (offerRepository.countByAccountIdIn(accountIds) + offers.size() > documentLimit) {
+        return offers;
+    }
+
+    List<FRScheduledPayment> createScheduledPayments(FRAccountData accountData, Set<String> accountIds) {
+        List<FRScheduledPayment> scheduledPayments = toScheduledPayments(accountData, accountIds);
+        if (scheduledPaymentRepository.countByAccountIdIn(accountIds) + scheduledPayments.size() > documentLimit) {
             throw new ResponseStatusException(HttpStatus.PAYLOAD_TOO_LARGE,
-                    String.format("Cannot add offers as it has exceeded maximum limit of %s", documentLimit));
+                    String.format("Cannot add scheduled payments as it has exceeded maximum limit of %s", documentLimit));
         }
-        return offerRepository.saveAll(offers);
+        return scheduledPaymentRepository.saveAll(scheduledPayments);
     }
 
-    List<FRScheduledPayment> createScheduledPayments(FRAccountData accountData, Set<String> accountIds) {
+    List<FRScheduledPayment> toScheduledPayments(FRAccountData accountData, Set<String> accountIds) {
         List<FRScheduledPayment> scheduledPayments = new ArrayList<>();
         for (OBScheduledPayment3 obScheduledPayment : accountData.getScheduledPayments()) {
             String accountId = obScheduledPayment.getAccountId() != null ? obScheduledPayment.getAccountId() : accountData.getAccount().getAccountId();
@@ -165,14 +181,19 @@ public class DataCreator {
             scheduledPayment.setStatus(FRScheduledPayment.ScheduledPaymentStatus.PENDING);
             scheduledPayments.add(scheduledPayment);
         }
-        if (scheduledPaymentRepository.countByAccountIdIn(accountIds) + scheduledPayments.size() > documentLimit) {
+        return scheduledPayments;
+    }
+
+    List<FRStatement> createStatements(FRAccountData accountData, Set<String> accountIds) {
+        List<FRStatement> statements = toStatements(accountData, accountIds);
+        if (statementRepository.countByAccountIdIn(accountIds) + statements.size() > documentLimit) {
             throw new ResponseStatusException(HttpStatus.PAYLOAD_TOO_LARGE,
-                    String.format("Cannot add scheduled payments as it has exceeded maximum limit of %s", documentLimit));
+                    String.format("Cannot add statements as it has exceeded maximum limit of %s", documentLimit));
         }
-        return scheduledPaymentRepository.saveAll(scheduledPayments);
+        return statementRepository.saveAll(statements);
     }
 
-    List<FRStatement> createStatements(FRAccountData accountData, Set<String> accountIds) {
+    List<FRStatement> toStatements(FRAccountData accountData, Set<String> accountIds) {
         List<FRStatement> statements = new ArrayList<>();
         for (OBStatement2 obStatement : accountData.getStatements()) {
             String accountId = obStatement.getAccountId() != null ? obStatement.getAccountId() : accountData.getAccount().getAccountId();
@@ -189,14 +210,19 @@ public class DataCreator {
             statement.setId(obStatement.getStatementId());
             statements.add(statement);
         }
-        if (statementRepository.countByAccountIdIn(accountIds) + statements.size() > documentLimit) {
+        return statements;
+    }
+
+    List<FRTransaction> createTransactions(FRAccountData accountData, Set<String> accountIds) {
+        List<FRTransaction> transactions = toTransactions(accountData, accountIds);
+        if (transactionRepository.countByAccountIdIn(accountIds) + transactions.size() > documentLimit) {
             throw new ResponseStatusException(HttpStatus.PAYLOAD_TOO_LARGE,
-                    String.format("Cannot add statements as it has exceeded maximum limit of %s", documentLimit));
+                    String.format("Cannot add transactions as it has exceeded maximum limit of %s", documentLimit));
         }
-        return statementRepository.saveAll(statements);
+        return transactionRepository.saveAll(transactions);
     }
 
-    List<FRTransaction> createTransactions(FRAccountData accountData, Set<String> accountIds) {
+    List<FRTransaction> toTransactions(FRAccountData accountData, Set<String> accountIds) {
         List<FRTransaction> transactions = new ArrayList<>();
         for (OBTransaction6 obTransaction : accountData.getTransactions()) {
             String accountId = obTransaction.getAccountId() != null ? obTransaction.getAccountId() : accountData.getAccount().getAccountId();
@@ -212,14 +238,19 @@ public class DataCreator {
             transaction.setId(obTransaction.getTransactionId());
             transactions.add(transaction);
         }
-        if (transactionRepository.countByAccountIdIn(accountIds) + transactions.size() > documentLimit) {
+        return transactions;
+    }
+
+    List<FRStandingOrder> createStandingOrders(FRAccountData accountData, Set<String> accountIds) {
+        List<FRStandingOrder> standingOrders = toStandingOrders(accountData, accountIds);
+        if (standingOrderRepository.countByAccountIdIn(accountIds) + standingOrders.size() > documentLimit) {
             throw new ResponseStatusException(HttpStatus.PAYLOAD_TOO_LARGE,
-                    String.format("Cannot add transactions as it has exceeded maximum limit of %s", documentLimit));
+                    String.format("Cannot add standing orders as it has exceeded maximum limit of %s", documentLimit));
         }
-        return transactionRepository.saveAll(transactions);
+        return standingOrderRepository.saveAll(standingOrders);
     }
 
-    List<FRStandingOrder> createStandingOrders(FRAccountData accountData, Set<String> accountIds) {
+    List<FRStandingOrder> toStandingOrders(FRAccountData accountData, Set<String> accountIds) {
         List<FRStandingOrder> standingOrders = new ArrayList<>();
         for (OBStandingOrder6 obStandingOrder : accountData.getStandingOrders()) {
             String accountId = obStandingOrder.getAccountId() != null ? obStandingOrder.getAccountId() : accountData.getAccount().getAccountId();
@@ -235,14 +266,19 @@ public class DataCreator {
             standingOrder.setStatus(FRStandingOrder.StandingOrderStatus.PENDING);
             standingOrders.add(standingOrder);
         }
-        if (standingOrderRepository.countByAccountIdIn(accountIds) + standingOrders.size() > documentLimit) {
+        return standingOrders;
+    }
+
+    List<FRDirectDebit> createDirectDebits(FRAccountData accountData, Set<String> accountIds) {
+        List<FRDirectDebit> directDebits = toDirectDebits(accountData, accountIds);
+        if (directDebitRepository.countByAccountIdIn(accountIds) + directDebits.size() > documentLimit) {
             throw new ResponseStatusException(HttpStatus.PAYLOAD_TOO_LARGE,
-                    String.format("Cannot add standing orders as it has exceeded maximum limit of %s", documentLimit));
+                    String.format("Cannot add direct debits as it has exceeded maximum limit of %s", documentLimit));
         }
-        return standingOrderRepository.saveAll(standingOrders);
+        return directDebitRepository.saveAll(directDebits);
     }
 
-    List<FRDirectDebit> createDirectDebits(FRAccountData accountData, Set<String> accountIds) {
+    List<FRDirectDebit> toDirectDebits(FRAccountData accountData, Set<String> accountIds) {
         List<FRDirectDebit> directDebits = new ArrayList<>();
         for (OBReadDirectDebit2DataDirectDebitInner obDirectDebit : accountData.getDirectDebits()) {
             String accountId = obDirectDebit.getAccountId() != null ? obDirectDebit.getAccountId() : accountData.getAccount().getAccountId();
@@ -257,14 +293,19 @@ public class DataCreator {
             directDebit.setId(obDirectDebit.getDirectDebitId());
             directDebits.add(directDebit);
         }
-        if (directDebitRepository.countByAccountIdIn(accountIds) + directDebits.size() > documentLimit) {
+        return directDebits;
+    }
+
+    List<FRBeneficiary> createBeneficiaries(FRAccountData accountData, Set<String> accountIds) {
+        List<FRBeneficiary> beneficiaries = toBeneficiaries(accountData, accountIds);
+        if (beneficiaryRepository.countByAccountIdIn(accountIds) + beneficiaries.size() > documentLimit) {
             throw new ResponseStatusException(HttpStatus.PAYLOAD_TOO_LARGE,
-                    String.format("Cannot add direct debits as it has exceeded maximum limit of %s", documentLimit));
+                    String.format("Cannot add beneficiaries as it has exceeded maximum limit of %s", documentLimit));
         }
-        return directDebitRepository.saveAll(directDebits);
+        return beneficiaryRepository.saveAll(beneficiaries);
     }
 
-    List<FRBeneficiary> createBeneficiaries(FRAccountData accountData, Set<String> accountIds) {
+    List<FRBeneficiary> toBeneficiaries(FRAccountData accountData, Set<String> accountIds) {
         List<FRBeneficiary> beneficiaries = new ArrayList<>();
         for (OBBeneficiary5 obBeneficiary : accountData.getBeneficiaries()) {
             String accountId = obBeneficiary.getAccountId() != null ? obBeneficiary.getAccountId() : accountData.getAccount().getAccountId();
@@ -279,14 +320,14 @@ public class DataCreator {
             beneficiary.setId(obBeneficiary.getBeneficiaryId());
             beneficiaries.add(beneficiary);
         }
-        if (beneficiaryRepository.countByAccountIdIn(accountIds) + beneficiaries.size() > documentLimit) {
-            throw new ResponseStatusException(HttpStatus.PAYLOAD_TOO_LARGE,
-                    String.format("Cannot add beneficiaries as it has exceeded maximum limit of %s", documentLimit));
-        }
-        return beneficiaryRepository.saveAll(beneficiaries);
+        return beneficiaries;
     }
 
     Optional<FRPartyData> createParty(FRAccountData accountData) {
+        return toParty(accountData).map(party -> partyRepository.save(party).getParty());
+    }
+
+    Optional<FRParty> toParty(FRAccountData accountData) {
         if (accountData.getParty() == null) {
             return Optional.empty();
         }
@@ -295,10 +336,14 @@ public class DataCreator {
         party.setAccountId(accountData.getAccount().getAccountId());
         party.setId(accountData.getParty().getPartyId());
         party.setParty(toFRPartyData(accountData.getParty()));
-        return Optional.of(partyRepository.save(party).getParty());
+        return Optional.of(party);
     }
 
     Optional<OBReadProduct2DataProductInner> createProducts(FRAccountData accountData, Set<String> accountIds) {
+        return toProduct(accountData, accountIds).map(product -> productRepository.save(product).getProduct());
+    }
+
+    Optional<FRProduct> toProduct(FRAccountData accountData, Set<String> accountIds) {
         OBReadProduct2DataProductInner obProduct = accountData.getProduct();
         if (obProduct == null) {
             return Optional.empty();
@@ -313,10 +358,24 @@ public class DataCreator {
         product.setAccountId(accountId);
         product.setId(obProduct.getProductId());
         product.setProduct(obProduct);
-        return Optional.of(productRepository.save(product).getProduct());
+        return Optional.of(product);
     }
 
     List<FRBalance> createBalances(FRAccountData accountData, Set<String> accountIds) {
+        List<FRBalance> balances = toBalances(accountData, accountIds,
+                (accountId, balanceType) -> balanceRepository.findByAccountIdAndBalanceType(accountId, balanceType).isPresent());
+        if (balanceRepository.countByAccountIdIn(accountIds) + balances.size() > documentLimit) {
+            throw new ResponseStatusException(HttpStatus.PAYLOAD_TOO_LARGE,
+                    String.format("Cannot add balance as it has exceeded maximum limit of %s", documentLimit));
+        }
+        return balanceRepository.saveAll(balances);
+    }
+
+    /**
+     * @param balanceTypeExists tests whether the account already has a balance of the type
+     */
+    List<FRBalance> toBalances(FRAccountData accountData, Set<String> accountIds,
+                               BiPredicate<String, FRBalanceType> balanceTypeExists) {
         List<FRBalance> balances = new ArrayList<>();
         for (OBReadBalance1DataBalanceInner obCashBalance : accountData.getBalances()) {
             String accountId = obCashBalance.getAccountId() != null ? obCashBalance.getAccountId() : accountData.getAccount().getAccountId();
@@ -325,8 +384,7 @@ public class DataCreator {
             }
             obCashBalance.setAccountId(accountId);
             // Check if balance type exists for account already
-            Optional<FRBalance> isExists = balanceRepository.findByAccountIdAndBalanceType(obCashBalance.getAccountId(), toFRBalanceType(obCashBalance.getType()));
-            if (isExists.isPresent()) {
+            if (balanceTypeExists.test(obCashBalance.getAccountId(), toFRBalanceType(obCashBalance.getType()))) {
                 throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
                         String.format("A Balance with this Balance Type '%s' already exists for this Account Id:%s",
                                 obCashBalance.getType(), obCashBalance.getAccountId()));
@@ -336,26 +394,26 @@ public class DataCreator {
             balance.setBalance(toFRCashBalance(obCashBalance));
             balances.add(balance);
         }
-        if (balanceRepository.countByAccountIdIn(accountIds) + balances.size() > documentLimit) {
+        return balances;
+    }
+
+    FRAccount createAccount(FRAccountData accountData, String userId) {
+        FRAccount account = accountsRepository.save(toAccount(accountData, userId));
+        Example<FRAccount> example = Example.of(FRAccount.builder().userID(userId).build());
+        if (accountsRepository.count(example) > accountLimit) {
             throw new ResponseStatusException(HttpStatus.PAYLOAD_TOO_LARGE,
-                    String.format("Cannot add balance as it has exceeded maximum limit of %s", documentLimit));
+                    String.format("Cannot add account as it has exceeded maximum limit of %s", documentLimit));
         }
-        return balanceRepository.saveAll(balances);
+        return account;
     }
 
-    FRAccount createAccount(FRAccountData accountData, String userId) {
+    FRAccount toAccount(FRAccountData accountData, String userId) {
         FRAccount account = new FRAccount();
         account.setCreated(new Date());
         account.setId(UUID.randomUUID().toString());
         account.setUserID(userId);
         accountData.getAccount().setAccountId(account.getId());
         account.setAccount(toFRFinancialAccount(accountData.getAccount()));
-        account = accountsRepository.save(account);
-        Example<FRAccount> example = Example.of(FRAccount.builder().userID(userId).build());
-        if (accountsRepository.count(example) > accountLimit) {
-            throw new ResponseStatusException(HttpStatus.PAYLOAD_TOO_LARGE,
-                    String.format("Cannot add account as it has exceeded maximum limit of %s", documentLimit));
-        }
         return account;
     }
 
@@ -47,4 +47,35 @@ public interface FakeDataApi {
             @ApiParam(value = "Profile")
             @RequestParam(name = "profile", required = false) String profile
     ) throws OBErrorException;
+
+    @ApiOperation(value = "Generate bulk Fake Data", nickname = "generateBulkFakeData",
+            notes = "Generates fake data for many users, for capacity testing. The same seed and parameters generate "
+                    + "the same data", response = BulkFakeDataGenerator.Result.class)
+    @ApiResponses(value = {
+            @ApiResponse(code = 201, message = "Data generated successfully", response = BulkFakeDataGenerator.Result.class),
+            @ApiResponse(code = 400, message = "Bad request"),
+            @ApiResponse(code = 403, message = "Forbidden"),
+            @ApiResponse(code = 405, message = "Method Not Allowed"),
+            @ApiResponse(code = 406, message = "Not Acceptable"),
+            @ApiResponse(code = 409, message = "Accounts already exist for the user prefix"),
+            @ApiResponse(code = 413, message = "Payload Too Large"),
+            @ApiResponse(code = 429, message = "Too Many Requests"),
+            @ApiResponse(code = 500, message = "Internal Server Error")})
+    @RequestMapping(value = "/generate/bulk/v4",
+            produces = {"application/json; charset=utf-8"},
+            method = RequestMethod.POST)
+    ResponseEntity<BulkFakeDataGenerator.Result> generateBulkFakeData(
+            @ApiParam(value = "Prefix of the generated user ids, users are named {userPrefix}-{index}, must not have been used already", required = true)
+            @RequestParam("userPrefix") String userPrefix,
+            @ApiParam(value = "Number of users")
+            @RequestParam(name = "users", defaultValue = "1") int users,
+            @ApiParam(value = "Number of accounts per user")
+            @RequestParam(name = "accountsPerUser", defaultValue = "1") int accountsPerUser,
+            @ApiParam(value = "Number of months of statements and transactions")
+            @RequestParam(name = "months", defaultValue = "12") int months,
+            @ApiParam(value = "Number of transactions per account per month")
+            @RequestParam(name = "transactionsPerMonth", defaultValue = "30") int transactionsPerMonth,
+            @ApiParam(value = "Seed of the generated data, a random seed is used and returned when absent")
+            @RequestParam(name = "seed", required = false) Long seed
+    ) throws OBErrorException;
 }
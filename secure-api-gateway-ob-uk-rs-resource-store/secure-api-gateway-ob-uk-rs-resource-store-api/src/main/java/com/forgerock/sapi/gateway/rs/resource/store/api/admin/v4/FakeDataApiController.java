@@ -152,6 +152,7 @@ public class FakeDataApiController implements FakeDataApi {
     private final ObjectMapper mapper;
     private final DataConfigurationProperties dataConfig;
     private final TestUserAccountIds testUserAccountIds;
+    private final BulkFakeDataGenerator bulkFakeDataGenerator;
 
     private List<String> companies;
     private List<String> names;
@@ -164,7 +165,7 @@ public class FakeDataApiController implements FakeDataApi {
             FRScheduledPaymentRepository scheduledPaymentRepository, FRPartyRepository partyRepository,
             FROfferRepository offerRepository, DataApiController dataController,
             ObjectMapper mapper, DataConfigurationProperties dataConfig,
-            TestUserAccountIds testUserAccountIds
+            TestUserAccountIds testUserAccountIds, BulkFakeDataGenerator bulkFakeDataGenerator
     ) throws IOException {
         this.accountsRepository = accountsRepository;
         this.balanceRepository = balanceRepository;
@@ -181,6 +182,7 @@ public class FakeDataApiController implements FakeDataApi {
         this.mapper = mapper;
         this.dataConfig = dataConfig;
         this.testUserAccountIds = testUserAccountIds;
+        this.bulkFakeDataGenerator = bulkFakeDataGenerator;
         companies = loadCSV(new ClassPathResource(COMPANIES_CSV));
         names = loadCSV(new ClassPathResource(NAMES_CSV));
     }
@@ -206,6 +208,25 @@ public class FakeDataApiController implements FakeDataApi {
         }
     }
 
+    @Override
+    public ResponseEntity<BulkFakeDataGenerator.Result> generateBulkFakeData(
+            @RequestParam("userPrefix") String userPrefix,
+            @RequestParam(name = "users", defaultValue = "1") int users,
+            @RequestParam(name = "accountsPerUser", defaultValue = "1") int accountsPerUser,
+            @RequestParam(name = "months", defaultValue = "12") int months,
+            @RequestParam(name = "transactionsPerMonth", defaultValue = "30") int transactionsPerMonth,
+            @RequestParam(name = "seed", required = false) Long seed
+    ) throws OBErrorException {
+        if (users < 1 || accountsPerUser < 1 || months < 1 || transactionsPerMonth < 0) {
+            throw new OBErrorException(DATA_INVALID_REQUEST,
+                    "users, accountsPerUser and months must be at least 1 and transactionsPerMonth at least 0");
+        }
+        final long dataSeed = seed != null ? seed : ThreadLocalRandom.current().nextLong();
+        LOGGER.info("Generate bulk data for {} users with prefix '{}' from seed {}", users, userPrefix, dataSeed);
+        return ResponseEntity.status(HttpStatus.CREATED).body(bulkFakeDataGenerator.generate(userPrefix, users,
+                accountsPerUser, months, transactionsPerMonth, dataSeed, companies, names));
+    }
+
     private FRUserData getTemplate(Resource template, String username) {
         try {
             String content = StreamUtils.copyToString(template.getInputStream(), Charset.defaultCharset());
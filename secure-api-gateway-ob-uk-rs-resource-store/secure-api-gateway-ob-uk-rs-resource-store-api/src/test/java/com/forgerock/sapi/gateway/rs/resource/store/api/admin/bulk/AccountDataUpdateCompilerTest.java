@@ -0,0 +1,95 @@
+/*
+ * Copyright © 2020-2025 ForgeRock AS (obst@forgerock.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.forgerock.sapi.gateway.rs.resource.store.api.admin.bulk;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.bson.Document;
+import org.joda.time.DateTime;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.query.Update;
+
+import com.forgerock.sapi.gateway.ob.uk.common.datamodel.account.FROfferData;
+import com.forgerock.sapi.gateway.ob.uk.common.datamodel.account.FRStatementData;
+import com.forgerock.sapi.gateway.ob.uk.common.datamodel.account.FRTransactionData;
+
+/**
+ * Unit test for {@link AccountDataUpdateCompiler}.
+ */
+public class AccountDataUpdateCompilerTest {
+
+    @Test
+    public void shouldSetOnlyTheFieldsInTheDiff() {
+        // Given
+        FRTransactionData diff = new FRTransactionData();
+        diff.setTransactionId("2");
+        diff.setAccountId("1");
+        diff.setTransactionReference("ref");
+
+        // When
+        Update update = AccountDataUpdateCompiler.transactionUpdate(diff);
+
+        // Then
+        assertThat(fieldsSet(update)).containsOnlyKeys("transaction.transactionReference");
+        assertThat(fieldsSet(update).get("transaction.transactionReference")).isEqualTo("ref");
+        assertThat(update.getUpdateObject().get("$currentDate", Document.class)).containsOnlyKeys("updated");
+    }
+
+    @Test
+    public void shouldSetTopLevelTransactionBookingDateTime() {
+        // Given
+        DateTime bookingDateTime = DateTime.now();
+        FRTransactionData diff = new FRTransactionData();
+        diff.setBookingDateTime(bookingDateTime);
+
+        // When
+        Update update = AccountDataUpdateCompiler.transactionUpdate(diff);
+
+        // Then
+        assertThat(fieldsSet(update))
+                .containsEntry("transaction.bookingDateTime", bookingDateTime)
+                .containsEntry("bookingDateTime", bookingDateTime);
+    }
+
+    @Test
+    public void shouldSetTopLevelStatementDateTimes() {
+        // Given
+        DateTime startDateTime = DateTime.now().minusMonths(1);
+        FRStatementData diff = new FRStatementData();
+        diff.setStartDateTime(startDateTime);
+
+        // When
+        Update update = AccountDataUpdateCompiler.statementUpdate(diff);
+
+        // Then
+        assertThat(fieldsSet(update))
+                .containsOnlyKeys("statement.startDateTime", "startDateTime")
+                .containsEntry("startDateTime", startDateTime);
+    }
+
+    @Test
+    public void shouldOnlySetUpdatedDateForEmptyDiff() {
+        // When
+        Update update = AccountDataUpdateCompiler.offerUpdate(new FROfferData());
+
+        // Then
+        assertThat(update.getUpdateObject()).containsOnlyKeys("$currentDate");
+    }
+
+    private static Document fieldsSet(Update update) {
+        return update.getUpdateObject().get("$set", Document.class);
+    }
+}
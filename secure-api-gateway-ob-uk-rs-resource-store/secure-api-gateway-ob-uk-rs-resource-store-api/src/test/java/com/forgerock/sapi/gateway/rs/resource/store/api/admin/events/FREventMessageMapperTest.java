@@ -0,0 +1,105 @@
+/*
+ * Copyright © 2020-2025 ForgeRock AS (obst@forgerock.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.forgerock.sapi.gateway.rs.resource.store.api.admin.events;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.net.URI;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+import com.forgerock.sapi.gateway.ob.uk.common.datamodel.converter.v3.mapper.FRModelMapper;
+import com.forgerock.sapi.gateway.ob.uk.common.datamodel.event.FREventMessage;
+import com.forgerock.sapi.gateway.rs.resource.store.repo.entity.event.FREventMessageEntity;
+
+import uk.org.openbanking.datamodel.v3.event.OBEvent1;
+import uk.org.openbanking.datamodel.v3.event.OBEventLink1;
+import uk.org.openbanking.datamodel.v3.event.OBEventNotification1;
+import uk.org.openbanking.datamodel.v3.event.OBEventResourceUpdate1;
+import uk.org.openbanking.datamodel.v3.event.OBEventSubject1;
+
+/**
+ * Verifies that the generated {@link FREventMessageMapper} produces the same result as the reflective
+ * {@link FRModelMapper} it replaces.
+ */
+class FREventMessageMapperTest {
+
+    private final FREventMessageMapper mapper = FREventMessageMapper.INSTANCE;
+
+    @Test
+    void shouldMapEntityToOBEventNotification1AsFRModelMapper() {
+        final FREventMessageEntity entity = anEventMessageEntity();
+
+        assertThat(mapper.toOBEventNotification1(entity)).isEqualTo(FRModelMapper.map(entity, OBEventNotification1.class));
+    }
+
+    @Test
+    void shouldMapEntityToFREventMessageAsFRModelMapper() {
+        final FREventMessageEntity entity = anEventMessageEntity();
+
+        assertThat(mapper.toFREventMessage(entity)).usingRecursiveComparison()
+                .isEqualTo(FRModelMapper.map(entity, FREventMessage.class));
+    }
+
+    @Test
+    void shouldMapOBEventNotification1ToEntityAsFRModelMapper() {
+        final OBEventNotification1 obEventNotification1 = FRModelMapper.map(anEventMessageEntity(), OBEventNotification1.class);
+
+        assertThat(mapper.toFREventMessageEntity(obEventNotification1)).usingRecursiveComparison()
+                .isEqualTo(FRModelMapper.map(obEventNotification1, FREventMessageEntity.class));
+    }
+
+    @Test
+    void shouldMapFREventMessageToEntityAsFRModelMapper() {
+        final FREventMessage frEventMessage = FRModelMapper.map(anEventMessageEntity(), FREventMessage.class);
+
+        assertThat(mapper.toFREventMessageEntity(frEventMessage)).usingRecursiveComparison()
+                .isEqualTo(FRModelMapper.map(frEventMessage, FREventMessageEntity.class));
+    }
+
+    @Test
+    void shouldMapEventMessageWithoutEvents() {
+        final FREventMessageEntity entity = anEventMessageEntity();
+        entity.setEvents(null);
+        entity.setSub(null);
+
+        assertThat(mapper.toOBEventNotification1(entity)).isEqualTo(FRModelMapper.map(entity, OBEventNotification1.class));
+    }
+
+    private static FREventMessageEntity anEventMessageEntity() {
+        final String resourceId = "pmt-" + UUID.randomUUID();
+        final String link = "https://examplebank.com/api/open-banking/v3.1.10/pisp/domestic-payments/" + resourceId;
+        return FREventMessageEntity.builder()
+                .id(UUID.randomUUID().toString())
+                .apiClientId(UUID.randomUUID().toString())
+                .jti(UUID.randomUUID().toString())
+                .iss("https://examplebank.com/")
+                .iat(1516239022)
+                .sub(URI.create(link))
+                .aud("7umx5nTR33811QyQfi")
+                .txn(UUID.randomUUID().toString())
+                .toe(1516239022)
+                .events(new OBEvent1().urnColonUkColonOrgColonOpenbankingColonEventsColonResourceUpdate(
+                        new OBEventResourceUpdate1().subject(new OBEventSubject1()
+                                .subjectType("http://openbanking.org.uk/rid_http://openbanking.org.uk/rty")
+                                .httpColonOpenbankingOrgUkRid(resourceId)
+                                .httpColonOpenbankingOrgUkRty("domestic-payment")
+                                .httpColonOpenbankingOrgUkRlk(List.of(new OBEventLink1().link(link).version("v3.1.10"))))))
+                .build();
+    }
+}
@@ -36,6 +36,7 @@ import org.springframework.boot.test.autoconfigure.web.client.AutoConfigureWebCl
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.data.mongodb.core.MongoTemplate;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -44,6 +45,8 @@ import org.springframework.test.context.TestPropertySource;
 import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestTemplate;
 
+import com.fasterxml.jackson.databind.JsonNode;
+
 import com.forgerock.sapi.gateway.ob.uk.common.datamodel.account.FRFinancialAccount;
 import com.forgerock.sapi.gateway.ob.uk.common.datamodel.account.FRTransactionData;
 import com.forgerock.sapi.gateway.ob.uk.common.datamodel.common.FRAmount;
@@ -55,6 +58,7 @@ import com.forgerock.sapi.gateway.ob.uk.rs.cloud.client.model.User;
 import com.forgerock.sapi.gateway.ob.uk.rs.cloud.client.services.UserClientService;
 import com.forgerock.sapi.gateway.rs.resource.store.api.testsupport.FRCustomerInfoTestHelper;
 import com.forgerock.sapi.gateway.rs.resource.store.datamodel.account.v3.FRAccountData;
+import com.forgerock.sapi.gateway.rs.resource.store.datamodel.user.FRDataImportReport;
 import com.forgerock.sapi.gateway.rs.resource.store.datamodel.user.v3.FRUserData;
 import com.forgerock.sapi.gateway.rs.resource.store.repo.entity.account.FRAccount;
 import com.forgerock.sapi.gateway.rs.resource.store.repo.entity.account.FRBalance;
@@ -103,6 +107,9 @@ public class DataApiControllerTest {
     @Autowired
     private RestTemplate restTemplate;
 
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
     @MockBean
     private UserClientService userClientService;
 
@@ -156,6 +163,12 @@ public class DataApiControllerTest {
 
         // Then
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        FRDataImportReport importReport = response.getBody().getImportReport();
+        assertThat(importReport.getAccountsImported()).isOne();
+        assertThat(importReport.getDocumentsWritten())
+                .containsEntry(mongoTemplate.getCollectionName(FRAccount.class), 1)
+                .containsEntry(mongoTemplate.getCollectionName(FRBalance.class), 1)
+                .containsEntry(mongoTemplate.getCollectionName(FRTransaction.class), numTransactions);
         FRCustomerInfo customerInfoResponse = response.getBody().getCustomerInfo();
         validateCustomerInfoResponse(customerInfoResponse, userData.getCustomerInfo());
         final List<FRAccountData> responseAccountData = userData.getAccountDatas();
@@ -177,6 +190,72 @@ public class DataApiControllerTest {
         assertThat(exportedAccount.getBalances()).hasSize(1);
     }
 
+    @Test
+    public void shouldImportDataForAllAccountsAndReportDocumentsWritten() {
+        // Given
+        List<FRAccountData> accountDatas = List.of(
+                accountDataWithBalances(new OBAccount6().accountId(UUID.randomUUID().toString()), 10,
+                        new OBReadBalance1DataBalanceInner().type(OBBalanceType1Code.INTERIMAVAILABLE)),
+                accountDataWithBalances(new OBAccount6().accountId(UUID.randomUUID().toString()), 20,
+                        new OBReadBalance1DataBalanceInner().type(OBBalanceType1Code.INTERIMAVAILABLE)));
+        FRUserData userData = new FRUserData();
+        userData.setAccountDatas(accountDatas);
+        userData.setUserName(USER_NAME);
+        User user = User.builder()
+                .id(UUID.randomUUID().toString())
+                .userName(userData.getUserName())
+                .accountStatus(ACCOUNT_STATUS)
+                .build();
+        when(userClientService.getUserByName(eq(user.getUserName()))).thenReturn(user);
+
+        // When
+        ResponseEntity<FRUserData> response = restTemplate.postForEntity(dataUrl(), userData, FRUserData.class);
+
+        // Then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody().getAccountDatas()).hasSize(2);
+        assertThat(response.getBody().getAccountDatas().get(0).getTransactions()).hasSize(10);
+        assertThat(response.getBody().getAccountDatas().get(1).getTransactions()).hasSize(20);
+        FRDataImportReport importReport = response.getBody().getImportReport();
+        assertThat(importReport.getAccountsImported()).isEqualTo(2);
+        assertThat(importReport.getDocumentsWritten())
+                .containsEntry(mongoTemplate.getCollectionName(FRAccount.class), 2)
+                .containsEntry(mongoTemplate.getCollectionName(FRBalance.class), 2)
+                .containsEntry(mongoTemplate.getCollectionName(FRTransaction.class), 30);
+        assertThat(frAccountRepository.findByUserID(user.getId())).hasSize(2);
+        // Includes the transaction belonging to another user which is created by setUp
+        assertThat(frTransactionRepository.count()).isEqualTo(31);
+    }
+
+    @Test
+    public void shouldRejectNewDataExceedingDocumentLimitWithoutWritingAnyData() {
+        // Given
+        // Each account is within the limit, but together they exceed the limit of 1000 transactions for the user
+        List<FRAccountData> accountDatas = List.of(
+                accountDataWithBalances(new OBAccount6().accountId(UUID.randomUUID().toString()), 600),
+                accountDataWithBalances(new OBAccount6().accountId(UUID.randomUUID().toString()), 600));
+        FRUserData userData = new FRUserData();
+        userData.setAccountDatas(accountDatas);
+        userData.setUserName(USER_NAME);
+        User user = User.builder()
+                .id(UUID.randomUUID().toString())
+                .userName(userData.getUserName())
+                .accountStatus(ACCOUNT_STATUS)
+                .build();
+        when(userClientService.getUserByName(eq(user.getUserName()))).thenReturn(user);
+
+        // When
+        HttpClientErrorException exception = catchThrowableOfType(() ->
+                        restTemplate.postForEntity(dataUrl(), userData, FRUserData.class)
+                , HttpClientErrorException.class
+        );
+
+        // Then
+        assertThat(exception.getStatusCode()).isEqualTo(HttpStatus.PAYLOAD_TOO_LARGE);
+        assertThat(frAccountRepository.findByUserID(user.getId())).isEmpty();
+        assertThat(frTransactionRepository.count()).isOne();
+    }
+
     @Test
     public void shouldRaiseUserNotFoundRejectCreationData() throws Exception {
         // Given
@@ -309,6 +388,37 @@ public class DataApiControllerTest {
         assertThat(exception.getStatusCode()).isEqualTo(HttpStatus.PAYLOAD_TOO_LARGE);
     }
 
+    @Test
+    public void shouldReturnNotFoundWhenPurgingDataOfUnknownUser() {
+        // Given
+        when(userClientService.getUserByName(eq("unknown-user"))).thenReturn(null);
+        String errorReason = "User with userName 'missing-user' not found.";
+        when(userClientService.getUserByName(eq("missing-user"))).thenThrow(
+                new ExceptionClient(
+                        ErrorClient.builder()
+                                .errorType(ErrorType.NOT_FOUND)
+                                .reason(errorReason)
+                                .userName("missing-user")
+                                .build(),
+                        errorReason
+                )
+        );
+
+        for (String userName : List.of("unknown-user", "missing-user")) {
+            for (boolean async : List.of(false, true)) {
+                // When
+                HttpClientErrorException exception = catchThrowableOfType(() ->
+                                restTemplate.postForEntity(dataUrl() + "/purge?async=" + async + "&userName=" + userName,
+                                        null, JsonNode.class)
+                        , HttpClientErrorException.class
+                );
+
+                // Then
+                assertThat(exception.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+            }
+        }
+    }
+
     private FRAccountData accountDataWithBalances(OBAccount6 account, int numTransactions, OBReadBalance1DataBalanceInner... obCashBalance1s) {
         FRAccountData accountData = new FRAccountData();
         accountData.setAccount(account);
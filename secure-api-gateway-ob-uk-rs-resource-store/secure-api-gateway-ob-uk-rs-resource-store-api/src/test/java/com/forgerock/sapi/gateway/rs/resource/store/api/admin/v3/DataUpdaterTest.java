@@ -24,6 +24,7 @@ import com.forgerock.sapi.gateway.rs.resource.store.datamodel.account.v3.FRAccou
 import com.forgerock.sapi.gateway.rs.resource.store.datamodel.user.v3.FRUserData;
 import com.forgerock.sapi.gateway.rs.resource.store.repo.entity.account.*;
 import com.forgerock.sapi.gateway.rs.resource.store.repo.entity.customerinfo.FRCustomerInfoConverter;
+import com.forgerock.sapi.gateway.rs.resource.store.repo.mongo.accounts.FRAccountDataBulkRepository;
 import com.forgerock.sapi.gateway.rs.resource.store.repo.mongo.accounts.accounts.FRAccountRepository;
 import com.forgerock.sapi.gateway.rs.resource.store.repo.mongo.accounts.balances.FRBalanceRepository;
 import com.forgerock.sapi.gateway.rs.resource.store.repo.mongo.accounts.beneficiaries.FRBeneficiaryRepository;
@@ -49,23 +50,19 @@ import uk.org.openbanking.datamodel.v3.account.*;
 
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
-import static com.forgerock.sapi.gateway.ob.uk.common.datamodel.converter.v3.account.FRAccountBeneficiaryConverter.toFRAccountBeneficiary;
 import static com.forgerock.sapi.gateway.ob.uk.common.datamodel.converter.v3.account.FRCashBalanceConverter.toFRCashBalance;
-import static com.forgerock.sapi.gateway.ob.uk.common.datamodel.converter.v3.account.FRDirectDebitConverter.toFRDirectDebitData;
-import static com.forgerock.sapi.gateway.ob.uk.common.datamodel.converter.v3.account.FROfferConverter.toFROfferData;
-import static com.forgerock.sapi.gateway.ob.uk.common.datamodel.converter.v3.account.FRStatementConverter.toFRStatementData;
-import static com.forgerock.sapi.gateway.ob.uk.common.datamodel.converter.v3.account.FRTransactionConverter.toFRTransactionData;
-import static com.forgerock.sapi.gateway.ob.uk.common.datamodel.converter.v3.payment.FRScheduledPaymentConverter.toFRScheduledPaymentData;
-import static com.forgerock.sapi.gateway.ob.uk.common.datamodel.converter.v3.payment.FRStandingOrderConverter.toFRStandingOrderData;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 
 /**
  * Unit test for {@link DataUpdater}.
@@ -98,13 +95,15 @@ public class DataUpdaterTest {
     private FROfferRepository offerRepository;
     @Mock
     private FRCustomerInfoRepository customerInfoRepository;
+    @Mock
+    private FRAccountDataBulkRepository accountDataBulkRepository;
 
     @BeforeEach
     public void setUp() {
         dataUpdater = new DataUpdater(accountsRepository, balanceRepository, beneficiaryRepository,
                 directDebitRepository, productRepository, standingOrderRepository, transactionRepository,
                 statementRepository, scheduledPaymentRepository, partyRepository, offerRepository,
-                customerInfoRepository, 1000);
+                customerInfoRepository, accountDataBulkRepository, 1000);
     }
 
     @Test
@@ -261,17 +260,13 @@ public class DataUpdaterTest {
         FRAccountData accountData = new FRAccountData().addBeneficiary(beneficiary);
         accountData.setAccount(new OBAccount6().accountId(accountId));
         given(beneficiaryRepository.countByAccountIdIn(Collections.singleton("1"))).willReturn(1000L);
-        FRBeneficiary existingBeneficiary = FRBeneficiary.builder()
-                .beneficiary(toFRAccountBeneficiary(beneficiary))
-                .accountId(accountId)
-                .build();
-        given(beneficiaryRepository.findById(beneficiary.getBeneficiaryId())).willReturn(Optional.of(existingBeneficiary));
 
         // When
         dataUpdater.updateBeneficiaries(accountData, Collections.singleton("1"));
 
         // Then
-        verify(beneficiaryRepository).saveAll(Collections.singletonList(existingBeneficiary));
+        verify(accountDataBulkRepository).applyChanges(argThat(changes -> changes.getInserts().isEmpty()
+                && changes.getUpdatesById().keySet().equals(Set.of("2"))));
     }
 
     @Test
@@ -282,17 +277,13 @@ public class DataUpdaterTest {
         FRAccountData accountData = new FRAccountData().addDirectDebit(directDebit);
         accountData.setAccount(new OBAccount6().accountId(accountId));
         given(directDebitRepository.countByAccountIdIn(Collections.singleton(accountId))).willReturn(1000L);
-        FRDirectDebit existingDirectDebit = FRDirectDebit.builder()
-                .directDebit(toFRDirectDebitData(directDebit))
-                .accountId(accountId)
-                .build();
-        given(directDebitRepository.findById(directDebit.getDirectDebitId())).willReturn(Optional.of(existingDirectDebit));
 
         // When
         dataUpdater.updateDirectDebits(accountData, Collections.singleton("1"));
 
         // Then
-        verify(directDebitRepository).saveAll(Collections.singletonList(existingDirectDebit));
+        verify(accountDataBulkRepository).applyChanges(argThat(changes -> changes.getInserts().isEmpty()
+                && changes.getUpdatesById().keySet().equals(Set.of("2"))));
     }
 
     @Test
@@ -303,17 +294,13 @@ public class DataUpdaterTest {
         FRAccountData accountData = new FRAccountData().addStandingOrder(standingOrder);
         accountData.setAccount(new OBAccount6().accountId(accountId));
         given(standingOrderRepository.countByAccountIdIn(Collections.singleton(accountId))).willReturn(1000L);
-        FRStandingOrder existingStandingOrder = FRStandingOrder.builder()
-                .standingOrder(toFRStandingOrderData(standingOrder))
-                .accountId(accountId)
-                .build();
-        given(standingOrderRepository.findById(standingOrder.getStandingOrderId())).willReturn(Optional.of(existingStandingOrder));
 
         // When
         dataUpdater.updateStandingOrders(accountData, Collections.singleton("1"));
 
         // Then
-        verify(standingOrderRepository).saveAll(Collections.singletonList(existingStandingOrder));
+        verify(accountDataBulkRepository).applyChanges(argThat(changes -> changes.getInserts().isEmpty()
+                && changes.getUpdatesById().keySet().equals(Set.of("2"))));
     }
 
     @Test
@@ -324,17 +311,13 @@ public class DataUpdaterTest {
         FRAccountData accountData = new FRAccountData().addTransaction(transaction);
         accountData.setAccount(new OBAccount6().accountId(accountId));
         given(transactionRepository.countByAccountIdIn(Collections.singleton(accountId))).willReturn(1000L);
-        FRTransaction existingTransaction = FRTransaction.builder()
-                .transaction(toFRTransactionData(transaction))
-                .accountId(accountId)
-                .build();
-        given(transactionRepository.findById(transaction.getTransactionId())).willReturn(Optional.of(existingTransaction));
 
         // When
         dataUpdater.updateTransactions(accountData, Collections.singleton("1"));
 
         // Then
-        verify(transactionRepository).saveAll(Collections.singletonList(existingTransaction));
+        verify(accountDataBulkRepository).applyChanges(argThat(changes -> changes.getInserts().isEmpty()
+                && changes.getUpdatesById().keySet().equals(Set.of("2"))));
     }
 
     @Test
@@ -345,17 +328,13 @@ public class DataUpdaterTest {
         FRAccountData accountData = new FRAccountData().addStatement(statement);
         accountData.setAccount(new OBAccount6().accountId(accountId));
         given(statementRepository.countByAccountIdIn(Collections.singleton(accountId))).willReturn(1000L);
-        FRStatement existingStatement = FRStatement.builder()
-                .statement(toFRStatementData(statement))
-                .accountId(accountId)
-                .build();
-        given(statementRepository.findById(statement.getStatementId())).willReturn(Optional.of(existingStatement));
 
         // When
         dataUpdater.updateStatements(accountData, Collections.singleton("1"));
 
         // Then
-        verify(statementRepository).saveAll(Collections.singletonList(existingStatement));
+        verify(accountDataBulkRepository).applyChanges(argThat(changes -> changes.getInserts().isEmpty()
+                && changes.getUpdatesById().keySet().equals(Set.of("2"))));
     }
 
     @Test
@@ -366,17 +345,13 @@ public class DataUpdaterTest {
         FRAccountData accountData = new FRAccountData().addScheduledPayment(scheduledPayment);
         accountData.setAccount(new OBAccount6().accountId(accountId));
         given(scheduledPaymentRepository.countByAccountIdIn(Collections.singleton(accountId))).willReturn(1000L);
-        FRScheduledPayment existingScheduledPayment = FRScheduledPayment.builder()
-                .scheduledPayment(toFRScheduledPaymentData(scheduledPayment))
-                .accountId(accountId)
-                .build();
-        given(scheduledPaymentRepository.findById(scheduledPayment.getScheduledPaymentId())).willReturn(Optional.of(existingScheduledPayment));
 
         // When
         dataUpdater.updateScheduledPayments(accountData, Collections.singleton("1"));
 
         // Then
-        verify(scheduledPaymentRepository).saveAll(Collections.singletonList(existingScheduledPayment));
+        verify(accountDataBulkRepository).applyChanges(argThat(changes -> changes.getInserts().isEmpty()
+                && changes.getUpdatesById().keySet().equals(Set.of("2"))));
     }
 
     @Test
@@ -387,17 +362,13 @@ public class DataUpdaterTest {
         FRAccountData accountData = new FRAccountData().addOffer(offer);
         accountData.setAccount(new OBAccount6().accountId(accountId));
         given(offerRepository.countByAccountIdIn(Collections.singleton(accountId))).willReturn(1000L);
-        FROffer existingOffer = FROffer.builder()
-                .offer(toFROfferData(offer))
-                .accountId(accountId)
-                .build();
-        given(offerRepository.findById(offer.getOfferId())).willReturn(Optional.of(existingOffer));
 
         // When
         dataUpdater.updateOffers(accountData, Collections.singleton("1"));
 
         // Then
-        verify(offerRepository).saveAll(Collections.singletonList(existingOffer));
+        verify(accountDataBulkRepository).applyChanges(argThat(changes -> changes.getInserts().isEmpty()
+                && changes.getUpdatesById().keySet().equals(Set.of("2"))));
     }
 
     @Test
@@ -452,6 +423,39 @@ public class DataUpdaterTest {
         verify(balanceRepository).saveAll(argThat((b) -> Iterables.firstOf(b).getAccountId().equals("1")));
     }
 
+    @Test
+    public void updateTransactions_idNotMatched_notFound() {
+        // Given
+        String accountId = "1";
+        OBTransaction6 transaction = new OBTransaction6().transactionId("2").accountId(accountId);
+        FRAccountData accountData = new FRAccountData().addTransaction(transaction);
+        accountData.setAccount(new OBAccount6().accountId(accountId));
+        given(accountDataBulkRepository.applyChanges(any())).willReturn(List.of("2"));
+
+        assertThatThrownBy(
+                // When
+                () -> dataUpdater.updateTransactions(accountData, Collections.singleton(accountId))
+        )
+                // Then
+                .satisfies(t -> assertThat(((ResponseStatusException) t).getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND));
+    }
+
+    @Test
+    public void updateTransactions_withoutAccountId_notFound() {
+        // Given
+        String accountId = "1";
+        FRAccountData accountData = new FRAccountData().addTransaction(new OBTransaction6().transactionId("2"));
+        accountData.setAccount(new OBAccount6().accountId(accountId));
+
+        assertThatThrownBy(
+                // When
+                () -> dataUpdater.updateTransactions(accountData, Collections.singleton(accountId))
+        )
+                // Then
+                .satisfies(t -> assertThat(((ResponseStatusException) t).getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND));
+        verifyNoInteractions(accountDataBulkRepository);
+    }
+
     @Test
     public void updateCustomerInfo() {
         // Given
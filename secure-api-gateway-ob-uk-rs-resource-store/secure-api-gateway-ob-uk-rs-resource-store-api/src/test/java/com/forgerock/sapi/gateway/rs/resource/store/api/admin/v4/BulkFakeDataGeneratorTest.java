@@ -0,0 +1,152 @@
+/*
+ * Copyright © 2020-2025 ForgeRock AS (obst@forgerock.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.forgerock.sapi.gateway.rs.resource.store.api.admin.v4;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowableOfType;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.client.AutoConfigureWebClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.forgerock.sapi.gateway.rs.resource.store.repo.entity.account.FRAccount;
+import com.forgerock.sapi.gateway.rs.resource.store.repo.entity.account.FRTransaction;
+import com.forgerock.sapi.gateway.rs.resource.store.repo.mongo.accounts.accounts.FRAccountRepository;
+import com.forgerock.sapi.gateway.rs.resource.store.repo.mongo.accounts.balances.FRBalanceRepository;
+import com.forgerock.sapi.gateway.rs.resource.store.repo.mongo.accounts.beneficiaries.FRBeneficiaryRepository;
+import com.forgerock.sapi.gateway.rs.resource.store.repo.mongo.accounts.directdebits.FRDirectDebitRepository;
+import com.forgerock.sapi.gateway.rs.resource.store.repo.mongo.accounts.party.FRPartyRepository;
+import com.forgerock.sapi.gateway.rs.resource.store.repo.mongo.accounts.products.FRProductRepository;
+import com.forgerock.sapi.gateway.rs.resource.store.repo.mongo.accounts.standingorders.FRStandingOrderRepository;
+import com.forgerock.sapi.gateway.rs.resource.store.repo.mongo.accounts.statements.FRStatementRepository;
+import com.forgerock.sapi.gateway.rs.resource.store.repo.mongo.accounts.transactions.FRTransactionRepository;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@TestPropertySource(properties = {"rs.data.upload.limit.accounts=10", "rs.data.upload.limit.documents=100"})
+@AutoConfigureWebClient(registerRestTemplate = true)
+class BulkFakeDataGeneratorTest {
+
+    private static final String USER_PREFIX = "capacity-test";
+    private static final List<String> COMPANIES = List.of("Acme Ltd", "Globex Corporation");
+    private static final List<String> NAMES = List.of("Jane Smith", "John Jones");
+
+    @Autowired
+    private BulkFakeDataGenerator bulkFakeDataGenerator;
+    @Autowired
+    private FRAccountRepository accountRepository;
+    @Autowired
+    private FRBalanceRepository balanceRepository;
+    @Autowired
+    private FRBeneficiaryRepository beneficiaryRepository;
+    @Autowired
+    private FRDirectDebitRepository directDebitRepository;
+    @Autowired
+    private FRPartyRepository partyRepository;
+    @Autowired
+    private FRProductRepository productRepository;
+    @Autowired
+    private FRStandingOrderRepository standingOrderRepository;
+    @Autowired
+    private FRStatementRepository statementRepository;
+    @Autowired
+    private FRTransactionRepository transactionRepository;
+
+    @BeforeEach
+    void setUp() {
+        deleteAll();
+    }
+
+    @Test
+    void shouldGenerateUsersWithRequestedVolumes() {
+        final BulkFakeDataGenerator.Result result = bulkFakeDataGenerator.generate(USER_PREFIX, 3, 2, 4, 5, 42L, COMPANIES, NAMES);
+
+        assertThat(result.getSeed()).isEqualTo(42L);
+        assertThat(result.getUsers()).isEqualTo(3);
+        assertThat(result.getAccounts()).isEqualTo(6);
+        assertThat(accountRepository.count()).isEqualTo(6);
+        assertThat(accountRepository.findByUserID(USER_PREFIX + "-2")).hasSize(2);
+        assertThat(statementRepository.count()).isEqualTo(3 * 2 * 4);
+        assertThat(transactionRepository.count()).isEqualTo(3 * 2 * 4 * 5);
+        assertThat(balanceRepository.count()).isEqualTo(3 * 2 * 2);
+        assertThat(productRepository.count()).isEqualTo(6);
+        // A party per account and per user
+        assertThat(partyRepository.count()).isEqualTo(6 + 3);
+        assertThat(result.getDocumentsWritten().values().stream().mapToLong(Long::longValue).sum())
+                .isEqualTo(accountRepository.count() + statementRepository.count() + transactionRepository.count()
+                        + balanceRepository.count() + productRepository.count() + partyRepository.count()
+                        + beneficiaryRepository.count() + directDebitRepository.count() + standingOrderRepository.count());
+    }
+
+    @Test
+    void shouldGenerateTheSameDataFromTheSameSeed() {
+        bulkFakeDataGenerator.generate(USER_PREFIX, 2, 2, 2, 3, 7L, COMPANIES, NAMES);
+        final List<String> accountIds = accountRepository.findAll().stream().map(FRAccount::getId).sorted().toList();
+        final List<String> transactionIds = transactionRepository.findAll().stream().map(FRTransaction::getId).sorted().toList();
+
+        deleteAll();
+        bulkFakeDataGenerator.generate(USER_PREFIX, 2, 2, 2, 3, 7L, COMPANIES, NAMES);
+
+        assertThat(accountRepository.findAll().stream().map(FRAccount::getId).sorted().toList()).isEqualTo(accountIds);
+        assertThat(transactionRepository.findAll().stream().map(FRTransaction::getId).sorted().toList()).isEqualTo(transactionIds);
+    }
+
+    @Test
+    void shouldRejectVolumesExceedingTheDocumentLimitWithoutWritingAnyData() {
+        // 2 accounts * 12 months * 5 transactions exceeds the limit of 100 transactions per user
+        final ResponseStatusException exception = catchThrowableOfType(() ->
+                bulkFakeDataGenerator.generate(USER_PREFIX, 2, 2, 12, 5, 1L, COMPANIES, NAMES), ResponseStatusException.class);
+
+        assertThat(exception.getStatusCode()).isEqualTo(HttpStatus.PAYLOAD_TOO_LARGE);
+        assertThat(accountRepository.count()).isZero();
+    }
+
+    @Test
+    void shouldRejectUserPrefixWithExistingAccountsWithoutWritingAnyData() {
+        bulkFakeDataGenerator.generate(USER_PREFIX, 2, 1, 1, 1, 3L, COMPANIES, NAMES);
+        final long transactions = transactionRepository.count();
+
+        final ResponseStatusException exception = catchThrowableOfType(() ->
+                bulkFakeDataGenerator.generate(USER_PREFIX, 3, 1, 1, 1, 3L, COMPANIES, NAMES), ResponseStatusException.class);
+
+        assertThat(exception.getStatusCode()).isEqualTo(HttpStatus.CONFLICT);
+        assertThat(accountRepository.count()).isEqualTo(2);
+        assertThat(transactionRepository.count()).isEqualTo(transactions);
+        // Only users "{userPrefix}-*" conflict, not users whose prefix merely starts with the same characters
+        assertThat(bulkFakeDataGenerator.generate(USER_PREFIX + "2", 1, 1, 1, 1, 3L, COMPANIES, NAMES).getAccounts())
+                .isEqualTo(1);
+    }
+
+    private void deleteAll() {
+        accountRepository.deleteAll();
+        balanceRepository.deleteAll();
+        beneficiaryRepository.deleteAll();
+        directDebitRepository.deleteAll();
+        partyRepository.deleteAll();
+        productRepository.deleteAll();
+        standingOrderRepository.deleteAll();
+        statementRepository.deleteAll();
+        transactionRepository.deleteAll();
+    }
+}
@@ -21,6 +21,7 @@ import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.when;
 import static org.springframework.boot.test.context.SpringBootTest.WebEnvironment.RANDOM_PORT;
+import static org.springframework.http.HttpMethod.DELETE;
 import static org.springframework.http.HttpMethod.GET;
 import static org.springframework.http.HttpMethod.PUT;
 import static uk.org.openbanking.datamodel.v4.account.ExternalEntryStatus1Code.BOOK;
@@ -31,6 +32,8 @@ import java.util.Arrays;
 import java.util.List;
 import java.util.UUID;
 
+import org.joda.time.DateTime;
+import org.joda.time.DateTimeZone;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -38,7 +41,10 @@ import org.springframework.boot.test.autoconfigure.web.client.AutoConfigureWebCl
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.test.context.ActiveProfiles;
@@ -46,17 +52,23 @@ import org.springframework.test.context.TestPropertySource;
 import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestTemplate;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.forgerock.sapi.gateway.ob.uk.common.datamodel.account.FRFinancialAccount;
 import com.forgerock.sapi.gateway.ob.uk.common.datamodel.account.FRTransactionData;
 import com.forgerock.sapi.gateway.ob.uk.common.datamodel.common.FRAmount;
+import com.forgerock.sapi.gateway.ob.uk.common.datamodel.converter.v4.account.FRTransactionConverter;
 import com.forgerock.sapi.gateway.ob.uk.common.datamodel.customerinfo.FRCustomerInfo;
 import com.forgerock.sapi.gateway.ob.uk.rs.cloud.client.exceptions.ErrorClient;
 import com.forgerock.sapi.gateway.ob.uk.rs.cloud.client.exceptions.ErrorType;
 import com.forgerock.sapi.gateway.ob.uk.rs.cloud.client.exceptions.ExceptionClient;
 import com.forgerock.sapi.gateway.ob.uk.rs.cloud.client.model.User;
 import com.forgerock.sapi.gateway.ob.uk.rs.cloud.client.services.UserClientService;
+import com.forgerock.sapi.gateway.rs.resource.store.api.admin.bulk.DataPurgeJob;
+import com.forgerock.sapi.gateway.rs.resource.store.api.admin.bulk.NdjsonExportWriter;
 import com.forgerock.sapi.gateway.rs.resource.store.api.testsupport.FRCustomerInfoTestHelper;
 import com.forgerock.sapi.gateway.rs.resource.store.datamodel.account.v4.FRAccountData;
+import com.forgerock.sapi.gateway.rs.resource.store.datamodel.user.FRDataImportReport;
 import com.forgerock.sapi.gateway.rs.resource.store.datamodel.user.v4.FRUserData;
 import com.forgerock.sapi.gateway.rs.resource.store.repo.entity.account.FRAccount;
 import com.forgerock.sapi.gateway.rs.resource.store.repo.entity.account.FRBalance;
@@ -80,12 +92,14 @@ import uk.org.openbanking.datamodel.v4.account.OBTransactionCashBalanceAmount;
  */
 @SpringBootTest(webEnvironment = RANDOM_PORT)
 @ActiveProfiles("test")
-@TestPropertySource(properties = {"rs.data.upload.limit.accounts=10", "rs.data.upload.limit.documents=1000", "rs.data.customerInfo.enabled=true"})
+@TestPropertySource(properties = {"rs.data.upload.limit.accounts=10", "rs.data.upload.limit.documents=1000", "rs.data.customerInfo.enabled=true",
+        "rs.data.export.account-limit=2"})
 @AutoConfigureWebClient(registerRestTemplate = true)
 public class DataApiControllerTest {
 
     private static final String BASE_URL = "http://localhost:";
     private static final String DATA_URI = "/admin/data/user/v4";
+    private static final String ACCOUNT_DATA_URI = "/admin/data/account/v4";
 
     @LocalServerPort
     private int port;
@@ -105,6 +119,12 @@ public class DataApiControllerTest {
     @Autowired
     private RestTemplate restTemplate;
 
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
     @MockBean
     private UserClientService userClientService;
 
@@ -159,6 +179,12 @@ public class DataApiControllerTest {
 
         // Then
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        FRDataImportReport importReport = response.getBody().getImportReport();
+        assertThat(importReport.getAccountsImported()).isOne();
+        assertThat(importReport.getDocumentsWritten())
+                .containsEntry(mongoTemplate.getCollectionName(FRAccount.class), 1)
+                .containsEntry(mongoTemplate.getCollectionName(FRBalance.class), 1)
+                .containsEntry(mongoTemplate.getCollectionName(FRTransaction.class), numTransactions);
         FRCustomerInfo customerInfoResponse = response.getBody().getCustomerInfo();
         validateCustomerInfoResponse(customerInfoResponse, userData.getCustomerInfo());
         final List<FRAccountData> responseAccountData = userData.getAccountDatas();
@@ -180,6 +206,193 @@ public class DataApiControllerTest {
         assertThat(exportedAccount.getBalances()).hasSize(1);
     }
 
+    @Test
+    public void shouldStreamUserDataAsNdjson() throws Exception {
+        // Given
+        OBAccount6 account = new OBAccount6().accountId(UUID.randomUUID().toString()).accountTypeCode(CACC);
+        final int numTransactions = 25;
+        FRUserData userData = new FRUserData();
+        userData.setAccountDatas(List.of(accountDataWithBalances(account, numTransactions,
+                new OBReadBalance1DataBalanceInner().type(OBBalanceType1Code.ITAV))));
+        userData.setUserName(USER_NAME);
+        User user = User.builder()
+                .id(UUID.randomUUID().toString())
+                .userName(userData.getUserName())
+                .accountStatus(ACCOUNT_STATUS)
+                .build();
+        when(userClientService.getUserByName(eq(user.getUserName()))).thenReturn(user);
+        when(userClientService.getUserById(eq(user.getId()))).thenReturn(user);
+        restTemplate.postForEntity(dataUrl(), userData, FRUserData.class);
+
+        // When
+        HttpHeaders headers = new HttpHeaders();
+        headers.setAccept(List.of(NdjsonExportWriter.APPLICATION_NDJSON));
+        ResponseEntity<String> response = restTemplate.exchange(dataUrl() + "?userId=" + user.getId(), GET, new HttpEntity<>(headers), String.class);
+
+        // Then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getHeaders().getContentType().isCompatibleWith(NdjsonExportWriter.APPLICATION_NDJSON)).isTrue();
+        final List<JsonNode> records = new ArrayList<>();
+        for (String line : response.getBody().split("\n")) {
+            records.add(objectMapper.readTree(line));
+        }
+        assertThat(records).hasSize(3 + numTransactions);
+        assertThat(records.get(0).get("type").asText()).isEqualTo("user");
+        assertThat(records.get(0).get("data").get("userName").asText()).isEqualTo(USER_NAME);
+        assertThat(records.get(1).get("type").asText()).isEqualTo("account");
+        assertThat(records.get(1).get("accountId").asText()).isEqualTo(account.getAccountId());
+        assertThat(records.stream().filter(r -> r.get("type").asText().equals("balance"))).hasSize(1);
+        assertThat(records.stream().filter(r -> r.get("type").asText().equals("transaction"))).hasSize(numTransactions);
+    }
+
+    @Test
+    public void shouldStreamAllAccountDataInPages() throws Exception {
+        // Given
+        final List<String> accountIds = new ArrayList<>();
+        final List<FRAccountData> accountDatas = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            OBAccount6 account = new OBAccount6().accountId(UUID.randomUUID().toString()).accountTypeCode(CACC);
+            accountIds.add(account.getAccountId());
+            accountDatas.add(accountDataWithBalances(account, 1, new OBReadBalance1DataBalanceInner().type(OBBalanceType1Code.ITAV)));
+        }
+        FRUserData userData = new FRUserData();
+        userData.setAccountDatas(accountDatas);
+        userData.setUserName(USER_NAME);
+        User user = User.builder()
+                .id(UUID.randomUUID().toString())
+                .userName(userData.getUserName())
+                .accountStatus(ACCOUNT_STATUS)
+                .build();
+        when(userClientService.getUserByName(eq(user.getUserName()))).thenReturn(user);
+        restTemplate.postForEntity(dataUrl(), userData, FRUserData.class);
+        HttpHeaders headers = new HttpHeaders();
+        headers.setAccept(List.of(NdjsonExportWriter.APPLICATION_NDJSON));
+
+        // When
+        ResponseEntity<String> firstPage = restTemplate.exchange(accountDataUrl(), GET, new HttpEntity<>(headers), String.class);
+        final String afterAccountId = firstPage.getHeaders().getFirst(NdjsonExportWriter.NEXT_AFTER_ACCOUNT_ID_HEADER);
+        ResponseEntity<String> lastPage = restTemplate.exchange(accountDataUrl() + "?afterAccountId=" + afterAccountId,
+                GET, new HttpEntity<>(headers), String.class);
+
+        // Then the accounts are exported in id order, rs.data.export.account-limit accounts per page
+        accountIds.sort(null);
+        assertThat(firstPage.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(afterAccountId).isEqualTo(accountIds.get(1));
+        assertThat(exportedAccountIds(firstPage)).containsExactly(accountIds.get(0), accountIds.get(1));
+        assertThat(lastPage.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(lastPage.getHeaders().containsKey(NdjsonExportWriter.NEXT_AFTER_ACCOUNT_ID_HEADER)).isFalse();
+        assertThat(exportedAccountIds(lastPage)).containsExactly(accountIds.get(2));
+    }
+
+    @Test
+    public void shouldRejectStreamedAccountDataPageOverLimit() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setAccept(List.of(NdjsonExportWriter.APPLICATION_NDJSON));
+
+        HttpClientErrorException exception = catchThrowableOfType(() ->
+                        restTemplate.exchange(accountDataUrl() + "?limit=3", GET, new HttpEntity<>(headers), String.class)
+                , HttpClientErrorException.class
+        );
+
+        assertThat(exception.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+    }
+
+    private List<String> exportedAccountIds(ResponseEntity<String> response) throws Exception {
+        final List<String> accountIds = new ArrayList<>();
+        for (String line : response.getBody().split("\n")) {
+            final JsonNode record = objectMapper.readTree(line);
+            if (record.get("type").asText().equals("account")) {
+                accountIds.add(record.get("accountId").asText());
+            }
+        }
+        return accountIds;
+    }
+
+    @Test
+    public void shouldDeleteUserData() throws Exception {
+        // Given
+        User user = importUserData(10);
+
+        // When
+        ResponseEntity<Boolean> response = restTemplate.exchange(dataUrl() + "?userName=" + user.getUserName(), DELETE, HttpEntity.EMPTY, Boolean.class);
+
+        // Then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody()).isTrue();
+        assertThat(frAccountRepository.findByUserID(user.getId())).isEmpty();
+        assertThat(frCustomerInfoRepository.findByUserID(user.getId())).isNull();
+        // Only the data inserted in setUp remains
+        assertThat(frTransactionRepository.count()).isOne();
+        assertThat(frBalanceRepository.count()).isOne();
+    }
+
+    @Test
+    public void shouldPurgeUserDataAsynchronously() throws Exception {
+        // Given
+        final int numTransactions = 10;
+        User user = importUserData(numTransactions);
+
+        // When
+        ResponseEntity<JsonNode> response = restTemplate.postForEntity(
+                dataUrl() + "/purge?async=true&userName=" + user.getUserName(), null, JsonNode.class);
+
+        // Then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.ACCEPTED);
+        assertThat(response.getBody().get("userId").asText()).isEqualTo(user.getId());
+        final String jobUrl = dataUrl() + "/purge/" + response.getBody().get("id").asText();
+        JsonNode job = restTemplate.getForObject(jobUrl, JsonNode.class);
+        for (int i = 0; i < 50 && !job.get("status").asText().equals(DataPurgeJob.Status.COMPLETED.name()); i++) {
+            Thread.sleep(100);
+            job = restTemplate.getForObject(jobUrl, JsonNode.class);
+        }
+        assertThat(job.get("status").asText()).isEqualTo(DataPurgeJob.Status.COMPLETED.name());
+        assertThat(job.get("deletedAccounts").asLong()).isOne();
+        final List<Long> deletedCounts = new ArrayList<>();
+        job.get("deletedCounts").elements().forEachRemaining(count -> deletedCounts.add(count.asLong()));
+        assertThat(deletedCounts).contains((long) numTransactions);
+        assertThat(frAccountRepository.findByUserID(user.getId())).isEmpty();
+        assertThat(frTransactionRepository.count()).isOne();
+    }
+
+    @Test
+    public void shouldReturnNotFoundForUnknownPurgeJob() {
+        HttpClientErrorException exception = catchThrowableOfType(() ->
+                        restTemplate.getForObject(dataUrl() + "/purge/" + UUID.randomUUID(), JsonNode.class)
+                , HttpClientErrorException.class
+        );
+
+        assertThat(exception.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+    }
+
+    @Test
+    public void shouldRejectNewDataExceedingDocumentLimitWithoutWritingAnyData() {
+        // Given
+        // Each account is within the limit, but together they exceed the limit of 1000 transactions for the user
+        List<FRAccountData> accountDatas = List.of(
+                accountDataWithBalances(new OBAccount6().accountId(UUID.randomUUID().toString()).accountTypeCode(CACC), 600),
+                accountDataWithBalances(new OBAccount6().accountId(UUID.randomUUID().toString()).accountTypeCode(CACC), 600));
+        FRUserData userData = new FRUserData();
+        userData.setAccountDatas(accountDatas);
+        userData.setUserName(USER_NAME);
+        User user = User.builder()
+                .id(UUID.randomUUID().toString())
+                .userName(userData.getUserName())
+                .accountStatus(ACCOUNT_STATUS)
+                .build();
+        when(userClientService.getUserByName(eq(user.getUserName()))).thenReturn(user);
+
+        // When
+        HttpClientErrorException exception = catchThrowableOfType(() ->
+                        restTemplate.postForEntity(dataUrl(), userData, FRUserData.class)
+                , HttpClientErrorException.class
+        );
+
+        // Then
+        assertThat(exception.getStatusCode()).isEqualTo(HttpStatus.PAYLOAD_TOO_LARGE);
+        assertThat(frAccountRepository.findByUserID(user.getId())).isEmpty();
+        assertThat(frTransactionRepository.count()).isOne();
+    }
+
     @Test
     public void shouldRaiseUserNotFoundRejectCreationData() throws Exception {
         // Given
@@ -312,6 +525,129 @@ public class DataApiControllerTest {
         assertThat(exception.getStatusCode()).isEqualTo(HttpStatus.PAYLOAD_TOO_LARGE);
     }
 
+    @Test
+    public void shouldUpdateExistingTransactionsUsingUpdate() {
+        // Given
+        User user = importUserData(2);
+        String accountId = frAccountRepository.findByUserID(user.getId()).iterator().next().getId();
+        FRTransaction transaction = frTransactionRepository.findByAccountId(accountId, PageRequest.of(0, 10)).getContent().get(0);
+        DateTime bookingDateTime = new DateTime(1700000000000L, DateTimeZone.UTC);
+        FRUserData userData = transactionsUpdate(user, accountId, FRTransactionData.builder()
+                .transactionId(transaction.getId())
+                .accountId(accountId)
+                .amount(new FRAmount("99.99", "EUR"))
+                .bookingDateTime(bookingDateTime)
+                .build());
+
+        // When
+        ResponseEntity<FRUserData> response = restTemplate.exchange(dataUrl(), PUT, new HttpEntity<>(userData), FRUserData.class);
+
+        // Then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        FRTransaction updated = frTransactionRepository.findById(transaction.getId()).orElseThrow();
+        assertThat(updated.getTransaction().getAmount()).isEqualTo(new FRAmount("99.99", "EUR"));
+        assertThat(updated.getTransaction().getBookingDateTime().getMillis()).isEqualTo(bookingDateTime.getMillis());
+        assertThat(updated.getBookingDateTime().getMillis()).isEqualTo(bookingDateTime.getMillis());
+        // Fields not in the diff are left unchanged
+        assertThat(updated.getTransaction().getTransactionReference()).isEqualTo(transaction.getTransaction().getTransactionReference());
+        assertThat(updated.getTransaction().getBalance()).isEqualTo(transaction.getTransaction().getBalance());
+    }
+
+    @Test
+    public void shouldNotApplyAnyTransactionChangesWhenAnIdIsUnknown() {
+        // Given
+        User user = importUserData(2);
+        String accountId = frAccountRepository.findByUserID(user.getId()).iterator().next().getId();
+        FRTransaction transaction = frTransactionRepository.findByAccountId(accountId, PageRequest.of(0, 10)).getContent().get(0);
+        long transactionCount = frTransactionRepository.count();
+        String unknownId = UUID.randomUUID().toString();
+        FRUserData userData = transactionsUpdate(user, accountId,
+                FRTransactionData.builder()
+                        .transactionId(transaction.getId())
+                        .accountId(accountId)
+                        .amount(new FRAmount("99.99", "EUR"))
+                        .build(),
+                FRTransactionData.builder()
+                        .transactionId(unknownId)
+                        .accountId(accountId)
+                        .amount(new FRAmount("1.00", "EUR"))
+                        .build(),
+                FRTransactionData.builder()
+                        .amount(new FRAmount("2.00", "EUR"))
+                        .build());
+
+        // When
+        HttpClientErrorException exception = catchThrowableOfType(() ->
+                        restTemplate.exchange(dataUrl(), PUT, new HttpEntity<>(userData), FRUserData.class)
+                , HttpClientErrorException.class
+        );
+
+        // Then
+        assertThat(exception.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+        assertThat(frTransactionRepository.count()).isEqualTo(transactionCount);
+        assertThat(frTransactionRepository.findById(transaction.getId()).orElseThrow().getTransaction().getAmount())
+                .isEqualTo(transaction.getTransaction().getAmount());
+    }
+
+    private static FRUserData transactionsUpdate(User user, String accountId, FRTransactionData... transactions) {
+        FRAccountData accountData = new FRAccountData();
+        accountData.setAccount(new OBAccount6().accountId(accountId));
+        accountData.setTransactions(Arrays.stream(transactions).map(FRTransactionConverter::toOBTransaction6).toList());
+        FRUserData userData = new FRUserData();
+        userData.setUserName(user.getUserName());
+        userData.setAccountDatas(List.of(accountData));
+        return userData;
+    }
+
+    private User importUserData(int numTransactions) {
+        OBAccount6 account = new OBAccount6().accountId(UUID.randomUUID().toString()).accountTypeCode(CACC);
+        FRUserData userData = new FRUserData();
+        userData.setAccountDatas(List.of(accountDataWithBalances(account, numTransactions,
+                new OBReadBalance1DataBalanceInner().type(OBBalanceType1Code.ITAV))));
+        userData.setUserName(USER_NAME);
+        User user = User.builder()
+                .id(UUID.randomUUID().toString())
+                .userName(userData.getUserName())
+                .accountStatus(ACCOUNT_STATUS)
+                .build();
+        userData.setCustomerInfo(FRCustomerInfoTestHelper.aValidFRCustomerInfo(user.getId(), user.getUserName()));
+        when(userClientService.getUserByName(eq(user.getUserName()))).thenReturn(user);
+        when(userClientService.getUserById(eq(user.getId()))).thenReturn(user);
+        restTemplate.postForEntity(dataUrl(), userData, FRUserData.class);
+        return user;
+    }
+
+    @Test
+    public void shouldReturnNotFoundWhenPurgingDataOfUnknownUser() {
+        // Given
+        when(userClientService.getUserByName(eq("unknown-user"))).thenReturn(null);
+        String errorReason = "User with userName 'missing-user' not found.";
+        when(userClientService.getUserByName(eq("missing-user"))).thenThrow(
+                new ExceptionClient(
+                        ErrorClient.builder()
+                                .errorType(ErrorType.NOT_FOUND)
+                                .reason(errorReason)
+                                .userName("missing-user")
+                                .build(),
+                        errorReason
+                )
+        );
+
+        for (String userName : List.of("unknown-user", "missing-user")) {
+            for (boolean async : List.of(false, true)) {
+                // When
+                HttpClientErrorException exception = catchThrowableOfType(() ->
+                                restTemplate.postForEntity(dataUrl() + "/purge?async=" + async + "&userName=" + userName,
+                                        null, JsonNode.class)
+                        , HttpClientErrorException.class
+                );
+
+                // Then
+                assertThat(exception.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+            }
+        }
+    }
+
     private FRAccountData accountDataWithBalances(OBAccount6 account, int numTransactions, OBReadBalance1DataBalanceInner... obCashBalance1s) {
         FRAccountData accountData = new FRAccountData();
         accountData.setAccount(account);
@@ -337,6 +673,10 @@ public class DataApiControllerTest {
         return BASE_URL + port + DATA_URI;
     }
 
+    private String accountDataUrl() {
+        return BASE_URL + port + ACCOUNT_DATA_URI;
+    }
+
     private void validateCustomerInfoResponse(FRCustomerInfo customerInfoResponse, FRCustomerInfo customerInfoRequest) {
         assertThat(customerInfoResponse.getUserID()).isEqualTo(customerInfoRequest.getUserID());
         assertThat(customerInfoResponse.getUserName()).isEqualTo(customerInfoRequest.getUserName());
@@ -0,0 +1,215 @@
+/*
+ * Copyright © 2020-2025 ForgeRock AS (obst@forgerock.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.forgerock.sapi.gateway.rs.resource.store.repo.mongo.accounts.transactions;
+
+import static com.forgerock.sapi.gateway.ob.uk.common.datamodel.account.FRExternalPermissionsCode.READPAN;
+import static com.forgerock.sapi.gateway.ob.uk.common.datamodel.account.FRExternalPermissionsCode.READTRANSACTIONSBASIC;
+import static com.forgerock.sapi.gateway.ob.uk.common.datamodel.account.FRExternalPermissionsCode.READTRANSACTIONSCREDITS;
+import static com.forgerock.sapi.gateway.ob.uk.common.datamodel.account.FRExternalPermissionsCode.READTRANSACTIONSDEBITS;
+import static com.forgerock.sapi.gateway.ob.uk.common.datamodel.account.FRExternalPermissionsCode.READTRANSACTIONSDETAIL;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.bson.Document;
+import org.joda.time.DateTime;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.forgerock.sapi.gateway.ob.uk.common.datamodel.account.FRCreditDebitIndicator;
+import com.forgerock.sapi.gateway.ob.uk.common.datamodel.account.FRExternalPermissionsCode;
+import com.forgerock.sapi.gateway.ob.uk.common.datamodel.account.FRTransactionData;
+import com.forgerock.sapi.gateway.ob.uk.common.datamodel.common.FRAccountIdentifier;
+import com.forgerock.sapi.gateway.ob.uk.common.datamodel.common.FRAmount;
+import com.forgerock.sapi.gateway.rs.resource.store.api.TestApp;
+import com.forgerock.sapi.gateway.rs.resource.store.repo.entity.account.FRTransaction;
+
+import uk.org.openbanking.datamodel.v3.common.OBExternalAccountIdentification4Code;
+
+/**
+ * Runs the transaction permissions projection against the embedded Mongo, checking that reading transactions through
+ * {@link FRTransactionRepositoryImpl} gives the same transactions as the in-Java filtering it replaced.
+ */
+@SpringBootTest(classes = TestApp.class)
+@ActiveProfiles("test")
+class FRTransactionRepositoryPermissionsTest {
+
+    private static final String ACCOUNT_ID = "account-1";
+    private static final String PAN = "4111111111111111";
+
+    @Autowired
+    private FRTransactionRepository transactionRepository;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @BeforeEach
+    void setUp() {
+        removeData();
+        saveTransaction("credit-pan", FRCreditDebitIndicator.CREDIT, account(OBExternalAccountIdentification4Code.PAN, PAN));
+        saveTransaction("debit-pan", FRCreditDebitIndicator.DEBIT, account(OBExternalAccountIdentification4Code.PAN, PAN));
+        saveTransaction("credit-sort-code", FRCreditDebitIndicator.CREDIT,
+                account(OBExternalAccountIdentification4Code.SORTCODEACCOUNTNUMBER, "01234512345678"));
+        saveTransaction("debit-no-accounts", FRCreditDebitIndicator.DEBIT, null);
+    }
+
+    @AfterEach
+    void removeData() {
+        mongoTemplate.remove(FRTransaction.class).all();
+    }
+
+    static Stream<Arguments> permissions() {
+        final List<Arguments> permissions = new ArrayList<>();
+        for (FRExternalPermissionsCode detail : List.of(READTRANSACTIONSBASIC, READTRANSACTIONSDETAIL)) {
+            for (List<FRExternalPermissionsCode> creditsDebits : List.of(List.of(READTRANSACTIONSCREDITS),
+                    List.of(READTRANSACTIONSDEBITS), List.of(READTRANSACTIONSCREDITS, READTRANSACTIONSDEBITS))) {
+                final List<FRExternalPermissionsCode> withoutPan = new ArrayList<>(creditsDebits);
+                withoutPan.add(detail);
+                final List<FRExternalPermissionsCode> withPan = new ArrayList<>(withoutPan);
+                withPan.add(READPAN);
+                permissions.add(Arguments.of(withoutPan));
+                permissions.add(Arguments.of(withPan));
+            }
+        }
+        return permissions.stream();
+    }
+
+    @ParameterizedTest
+    @MethodSource("permissions")
+    void shouldReturnSameTransactionsAsInJavaFiltering(List<FRExternalPermissionsCode> permissions) {
+        final List<FRTransaction> transactions = sortById(transactionRepository
+                .byAccountIdInWithPermissions(List.of(ACCOUNT_ID), permissions, PageRequest.of(0, 10)).getContent());
+
+        assertThat(transactions).isEqualTo(filterInJava(permissions));
+        for (FRTransaction transaction : transactions) {
+            final FRTransactionData data = transaction.getTransaction();
+            if (!permissions.contains(READTRANSACTIONSCREDITS)) {
+                assertThat(data.getCreditDebitIndicator()).isEqualTo(FRCreditDebitIndicator.DEBIT);
+            }
+            if (!permissions.contains(READTRANSACTIONSDEBITS)) {
+                assertThat(data.getCreditDebitIndicator()).isEqualTo(FRCreditDebitIndicator.CREDIT);
+            }
+            if (permissions.contains(READTRANSACTIONSBASIC)) {
+                assertThat(data.getTransactionInformation()).isEmpty();
+                assertThat(data.getBalance()).isNull();
+                assertThat(data.getMerchantDetails()).isNull();
+                assertThat(data.getCreditorAgent()).isNull();
+                assertThat(data.getDebtorAgent()).isNull();
+            } else {
+                assertThat(data.getTransactionInformation()).isEqualTo("Transaction information");
+                assertThat(data.getBalance()).isNotNull();
+                assertThat(data.getMerchantDetails()).isNotNull();
+                assertThat(data.getCreditorAgent()).isNotNull();
+                assertThat(data.getDebtorAgent()).isNotNull();
+            }
+            if (transaction.getId().endsWith("-pan")) {
+                final String expectedIdentification = permissions.contains(READPAN)
+                        ? PAN : FRTransactionPermissionsProjection.MASKED_PAN;
+                assertThat(data.getDebtorAccount().getIdentification()).isEqualTo(expectedIdentification);
+                assertThat(data.getCreditorAccount().getIdentification()).isEqualTo(expectedIdentification);
+            } else if (transaction.getId().equals("credit-sort-code")) {
+                assertThat(data.getDebtorAccount().getIdentification()).isEqualTo("01234512345678");
+            } else {
+                assertThat(data.getDebtorAccount()).isNull();
+                assertThat(data.getCreditorAccount()).isNull();
+            }
+        }
+    }
+
+    /**
+     * The filtering applied in Java to every transaction read before the permissions were projected in Mongo.
+     */
+    private List<FRTransaction> filterInJava(List<FRExternalPermissionsCode> permissions) {
+        final List<FRTransaction> transactions = mongoTemplate.find(query(where("accountId").is(ACCOUNT_ID)), FRTransaction.class)
+                .stream()
+                .filter(transaction -> permissions.contains(transaction.getTransaction().getCreditDebitIndicator() == FRCreditDebitIndicator.CREDIT
+                        ? READTRANSACTIONSCREDITS : READTRANSACTIONSDEBITS))
+                .collect(Collectors.toList());
+        for (FRTransaction transaction : transactions) {
+            final FRTransactionData data = transaction.getTransaction();
+            if (permissions.contains(READTRANSACTIONSBASIC)) {
+                data.setTransactionInformation("");
+                data.setBalance(null);
+                data.setMerchantDetails(null);
+                data.setCreditorAgent(null);
+                data.setDebtorAgent(null);
+            }
+            if (!permissions.contains(READPAN)) {
+                for (FRAccountIdentifier account : new FRAccountIdentifier[]{data.getDebtorAccount(), data.getCreditorAccount()}) {
+                    if (account != null && OBExternalAccountIdentification4Code.PAN.toString().equals(account.getSchemeName())) {
+                        account.setIdentification(FRTransactionPermissionsProjection.MASKED_PAN);
+                    }
+                }
+            }
+        }
+        return sortById(transactions);
+    }
+
+    private void saveTransaction(String id, FRCreditDebitIndicator creditDebitIndicator, FRAccountIdentifier account) {
+        final DateTime bookingDateTime = new DateTime(2024, 1, 15, 9, 0);
+        mongoTemplate.save(FRTransaction.builder()
+                .id(id)
+                .accountId(ACCOUNT_ID)
+                .bookingDateTime(bookingDateTime)
+                .transaction(FRTransactionData.builder()
+                        .accountId(ACCOUNT_ID)
+                        .transactionId(id)
+                        .amount(new FRAmount("10.00", "GBP"))
+                        .creditDebitIndicator(creditDebitIndicator)
+                        .status(FRTransactionData.FREntryStatus.BOOKED)
+                        .bookingDateTime(bookingDateTime)
+                        .transactionInformation("Transaction information")
+                        .debtorAccount(account)
+                        .creditorAccount(account)
+                        .build())
+                .build());
+        // Detail only fields, written as documents as the test does not depend on their content
+        mongoTemplate.updateFirst(query(where("_id").is(id)), new Update()
+                        .set("transaction.balance", new Document("creditDebitIndicator", "CREDIT")
+                                .append("amount", new Document("amount", "100.00").append("currency", "GBP")))
+                        .set("transaction.merchantDetails", new Document("merchantName", "Merchant"))
+                        .set("transaction.creditorAgent", new Document("name", "Creditor agent"))
+                        .set("transaction.debtorAgent", new Document("name", "Debtor agent")),
+                FRTransaction.class);
+    }
+
+    private static FRAccountIdentifier account(OBExternalAccountIdentification4Code schemeName, String identification) {
+        return FRAccountIdentifier.builder()
+                .schemeName(schemeName.toString())
+                .identification(identification)
+                .name("Account name")
+                .build();
+    }
+
+    private static List<FRTransaction> sortById(List<FRTransaction> transactions) {
+        return transactions.stream().sorted(Comparator.comparing(FRTransaction::getId)).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,42 @@
+/*
+ * Copyright © 2020-2025 ForgeRock AS (obst@forgerock.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.forgerock.sapi.gateway.rs.resource.store.datamodel.user;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Summary of the documents written by an admin data import, returned alongside the imported data.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FRDataImportReport {
+
+    /**
+     * The number of accounts imported
+     */
+    private int accountsImported;
+
+    /**
+     * The number of documents written, keyed by collection name
+     */
+    private Map<String, Integer> documentsWritten = new LinkedHashMap<>();
+}
@@ -17,6 +17,7 @@ package com.forgerock.sapi.gateway.rs.resource.store.datamodel.user.v4;
 
 import com.forgerock.sapi.gateway.rs.resource.store.datamodel.account.v4.FRAccountData;
 import com.forgerock.sapi.gateway.ob.uk.common.datamodel.customerinfo.FRCustomerInfo;
+import com.forgerock.sapi.gateway.rs.resource.store.datamodel.user.FRDataImportReport;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -35,6 +36,7 @@ public class FRUserData {
     private OBParty2 party;
     private List<FRAccountData> accountDatas = new ArrayList<>();
     private FRCustomerInfo customerInfo;
+    private FRDataImportReport importReport;
 
     public FRUserData(String userId) {
         this.userId = userId;
@@ -55,6 +55,9 @@ public class FRScheduledPayment {
 
     private String rejectionReason;
 
+    // Payment scheduler shard, assigned from the id when the document is written, see FRSchedulerLease#shardOf
+    private Integer shard;
+
     private ScheduledPaymentStatus status;
 
     /** Records if this scheduled payment has been processed or not. Not all scheduled payments have an associated payment consent (e.g. created on /data API). */
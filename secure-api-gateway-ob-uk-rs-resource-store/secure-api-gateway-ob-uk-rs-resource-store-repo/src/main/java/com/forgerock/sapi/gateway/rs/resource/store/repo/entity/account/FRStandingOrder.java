@@ -55,8 +55,14 @@ public class FRStandingOrder {
 
     private String rejectionReason;
 
+    // Payment scheduler shard, assigned from the id when the document is written, see FRSchedulerLease#shardOf
+    private Integer shard;
+
     private StandingOrderStatus status;
 
+    // Number of payments made by the payment scheduler, used to complete orders with a NumberOfPayments
+    private int paymentsExecuted;
+
     /**
      * Internal status of a standing order with regards to payment execution
      */
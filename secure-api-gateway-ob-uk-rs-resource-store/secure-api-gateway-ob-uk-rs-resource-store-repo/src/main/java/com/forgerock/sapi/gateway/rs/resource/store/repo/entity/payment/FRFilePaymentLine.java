@@ -0,0 +1,61 @@
+/*
+ * Copyright © 2020-2025 ForgeRock AS (obst@forgerock.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.forgerock.sapi.gateway.rs.resource.store.repo.entity.payment;
+
+import java.util.Date;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import com.forgerock.sapi.gateway.ob.uk.common.datamodel.payment.FRFilePayment;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A single payment (line) of an {@link FRFilePaymentSubmission}, the status of the line is held by the payment.
+ * <p>
+ * Lines are stored in their own collection rather than embedded in the submission, so that files with tens of thousands
+ * of payments can be executed and reported on a batch of lines at a time.
+ */
+@Builder
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Document
+public class FRFilePaymentLine {
+
+    @Id
+    private String id;
+
+    private String filePaymentId;
+
+    // 1 based position of the payment in the file
+    private int lineNumber;
+
+    private FRFilePayment payment;
+
+    // Why the payment was rejected, only set for rejected payments
+    private String statusReason;
+
+    private Date statusUpdateDateTime;
+
+    public static String toId(String filePaymentId, int lineNumber) {
+        return filePaymentId + "-" + lineNumber;
+    }
+}
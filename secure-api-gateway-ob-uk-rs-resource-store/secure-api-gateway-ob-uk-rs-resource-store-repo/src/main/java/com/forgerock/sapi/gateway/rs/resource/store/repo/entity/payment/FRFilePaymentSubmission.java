@@ -56,6 +56,14 @@ public class FRFilePaymentSubmission implements PaymentSubmission<FRWriteFile> {
 
     private OBVersion obVersion;
 
+    // Execution progress of the file's payments, see FRFilePaymentLine for the status of each payment
+    private int transactionsProcessed;
+    private int transactionsRejected;
+
+    // Lease of the node executing the file's payments, unset once the execution has finished
+    private String executionOwner;
+    private Date executionExpiresAt;
+
     @Override
     public String getConsentId() {
         return filePayment.getData().getConsentId();
@@ -0,0 +1,75 @@
+/*
+ * Copyright © 2020-2025 ForgeRock AS (obst@forgerock.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.forgerock.sapi.gateway.rs.resource.store.repo.entity.payment;
+
+import java.util.Date;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A lease held by an RS node on behalf of the payment scheduler, which expires unless the owner renews it.
+ * <p>
+ * Two kinds of lease are stored: a shard lease gives its owner the sole right to execute the scheduled payments and
+ * standing orders of the shard, and a node lease is a heartbeat used to count the live nodes sharing the shards.
+ * <p>
+ * Each instruction stores its shard, assigned from its id when it is written, so that a node reads only the
+ * instructions of the shards it holds.
+ */
+@Builder
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Document
+public class FRSchedulerLease {
+
+    public static final String SHARD_PREFIX = "shard-";
+    public static final String NODE_PREFIX = "node-";
+
+    /**
+     * Number of shards the scheduled payments and standing orders are split into. The shard of an instruction is
+     * stored with it when it is written, so changing this requires the stored shards to be reassigned.
+     */
+    public static final int SHARDS = 64;
+
+    @Id
+    private String id;
+
+    // Id of the node holding the lease
+    private String owner;
+
+    private Date expiresAt;
+
+    public static String shardLeaseId(int shard) {
+        return SHARD_PREFIX + shard;
+    }
+
+    public static String nodeLeaseId(String nodeId) {
+        return NODE_PREFIX + nodeId;
+    }
+
+    /**
+     * @return the shard of the scheduled payment or standing order with the id
+     */
+    public static int shardOf(String instructionId) {
+        return Math.floorMod(instructionId.hashCode(), SHARDS);
+    }
+}
@@ -0,0 +1,186 @@
+/*
+ * Copyright © 2020-2025 ForgeRock AS (obst@forgerock.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.forgerock.sapi.gateway.rs.resource.store.repo.index;
+
+import java.util.Date;
+import java.util.List;
+
+import org.bson.Document;
+import org.springframework.stereotype.Component;
+
+import com.forgerock.sapi.gateway.rs.resource.store.repo.entity.account.FRAccount;
+import com.forgerock.sapi.gateway.rs.resource.store.repo.entity.account.FRBalance;
+import com.forgerock.sapi.gateway.rs.resource.store.repo.entity.account.FRBeneficiary;
+import com.forgerock.sapi.gateway.rs.resource.store.repo.entity.account.FRDirectDebit;
+import com.forgerock.sapi.gateway.rs.resource.store.repo.entity.account.FROffer;
+import com.forgerock.sapi.gateway.rs.resource.store.repo.entity.account.FRParty;
+import com.forgerock.sapi.gateway.rs.resource.store.repo.entity.account.FRProduct;
+import com.forgerock.sapi.gateway.rs.resource.store.repo.entity.account.FRScheduledPayment;
+import com.forgerock.sapi.gateway.rs.resource.store.repo.entity.account.FRStandingOrder;
+import com.forgerock.sapi.gateway.rs.resource.store.repo.entity.account.FRStatement;
+import com.forgerock.sapi.gateway.rs.resource.store.repo.entity.account.FRTransaction;
+import com.forgerock.sapi.gateway.rs.resource.store.repo.index.ManagedIndex.QueryShape;
+
+/**
+ * Indexes for the repositories in the repo.mongo.accounts package.
+ * <p>
+ * Compound indexes follow the equality, sort, range ordering: equality fields (accountId, statementIds, credit/debit
+ * indicator) first, then bookingDateTime which is both the sort key and the range filter, so that sorted range reads
+ * are served straight from the index without a blocking SORT stage. The indexes used by the keyset (cursor) reads end
+ * in _id, the tie breaker of their bookingDateTime, _id sort.
+ */
+@Component
+public class AccountDataIndexProvider implements ManagedIndexProvider {
+
+    private static final String ACCOUNT_ID = "accountId";
+    private static final String BOOKING_DATE_TIME = "bookingDateTime";
+    private static final String STATEMENT_IDS = "statementIds";
+    private static final String CREDIT_DEBIT_INDICATOR = "transaction.creditDebitIndicator";
+
+    private static final String PLACEHOLDER = "placeholder";
+    private static final List<String> PLACEHOLDERS = List.of(PLACEHOLDER, PLACEHOLDER + "2");
+
+    @Override
+    public List<ManagedIndex> getIndexes() {
+        return List.of(
+                ManagedIndex.builder()
+                        .entityClass(FRTransaction.class)
+                        .name("accountId_bookingDateTime_id")
+                        .keys(new Document(ACCOUNT_ID, 1).append(BOOKING_DATE_TIME, 1).append("_id", 1))
+                        .queryShape(QueryShape.of("findByAccountIdAndBookingDateTimeBetween",
+                                new Document(ACCOUNT_ID, PLACEHOLDER).append(BOOKING_DATE_TIME, bookingDateRange()),
+                                sortByBookingDateTime()))
+                        .queryShape(QueryShape.of("findByAccountIdInAndBookingDateTimeBetween",
+                                new Document(ACCOUNT_ID, in()).append(BOOKING_DATE_TIME, bookingDateRange()),
+                                sortByBookingDateTime()))
+                        .queryShape(QueryShape.of("findByAccountId",
+                                new Document(ACCOUNT_ID, PLACEHOLDER), sortByBookingDateTime()))
+                        .queryShape(QueryShape.of("findByAccountIdInAndBookingDateTimeBetween (keyset)",
+                                new Document(ACCOUNT_ID, in()).append(BOOKING_DATE_TIME, bookingDateRange()),
+                                sortByBookingDateTimeAndId()))
+                        .build(),
+                ManagedIndex.builder()
+                        .entityClass(FRTransaction.class)
+                        .name("accountId_creditDebitIndicator_bookingDateTime_id")
+                        .keys(new Document(ACCOUNT_ID, 1).append(CREDIT_DEBIT_INDICATOR, 1).append(BOOKING_DATE_TIME, 1)
+                                .append("_id", 1))
+                        .queryShape(QueryShape.of("findByAccountIdAndTransactionCreditDebitIndicatorAndBookingDateTimeBetween",
+                                new Document(ACCOUNT_ID, PLACEHOLDER).append(CREDIT_DEBIT_INDICATOR, "CREDIT")
+                                        .append(BOOKING_DATE_TIME, bookingDateRange()),
+                                sortByBookingDateTime()))
+                        .queryShape(QueryShape.of("findByAccountIdInAndTransactionCreditDebitIndicator",
+                                new Document(ACCOUNT_ID, in()).append(CREDIT_DEBIT_INDICATOR, "DEBIT"),
+                                sortByBookingDateTime()))
+                        .queryShape(QueryShape.of("findByAccountIdInAndTransactionCreditDebitIndicatorAndBookingDateTimeBetween (keyset)",
+                                new Document(ACCOUNT_ID, in()).append(CREDIT_DEBIT_INDICATOR, "CREDIT")
+                                        .append(BOOKING_DATE_TIME, bookingDateRange()),
+                                sortByBookingDateTimeAndId()))
+                        .build(),
+                ManagedIndex.builder()
+                        .entityClass(FRTransaction.class)
+                        .name("accountId_statementIds_bookingDateTime")
+                        .keys(new Document(ACCOUNT_ID, 1).append(STATEMENT_IDS, 1).append(BOOKING_DATE_TIME, 1))
+                        .queryShape(QueryShape.of("findByAccountIdAndStatementIdsAndBookingDateTimeBetween",
+                                new Document(ACCOUNT_ID, PLACEHOLDER).append(STATEMENT_IDS, PLACEHOLDER)
+                                        .append(BOOKING_DATE_TIME, bookingDateRange()),
+                                sortByBookingDateTime()))
+                        .build(),
+                ManagedIndex.builder()
+                        .entityClass(FRTransaction.class)
+                        .name("accountId_statementIds_creditDebitIndicator_bookingDateTime")
+                        .keys(new Document(ACCOUNT_ID, 1).append(STATEMENT_IDS, 1).append(CREDIT_DEBIT_INDICATOR, 1)
+                                .append(BOOKING_DATE_TIME, 1))
+                        .queryShape(QueryShape.of("findByAccountIdAndStatementIdsAndTransactionCreditDebitIndicatorAndBookingDateTimeBetween",
+                                new Document(ACCOUNT_ID, PLACEHOLDER).append(STATEMENT_IDS, PLACEHOLDER)
+                                        .append(CREDIT_DEBIT_INDICATOR, "CREDIT").append(BOOKING_DATE_TIME, bookingDateRange()),
+                                sortByBookingDateTime()))
+                        .build(),
+                ManagedIndex.builder()
+                        .entityClass(FRStatement.class)
+                        .name("accountId_startDateTime_endDateTime")
+                        .keys(new Document(ACCOUNT_ID, 1).append("startDateTime", 1).append("endDateTime", 1))
+                        .queryShape(QueryShape.of("findByAccountIdAndStartDateTimeBetweenAndEndDateTimeBetween",
+                                new Document(ACCOUNT_ID, PLACEHOLDER).append("startDateTime", bookingDateRange())
+                                        .append("endDateTime", bookingDateRange())))
+                        .queryShape(QueryShape.of("findByAccountIdIn", new Document(ACCOUNT_ID, in())))
+                        .build(),
+                ManagedIndex.builder()
+                        .entityClass(FRBalance.class)
+                        .name("accountId_balanceType")
+                        .keys(new Document(ACCOUNT_ID, 1).append("balance.type", 1))
+                        .queryShape(QueryShape.of("findByAccountIdAndBalanceType",
+                                new Document(ACCOUNT_ID, PLACEHOLDER).append("balance.type", "INTERIMAVAILABLE")))
+                        .queryShape(QueryShape.of("findByAccountIdIn", new Document(ACCOUNT_ID, in())))
+                        .build(),
+                ManagedIndex.builder()
+                        .entityClass(FRAccount.class)
+                        .name("userID")
+                        .keys(new Document("userID", 1))
+                        .queryShape(QueryShape.of("findByUserID", new Document("userID", PLACEHOLDER)))
+                        .build(),
+                ManagedIndex.builder()
+                        .entityClass(FRParty.class)
+                        .name("userId")
+                        .keys(new Document("userId", 1))
+                        .queryShape(QueryShape.of("findByUserId", new Document("userId", PLACEHOLDER)))
+                        .build(),
+                ManagedIndex.builder()
+                        .entityClass(FRStandingOrder.class)
+                        .name("status")
+                        .keys(new Document("status", 1))
+                        .queryShape(QueryShape.of("findByStatusIn", new Document("status", in())))
+                        .build(),
+                accountIdIndex(FRBeneficiary.class),
+                accountIdIndex(FRDirectDebit.class),
+                accountIdIndex(FROffer.class),
+                accountIdIndex(FRParty.class),
+                accountIdIndex(FRProduct.class),
+                accountIdIndex(FRScheduledPayment.class),
+                accountIdIndex(FRStandingOrder.class));
+    }
+
+    /**
+     * Single field accountId index, serves the findByAccountId, findByAccountIdIn and delete*ByAccountId queries.
+     */
+    private static ManagedIndex accountIdIndex(Class<?> entityClass) {
+        return ManagedIndex.builder()
+                .entityClass(entityClass)
+                .name(ACCOUNT_ID)
+                .keys(new Document(ACCOUNT_ID, 1))
+                .queryShape(QueryShape.of("findByAccountId", new Document(ACCOUNT_ID, PLACEHOLDER)))
+                .queryShape(QueryShape.of("findByAccountIdIn", new Document(ACCOUNT_ID, in())))
+                .build();
+    }
+
+    private static Document in() {
+        return new Document("$in", PLACEHOLDERS);
+    }
+
+    private static Document bookingDateRange() {
+        return new Document("$gt", new Date(0)).append("$lt", new Date());
+    }
+
+    private static Document sortByBookingDateTime() {
+        return new Document(BOOKING_DATE_TIME, 1);
+    }
+
+    /**
+     * Sort used by the keyset (cursor) transaction reads, _id breaks ties between equal booking dates.
+     */
+    private static Document sortByBookingDateTimeAndId() {
+        return new Document(BOOKING_DATE_TIME, 1).append("_id", 1);
+    }
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright © 2020-2025 ForgeRock AS (obst@forgerock.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.forgerock.sapi.gateway.rs.resource.store.repo.index;
+
+import java.util.List;
+
+import org.bson.Document;
+import org.springframework.stereotype.Component;
+
+import com.forgerock.sapi.gateway.rs.resource.store.repo.entity.event.FREventMessageEntity;
+import com.forgerock.sapi.gateway.rs.resource.store.repo.index.ManagedIndex.QueryShape;
+
+/**
+ * Indexes for the repositories in the repo.mongo.events package.
+ * <p>
+ * Every aggregated polling request looks events up by (apiClientId, jti) to acknowledge them or record errors
+ * against them, then reads the TPP's oldest pending events. Pending events have no errors field, so the pending read is
+ * an equality match on (apiClientId, errors) followed by the created sort, which lets the limit be applied in the index
+ * scan however many events the TPP has.
+ */
+@Component
+public class EventIndexProvider implements ManagedIndexProvider {
+
+    private static final String API_CLIENT_ID = "apiClientId";
+    private static final String JTI = "jti";
+    private static final String ERRORS = "errors";
+    private static final String CREATED = "created";
+
+    private static final String PLACEHOLDER = "placeholder";
+
+    @Override
+    public List<ManagedIndex> getIndexes() {
+        return List.of(
+                ManagedIndex.builder()
+                        .entityClass(FREventMessageEntity.class)
+                        .name("apiClientId_jti")
+                        .keys(new Document(API_CLIENT_ID, 1).append(JTI, 1))
+                        .queryShape(QueryShape.of("findByApiClientIdAndJti",
+                                new Document(API_CLIENT_ID, PLACEHOLDER).append(JTI, PLACEHOLDER)))
+                        .queryShape(QueryShape.of("deleteByApiClientIdAndJtiIn",
+                                new Document(API_CLIENT_ID, PLACEHOLDER)
+                                        .append(JTI, new Document("$in", List.of(PLACEHOLDER, PLACEHOLDER + "2")))))
+                        .queryShape(QueryShape.of("findByApiClientId", new Document(API_CLIENT_ID, PLACEHOLDER)))
+                        .build(),
+                ManagedIndex.builder()
+                        .entityClass(FREventMessageEntity.class)
+                        .name("apiClientId_errors_created_id")
+                        .keys(new Document(API_CLIENT_ID, 1).append(ERRORS, 1).append(CREATED, 1).append("_id", 1))
+                        .queryShape(QueryShape.of("findPendingByApiClientId",
+                                new Document(API_CLIENT_ID, PLACEHOLDER).append(ERRORS, new Document("$exists", false)),
+                                new Document(CREATED, 1).append("_id", 1)))
+                        .build());
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright © 2020-2025 ForgeRock AS (obst@forgerock.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.forgerock.sapi.gateway.rs.resource.store.repo.index;
+
+import java.util.List;
+
+import org.bson.Document;
+import org.springframework.data.domain.Sort.Direction;
+import org.springframework.data.mongodb.core.index.Index;
+
+import lombok.Builder;
+import lombok.Singular;
+import lombok.Value;
+
+/**
+ * A Mongo index that the RS owns, together with the query shapes it is expected to serve.
+ * <p>
+ * The query shapes are used by {@link MongoIndexManager} to explain each query at startup, so that a query which would
+ * fall back to a collection scan is detected before the application starts serving traffic.
+ */
+@Value
+@Builder
+public class ManagedIndex {
+
+    /**
+     * The entity (and therefore collection) the index belongs to
+     */
+    Class<?> entityClass;
+
+    /**
+     * Explicit index name, used to detect whether the index already exists
+     */
+    String name;
+
+    /**
+     * Ordered index keys, field name to direction (1 or -1)
+     */
+    Document keys;
+
+    @Singular
+    List<QueryShape> queryShapes;
+
+    public Index toIndex() {
+        final Index index = new Index().named(name).background();
+        keys.forEach((field, direction) -> index.on(field, ((Number) direction).intValue() < 0 ? Direction.DESC : Direction.ASC));
+        return index;
+    }
+
+    /**
+     * A representative filter and sort for a repository query. The values in the filter are placeholders, only the
+     * shape of the query matters to the query planner.
+     */
+    @Value
+    public static class QueryShape {
+        String description;
+        Document filter;
+        Document sort;
+
+        public static QueryShape of(String description, Document filter) {
+            return new QueryShape(description, filter, new Document());
+        }
+
+        public static QueryShape of(String description, Document filter, Document sort) {
+            return new QueryShape(description, filter, sort);
+        }
+    }
+}
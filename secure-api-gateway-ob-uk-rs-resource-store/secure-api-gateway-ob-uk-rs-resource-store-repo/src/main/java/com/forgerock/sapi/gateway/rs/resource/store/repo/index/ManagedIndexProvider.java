@@ -0,0 +1,27 @@
+/*
+ * Copyright © 2020-2025 ForgeRock AS (obst@forgerock.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.forgerock.sapi.gateway.rs.resource.store.repo.index;
+
+import java.util.List;
+
+/**
+ * Supplies {@link ManagedIndex} definitions to the {@link MongoIndexManager}. Implementations are Spring beans, each
+ * one typically declaring the indexes for a group of related repositories.
+ */
+public interface ManagedIndexProvider {
+
+    List<ManagedIndex> getIndexes();
+}
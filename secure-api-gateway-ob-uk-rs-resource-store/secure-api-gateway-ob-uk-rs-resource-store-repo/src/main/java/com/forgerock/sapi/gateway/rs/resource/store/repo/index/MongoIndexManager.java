@@ -0,0 +1,230 @@
+/*
+ * Copyright © 2020-2025 ForgeRock AS (obst@forgerock.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.forgerock.sapi.gateway.rs.resource.store.repo.index;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.stream.Collectors;
+
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import com.forgerock.sapi.gateway.rs.resource.store.repo.index.ManagedIndex.QueryShape;
+
+/**
+ * Creates the {@link ManagedIndex} definitions supplied by the {@link ManagedIndexProvider} beans at startup, and
+ * explains each of their query shapes to verify that no repository query falls back to a collection scan.
+ * <p>
+ * Collection scans are logged as a warning and reported by the {@link MongoIndexesEndpoint}, startup only fails on
+ * them when rs.data.mongo.indexes.fail-on-collection-scan is enabled, as it is in the test profiles.
+ * <p>
+ * Index creation is idempotent: an index is only created if no index with the same keys exists, whatever its name,
+ * so restarting the RS (or running several replicas) against the same database is safe.
+ */
+@Component
+public class MongoIndexManager implements SmartInitializingSingleton {
+
+    static final String COLLECTION_SCAN_STAGE = "COLLSCAN";
+    static final String BLOCKING_SORT_STAGE = "SORT";
+    private static final String ID_INDEX_NAME = "_id_";
+
+    private final Logger logger = LoggerFactory.getLogger(getClass());
+
+    private final MongoTemplate mongoTemplate;
+
+    private final List<ManagedIndexProvider> indexProviders;
+
+    private final boolean createIndexes;
+
+    private final boolean failOnCollectionScan;
+
+    public MongoIndexManager(MongoTemplate mongoTemplate,
+                             List<ManagedIndexProvider> indexProviders,
+                             @Value("${rs.data.mongo.indexes.create:true}") boolean createIndexes,
+                             @Value("${rs.data.mongo.indexes.fail-on-collection-scan:false}") boolean failOnCollectionScan) {
+        this.mongoTemplate = mongoTemplate;
+        this.indexProviders = indexProviders;
+        this.createIndexes = createIndexes;
+        this.failOnCollectionScan = failOnCollectionScan;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (createIndexes) {
+            ensureIndexes();
+        }
+        verifyQueryPlans();
+    }
+
+    public List<ManagedIndex> getManagedIndexes() {
+        return indexProviders.stream()
+                .flatMap(provider -> provider.getIndexes().stream())
+                .collect(Collectors.toList());
+    }
+
+    void ensureIndexes() {
+        for (ManagedIndex managedIndex : getManagedIndexes()) {
+            final String collection = collectionName(managedIndex);
+            if (findExistingIndex(collection, managedIndex) != null) {
+                logger.debug("Index {} already exists on collection {}", managedIndex.getName(), collection);
+                continue;
+            }
+            logger.info("Creating index {} {} on collection {}", managedIndex.getName(), managedIndex.getKeys().toJson(), collection);
+            mongoTemplate.indexOps(managedIndex.getEntityClass()).ensureIndex(managedIndex.toIndex());
+        }
+    }
+
+    void verifyQueryPlans() {
+        final List<String> collectionScans = new ArrayList<>();
+        for (ManagedIndex managedIndex : getManagedIndexes()) {
+            for (QueryShape queryShape : managedIndex.getQueryShapes()) {
+                final List<String> stages = winningPlanStages(collectionName(managedIndex), queryShape);
+                if (stages.contains(COLLECTION_SCAN_STAGE)) {
+                    collectionScans.add(describe(managedIndex, queryShape));
+                } else if (stages.contains(BLOCKING_SORT_STAGE)) {
+                    logger.warn("Query {} requires a blocking sort stage", describe(managedIndex, queryShape));
+                }
+            }
+        }
+        if (collectionScans.isEmpty()) {
+            logger.info("Verified query plans for all managed indexes");
+        } else if (failOnCollectionScan) {
+            throw new IllegalStateException("The following queries would run a " + COLLECTION_SCAN_STAGE + ": " + collectionScans);
+        } else {
+            logger.warn("The following queries would run a {}, see /actuator/mongoindexes: {}", COLLECTION_SCAN_STAGE, collectionScans);
+        }
+    }
+
+    /**
+     * Reports, per collection, which managed indexes are missing, which existing indexes have not been used since
+     * the mongod process started (as reported by $indexStats), and which query shapes do not have an efficient plan.
+     */
+    public MongoIndexReport getIndexReport() {
+        final Map<String, List<ManagedIndex>> indexesByCollection = new LinkedHashMap<>();
+        for (ManagedIndex managedIndex : getManagedIndexes()) {
+            indexesByCollection.computeIfAbsent(collectionName(managedIndex), c -> new ArrayList<>()).add(managedIndex);
+        }
+
+        final List<MongoIndexReport.CollectionReport> collections = new ArrayList<>();
+        for (Entry<String, List<ManagedIndex>> entry : indexesByCollection.entrySet()) {
+            final String collection = entry.getKey();
+            final MongoIndexReport.CollectionReport.CollectionReportBuilder report = MongoIndexReport.CollectionReport.builder()
+                    .collection(collection);
+
+            for (ManagedIndex managedIndex : entry.getValue()) {
+                report.managedIndex(managedIndex.getName());
+                if (findExistingIndex(collection, managedIndex) == null) {
+                    report.missingIndex(managedIndex.getName());
+                }
+                for (QueryShape queryShape : managedIndex.getQueryShapes()) {
+                    final List<String> stages = winningPlanStages(collection, queryShape);
+                    if (stages.contains(COLLECTION_SCAN_STAGE)) {
+                        report.collectionScan(queryShape.getDescription());
+                    } else if (stages.contains(BLOCKING_SORT_STAGE)) {
+                        report.blockingSort(queryShape.getDescription());
+                    }
+                }
+            }
+            for (Document indexStats : mongoTemplate.getCollection(collection)
+                    .aggregate(List.of(new Document("$indexStats", new Document())))) {
+                final String indexName = indexStats.getString("name");
+                final Document accesses = indexStats.get("accesses", Document.class);
+                if (!ID_INDEX_NAME.equals(indexName) && accesses != null
+                        && ((Number) accesses.get("ops")).longValue() == 0) {
+                    report.unusedIndex(indexName);
+                }
+            }
+            collections.add(report.build());
+        }
+        return new MongoIndexReport(collections);
+    }
+
+    private String collectionName(ManagedIndex managedIndex) {
+        return mongoTemplate.getCollectionName(managedIndex.getEntityClass());
+    }
+
+    private Document findExistingIndex(String collection, ManagedIndex managedIndex) {
+        for (Document existingIndex : mongoTemplate.getCollection(collection).listIndexes()) {
+            if (sameKeys(existingIndex.get("key", Document.class), managedIndex.getKeys())) {
+                return existingIndex;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Index keys are ordered, so unlike {@link Document#equals(Object)} the order of the fields is significant.
+     */
+    static boolean sameKeys(Document existingKeys, Document managedKeys) {
+        if (existingKeys == null || existingKeys.size() != managedKeys.size()) {
+            return false;
+        }
+        final List<String> existingFields = new ArrayList<>(existingKeys.keySet());
+        final List<String> managedFields = new ArrayList<>(managedKeys.keySet());
+        if (!existingFields.equals(managedFields)) {
+            return false;
+        }
+        for (String field : managedFields) {
+            final Object existingDirection = existingKeys.get(field);
+            final Object managedDirection = managedKeys.get(field);
+            if (!(existingDirection instanceof Number) || !(managedDirection instanceof Number)
+                    || ((Number) existingDirection).intValue() != ((Number) managedDirection).intValue()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private List<String> winningPlanStages(String collection, QueryShape queryShape) {
+        final Document explainCommand = new Document("explain", new Document("find", collection)
+                .append("filter", queryShape.getFilter())
+                .append("sort", queryShape.getSort()))
+                .append("verbosity", "queryPlanner");
+        final Document explain = mongoTemplate.getDb().runCommand(explainCommand);
+        final Document queryPlanner = explain.get("queryPlanner", Document.class);
+        final List<String> stages = new ArrayList<>();
+        collectStages(queryPlanner.get("winningPlan"), stages);
+        return stages;
+    }
+
+    /**
+     * Walks the plan tree, which is nested through inputStage/inputStages (and queryPlan for the slot based engine).
+     */
+    static void collectStages(Object plan, List<String> stages) {
+        if (plan instanceof Document) {
+            final Document planDocument = (Document) plan;
+            final Object stage = planDocument.get("stage");
+            if (stage instanceof String) {
+                stages.add((String) stage);
+            }
+            planDocument.values().forEach(value -> collectStages(value, stages));
+        } else if (plan instanceof List) {
+            ((List<?>) plan).forEach(value -> collectStages(value, stages));
+        }
+    }
+
+    private static String describe(ManagedIndex managedIndex, QueryShape queryShape) {
+        return managedIndex.getEntityClass().getSimpleName() + "." + queryShape.getDescription();
+    }
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright © 2020-2025 ForgeRock AS (obst@forgerock.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.forgerock.sapi.gateway.rs.resource.store.repo.index;
+
+import java.util.List;
+
+import lombok.Builder;
+import lombok.Singular;
+import lombok.Value;
+
+/**
+ * Snapshot of the state of the {@link ManagedIndex} definitions, exposed through the mongoindexes actuator endpoint.
+ */
+@Value
+public class MongoIndexReport {
+
+    List<CollectionReport> collections;
+
+    @Value
+    @Builder
+    public static class CollectionReport {
+        String collection;
+        @Singular
+        List<String> managedIndexes;
+        /**
+         * Managed indexes which do not exist in the collection
+         */
+        @Singular
+        List<String> missingIndexes;
+        /**
+         * Indexes (managed or not) with no recorded accesses since the mongod process started
+         */
+        @Singular
+        List<String> unusedIndexes;
+        /**
+         * Query shapes whose winning plan contains a collection scan
+         */
+        @Singular
+        List<String> collectionScans;
+        /**
+         * Query shapes whose winning plan contains a blocking (in memory) sort
+         */
+        @Singular
+        List<String> blockingSorts;
+    }
+}
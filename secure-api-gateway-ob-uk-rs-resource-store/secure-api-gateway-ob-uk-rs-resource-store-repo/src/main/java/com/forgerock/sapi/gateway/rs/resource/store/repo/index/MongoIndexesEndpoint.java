@@ -0,0 +1,40 @@
+/*
+ * Copyright © 2020-2025 ForgeRock AS (obst@forgerock.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.forgerock.sapi.gateway.rs.resource.store.repo.index;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ * Actuator endpoint reporting missing and unused indexes, and queries that would scan a whole collection or sort in
+ * memory. Exposed over http as /actuator/mongoindexes when included in management.endpoints.web.exposure.include
+ */
+@Component
+@Endpoint(id = "mongoindexes")
+public class MongoIndexesEndpoint {
+
+    private final MongoIndexManager mongoIndexManager;
+
+    public MongoIndexesEndpoint(MongoIndexManager mongoIndexManager) {
+        this.mongoIndexManager = mongoIndexManager;
+    }
+
+    @ReadOperation
+    public MongoIndexReport mongoIndexes() {
+        return mongoIndexManager.getIndexReport();
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright © 2020-2025 ForgeRock AS (obst@forgerock.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.forgerock.sapi.gateway.rs.resource.store.repo.index;
+
+import java.util.Date;
+import java.util.List;
+
+import org.bson.Document;
+import org.springframework.stereotype.Component;
+
+import com.forgerock.sapi.gateway.rs.resource.store.repo.entity.account.FRScheduledPayment;
+import com.forgerock.sapi.gateway.rs.resource.store.repo.entity.account.FRStandingOrder;
+import com.forgerock.sapi.gateway.rs.resource.store.repo.entity.payment.FRFilePaymentLine;
+import com.forgerock.sapi.gateway.rs.resource.store.repo.index.ManagedIndex.QueryShape;
+
+/**
+ * Indexes for the repositories in the repo.mongo.payments package.
+ * <p>
+ * The lines of a file payment are read back in file order to build the payment details and report file, which a
+ * (filePaymentId, lineNumber) index serves without a blocking SORT stage however many lines the file has.
+ * <p>
+ * The payment scheduler reads the scheduled payments and standing orders of a status and of the shards it leases which
+ * fall due within a time window, earliest first. The (status, shard, due date) indexes serve these as a merge of
+ * bounded index range scans, one per shard, so loading a window costs the same however many instructions are stored
+ * and however many belong to other shards.
+ */
+@Component
+public class PaymentIndexProvider implements ManagedIndexProvider {
+
+    private static final String FILE_PAYMENT_ID = "filePaymentId";
+    private static final String LINE_NUMBER = "lineNumber";
+
+    private static final String STATUS = "status";
+    private static final String SHARD = "shard";
+    private static final String SCHEDULED_PAYMENT_DATE_TIME = "scheduledPayment.scheduledPaymentDateTime";
+    private static final String FIRST_PAYMENT_DATE_TIME = "standingOrder.firstPaymentDateTime";
+    private static final String NEXT_PAYMENT_DATE_TIME = "standingOrder.nextPaymentDateTime";
+
+    private static final String PLACEHOLDER = "placeholder";
+
+    @Override
+    public List<ManagedIndex> getIndexes() {
+        return List.of(
+                ManagedIndex.builder()
+                        .entityClass(FRFilePaymentLine.class)
+                        .name("filePaymentId_lineNumber")
+                        .keys(new Document(FILE_PAYMENT_ID, 1).append(LINE_NUMBER, 1))
+                        .queryShape(QueryShape.of("streamLines",
+                                new Document(FILE_PAYMENT_ID, PLACEHOLDER), new Document(LINE_NUMBER, 1)))
+                        .build(),
+                dueIndex(FRScheduledPayment.class, SCHEDULED_PAYMENT_DATE_TIME, "findDueScheduledPayments", "PENDING"),
+                dueIndex(FRStandingOrder.class, FIRST_PAYMENT_DATE_TIME, "findDueStandingOrders(PENDING)", "PENDING"),
+                dueIndex(FRStandingOrder.class, NEXT_PAYMENT_DATE_TIME, "findDueStandingOrders(ACTIVE)", "ACTIVE"));
+    }
+
+    /**
+     * (status, shard, due date) index, serves the reads of the instructions of a status and shards due before a date in
+     * due order.
+     */
+    private static ManagedIndex dueIndex(Class<?> entityClass, String dueField, String query, String status) {
+        return ManagedIndex.builder()
+                .entityClass(entityClass)
+                .name(STATUS + "_" + SHARD + "_" + dueField.substring(dueField.lastIndexOf('.') + 1))
+                .keys(new Document(STATUS, 1).append(SHARD, 1).append(dueField, 1))
+                .queryShape(QueryShape.of(query,
+                        new Document(STATUS, status)
+                                .append(SHARD, new Document("$in", List.of(0, 1)))
+                                .append(dueField, new Document("$lt", new Date())),
+                        new Document(dueField, 1)))
+                .build();
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright © 2020-2025 ForgeRock AS (obst@forgerock.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.forgerock.sapi.gateway.rs.resource.store.repo.mongo.accounts;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.forgerock.sapi.gateway.rs.resource.store.repo.entity.account.FRAccount;
+import com.forgerock.sapi.gateway.rs.resource.store.repo.entity.account.FRBalance;
+import com.forgerock.sapi.gateway.rs.resource.store.repo.entity.account.FRBeneficiary;
+import com.forgerock.sapi.gateway.rs.resource.store.repo.entity.account.FRDirectDebit;
+import com.forgerock.sapi.gateway.rs.resource.store.repo.entity.account.FROffer;
+import com.forgerock.sapi.gateway.rs.resource.store.repo.entity.account.FRParty;
+import com.forgerock.sapi.gateway.rs.resource.store.repo.entity.account.FRProduct;
+import com.forgerock.sapi.gateway.rs.resource.store.repo.entity.account.FRScheduledPayment;
+import com.forgerock.sapi.gateway.rs.resource.store.repo.entity.account.FRStandingOrder;
+import com.forgerock.sapi.gateway.rs.resource.store.repo.entity.account.FRStatement;
+import com.forgerock.sapi.gateway.rs.resource.store.repo.entity.account.FRTransaction;
+
+import lombok.Getter;
+
+/**
+ * New account data documents, grouped by collection, to be inserted by {@link FRAccountDataBulkRepository}.
+ */
+@Getter
+public class FRAccountDataBatch {
+
+    private final List<FRAccount> accounts = new ArrayList<>();
+    private final List<FRProduct> products = new ArrayList<>();
+    private final List<FRParty> parties = new ArrayList<>();
+    private final List<FRBalance> balances = new ArrayList<>();
+    private final List<FRBeneficiary> beneficiaries = new ArrayList<>();
+    private final List<FRDirectDebit> directDebits = new ArrayList<>();
+    private final List<FRStandingOrder> standingOrders = new ArrayList<>();
+    private final List<FRTransaction> transactions = new ArrayList<>();
+    private final List<FRStatement> statements = new ArrayList<>();
+    private final List<FRScheduledPayment> scheduledPayments = new ArrayList<>();
+    private final List<FROffer> offers = new ArrayList<>();
+
+    public void addAll(FRAccountDataBatch other) {
+        accounts.addAll(other.accounts);
+        products.addAll(other.products);
+        parties.addAll(other.parties);
+        balances.addAll(other.balances);
+        beneficiaries.addAll(other.beneficiaries);
+        directDebits.addAll(other.directDebits);
+        standingOrders.addAll(other.standingOrders);
+        transactions.addAll(other.transactions);
+        statements.addAll(other.statements);
+        scheduledPayments.addAll(other.scheduledPayments);
+        offers.addAll(other.offers);
+    }
+
+    /**
+     * @return the documents keyed by entity class, accounts first so that they are written before the resources which
+     * refer to them
+     */
+    public Map<Class<?>, List<?>> getDocumentsByEntityClass() {
+        final Map<Class<?>, List<?>> documents = new LinkedHashMap<>();
+        documents.put(FRAccount.class, accounts);
+        documents.put(FRProduct.class, products);
+        documents.put(FRParty.class, parties);
+        documents.put(FRBalance.class, balances);
+        documents.put(FRBeneficiary.class, beneficiaries);
+        documents.put(FRDirectDebit.class, directDebits);
+        documents.put(FRStandingOrder.class, standingOrders);
+        documents.put(FRTransaction.class, transactions);
+        documents.put(FRStatement.class, statements);
+        documents.put(FRScheduledPayment.class, scheduledPayments);
+        documents.put(FROffer.class, offers);
+        return documents;
+    }
+}
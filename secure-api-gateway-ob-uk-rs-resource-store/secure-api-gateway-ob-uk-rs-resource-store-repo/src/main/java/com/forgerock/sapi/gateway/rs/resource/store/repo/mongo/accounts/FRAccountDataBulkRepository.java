@@ -0,0 +1,277 @@
+/*
+ * Copyright © 2020-2025 ForgeRock AS (obst@forgerock.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.forgerock.sapi.gateway.rs.resource.store.repo.mongo.accounts;
+
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.count;
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.match;
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.newAggregation;
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.bson.Document;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.BulkOperations.BulkMode;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.AggregationOperation;
+import org.springframework.data.mongodb.core.aggregation.UnionWithOperation;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Repository;
+
+import com.mongodb.bulk.BulkWriteResult;
+
+import com.forgerock.sapi.gateway.rs.resource.store.repo.entity.account.FRAccount;
+import com.forgerock.sapi.gateway.rs.resource.store.repo.entity.account.FRParty;
+import com.forgerock.sapi.gateway.rs.resource.store.repo.entity.customerinfo.FRCustomerInfoEntity;
+
+/**
+ * Bulk access to the account data collections, used to import a user's account data in a fixed number of round trips
+ * rather than a count and a write per account and resource type, to export it through cursors rather than pages and
+ * to delete it with a single delete per collection rather than one per account, and to update it with a single bulk
+ * write per collection rather than a read and a save per document.
+ */
+@Repository
+public class FRAccountDataBulkRepository {
+
+    private static final String ACCOUNT_ID = "accountId";
+    private static final String USER_ID = "userID";
+    private static final String PARTY_USER_ID = "userId";
+    private static final String ID = "_id";
+
+    private final MongoTemplate mongoTemplate;
+
+    public FRAccountDataBulkRepository(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    /**
+     * Counts the documents belonging to the accounts in each of the entity classes' collections, in a single
+     * aggregation which unions the per collection counts.
+     *
+     * @param accountIds    the account ids to count the documents of
+     * @param entityClasses the entity classes to count, each must have an accountId field
+     * @return the number of documents by entity class
+     */
+    public Map<Class<?>, Long> countByAccountIdIn(Collection<String> accountIds, Collection<Class<?>> entityClasses) {
+        final Map<String, Class<?>> entityClassesByCollection = new LinkedHashMap<>();
+        entityClasses.forEach(entityClass -> entityClassesByCollection.put(mongoTemplate.getCollectionName(entityClass), entityClass));
+        final Map<Class<?>, Long> counts = new HashMap<>();
+        entityClasses.forEach(entityClass -> counts.put(entityClass, 0L));
+        if (accountIds.isEmpty() || entityClasses.isEmpty()) {
+            return counts;
+        }
+
+        final Iterator<String> collections = entityClassesByCollection.keySet().iterator();
+        final String firstCollection = collections.next();
+        final List<AggregationOperation> pipeline = new ArrayList<>(countStages(accountIds, firstCollection));
+        while (collections.hasNext()) {
+            final String collection = collections.next();
+            pipeline.add(UnionWithOperation.unionWith(collection).pipeline(countStages(accountIds, collection)));
+        }
+
+        // Each pipeline outputs a single {<collection>: <count>} document, or nothing if no documents matched
+        for (Document result : mongoTemplate.aggregate(newAggregation(pipeline), firstCollection, Document.class)) {
+            result.forEach((collection, count) -> {
+                final Class<?> entityClass = entityClassesByCollection.get(collection);
+                if (entityClass != null) {
+                    counts.put(entityClass, ((Number) count).longValue());
+                }
+            });
+        }
+        return counts;
+    }
+
+    private static List<AggregationOperation> countStages(Collection<String> accountIds, String collection) {
+        return List.of(match(where(ACCOUNT_ID).in(accountIds)), count().as(collection));
+    }
+
+    /**
+     * Inserts the batch with an unordered bulk write per collection.
+     *
+     * @return the number of documents written by collection name
+     */
+    public Map<String, Integer> insertAll(FRAccountDataBatch batch) {
+        final Map<String, Integer> rowsWritten = new LinkedHashMap<>();
+        batch.getDocumentsByEntityClass().forEach((entityClass, documents) -> {
+            if (!documents.isEmpty()) {
+                final int inserted = mongoTemplate.bulkOps(BulkMode.UNORDERED, entityClass)
+                        .insert(documents)
+                        .execute()
+                        .getInsertedCount();
+                rowsWritten.put(mongoTemplate.getCollectionName(entityClass), inserted);
+            }
+        });
+        return rowsWritten;
+    }
+
+    /**
+     * Writes the changes with a single unordered bulk write, each update is filtered on both the document id and the
+     * account id so documents belonging to other accounts are never modified. The ids of the updates are checked
+     * with a single find before anything is written, so if any of them doesn't match a document of the account none
+     * of the changes are applied.
+     *
+     * @return the ids of the updates which matched no document of the account, nothing has been written when this is
+     * not empty
+     */
+    public List<String> applyChanges(FRAccountDataChanges<?> changes) {
+        if (changes.isEmpty()) {
+            return List.of();
+        }
+        final Set<String> updatedIds = changes.getUpdatesById().keySet();
+        if (!updatedIds.isEmpty()) {
+            final List<String> unmatchedIds = findUnmatchedIds(changes.getEntityClass(), changes.getAccountId(), updatedIds);
+            if (!unmatchedIds.isEmpty()) {
+                return unmatchedIds;
+            }
+        }
+
+        final BulkOperations bulkOperations = mongoTemplate.bulkOps(BulkMode.UNORDERED, changes.getEntityClass());
+        if (!changes.getInserts().isEmpty()) {
+            bulkOperations.insert(changes.getInserts());
+        }
+        changes.getUpdatesById().forEach((id, update) ->
+                bulkOperations.updateOne(query(where(ID).is(id).and(ACCOUNT_ID).is(changes.getAccountId())), update));
+        final BulkWriteResult result = bulkOperations.execute();
+        if (result.getMatchedCount() == updatedIds.size()) {
+            return List.of();
+        }
+        // Only when a document was deleted between the check and the write
+        return findUnmatchedIds(changes.getEntityClass(), changes.getAccountId(), updatedIds);
+    }
+
+    private List<String> findUnmatchedIds(Class<?> entityClass, String accountId, Set<String> ids) {
+        final Query query = query(where(ID).in(ids).and(ACCOUNT_ID).is(accountId));
+        query.fields().include(ID);
+        final Set<String> matchedIds = mongoTemplate.find(query, Document.class, mongoTemplate.getCollectionName(entityClass))
+                .stream()
+                .map(document -> document.get(ID).toString())
+                .collect(Collectors.toSet());
+        return ids.stream().filter(id -> !matchedIds.contains(id)).toList();
+    }
+
+    /**
+     * Streams the documents belonging to the account through a cursor, so only one batch of documents is held in
+     * memory at a time. The stream must be closed to release the cursor.
+     *
+     * @param batchSize the number of documents to fetch per round trip
+     */
+    public <T> Stream<T> streamByAccountId(Class<T> entityClass, String accountId, int batchSize) {
+        return mongoTemplate.stream(query(where(ACCOUNT_ID).is(accountId)).cursorBatchSize(batchSize), entityClass);
+    }
+
+    /**
+     * Checks whether any account belongs to a user whose id starts with the prefix. The regular expression is anchored
+     * and has no special characters in the prefix, so the lookup is bounded by the userID index.
+     */
+    public boolean existsAccountByUserIdPrefix(String userIdPrefix) {
+        final String regex = "^" + userIdPrefix.replaceAll("[^A-Za-z0-9_-]", "\\\\$0");
+        return mongoTemplate.exists(query(where(USER_ID).regex(regex)), FRAccount.class);
+    }
+
+    /**
+     * Streams the user's accounts through a cursor, the stream must be closed to release the cursor.
+     */
+    public Stream<FRAccount> streamAccountsByUserId(String userId, int batchSize) {
+        return mongoTemplate.stream(query(where(USER_ID).is(userId)).cursorBatchSize(batchSize), FRAccount.class);
+    }
+
+    /**
+     * Reads a page of account ids in id order.
+     *
+     * @param afterAccountId the id the page starts after, or null for the first page
+     */
+    public List<String> findAccountIds(String afterAccountId, int limit) {
+        final Query query = (afterAccountId == null ? new Query() : query(where(ID).gt(afterAccountId)))
+                .with(Sort.by(ID))
+                .limit(limit);
+        query.fields().include(ID);
+        return mongoTemplate.find(query, FRAccount.class).stream()
+                .map(FRAccount::getId)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Streams the accounts in id order through a cursor, the stream must be closed to release the cursor.
+     */
+    public Stream<FRAccount> streamAccountsById(Collection<String> accountIds, int batchSize) {
+        return mongoTemplate.stream(query(where(ID).in(accountIds)).with(Sort.by(ID)).cursorBatchSize(batchSize),
+                FRAccount.class);
+    }
+
+    public String getCollectionName(Class<?> entityClass) {
+        return mongoTemplate.getCollectionName(entityClass);
+    }
+
+    /**
+     * @return the ids of the user's accounts, without fetching the account documents themselves
+     */
+    public List<String> findAccountIdsByUserId(String userId) {
+        final Query query = query(where(USER_ID).is(userId));
+        query.fields().include(ID);
+        return mongoTemplate.find(query, Document.class, mongoTemplate.getCollectionName(FRAccount.class))
+                .stream()
+                .map(account -> account.get(ID).toString())
+                .toList();
+    }
+
+    /**
+     * Deletes the documents belonging to any of the accounts from the entity class' collection in a single delete.
+     *
+     * @param entityClass the entity class to delete from, it must have an accountId field
+     * @return the number of documents deleted
+     */
+    public long deleteByAccountIdIn(Class<?> entityClass, Collection<String> accountIds) {
+        if (accountIds.isEmpty()) {
+            return 0;
+        }
+        return mongoTemplate.remove(query(where(ACCOUNT_ID).in(accountIds)), entityClass).getDeletedCount();
+    }
+
+    /**
+     * @return the number of accounts deleted
+     */
+    public long deleteAccountsByIdIn(Collection<String> accountIds) {
+        if (accountIds.isEmpty()) {
+            return 0;
+        }
+        return mongoTemplate.remove(query(where(ID).in(accountIds)), FRAccount.class).getDeletedCount();
+    }
+
+    /**
+     * @return the number of parties deleted
+     */
+    public long deletePartiesByUserId(String userId) {
+        return mongoTemplate.remove(query(where(PARTY_USER_ID).is(userId)), FRParty.class).getDeletedCount();
+    }
+
+    /**
+     * @return the number of customer info documents deleted
+     */
+    public long deleteCustomerInfoByUserId(String userId) {
+        return mongoTemplate.remove(query(where(USER_ID).is(userId)), FRCustomerInfoEntity.class).getDeletedCount();
+    }
+}
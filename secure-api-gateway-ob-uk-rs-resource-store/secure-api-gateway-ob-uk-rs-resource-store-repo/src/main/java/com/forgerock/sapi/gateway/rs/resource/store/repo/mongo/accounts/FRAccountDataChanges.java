@@ -0,0 +1,68 @@
+/*
+ * Copyright © 2020-2025 ForgeRock AS (obst@forgerock.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.forgerock.sapi.gateway.rs.resource.store.repo.mongo.accounts;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.bson.Document;
+import org.springframework.data.mongodb.core.query.Update;
+
+import lombok.Getter;
+
+/**
+ * The changes made to one account's documents in a single collection, new documents to insert and targeted updates of
+ * existing documents, to be written by {@link FRAccountDataBulkRepository#applyChanges(FRAccountDataChanges)}.
+ *
+ * @param <T> the entity class of the collection, it must have an accountId field
+ */
+@Getter
+public class FRAccountDataChanges<T> {
+
+    private final Class<T> entityClass;
+    private final String accountId;
+    private final List<T> inserts = new ArrayList<>();
+    private final Map<String, Update> updatesById = new LinkedHashMap<>();
+
+    public FRAccountDataChanges(Class<T> entityClass, String accountId) {
+        this.entityClass = entityClass;
+        this.accountId = accountId;
+    }
+
+    public void insert(T document) {
+        inserts.add(document);
+    }
+
+    /**
+     * Adds an update of the document with the id, which is only applied if the document belongs to the account. If the
+     * document is already being updated then the fields set by both updates are merged, the later values winning.
+     */
+    public void update(String id, Update update) {
+        final Update existing = updatesById.putIfAbsent(id, update);
+        if (existing != null) {
+            final Document fields = update.getUpdateObject().get("$set", Document.class);
+            if (fields != null) {
+                fields.forEach(existing::set);
+            }
+        }
+    }
+
+    public boolean isEmpty() {
+        return inserts.isEmpty() && updatesById.isEmpty();
+    }
+}
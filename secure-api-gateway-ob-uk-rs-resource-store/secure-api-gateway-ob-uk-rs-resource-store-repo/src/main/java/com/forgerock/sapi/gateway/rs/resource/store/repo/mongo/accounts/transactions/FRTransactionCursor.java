@@ -0,0 +1,65 @@
+/*
+ * Copyright © 2020-2025 ForgeRock AS (obst@forgerock.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.forgerock.sapi.gateway.rs.resource.store.repo.mongo.accounts.transactions;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Date;
+
+import com.forgerock.sapi.gateway.rs.resource.store.repo.entity.account.FRTransaction;
+
+import lombok.Value;
+
+/**
+ * Position of the last {@link FRTransaction} returned in a keyset page. Transactions are ordered by
+ * (bookingDateTime, _id), so the next page is everything strictly after this pair.
+ * <p>
+ * The cursor is handed to TPPs as an opaque, URL safe token via {@link #encode()}.
+ */
+@Value
+public class FRTransactionCursor {
+
+    private static final char SEPARATOR = ':';
+
+    Date bookingDateTime;
+    String id;
+
+    public static FRTransactionCursor of(FRTransaction transaction) {
+        return new FRTransactionCursor(transaction.getBookingDateTime().toDate(), transaction.getId());
+    }
+
+    public String encode() {
+        final String value = String.valueOf(bookingDateTime.getTime()) + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a token previously produced by {@link #encode()}.
+     *
+     * @param token the opaque cursor token
+     * @return the decoded cursor
+     * @throws IllegalArgumentException if the token is not a valid cursor
+     */
+    public static FRTransactionCursor decode(String token) {
+        final String value = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+        final int separatorIndex = value.indexOf(SEPARATOR);
+        if (separatorIndex <= 0 || separatorIndex == value.length() - 1) {
+            throw new IllegalArgumentException("Invalid transaction cursor: " + token);
+        }
+        final long bookingDateTimeMillis = Long.parseLong(value.substring(0, separatorIndex));
+        return new FRTransactionCursor(new Date(bookingDateTimeMillis), value.substring(separatorIndex + 1));
+    }
+}
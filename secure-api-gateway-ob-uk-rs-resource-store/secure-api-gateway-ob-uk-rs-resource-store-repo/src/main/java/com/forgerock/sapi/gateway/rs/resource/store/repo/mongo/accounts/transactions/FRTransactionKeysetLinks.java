@@ -0,0 +1,85 @@
+/*
+ * Copyright © 2020-2025 ForgeRock AS (obst@forgerock.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.forgerock.sapi.gateway.rs.resource.store.repo.mongo.accounts.transactions;
+
+import static com.forgerock.sapi.gateway.ob.uk.rs.obie.api.ApiConstants.ParametersFieldName.FROM_BOOKING_DATE_TIME;
+import static com.forgerock.sapi.gateway.ob.uk.rs.obie.api.ApiConstants.ParametersFieldName.TO_BOOKING_DATE_TIME;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Slice;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import com.forgerock.sapi.gateway.ob.uk.common.error.OBErrorException;
+import com.forgerock.sapi.gateway.ob.uk.common.error.OBRIErrorType;
+import com.forgerock.sapi.gateway.ob.uk.rs.obie.api.ApiConstants;
+import com.forgerock.sapi.gateway.rs.resource.store.repo.entity.account.FRTransaction;
+
+/**
+ * Cursor handling shared by every version of the transactions API for keyset pages, so that the same query produces
+ * the same links whichever version it is made against.
+ */
+public final class FRTransactionKeysetLinks {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(FRTransactionKeysetLinks.class);
+
+    private static final DateTimeFormatter BOOKING_DATE_TIME_FORMATTER = DateTimeFormatter.ofPattern(ApiConstants.BOOKED_TIME_DATE_FORMAT);
+
+    private FRTransactionKeysetLinks() {
+    }
+
+    /**
+     * Builds the URI used for cursor links, keeping any booking date filters supplied by the TPP so that every page of
+     * the result set is read against the same window. The filters are formatted as the API parses them.
+     */
+    public static UriComponentsBuilder resourceUri(String uri, LocalDateTime fromBookingDateTime, LocalDateTime toBookingDateTime) {
+        final UriComponentsBuilder builder = UriComponentsBuilder.fromHttpUrl(uri);
+        if (fromBookingDateTime != null) {
+            builder.queryParam(FROM_BOOKING_DATE_TIME, BOOKING_DATE_TIME_FORMATTER.format(fromBookingDateTime));
+        }
+        if (toBookingDateTime != null) {
+            builder.queryParam(TO_BOOKING_DATE_TIME, BOOKING_DATE_TIME_FORMATTER.format(toBookingDateTime));
+        }
+        return builder;
+    }
+
+    /**
+     * @param cursor the cursor supplied by the TPP, may be null for the first page
+     * @return the decoded cursor, or null if none was supplied
+     * @throws OBErrorException if the cursor is not one the RS produced
+     */
+    public static FRTransactionCursor decodeCursor(String cursor) throws OBErrorException {
+        if (cursor == null) {
+            return null;
+        }
+        try {
+            return FRTransactionCursor.decode(cursor);
+        } catch (IllegalArgumentException e) {
+            LOGGER.info("Invalid transaction cursor: {}", cursor);
+            throw new OBErrorException(OBRIErrorType.REQUEST_FIELD_INVALID, "Invalid cursor: " + cursor);
+        }
+    }
+
+    /**
+     * @return the encoded cursor of the page after this one, or null if this is the last page
+     */
+    public static String nextCursor(Slice<FRTransaction> page) {
+        return page.hasNext() ? FRTransactionCursor.of(page.getContent().get(page.getNumberOfElements() - 1)).encode() : null;
+    }
+}
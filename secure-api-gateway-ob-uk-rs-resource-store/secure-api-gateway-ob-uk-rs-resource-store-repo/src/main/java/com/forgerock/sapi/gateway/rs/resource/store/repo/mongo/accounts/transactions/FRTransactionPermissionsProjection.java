@@ -0,0 +1,83 @@
+/*
+ * Copyright © 2020-2025 ForgeRock AS (obst@forgerock.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.forgerock.sapi.gateway.rs.resource.store.repo.mongo.accounts.transactions;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import org.bson.Document;
+import org.springframework.data.mongodb.core.aggregation.AggregationOperation;
+
+import com.forgerock.sapi.gateway.ob.uk.common.datamodel.account.FRExternalPermissionsCode;
+
+import uk.org.openbanking.datamodel.v3.common.OBExternalAccountIdentification4Code;
+
+/**
+ * Translates the transaction permissions of an account access consent into aggregation stages, so that fields the
+ * consent does not grant are removed by Mongo rather than loaded and then nulled out in Java:
+ * <ul>
+ *     <li>{@link FRExternalPermissionsCode#READTRANSACTIONSBASIC}: balance, merchant details and agents are unset
+ *     and the transaction information is blanked</li>
+ *     <li>without {@link FRExternalPermissionsCode#READPAN}: debtor and creditor account identifications are masked
+ *     with a $cond on the account scheme name</li>
+ * </ul>
+ */
+final class FRTransactionPermissionsProjection {
+
+    static final String MASKED_PAN = "xxx";
+
+    private static final String PAN_SCHEME_NAME = OBExternalAccountIdentification4Code.PAN.toString();
+
+    private FRTransactionPermissionsProjection() {
+    }
+
+    /**
+     * @return the stages to append to a transaction query, empty if the permissions grant every field
+     */
+    static List<AggregationOperation> stages(Collection<FRExternalPermissionsCode> permissions) {
+        final List<AggregationOperation> stages = new ArrayList<>();
+        if (permissions.contains(FRExternalPermissionsCode.READTRANSACTIONSBASIC)) {
+            stages.add(context -> new Document("$unset", List.of(
+                    "transaction.balance",
+                    "transaction.merchantDetails",
+                    "transaction.creditorAgent",
+                    "transaction.debtorAgent")));
+        }
+        final Document set = new Document();
+        if (permissions.contains(FRExternalPermissionsCode.READTRANSACTIONSBASIC)) {
+            set.append("transaction.transactionInformation", "");
+        }
+        if (!permissions.contains(FRExternalPermissionsCode.READPAN)) {
+            set.append("transaction.debtorAccount", maskPan("$transaction.debtorAccount"));
+            set.append("transaction.creditorAccount", maskPan("$transaction.creditorAccount"));
+        }
+        if (!set.isEmpty()) {
+            stages.add(context -> new Document("$set", set));
+        }
+        return stages;
+    }
+
+    /**
+     * Replaces the identification of the account when its scheme is a PAN. An absent account evaluates to missing,
+     * so $set leaves it absent rather than creating an empty document.
+     */
+    private static Document maskPan(String accountPath) {
+        return new Document("$cond", new Document("if", new Document("$eq", List.of(accountPath + ".schemeName", PAN_SCHEME_NAME)))
+                .append("then", new Document("$mergeObjects", List.of(accountPath, new Document("identification", MASKED_PAN))))
+                .append("else", accountPath));
+    }
+}
@@ -20,6 +20,7 @@ import java.util.List;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.repository.query.Param;
 
 import com.forgerock.sapi.gateway.ob.uk.common.datamodel.account.FRExternalPermissionsCode;
@@ -53,4 +54,24 @@ public interface FRTransactionRepositoryCustom {
                                                                               Date toBookingDateTime,
                                                                               List<FRExternalPermissionsCode> permissions,
                                                                               Pageable pageable);
+
+    /**
+     * Keyset variant of {@link #byAccountIdInAndBookingDateTimeBetweenWithPermissions(List, Date, Date, List, Pageable)}.
+     * Transactions are ordered by (bookingDateTime, _id) and the page starts strictly after the supplied cursor, so
+     * the cost of fetching a page does not depend on how deep into the history it is. No count query is run.
+     *
+     * @param cursor   position of the last transaction of the previous page, or null for the first page
+     * @param pageSize maximum number of transactions to return
+     */
+    Slice<FRTransaction> byAccountIdInAndBookingDateTimeBetweenWithPermissions(List<String> accountIds,
+                                                                               Date fromBookingDateTime,
+                                                                               Date toBookingDateTime,
+                                                                               List<FRExternalPermissionsCode> permissions,
+                                                                               FRTransactionCursor cursor,
+                                                                               int pageSize);
+
+    long countByAccountIdInAndBookingDateTimeBetweenWithPermissions(List<String> accountIds,
+                                                                    Date fromBookingDateTime,
+                                                                    Date toBookingDateTime,
+                                                                    List<FRExternalPermissionsCode> permissions);
 }
@@ -15,56 +15,53 @@
  */
 package com.forgerock.sapi.gateway.rs.resource.store.repo.mongo.accounts.transactions;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Date;
 import java.util.List;
+import java.util.Optional;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.context.annotation.Lazy;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOperation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.support.PageableExecutionUtils;
 
 import com.forgerock.sapi.gateway.ob.uk.common.datamodel.account.FRExternalPermissionsCode;
 import com.forgerock.sapi.gateway.rs.resource.store.repo.entity.account.FRTransaction;
 
 import uk.org.openbanking.datamodel.v3.account.OBCreditDebitCode0;
-import uk.org.openbanking.datamodel.v3.common.OBExternalAccountIdentification4Code;
 
 public class FRTransactionRepositoryImpl implements FRTransactionRepositoryCustom {
     private static final Logger LOGGER = LoggerFactory.getLogger(FRTransactionRepositoryImpl.class);
 
-    @Autowired
-    @Lazy
-    private FRTransactionRepository transactionRepository;
+    private static final String ACCOUNT_ID = "accountId";
+    private static final String STATEMENT_IDS = "statementIds";
+    private static final String BOOKING_DATE_TIME = "bookingDateTime";
+    private static final String CREDIT_DEBIT_INDICATOR = "transaction.creditDebitIndicator";
+
+    private final MongoTemplate mongoTemplate;
+
+    public FRTransactionRepositoryImpl(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
 
     @Override
     public Page<FRTransaction> byAccountIdAndBookingDateTimeBetweenWithPermissions(String accountId, Date
             fromBookingDateTime, Date toBookingDateTime, List<FRExternalPermissionsCode> permissions,
                                                                                    Pageable pageable) {
-
-        if (permissions.contains(FRExternalPermissionsCode.READTRANSACTIONSCREDITS)
-                && permissions.contains(FRExternalPermissionsCode.READTRANSACTIONSDEBITS)) {
-            return filterTransition(transactionRepository
-                    .findByAccountIdAndBookingDateTimeBetween(accountId, fromBookingDateTime, toBookingDateTime, pageable), permissions);
-        } else if (permissions.contains(FRExternalPermissionsCode.READTRANSACTIONSCREDITS)) {
-            return filterTransition(transactionRepository
-                            .findByAccountIdAndTransactionCreditDebitIndicatorAndBookingDateTimeBetween(accountId,
-                                    OBCreditDebitCode0.CREDIT, fromBookingDateTime, toBookingDateTime, pageable),
-                    permissions);
-        } else if (permissions.contains(FRExternalPermissionsCode.READTRANSACTIONSDEBITS)) {
-            return filterTransition(transactionRepository
-                            .findByAccountIdAndTransactionCreditDebitIndicatorAndBookingDateTimeBetween(accountId,
-                                    OBCreditDebitCode0.DEBIT, fromBookingDateTime, toBookingDateTime, pageable),
-                    permissions);
-        } else {
-            LOGGER.warn("Need at least one of the following permissions: " +
-                    FRExternalPermissionsCode.READTRANSACTIONSCREDITS + " or " + FRExternalPermissionsCode
-                    .READTRANSACTIONSDEBITS);
-            return new PageImpl<>(Collections.emptyList());
-        }
+        return findWithPermissions(Criteria.where(ACCOUNT_ID).is(accountId)
+                .and(BOOKING_DATE_TIME).gt(fromBookingDateTime).lt(toBookingDateTime), permissions, pageable);
     }
 
     @Override
@@ -75,53 +72,14 @@ public class FRTransactionRepositoryImpl implements FRTransactionRepositoryCusto
             Date toBookingDateTime,
             List<FRExternalPermissionsCode> permissions,
             Pageable pageable) {
-
-        if (permissions.contains(FRExternalPermissionsCode.READTRANSACTIONSCREDITS)
-                && permissions.contains(FRExternalPermissionsCode.READTRANSACTIONSDEBITS)) {
-            return filterTransition(transactionRepository
-                    .findByAccountIdAndStatementIdsAndBookingDateTimeBetween(accountId, statementId, fromBookingDateTime, toBookingDateTime, pageable), permissions);
-        } else if (permissions.contains(FRExternalPermissionsCode.READTRANSACTIONSCREDITS)) {
-            return filterTransition(transactionRepository
-                            .findByAccountIdAndStatementIdsAndTransactionCreditDebitIndicatorAndBookingDateTimeBetween(accountId, statementId,
-                                    OBCreditDebitCode0.CREDIT, fromBookingDateTime, toBookingDateTime, pageable),
-                    permissions);
-        } else if (permissions.contains(FRExternalPermissionsCode.READTRANSACTIONSDEBITS)) {
-            return filterTransition(transactionRepository
-                            .findByAccountIdAndStatementIdsAndTransactionCreditDebitIndicatorAndBookingDateTimeBetween(accountId, statementId,
-                                    OBCreditDebitCode0.DEBIT, fromBookingDateTime, toBookingDateTime, pageable),
-                    permissions);
-        } else {
-            LOGGER.warn("Need at least one of the following permissions: " +
-                    FRExternalPermissionsCode.READTRANSACTIONSCREDITS + " or " + FRExternalPermissionsCode
-                    .READTRANSACTIONSDEBITS);
-            return new PageImpl<>(Collections.emptyList());
-        }
+        return findWithPermissions(Criteria.where(ACCOUNT_ID).is(accountId).and(STATEMENT_IDS).is(statementId)
+                .and(BOOKING_DATE_TIME).gt(fromBookingDateTime).lt(toBookingDateTime), permissions, pageable);
     }
 
     @Override
     public Page<FRTransaction> byAccountIdInWithPermissions(List<String> accountIds, List<FRExternalPermissionsCode>
             permissions, Pageable pageable) {
-
-        if (permissions.contains(FRExternalPermissionsCode.READTRANSACTIONSCREDITS)
-                && permissions.contains(FRExternalPermissionsCode.READTRANSACTIONSDEBITS)) {
-            return filterTransition(transactionRepository
-                    .findByAccountIdIn(accountIds, pageable), permissions);
-        } else if (permissions.contains(FRExternalPermissionsCode.READTRANSACTIONSCREDITS)) {
-            return filterTransition(transactionRepository
-                            .findByAccountIdInAndTransactionCreditDebitIndicator(accountIds, OBCreditDebitCode0.CREDIT,
-                                    pageable),
-                    permissions);
-        } else if (permissions.contains(FRExternalPermissionsCode.READTRANSACTIONSDEBITS)) {
-            return filterTransition(transactionRepository
-                            .findByAccountIdInAndTransactionCreditDebitIndicator(accountIds, OBCreditDebitCode0.DEBIT,
-                                    pageable),
-                    permissions);
-        } else {
-            LOGGER.warn("Need at least one of the following permissions: " +
-                    FRExternalPermissionsCode.READTRANSACTIONSCREDITS + " or " + FRExternalPermissionsCode
-                    .READTRANSACTIONSDEBITS);
-            return new PageImpl<>(Collections.emptyList());
-        }
+        return findWithPermissions(Criteria.where(ACCOUNT_ID).in(accountIds), permissions, pageable);
     }
 
 
@@ -129,54 +87,97 @@ public class FRTransactionRepositoryImpl implements FRTransactionRepositoryCusto
     public Page<FRTransaction> byAccountIdInAndBookingDateTimeBetweenWithPermissions(List<String> accountIds,
             Date fromBookingDateTime, Date toBookingDateTime, List<FRExternalPermissionsCode> permissions,
                                                                                      Pageable pageable) {
+        return findWithPermissions(Criteria.where(ACCOUNT_ID).in(accountIds)
+                .and(BOOKING_DATE_TIME).gt(fromBookingDateTime).lt(toBookingDateTime), permissions, pageable);
+    }
+
+    @Override
+    public Slice<FRTransaction> byAccountIdInAndBookingDateTimeBetweenWithPermissions(List<String> accountIds,
+            Date fromBookingDateTime, Date toBookingDateTime, List<FRExternalPermissionsCode> permissions,
+            FRTransactionCursor cursor, int pageSize) {
+
+        final Optional<Criteria> transactionsCriteria = permittedTransactions(Criteria.where(ACCOUNT_ID).in(accountIds)
+                .and(BOOKING_DATE_TIME).gt(fromBookingDateTime).lt(toBookingDateTime), permissions);
+        if (transactionsCriteria.isEmpty()) {
+            return new SliceImpl<>(Collections.emptyList());
+        }
+        Criteria criteria = transactionsCriteria.get();
+        if (cursor != null) {
+            criteria = new Criteria().andOperator(criteria, new Criteria().orOperator(
+                    Criteria.where(BOOKING_DATE_TIME).gt(cursor.getBookingDateTime()),
+                    Criteria.where(BOOKING_DATE_TIME).is(cursor.getBookingDateTime()).and("_id").gt(cursor.getId())));
+        }
+        // Fetch one extra document to find out whether there is a next page without counting
+        final List<FRTransaction> transactions = find(criteria, Sort.by(Sort.Direction.ASC, BOOKING_DATE_TIME, "_id"),
+                0, pageSize + 1, permissions);
+        final boolean hasNext = transactions.size() > pageSize;
+        final List<FRTransaction> content = hasNext ? transactions.subList(0, pageSize) : transactions;
+        return new SliceImpl<>(content, PageRequest.of(0, pageSize), hasNext);
+    }
+
+    @Override
+    public long countByAccountIdInAndBookingDateTimeBetweenWithPermissions(List<String> accountIds,
+            Date fromBookingDateTime, Date toBookingDateTime, List<FRExternalPermissionsCode> permissions) {
+        return permittedTransactions(Criteria.where(ACCOUNT_ID).in(accountIds)
+                .and(BOOKING_DATE_TIME).gt(fromBookingDateTime).lt(toBookingDateTime), permissions)
+                .map(criteria -> mongoTemplate.count(new Query(criteria), FRTransaction.class))
+                .orElse(0L);
+    }
+
+    private Page<FRTransaction> findWithPermissions(Criteria criteria, List<FRExternalPermissionsCode> permissions,
+            Pageable pageable) {
+        final Optional<Criteria> transactionsCriteria = permittedTransactions(criteria, permissions);
+        if (transactionsCriteria.isEmpty()) {
+            return new PageImpl<>(Collections.emptyList());
+        }
+        final List<FRTransaction> content = find(transactionsCriteria.get(), pageable.getSort(), pageable.getOffset(),
+                pageable.getPageSize(), permissions);
+        return PageableExecutionUtils.getPage(content, pageable,
+                () -> mongoTemplate.count(new Query(transactionsCriteria.get()), FRTransaction.class));
+    }
 
-        if (permissions.contains(FRExternalPermissionsCode.READTRANSACTIONSCREDITS)
-                && permissions.contains(FRExternalPermissionsCode.READTRANSACTIONSDEBITS)) {
-            return filterTransition(transactionRepository
-                    .findByAccountIdInAndBookingDateTimeBetween(accountIds, fromBookingDateTime, toBookingDateTime,
-                            pageable), permissions);
-        } else if (permissions.contains(FRExternalPermissionsCode.READTRANSACTIONSCREDITS)) {
-            return filterTransition(transactionRepository
-                            .findByAccountIdInAndTransactionCreditDebitIndicatorAndBookingDateTimeBetween(accountIds,
-                                    OBCreditDebitCode0.CREDIT, fromBookingDateTime, toBookingDateTime, pageable),
-                    permissions);
-        } else if (permissions.contains(FRExternalPermissionsCode.READTRANSACTIONSDEBITS)) {
-            return filterTransition(transactionRepository
-                            .findByAccountIdInAndTransactionCreditDebitIndicatorAndBookingDateTimeBetween(accountIds,
-                                    OBCreditDebitCode0.DEBIT, fromBookingDateTime, toBookingDateTime, pageable),
-                    permissions);
-        } else {
+    /**
+     * Restricts the criteria to the credit/debit indicators the permissions allow. Returns empty if the permissions
+     * grant no transactions at all.
+     */
+    private Optional<Criteria> permittedTransactions(Criteria criteria, List<FRExternalPermissionsCode> permissions) {
+        final boolean credits = permissions.contains(FRExternalPermissionsCode.READTRANSACTIONSCREDITS);
+        final boolean debits = permissions.contains(FRExternalPermissionsCode.READTRANSACTIONSDEBITS);
+        if (credits && !debits) {
+            criteria.and(CREDIT_DEBIT_INDICATOR).is(OBCreditDebitCode0.CREDIT);
+        } else if (debits && !credits) {
+            criteria.and(CREDIT_DEBIT_INDICATOR).is(OBCreditDebitCode0.DEBIT);
+        } else if (!credits) {
             LOGGER.warn("Need at least one of the following permissions: " +
                     FRExternalPermissionsCode.READTRANSACTIONSCREDITS + " or " + FRExternalPermissionsCode
                     .READTRANSACTIONSDEBITS);
-            return new PageImpl<>(Collections.emptyList());
+            return Optional.empty();
         }
+        return Optional.of(criteria);
     }
 
-    private Page<FRTransaction> filterTransition(Page<FRTransaction> transactions, List<FRExternalPermissionsCode> permissions) {
-        for (FRTransaction transaction : transactions) {
-            for (FRExternalPermissionsCode permission : permissions) {
-                switch (permission) {
-                    case READTRANSACTIONSBASIC:
-                        transaction.getTransaction().setTransactionInformation("");
-                        transaction.getTransaction().setBalance(null);
-                        transaction.getTransaction().setMerchantDetails(null);
-                        transaction.getTransaction().setCreditorAgent(null);
-                        transaction.getTransaction().setDebtorAgent(null);
-                        break;
-                }
-                if (!permissions.contains(FRExternalPermissionsCode.READPAN)
-                        && transaction.getTransaction().getDebtorAccount() != null
-                        && OBExternalAccountIdentification4Code.PAN.toString().equals(transaction.getTransaction().getDebtorAccount().getSchemeName())) {
-                    transaction.getTransaction().getDebtorAccount().setIdentification("xxx");
-                }
-                if (!permissions.contains(FRExternalPermissionsCode.READPAN)
-                        && transaction.getTransaction().getCreditorAccount() != null
-                        && OBExternalAccountIdentification4Code.PAN.toString().equals(transaction.getTransaction().getCreditorAccount().getSchemeName())) {
-                    transaction.getTransaction().getCreditorAccount().setIdentification("xxx");
-                }
-            }
+    /**
+     * Runs a plain find when the permissions grant every field, otherwise an aggregation which applies the
+     * {@link FRTransactionPermissionsProjection} after the page has been selected, so only the permitted fields of
+     * the page are read from Mongo.
+     */
+    private List<FRTransaction> find(Criteria criteria, Sort sort, long skip, int limit,
+            List<FRExternalPermissionsCode> permissions) {
+        final List<AggregationOperation> projection = FRTransactionPermissionsProjection.stages(permissions);
+        if (projection.isEmpty()) {
+            return mongoTemplate.find(new Query(criteria).with(sort).skip(skip).limit(limit), FRTransaction.class);
+        }
+        final List<AggregationOperation> pipeline = new ArrayList<>();
+        pipeline.add(Aggregation.match(criteria));
+        if (sort.isSorted()) {
+            pipeline.add(Aggregation.sort(sort));
+        }
+        if (skip > 0) {
+            pipeline.add(Aggregation.skip(skip));
         }
-        return transactions;
+        pipeline.add(Aggregation.limit(limit));
+        pipeline.addAll(projection);
+        return mongoTemplate.aggregate(Aggregation.newAggregation(pipeline), FRTransaction.class, FRTransaction.class)
+                .getMappedResults();
     }
 }
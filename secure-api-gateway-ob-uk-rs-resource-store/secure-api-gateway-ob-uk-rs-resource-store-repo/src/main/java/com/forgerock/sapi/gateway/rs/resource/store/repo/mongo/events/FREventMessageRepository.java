@@ -28,7 +28,7 @@ import java.util.Optional;
  * Events sent to a callback URL will not be stored here. If TPP does not have a callback URL then all events will be stored here until they are polled AND acknowledged.
  * Event polled but not acknowledged will remain here. Events with TPP reported errors against them will remain here forever (for audit/investigation)
  */
-public interface FREventMessageRepository extends MongoRepository<FREventMessageEntity, String> {
+public interface FREventMessageRepository extends MongoRepository<FREventMessageEntity, String>, FREventMessageRepositoryCustom {
 
     Collection<FREventMessageEntity> findByApiClientId(@Param("apiClientId") String apiClientId);
 
@@ -36,5 +36,12 @@ public interface FREventMessageRepository extends MongoRepository<FREventMessage
 
     void deleteByApiClientIdAndJti(@Param("apiClientId") String apiClientId, @Param("jti") String jti);
 
+    /**
+     * Deletes all the events for the apiClientId with one of the jtis, in a single deleteMany.
+     *
+     * @return the number of events deleted
+     */
+    long deleteByApiClientIdAndJtiIn(@Param("apiClientId") String apiClientId, @Param("jtis") Collection<String> jtis);
+
     void deleteByApiClientId(@Param("apiClientId") String apiClientId);
 }
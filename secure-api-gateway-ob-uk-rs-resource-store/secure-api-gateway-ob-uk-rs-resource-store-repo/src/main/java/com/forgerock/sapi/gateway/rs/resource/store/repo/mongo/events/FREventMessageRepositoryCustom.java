@@ -0,0 +1,45 @@
+/*
+ * Copyright © 2020-2025 ForgeRock AS (obst@forgerock.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.forgerock.sapi.gateway.rs.resource.store.repo.mongo.events;
+
+import java.util.List;
+import java.util.Map;
+
+import com.forgerock.sapi.gateway.ob.uk.common.datamodel.event.FREventPollingError;
+import com.forgerock.sapi.gateway.rs.resource.store.repo.entity.event.FREventMessageEntity;
+
+public interface FREventMessageRepositoryCustom {
+
+    /**
+     * Finds the oldest events for the apiClientId which are waiting to be delivered, that is events which have not been
+     * acknowledged (acknowledged events are deleted) and have no TPP reported errors.
+     *
+     * @param apiClientId the TPP that owns the events
+     * @param limit       maximum number of events to return
+     * @return up to limit events, ordered by created date (oldest first)
+     */
+    List<FREventMessageEntity> findPendingByApiClientId(String apiClientId, int limit);
+
+    /**
+     * Records TPP reported errors against the apiClientId's events, in a single bulk write. Jtis with no matching event
+     * are ignored.
+     *
+     * @param apiClientId the TPP that owns the events
+     * @param errorsByJti the error to record, keyed by event jti
+     * @return the number of events updated
+     */
+    int setErrors(String apiClientId, Map<String, FREventPollingError> errorsByJti);
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright © 2020-2025 ForgeRock AS (obst@forgerock.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.forgerock.sapi.gateway.rs.resource.store.repo.mongo.events;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.BulkOperations.BulkMode;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Update;
+
+import com.forgerock.sapi.gateway.ob.uk.common.datamodel.event.FREventPollingError;
+import com.forgerock.sapi.gateway.rs.resource.store.repo.entity.event.FREventMessageEntity;
+
+public class FREventMessageRepositoryImpl implements FREventMessageRepositoryCustom {
+
+    private static final String API_CLIENT_ID = "apiClientId";
+    private static final String JTI = "jti";
+    private static final String ERRORS = "errors";
+    private static final String CREATED = "created";
+
+    private final MongoTemplate mongoTemplate;
+
+    public FREventMessageRepositoryImpl(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public List<FREventMessageEntity> findPendingByApiClientId(String apiClientId, int limit) {
+        // Served by the apiClientId_errors_created_id index, the sort and limit are applied in the index scan so only the
+        // returned events are read. Null fields are not written, so events without errors have no errors field.
+        return mongoTemplate.find(query(where(API_CLIENT_ID).is(apiClientId).and(ERRORS).exists(false))
+                        .with(Sort.by(CREATED, "_id"))
+                        .limit(limit),
+                FREventMessageEntity.class);
+    }
+
+    @Override
+    public int setErrors(String apiClientId, Map<String, FREventPollingError> errorsByJti) {
+        if (errorsByJti.isEmpty()) {
+            return 0;
+        }
+        // Unordered as the updates are independent, allowing the server to apply them in parallel
+        final BulkOperations bulkOperations = mongoTemplate.bulkOps(BulkMode.UNORDERED, FREventMessageEntity.class);
+        errorsByJti.forEach((jti, error) -> bulkOperations.updateOne(
+                query(where(API_CLIENT_ID).is(apiClientId).and(JTI).is(jti)),
+                new Update().set(ERRORS, error).currentDate("updated")));
+        return bulkOperations.execute().getModifiedCount();
+    }
+}
@@ -0,0 +1,194 @@
+/*
+ * Copyright © 2020-2025 ForgeRock AS (obst@forgerock.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.forgerock.sapi.gateway.rs.resource.store.repo.mongo.payments;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.BulkOperations.BulkMode;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Repository;
+
+import com.forgerock.sapi.gateway.ob.uk.common.datamodel.common.FRSubmissionStatus;
+import com.forgerock.sapi.gateway.ob.uk.common.datamodel.payment.FRFilePayment;
+import com.forgerock.sapi.gateway.rs.resource.store.repo.entity.payment.FRFilePaymentLine;
+import com.forgerock.sapi.gateway.rs.resource.store.repo.entity.payment.FRFilePaymentSubmission;
+
+/**
+ * Writes made while executing a file payment, each batch of lines is written with a single bulk write and the
+ * progress of the file is recorded with $inc updates of the submission, rather than a read and a save per document.
+ * <p>
+ * The node executing a file holds a lease on the submission, which is renewed as batches are executed. Submissions
+ * which are still InitiationPending once their lease has expired were interrupted, e.g. by a restart, and can be
+ * claimed by another node to be failed.
+ */
+@Repository
+public class FilePaymentExecutionRepository {
+
+    private static final String ID = "_id";
+    private static final String FILE_PAYMENT_ID = "filePaymentId";
+    private static final String LINE_NUMBER = "lineNumber";
+    private static final String STATUS = "status";
+    private static final String CREATED = "created";
+    private static final String EXECUTION_OWNER = "executionOwner";
+    private static final String EXECUTION_EXPIRES_AT = "executionExpiresAt";
+    private static final String PAYMENT_STATUS = "payment.status";
+
+    private final MongoTemplate mongoTemplate;
+
+    public FilePaymentExecutionRepository(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    /**
+     * Claims the execution of a pending file payment for the owner, when no other node holds an unexpired lease on it.
+     *
+     * @return true if the owner now holds the lease, false if another node holds it or the file is no longer pending
+     */
+    public boolean tryClaimExecution(String filePaymentId, String owner, Duration leaseTtl) {
+        final Date now = new Date();
+        return mongoTemplate.updateFirst(query(where(ID).is(filePaymentId)
+                                .and(STATUS).is(FRSubmissionStatus.INITIATIONPENDING)
+                                .orOperator(where(EXECUTION_OWNER).is(owner),
+                                        where(EXECUTION_EXPIRES_AT).lt(now),
+                                        where(EXECUTION_EXPIRES_AT).exists(false))),
+                        new Update()
+                                .set(EXECUTION_OWNER, owner)
+                                .set(EXECUTION_EXPIRES_AT, new Date(now.getTime() + leaseTtl.toMillis())),
+                        FRFilePaymentSubmission.class)
+                .getModifiedCount() > 0;
+    }
+
+    public void insertLines(List<FRFilePaymentLine> lines) {
+        mongoTemplate.bulkOps(BulkMode.UNORDERED, FRFilePaymentLine.class)
+                .insert(lines)
+                .execute();
+    }
+
+    /**
+     * Sets the status, statusReason and statusUpdateDateTime of previously inserted lines.
+     */
+    public void updateLineStatuses(List<FRFilePaymentLine> lines) {
+        final BulkOperations bulkOperations = mongoTemplate.bulkOps(BulkMode.UNORDERED, FRFilePaymentLine.class);
+        for (FRFilePaymentLine line : lines) {
+            bulkOperations.updateOne(query(where(ID).is(line.getId())), new Update()
+                    .set(PAYMENT_STATUS, line.getPayment().getStatus())
+                    .set("statusReason", line.getStatusReason())
+                    .set("statusUpdateDateTime", line.getStatusUpdateDateTime()));
+        }
+        bulkOperations.execute();
+    }
+
+    /**
+     * Adds to the number of processed and rejected transactions of the submission and renews the owner's lease.
+     */
+    public void recordProgress(String filePaymentId, String owner, Duration leaseTtl, int processed, int rejected) {
+        mongoTemplate.updateFirst(query(where(ID).is(filePaymentId)), new Update()
+                        .inc("transactionsProcessed", processed)
+                        .inc("transactionsRejected", rejected)
+                        .currentDate("updated"),
+                FRFilePaymentSubmission.class);
+        mongoTemplate.updateFirst(query(where(ID).is(filePaymentId).and(EXECUTION_OWNER).is(owner)),
+                new Update().set(EXECUTION_EXPIRES_AT, new Date(System.currentTimeMillis() + leaseTtl.toMillis())),
+                FRFilePaymentSubmission.class);
+    }
+
+    /**
+     * Sets the final status of a pending submission whose execution the owner holds the lease on, and releases the
+     * lease.
+     *
+     * @return false if the owner no longer held the lease, the submission is left unchanged
+     */
+    public boolean completeExecution(String filePaymentId, String owner, FRSubmissionStatus status) {
+        return mongoTemplate.updateFirst(ownedExecution(filePaymentId, owner), new Update()
+                                .set(STATUS, status)
+                                .unset(EXECUTION_OWNER)
+                                .unset(EXECUTION_EXPIRES_AT)
+                                .currentDate("updated"),
+                        FRFilePaymentSubmission.class)
+                .getModifiedCount() > 0;
+    }
+
+    /**
+     * Fails a pending submission whose execution the owner holds the lease on, rejecting every line of the file which
+     * was stored, so that the status of the lines is consistent with the InitiationFailed status of the submission.
+     *
+     * @return false if the owner no longer held the lease, the submission and its lines are left unchanged
+     */
+    public boolean failExecution(String filePaymentId, String owner, String statusReason) {
+        if (!completeExecution(filePaymentId, owner, FRSubmissionStatus.INITIATIONFAILED)) {
+            return false;
+        }
+        mongoTemplate.updateMulti(query(where(FILE_PAYMENT_ID).is(filePaymentId)
+                                .and(PAYMENT_STATUS).ne(FRFilePayment.PaymentStatus.REJECTED)),
+                new Update()
+                        .set(PAYMENT_STATUS, FRFilePayment.PaymentStatus.REJECTED)
+                        .set("statusReason", statusReason)
+                        .currentDate("statusUpdateDateTime"),
+                FRFilePaymentLine.class);
+        final int lines = (int) mongoTemplate.count(query(where(FILE_PAYMENT_ID).is(filePaymentId)), FRFilePaymentLine.class);
+        mongoTemplate.updateFirst(query(where(ID).is(filePaymentId)), new Update()
+                        .set("transactionsProcessed", lines)
+                        .set("transactionsRejected", lines),
+                FRFilePaymentSubmission.class);
+        return true;
+    }
+
+    /**
+     * Finds the ids of pending submissions whose execution was interrupted: their lease has expired, or their
+     * execution never started although they were created before createdBefore.
+     */
+    public List<String> findInterruptedExecutions(Date createdBefore, int limit) {
+        final Query query = query(where(STATUS).is(FRSubmissionStatus.INITIATIONPENDING)
+                .orOperator(where(EXECUTION_EXPIRES_AT).lt(new Date()),
+                        new Criteria().andOperator(where(EXECUTION_EXPIRES_AT).exists(false), where(CREATED).lt(createdBefore))))
+                .limit(limit);
+        query.fields().include(ID);
+        return mongoTemplate.find(query, FRFilePaymentSubmission.class).stream()
+                .map(FRFilePaymentSubmission::getId)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Streams the lines of the file payment in file order through a cursor, so only one batch of lines is held in
+     * memory at a time. The stream must be closed to release the cursor.
+     *
+     * @param batchSize the number of lines to fetch per round trip
+     */
+    public Stream<FRFilePaymentLine> streamLines(String filePaymentId, int batchSize) {
+        return mongoTemplate.stream(query(where(FILE_PAYMENT_ID).is(filePaymentId))
+                        .with(Sort.by(LINE_NUMBER))
+                        .cursorBatchSize(batchSize),
+                FRFilePaymentLine.class);
+    }
+
+    private static Query ownedExecution(String filePaymentId, String owner) {
+        return query(where(ID).is(filePaymentId)
+                .and(STATUS).is(FRSubmissionStatus.INITIATIONPENDING)
+                .and(EXECUTION_OWNER).is(owner));
+    }
+}
@@ -0,0 +1,132 @@
+/*
+ * Copyright © 2020-2025 ForgeRock AS (obst@forgerock.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.forgerock.sapi.gateway.rs.resource.store.repo.mongo.payments;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.bson.Document;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Repository;
+
+import com.mongodb.client.gridfs.GridFSBucket;
+import com.mongodb.client.gridfs.GridFSBuckets;
+import com.mongodb.client.gridfs.GridFSUploadStream;
+import com.mongodb.client.gridfs.model.GridFSFile;
+import com.mongodb.client.gridfs.model.GridFSUploadOptions;
+import com.mongodb.client.model.Filters;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Content addressed store of uploaded payment files, keyed by the SHA-256 hash of the file contents (the hash which
+ * the file consent's FileHash is validated against).
+ * <p>
+ * Files are stored gzip compressed in a GridFS bucket, with the hash as the GridFS filename. Storing a file whose hash
+ * is already present is a no-op, two concurrent uploads of the same file may both be stored, in which case either copy
+ * is read.
+ * <p>
+ * The consent store is handed a {@link #toReference(String) reference} to the stored file rather than its contents, so
+ * that reading a file consent doesn't transfer the whole file.
+ */
+@Repository
+@Slf4j
+public class PaymentFileStore {
+
+    private static final String BUCKET_NAME = "paymentFiles";
+    private static final String REFERENCE_PREFIX = "urn:sapi:rs:payment-file:sha256:";
+    private static final String CONTENT_ENCODING = "contentEncoding";
+    private static final String GZIP = "gzip";
+    private static final String FILENAME = "filename";
+
+    private final GridFSBucket bucket;
+
+    public PaymentFileStore(MongoTemplate mongoTemplate) {
+        this.bucket = GridFSBuckets.create(mongoTemplate.getDb(), BUCKET_NAME);
+    }
+
+    /**
+     * Stores the file if a file with the same hash is not already stored.
+     *
+     * @param fileHash     the SHA-256 hash of the fileContents, as computed by the RS HashUtils
+     * @param fileContents the uploaded file
+     * @return the reference to the stored file
+     */
+    public String store(String fileHash, String fileContents) {
+        if (findFile(fileHash).isEmpty()) {
+            final GridFSUploadOptions options = new GridFSUploadOptions()
+                    .metadata(new Document(CONTENT_ENCODING, GZIP));
+            final GridFSUploadStream uploadStream = bucket.openUploadStream(fileHash, options);
+            try {
+                // Closing the writer finishes the gzip stream and then the upload, which writes the GridFS file document
+                final Writer writer = new OutputStreamWriter(new GZIPOutputStream(uploadStream), StandardCharsets.UTF_8);
+                writer.write(fileContents);
+                writer.close();
+            } catch (IOException e) {
+                uploadStream.abort();
+                throw new UncheckedIOException(e);
+            }
+            log.debug("Stored payment file - hash: {}, id: {}", fileHash, uploadStream.getObjectId());
+        }
+        return toReference(fileHash);
+    }
+
+    /**
+     * Opens the stored file, the stream decompresses the file as it is read and must be closed.
+     *
+     * @param reference the reference to the file returned by {@link #store(String, String)}
+     * @return the file contents, or empty if the file is not stored
+     */
+    public Optional<InputStream> open(String reference) {
+        return findFile(toFileHash(reference)).map(file -> {
+            try {
+                return new GZIPInputStream(bucket.openDownloadStream(file.getObjectId()));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    private Optional<GridFSFile> findFile(String fileHash) {
+        return Optional.ofNullable(bucket.find(Filters.eq(FILENAME, fileHash)).limit(1).first());
+    }
+
+    public static String toReference(String fileHash) {
+        return REFERENCE_PREFIX + fileHash;
+    }
+
+    /**
+     * @return whether the file content held by a consent is a reference to a stored file, consents which had a file
+     * uploaded before the store was introduced hold the file itself
+     */
+    public static boolean isReference(String fileContent) {
+        return fileContent != null && fileContent.startsWith(REFERENCE_PREFIX);
+    }
+
+    private static String toFileHash(String reference) {
+        if (!isReference(reference)) {
+            throw new IllegalArgumentException("Not a payment file reference: " + reference);
+        }
+        return reference.substring(REFERENCE_PREFIX.length());
+    }
+}
@@ -0,0 +1,53 @@
+/*
+ * Copyright © 2020-2025 ForgeRock AS (obst@forgerock.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.forgerock.sapi.gateway.rs.resource.store.repo.mongo.payments;
+
+import org.bson.types.ObjectId;
+import org.springframework.data.mongodb.core.mapping.event.AbstractMongoEventListener;
+import org.springframework.data.mongodb.core.mapping.event.BeforeConvertEvent;
+import org.springframework.stereotype.Component;
+
+import com.forgerock.sapi.gateway.rs.resource.store.repo.entity.account.FRScheduledPayment;
+import com.forgerock.sapi.gateway.rs.resource.store.repo.entity.account.FRStandingOrder;
+import com.forgerock.sapi.gateway.rs.resource.store.repo.entity.payment.FRSchedulerLease;
+
+/**
+ * Assigns the payment scheduler shard of {@link FRScheduledPayment}s and {@link FRStandingOrder}s whenever they are
+ * written, via a repository, MongoTemplate or bulk insert.
+ * <p>
+ * The shard is derived from the id, so documents without an id are given the ObjectId Mongo would have generated.
+ */
+@Component
+public class ScheduledInstructionShardListener extends AbstractMongoEventListener<Object> {
+
+    @Override
+    public void onBeforeConvert(BeforeConvertEvent<Object> event) {
+        final Object source = event.getSource();
+        if (source instanceof FRScheduledPayment) {
+            final FRScheduledPayment scheduledPayment = (FRScheduledPayment) source;
+            if (scheduledPayment.getId() == null) {
+                scheduledPayment.setId(new ObjectId().toHexString());
+            }
+            scheduledPayment.setShard(FRSchedulerLease.shardOf(scheduledPayment.getId()));
+        } else if (source instanceof FRStandingOrder) {
+            final FRStandingOrder standingOrder = (FRStandingOrder) source;
+            if (standingOrder.getId() == null) {
+                standingOrder.setId(new ObjectId().toHexString());
+            }
+            standingOrder.setShard(FRSchedulerLease.shardOf(standingOrder.getId()));
+        }
+    }
+}
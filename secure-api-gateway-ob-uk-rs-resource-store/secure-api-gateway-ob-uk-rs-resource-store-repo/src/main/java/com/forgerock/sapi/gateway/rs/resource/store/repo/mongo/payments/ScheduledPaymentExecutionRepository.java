@@ -0,0 +1,181 @@
+/*
+ * Copyright © 2020-2025 ForgeRock AS (obst@forgerock.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.forgerock.sapi.gateway.rs.resource.store.repo.mongo.payments;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+
+import org.bson.Document;
+import org.joda.time.DateTime;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.BulkOperations.BulkMode;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Repository;
+
+import com.forgerock.sapi.gateway.rs.resource.store.repo.entity.account.FRScheduledPayment;
+import com.forgerock.sapi.gateway.rs.resource.store.repo.entity.account.FRScheduledPayment.ScheduledPaymentStatus;
+import com.forgerock.sapi.gateway.rs.resource.store.repo.entity.account.FRStandingOrder;
+import com.forgerock.sapi.gateway.rs.resource.store.repo.entity.account.FRStandingOrder.StandingOrderStatus;
+import com.forgerock.sapi.gateway.rs.resource.store.repo.entity.payment.FRSchedulerLease;
+
+import lombok.Value;
+
+/**
+ * Reads and writes made by the payment scheduler when executing {@link FRScheduledPayment}s and
+ * {@link FRStandingOrder}s.
+ * <p>
+ * Due instructions are read a time window at a time in due order, only from the shards leased by the reading node, so
+ * each node reads its own instructions however large the backlog of other shards is. Executions are written in bulk,
+ * each write is
+ * conditional on the instruction still being in the state it was read in, so an instruction executed by another node
+ * (e.g. whilst a shard lease changed hands) is not executed twice.
+ */
+@Repository
+public class ScheduledPaymentExecutionRepository {
+
+    private static final String ID = "_id";
+    private static final String STATUS = "status";
+    private static final String SHARD = "shard";
+    private static final String UPDATED = "updated";
+    private static final String SCHEDULED_PAYMENT_DATE_TIME = "scheduledPayment.scheduledPaymentDateTime";
+    private static final String FIRST_PAYMENT_DATE_TIME = "standingOrder.firstPaymentDateTime";
+    private static final String NEXT_PAYMENT_DATE_TIME = "standingOrder.nextPaymentDateTime";
+
+    private final MongoTemplate mongoTemplate;
+
+    public ScheduledPaymentExecutionRepository(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    /**
+     * @return up to limit PENDING scheduled payments of the shards due before dueBefore, earliest first
+     */
+    public List<FRScheduledPayment> findDueScheduledPayments(Collection<Integer> shards, Date dueBefore, int limit) {
+        return mongoTemplate.find(query(where(STATUS).is(ScheduledPaymentStatus.PENDING)
+                        .and(SHARD).in(shards)
+                        .and(SCHEDULED_PAYMENT_DATE_TIME).lt(dueBefore))
+                        .with(Sort.by(SCHEDULED_PAYMENT_DATE_TIME))
+                        .limit(limit),
+                FRScheduledPayment.class);
+    }
+
+    /**
+     * Finds the standing orders of the shards with a payment due before dueBefore, which is the first payment of
+     * PENDING orders and the next payment of ACTIVE orders.
+     *
+     * @return up to limit standing orders of each status, earliest first
+     */
+    public List<FRStandingOrder> findDueStandingOrders(Collection<Integer> shards, Date dueBefore, int limit) {
+        final List<FRStandingOrder> standingOrders = new ArrayList<>(findDueStandingOrders(StandingOrderStatus.PENDING,
+                FIRST_PAYMENT_DATE_TIME, shards, dueBefore, limit));
+        standingOrders.addAll(findDueStandingOrders(StandingOrderStatus.ACTIVE, NEXT_PAYMENT_DATE_TIME, shards, dueBefore, limit));
+        return standingOrders;
+    }
+
+    private List<FRStandingOrder> findDueStandingOrders(StandingOrderStatus status, String dueField, Collection<Integer> shards,
+                                                        Date dueBefore, int limit) {
+        return mongoTemplate.find(query(where(STATUS).is(status).and(SHARD).in(shards).and(dueField).lt(dueBefore))
+                        .with(Sort.by(dueField))
+                        .limit(limit),
+                FRStandingOrder.class);
+    }
+
+    /**
+     * Moves the scheduled payments which are still PENDING to COMPLETED.
+     *
+     * @return the number of scheduled payments completed
+     */
+    public long completeScheduledPayments(Collection<String> scheduledPaymentIds) {
+        return mongoTemplate.updateMulti(query(where(ID).in(scheduledPaymentIds).and(STATUS).is(ScheduledPaymentStatus.PENDING)),
+                        new Update().set(STATUS, ScheduledPaymentStatus.COMPLETED).currentDate(UPDATED),
+                        FRScheduledPayment.class)
+                .getModifiedCount();
+    }
+
+    /**
+     * Writes the result of executing a payment of each standing order, an order is only updated if its status and next
+     * payment are unchanged since it was read.
+     *
+     * @return the number of standing orders updated
+     */
+    public int updateExecutedStandingOrders(List<ExecutedStandingOrder> executedStandingOrders) {
+        final BulkOperations bulkOperations = mongoTemplate.bulkOps(BulkMode.UNORDERED, FRStandingOrder.class);
+        for (ExecutedStandingOrder executed : executedStandingOrders) {
+            final FRStandingOrder standingOrder = executed.getStandingOrder();
+            bulkOperations.updateOne(query(where(ID).is(standingOrder.getId())
+                            .and(STATUS).is(executed.getPreviousStatus())
+                            .and(NEXT_PAYMENT_DATE_TIME).is(toDate(executed.getPreviousNextPaymentDateTime()))),
+                    new Update()
+                            .set(STATUS, standingOrder.getStatus())
+                            .set("paymentsExecuted", standingOrder.getPaymentsExecuted())
+                            .set("rejectionReason", standingOrder.getRejectionReason())
+                            .set(NEXT_PAYMENT_DATE_TIME, toDate(standingOrder.getStandingOrder().getNextPaymentDateTime()))
+                            .set("standingOrder.lastPaymentDateTime", toDate(standingOrder.getStandingOrder().getLastPaymentDateTime()))
+                            .set("standingOrder.lastPaymentAmount", standingOrder.getStandingOrder().getLastPaymentAmount())
+                            .set("standingOrder.standingOrderStatusCode", standingOrder.getStandingOrder().getStandingOrderStatusCode())
+                            .currentDate(UPDATED));
+        }
+        return bulkOperations.execute().getModifiedCount();
+    }
+
+    /**
+     * Assigns the shard of scheduled payments and standing orders written before shards were stored, a batch at a time.
+     *
+     * @return the number of documents updated
+     */
+    public long assignMissingShards(int batchSize) {
+        return assignMissingShards(FRScheduledPayment.class, batchSize) + assignMissingShards(FRStandingOrder.class, batchSize);
+    }
+
+    private long assignMissingShards(Class<?> entityClass, int batchSize) {
+        final String collectionName = mongoTemplate.getCollectionName(entityClass);
+        final Query missingShard = query(where(SHARD).exists(false)).limit(batchSize);
+        missingShard.fields().include(ID);
+        long assigned = 0;
+        List<Document> batch;
+        while (!(batch = mongoTemplate.find(missingShard, Document.class, collectionName)).isEmpty()) {
+            final BulkOperations bulkOperations = mongoTemplate.bulkOps(BulkMode.UNORDERED, collectionName);
+            for (Document document : batch) {
+                final Object id = document.get(ID);
+                bulkOperations.updateOne(query(where(ID).is(id)), new Update().set(SHARD, FRSchedulerLease.shardOf(id.toString())));
+            }
+            assigned += bulkOperations.execute().getModifiedCount();
+        }
+        return assigned;
+    }
+
+    private static Date toDate(DateTime dateTime) {
+        return dateTime == null ? null : dateTime.toDate();
+    }
+
+    /**
+     * A standing order updated with the result of a payment, along with the status and next payment it was read with.
+     */
+    @Value
+    public static class ExecutedStandingOrder {
+        FRStandingOrder standingOrder;
+        StandingOrderStatus previousStatus;
+        DateTime previousNextPaymentDateTime;
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright © 2020-2025 ForgeRock AS (obst@forgerock.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.forgerock.sapi.gateway.rs.resource.store.repo.mongo.payments;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.regex.Pattern;
+
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Repository;
+
+import com.forgerock.sapi.gateway.rs.resource.store.repo.entity.payment.FRSchedulerLease;
+
+/**
+ * Acquires, renews and releases {@link FRSchedulerLease}s.
+ * <p>
+ * A lease is acquired with a single conditional upsert, matching the lease only if this node already owns it or it
+ * has expired. When another node holds an unexpired lease nothing matches and the upsert fails on the duplicate _id,
+ * so no two nodes can hold the same lease at once without a read-modify-write race.
+ */
+@Repository
+public class SchedulerLeaseRepository {
+
+    private static final String ID = "_id";
+    private static final String OWNER = "owner";
+    private static final String EXPIRES_AT = "expiresAt";
+    private static final Pattern NODE_LEASE_IDS = Pattern.compile("^" + Pattern.quote(FRSchedulerLease.NODE_PREFIX));
+
+    private final MongoTemplate mongoTemplate;
+
+    public SchedulerLeaseRepository(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    /**
+     * Acquires or renews the lease for the owner.
+     *
+     * @return false if the lease is held by another owner and has not expired
+     */
+    public boolean tryAcquire(String leaseId, String owner, Duration ttl) {
+        final Date now = new Date();
+        try {
+            mongoTemplate.upsert(query(where(ID).is(leaseId)
+                            .orOperator(where(OWNER).is(owner), where(EXPIRES_AT).lt(now))),
+                    new Update().set(OWNER, owner).set(EXPIRES_AT, new Date(now.getTime() + ttl.toMillis())),
+                    FRSchedulerLease.class);
+            return true;
+        } catch (DuplicateKeyException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Releases the lease if it is held by the owner.
+     */
+    public void release(String leaseId, String owner) {
+        mongoTemplate.remove(query(where(ID).is(leaseId).and(OWNER).is(owner)), FRSchedulerLease.class);
+    }
+
+    /**
+     * @return the number of nodes whose node lease has not expired
+     */
+    public long countLiveNodes() {
+        return mongoTemplate.count(query(where(ID).regex(NODE_LEASE_IDS).and(EXPIRES_AT).gt(new Date())),
+                FRSchedulerLease.class);
+    }
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright © 2020-2025 ForgeRock AS (obst@forgerock.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.forgerock.sapi.gateway.rs.resource.store.repo.index;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+
+class MongoIndexManagerTest {
+
+    @Test
+    void shouldMatchKeysRegardlessOfNumericType() {
+        assertThat(MongoIndexManager.sameKeys(new Document("accountId", 1.0).append("bookingDateTime", 1L),
+                new Document("accountId", 1).append("bookingDateTime", 1))).isTrue();
+    }
+
+    @Test
+    void shouldNotMatchKeysInDifferentOrder() {
+        assertThat(MongoIndexManager.sameKeys(new Document("bookingDateTime", 1).append("accountId", 1),
+                new Document("accountId", 1).append("bookingDateTime", 1))).isFalse();
+    }
+
+    @Test
+    void shouldNotMatchKeysWithDifferentDirection() {
+        assertThat(MongoIndexManager.sameKeys(new Document("accountId", 1).append("bookingDateTime", -1),
+                new Document("accountId", 1).append("bookingDateTime", 1))).isFalse();
+    }
+
+    @Test
+    void shouldCollectNestedPlanStages() {
+        final Document winningPlan = new Document("stage", "FETCH")
+                .append("inputStage", new Document("stage", "OR")
+                        .append("inputStages", List.of(new Document("stage", "IXSCAN"), new Document("stage", "COLLSCAN"))));
+        final List<String> stages = new ArrayList<>();
+
+        MongoIndexManager.collectStages(winningPlan, stages);
+
+        assertThat(stages).containsExactly("FETCH", "OR", "IXSCAN", "COLLSCAN");
+    }
+}
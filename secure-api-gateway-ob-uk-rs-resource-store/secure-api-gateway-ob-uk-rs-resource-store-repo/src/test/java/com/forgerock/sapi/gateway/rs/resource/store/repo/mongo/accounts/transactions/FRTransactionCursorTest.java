@@ -0,0 +1,58 @@
+/*
+ * Copyright © 2020-2025 ForgeRock AS (obst@forgerock.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.forgerock.sapi.gateway.rs.resource.store.repo.mongo.accounts.transactions;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import org.joda.time.DateTime;
+import org.junit.jupiter.api.Test;
+
+import com.forgerock.sapi.gateway.rs.resource.store.repo.entity.account.FRTransaction;
+
+public class FRTransactionCursorTest {
+
+    @Test
+    public void shouldRoundTripCursor() {
+        // Given
+        FRTransaction transaction = FRTransaction.builder()
+                .id("64b7f0c2a1d2e3f4a5b6c7d8")
+                .bookingDateTime(new DateTime(1700000000000L))
+                .build();
+
+        // When
+        String token = FRTransactionCursor.of(transaction).encode();
+        FRTransactionCursor cursor = FRTransactionCursor.decode(token);
+
+        // Then
+        assertThat(token).doesNotContain("=", "+", "/");
+        assertThat(cursor.getBookingDateTime()).isEqualTo(transaction.getBookingDateTime().toDate());
+        assertThat(cursor.getId()).isEqualTo(transaction.getId());
+    }
+
+    @Test
+    public void shouldRejectInvalidCursor() {
+        String missingId = Base64.getUrlEncoder().encodeToString("1700000000000:".getBytes(StandardCharsets.UTF_8));
+        String invalidDate = Base64.getUrlEncoder().encodeToString("notADate:abc".getBytes(StandardCharsets.UTF_8));
+
+        assertThatThrownBy(() -> FRTransactionCursor.decode("not base64!")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> FRTransactionCursor.decode(missingId)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> FRTransactionCursor.decode(invalidDate)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
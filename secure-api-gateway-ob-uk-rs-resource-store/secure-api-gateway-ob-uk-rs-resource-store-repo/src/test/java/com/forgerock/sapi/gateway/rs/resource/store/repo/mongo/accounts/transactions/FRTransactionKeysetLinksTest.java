@@ -0,0 +1,74 @@
+/*
+ * Copyright © 2020-2025 ForgeRock AS (obst@forgerock.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.forgerock.sapi.gateway.rs.resource.store.repo.mongo.accounts.transactions;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.joda.time.DateTime;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
+
+import com.forgerock.sapi.gateway.ob.uk.common.error.OBErrorException;
+import com.forgerock.sapi.gateway.ob.uk.common.error.OBRIErrorType;
+import com.forgerock.sapi.gateway.rs.resource.store.repo.entity.account.FRTransaction;
+
+public class FRTransactionKeysetLinksTest {
+
+    @Test
+    public void shouldFormatBookingDateTimesInResourceUri() {
+        // When
+        String uri = FRTransactionKeysetLinks.resourceUri("https://rs/accounts/123/transactions",
+                LocalDateTime.of(2023, 1, 2, 3, 4, 5), LocalDateTime.of(2023, 6, 7, 8, 9, 10)).toUriString();
+
+        // Then
+        assertThat(uri).isEqualTo("https://rs/accounts/123/transactions?fromBookingDateTime=2023-01-02T03:04:05&toBookingDateTime=2023-06-07T08:09:10");
+    }
+
+    @Test
+    public void shouldOmitMissingBookingDateTimesFromResourceUri() {
+        String uri = FRTransactionKeysetLinks.resourceUri("https://rs/transactions", null, null).toUriString();
+
+        assertThat(uri).isEqualTo("https://rs/transactions");
+    }
+
+    @Test
+    public void shouldDecodeCursor() throws Exception {
+        FRTransaction transaction = FRTransaction.builder().id("abc").bookingDateTime(new DateTime(1700000000000L)).build();
+
+        assertThat(FRTransactionKeysetLinks.decodeCursor(null)).isNull();
+        assertThat(FRTransactionKeysetLinks.decodeCursor(FRTransactionCursor.of(transaction).encode()))
+                .isEqualTo(FRTransactionCursor.of(transaction));
+        assertThatThrownBy(() -> FRTransactionKeysetLinks.decodeCursor("not base64!"))
+                .isInstanceOfSatisfying(OBErrorException.class,
+                        e -> assertThat(e.getObriErrorType()).isEqualTo(OBRIErrorType.REQUEST_FIELD_INVALID));
+    }
+
+    @Test
+    public void shouldReturnCursorOfLastTransactionOnlyWhenThereIsANextPage() {
+        FRTransaction first = FRTransaction.builder().id("a").bookingDateTime(new DateTime(1700000000000L)).build();
+        FRTransaction last = FRTransaction.builder().id("b").bookingDateTime(new DateTime(1700000001000L)).build();
+
+        assertThat(FRTransactionKeysetLinks.nextCursor(new SliceImpl<>(List.of(first, last), PageRequest.of(0, 2), true)))
+                .isEqualTo(FRTransactionCursor.of(last).encode());
+        assertThat(FRTransactionKeysetLinks.nextCursor(new SliceImpl<>(List.of(first, last), PageRequest.of(0, 2), false)))
+                .isNull();
+    }
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright © 2020-2025 ForgeRock AS (obst@forgerock.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.forgerock.sapi.gateway.rs.resource.store.repo.mongo.accounts.transactions;
+
+import static com.forgerock.sapi.gateway.ob.uk.common.datamodel.account.FRExternalPermissionsCode.READPAN;
+import static com.forgerock.sapi.gateway.ob.uk.common.datamodel.account.FRExternalPermissionsCode.READTRANSACTIONSBASIC;
+import static com.forgerock.sapi.gateway.ob.uk.common.datamodel.account.FRExternalPermissionsCode.READTRANSACTIONSCREDITS;
+import static com.forgerock.sapi.gateway.ob.uk.common.datamodel.account.FRExternalPermissionsCode.READTRANSACTIONSDETAIL;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+
+import com.forgerock.sapi.gateway.ob.uk.common.datamodel.account.FRExternalPermissionsCode;
+
+class FRTransactionPermissionsProjectionTest {
+
+    @Test
+    void shouldNotProjectWhenAllFieldsPermitted() {
+        assertThat(FRTransactionPermissionsProjection.stages(List.of(READTRANSACTIONSCREDITS, READTRANSACTIONSDETAIL, READPAN))).isEmpty();
+    }
+
+    @Test
+    void shouldOnlyMaskPanWithoutReadPan() {
+        final List<Document> stages = toDocuments(List.of(READTRANSACTIONSCREDITS, READTRANSACTIONSDETAIL));
+
+        assertThat(stages).hasSize(1);
+        final Document set = stages.get(0).get("$set", Document.class);
+        assertThat(set.keySet()).containsExactly("transaction.debtorAccount", "transaction.creditorAccount");
+    }
+
+    @Test
+    void shouldUnsetDetailFieldsForBasic() {
+        final List<Document> stages = toDocuments(List.of(READTRANSACTIONSCREDITS, READTRANSACTIONSBASIC, READPAN));
+
+        assertThat(stages).hasSize(2);
+        assertThat(stages.get(0).getList("$unset", String.class)).containsExactly("transaction.balance",
+                "transaction.merchantDetails", "transaction.creditorAgent", "transaction.debtorAgent");
+        assertThat(stages.get(1).get("$set", Document.class)).isEqualTo(new Document("transaction.transactionInformation", ""));
+    }
+
+    private static List<Document> toDocuments(List<FRExternalPermissionsCode> permissions) {
+        return FRTransactionPermissionsProjection.stages(permissions).stream()
+                .map(stage -> stage.toDocument(Aggregation.DEFAULT_CONTEXT))
+                .collect(Collectors.toList());
+    }
+}
@@ -18,6 +18,7 @@ package com.forgerock.sapi.gateway.ob.uk.rs.server.api.discovery;
 import lombok.extern.slf4j.Slf4j;
 
 import java.lang.reflect.Method;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.Set;
 
@@ -59,4 +60,11 @@ public class ControllerEndpointBlacklistHandler {
         ControllerMethod controllerMethod = ControllerMethod.of(clazz, method);
         return blackList.contains(controllerMethod);
     }
+
+    /**
+     * @return the controller methods that have been blacklisted.
+     */
+    public Set<ControllerMethod> getBlacklist() {
+        return Collections.unmodifiableSet(blackList);
+    }
 }
@@ -20,14 +20,20 @@ import com.forgerock.sapi.gateway.uk.common.shared.api.meta.obie.OBGroupName;
 import lombok.extern.slf4j.Slf4j;
 
 import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import uk.org.openbanking.datamodel.v3.discovery.GenericOBDiscoveryAPILinks;
 import uk.org.openbanking.datamodel.v3.discovery.OBDiscoveryAPI;
 
+import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * Examines customer specific config (if applicable) and determines which of the available APIs should be
@@ -37,22 +43,47 @@ import java.util.Map;
 @Slf4j
 public class DiscoveryApiService {
 
-    private final DiscoveryApiConfigurationProperties discoveryProperties;
-
     private final AvailableApiEndpointsResolver availableApiEndpointsResolver;
 
-    private final ControllerEndpointBlacklistHandler blacklistHandler;
+    private List<HandlerMethod> handlerMethods = List.of();
+
+    /**
+     * The configuration, blacklist and disabled handler method table, replaced as a whole on reload.
+     */
+    private volatile DiscoveryConfigurationSnapshot snapshot;
 
 
     public DiscoveryApiService(DiscoveryApiConfigurationProperties discoveryProperties,
                                AvailableApiEndpointsResolver availableApiEndpointsResolver) {
-        this.discoveryProperties = discoveryProperties;
         this.availableApiEndpointsResolver = availableApiEndpointsResolver;
-        this.blacklistHandler = new ControllerEndpointBlacklistHandler();
-        initBlacklist();
+        this.snapshot = createSnapshot(discoveryProperties);
+    }
+
+    /**
+     * Sets the handler methods registered with the WebMvc, so that whether each of them is disabled can be worked
+     * out once rather than per request. See
+     * {@link com.forgerock.sapi.gateway.ob.uk.rs.server.configuration.ApplicationStartupListener}.
+     *
+     * @param handlerMethods all handler methods registered with the WebMvc
+     */
+    public synchronized void setHandlerMethods(Collection<HandlerMethod> handlerMethods) {
+        this.handlerMethods = List.copyOf(handlerMethods);
+        this.snapshot = createSnapshot(snapshot.getDiscoveryProperties());
     }
 
-    private void initBlacklist() {
+    /**
+     * Replaces the discovery configuration, the enabled APIs and the disabled endpoints are determined again using
+     * the new configuration. Requests in flight see either the old or the new configuration, never a mix of both.
+     *
+     * @param discoveryProperties the new discovery configuration
+     */
+    public synchronized void reload(DiscoveryApiConfigurationProperties discoveryProperties) {
+        log.info("Reloading discovery configuration");
+        this.snapshot = createSnapshot(discoveryProperties);
+    }
+
+    private DiscoveryConfigurationSnapshot createSnapshot(DiscoveryApiConfigurationProperties discoveryProperties) {
+        final ControllerEndpointBlacklistHandler blacklistHandler = new ControllerEndpointBlacklistHandler();
         List<AvailableApiEndpoint> availableEndpoints = availableApiEndpointsResolver.getAvailableApiEndpoints();
 
         // iterate over each API endpoint
@@ -60,17 +91,38 @@ public class DiscoveryApiService {
             String version = availableEndpoint.getVersion();
             OBApiReference endpointReference = availableEndpoint.getApiReference();
 
-            if (!isVersionEnabled(version)
-                    || !isApiEnabled(endpointReference)
-                    || !isVersionOverrideEnabled(version, endpointReference)) {
+            if (!isEnabled(discoveryProperties, version, endpointReference)) {
                 log.warn("Disabling endpoint: [{}], for version: [{}]", endpointReference.getReference(), version);
                 blacklistHandler.blacklistEndpoint(availableEndpoint.getControllerMethod());
             }
         }
+
+        final Map<Method, Boolean> disabledMethods = new IdentityHashMap<>();
+        final Set<Method> sharedMethods = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (HandlerMethod handlerMethod : handlerMethods) {
+            final Method method = handlerMethod.getMethod();
+            final boolean disabled = blacklistHandler.isBlacklisted(handlerMethod.getBeanType(), method);
+            final Boolean existing = disabledMethods.put(method, disabled);
+            if (existing != null && existing != disabled) {
+                sharedMethods.add(method);
+            }
+        }
+        // Methods inherited by controllers which are not all disabled are checked against the blacklist per request
+        disabledMethods.keySet().removeAll(sharedMethods);
+        log.info("Disabled endpoints table built for {} handler methods", disabledMethods.size());
+        return new DiscoveryConfigurationSnapshot(discoveryProperties, blacklistHandler,
+                Collections.unmodifiableMap(disabledMethods));
+    }
+
+    /**
+     * @return the current discovery configuration, the same snapshot should be used for the whole of a request.
+     */
+    public DiscoveryConfigurationSnapshot getSnapshot() {
+        return snapshot;
     }
 
     public ControllerEndpointBlacklistHandler getBlacklistHandler() {
-        return blacklistHandler;
+        return snapshot.getBlacklistHandler();
     }
 
     /**
@@ -84,6 +136,7 @@ public class DiscoveryApiService {
      * @return a {@link Map} of supported Open Banking APIs.
      */
     public Map<OBGroupName, Map<String, OBDiscoveryAPI>> getDiscoveryApis() {
+        final DiscoveryApiConfigurationProperties discoveryProperties = snapshot.getDiscoveryProperties();
         final Map<OBGroupName, Map<String, OBDiscoveryAPI>> discoveryApis = new HashMap<>();
         final String baseUri = ServletUriComponentsBuilder.fromCurrentContextPath().build().toUriString();
         final StringBuilder fullyQualifiedEndpointUriBuilder = new StringBuilder(baseUri);
@@ -94,9 +147,7 @@ public class DiscoveryApiService {
             OBApiReference endpointReference = availableEndpoint.getApiReference();
             String endpointUrl = availableEndpoint.getUriPath();
 
-            if (isVersionEnabled(version)
-                    && isApiEnabled(endpointReference)
-                    && isVersionOverrideEnabled(version, endpointReference)) {
+            if (isEnabled(discoveryProperties, version, endpointReference)) {
 
                 // Init map
                 if (!discoveryApis.containsKey(availableEndpoint.getGroupName())) {
@@ -119,17 +170,26 @@ public class DiscoveryApiService {
         return discoveryApis;
     }
 
-    private boolean isVersionEnabled(String version) {
+    private static boolean isEnabled(DiscoveryApiConfigurationProperties discoveryProperties, String version,
+                                     OBApiReference obApiReference) {
+        return isVersionEnabled(discoveryProperties, version)
+                && isApiEnabled(discoveryProperties, obApiReference)
+                && isVersionOverrideEnabled(discoveryProperties, version, obApiReference);
+    }
+
+    private static boolean isVersionEnabled(DiscoveryApiConfigurationProperties discoveryProperties, String version) {
         return !discoveryProperties.getVersions().containsKey(version) ||
                 discoveryProperties.getVersions().get(version);
     }
 
-    private boolean isApiEnabled(OBApiReference obApiReference) {
+    private static boolean isApiEnabled(DiscoveryApiConfigurationProperties discoveryProperties,
+                                        OBApiReference obApiReference) {
         return !discoveryProperties.getApis().containsKey(obApiReference) ||
                 discoveryProperties.getApis().get(obApiReference);
     }
 
-    private boolean isVersionOverrideEnabled(String version, OBApiReference obApiReference) {
+    private static boolean isVersionOverrideEnabled(DiscoveryApiConfigurationProperties discoveryProperties,
+                                                    String version, OBApiReference obApiReference) {
         // Use _ instead of . in yaml to reduce ambiguity over yml separator vs version
         String yamlVersion = version.replace(".", "_");
         Map<String, Map<OBApiReference, Boolean>> versionApiOverrides = discoveryProperties.getVersionApiOverrides();
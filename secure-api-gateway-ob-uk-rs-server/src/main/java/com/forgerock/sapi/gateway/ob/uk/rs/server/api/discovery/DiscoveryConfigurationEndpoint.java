@@ -0,0 +1,113 @@
+/*
+ * Copyright © 2020-2025 ForgeRock AS (obst@forgerock.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.forgerock.sapi.gateway.ob.uk.rs.server.api.discovery;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import com.forgerock.sapi.gateway.ob.uk.rs.server.common.OBApiReference;
+
+/**
+ * Actuator endpoint listing the controller methods disabled by the discovery configuration (rs.discovery). A write
+ * operation replaces the versions, apis and versionApiOverrides of the configuration with the ones in the request
+ * body (using the same keys as the rs.discovery config), so that endpoints are enabled or disabled without a restart.
+ *
+ * Exposed over http as /actuator/discovery on its own port (rs.server.discovery-endpoint-port), which is not reachable
+ * through the gateway, see {@link com.forgerock.sapi.gateway.ob.uk.rs.server.configuration.DiscoveryEndpointPortConfiguration}.
+ */
+@Component
+@Endpoint(id = "discovery")
+public class DiscoveryConfigurationEndpoint {
+
+    private final DiscoveryApiService discoveryApiService;
+
+    public DiscoveryConfigurationEndpoint(DiscoveryApiService discoveryApiService) {
+        this.discoveryApiService = discoveryApiService;
+    }
+
+    @ReadOperation
+    public Set<String> disabledEndpoints() {
+        final Set<String> disabledEndpoints = new TreeSet<>();
+        discoveryApiService.getBlacklistHandler().getBlacklist()
+                .forEach(controllerMethod -> disabledEndpoints.add(controllerMethod.value()));
+        return disabledEndpoints;
+    }
+
+    /**
+     * Replaces the discovery configuration, anything not supplied is enabled.
+     *
+     * @param versions the versions to enable/disable, keyed by version e.g. v3.1.10
+     * @param apis the apis to enable/disable in all versions, keyed by reference e.g. GetAccounts
+     * @param versionApiOverrides the apis to enable/disable per version, keyed by version e.g. v3_1_10 then by reference
+     * @return the endpoints disabled by the new configuration
+     */
+    @WriteOperation
+    @SuppressWarnings("unchecked")
+    public Set<String> reload(@Nullable Map<String, Object> versions,
+                              @Nullable Map<String, Object> apis,
+                              @Nullable Map<String, Object> versionApiOverrides) {
+        final DiscoveryApiConfigurationProperties discoveryProperties = new DiscoveryApiConfigurationProperties();
+        discoveryProperties.setFinancialId(discoveryApiService.getSnapshot().getDiscoveryProperties().getFinancialId());
+        if (versions != null) {
+            versions.forEach((version, enabled) -> discoveryProperties.getVersions().put(version, toBoolean(version, enabled)));
+        }
+        if (apis != null) {
+            discoveryProperties.setApis(toApiReferences(apis));
+        }
+        if (versionApiOverrides != null) {
+            versionApiOverrides.forEach((version, overrides) -> {
+                if (!(overrides instanceof Map)) {
+                    throw new InvalidEndpointRequestException("versionApiOverrides." + version + " must be an object",
+                            "Invalid versionApiOverrides");
+                }
+                discoveryProperties.getVersionApiOverrides().put(version, toApiReferences((Map<String, Object>) overrides));
+            });
+        }
+        discoveryApiService.reload(discoveryProperties);
+        return disabledEndpoints();
+    }
+
+    private static Map<OBApiReference, Boolean> toApiReferences(Map<String, Object> apis) {
+        final Map<OBApiReference, Boolean> apiReferences = new HashMap<>();
+        apis.forEach((reference, enabled) -> {
+            final OBApiReference apiReference = OBApiReference.fromReference(reference);
+            if (apiReference == null) {
+                throw new InvalidEndpointRequestException("Unknown api reference: " + reference, "Unknown api reference");
+            }
+            apiReferences.put(apiReference, toBoolean(reference, enabled));
+        });
+        return apiReferences;
+    }
+
+    private static boolean toBoolean(String key, Object value) {
+        if (value instanceof Boolean) {
+            return (Boolean) value;
+        }
+        if ("true".equals(value) || "false".equals(value)) {
+            return Boolean.parseBoolean((String) value);
+        }
+        throw new InvalidEndpointRequestException(key + " must be true or false", "Invalid value for " + key);
+    }
+}
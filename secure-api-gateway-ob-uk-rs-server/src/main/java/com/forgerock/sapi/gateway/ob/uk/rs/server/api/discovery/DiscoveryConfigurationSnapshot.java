@@ -0,0 +1,66 @@
+/*
+ * Copyright © 2020-2025 ForgeRock AS (obst@forgerock.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.forgerock.sapi.gateway.ob.uk.rs.server.api.discovery;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+
+import org.springframework.web.method.HandlerMethod;
+
+/**
+ * Immutable view of the discovery configuration: the configuration the Discovery API is built from, the resulting
+ * blacklist and the table of handler methods to whether they are disabled. The {@link DiscoveryApiService} replaces
+ * the snapshot as a whole, so the Discovery API and the
+ * {@link com.forgerock.sapi.gateway.ob.uk.rs.server.web.DisabledEndpointInterceptor} never see a mix of the old
+ * and the new configuration.
+ */
+public class DiscoveryConfigurationSnapshot {
+
+    private final DiscoveryApiConfigurationProperties discoveryProperties;
+
+    private final ControllerEndpointBlacklistHandler blacklistHandler;
+
+    private final Map<Method, Boolean> disabledMethods;
+
+    DiscoveryConfigurationSnapshot(DiscoveryApiConfigurationProperties discoveryProperties,
+                                   ControllerEndpointBlacklistHandler blacklistHandler,
+                                   Map<Method, Boolean> disabledMethods) {
+        this.discoveryProperties = discoveryProperties;
+        this.blacklistHandler = blacklistHandler;
+        this.disabledMethods = disabledMethods;
+    }
+
+    public DiscoveryApiConfigurationProperties getDiscoveryProperties() {
+        return discoveryProperties;
+    }
+
+    public ControllerEndpointBlacklistHandler getBlacklistHandler() {
+        return blacklistHandler;
+    }
+
+    /**
+     * @param handlerMethod the handler method a request is mapped to
+     * @return <code>true</code> if the endpoint has been disabled in the configuration
+     */
+    public boolean isDisabled(HandlerMethod handlerMethod) {
+        final Boolean disabled = disabledMethods.get(handlerMethod.getMethod());
+        if (disabled != null) {
+            return disabled;
+        }
+        // Not a known handler method, or one which is shared by controllers, fall back to the blacklist
+        return blacklistHandler.isBlacklisted(handlerMethod.getBeanType(), handlerMethod.getMethod());
+    }
+}
@@ -31,9 +31,11 @@ import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
+import org.springframework.web.util.UriComponentsBuilder;
 
 import com.forgerock.sapi.gateway.ob.uk.common.datamodel.account.FRExternalPermissionsCode;
 import com.forgerock.sapi.gateway.ob.uk.common.datamodel.converter.v3.account.FRTransactionConverter;
@@ -45,11 +47,13 @@ import com.forgerock.sapi.gateway.ob.uk.rs.server.common.util.PaginationUtil;
 import com.forgerock.sapi.gateway.ob.uk.rs.server.service.account.consent.AccountResourceAccessService;
 import com.forgerock.sapi.gateway.rcs.consent.store.datamodel.account.v3_1_10.AccountAccessConsent;
 import com.forgerock.sapi.gateway.rs.resource.store.repo.entity.account.FRTransaction;
+import com.forgerock.sapi.gateway.rs.resource.store.repo.mongo.accounts.transactions.FRTransactionKeysetLinks;
 import com.forgerock.sapi.gateway.rs.resource.store.repo.mongo.accounts.transactions.FRTransactionRepository;
 
 import uk.org.openbanking.datamodel.v3.account.OBReadDataTransaction6;
 import uk.org.openbanking.datamodel.v3.account.OBReadTransaction6;
 import uk.org.openbanking.datamodel.v3.account.OBTransaction6;
+import uk.org.openbanking.datamodel.v3.common.Meta;
 
 @Controller("TransactionsApiV3.1.10")
 public class TransactionsApiController implements TransactionsApi {
@@ -58,6 +62,10 @@ public class TransactionsApiController implements TransactionsApi {
 
     private final int pageLimitTransactions;
 
+    private final boolean keysetPaginationEnabled;
+
+    private final boolean keysetPaginationTotalPages;
+
     private final com.forgerock.sapi.gateway.rs.resource.store.repo.mongo.accounts.transactions.FRTransactionRepository FRTransactionRepository;
 
     private final AccountDataInternalIdFilter accountDataInternalIdFilter;
@@ -70,9 +78,13 @@ public class TransactionsApiController implements TransactionsApi {
             FRExternalPermissionsCode.READTRANSACTIONSDEBITS);
 
     public TransactionsApiController(@Value("${rs.page.default.transaction.size:120}") int pageLimitTransactions,
+            @Value("${rs.page.transaction.keyset.enabled:false}") boolean keysetPaginationEnabled,
+            @Value("${rs.page.transaction.keyset.total-pages:false}") boolean keysetPaginationTotalPages,
             FRTransactionRepository FRTransactionRepository,
             AccountDataInternalIdFilter accountDataInternalIdFilter, @Qualifier("v3.1.10DefaultAccountResourceAccessService") AccountResourceAccessService accountResourceAccessService) {
         this.pageLimitTransactions = pageLimitTransactions;
+        this.keysetPaginationEnabled = keysetPaginationEnabled;
+        this.keysetPaginationTotalPages = keysetPaginationTotalPages;
         this.FRTransactionRepository = FRTransactionRepository;
         this.accountDataInternalIdFilter = accountDataInternalIdFilter;
         this.accountResourceAccessService = accountResourceAccessService;
@@ -81,6 +93,7 @@ public class TransactionsApiController implements TransactionsApi {
     @Override
     public ResponseEntity<OBReadTransaction6> getAccountTransactions(String accountId,
             int page,
+            String cursor,
             String authorization,
             String xFapiAuthDate,
             LocalDateTime fromBookingDateTime,
@@ -94,6 +107,7 @@ public class TransactionsApiController implements TransactionsApi {
         logger.debug("transactionStore request transactionFrom {} transactionTo {} ",
                 fromBookingDateTime, toBookingDateTime);
 
+        final UriComponentsBuilder resourceUri = FRTransactionKeysetLinks.resourceUri(buildGetAccountTransactionUri(accountId), fromBookingDateTime, toBookingDateTime);
         if (toBookingDateTime == null) {
             toBookingDateTime = LocalDateTime.now();
         }
@@ -104,6 +118,11 @@ public class TransactionsApiController implements TransactionsApi {
         final AccountAccessConsent consent = accountResourceAccessService.getConsentForResourceAccess(consentId, apiClientId, accountId);
         checkPermissions(consent);
 
+        if (isKeysetPagination(page, cursor)) {
+            return getTransactionsKeysetPage(resourceUri, List.of(accountId), fromBookingDateTime,
+                    toBookingDateTime, consent.getRequestObj().getData().getPermissions(), cursor);
+        }
+
         Page<FRTransaction> response = FRTransactionRepository.byAccountIdAndBookingDateTimeBetweenWithPermissions(accountId,
                 new Date(fromBookingDateTime.toInstant(ZoneOffset.UTC).toEpochMilli()), new Date(toBookingDateTime.toInstant(ZoneOffset.UTC).toEpochMilli()), consent.getRequestObj().getData().getPermissions(),
                 PageRequest.of(page, pageLimitTransactions, Sort.Direction.ASC, "bookingDateTime"));
@@ -171,6 +190,7 @@ public class TransactionsApiController implements TransactionsApi {
 
     @Override
     public ResponseEntity<OBReadTransaction6> getTransactions(int page,
+            String cursor,
             String authorization,
             String xFapiAuthDate,
             LocalDateTime fromBookingDateTime,
@@ -183,6 +203,7 @@ public class TransactionsApiController implements TransactionsApi {
         logger.info("getTransactions for consentId: {}, apiClientId: {}, fromBookingDate {} toBookingDate {} pageNumber {} ",
                 consentId, apiClientId, fromBookingDateTime, toBookingDateTime, page);
 
+        final UriComponentsBuilder resourceUri = FRTransactionKeysetLinks.resourceUri(buildGetTransactionsUri(), fromBookingDateTime, toBookingDateTime);
         if (toBookingDateTime == null) {
             toBookingDateTime = LocalDateTime.now();
         }
@@ -193,6 +214,11 @@ public class TransactionsApiController implements TransactionsApi {
         final AccountAccessConsent consent = accountResourceAccessService.getConsentForResourceAccess(consentId, apiClientId);
         checkPermissions(consent);
 
+        if (isKeysetPagination(page, cursor)) {
+            return getTransactionsKeysetPage(resourceUri, consent.getAuthorisedAccountIds(), fromBookingDateTime,
+                    toBookingDateTime, consent.getRequestObj().getData().getPermissions(), cursor);
+        }
+
         Page<FRTransaction> body = FRTransactionRepository.byAccountIdInAndBookingDateTimeBetweenWithPermissions(consent.getAuthorisedAccountIds(),
                 new Date(fromBookingDateTime.toInstant(ZoneOffset.UTC).toEpochMilli()), new Date(toBookingDateTime.toInstant(ZoneOffset.UTC).toEpochMilli()), consent.getRequestObj().getData().getPermissions(),
                 PageRequest.of(page, pageLimitTransactions, Sort.Direction.ASC, "bookingDateTime"));
@@ -212,6 +238,46 @@ public class TransactionsApiController implements TransactionsApi {
                 .meta(PaginationUtil.generateMetaData(totalPages)));
     }
 
+    /**
+     * Keyset pagination is used when it is enabled for the first page, or whenever the TPP follows a cursor link.
+     * An explicit page number keeps the offset based behaviour for TPPs that still navigate by page.
+     */
+    private boolean isKeysetPagination(int page, String cursor) {
+        return cursor != null || (keysetPaginationEnabled && page == 0);
+    }
+
+    private ResponseEntity<OBReadTransaction6> getTransactionsKeysetPage(UriComponentsBuilder resourceUri, List<String> accountIds,
+            LocalDateTime fromBookingDateTime, LocalDateTime toBookingDateTime,
+            List<FRExternalPermissionsCode> permissions, String cursor) throws OBErrorException {
+        final Date from = new Date(fromBookingDateTime.toInstant(ZoneOffset.UTC).toEpochMilli());
+        final Date to = new Date(toBookingDateTime.toInstant(ZoneOffset.UTC).toEpochMilli());
+
+        final Slice<FRTransaction> response = FRTransactionRepository.byAccountIdInAndBookingDateTimeBetweenWithPermissions(
+                accountIds, from, to, permissions, FRTransactionKeysetLinks.decodeCursor(cursor), pageLimitTransactions);
+
+        List<OBTransaction6> transactions = response.getContent()
+                .stream()
+                .map(FRTransaction::getTransaction)
+                .map(FRTransactionConverter::toOBTransaction6)
+                .map(t -> accountDataInternalIdFilter.apply(t))
+                .collect(Collectors.toList());
+
+        final String nextCursor = FRTransactionKeysetLinks.nextCursor(response);
+
+        final Meta meta;
+        if (keysetPaginationTotalPages) {
+            long total = FRTransactionRepository.countByAccountIdInAndBookingDateTimeBetweenWithPermissions(accountIds, from, to, permissions);
+            meta = PaginationUtil.generateMetaData((int) Math.ceil((double) total / pageLimitTransactions));
+        } else {
+            meta = new Meta();
+        }
+
+        return ResponseEntity.ok(new OBReadTransaction6()
+                .data(new OBReadDataTransaction6().transaction(transactions))
+                .links(PaginationUtil.generateCursorLinks(resourceUri, cursor, nextCursor))
+                .meta(meta));
+    }
+
     private String buildGetAccountTransactionUri(String accountId) {
         return linkTo(getClass()).slash("accounts").slash(accountId).slash("transactions").toString();
     }
@@ -25,6 +25,7 @@ import com.forgerock.sapi.gateway.ob.uk.rs.server.v4.common.util.PaginationUtil;
 import com.forgerock.sapi.gateway.ob.uk.rs.server.service.account.consent.AccountResourceAccessService;
 import com.forgerock.sapi.gateway.rcs.consent.store.datamodel.account.v3_1_10.AccountAccessConsent;
 import com.forgerock.sapi.gateway.rs.resource.store.repo.entity.account.FRTransaction;
+import com.forgerock.sapi.gateway.rs.resource.store.repo.mongo.accounts.transactions.FRTransactionKeysetLinks;
 import com.forgerock.sapi.gateway.rs.resource.store.repo.mongo.accounts.transactions.FRTransactionRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -32,12 +33,15 @@ import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
+import org.springframework.web.util.UriComponentsBuilder;
 import uk.org.openbanking.datamodel.v4.account.OBReadDataTransaction6;
 import uk.org.openbanking.datamodel.v4.account.OBReadTransaction6;
 import uk.org.openbanking.datamodel.v4.account.OBTransaction6;
+import uk.org.openbanking.datamodel.v4.common.Meta;
 
 import java.time.LocalDateTime;
 import java.time.Period;
@@ -56,6 +60,10 @@ public class TransactionsApiController implements TransactionsApi {
 
     private final int pageLimitTransactions;
 
+    private final boolean keysetPaginationEnabled;
+
+    private final boolean keysetPaginationTotalPages;
+
     private final FRTransactionRepository frTransactionRepository;
 
     private final AccountDataInternalIdFilter accountDataInternalIdFilter;
@@ -68,19 +76,24 @@ public class TransactionsApiController implements TransactionsApi {
             FRExternalPermissionsCode.READTRANSACTIONSDEBITS);
 
     public TransactionsApiController(@Value("${rs.page.default.transaction.size:120}") int pageLimitTransactions,
+                                     @Value("${rs.page.transaction.keyset.enabled:false}") boolean keysetPaginationEnabled,
+                                     @Value("${rs.page.transaction.keyset.total-pages:false}") boolean keysetPaginationTotalPages,
                                      FRTransactionRepository FRTransactionRepositoryV4,
                                      AccountDataInternalIdFilter accountDataInternalIdFilter, @Qualifier("v4.0.0DefaultAccountResourceAccessService") AccountResourceAccessService accountResourceAccessService) {
         this.pageLimitTransactions = pageLimitTransactions;
+        this.keysetPaginationEnabled = keysetPaginationEnabled;
+        this.keysetPaginationTotalPages = keysetPaginationTotalPages;
         this.frTransactionRepository = FRTransactionRepositoryV4;
         this.accountDataInternalIdFilter = accountDataInternalIdFilter;
         this.accountResourceAccessService = accountResourceAccessService;
     }
 
     @Override
-    public ResponseEntity<OBReadTransaction6> getTransactions(String authorization, String xFapiAuthDate, String xFapiCustomerIpAddress, String xFapiInteractionId, String xCustomerUserAgent, LocalDateTime fromBookingDateTime, LocalDateTime toBookingDateTime, String apiClientId, String consentId, int page) throws OBErrorException {
+    public ResponseEntity<OBReadTransaction6> getTransactions(String authorization, String xFapiAuthDate, String xFapiCustomerIpAddress, String xFapiInteractionId, String xCustomerUserAgent, LocalDateTime fromBookingDateTime, LocalDateTime toBookingDateTime, String apiClientId, String consentId, int page, String cursor) throws OBErrorException {
         logger.info("getTransactions for consentId: {}, apiClientId: {}, fromBookingDate {} toBookingDate {} pageNumber {} ",
                 consentId, apiClientId, fromBookingDateTime, toBookingDateTime, page);
 
+        final UriComponentsBuilder resourceUri = FRTransactionKeysetLinks.resourceUri(buildGetTransactionsUri(), fromBookingDateTime, toBookingDateTime);
         if (toBookingDateTime == null) {
             toBookingDateTime = LocalDateTime.now();
         }
@@ -91,6 +104,11 @@ public class TransactionsApiController implements TransactionsApi {
         final AccountAccessConsent consent = accountResourceAccessService.getConsentForResourceAccess(consentId, apiClientId);
         checkPermissions(consent);
 
+        if (isKeysetPagination(page, cursor)) {
+            return getTransactionsKeysetPage(resourceUri, consent.getAuthorisedAccountIds(), fromBookingDateTime,
+                    toBookingDateTime, consent.getRequestObj().getData().getPermissions(), cursor);
+        }
+
         Page<FRTransaction> body = frTransactionRepository.byAccountIdInAndBookingDateTimeBetweenWithPermissions(consent.getAuthorisedAccountIds(),
                 new Date(fromBookingDateTime.toInstant(ZoneOffset.UTC).toEpochMilli()), new Date(toBookingDateTime.toInstant(ZoneOffset.UTC).toEpochMilli()), consent.getRequestObj().getData().getPermissions(),
                 PageRequest.of(page, pageLimitTransactions, Sort.Direction.ASC, "bookingDateTime"));
@@ -111,11 +129,12 @@ public class TransactionsApiController implements TransactionsApi {
     }
 
     @Override
-    public ResponseEntity<OBReadTransaction6> getAccountsAccountIdTransactions(String accountId, String authorization, String xFapiAuthDate, String xFapiCustomerIpAddress, String xFapiInteractionId, String xCustomerUserAgent, LocalDateTime fromBookingDateTime, LocalDateTime toBookingDateTime, String apiClientId, String consentId, int page) throws OBErrorException {
+    public ResponseEntity<OBReadTransaction6> getAccountsAccountIdTransactions(String accountId, String authorization, String xFapiAuthDate, String xFapiCustomerIpAddress, String xFapiInteractionId, String xCustomerUserAgent, LocalDateTime fromBookingDateTime, LocalDateTime toBookingDateTime, String apiClientId, String consentId, int page, String cursor) throws OBErrorException {
         logger.info("getAccountTransactions for accountId: {}, consentId: {}, apiClientId: {}", accountId, consentId, apiClientId);
         logger.debug("transactionStore request transactionFrom {} transactionTo {} ",
                 fromBookingDateTime, toBookingDateTime);
 
+        final UriComponentsBuilder resourceUri = FRTransactionKeysetLinks.resourceUri(buildGetAccountTransactionUri(accountId), fromBookingDateTime, toBookingDateTime);
         if (toBookingDateTime == null) {
             toBookingDateTime = LocalDateTime.now();
         }
@@ -126,6 +145,11 @@ public class TransactionsApiController implements TransactionsApi {
         final AccountAccessConsent consent = accountResourceAccessService.getConsentForResourceAccess(consentId, apiClientId, accountId);
         checkPermissions(consent);
 
+        if (isKeysetPagination(page, cursor)) {
+            return getTransactionsKeysetPage(resourceUri, List.of(accountId), fromBookingDateTime,
+                    toBookingDateTime, consent.getRequestObj().getData().getPermissions(), cursor);
+        }
+
         Page<FRTransaction> response = frTransactionRepository.byAccountIdAndBookingDateTimeBetweenWithPermissions(accountId,
                 new Date(fromBookingDateTime.toInstant(ZoneOffset.UTC).toEpochMilli()), new Date(toBookingDateTime.toInstant(ZoneOffset.UTC).toEpochMilli()), consent.getRequestObj().getData().getPermissions(),
                 PageRequest.of(page, pageLimitTransactions, Sort.Direction.ASC, "bookingDateTime"));
@@ -191,6 +215,46 @@ public class TransactionsApiController implements TransactionsApi {
 //                .meta(PaginationUtilV4.generateMetaData(totalPages)));
 //    }
 
+    /**
+     * Keyset pagination is used when it is enabled for the first page, or whenever the TPP follows a cursor link.
+     * An explicit page number keeps the offset based behaviour for TPPs that still navigate by page.
+     */
+    private boolean isKeysetPagination(int page, String cursor) {
+        return cursor != null || (keysetPaginationEnabled && page == 0);
+    }
+
+    private ResponseEntity<OBReadTransaction6> getTransactionsKeysetPage(UriComponentsBuilder resourceUri, List<String> accountIds,
+                                                                         LocalDateTime fromBookingDateTime, LocalDateTime toBookingDateTime,
+                                                                         List<FRExternalPermissionsCode> permissions, String cursor) throws OBErrorException {
+        final Date from = new Date(fromBookingDateTime.toInstant(ZoneOffset.UTC).toEpochMilli());
+        final Date to = new Date(toBookingDateTime.toInstant(ZoneOffset.UTC).toEpochMilli());
+
+        final Slice<FRTransaction> response = frTransactionRepository.byAccountIdInAndBookingDateTimeBetweenWithPermissions(
+                accountIds, from, to, permissions, FRTransactionKeysetLinks.decodeCursor(cursor), pageLimitTransactions);
+
+        List<OBTransaction6> transactions = response.getContent()
+                .stream()
+                .map(FRTransaction::getTransaction)
+                .map(FRTransactionConverter::toOBTransaction6)
+                .map(accountDataInternalIdFilter::apply)
+                .collect(Collectors.toList());
+
+        final String nextCursor = FRTransactionKeysetLinks.nextCursor(response);
+
+        final Meta meta;
+        if (keysetPaginationTotalPages) {
+            long total = frTransactionRepository.countByAccountIdInAndBookingDateTimeBetweenWithPermissions(accountIds, from, to, permissions);
+            meta = PaginationUtil.generateMetaData((int) Math.ceil((double) total / pageLimitTransactions));
+        } else {
+            meta = new Meta();
+        }
+
+        return ResponseEntity.ok(new OBReadTransaction6()
+                .data(new OBReadDataTransaction6().transaction(transactions))
+                .links(PaginationUtil.generateCursorLinks(resourceUri, cursor, nextCursor))
+                .meta(meta));
+    }
+
     private String buildGetAccountTransactionUri(String accountId) {
         return linkTo(getClass()).slash("accounts").slash(accountId).slash("transactions").toString();
     }
@@ -17,16 +17,19 @@ package com.forgerock.sapi.gateway.ob.uk.rs.server.api.obie.event.v3_1_10.aggreg
 
 import static com.forgerock.sapi.gateway.ob.uk.common.datamodel.converter.v3.event.FREventPollingConverter.toFREventPolling;
 
-import java.util.Map;
 
 import jakarta.servlet.http.HttpServletRequest;
 
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
+import org.springframework.web.context.request.async.DeferredResult;
 
 import com.forgerock.sapi.gateway.ob.uk.common.datamodel.event.FREventPolling;
 import com.forgerock.sapi.gateway.ob.uk.common.error.OBErrorResponseException;
 import com.forgerock.sapi.gateway.ob.uk.rs.obie.api.event.v3_1_10.aggregatedpolling.AggregatedPollingApi;
+import com.forgerock.sapi.gateway.ob.uk.rs.server.common.logging.PayloadLoggingPolicy;
+import com.forgerock.sapi.gateway.ob.uk.rs.server.service.event.EventLongPollingService;
+import com.forgerock.sapi.gateway.ob.uk.rs.server.service.event.EventNotifications;
 import com.forgerock.sapi.gateway.ob.uk.rs.server.service.event.EventPollingService;
 
 import lombok.extern.slf4j.Slf4j;
@@ -37,13 +40,18 @@ import uk.org.openbanking.datamodel.v3.event.OBEventPollingResponse1;
 @Slf4j
 public class AggregatedPollingApiController implements AggregatedPollingApi {
     private final EventPollingService eventPollingService;
+    private final EventLongPollingService eventLongPollingService;
+    private final PayloadLoggingPolicy payloadLoggingPolicy;
 
-    public AggregatedPollingApiController(EventPollingService eventPollingService) {
+    public AggregatedPollingApiController(EventPollingService eventPollingService, EventLongPollingService eventLongPollingService,
+                                          PayloadLoggingPolicy payloadLoggingPolicy) {
         this.eventPollingService = eventPollingService;
+        this.eventLongPollingService = eventLongPollingService;
+        this.payloadLoggingPolicy = payloadLoggingPolicy;
     }
 
     @Override
-    public ResponseEntity<OBEventPollingResponse1> pollEvents(
+    public DeferredResult<ResponseEntity<OBEventPollingResponse1>> pollEvents(
             OBEventPolling1 obEventPolling,
             String authorization,
             String xFapiInteractionId,
@@ -51,19 +59,22 @@ public class AggregatedPollingApiController implements AggregatedPollingApi {
             HttpServletRequest request
     ) throws OBErrorResponseException {
         FREventPolling frEventPolling = toFREventPolling(obEventPolling);
-        log.debug("apiClient '{}' sent aggregated polling request: {}", apiClientId, obEventPolling);
+        if (payloadLoggingPolicy.shouldLog(log)) {
+            log.debug("apiClient '{}' sent aggregated polling request: {}", apiClientId, payloadLoggingPolicy.summarise(obEventPolling));
+        }
         eventPollingService.acknowledgeEvents(frEventPolling, apiClientId);
         eventPollingService.recordTppEventErrors(frEventPolling, apiClientId);
-        Map<String, String> allEventNotifications = eventPollingService.fetchNewEvents(frEventPolling, apiClientId);
-
-        // Apply limit on returned events
-        Map<String, String> truncatedEventNotifications = eventPollingService.truncateEvents(obEventPolling.getMaxEvents(), allEventNotifications, apiClientId);
-        boolean moreAvailable = truncatedEventNotifications.size() < allEventNotifications.size();
+        return eventLongPollingService.pollEvents(frEventPolling, apiClientId,
+                eventNotifications -> toResponse(eventNotifications, apiClientId));
+    }
 
+    private ResponseEntity<OBEventPollingResponse1> toResponse(EventNotifications eventNotifications, String apiClientId) {
         ResponseEntity<OBEventPollingResponse1> response = ResponseEntity.ok(new OBEventPollingResponse1()
-                .sets(truncatedEventNotifications)
-                .moreAvailable((truncatedEventNotifications.isEmpty()) ? null : moreAvailable));
-        log.debug("apiClient '{}' aggregated polling response: {}", apiClientId, response.getBody());
+                .sets(eventNotifications.getSets())
+                .moreAvailable((eventNotifications.isEmpty()) ? null : eventNotifications.isMoreAvailable()));
+        if (payloadLoggingPolicy.shouldLog(log)) {
+            log.debug("apiClient '{}' aggregated polling response: {}", apiClientId, payloadLoggingPolicy.summarise(response::getBody));
+        }
         return response;
     }
 }
@@ -18,14 +18,17 @@ package com.forgerock.sapi.gateway.ob.uk.rs.server.api.obie.event.v4_0_0.aggrega
 import com.forgerock.sapi.gateway.ob.uk.common.datamodel.event.FREventPolling;
 import com.forgerock.sapi.gateway.ob.uk.common.error.OBErrorResponseException;
 import com.forgerock.sapi.gateway.ob.uk.rs.obie.api.event.v4_0_0.aggregatedpolling.AggregatedPollingApi;
+import com.forgerock.sapi.gateway.ob.uk.rs.server.common.logging.PayloadLoggingPolicy;
+import com.forgerock.sapi.gateway.ob.uk.rs.server.service.event.EventLongPollingService;
+import com.forgerock.sapi.gateway.ob.uk.rs.server.service.event.EventNotifications;
 import com.forgerock.sapi.gateway.ob.uk.rs.server.service.event.EventPollingService;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
+import org.springframework.web.context.request.async.DeferredResult;
 import uk.org.openbanking.datamodel.v4.event.OBEventPolling1;
 import uk.org.openbanking.datamodel.v4.event.OBEventPollingResponse1;
 
-import java.util.Map;
 
 import static com.forgerock.sapi.gateway.ob.uk.common.datamodel.converter.v4.event.FREventPollingConverter.toFREventPolling;
 
@@ -33,27 +36,35 @@ import static com.forgerock.sapi.gateway.ob.uk.common.datamodel.converter.v4.eve
 @Slf4j
 public class AggregatedPollingApiController implements AggregatedPollingApi {
     private final EventPollingService eventPollingService;
+    private final EventLongPollingService eventLongPollingService;
+    private final PayloadLoggingPolicy payloadLoggingPolicy;
 
-    public AggregatedPollingApiController(EventPollingService eventPollingService) {
+    public AggregatedPollingApiController(EventPollingService eventPollingService, EventLongPollingService eventLongPollingService,
+                                          PayloadLoggingPolicy payloadLoggingPolicy) {
         this.eventPollingService = eventPollingService;
+        this.eventLongPollingService = eventLongPollingService;
+        this.payloadLoggingPolicy = payloadLoggingPolicy;
     }
 
     @Override
-    public ResponseEntity<OBEventPollingResponse1> createEvents(String authorization, OBEventPolling1 obEventPolling1, String xFapiAuthDate, String xFapiCustomerIpAddress, String xFapiInteractionId, String xCustomerUserAgent, String apiClientId) throws OBErrorResponseException {
+    public DeferredResult<ResponseEntity<OBEventPollingResponse1>> createEvents(String authorization, OBEventPolling1 obEventPolling1, String xFapiAuthDate, String xFapiCustomerIpAddress, String xFapiInteractionId, String xCustomerUserAgent, String apiClientId) throws OBErrorResponseException {
         FREventPolling frEventPolling = toFREventPolling(obEventPolling1);
-        log.debug("apiClient '{}' sent aggregated polling request: {}", apiClientId, obEventPolling1);
+        if (payloadLoggingPolicy.shouldLog(log)) {
+            log.debug("apiClient '{}' sent aggregated polling request: {}", apiClientId, payloadLoggingPolicy.summarise(obEventPolling1));
+        }
         eventPollingService.acknowledgeEvents(frEventPolling, apiClientId);
         eventPollingService.recordTppEventErrors(frEventPolling, apiClientId);
-        Map<String, String> allEventNotifications = eventPollingService.fetchNewEvents(frEventPolling, apiClientId);
-
-        // Apply limit on returned events
-        Map<String, String> truncatedEventNotifications = eventPollingService.truncateEvents(obEventPolling1.getMaxEvents(), allEventNotifications, apiClientId);
-        boolean moreAvailable = truncatedEventNotifications.size() < allEventNotifications.size();
+        return eventLongPollingService.pollEvents(frEventPolling, apiClientId,
+                eventNotifications -> toResponse(eventNotifications, apiClientId));
+    }
 
+    private ResponseEntity<OBEventPollingResponse1> toResponse(EventNotifications eventNotifications, String apiClientId) {
         ResponseEntity<OBEventPollingResponse1> response = ResponseEntity.ok(new OBEventPollingResponse1()
-                .sets(truncatedEventNotifications)
-                .moreAvailable((truncatedEventNotifications.isEmpty()) ? null : moreAvailable));
-        log.debug("apiClient '{}' aggregated polling response: {}", apiClientId, response.getBody());
+                .sets(eventNotifications.getSets())
+                .moreAvailable((eventNotifications.isEmpty()) ? null : eventNotifications.isMoreAvailable()));
+        if (payloadLoggingPolicy.shouldLog(log)) {
+            log.debug("apiClient '{}' aggregated polling response: {}", apiClientId, payloadLoggingPolicy.summarise(response::getBody));
+        }
         return response;
     }
 }
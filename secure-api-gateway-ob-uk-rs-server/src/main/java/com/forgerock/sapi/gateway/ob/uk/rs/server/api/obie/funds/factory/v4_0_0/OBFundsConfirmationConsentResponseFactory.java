@@ -15,7 +15,6 @@
  */
 package com.forgerock.sapi.gateway.ob.uk.rs.server.api.obie.funds.factory.v4_0_0;
 
-import com.forgerock.sapi.gateway.ob.uk.common.datamodel.converter.v3.mapper.FRModelMapper;
 import com.forgerock.sapi.gateway.ob.uk.common.datamodel.funds.FRFundsConfirmationConsentData;
 import com.forgerock.sapi.gateway.ob.uk.rs.server.v4.common.util.PaginationUtil;
 import com.forgerock.sapi.gateway.ob.uk.rs.server.v4.common.util.link.LinksHelper;
@@ -23,12 +22,12 @@ import com.forgerock.sapi.gateway.rcs.consent.store.datamodel.funds.v3_1_10.Fund
 import org.joda.time.DateTime;
 import org.springframework.stereotype.Component;
 
-import uk.org.openbanking.datamodel.v4.common.OBStatusReason;
 import uk.org.openbanking.datamodel.v4.fund.OBFundsConfirmationConsentResponse1;
 import uk.org.openbanking.datamodel.v4.fund.OBFundsConfirmationConsentResponse1Data;
 
 import static com.forgerock.sapi.gateway.ob.uk.common.datamodel.converter.v4.common.FRAccountIdentifierConverter.toOBFundsConfirmationConsent1DataDebtorAccount;
 import static com.forgerock.sapi.gateway.ob.uk.common.datamodel.converter.v4.common.FRFundsConfirmationConsentStatusConverter.toOBFundsConfirmationConsentStatusV4;
+import static com.forgerock.sapi.gateway.ob.uk.rs.server.v4.common.mapper.OBStatusReasonMapper.toOBStatusReason;
 
 import java.util.Collections;
 
@@ -47,7 +46,7 @@ public class OBFundsConfirmationConsentResponseFactory {
                                 .status(toOBFundsConfirmationConsentStatusV4(consent.getStatus()))
                                 .expirationDateTime(frFundsConfirmationConsentData.getExpirationDateTime())
                                 .debtorAccount(toOBFundsConfirmationConsent1DataDebtorAccount(frFundsConfirmationConsentData.getDebtorAccount()))
-                                .statusReason(Collections.singletonList(FRModelMapper.map(data.getStatusReason(), OBStatusReason.class)))
+                                .statusReason(Collections.singletonList(toOBStatusReason(data.getStatusReason())))
                 )
                 .meta(PaginationUtil.generateMetaData(1))
                 .links(LinksHelper.createFundsConfirmationConsentSelfLink(controllerClass, consent.getId()));
@@ -17,6 +17,7 @@ package com.forgerock.sapi.gateway.ob.uk.rs.server.api.obie.funds.v3_1_10;
 
 import java.security.Principal;
 
+import com.forgerock.sapi.gateway.ob.uk.rs.server.common.logging.PayloadLoggingPolicy;
 import com.forgerock.sapi.gateway.rcs.consent.store.client.funds.FundsConfirmationConsentStoreClient;
 import jakarta.servlet.http.HttpServletRequest;
 
@@ -44,9 +45,13 @@ public class FundsConfirmationConsentsApiController implements FundsConfirmation
 
     private final OBFundsConfirmationConsentResponseFactory obFundsConfirmationConsentResponseFactory;
 
-    public FundsConfirmationConsentsApiController(@Qualifier("v3.1.10RestFundsConfirmationConsentStoreClient") FundsConfirmationConsentStoreClient fundsConfirmationConsentStoreClient, OBFundsConfirmationConsentResponseFactory obFundsConfirmationConsentResponseFactory) {
+    private final PayloadLoggingPolicy payloadLoggingPolicy;
+
+    public FundsConfirmationConsentsApiController(@Qualifier("v3.1.10RestFundsConfirmationConsentStoreClient") FundsConfirmationConsentStoreClient fundsConfirmationConsentStoreClient, OBFundsConfirmationConsentResponseFactory obFundsConfirmationConsentResponseFactory,
+                                                  PayloadLoggingPolicy payloadLoggingPolicy) {
         this.fundsConfirmationConsentStoreClient = fundsConfirmationConsentStoreClient;
         this.obFundsConfirmationConsentResponseFactory = obFundsConfirmationConsentResponseFactory;
+        this.payloadLoggingPolicy = payloadLoggingPolicy;
     }
 
     @Override
@@ -63,7 +68,9 @@ public class FundsConfirmationConsentsApiController implements FundsConfirmation
         final CreateFundsConfirmationConsentRequest createConsentRequest = new CreateFundsConfirmationConsentRequest();
         createConsentRequest.setApiClientId(apiClientId);
         createConsentRequest.setConsentRequest(FRFundsConfirmationConsentConverter.toFRFundsConfirmationConsent(body));
-        log.info("CreateFundsConfirmationConsentRequest: {}", createConsentRequest);
+        if (payloadLoggingPolicy.shouldLog(log)) {
+            log.debug("CreateFundsConfirmationConsentRequest: {}", payloadLoggingPolicy.summarise(createConsentRequest));
+        }
         return ResponseEntity.status(HttpStatus.CREATED)
                 .body(obFundsConfirmationConsentResponseFactory.buildConsentResponse(
                         fundsConfirmationConsentStoreClient.createConsent(createConsentRequest),
@@ -18,6 +18,7 @@ package com.forgerock.sapi.gateway.ob.uk.rs.server.api.obie.funds.v4_0_0;
 import com.forgerock.sapi.gateway.ob.uk.common.datamodel.converter.v4.funds.FRFundsConfirmationConsentConverter;
 import com.forgerock.sapi.gateway.ob.uk.rs.obie.api.funds.v4_0_0.FundsConfirmationConsentsApi;
 import com.forgerock.sapi.gateway.ob.uk.rs.server.api.obie.funds.factory.v4_0_0.OBFundsConfirmationConsentResponseFactory;
+import com.forgerock.sapi.gateway.ob.uk.rs.server.common.logging.PayloadLoggingPolicy;
 import com.forgerock.sapi.gateway.rcs.consent.store.client.funds.FundsConfirmationConsentStoreClient;
 import com.forgerock.sapi.gateway.rcs.consent.store.datamodel.funds.v3_1_10.CreateFundsConfirmationConsentRequest;
 import com.forgerock.sapi.gateway.rcs.consent.store.datamodel.funds.v3_1_10.FundsConfirmationConsent;
@@ -37,9 +38,13 @@ public class FundsConfirmationConsentsApiController implements FundsConfirmation
 
     private final OBFundsConfirmationConsentResponseFactory obFundsConfirmationConsentResponseFactory;
 
-    public FundsConfirmationConsentsApiController(@Qualifier("v4.0.0RestFundsConfirmationConsentStoreClient") FundsConfirmationConsentStoreClient fundsConfirmationConsentStoreClient, OBFundsConfirmationConsentResponseFactory obFundsConfirmationConsentResponseFactory) {
+    private final PayloadLoggingPolicy payloadLoggingPolicy;
+
+    public FundsConfirmationConsentsApiController(@Qualifier("v4.0.0RestFundsConfirmationConsentStoreClient") FundsConfirmationConsentStoreClient fundsConfirmationConsentStoreClient, OBFundsConfirmationConsentResponseFactory obFundsConfirmationConsentResponseFactory,
+                                                  PayloadLoggingPolicy payloadLoggingPolicy) {
         this.fundsConfirmationConsentStoreClient = fundsConfirmationConsentStoreClient;
         this.obFundsConfirmationConsentResponseFactory = obFundsConfirmationConsentResponseFactory;
+        this.payloadLoggingPolicy = payloadLoggingPolicy;
     }
 
     @Override
@@ -47,7 +52,9 @@ public class FundsConfirmationConsentsApiController implements FundsConfirmation
         final CreateFundsConfirmationConsentRequest createConsentRequest = new CreateFundsConfirmationConsentRequest();
         createConsentRequest.setApiClientId(apiClientId);
         createConsentRequest.setConsentRequest(FRFundsConfirmationConsentConverter.toFRFundsConfirmationConsent(obFundsConfirmationConsent1));
-        log.info("CreateFundsConfirmationConsentRequest: {}", createConsentRequest);
+        if (payloadLoggingPolicy.shouldLog(log)) {
+            log.debug("CreateFundsConfirmationConsentRequest: {}", payloadLoggingPolicy.summarise(createConsentRequest));
+        }
         return ResponseEntity.status(HttpStatus.CREATED)
                 .body(obFundsConfirmationConsentResponseFactory.buildConsentResponse(
                         fundsConfirmationConsentStoreClient.createConsent(createConsentRequest),
@@ -22,8 +22,8 @@ import org.joda.time.DateTime;
 import org.springframework.stereotype.Component;
 
 import com.forgerock.sapi.gateway.ob.uk.common.datamodel.converter.v3.common.FRChargeConverter;
-import com.forgerock.sapi.gateway.ob.uk.common.datamodel.converter.v3.mapper.FRModelMapper;
 import com.forgerock.sapi.gateway.ob.uk.common.datamodel.converter.v3.payment.FRWriteDomesticStandingOrderConsentConverter;
+import com.forgerock.sapi.gateway.ob.uk.rs.server.common.mapper.OBConsentResponseInitiationMapper;
 import com.forgerock.sapi.gateway.rcs.consent.store.datamodel.payment.domesticstandingorder.v3_1_10.DomesticStandingOrderConsent;
 
 import uk.org.openbanking.datamodel.v3.common.Meta;
@@ -32,7 +32,6 @@ import uk.org.openbanking.datamodel.v3.payment.OBWriteDomesticStandingOrderConse
 import uk.org.openbanking.datamodel.v3.payment.OBWriteDomesticStandingOrderConsent5Data;
 import uk.org.openbanking.datamodel.v3.payment.OBWriteDomesticStandingOrderConsentResponse6;
 import uk.org.openbanking.datamodel.v3.payment.OBWriteDomesticStandingOrderConsentResponse6Data;
-import uk.org.openbanking.datamodel.v3.payment.OBWriteDomesticStandingOrderConsentResponse6DataInitiation;
 
 @Component
 public class OBWriteDomesticStandingOrderConsentResponse6Factory {
@@ -47,7 +46,7 @@ public class OBWriteDomesticStandingOrderConsentResponse6Factory {
         data.readRefundAccount(obConsentData.getReadRefundAccount());
         data.scASupportData(obConsentData.getScASupportData());
         // Annoying quirk of the OB schema, consent request and response initiation types are different but produce identical json
-        data.initiation(FRModelMapper.map(obConsentData.getInitiation(), OBWriteDomesticStandingOrderConsentResponse6DataInitiation.class));
+        data.initiation(OBConsentResponseInitiationMapper.INSTANCE.toOBWriteDomesticStandingOrderConsentResponse6DataInitiation(obConsentData.getInitiation()));
         data.charges(FRChargeConverter.toOBWriteDomesticConsentResponse5DataCharges(consent.getCharges()));
         data.consentId(consent.getId());
         data.status(OBPaymentConsentStatus.fromValue(consent.getStatus()));
@@ -22,9 +22,9 @@ import org.joda.time.DateTime;
 import org.springframework.stereotype.Component;
 
 import com.forgerock.sapi.gateway.ob.uk.common.datamodel.converter.v3.common.FRChargeConverter;
-import com.forgerock.sapi.gateway.ob.uk.common.datamodel.converter.v3.mapper.FRModelMapper;
 import com.forgerock.sapi.gateway.ob.uk.common.datamodel.converter.v3.payment.FRWriteInternationalScheduledConsentConverter;
 import com.forgerock.sapi.gateway.ob.uk.common.datamodel.payment.FRWriteInternationalScheduledConsent;
+import com.forgerock.sapi.gateway.ob.uk.rs.server.common.mapper.OBConsentResponseInitiationMapper;
 import com.forgerock.sapi.gateway.rcs.consent.store.datamodel.payment.internationalscheduled.v3_1_10.InternationalScheduledPaymentConsent;
 
 import uk.org.openbanking.datamodel.v3.common.Meta;
@@ -33,7 +33,6 @@ import uk.org.openbanking.datamodel.v3.payment.OBWriteInternationalScheduledCons
 import uk.org.openbanking.datamodel.v3.payment.OBWriteInternationalScheduledConsent5Data;
 import uk.org.openbanking.datamodel.v3.payment.OBWriteInternationalScheduledConsentResponse6;
 import uk.org.openbanking.datamodel.v3.payment.OBWriteInternationalScheduledConsentResponse6Data;
-import uk.org.openbanking.datamodel.v3.payment.OBWriteInternationalScheduledConsentResponse6DataInitiation;
 
 @Component
 public class OBWriteInternationalScheduledConsentResponse6Factory {
@@ -49,7 +48,7 @@ public class OBWriteInternationalScheduledConsentResponse6Factory {
         data.readRefundAccount(obConsentData.getReadRefundAccount());
         data.scASupportData(obConsentData.getScASupportData());
         // Annoying quirk of the OB schema, consent request and response initiation types are different but produce identical json
-        data.initiation(FRModelMapper.map(obConsentData.getInitiation(), OBWriteInternationalScheduledConsentResponse6DataInitiation.class));
+        data.initiation(OBConsentResponseInitiationMapper.INSTANCE.toOBWriteInternationalScheduledConsentResponse6DataInitiation(obConsentData.getInitiation()));
         data.charges(FRChargeConverter.toOBWriteDomesticConsentResponse5DataCharges(consent.getCharges()));
         data.consentId(consent.getId());
         data.exchangeRateInformation(toOBWriteInternationalConsentResponse6DataExchangeRateInformation(consent.getExchangeRateInformation()));
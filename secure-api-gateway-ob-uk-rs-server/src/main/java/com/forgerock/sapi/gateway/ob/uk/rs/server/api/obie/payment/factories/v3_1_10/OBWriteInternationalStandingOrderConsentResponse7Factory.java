@@ -21,8 +21,8 @@ import org.joda.time.DateTime;
 import org.springframework.stereotype.Component;
 
 import com.forgerock.sapi.gateway.ob.uk.common.datamodel.converter.v3.common.FRChargeConverter;
-import com.forgerock.sapi.gateway.ob.uk.common.datamodel.converter.v3.mapper.FRModelMapper;
 import com.forgerock.sapi.gateway.ob.uk.common.datamodel.payment.FRWriteInternationalStandingOrderConsent;
+import com.forgerock.sapi.gateway.ob.uk.rs.server.common.mapper.OBConsentResponseInitiationMapper;
 import com.forgerock.sapi.gateway.ob.uk.rs.server.common.util.link.LinksHelper;
 import com.forgerock.sapi.gateway.rcs.consent.store.datamodel.payment.internationalstandingorder.v3_1_10.InternationalStandingOrderConsent;
 
@@ -32,7 +32,6 @@ import uk.org.openbanking.datamodel.v3.payment.OBWriteInternationalStandingOrder
 import uk.org.openbanking.datamodel.v3.payment.OBWriteInternationalStandingOrderConsent6Data;
 import uk.org.openbanking.datamodel.v3.payment.OBWriteInternationalStandingOrderConsentResponse7;
 import uk.org.openbanking.datamodel.v3.payment.OBWriteInternationalStandingOrderConsentResponse7Data;
-import uk.org.openbanking.datamodel.v3.payment.OBWriteInternationalStandingOrderConsentResponse7DataInitiation;
 
 @Component
 public class OBWriteInternationalStandingOrderConsentResponse7Factory {
@@ -48,7 +47,7 @@ public class OBWriteInternationalStandingOrderConsentResponse7Factory {
         data.readRefundAccount(obConsentData.getReadRefundAccount());
         data.scASupportData(obConsentData.getScASupportData());
         // Annoying quirk of the OB schema, consent request and response initiation types are different but produce identical json
-        data.initiation(FRModelMapper.map(obConsentData.getInitiation(), OBWriteInternationalStandingOrderConsentResponse7DataInitiation.class));
+        data.initiation(OBConsentResponseInitiationMapper.INSTANCE.toOBWriteInternationalStandingOrderConsentResponse7DataInitiation(obConsentData.getInitiation()));
         data.charges(FRChargeConverter.toOBWriteDomesticConsentResponse5DataCharges(consent.getCharges()));
         data.consentId(consent.getId());
         data.status(OBPaymentConsentStatus.fromValue(consent.getStatus()));
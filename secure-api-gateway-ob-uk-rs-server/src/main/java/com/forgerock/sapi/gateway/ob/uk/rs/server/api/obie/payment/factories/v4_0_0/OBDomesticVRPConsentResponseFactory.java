@@ -16,19 +16,18 @@
 package com.forgerock.sapi.gateway.ob.uk.rs.server.api.obie.payment.factories.v4_0_0;
 
 import static com.forgerock.sapi.gateway.ob.uk.common.datamodel.converter.v4.vrp.FRDomesticVRPConsentConverters.toOBDomesticVRPConsentRequest;
+import static com.forgerock.sapi.gateway.ob.uk.rs.server.v4.common.mapper.OBStatusReasonMapper.toOBStatusReason;
 
 import java.util.Collections;
 
 import org.joda.time.DateTime;
 import org.springframework.stereotype.Component;
 
-import com.forgerock.sapi.gateway.ob.uk.common.datamodel.converter.v3.mapper.FRModelMapper;
 import com.forgerock.sapi.gateway.ob.uk.common.datamodel.converter.v4.common.FRConsentStatusConverter;
 import com.forgerock.sapi.gateway.ob.uk.rs.server.v4.common.util.link.LinksHelper;
 import com.forgerock.sapi.gateway.rcs.consent.store.datamodel.payment.vrp.v3_1_10.DomesticVRPConsent;
 
 import uk.org.openbanking.datamodel.v4.common.Meta;
-import uk.org.openbanking.datamodel.v4.common.OBStatusReason;
 import uk.org.openbanking.datamodel.v4.vrp.OBDomesticVRPConsentRequest;
 import uk.org.openbanking.datamodel.v4.vrp.OBDomesticVRPConsentRequestData;
 import uk.org.openbanking.datamodel.v4.vrp.OBDomesticVRPConsentResponse;
@@ -50,7 +49,7 @@ public class OBDomesticVRPConsentResponseFactory {
                                                             .creationDateTime(new DateTime(consent.getCreationDateTime()))
                                                             .status(FRConsentStatusConverter.toVrpOBPaymentConsentStatusV4(consent.getStatus()))
                                                             .statusUpdateDateTime(new DateTime(consent.getStatusUpdateDateTime()))
-                                                            .statusReason(Collections.singletonList(FRModelMapper.map(data.getStatusReason(), OBStatusReason.class))))
+                                                            .statusReason(Collections.singletonList(toOBStatusReason(data.getStatusReason()))))
                 .risk(obDomesticVRPConsentRequest.getRisk())
                 .links(LinksHelper.createDomesticVrpConsentLink(controllerClass, consent.getId()))
                 .meta(new Meta());
@@ -15,6 +15,7 @@
  */
 package com.forgerock.sapi.gateway.ob.uk.rs.server.api.obie.payment.factories.v4_0_0;
 
+import static com.forgerock.sapi.gateway.ob.uk.rs.server.v4.common.mapper.OBStatusReasonMapper.toOBStatusReason;
 import static com.forgerock.sapi.gateway.ob.uk.rs.server.v4.common.util.link.LinksHelper.createDomesticScheduledPaymentConsentsLink;
 
 import java.util.Collections;
@@ -22,14 +23,12 @@ import java.util.Collections;
 import org.joda.time.DateTime;
 import org.springframework.stereotype.Component;
 
-import com.forgerock.sapi.gateway.ob.uk.common.datamodel.converter.v3.mapper.FRModelMapper;
 import com.forgerock.sapi.gateway.ob.uk.common.datamodel.converter.v4.common.FRChargeConverter;
 import com.forgerock.sapi.gateway.ob.uk.common.datamodel.converter.v4.common.FRConsentStatusConverter;
 import com.forgerock.sapi.gateway.ob.uk.common.datamodel.converter.v4.payment.FRWriteDomesticScheduledConsentConverter;
 import com.forgerock.sapi.gateway.rcs.consent.store.datamodel.payment.domesticscheduled.v3_1_10.DomesticScheduledPaymentConsent;
 
 import uk.org.openbanking.datamodel.v4.common.Meta;
-import uk.org.openbanking.datamodel.v4.common.OBStatusReason;
 import uk.org.openbanking.datamodel.v4.payment.OBWriteDomesticScheduledConsent4;
 import uk.org.openbanking.datamodel.v4.payment.OBWriteDomesticScheduledConsent4Data;
 import uk.org.openbanking.datamodel.v4.payment.OBWriteDomesticScheduledConsentResponse5;
@@ -53,7 +52,7 @@ public class OBWriteDomesticScheduledConsentResponse5Factory {
         data.status(FRConsentStatusConverter.toOBPaymentConsentStatusV4(consent.getStatus()));
         data.creationDateTime(new DateTime(consent.getCreationDateTime()));
         data.statusUpdateDateTime(new DateTime(consent.getStatusUpdateDateTime()));
-        data.statusReason(Collections.singletonList(FRModelMapper.map(data.getStatusReason(), OBStatusReason.class)));
+        data.statusReason(Collections.singletonList(toOBStatusReason(data.getStatusReason())));
 
         return new OBWriteDomesticScheduledConsentResponse5().data(data)
                 .risk(obWriteDomesticScheduledConsent4.getRisk())
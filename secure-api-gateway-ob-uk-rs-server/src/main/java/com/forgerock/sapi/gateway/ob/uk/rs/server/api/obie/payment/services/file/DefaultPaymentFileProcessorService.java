@@ -15,18 +15,22 @@
  */
 package com.forgerock.sapi.gateway.ob.uk.rs.server.api.obie.payment.services.file;
 
+import java.io.Reader;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.Consumer;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.forgerock.sapi.gateway.ob.uk.common.datamodel.payment.FRFilePayment;
 import com.forgerock.sapi.gateway.ob.uk.common.error.OBErrorException;
 import com.forgerock.sapi.gateway.ob.uk.common.error.OBRIErrorType;
 import com.forgerock.sapi.gateway.ob.uk.rs.server.common.payment.file.PaymentFile;
+import com.forgerock.sapi.gateway.ob.uk.rs.server.common.payment.file.PaymentFileSummary;
 import com.forgerock.sapi.gateway.ob.uk.rs.server.common.payment.file.PaymentFileType;
 import com.forgerock.sapi.gateway.ob.uk.rs.server.common.payment.file.processor.PaymentFileProcessor;
 
@@ -82,19 +86,40 @@ public class DefaultPaymentFileProcessorService implements PaymentFileProcessorS
 
     @Override
     public PaymentFile processFile(String fileType, String fileContents) throws OBErrorException {
-        final PaymentFileProcessor paymentFileProcessor = fileTypeProcessorRegistry.get(findPaymentFileType(fileType));
-        if (paymentFileProcessor == null) {
-            throw new OBErrorException(OBRIErrorType.REQUEST_FILE_TYPE_NOT_SUPPORTED, fileType);
-        }
+        final PaymentFileProcessor paymentFileProcessor = getPaymentFileProcessor(fileType);
         try {
             return paymentFileProcessor.processFile(fileContents);
         } catch (OBErrorException ex) {
             throw ex;
         } catch (Throwable t) {
-            // Guard against unexpected exceptions being raised by the processor impl
-            logger.error("Unexpected exception raised processing payment file of type: {}, processorClass: {}",
-                    fileType, paymentFileProcessor, t);
-            throw new OBErrorException(OBRIErrorType.REQUEST_FILE_INVALID, "Failed to parse");
+            throw unexpectedProcessorException(fileType, paymentFileProcessor, t);
+        }
+    }
+
+    @Override
+    public PaymentFileSummary processFile(String fileType, Reader fileContents, Consumer<FRFilePayment> paymentConsumer) throws OBErrorException {
+        final PaymentFileProcessor paymentFileProcessor = getPaymentFileProcessor(fileType);
+        try {
+            return paymentFileProcessor.processFile(fileContents, paymentConsumer);
+        } catch (OBErrorException ex) {
+            throw ex;
+        } catch (Throwable t) {
+            throw unexpectedProcessorException(fileType, paymentFileProcessor, t);
+        }
+    }
+
+    private PaymentFileProcessor getPaymentFileProcessor(String fileType) throws OBErrorException {
+        final PaymentFileProcessor paymentFileProcessor = fileTypeProcessorRegistry.get(findPaymentFileType(fileType));
+        if (paymentFileProcessor == null) {
+            throw new OBErrorException(OBRIErrorType.REQUEST_FILE_TYPE_NOT_SUPPORTED, fileType);
         }
+        return paymentFileProcessor;
+    }
+
+    private OBErrorException unexpectedProcessorException(String fileType, PaymentFileProcessor paymentFileProcessor, Throwable t) {
+        // Guard against unexpected exceptions being raised by the processor impl
+        logger.error("Unexpected exception raised processing payment file of type: {}, processorClass: {}",
+                fileType, paymentFileProcessor, t);
+        return new OBErrorException(OBRIErrorType.REQUEST_FILE_INVALID, "Failed to parse");
     }
 }
@@ -0,0 +1,84 @@
+/*
+ * Copyright © 2020-2025 ForgeRock AS (obst@forgerock.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.forgerock.sapi.gateway.ob.uk.rs.server.api.obie.payment.services.file;
+
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Every recovery-interval fails the file payments whose execution was interrupted, see
+ * {@link FilePaymentExecutionService#recoverInterruptedExecutions(int)}, so that they don't stay InitiationPending
+ * forever. The first run is made as soon as the node starts.
+ */
+@Component
+@ConditionalOnProperty(name = "rs.payment.file.execution.recovery.enabled", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class FilePaymentExecutionRecovery implements SmartLifecycle {
+
+    private final FilePaymentExecutionService filePaymentExecutionService;
+    private final Duration interval;
+    private final int batchSize;
+
+    private ScheduledExecutorService executorService;
+
+    public FilePaymentExecutionRecovery(FilePaymentExecutionService filePaymentExecutionService,
+                                        @Value("${rs.payment.file.execution.recovery.interval:1m}") Duration interval,
+                                        @Value("${rs.payment.file.execution.recovery.batch-size:100}") int batchSize) {
+        this.filePaymentExecutionService = filePaymentExecutionService;
+        this.interval = interval;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public void start() {
+        executorService = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("file-payment-recovery-"));
+        executorService.scheduleWithFixedDelay(this::recover, 0, interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void stop() {
+        if (executorService != null) {
+            executorService.shutdownNow();
+            executorService = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return executorService != null;
+    }
+
+    void recover() {
+        try {
+            int failed;
+            do {
+                failed = filePaymentExecutionService.recoverInterruptedExecutions(batchSize);
+            } while (failed == batchSize);
+        } catch (RuntimeException e) {
+            log.warn("Failed to recover interrupted file payment executions", e);
+        }
+    }
+}
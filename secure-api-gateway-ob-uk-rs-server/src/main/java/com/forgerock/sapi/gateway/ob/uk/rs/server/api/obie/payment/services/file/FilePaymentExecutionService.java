@@ -0,0 +1,310 @@
+/*
+ * Copyright © 2020-2025 ForgeRock AS (obst@forgerock.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.forgerock.sapi.gateway.ob.uk.rs.server.api.obie.payment.services.file;
+
+import static com.forgerock.sapi.gateway.ob.uk.common.datamodel.common.FRSubmissionStatus.INITIATIONCOMPLETED;
+import static com.forgerock.sapi.gateway.ob.uk.common.datamodel.common.FRSubmissionStatus.INITIATIONFAILED;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+import com.forgerock.sapi.gateway.ob.uk.common.datamodel.common.FRAmount;
+import com.forgerock.sapi.gateway.ob.uk.common.datamodel.common.FRSubmissionStatus;
+import com.forgerock.sapi.gateway.ob.uk.common.datamodel.payment.FRFilePayment;
+import com.forgerock.sapi.gateway.ob.uk.common.error.OBErrorException;
+import com.forgerock.sapi.gateway.rcs.consent.store.datamodel.payment.file.v3_1_10.FilePaymentConsent;
+import com.forgerock.sapi.gateway.rs.resource.store.repo.entity.payment.FRFilePaymentLine;
+import com.forgerock.sapi.gateway.rs.resource.store.repo.entity.payment.FRFilePaymentSubmission;
+import com.forgerock.sapi.gateway.rs.resource.store.repo.mongo.payments.FilePaymentExecutionRepository;
+import com.forgerock.sapi.gateway.rs.resource.store.repo.mongo.payments.PaymentFileStore;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Executes the payments of a submitted file payment in the background, so that submitting a file doesn't wait for its
+ * payments to be executed.
+ * <p>
+ * The file is streamed by a file thread, which stores each batch of payments as {@link FRFilePaymentLine}s with the
+ * PENDING status and hands the batch to a worker pool shared by all files. Workers move each payment to COMPLETED or
+ * REJECTED, write the batch's statuses with a single bulk write and add the batch to the submission's progress. The
+ * worker queue is bounded, when it is full the file thread executes the batch itself, so that a large file can't
+ * outrun the workers and the number of payments held in memory stays bounded.
+ * <p>
+ * Once all batches are executed the submission moves to InitiationCompleted, or InitiationFailed if every payment was
+ * rejected. If the file can't be read to the end, the batches not yet executed are cancelled and the file is failed,
+ * every payment of the file which was stored is rejected so that the payments are consistent with the file's status.
+ * <p>
+ * The node executing a file holds a lease on the submission for lease-ttl, renewed as each batch is executed. Files
+ * whose execution was interrupted, e.g. by a restart, are found by {@link #recoverInterruptedExecutions()} once their
+ * lease has expired and are failed, as their file may no longer be held by the consent.
+ */
+@Service
+@Slf4j
+public class FilePaymentExecutionService implements DisposableBean {
+
+    private final PaymentFileProcessorService paymentFileProcessorService;
+    private final PaymentFileStore paymentFileStore;
+    private final FilePaymentExecutionRepository executionRepository;
+    private final int batchSize;
+    private final String nodeId;
+    private final Duration leaseTtl;
+
+    static final String INTERRUPTED_REASON = "File payment execution was interrupted";
+
+    private final ExecutorService fileExecutor;
+    private final ThreadPoolExecutor workerExecutor;
+
+    public FilePaymentExecutionService(PaymentFileProcessorService paymentFileProcessorService,
+                                       PaymentFileStore paymentFileStore,
+                                       FilePaymentExecutionRepository executionRepository,
+                                       @Value("${rs.payment.file.execution.file-threads:2}") int fileThreads,
+                                       @Value("${rs.payment.file.execution.threads:4}") int threads,
+                                       @Value("${rs.payment.file.execution.batch-size:500}") int batchSize,
+                                       @Value("${rs.payment.file.execution.queue-capacity:16}") int queueCapacity,
+                                       @Value("${rs.payment.scheduler.node-id:}") String nodeId,
+                                       @Value("${rs.payment.file.execution.lease-ttl:5m}") Duration leaseTtl) {
+        this.paymentFileProcessorService = paymentFileProcessorService;
+        this.paymentFileStore = paymentFileStore;
+        this.executionRepository = executionRepository;
+        this.batchSize = batchSize;
+        this.nodeId = StringUtils.hasText(nodeId) ? nodeId : UUID.randomUUID().toString();
+        this.leaseTtl = leaseTtl;
+        this.fileExecutor = Executors.newFixedThreadPool(fileThreads, new CustomizableThreadFactory("file-payment-reader-"));
+        this.workerExecutor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), new CustomizableThreadFactory("file-payment-worker-"),
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    /**
+     * Starts executing the payments of the file uploaded for the consent.
+     *
+     * @return completes with the final status of the submission once all of its payments have been executed
+     */
+    public CompletableFuture<FRSubmissionStatus> execute(FRFilePaymentSubmission submission, FilePaymentConsent consent) {
+        final String fileContent = consent.getFileContent();
+        if (fileContent == null) {
+            // The consent can only be authorised once a file is uploaded, so there is nothing to execute
+            log.warn("No file uploaded for consent: {}, file payment: {} will not be executed", consent.getId(), submission.getId());
+            return CompletableFuture.completedFuture(submission.getStatus());
+        }
+        final String fileType = submission.getFilePayment().getData().getInitiation().getFileType();
+        return CompletableFuture.supplyAsync(() -> executeFile(submission.getId(), fileType, fileContent), fileExecutor);
+    }
+
+    private FRSubmissionStatus executeFile(String filePaymentId, String fileType, String fileContent) {
+        if (!executionRepository.tryClaimExecution(filePaymentId, nodeId, leaseTtl)) {
+            log.warn("File payment: {} is no longer pending or is being executed by another node", filePaymentId);
+            return FRSubmissionStatus.INITIATIONPENDING;
+        }
+        log.debug("Executing file payment: {}", filePaymentId);
+        final FileExecution fileExecution = new FileExecution(filePaymentId);
+        try {
+            try (Reader reader = openPaymentFile(fileContent)) {
+                paymentFileProcessorService.processFile(fileType, reader, fileExecution);
+            }
+            final int rejected = fileExecution.awaitBatches();
+            final FRSubmissionStatus status = rejected < fileExecution.lineNumber ? INITIATIONCOMPLETED : INITIATIONFAILED;
+            log.debug("Executed file payment: {}, transactions: {}, rejected: {}", filePaymentId, fileExecution.lineNumber, rejected);
+            if (!executionRepository.completeExecution(filePaymentId, nodeId, status)) {
+                log.warn("Lost the lease on file payment: {} before its execution completed", filePaymentId);
+            }
+            return status;
+        } catch (OBErrorException | IOException | RuntimeException e) {
+            log.error("Failed to execute file payment: {}", filePaymentId, e);
+            fileExecution.cancel();
+            executionRepository.failExecution(filePaymentId, nodeId, "File payment could not be executed: " + e.getMessage());
+            return INITIATIONFAILED;
+        }
+    }
+
+    /**
+     * Fails the pending file payments whose execution was interrupted, those whose lease has expired and those which
+     * were never started although they were submitted more than lease-ttl ago.
+     *
+     * @param limit the maximum number of file payments to fail
+     * @return the number of file payments failed
+     */
+    public int recoverInterruptedExecutions(int limit) {
+        final Date createdBefore = new Date(System.currentTimeMillis() - leaseTtl.toMillis());
+        int failed = 0;
+        for (String filePaymentId : executionRepository.findInterruptedExecutions(createdBefore, limit)) {
+            // Claiming the file first means that only one node fails it, and not whilst it is being executed
+            if (executionRepository.tryClaimExecution(filePaymentId, nodeId, leaseTtl)
+                    && executionRepository.failExecution(filePaymentId, nodeId, INTERRUPTED_REASON)) {
+                log.warn("Failed file payment: {}, its execution was interrupted", filePaymentId);
+                failed++;
+            }
+        }
+        return failed;
+    }
+
+    /**
+     * Streams the lines of the file payment in file order, a batch of lines at a time. The stream must be closed.
+     */
+    public Stream<FRFilePaymentLine> streamLines(String filePaymentId) {
+        return executionRepository.streamLines(filePaymentId, batchSize);
+    }
+
+    private Reader openPaymentFile(String fileContent) {
+        if (PaymentFileStore.isReference(fileContent)) {
+            return new InputStreamReader(paymentFileStore.open(fileContent)
+                    .orElseThrow(() -> new IllegalStateException("Payment file not found: " + fileContent)),
+                    StandardCharsets.UTF_8);
+        }
+        // Files uploaded before the payment file store was introduced are held by the consent store
+        return new StringReader(fileContent);
+    }
+
+    private int executeBatch(FileExecution fileExecution, List<FRFilePaymentLine> lines) {
+        if (fileExecution.cancelled) {
+            // The file is being failed, its lines are rejected by failExecution
+            return 0;
+        }
+        int rejected = 0;
+        for (FRFilePaymentLine line : lines) {
+            executeLine(line);
+            if (line.getPayment().getStatus() == FRFilePayment.PaymentStatus.REJECTED) {
+                rejected++;
+            }
+        }
+        executionRepository.updateLineStatuses(lines);
+        executionRepository.recordProgress(fileExecution.filePaymentId, nodeId, leaseTtl, lines.size(), rejected);
+        return rejected;
+    }
+
+    /**
+     * Executes a single payment of the file, the payments have passed file validation so only the values needed to
+     * move the funds are checked here.
+     */
+    void executeLine(FRFilePaymentLine line) {
+        final FRFilePayment payment = line.getPayment();
+        final String statusReason;
+        if (!isPositiveAmount(payment.getInstructedAmount())) {
+            statusReason = "InstructedAmount must be greater than zero";
+        } else if (!StringUtils.hasText(payment.getCreditorAccountIdentification())) {
+            statusReason = "CreditorAccount Identification is missing";
+        } else {
+            statusReason = null;
+        }
+        payment.setStatus(statusReason == null ? FRFilePayment.PaymentStatus.COMPLETED : FRFilePayment.PaymentStatus.REJECTED);
+        line.setStatusReason(statusReason);
+        line.setStatusUpdateDateTime(new Date());
+    }
+
+    private static boolean isPositiveAmount(FRAmount amount) {
+        if (amount == null || amount.getAmount() == null) {
+            return false;
+        }
+        try {
+            return new BigDecimal(amount.getAmount()).signum() > 0;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    @Override
+    public void destroy() {
+        fileExecutor.shutdownNow();
+        workerExecutor.shutdownNow();
+    }
+
+    /**
+     * Collects the payments streamed from a file into batches and hands each batch to the worker pool.
+     */
+    private class FileExecution implements Consumer<FRFilePayment> {
+
+        private final String filePaymentId;
+        private final List<CompletableFuture<Integer>> batches = new ArrayList<>();
+        private List<FRFilePaymentLine> batch;
+        private int lineNumber;
+        private volatile boolean cancelled;
+
+        private FileExecution(String filePaymentId) {
+            this.filePaymentId = filePaymentId;
+            this.batch = new ArrayList<>(batchSize);
+        }
+
+        @Override
+        public void accept(FRFilePayment payment) {
+            lineNumber++;
+            batch.add(FRFilePaymentLine.builder()
+                    .id(FRFilePaymentLine.toId(filePaymentId, lineNumber))
+                    .filePaymentId(filePaymentId)
+                    .lineNumber(lineNumber)
+                    .payment(payment)
+                    .statusUpdateDateTime(new Date())
+                    .build());
+            if (batch.size() == batchSize) {
+                submitBatch();
+            }
+        }
+
+        private void submitBatch() {
+            final List<FRFilePaymentLine> lines = batch;
+            batch = new ArrayList<>(batchSize);
+            executionRepository.insertLines(lines);
+            batches.add(CompletableFuture.supplyAsync(() -> executeBatch(this, lines), workerExecutor));
+        }
+
+        /**
+         * Submits the last partial batch and waits for all batches to be executed.
+         *
+         * @return the number of rejected payments
+         */
+        private int awaitBatches() {
+            if (!batch.isEmpty()) {
+                submitBatch();
+            }
+            CompletableFuture.allOf(batches.toArray(CompletableFuture[]::new)).join();
+            return batches.stream().mapToInt(CompletableFuture::join).sum();
+        }
+
+        /**
+         * Stops the batches which have not started executing and waits for those which have, so that no line is
+         * updated after the file has been failed. The last partial batch was never stored and is dropped.
+         */
+        private void cancel() {
+            cancelled = true;
+            batch.clear();
+            CompletableFuture.allOf(batches.toArray(CompletableFuture[]::new))
+                    .handle((result, e) -> null)
+                    .join();
+        }
+    }
+}
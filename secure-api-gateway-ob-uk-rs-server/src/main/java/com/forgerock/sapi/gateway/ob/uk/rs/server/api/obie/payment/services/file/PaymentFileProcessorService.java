@@ -15,10 +15,14 @@
  */
 package com.forgerock.sapi.gateway.ob.uk.rs.server.api.obie.payment.services.file;
 
+import java.io.Reader;
 import java.util.Set;
+import java.util.function.Consumer;
 
+import com.forgerock.sapi.gateway.ob.uk.common.datamodel.payment.FRFilePayment;
 import com.forgerock.sapi.gateway.ob.uk.common.error.OBErrorException;
 import com.forgerock.sapi.gateway.ob.uk.rs.server.common.payment.file.PaymentFile;
+import com.forgerock.sapi.gateway.ob.uk.rs.server.common.payment.file.PaymentFileSummary;
 import com.forgerock.sapi.gateway.ob.uk.rs.server.common.payment.file.PaymentFileType;
 
 /**
@@ -38,6 +42,18 @@ public interface PaymentFileProcessorService {
      */
     PaymentFile processFile(String fileType, String fileContents) throws OBErrorException;
 
+    /**
+     * Streams the uploaded fileContents, handing each transaction to the paymentConsumer as it is parsed rather than
+     * collecting them, and returns the file metadata.
+     *
+     * @param fileType        String the OBIE schema fileType format that the fileContent is expected to be in
+     * @param fileContents    Reader of the uploaded file content
+     * @param paymentConsumer Consumer of each transaction in the file
+     * @return PaymentFileSummary containing the number of transactions and control sum of the file
+     * @throws OBErrorException if an error parsing the file occurs
+     */
+    PaymentFileSummary processFile(String fileType, Reader fileContents, Consumer<FRFilePayment> paymentConsumer) throws OBErrorException;
+
     /**
      * @return Set<String> all OBIE schema fileTypes supported by this service
      */
@@ -19,7 +19,7 @@ import java.math.BigDecimal;
 
 import com.forgerock.sapi.gateway.ob.uk.common.error.OBRIErrorType;
 import com.forgerock.sapi.gateway.ob.uk.rs.server.api.obie.payment.services.validation.FilePaymentFileContentValidator.FilePaymentFileContentValidationContext;
-import com.forgerock.sapi.gateway.ob.uk.rs.server.common.payment.file.PaymentFile;
+import com.forgerock.sapi.gateway.ob.uk.rs.server.common.payment.file.PaymentFileSummary;
 import com.forgerock.sapi.gateway.ob.uk.rs.validation.ValidationResult;
 import com.forgerock.sapi.gateway.ob.uk.rs.validation.obie.BaseOBValidator;
 
@@ -38,10 +38,10 @@ public class FilePaymentFileContentValidator extends BaseOBValidator<FilePayment
 
     public static class FilePaymentFileContentValidationContext {
         private final String fileHash;
-        private final PaymentFile paymentFile;
+        private final PaymentFileSummary paymentFile;
         private final OBWriteFileConsent3 obFileConsent;
 
-        public FilePaymentFileContentValidationContext(String fileHash, PaymentFile paymentFile, OBWriteFileConsent3 obFileConsent) {
+        public FilePaymentFileContentValidationContext(String fileHash, PaymentFileSummary paymentFile, OBWriteFileConsent3 obFileConsent) {
             this.fileHash = fileHash;
             this.paymentFile = paymentFile;
             this.obFileConsent = obFileConsent;
@@ -51,7 +51,7 @@ public class FilePaymentFileContentValidator extends BaseOBValidator<FilePayment
             return fileHash;
         }
 
-        public PaymentFile getPaymentFile() {
+        public PaymentFileSummary getPaymentFile() {
             return paymentFile;
         }
 
@@ -74,7 +74,7 @@ public class FilePaymentFileContentValidator extends BaseOBValidator<FilePayment
             return;
         }
 
-        final PaymentFile paymentFile = validationContext.getPaymentFile();
+        final PaymentFileSummary paymentFile = validationContext.getPaymentFile();
 
         final int numTransactionsInConsent = Integer.parseInt(obFileConsent.getData().getInitiation().getNumberOfTransactions());
         final int numTransactionsInFile = paymentFile.getNumberOfTransactions();
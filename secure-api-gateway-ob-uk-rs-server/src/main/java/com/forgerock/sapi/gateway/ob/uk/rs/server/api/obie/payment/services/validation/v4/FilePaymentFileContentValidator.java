@@ -17,7 +17,7 @@ package com.forgerock.sapi.gateway.ob.uk.rs.server.api.obie.payment.services.val
 
 import com.forgerock.sapi.gateway.ob.uk.common.error.OBRIErrorType;
 import com.forgerock.sapi.gateway.ob.uk.rs.server.api.obie.payment.services.validation.v4.FilePaymentFileContentValidator.FilePaymentFileContentValidationContext;
-import com.forgerock.sapi.gateway.ob.uk.rs.server.common.payment.file.PaymentFile;
+import com.forgerock.sapi.gateway.ob.uk.rs.server.common.payment.file.PaymentFileSummary;
 import com.forgerock.sapi.gateway.ob.uk.rs.validation.ValidationResult;
 import com.forgerock.sapi.gateway.ob.uk.rs.validation.obie.BaseOBValidator;
 import uk.org.openbanking.datamodel.v3.error.OBError1;
@@ -37,10 +37,10 @@ public class FilePaymentFileContentValidator extends BaseOBValidator<FilePayment
 
     public static class FilePaymentFileContentValidationContext {
         private final String fileHash;
-        private final PaymentFile paymentFile;
+        private final PaymentFileSummary paymentFile;
         private final OBWriteFileConsent3 obFileConsent;
 
-        public FilePaymentFileContentValidationContext(String fileHash, PaymentFile paymentFile, OBWriteFileConsent3 obFileConsent) {
+        public FilePaymentFileContentValidationContext(String fileHash, PaymentFileSummary paymentFile, OBWriteFileConsent3 obFileConsent) {
             this.fileHash = fileHash;
             this.paymentFile = paymentFile;
             this.obFileConsent = obFileConsent;
@@ -50,7 +50,7 @@ public class FilePaymentFileContentValidator extends BaseOBValidator<FilePayment
             return fileHash;
         }
 
-        public PaymentFile getPaymentFile() {
+        public PaymentFileSummary getPaymentFile() {
             return paymentFile;
         }
 
@@ -73,7 +73,7 @@ public class FilePaymentFileContentValidator extends BaseOBValidator<FilePayment
             return;
         }
 
-        final PaymentFile paymentFile = validationContext.getPaymentFile();
+        final PaymentFileSummary paymentFile = validationContext.getPaymentFile();
 
         final int numTransactionsInConsent = Integer.parseInt(obFileConsent.getData().getInitiation().getNumberOfTransactions());
         final int numTransactionsInFile = paymentFile.getNumberOfTransactions();
@@ -26,11 +26,11 @@ import static com.forgerock.sapi.gateway.ob.uk.common.datamodel.converter.v3.com
 import static com.forgerock.sapi.gateway.ob.uk.common.datamodel.converter.v3.payment.FRWriteFileConsentConverter.toOBWriteFile2DataInitiation;
 import static com.forgerock.sapi.gateway.ob.uk.common.datamodel.converter.v3.payment.FRWriteFileConverter.toFRWriteFile;
 import static org.springframework.http.HttpStatus.CREATED;
-import static org.springframework.http.HttpStatus.NOT_IMPLEMENTED;
 
 import java.security.Principal;
 import java.util.Date;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import com.forgerock.sapi.gateway.ob.uk.common.datamodel.converter.v3.common.FRChargeConverter;
 import com.forgerock.sapi.gateway.ob.uk.common.datamodel.converter.v3.payment.FRWriteFileConsentConverter;
@@ -41,11 +41,14 @@ import com.forgerock.sapi.gateway.ob.uk.common.error.OBErrorResponseException;
 import com.forgerock.sapi.gateway.ob.uk.common.error.OBRIErrorResponseCategory;
 import com.forgerock.sapi.gateway.ob.uk.common.error.OBRIErrorType;
 import com.forgerock.sapi.gateway.ob.uk.rs.obie.api.payment.v3_1_10.file.FilePaymentsApi;
+import com.forgerock.sapi.gateway.ob.uk.rs.server.api.obie.payment.services.file.FilePaymentExecutionService;
+import com.forgerock.sapi.gateway.ob.uk.rs.server.common.payment.file.FilePaymentTransactionStatus;
 import com.forgerock.sapi.gateway.ob.uk.rs.server.common.util.PaymentApiResponseUtil;
 import com.forgerock.sapi.gateway.ob.uk.rs.server.common.util.VersionPathExtractor;
 import com.forgerock.sapi.gateway.ob.uk.rs.server.common.util.link.LinksHelper;
 import com.forgerock.sapi.gateway.ob.uk.rs.server.service.idempotency.IdempotentPaymentService;
 import com.forgerock.sapi.gateway.ob.uk.rs.server.service.idempotency.SinglePaymentForConsentIdempotentPaymentService;
+import com.forgerock.sapi.gateway.ob.uk.rs.server.service.report.PaymentReportFile1Service;
 import com.forgerock.sapi.gateway.ob.uk.rs.server.validator.PaymentSubmissionValidator;
 import com.forgerock.sapi.gateway.ob.uk.rs.server.validator.ResourceVersionValidator;
 import com.forgerock.sapi.gateway.ob.uk.rs.validation.obie.OBValidationService;
@@ -53,6 +56,7 @@ import com.forgerock.sapi.gateway.ob.uk.rs.validation.obie.v3.payment.OBWriteFil
 import com.forgerock.sapi.gateway.rcs.consent.store.client.payment.file.FilePaymentConsentStoreClient;
 import com.forgerock.sapi.gateway.rcs.consent.store.datamodel.payment.ConsumePaymentConsentRequest;
 import com.forgerock.sapi.gateway.rcs.consent.store.datamodel.payment.file.v3_1_10.FilePaymentConsent;
+import com.forgerock.sapi.gateway.rs.resource.store.repo.entity.payment.FRFilePaymentLine;
 import com.forgerock.sapi.gateway.rs.resource.store.repo.entity.payment.FRFilePaymentSubmission;
 import com.forgerock.sapi.gateway.rs.resource.store.repo.mongo.payments.FilePaymentSubmissionRepository;
 import com.forgerock.sapi.gateway.uk.common.shared.api.meta.obie.OBVersion;
@@ -64,6 +68,7 @@ import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import jakarta.servlet.http.HttpServletRequest;
 import uk.org.openbanking.datamodel.v3.common.Meta;
@@ -72,6 +77,11 @@ import uk.org.openbanking.datamodel.v3.payment.OBWriteFileConsent3;
 import uk.org.openbanking.datamodel.v3.payment.OBWriteFileResponse3;
 import uk.org.openbanking.datamodel.v3.payment.OBWriteFileResponse3Data;
 import uk.org.openbanking.datamodel.v3.payment.OBWritePaymentDetailsResponse1;
+import uk.org.openbanking.datamodel.v3.payment.OBWritePaymentDetailsResponse1Data;
+import uk.org.openbanking.datamodel.v3.payment.OBWritePaymentDetailsResponse1DataPaymentStatusInner;
+import uk.org.openbanking.datamodel.v3.payment.OBWritePaymentDetailsResponse1DataPaymentStatusInnerStatus;
+import uk.org.openbanking.datamodel.v3.payment.OBWritePaymentDetailsResponse1DataPaymentStatusInnerStatusDetail;
+import uk.org.openbanking.datamodel.v3.payment.OBWritePaymentDetailsResponse1DataPaymentStatusInnerStatusDetailStatusReason;
 
 @Controller("FilePaymentsApiV3.1.10")
 public class FilePaymentsApiController implements FilePaymentsApi {
@@ -82,16 +92,22 @@ public class FilePaymentsApiController implements FilePaymentsApi {
     private final FilePaymentConsentStoreClient consentStoreClient;
     private final OBValidationService<OBWriteFile2ValidationContext> filePaymentRequestValidator;
     private final IdempotentPaymentService<FRFilePaymentSubmission, FRWriteFile> idempotentPaymentService;
+    private final FilePaymentExecutionService filePaymentExecutionService;
+    private final PaymentReportFile1Service paymentReportFileService;
 
     public FilePaymentsApiController(
             FilePaymentSubmissionRepository filePaymentSubmissionRepository,
             PaymentSubmissionValidator paymentSubmissionValidator,
             @Qualifier("v3.1.10RestFilePaymentConsentStoreClient") FilePaymentConsentStoreClient consentStoreClient,
-            OBValidationService<OBWriteFile2ValidationContext> filePaymentRequestValidator) {
+            OBValidationService<OBWriteFile2ValidationContext> filePaymentRequestValidator,
+            FilePaymentExecutionService filePaymentExecutionService,
+            PaymentReportFile1Service paymentReportFileService) {
         this.filePaymentSubmissionRepository = filePaymentSubmissionRepository;
         this.paymentSubmissionValidator = paymentSubmissionValidator;
         this.consentStoreClient = consentStoreClient;
         this.filePaymentRequestValidator = filePaymentRequestValidator;
+        this.filePaymentExecutionService = filePaymentExecutionService;
+        this.paymentReportFileService = paymentReportFileService;
         this.idempotentPaymentService = new SinglePaymentForConsentIdempotentPaymentService<>(filePaymentSubmissionRepository);
     }
 
@@ -147,6 +163,9 @@ public class FilePaymentsApiController implements FilePaymentsApi {
         consumePaymentRequest.setApiClientId(apiClientId);
         consentStoreClient.consumeConsent(consumePaymentRequest);
 
+        // The payments are executed in the background, their progress is reported by the payment details
+        filePaymentExecutionService.execute(frPaymentSubmission, consent);
+
         return ResponseEntity.status(CREATED).body(responseEntity(consent, frPaymentSubmission));
     }
 
@@ -161,16 +180,7 @@ public class FilePaymentsApiController implements FilePaymentsApi {
             HttpServletRequest request,
             Principal principal
     ) throws OBErrorResponseException {
-        Optional<FRFilePaymentSubmission> isPaymentSubmission = filePaymentSubmissionRepository.findById(filePaymentId);
-        if (!isPaymentSubmission.isPresent()) {
-            throw new OBErrorResponseException(
-                    HttpStatus.BAD_REQUEST,
-                    OBRIErrorResponseCategory.REQUEST_INVALID,
-                    OBRIErrorType.PAYMENT_SUBMISSION_NOT_FOUND
-                            .toOBError1(filePaymentId));
-        }
-
-        FRFilePaymentSubmission frPaymentSubmission = isPaymentSubmission.get();
+        FRFilePaymentSubmission frPaymentSubmission = getFilePaymentSubmission(filePaymentId);
         OBVersion apiVersion = VersionPathExtractor.getVersionFromPath(request);
         if (!ResourceVersionValidator.isAccessToResourceAllowed(apiVersion, frPaymentSubmission.getObVersion())) {
             return PaymentApiResponseUtil.resourceConflictResponse(frPaymentSubmission, apiVersion);
@@ -179,7 +189,7 @@ public class FilePaymentsApiController implements FilePaymentsApi {
         return ResponseEntity.ok(responseEntity(consent, frPaymentSubmission));
     }
 
-    public ResponseEntity<OBWritePaymentDetailsResponse1> getFilePaymentsFilePaymentIdPaymentDetails(
+    public ResponseEntity getFilePaymentsFilePaymentIdPaymentDetails(
             String filePaymentId,
             String authorization,
             String xFapiAuthDate,
@@ -189,12 +199,25 @@ public class FilePaymentsApiController implements FilePaymentsApi {
             String apiClientId,
             HttpServletRequest request,
             Principal principal
-    ) {
-        // Optional endpoint - not implemented
-        return new ResponseEntity<>(NOT_IMPLEMENTED);
+    ) throws OBErrorResponseException {
+        FRFilePaymentSubmission frPaymentSubmission = getFilePaymentSubmission(filePaymentId);
+        OBVersion apiVersion = VersionPathExtractor.getVersionFromPath(request);
+        if (!ResourceVersionValidator.isAccessToResourceAllowed(apiVersion, frPaymentSubmission.getObVersion())) {
+            return PaymentApiResponseUtil.resourceConflictResponse(frPaymentSubmission, apiVersion);
+        }
+        final String localInstrument = frPaymentSubmission.getFilePayment().getData().getInitiation().getLocalInstrument();
+
+        final OBWritePaymentDetailsResponse1Data data = new OBWritePaymentDetailsResponse1Data();
+        try (Stream<FRFilePaymentLine> lines = filePaymentExecutionService.streamLines(filePaymentId)) {
+            lines.forEach(line -> data.addPaymentStatusItem(toPaymentStatus(line, localInstrument)));
+        }
+        return ResponseEntity.ok(new OBWritePaymentDetailsResponse1()
+                .data(data)
+                .links(LinksHelper.createFilePaymentDetailsLink(this.getClass(), filePaymentId))
+                .meta(new Meta()));
     }
 
-    public ResponseEntity getFilePaymentsFilePaymentIdReportFile(
+    public ResponseEntity<StreamingResponseBody> getFilePaymentsFilePaymentIdReportFile(
             String filePaymentId,
             String authorization,
             String xFapiAuthDate,
@@ -204,23 +227,49 @@ public class FilePaymentsApiController implements FilePaymentsApi {
             String apiClientId,
             HttpServletRequest request,
             Principal principal
-    ) throws OBErrorResponseException {
-        return new ResponseEntity<>(NOT_IMPLEMENTED);
-//        FRFilePaymentSubmission filePayment = filePaymentSubmissionRepository.findById(filePaymentId)
-//                .orElseThrow(() ->
-//                        new OBErrorResponseException(
-//                                HttpStatus.BAD_REQUEST,
-//                                OBRIErrorResponseCategory.REQUEST_INVALID,
-//                                OBRIErrorType.PAYMENT_ID_NOT_FOUND
-//                                        .toOBError1(filePaymentId))
-//                );
-//        logger.debug("Payment File '{}' exists with status: {} so generating a report file for type: '{}'",
-//                filePayment.getId(),
-//                filePayment.getStatus(),
-//                filePayment.getFilePayment().getData().getInitiation().getFileType());
-//        String reportFile = paymentReportFileService.createPaymentReport(filePayment);
-//        logger.debug("Generated report file for Payment File: '{}'", filePayment.getId());
-//        return ResponseEntity.ok(reportFile);
+    ) throws OBErrorResponseException, OBErrorException {
+        FRFilePaymentSubmission filePayment = getFilePaymentSubmission(filePaymentId);
+        logger.debug("Payment File '{}' exists with status: {} so generating a report file for type: '{}'",
+                filePayment.getId(),
+                filePayment.getStatus(),
+                filePayment.getFilePayment().getData().getInitiation().getFileType());
+        return ResponseEntity.ok()
+                .contentType(paymentReportFileService.getReportContentType(filePayment))
+                .body(paymentReportFileService.createPaymentReport(filePayment));
+    }
+
+    private FRFilePaymentSubmission getFilePaymentSubmission(String filePaymentId) throws OBErrorResponseException {
+        Optional<FRFilePaymentSubmission> isPaymentSubmission = filePaymentSubmissionRepository.findById(filePaymentId);
+        if (!isPaymentSubmission.isPresent()) {
+            throw new OBErrorResponseException(
+                    HttpStatus.BAD_REQUEST,
+                    OBRIErrorResponseCategory.REQUEST_INVALID,
+                    OBRIErrorType.PAYMENT_SUBMISSION_NOT_FOUND
+                            .toOBError1(filePaymentId));
+        }
+        return isPaymentSubmission.get();
+    }
+
+    private static OBWritePaymentDetailsResponse1DataPaymentStatusInner toPaymentStatus(FRFilePaymentLine line, String localInstrument) {
+        final FilePaymentTransactionStatus transactionStatus = FilePaymentTransactionStatus.of(line.getPayment().getStatus());
+        final OBWritePaymentDetailsResponse1DataPaymentStatusInnerStatus status =
+                OBWritePaymentDetailsResponse1DataPaymentStatusInnerStatus.fromValue(transactionStatus.getValue());
+        final OBWritePaymentDetailsResponse1DataPaymentStatusInnerStatusDetail statusDetail =
+                new OBWritePaymentDetailsResponse1DataPaymentStatusInnerStatusDetail()
+                        .localInstrument(localInstrument)
+                        .status(status.getValue());
+        if (transactionStatus == FilePaymentTransactionStatus.PENDING) {
+            statusDetail.statusReason(OBWritePaymentDetailsResponse1DataPaymentStatusInnerStatusDetailStatusReason.PENDINGSETTLEMENT)
+                    .statusReasonDescription(OBWritePaymentDetailsResponse1DataPaymentStatusInnerStatusDetailStatusReason.PENDINGSETTLEMENT.getValue());
+        } else if (transactionStatus == FilePaymentTransactionStatus.REJECTED) {
+            statusDetail.statusReason(OBWritePaymentDetailsResponse1DataPaymentStatusInnerStatusDetailStatusReason.PROPRIETARYREJECTION)
+                    .statusReasonDescription(line.getStatusReason());
+        }
+        return new OBWritePaymentDetailsResponse1DataPaymentStatusInner()
+                .paymentTransactionId(line.getId())
+                .status(status)
+                .statusUpdateDateTime(new DateTime(line.getStatusUpdateDateTime()))
+                .statusDetail(statusDetail);
     }
 
     private OBWriteFileResponse3 responseEntity(FilePaymentConsent filePaymentConsent,
@@ -19,6 +19,7 @@ import com.forgerock.sapi.gateway.ob.uk.common.datamodel.converter.v3.vrp.FRDome
 import com.forgerock.sapi.gateway.ob.uk.common.error.OBErrorResponseException;
 import com.forgerock.sapi.gateway.ob.uk.rs.obie.api.payment.v3_1_10.vrp.DomesticVrpConsentsApi;
 import com.forgerock.sapi.gateway.ob.uk.rs.server.api.obie.payment.factories.v3_1_10.OBDomesticVRPConsentResponseFactory;
+import com.forgerock.sapi.gateway.ob.uk.rs.server.common.logging.PayloadLoggingPolicy;
 import com.forgerock.sapi.gateway.ob.uk.rs.server.service.balance.FundsAvailabilityService;
 import com.forgerock.sapi.gateway.ob.uk.rs.validation.obie.OBValidationService;
 import com.forgerock.sapi.gateway.ob.uk.rs.validation.obie.v3.payment.consent.OBVRPFundsConfirmationRequestValidator.VRPFundsConfirmationValidationContext;
@@ -53,16 +54,20 @@ public class DomesticVrpConsentsApiController implements DomesticVrpConsentsApi
 
     private final OBDomesticVRPConsentResponseFactory responseFactory;
 
+    private final PayloadLoggingPolicy payloadLoggingPolicy;
+
     public DomesticVrpConsentsApiController(FundsAvailabilityService fundsAvailabilityService,
                                             @Qualifier("v3.1.10RestDomesticVRPConsentStoreClient") DomesticVRPConsentStoreClient consentStoreClient,
                                             OBValidationService<OBDomesticVRPConsentRequest> vrpConsentValidator,
                                             OBValidationService<VRPFundsConfirmationValidationContext> vrpFundsConfirmationValidator,
-                                            OBDomesticVRPConsentResponseFactory responseFactory) {
+                                            OBDomesticVRPConsentResponseFactory responseFactory,
+                                            PayloadLoggingPolicy payloadLoggingPolicy) {
         this.fundsAvailabilityService = fundsAvailabilityService;
         this.vrpConsentValidator = vrpConsentValidator;
         this.vrpFundsConfirmationValidator = vrpFundsConfirmationValidator;
         this.consentStoreClient = consentStoreClient;
         this.responseFactory = responseFactory;
+        this.payloadLoggingPolicy = payloadLoggingPolicy;
     }
 
     @Override
@@ -91,8 +96,10 @@ public class DomesticVrpConsentsApiController implements DomesticVrpConsentsApi
                                                                                 String apiClientId,
                                                                                 HttpServletRequest request) throws OBErrorResponseException {
 
-        log.info("domesticVrpConsentsPost - creating consent: {}, apiClientId: {}, idempotencyKey: {}, x-fapi-interaction-id: {}  ",
-                obDomesticVRPConsentRequest, apiClientId, xIdempotencyKey, xFapiInteractionId);
+        if (payloadLoggingPolicy.shouldLog(log)) {
+            log.debug("domesticVrpConsentsPost - creating consent: {}, apiClientId: {}, idempotencyKey: {}, x-fapi-interaction-id: {}  ",
+                    payloadLoggingPolicy.summarise(obDomesticVRPConsentRequest), apiClientId, xIdempotencyKey, xFapiInteractionId);
+        }
 
         vrpConsentValidator.validate(obDomesticVRPConsentRequest);
 
@@ -43,6 +43,7 @@ import com.forgerock.sapi.gateway.ob.uk.common.error.OBErrorResponseException;
 import com.forgerock.sapi.gateway.ob.uk.rs.obie.api.payment.v3_1_10.vrp.DomesticVrpsApi;
 import com.forgerock.sapi.gateway.ob.uk.rs.server.api.obie.payment.services.RefundAccountService;
 import com.forgerock.sapi.gateway.ob.uk.rs.server.api.obie.payment.simulations.vrp.PeriodicLimitBreachResponseSimulatorService;
+import com.forgerock.sapi.gateway.ob.uk.rs.server.common.logging.PayloadLoggingPolicy;
 import com.forgerock.sapi.gateway.ob.uk.rs.server.common.util.VersionPathExtractor;
 import com.forgerock.sapi.gateway.ob.uk.rs.server.common.util.link.LinksHelper;
 import com.forgerock.sapi.gateway.ob.uk.rs.server.service.idempotency.IdempotentPaymentService;
@@ -87,6 +88,7 @@ public class DomesticVrpsApiController implements DomesticVrpsApi {
     private final RefundAccountService refundAccountService;
     private final DomesticVRPConsentStoreClient consentStoreClient;
     private final IdempotentPaymentService<FRDomesticVrpPaymentSubmission, FRDomesticVrpRequest> idempotentPaymentService;
+    private final PayloadLoggingPolicy payloadLoggingPolicy;
 
     public DomesticVrpsApiController(
             DomesticVrpPaymentSubmissionRepository paymentSubmissionRepository,
@@ -94,7 +96,8 @@ public class DomesticVrpsApiController implements DomesticVrpsApi {
             @Qualifier("v3.1.10RestDomesticVRPConsentStoreClient") DomesticVRPConsentStoreClient consentStoreClient,
             PeriodicLimitBreachResponseSimulatorService limitBreachResponseSimulatorService,
             PaymentSubmissionValidator paymentSubmissionValidator,
-            RefundAccountService refundAccountService
+            RefundAccountService refundAccountService,
+            PayloadLoggingPolicy payloadLoggingPolicy
     ) {
         this.paymentSubmissionRepository = Objects.requireNonNull(paymentSubmissionRepository, "PaymentSubmissionRepository cannot be null");
         this.paymentRequestValidator = Objects.requireNonNull(paymentRequestValidator, "PaymentRequestValidator cannot be null");
@@ -102,6 +105,7 @@ public class DomesticVrpsApiController implements DomesticVrpsApi {
         this.limitBreachResponseSimulatorService = Objects.requireNonNull(limitBreachResponseSimulatorService, "LimitBreachResponseSimulatorService cannot be null");
         this.paymentSubmissionValidator = Objects.requireNonNull(paymentSubmissionValidator, "PaymentSubmissionValidator cannot be null");
         this.refundAccountService = Objects.requireNonNull(refundAccountService, "RefundAccountService cannot be null");
+        this.payloadLoggingPolicy = Objects.requireNonNull(payloadLoggingPolicy, "PayloadLoggingPolicy cannot be null");
         this.idempotentPaymentService = new VRPIdempotentPaymentService(
                 Objects.requireNonNull(paymentSubmissionRepository, "PaymentSubmissionRepository cannot be null for IdempotentPaymentService")
         );
@@ -197,7 +201,9 @@ public class DomesticVrpsApiController implements DomesticVrpsApi {
             HttpServletRequest request,
             Principal principal
     ) throws OBErrorResponseException, OBErrorException {
-        log.debug("Received VRP payment submission: '{}'", obDomesticVRPRequest);
+        if (payloadLoggingPolicy.shouldLog(log)) {
+            log.debug("Received VRP payment submission: '{}'", payloadLoggingPolicy.summarise(obDomesticVRPRequest));
+        }
 
         paymentSubmissionValidator.validateIdempotencyKey(xIdempotencyKey);
 
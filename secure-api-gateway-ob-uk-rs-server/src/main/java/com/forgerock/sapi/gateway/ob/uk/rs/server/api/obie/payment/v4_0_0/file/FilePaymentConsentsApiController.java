@@ -24,24 +24,28 @@ import com.forgerock.sapi.gateway.ob.uk.rs.obie.api.payment.v4_0_0.file.FilePaym
 import com.forgerock.sapi.gateway.ob.uk.rs.server.api.obie.payment.factories.v4_0_0.OBWriteFileConsentResponse4Factory;
 import com.forgerock.sapi.gateway.ob.uk.rs.server.api.obie.payment.services.file.PaymentFileProcessorService;
 import com.forgerock.sapi.gateway.ob.uk.rs.server.api.obie.payment.services.validation.v4.FilePaymentFileContentValidator.FilePaymentFileContentValidationContext;
-import com.forgerock.sapi.gateway.ob.uk.rs.server.common.payment.file.PaymentFile;
+import com.forgerock.sapi.gateway.ob.uk.rs.server.common.payment.file.PaymentFileSummary;
 import com.forgerock.sapi.gateway.ob.uk.rs.server.common.payment.file.PaymentFileType;
 import com.forgerock.sapi.gateway.ob.uk.rs.server.common.util.HashUtils;
+import com.forgerock.sapi.gateway.ob.uk.rs.server.common.util.HashingReader;
 import com.forgerock.sapi.gateway.ob.uk.rs.validation.obie.OBValidationService;
 import com.forgerock.sapi.gateway.rcs.consent.store.client.payment.file.FilePaymentConsentStoreClient;
 import com.forgerock.sapi.gateway.rcs.consent.store.datamodel.payment.file.v3_1_10.CreateFilePaymentConsentRequest;
 import com.forgerock.sapi.gateway.rcs.consent.store.datamodel.payment.file.v3_1_10.FilePaymentConsent;
 import com.forgerock.sapi.gateway.rcs.consent.store.datamodel.payment.file.v3_1_10.FileUploadRequest;
+import com.forgerock.sapi.gateway.rs.resource.store.repo.mongo.payments.PaymentFileStore;
 import jakarta.servlet.http.HttpServletRequest;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.io.InputStreamResource;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import uk.org.openbanking.datamodel.v4.payment.OBWriteFileConsent3;
 import uk.org.openbanking.datamodel.v4.payment.OBWriteFileConsentResponse4;
 
+import java.io.StringReader;
 import java.util.Collections;
 import java.util.List;
 
@@ -62,16 +66,20 @@ public class FilePaymentConsentsApiController implements FilePaymentConsentsApi
 
     private final OBWriteFileConsentResponse4Factory consentResponseFactory;
 
+    private final PaymentFileStore paymentFileStore;
+
     public FilePaymentConsentsApiController(@Qualifier("v4.0.0RestFilePaymentConsentStoreClient") FilePaymentConsentStoreClient consentStoreApiClient,
                                             OBValidationService<OBWriteFileConsent3> consentValidator,
                                             PaymentFileProcessorService paymentFileProcessorService,
                                             OBValidationService<FilePaymentFileContentValidationContext> fileContentValidator,
-                                            OBWriteFileConsentResponse4Factory consentResponseFactory) {
+                                            OBWriteFileConsentResponse4Factory consentResponseFactory,
+                                            PaymentFileStore paymentFileStore) {
         this.consentStoreApiClient = consentStoreApiClient;
         this.consentValidator = consentValidator;
         this.paymentFileProcessorService = paymentFileProcessorService;
         this.fileContentValidator = fileContentValidator;
         this.consentResponseFactory = consentResponseFactory;
+        this.paymentFileStore = paymentFileStore;
     }
 
     private List<FRCharge> calculateCharges(OBWriteFileConsent3 obWriteFileConsent3) {
@@ -115,16 +123,20 @@ public class FilePaymentConsentsApiController implements FilePaymentConsentsApi
             throw new OBErrorException(OBRIErrorType.REQUEST_MEDIA_TYPE_NOT_SUPPORTED, contentType, paymentFileType.getContentType());
         }
 
-        final PaymentFile paymentFile = paymentFileProcessorService.processFile(fileType, body);
+        // Only the file metadata is validated, so the payments are streamed and discarded rather than collected.
+        // The file is hashed in the same pass that parses it.
+        final HashingReader fileReader = HashUtils.createSHA256HashingReader(new StringReader(body));
+        final PaymentFileSummary paymentFile = paymentFileProcessorService.processFile(fileType, fileReader, payment -> {});
 
-        fileContentValidator.validate(new FilePaymentFileContentValidationContext(HashUtils.computeSHA256FullHash(body),
+        fileContentValidator.validate(new FilePaymentFileContentValidationContext(fileReader.getHash(),
                 paymentFile, FRWriteFileConsentConverter.toOBWriteFileConsent3(consent.getRequestObj())));
 
         final FileUploadRequest fileUploadRequest = new FileUploadRequest();
         fileUploadRequest.setApiClientId(apiClientId);
         fileUploadRequest.setConsentId(consentId);
         fileUploadRequest.setFileUploadIdempotencyKey(xIdempotencyKey);
-        fileUploadRequest.setFileContents(body);
+        // The consent store only holds a reference to the file, so that reading the consent doesn't transfer the file
+        fileUploadRequest.setFileContents(paymentFileStore.store(fileReader.getHash(), body));
 
         consentStoreApiClient.uploadFile(fileUploadRequest);
 
@@ -145,14 +157,23 @@ public class FilePaymentConsentsApiController implements FilePaymentConsentsApi
                 consentId, apiClientId, xFapiInteractionId);
 
         final FilePaymentConsent consent = consentStoreApiClient.getConsent(consentId, apiClientId);
-        if (consent.getFileContent() == null) {
+        final String fileContent = consent.getFileContent();
+        if (fileContent == null) {
             throw new OBErrorException(OBRIErrorType.NO_FILE_FOR_CONSENT);
         }
         final String fileType = consent.getRequestObj().getData().getInitiation().getFileType();
         final PaymentFileType paymentFileType = paymentFileProcessorService.findPaymentFileType(fileType);
 
+        final Object file;
+        if (PaymentFileStore.isReference(fileContent)) {
+            file = new InputStreamResource(paymentFileStore.open(fileContent)
+                    .orElseThrow(() -> new OBErrorException(OBRIErrorType.NO_FILE_FOR_CONSENT)));
+        } else {
+            // Files uploaded before the payment file store was introduced are held by the consent store
+            file = fileContent;
+        }
         return ResponseEntity.status(HttpStatus.OK)
                 .contentType(paymentFileType.getContentType())
-                .body(consent.getFileContent());
+                .body(file);
     }
 }
@@ -20,12 +20,13 @@ import static com.forgerock.sapi.gateway.ob.uk.common.datamodel.converter.v4.com
 import static com.forgerock.sapi.gateway.ob.uk.common.datamodel.converter.v4.common.FRSubmissionStatusConverter.toOBWriteFileResponse3DataStatus;
 import static com.forgerock.sapi.gateway.ob.uk.common.datamodel.converter.v4.payment.FRWriteFileConsentConverter.toOBWriteFile2DataInitiation;
 import static com.forgerock.sapi.gateway.ob.uk.common.datamodel.converter.v4.payment.FRWriteFileConverter.toFRWriteFile;
+import static com.forgerock.sapi.gateway.ob.uk.rs.server.v4.common.mapper.OBStatusReasonMapper.toOBStatusReason;
 import static org.springframework.http.HttpStatus.CREATED;
-import static org.springframework.http.HttpStatus.NOT_IMPLEMENTED;
 
 import java.util.Collections;
 import java.util.Date;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import org.joda.time.DateTime;
 import org.slf4j.Logger;
@@ -34,9 +35,10 @@ import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import com.forgerock.sapi.gateway.ob.uk.common.datamodel.converter.v3.mapper.FRModelMapper;
 import com.forgerock.sapi.gateway.ob.uk.common.datamodel.converter.v4.common.FRChargeConverter;
+import com.forgerock.sapi.gateway.ob.uk.common.datamodel.converter.v4.common.FRPaymentDetailsStatusConverter;
 import com.forgerock.sapi.gateway.ob.uk.common.datamodel.converter.v4.payment.FRWriteFileConsentConverter;
 import com.forgerock.sapi.gateway.ob.uk.common.datamodel.payment.FRWriteDataFile;
 import com.forgerock.sapi.gateway.ob.uk.common.datamodel.payment.FRWriteFile;
@@ -45,10 +47,13 @@ import com.forgerock.sapi.gateway.ob.uk.common.error.OBErrorResponseException;
 import com.forgerock.sapi.gateway.ob.uk.common.error.OBRIErrorResponseCategory;
 import com.forgerock.sapi.gateway.ob.uk.common.error.OBRIErrorType;
 import com.forgerock.sapi.gateway.ob.uk.rs.obie.api.payment.v4_0_0.file.FilePaymentsApi;
+import com.forgerock.sapi.gateway.ob.uk.rs.server.api.obie.payment.services.file.FilePaymentExecutionService;
+import com.forgerock.sapi.gateway.ob.uk.rs.server.common.payment.file.FilePaymentTransactionStatus;
 import com.forgerock.sapi.gateway.ob.uk.rs.server.common.util.PaymentApiResponseUtil;
 import com.forgerock.sapi.gateway.ob.uk.rs.server.common.util.VersionPathExtractor;
 import com.forgerock.sapi.gateway.ob.uk.rs.server.service.idempotency.IdempotentPaymentService;
 import com.forgerock.sapi.gateway.ob.uk.rs.server.service.idempotency.SinglePaymentForConsentIdempotentPaymentService;
+import com.forgerock.sapi.gateway.ob.uk.rs.server.service.report.PaymentReportFile1Service;
 import com.forgerock.sapi.gateway.ob.uk.rs.server.v4.common.util.link.LinksHelper;
 import com.forgerock.sapi.gateway.ob.uk.rs.server.validator.PaymentSubmissionValidator;
 import com.forgerock.sapi.gateway.ob.uk.rs.server.validator.ResourceVersionValidator;
@@ -57,18 +62,21 @@ import com.forgerock.sapi.gateway.ob.uk.rs.validation.obie.v4.payment.OBWriteFil
 import com.forgerock.sapi.gateway.rcs.consent.store.client.payment.file.FilePaymentConsentStoreClient;
 import com.forgerock.sapi.gateway.rcs.consent.store.datamodel.payment.ConsumePaymentConsentRequest;
 import com.forgerock.sapi.gateway.rcs.consent.store.datamodel.payment.file.v3_1_10.FilePaymentConsent;
+import com.forgerock.sapi.gateway.rs.resource.store.repo.entity.payment.FRFilePaymentLine;
 import com.forgerock.sapi.gateway.rs.resource.store.repo.entity.payment.FRFilePaymentSubmission;
 import com.forgerock.sapi.gateway.rs.resource.store.repo.mongo.payments.FilePaymentSubmissionRepository;
 import com.forgerock.sapi.gateway.uk.common.shared.api.meta.obie.OBVersion;
 
 import jakarta.servlet.http.HttpServletRequest;
 import uk.org.openbanking.datamodel.v4.common.Meta;
-import uk.org.openbanking.datamodel.v4.common.OBStatusReason;
 import uk.org.openbanking.datamodel.v4.payment.OBWriteFile2;
 import uk.org.openbanking.datamodel.v4.payment.OBWriteFileConsent3;
 import uk.org.openbanking.datamodel.v4.payment.OBWriteFileResponse3;
 import uk.org.openbanking.datamodel.v4.payment.OBWriteFileResponse3Data;
+import uk.org.openbanking.datamodel.v4.payment.OBWritePaymentDetails1;
+import uk.org.openbanking.datamodel.v4.payment.OBWritePaymentDetails1StatusDetail;
 import uk.org.openbanking.datamodel.v4.payment.OBWritePaymentDetailsResponse1;
+import uk.org.openbanking.datamodel.v4.payment.OBWritePaymentDetailsResponse1Data;
 
 @Controller("FilePaymentsApiV4.0.0")
 public class FilePaymentsApiController implements FilePaymentsApi {
@@ -79,16 +87,22 @@ public class FilePaymentsApiController implements FilePaymentsApi {
     private final FilePaymentConsentStoreClient consentStoreClient;
     private final OBValidationService<OBWriteFile2ValidationContext> filePaymentRequestValidator;
     private final IdempotentPaymentService<FRFilePaymentSubmission, FRWriteFile> idempotentPaymentService;
+    private final FilePaymentExecutionService filePaymentExecutionService;
+    private final PaymentReportFile1Service paymentReportFileService;
 
     public FilePaymentsApiController(
             FilePaymentSubmissionRepository filePaymentSubmissionRepository,
             PaymentSubmissionValidator paymentSubmissionValidator,
             @Qualifier("v4.0.0RestFilePaymentConsentStoreClient") FilePaymentConsentStoreClient consentStoreClient,
-            OBValidationService<OBWriteFile2ValidationContext> filePaymentRequestValidator) {
+            OBValidationService<OBWriteFile2ValidationContext> filePaymentRequestValidator,
+            FilePaymentExecutionService filePaymentExecutionService,
+            PaymentReportFile1Service paymentReportFileService) {
         this.filePaymentSubmissionRepository = filePaymentSubmissionRepository;
         this.paymentSubmissionValidator = paymentSubmissionValidator;
         this.consentStoreClient = consentStoreClient;
         this.filePaymentRequestValidator = filePaymentRequestValidator;
+        this.filePaymentExecutionService = filePaymentExecutionService;
+        this.paymentReportFileService = paymentReportFileService;
         this.idempotentPaymentService = new SinglePaymentForConsentIdempotentPaymentService<>(filePaymentSubmissionRepository);
     }
 
@@ -106,7 +120,7 @@ public class FilePaymentsApiController implements FilePaymentsApi {
                         .status(toOBWriteFileResponse3DataStatus(frPaymentSubmission.getStatus()))
                         .consentId(data.getConsentId())
                         .debtor(toOBCashAccountDebtor4(data.getInitiation().getDebtorAccount()))
-                        .statusReason(Collections.singletonList(FRModelMapper.map(responseData.getStatusReason(), OBStatusReason.class))))
+                        .statusReason(Collections.singletonList(toOBStatusReason(responseData.getStatusReason()))))
                 .links(LinksHelper.createFilePaymentsLink(this.getClass(), frPaymentSubmission.getId()))
                 .meta(new Meta());
     }
@@ -152,21 +166,15 @@ public class FilePaymentsApiController implements FilePaymentsApi {
         consumePaymentRequest.setApiClientId(apiClientId);
         consentStoreClient.consumeConsent(consumePaymentRequest);
 
+        // The payments are executed in the background, their progress is reported by the payment details
+        filePaymentExecutionService.execute(frPaymentSubmission, consent);
+
         return ResponseEntity.status(CREATED).body(responseEntity(consent, frPaymentSubmission));
     }
 
     @Override
     public ResponseEntity getFilePaymentsFilePaymentId(String filePaymentId, String authorization, String xFapiAuthDate, String xFapiCustomerIpAddress, String xFapiInteractionId, String xCustomerUserAgent, String apiClientId, HttpServletRequest request) throws OBErrorResponseException {
-        Optional<FRFilePaymentSubmission> isPaymentSubmission = filePaymentSubmissionRepository.findById(filePaymentId);
-        if (!isPaymentSubmission.isPresent()) {
-            throw new OBErrorResponseException(
-                    HttpStatus.BAD_REQUEST,
-                    OBRIErrorResponseCategory.REQUEST_INVALID,
-                    OBRIErrorType.PAYMENT_SUBMISSION_NOT_FOUND
-                            .toOBError1(filePaymentId));
-        }
-
-        FRFilePaymentSubmission frPaymentSubmission = isPaymentSubmission.get();
+        FRFilePaymentSubmission frPaymentSubmission = getFilePaymentSubmission(filePaymentId);
         OBVersion apiVersion = VersionPathExtractor.getVersionFromPath(request);
         if (!ResourceVersionValidator.isAccessToResourceAllowed(apiVersion, frPaymentSubmission.getObVersion())) {
             return PaymentApiResponseUtil.resourceConflictResponse(frPaymentSubmission, apiVersion);
@@ -176,13 +184,52 @@ public class FilePaymentsApiController implements FilePaymentsApi {
     }
 
     @Override
-    public ResponseEntity<OBWritePaymentDetailsResponse1> getFilePaymentsFilePaymentIdPaymentDetails(String filePaymentId, String authorization, String xFapiAuthDate, String xFapiCustomerIpAddress, String xFapiInteractionId, String xCustomerUserAgent, String apiClientId) {
-        // Optional endpoint - not implemented
-        return new ResponseEntity<>(NOT_IMPLEMENTED);
+    public ResponseEntity<OBWritePaymentDetailsResponse1> getFilePaymentsFilePaymentIdPaymentDetails(String filePaymentId, String authorization, String xFapiAuthDate, String xFapiCustomerIpAddress, String xFapiInteractionId, String xCustomerUserAgent, String apiClientId) throws OBErrorResponseException {
+        final FRFilePaymentSubmission frPaymentSubmission = getFilePaymentSubmission(filePaymentId);
+        final String localInstrument = frPaymentSubmission.getFilePayment().getData().getInitiation().getLocalInstrument();
+
+        final OBWritePaymentDetailsResponse1Data data = new OBWritePaymentDetailsResponse1Data();
+        try (Stream<FRFilePaymentLine> lines = filePaymentExecutionService.streamLines(filePaymentId)) {
+            lines.forEach(line -> data.addPaymentStatusItem(toOBWritePaymentDetails1(line, localInstrument)));
+        }
+        return ResponseEntity.ok(new OBWritePaymentDetailsResponse1()
+                .data(data)
+                .links(LinksHelper.createFilePaymentDetailsLink(this.getClass(), filePaymentId))
+                .meta(new Meta()));
     }
 
     @Override
-    public ResponseEntity<Object> getFilePaymentsFilePaymentIdReportFile(String filePaymentId, String authorization, String xFapiAuthDate, String xFapiCustomerIpAddress, String xFapiInteractionId, String xCustomerUserAgent, String apiClientId) {
-        return new ResponseEntity<>(NOT_IMPLEMENTED);
+    public ResponseEntity<StreamingResponseBody> getFilePaymentsFilePaymentIdReportFile(String filePaymentId, String authorization, String xFapiAuthDate, String xFapiCustomerIpAddress, String xFapiInteractionId, String xCustomerUserAgent, String apiClientId) throws OBErrorResponseException, OBErrorException {
+        final FRFilePaymentSubmission frPaymentSubmission = getFilePaymentSubmission(filePaymentId);
+        return ResponseEntity.ok()
+                .contentType(paymentReportFileService.getReportContentType(frPaymentSubmission))
+                .body(paymentReportFileService.createPaymentReport(frPaymentSubmission));
+    }
+
+    private FRFilePaymentSubmission getFilePaymentSubmission(String filePaymentId) throws OBErrorResponseException {
+        Optional<FRFilePaymentSubmission> isPaymentSubmission = filePaymentSubmissionRepository.findById(filePaymentId);
+        if (!isPaymentSubmission.isPresent()) {
+            throw new OBErrorResponseException(
+                    HttpStatus.BAD_REQUEST,
+                    OBRIErrorResponseCategory.REQUEST_INVALID,
+                    OBRIErrorType.PAYMENT_SUBMISSION_NOT_FOUND
+                            .toOBError1(filePaymentId));
+        }
+        return isPaymentSubmission.get();
+    }
+
+    private static OBWritePaymentDetails1 toOBWritePaymentDetails1(FRFilePaymentLine line, String localInstrument) {
+        final FilePaymentTransactionStatus status = FilePaymentTransactionStatus.of(line.getPayment().getStatus());
+        return new OBWritePaymentDetails1()
+                .paymentTransactionId(line.getId())
+                .status(FRPaymentDetailsStatusConverter.toOBPaymentDetailsStatus(status.getValue()))
+                .statusUpdateDateTime(new DateTime(line.getStatusUpdateDateTime()))
+                .statusDetail(
+                        new OBWritePaymentDetails1StatusDetail()
+                                .localInstrument(localInstrument)
+                                .status(FRPaymentDetailsStatusConverter.toOBWritePaymentDetails1StatusDetailStatus(status.getValue()))
+                                .statusReason(status.getIsoCode())
+                                .statusReasonDescription(line.getStatusReason() != null ? line.getStatusReason() : status.getIsoCode())
+                );
     }
 }
@@ -28,6 +28,7 @@ import com.forgerock.sapi.gateway.ob.uk.common.datamodel.converter.v4.vrp.FRDome
 import com.forgerock.sapi.gateway.ob.uk.common.error.OBErrorResponseException;
 import com.forgerock.sapi.gateway.ob.uk.rs.obie.api.payment.v4_0_0.vrp.DomesticVrpConsentsApi;
 import com.forgerock.sapi.gateway.ob.uk.rs.server.api.obie.payment.factories.v4_0_0.OBDomesticVRPConsentResponseFactory;
+import com.forgerock.sapi.gateway.ob.uk.rs.server.common.logging.PayloadLoggingPolicy;
 import com.forgerock.sapi.gateway.ob.uk.rs.server.service.balance.FundsAvailabilityService;
 import com.forgerock.sapi.gateway.ob.uk.rs.validation.obie.OBValidationService;
 import com.forgerock.sapi.gateway.ob.uk.rs.validation.obie.v4.payment.consent.OBVRPFundsConfirmationRequestValidator.VRPFundsConfirmationValidationContext;
@@ -60,16 +61,20 @@ public class DomesticVrpConsentsApiController implements DomesticVrpConsentsApi
 
     private final OBDomesticVRPConsentResponseFactory responseFactory;
 
+    private final PayloadLoggingPolicy payloadLoggingPolicy;
+
     public DomesticVrpConsentsApiController(FundsAvailabilityService fundsAvailabilityService,
                                             @Qualifier("v4.0.0RestDomesticVRPConsentStoreClient")DomesticVRPConsentStoreClient consentStoreClient,
                                             OBValidationService<OBDomesticVRPConsentRequest> vrpConsentValidator,
                                             OBValidationService<VRPFundsConfirmationValidationContext> vrpFundsConfirmationValidator,
-                                            OBDomesticVRPConsentResponseFactory responseFactory) {
+                                            OBDomesticVRPConsentResponseFactory responseFactory,
+                                            PayloadLoggingPolicy payloadLoggingPolicy) {
         this.fundsAvailabilityService = Objects.requireNonNull(fundsAvailabilityService, "FundsAvailabilityService cannot be null");
         this.consentStoreClient = Objects.requireNonNull(consentStoreClient, "ConsentStoreClient cannot be null");
         this.vrpConsentValidator = Objects.requireNonNull(vrpConsentValidator, "VRPConsentValidator cannot be null");
         this.vrpFundsConfirmationValidator = Objects.requireNonNull(vrpFundsConfirmationValidator, "VRPFundsConfirmationValidator cannot be null");
         this.responseFactory = Objects.requireNonNull(responseFactory, "ResponseFactory cannot be null");
+        this.payloadLoggingPolicy = Objects.requireNonNull(payloadLoggingPolicy, "PayloadLoggingPolicy cannot be null");
     }
 
     @Override
@@ -98,8 +103,10 @@ public class DomesticVrpConsentsApiController implements DomesticVrpConsentsApi
                                                                                 String apiClientId,
                                                                                 HttpServletRequest request) throws OBErrorResponseException {
 
-        log.trace("domesticVrpConsentsPost - creating consent: {}, apiClientId: {}, idempotencyKey: {}, x-fapi-interaction-id: {}  ",
-                obDomesticVRPConsentRequest, apiClientId, xIdempotencyKey, xFapiInteractionId);
+        if (payloadLoggingPolicy.shouldLog(log)) {
+            log.debug("domesticVrpConsentsPost - creating consent: {}, apiClientId: {}, idempotencyKey: {}, x-fapi-interaction-id: {}  ",
+                    payloadLoggingPolicy.summarise(obDomesticVRPConsentRequest), apiClientId, xIdempotencyKey, xFapiInteractionId);
+        }
 
         vrpConsentValidator.validate(obDomesticVRPConsentRequest);
 
@@ -19,6 +19,7 @@ import static com.forgerock.sapi.gateway.ob.uk.common.datamodel.converter.v3.com
 import static com.forgerock.sapi.gateway.ob.uk.common.datamodel.converter.v4.common.FRSubmissionStatusConverter.toOBDomesticVRPResponseDataStatusEnum;
 import static com.forgerock.sapi.gateway.ob.uk.common.datamodel.converter.v4.vrp.FRDomesticVrpConverters.toFRDomesticVRPRequest;
 import static com.forgerock.sapi.gateway.ob.uk.common.datamodel.converter.v4.vrp.FRDomesticVrpConverters.toOBDomesticVRPRequest;
+import static com.forgerock.sapi.gateway.ob.uk.rs.server.v4.common.mapper.OBStatusReasonMapper.toOBStatusReason;
 import static org.springframework.http.HttpStatus.CREATED;
 
 import java.security.Principal;
@@ -36,7 +37,6 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 
 import com.forgerock.sapi.gateway.ob.uk.common.datamodel.common.FRResponseDataRefund;
-import com.forgerock.sapi.gateway.ob.uk.common.datamodel.converter.v3.mapper.FRModelMapper;
 import com.forgerock.sapi.gateway.ob.uk.common.datamodel.converter.v4.common.FRPaymentDetailsStatusConverter;
 import com.forgerock.sapi.gateway.ob.uk.common.datamodel.converter.v4.common.FRResponseDataRefundConverter;
 import com.forgerock.sapi.gateway.ob.uk.common.datamodel.converter.v4.vrp.FRDomesticVRPConsentConverters;
@@ -46,6 +46,7 @@ import com.forgerock.sapi.gateway.ob.uk.common.error.OBErrorResponseException;
 import com.forgerock.sapi.gateway.ob.uk.rs.obie.api.payment.v4_0_0.vrp.DomesticVrpsApi;
 import com.forgerock.sapi.gateway.ob.uk.rs.server.api.obie.payment.services.RefundAccountService;
 import com.forgerock.sapi.gateway.ob.uk.rs.server.api.obie.payment.simulations.vrp.PeriodicLimitBreachResponseSimulatorService;
+import com.forgerock.sapi.gateway.ob.uk.rs.server.common.logging.PayloadLoggingPolicy;
 import com.forgerock.sapi.gateway.ob.uk.rs.server.common.util.VersionPathExtractor;
 import com.forgerock.sapi.gateway.ob.uk.rs.server.service.idempotency.IdempotentPaymentService;
 import com.forgerock.sapi.gateway.ob.uk.rs.server.service.idempotency.VRPIdempotentPaymentService;
@@ -65,7 +66,6 @@ import uk.org.openbanking.datamodel.v3.vrp.OBDomesticVRPResponseDataStatus;
 import uk.org.openbanking.datamodel.v4.common.Meta;
 import uk.org.openbanking.datamodel.v4.common.OBActiveOrHistoricCurrencyAndAmount;
 import uk.org.openbanking.datamodel.v4.common.OBInternalChargeBearerType1Code;
-import uk.org.openbanking.datamodel.v4.common.OBStatusReason;
 import uk.org.openbanking.datamodel.v4.vrp.OBDomesticVRPDetails;
 import uk.org.openbanking.datamodel.v4.vrp.OBDomesticVRPDetailsData;
 import uk.org.openbanking.datamodel.v4.vrp.OBDomesticVRPDetailsDataPaymentStatusInner;
@@ -90,6 +90,7 @@ public class DomesticVrpsApiController implements DomesticVrpsApi {
     private final RefundAccountService refundAccountService;
     private final DomesticVRPConsentStoreClient consentStoreClient;
     private final IdempotentPaymentService<FRDomesticVrpPaymentSubmission, FRDomesticVrpRequest> idempotentPaymentService;
+    private final PayloadLoggingPolicy payloadLoggingPolicy;
 
     public DomesticVrpsApiController(
             DomesticVrpPaymentSubmissionRepository paymentSubmissionRepository,
@@ -97,7 +98,8 @@ public class DomesticVrpsApiController implements DomesticVrpsApi {
             @Qualifier(("v4.0.0RestDomesticVRPConsentStoreClient")) DomesticVRPConsentStoreClient consentStoreClient,
             PeriodicLimitBreachResponseSimulatorService limitBreachResponseSimulatorService,
             PaymentSubmissionValidator paymentSubmissionValidator,
-            RefundAccountService refundAccountService
+            RefundAccountService refundAccountService,
+            PayloadLoggingPolicy payloadLoggingPolicy
     ) {
         this.paymentSubmissionRepository = Objects.requireNonNull(paymentSubmissionRepository, "PaymentSubmissionRepository cannot be null");
         this.paymentRequestValidator = Objects.requireNonNull(paymentRequestValidator, "PaymentRequestValidator cannot be null");
@@ -105,6 +107,7 @@ public class DomesticVrpsApiController implements DomesticVrpsApi {
         this.limitBreachResponseSimulatorService = Objects.requireNonNull(limitBreachResponseSimulatorService, "LimitBreachResponseSimulatorService cannot be null");
         this.paymentSubmissionValidator = Objects.requireNonNull(paymentSubmissionValidator, "PaymentSubmissionValidator cannot be null");
         this.refundAccountService = Objects.requireNonNull(refundAccountService, "RefundAccountService cannot be null");
+        this.payloadLoggingPolicy = Objects.requireNonNull(payloadLoggingPolicy, "PayloadLoggingPolicy cannot be null");
         this.idempotentPaymentService = new VRPIdempotentPaymentService(
                 Objects.requireNonNull(paymentSubmissionRepository, "PaymentSubmissionRepository cannot be null for IdempotentPaymentService")
         );
@@ -197,7 +200,9 @@ public class DomesticVrpsApiController implements DomesticVrpsApi {
             HttpServletRequest request,
             Principal principal
     ) throws OBErrorResponseException, OBErrorException {
-        log.debug("Received VRP payment submission: '{}'", obDomesticVRPRequest);
+        if (payloadLoggingPolicy.shouldLog(log)) {
+            log.debug("Received VRP payment submission: '{}'", payloadLoggingPolicy.summarise(obDomesticVRPRequest));
+        }
 
         paymentSubmissionValidator.validateIdempotencyKey(xIdempotencyKey);
 
@@ -272,7 +277,7 @@ public class DomesticVrpsApiController implements DomesticVrpsApi {
                                 .initiation(obDomesticVRPRequest.getData().getInitiation())
                                 .instruction(obDomesticVRPRequest.getData().getInstruction())
                                 .refund(refundAccountData.map(FRResponseDataRefundConverter::toOBCashAccountDebtorWithName).orElse(null))
-                                .statusReason(Collections.singletonList(FRModelMapper.map(responseData.getStatusReason(), OBStatusReason.class))))
+                                .statusReason(Collections.singletonList(toOBStatusReason(responseData.getStatusReason()))))
 
                 .links(LinksHelper.createDomesticVrpPaymentLink(this.getClass(), paymentSubmission.getId())
                 ).meta(new Meta())
@@ -0,0 +1,281 @@
+/*
+ * Copyright © 2020-2025 ForgeRock AS (obst@forgerock.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.forgerock.sapi.gateway.ob.uk.rs.server.common.logging;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.joda.JodaModule;
+import com.forgerock.sapi.gateway.ob.uk.rs.server.common.util.HashUtils;
+import com.forgerock.sapi.gateway.ob.uk.rs.server.common.util.HashingWriter;
+
+/**
+ * Decides whether request payloads, payment files and other potentially large objects are logged and, if so, how much
+ * of them is written.
+ * <p>
+ * Payloads are only logged when the logger is at debug level and the logger's package is selected by its sample rate,
+ * callers check this before creating the log argument:
+ * <pre>
+ *     if (payloadLoggingPolicy.shouldLog(log)) {
+ *         log.debug("Received request: {}", payloadLoggingPolicy.summarise(request));
+ *     }
+ * </pre>
+ * The payload is rendered when the message is written: Strings are copied and other objects are serialised to JSON
+ * into a buffer holding at most maxLength characters. Serialisation stops once the buffer is full unless hashing is
+ * enabled, in which case the full payload is streamed through a SHA-256 digest (without being buffered) so that
+ * truncated payloads can still be correlated.
+ * <p>
+ * The policy is created from the rs.logging.payload config by
+ * {@link com.forgerock.sapi.gateway.ob.uk.rs.server.configuration.PayloadLoggingConfiguration}, {@link #DEFAULT} is
+ * used by components which are created outside of Spring.
+ */
+public class PayloadLoggingPolicy {
+
+    public static final PayloadLoggingPolicy DEFAULT = new PayloadLoggingPolicy(1024, false, 1.0D, Map.of(),
+            new ObjectMapper().registerModule(new JodaModule()));
+
+    private final int maxLength;
+    private final boolean hashPayloads;
+    private final double defaultSampleRate;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Sample rates keyed by logger name prefix, longest prefix first so that the most specific rate wins
+     */
+    private final List<Entry<String, Double>> sampleRates;
+
+    /**
+     * @param maxLength         maximum number of payload characters to log, 0 to log the summary only
+     * @param hashPayloads      whether to include the length and SHA-256 hash of the full payload
+     * @param defaultSampleRate fraction (0.0 - 1.0) of payloads to log for loggers with no specific sample rate
+     * @param sampleRates       fraction of payloads to log, keyed by logger name (package or class) prefix
+     * @param objectMapper      used to serialise payloads which are not Strings
+     */
+    public PayloadLoggingPolicy(int maxLength, boolean hashPayloads, double defaultSampleRate,
+                                Map<String, Double> sampleRates, ObjectMapper objectMapper) {
+        if (maxLength < 0) {
+            throw new IllegalArgumentException("maxLength must be >= 0");
+        }
+        this.maxLength = maxLength;
+        this.hashPayloads = hashPayloads;
+        this.defaultSampleRate = validateSampleRate(defaultSampleRate);
+        this.sampleRates = sampleRates.entrySet().stream()
+                .peek(entry -> validateSampleRate(entry.getValue()))
+                .sorted(Comparator.comparingInt((Entry<String, Double> entry) -> entry.getKey().length()).reversed())
+                .collect(Collectors.toUnmodifiableList());
+        this.objectMapper = Objects.requireNonNull(objectMapper, "objectMapper must be supplied");
+    }
+
+    private static double validateSampleRate(Double sampleRate) {
+        if (sampleRate == null || sampleRate < 0 || sampleRate > 1) {
+            throw new IllegalArgumentException("sampleRate must be between 0.0 and 1.0, got: " + sampleRate);
+        }
+        return sampleRate;
+    }
+
+    /**
+     * @return true if a payload should be logged to this logger; the logger must be at debug level and the payload
+     * must be selected by the sample rate of the logger's package.
+     */
+    public boolean shouldLog(Logger logger) {
+        if (!logger.isDebugEnabled()) {
+            return false;
+        }
+        final double sampleRate = getSampleRate(logger.getName());
+        return sampleRate >= 1 || (sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate);
+    }
+
+    double getSampleRate(String loggerName) {
+        for (final Entry<String, Double> sampleRate : sampleRates) {
+            if (loggerName.startsWith(sampleRate.getKey())) {
+                return sampleRate.getValue();
+            }
+        }
+        return defaultSampleRate;
+    }
+
+    /**
+     * @return a log argument which renders a capped (and optionally hashed) summary of the payload when the log
+     * message is written.
+     */
+    public Object summarise(Object payload) {
+        return new PayloadSummary(() -> payload);
+    }
+
+    /**
+     * @return a log argument which obtains the payload and renders a capped (and optionally hashed) summary of it when
+     * the log message is written.
+     */
+    public Object summarise(Supplier<?> payload) {
+        return new PayloadSummary(payload);
+    }
+
+    String render(Object payload) {
+        if (payload == null) {
+            return "null";
+        }
+        final BoundedWriter writer = new BoundedWriter(maxLength, hashPayloads ? HashUtils.createSHA256HashingWriter() : null);
+        try {
+            if (payload instanceof CharSequence) {
+                writer.append((CharSequence) payload);
+            } else {
+                objectMapper.writeValue(writer, payload);
+            }
+        } catch (IOException e) {
+            // The writer aborts serialisation once the limit has been reached if the full payload is not needed
+            if (!writer.isLimitReached()) {
+                return "[unable to serialise " + payload.getClass().getName() + ": " + e.getMessage() + "]";
+            }
+        }
+        final StringBuilder summary = writer.getContent();
+        final boolean truncated = writer.isLimitReached();
+        if (truncated) {
+            summary.append("...");
+        }
+        if (hashPayloads) {
+            summary.append(" [length=").append(writer.getLength())
+                   .append(", sha256=").append(writer.getHash()).append(']');
+        } else if (truncated) {
+            summary.append(" [truncated]");
+        }
+        return summary.toString();
+    }
+
+    public int getMaxLength() {
+        return maxLength;
+    }
+
+    public boolean isHashPayloads() {
+        return hashPayloads;
+    }
+
+    /**
+     * Log argument that defers evaluating and rendering the payload until toString is called by the logging framework.
+     */
+    private final class PayloadSummary {
+
+        private final Supplier<?> payload;
+        private String rendered;
+
+        private PayloadSummary(Supplier<?> payload) {
+            this.payload = payload;
+        }
+
+        @Override
+        public String toString() {
+            if (rendered == null) {
+                rendered = render(payload.get());
+            }
+            return rendered;
+        }
+    }
+
+    /**
+     * Writer which keeps the first maxLength characters written to it. Without a hashingWriter it throws once more
+     * than maxLength characters have been written, so that serialisation stops early; with one it counts and hashes
+     * the remaining characters without retaining them.
+     */
+    static final class BoundedWriter extends Writer {
+
+        private final int maxLength;
+        private final HashingWriter hashingWriter;
+        private final StringBuilder content;
+        private long length;
+
+        BoundedWriter(int maxLength, HashingWriter hashingWriter) {
+            this.maxLength = maxLength;
+            this.hashingWriter = hashingWriter;
+            this.content = new StringBuilder(Math.min(maxLength, 256) + 80);
+        }
+
+        @Override
+        public void write(char[] cbuf, int off, int len) throws IOException {
+            checkLimit();
+            content.append(cbuf, off, Math.min(len, maxLength - content.length()));
+            update(len);
+            if (hashingWriter != null) {
+                hashingWriter.write(cbuf, off, len);
+            }
+        }
+
+        @Override
+        public void write(String str, int off, int len) throws IOException {
+            checkLimit();
+            content.append(str, off, off + Math.min(len, maxLength - content.length()));
+            update(len);
+            if (hashingWriter != null) {
+                hashingWriter.write(str, off, len);
+            }
+        }
+
+        @Override
+        public Writer append(CharSequence csq) throws IOException {
+            // Avoid Writer.append copying the whole sequence into a String
+            final int chunkSize = 8192;
+            for (int start = 0; start < csq.length(); start += chunkSize) {
+                final String chunk = csq.subSequence(start, Math.min(csq.length(), start + chunkSize)).toString();
+                write(chunk, 0, chunk.length());
+            }
+            return this;
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+
+        boolean isLimitReached() {
+            return length > maxLength;
+        }
+
+        long getLength() {
+            return length;
+        }
+
+        StringBuilder getContent() {
+            return content;
+        }
+
+        String getHash() {
+            return hashingWriter.getHash();
+        }
+
+        private void update(int len) throws IOException {
+            length += len;
+            checkLimit();
+        }
+
+        private void checkLimit() throws IOException {
+            if (hashingWriter == null && isLimitReached()) {
+                throw new IOException("Payload exceeds the " + maxLength + " character logging limit");
+            }
+        }
+    }
+}
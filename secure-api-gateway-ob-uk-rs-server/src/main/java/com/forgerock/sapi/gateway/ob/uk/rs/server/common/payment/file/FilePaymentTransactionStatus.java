@@ -0,0 +1,64 @@
+/*
+ * Copyright © 2020-2025 ForgeRock AS (obst@forgerock.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.forgerock.sapi.gateway.ob.uk.rs.server.common.payment.file;
+
+import com.forgerock.sapi.gateway.ob.uk.common.datamodel.payment.FRFilePayment;
+
+/**
+ * Status of an individual payment of a file payment, as reported by the payment details API and the report files.
+ */
+public enum FilePaymentTransactionStatus {
+
+    PENDING("Pending", "PDNG"),
+    ACCEPTED_SETTLEMENT_COMPLETED("AcceptedSettlementCompleted", "ACSC"),
+    REJECTED("Rejected", "RJCT");
+
+    private final String value;
+    private final String isoCode;
+
+    FilePaymentTransactionStatus(String value, String isoCode) {
+        this.value = value;
+        this.isoCode = isoCode;
+    }
+
+    /**
+     * @return the OBIE transaction status value
+     */
+    public String getValue() {
+        return value;
+    }
+
+    /**
+     * @return the ISO 20022 ExternalPaymentTransactionStatus1Code of the status
+     */
+    public String getIsoCode() {
+        return isoCode;
+    }
+
+    public static FilePaymentTransactionStatus of(FRFilePayment.PaymentStatus paymentStatus) {
+        if (paymentStatus == null) {
+            return PENDING;
+        }
+        switch (paymentStatus) {
+            case COMPLETED:
+                return ACCEPTED_SETTLEMENT_COMPLETED;
+            case REJECTED:
+                return REJECTED;
+            default:
+                return PENDING;
+        }
+    }
+}
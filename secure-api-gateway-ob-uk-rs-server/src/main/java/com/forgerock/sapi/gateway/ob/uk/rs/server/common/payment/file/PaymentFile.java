@@ -24,40 +24,21 @@ import java.util.Objects;
 /**
  * Represents a parsed valid payment file
  */
-public class PaymentFile {
+public class PaymentFile extends PaymentFileSummary {
 
-    private final BigDecimal controlSum;
-    private final PaymentFileType fileType;
     private final List<FRFilePayment> payments;
 
     public PaymentFile(PaymentFileType fileType, List<FRFilePayment> payments, BigDecimal controlSum) {
-        this.controlSum = Objects.requireNonNull(controlSum);
-        this.fileType = Objects.requireNonNull(fileType);
-        this.payments = Objects.requireNonNull(payments);
+        super(fileType, validatePayments(payments).size(), controlSum);
+        this.payments = payments;
+    }
+
+    private static List<FRFilePayment> validatePayments(List<FRFilePayment> payments) {
+        Objects.requireNonNull(payments);
         if (payments.isEmpty()) {
             throw new IllegalArgumentException("payments parameter must contain 1 or more payment objects");
         }
-    }
-
-    /**
-     * @return Number of transactions in payment file
-     */
-    public int getNumberOfTransactions() {
-        return payments.size();
-    }
-
-    /**
-     * @return The control sum (sum of all transaction amounts)
-     */
-    public BigDecimal getControlSum() {
-        return controlSum;
-    }
-
-    /**
-     * @return PaymentFileType the type of file that was parsed
-     */
-    public PaymentFileType getFileType() {
-        return fileType;
+        return payments;
     }
 
     /**
@@ -0,0 +1,62 @@
+/*
+ * Copyright © 2020-2025 ForgeRock AS (obst@forgerock.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.forgerock.sapi.gateway.ob.uk.rs.server.common.payment.file;
+
+import java.math.BigDecimal;
+import java.util.Objects;
+
+/**
+ * Metadata of a parsed valid payment file, without the individual payments.
+ *
+ * Returned when a payment file is streamed, in which case the payments are handed to a consumer as they are parsed
+ * rather than being held in memory.
+ */
+public class PaymentFileSummary {
+
+    private final BigDecimal controlSum;
+    private final PaymentFileType fileType;
+    private final int numberOfTransactions;
+
+    public PaymentFileSummary(PaymentFileType fileType, int numberOfTransactions, BigDecimal controlSum) {
+        this.controlSum = Objects.requireNonNull(controlSum);
+        this.fileType = Objects.requireNonNull(fileType);
+        if (numberOfTransactions < 1) {
+            throw new IllegalArgumentException("numberOfTransactions must be 1 or more");
+        }
+        this.numberOfTransactions = numberOfTransactions;
+    }
+
+    /**
+     * @return Number of transactions in payment file
+     */
+    public int getNumberOfTransactions() {
+        return numberOfTransactions;
+    }
+
+    /**
+     * @return The control sum (sum of all transaction amounts)
+     */
+    public BigDecimal getControlSum() {
+        return controlSum;
+    }
+
+    /**
+     * @return PaymentFileType the type of file that was parsed
+     */
+    public PaymentFileType getFileType() {
+        return fileType;
+    }
+}
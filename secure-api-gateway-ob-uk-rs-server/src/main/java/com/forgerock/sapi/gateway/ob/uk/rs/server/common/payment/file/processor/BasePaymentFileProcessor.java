@@ -15,9 +15,13 @@
  */
 package com.forgerock.sapi.gateway.ob.uk.rs.server.common.payment.file.processor;
 
+import java.io.Reader;
+import java.io.StringReader;
 import java.math.BigDecimal;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
+import java.util.function.Consumer;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -25,28 +29,34 @@ import org.slf4j.LoggerFactory;
 import com.forgerock.sapi.gateway.ob.uk.common.datamodel.payment.FRFilePayment;
 import com.forgerock.sapi.gateway.ob.uk.common.error.OBErrorException;
 import com.forgerock.sapi.gateway.ob.uk.common.error.OBRIErrorType;
+import com.forgerock.sapi.gateway.ob.uk.rs.server.common.logging.PayloadLoggingPolicy;
 import com.forgerock.sapi.gateway.ob.uk.rs.server.common.payment.file.PaymentFile;
+import com.forgerock.sapi.gateway.ob.uk.rs.server.common.payment.file.PaymentFileSummary;
 import com.forgerock.sapi.gateway.ob.uk.rs.server.common.payment.file.PaymentFileType;
 
 /**
  * Abstract class that can be used as a base for PaymentFileProcessor implementations.
  *
- * Subclasses need to implement the processFileImpl method.
+ * Subclasses need to implement the processFileImpl method, which streams the payments in the file to a consumer.
  */
 public abstract class BasePaymentFileProcessor implements PaymentFileProcessor {
 
     protected final Logger logger = LoggerFactory.getLogger(getClass());
     private final PaymentFileType supportedPaymentFileType;
+    private final PayloadLoggingPolicy payloadLoggingPolicy;
 
-    protected BasePaymentFileProcessor(PaymentFileType supportedPaymentFileType) {
+    protected BasePaymentFileProcessor(PaymentFileType supportedPaymentFileType, PayloadLoggingPolicy payloadLoggingPolicy) {
         this.supportedPaymentFileType = Objects.requireNonNull(supportedPaymentFileType,
                 "supportedPaymentFileType must be supplied");
+        this.payloadLoggingPolicy = Objects.requireNonNull(payloadLoggingPolicy, "payloadLoggingPolicy must be supplied");
     }
 
     /**
-     * FileType specific processing implementation
+     * FileType specific streaming implementation, passes each payment to the paymentConsumer as it is parsed.
+     *
+     * @return PaymentFileSummary of the file, or null if the file contains no payments
      */
-    protected abstract PaymentFile processFileImpl(String fileContent) throws OBErrorException;
+    protected abstract PaymentFileSummary processFileImpl(Reader fileContent, Consumer<FRFilePayment> paymentConsumer) throws OBErrorException;
 
     @Override
     public PaymentFileType getSupportedFileType() {
@@ -58,13 +68,41 @@ public abstract class BasePaymentFileProcessor implements PaymentFileProcessor {
         if (fileContent == null || fileContent.isEmpty()) {
             throw new OBErrorException(OBRIErrorType.REQUEST_FILE_EMPTY);
         }
-        logger.debug("Parsing file content: {}", fileContent);
-        final PaymentFile paymentFile = processFileImpl(fileContent);
+        if (payloadLoggingPolicy.shouldLog(logger)) {
+            logger.debug("Parsing file content: {}", payloadLoggingPolicy.summarise(fileContent));
+        }
+        final List<FRFilePayment> payments = new ArrayList<>();
+        final PaymentFileSummary summary = processFileImpl(new StringReader(fileContent), payments::add);
+        if (summary == null) {
+            // A well-formed file without any payments, e.g. {}
+            throw new OBErrorException(OBRIErrorType.REQUEST_FILE_INVALID, "File contains no payments");
+        }
+        final PaymentFile paymentFile = createPaymentFile(payments, summary.getControlSum());
         logger.debug("Parsed payment file, numTransactions: {}, controlSum: {}",
                      paymentFile.getNumberOfTransactions(), paymentFile.getControlSum());
         return paymentFile;
     }
 
+    @Override
+    public PaymentFileSummary processFile(Reader fileContent, Consumer<FRFilePayment> paymentConsumer) throws OBErrorException {
+        Objects.requireNonNull(fileContent, "fileContent must be supplied");
+        Objects.requireNonNull(paymentConsumer, "paymentConsumer must be supplied");
+        final PaymentFileSummary summary = processFileImpl(fileContent, paymentConsumer);
+        if (summary == null) {
+            throw new OBErrorException(OBRIErrorType.REQUEST_FILE_INVALID, "File contains no payments");
+        }
+        logger.debug("Streamed payment file, numTransactions: {}, controlSum: {}",
+                     summary.getNumberOfTransactions(), summary.getControlSum());
+        return summary;
+    }
+
+    /**
+     * @return PaymentFileSummary for numberOfTransactions streamed payments, or null if there were none
+     */
+    protected PaymentFileSummary createPaymentFileSummary(int numberOfTransactions, BigDecimal controlSum) {
+        return numberOfTransactions == 0 ? null : new PaymentFileSummary(supportedPaymentFileType, numberOfTransactions, controlSum);
+    }
+
     protected PaymentFile createPaymentFile(List<FRFilePayment> payments, BigDecimal controlSum) {
         return new PaymentFile(supportedPaymentFileType, payments, controlSum);
     }
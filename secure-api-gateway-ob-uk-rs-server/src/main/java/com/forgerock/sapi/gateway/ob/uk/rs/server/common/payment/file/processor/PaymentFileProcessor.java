@@ -15,8 +15,17 @@
  */
 package com.forgerock.sapi.gateway.ob.uk.rs.server.common.payment.file.processor;
 
+import java.io.IOException;
+import java.io.Reader;
+import java.util.function.Consumer;
+
+import org.springframework.util.FileCopyUtils;
+
+import com.forgerock.sapi.gateway.ob.uk.common.datamodel.payment.FRFilePayment;
 import com.forgerock.sapi.gateway.ob.uk.common.error.OBErrorException;
+import com.forgerock.sapi.gateway.ob.uk.common.error.OBRIErrorType;
 import com.forgerock.sapi.gateway.ob.uk.rs.server.common.payment.file.PaymentFile;
+import com.forgerock.sapi.gateway.ob.uk.rs.server.common.payment.file.PaymentFileSummary;
 import com.forgerock.sapi.gateway.ob.uk.rs.server.common.payment.file.PaymentFileType;
 
 /**
@@ -36,4 +45,27 @@ public interface PaymentFileProcessor {
      *                    the file such as the individual payment transactions.
      */
     PaymentFile processFile(String fileContent) throws OBErrorException;
+
+    /**
+     * Process the contents of a payment file in a single streaming pass. Each payment is handed to the paymentConsumer
+     * as soon as it has been parsed and is not retained, so memory use does not depend on the size of the file.
+     *
+     * The default implementation reads the whole file and delegates to {@link #processFile(String)}, processors
+     * able to parse their file type incrementally should override it.
+     *
+     * @param fileContent     Reader of the payment file content
+     * @param paymentConsumer Consumer of each payment in the file, in file order
+     * @return PaymentFileSummary containing the number of transactions and control sum of the file
+     */
+    default PaymentFileSummary processFile(Reader fileContent, Consumer<FRFilePayment> paymentConsumer) throws OBErrorException {
+        final String content;
+        try {
+            content = FileCopyUtils.copyToString(fileContent);
+        } catch (IOException e) {
+            throw new OBErrorException(OBRIErrorType.REQUEST_FILE_INVALID, e.getMessage());
+        }
+        final PaymentFile paymentFile = processFile(content);
+        paymentFile.getPayments().forEach(paymentConsumer);
+        return paymentFile;
+    }
 }
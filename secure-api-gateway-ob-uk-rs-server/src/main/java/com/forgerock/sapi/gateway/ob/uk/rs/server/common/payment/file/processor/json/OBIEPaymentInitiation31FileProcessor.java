@@ -15,28 +15,30 @@
  */
 package com.forgerock.sapi.gateway.ob.uk.rs.server.common.payment.file.processor.json;
 
+import java.io.IOException;
+import java.io.Reader;
 import java.math.BigDecimal;
-import java.util.List;
 import java.util.Optional;
-import java.util.concurrent.atomic.AtomicReference;
-import java.util.stream.Collectors;
+import java.util.function.Consumer;
 
 import org.joda.time.DateTime;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.forgerock.sapi.gateway.ob.uk.common.datamodel.converter.v3.common.FRAmountConverter;
 import com.forgerock.sapi.gateway.ob.uk.common.datamodel.payment.FRFilePayment;
 import com.forgerock.sapi.gateway.ob.uk.common.error.OBErrorException;
 import com.forgerock.sapi.gateway.ob.uk.common.error.OBRIErrorType;
+import com.forgerock.sapi.gateway.ob.uk.rs.server.common.logging.PayloadLoggingPolicy;
 import com.forgerock.sapi.gateway.ob.uk.rs.server.common.payment.file.DefaultPaymentFileType;
-import com.forgerock.sapi.gateway.ob.uk.rs.server.common.payment.file.PaymentFile;
+import com.forgerock.sapi.gateway.ob.uk.rs.server.common.payment.file.PaymentFileSummary;
 import com.forgerock.sapi.gateway.ob.uk.rs.server.common.payment.file.processor.BasePaymentFileProcessor;
 import com.forgerock.sapi.gateway.ob.uk.rs.server.common.payment.file.processor.json.schema.OBDomestic2;
 import com.forgerock.sapi.gateway.ob.uk.rs.server.common.payment.file.processor.json.schema.OBRemittanceInformation1;
-import com.forgerock.sapi.gateway.ob.uk.rs.server.common.util.JsonUtils;
 
 @Component
 public class OBIEPaymentInitiation31FileProcessor extends BasePaymentFileProcessor {
@@ -47,37 +49,80 @@ public class OBIEPaymentInitiation31FileProcessor extends BasePaymentFileProcess
     private final ObjectMapper objectMapper;
 
     public OBIEPaymentInitiation31FileProcessor() {
-        super(DefaultPaymentFileType.UK_OBIE_PAYMENT_INITIATION_V3_1.getPaymentFileType());
+        this(PayloadLoggingPolicy.DEFAULT);
+    }
+
+    @Autowired
+    public OBIEPaymentInitiation31FileProcessor(PayloadLoggingPolicy payloadLoggingPolicy) {
+        super(DefaultPaymentFileType.UK_OBIE_PAYMENT_INITIATION_V3_1.getPaymentFileType(), payloadLoggingPolicy);
         this.objectMapper = new ObjectMapper();
     }
 
+    /**
+     * Streams the Data.DomesticPayments array with a JsonParser, binding one payment object at a time so that only
+     * the current payment is held in memory. Any other fields in the file are skipped, but the whole file is read so
+     * that malformed JSON or content after the end of the document is rejected.
+     */
     @Override
-    protected PaymentFile processFileImpl(String fileContent) throws OBErrorException {
-        try {
-            final JsonNode dataNode = objectMapper.readTree(fileContent).path(DATA_NODE);
-
-            final AtomicReference<BigDecimal> controlSumRef = new AtomicReference<>(BigDecimal.ZERO);
-            final List<FRFilePayment> payments = JsonUtils.streamArray(dataNode.path(DOMESTIC_PAYMENTS_NODE))
-                    .map(this::toOBDomestic)
-                    .map(obDomestic2 -> {
-                        final FRFilePayment frFilePayment = this.toFRFilePayment(obDomestic2);
-                        final BigDecimal paymentAmount = new BigDecimal(frFilePayment.getInstructedAmount().getAmount());
-                        controlSumRef.set(controlSumRef.get().add(paymentAmount));
-                        return frFilePayment;
-                    })
-                    .collect(Collectors.toList());
-
-            return createPaymentFile(payments, controlSumRef.get());
+    protected PaymentFileSummary processFileImpl(Reader fileContent, Consumer<FRFilePayment> paymentConsumer) throws OBErrorException {
+        try (JsonParser parser = objectMapper.getFactory().createParser(fileContent)) {
+            int numberOfTransactions = 0;
+            BigDecimal controlSum = BigDecimal.ZERO;
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new JsonParseException(parser, "Payment file must be a JSON object");
+            }
+            if (moveToField(parser, DATA_NODE)) {
+                if (parser.nextToken() == JsonToken.START_OBJECT && moveToField(parser, DOMESTIC_PAYMENTS_NODE)) {
+                    if (parser.nextToken() == JsonToken.START_ARRAY) {
+                        while (parser.nextToken() != JsonToken.END_ARRAY) {
+                            final FRFilePayment frFilePayment = toFRFilePayment(objectMapper.readValue(parser, OBDomestic2.class));
+                            controlSum = controlSum.add(new BigDecimal(frFilePayment.getInstructedAmount().getAmount()));
+                            numberOfTransactions++;
+                            paymentConsumer.accept(frFilePayment);
+                        }
+                    } else {
+                        parser.skipChildren();
+                    }
+                    skipToEndOfObject(parser);
+                } else {
+                    parser.skipChildren();
+                }
+                skipToEndOfObject(parser);
+            }
+            if (parser.nextToken() != null) {
+                throw new JsonParseException(parser, "Unexpected content after the end of the payment file");
+            }
+            return createPaymentFileSummary(numberOfTransactions, controlSum);
         } catch (Exception e) {
-            logger.error("Error parsing JSON file. File content: '{}'", fileContent, e);
+            logger.error("Error parsing JSON file", e);
             throw new OBErrorException(OBRIErrorType.REQUEST_FILE_INVALID, e.getMessage());
         }
     }
-    private OBDomestic2 toOBDomestic(JsonNode paymentNode) {
-        try {
-            return objectMapper.treeToValue(paymentNode, OBDomestic2.class);
-        } catch (JsonProcessingException e) {
-            throw new RuntimeException(e);
+
+    /**
+     * Advances the parser, which must be positioned at the start of an object, to the value of the named field,
+     * skipping over the values of any other fields.
+     *
+     * @return true if the field was found, false if the end of the object was reached
+     */
+    private static boolean moveToField(JsonParser parser, String fieldName) throws IOException {
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            if (fieldName.equals(parser.getCurrentName())) {
+                return true;
+            }
+            parser.nextToken();
+            parser.skipChildren();
+        }
+        return false;
+    }
+
+    /**
+     * Skips the remaining fields of the object the parser is in, leaving the parser at its end.
+     */
+    private static void skipToEndOfObject(JsonParser parser) throws IOException {
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            parser.nextToken();
+            parser.skipChildren();
         }
     }
 
@@ -17,26 +17,31 @@ package com.forgerock.sapi.gateway.ob.uk.rs.server.common.payment.file.processor
 
 import static com.forgerock.sapi.gateway.ob.uk.common.datamodel.converter.v3.common.FRAmountConverter.toFRAmount;
 
-import java.io.StringReader;
+import java.io.Reader;
 import java.math.BigDecimal;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.function.Consumer;
 
-import javax.xml.bind.JAXB;
+import javax.xml.bind.JAXBContext;
+import javax.xml.bind.JAXBException;
+import javax.xml.bind.Unmarshaller;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
 
 import org.joda.time.DateTime;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
 
 import com.forgerock.sapi.gateway.ob.uk.common.datamodel.payment.FRFilePayment;
 import com.forgerock.sapi.gateway.ob.uk.common.error.OBErrorException;
 import com.forgerock.sapi.gateway.ob.uk.common.error.OBRIErrorType;
+import com.forgerock.sapi.gateway.ob.uk.rs.server.common.logging.PayloadLoggingPolicy;
 import com.forgerock.sapi.gateway.ob.uk.rs.server.common.payment.file.DefaultPaymentFileType;
-import com.forgerock.sapi.gateway.ob.uk.rs.server.common.payment.file.PaymentFile;
+import com.forgerock.sapi.gateway.ob.uk.rs.server.common.payment.file.PaymentFileSummary;
 import com.forgerock.sapi.gateway.ob.uk.rs.server.common.payment.file.jaxb.pain001.CreditTransferTransaction26;
 import com.forgerock.sapi.gateway.ob.uk.rs.server.common.payment.file.jaxb.pain001.CreditorReferenceInformation2;
 import com.forgerock.sapi.gateway.ob.uk.rs.server.common.payment.file.jaxb.pain001.Document;
-import com.forgerock.sapi.gateway.ob.uk.rs.server.common.payment.file.jaxb.pain001.PaymentInstruction22;
 import com.forgerock.sapi.gateway.ob.uk.rs.server.common.payment.file.jaxb.pain001.StructuredRemittanceInformation13;
 import com.forgerock.sapi.gateway.ob.uk.rs.server.common.payment.file.processor.BasePaymentFileProcessor;
 
@@ -45,33 +50,83 @@ import uk.org.openbanking.datamodel.v3.common.OBActiveOrHistoricCurrencyAndAmoun
 @Component
 public class OBIEPain001FileProcessor extends BasePaymentFileProcessor {
 
+    private static final String PAIN_001_NAMESPACE = "urn:iso:std:iso:20022:tech:xsd:pain.001.001.08";
+    private static final String DOCUMENT_ELEMENT = "Document";
+    private static final String CREDIT_TRANSFER_TRANSACTION_ELEMENT = "CdtTrfTxInf";
+
+    private final XMLInputFactory xmlInputFactory;
+
+    private final JAXBContext jaxbContext;
+
     public OBIEPain001FileProcessor() {
-        super(DefaultPaymentFileType.UK_OBIE_PAIN_001.getPaymentFileType());
+        this(PayloadLoggingPolicy.DEFAULT);
+    }
+
+    @Autowired
+    public OBIEPain001FileProcessor(PayloadLoggingPolicy payloadLoggingPolicy) {
+        super(DefaultPaymentFileType.UK_OBIE_PAIN_001.getPaymentFileType(), payloadLoggingPolicy);
+        xmlInputFactory = XMLInputFactory.newFactory();
+        xmlInputFactory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        xmlInputFactory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        try {
+            jaxbContext = JAXBContext.newInstance(Document.class);
+        } catch (JAXBException e) {
+            throw new IllegalStateException("Failed to create JAXBContext for pain.001", e);
+        }
     }
 
+    /**
+     * Walks the document with a StAX reader and only unmarshals one CdtTrfTxInf (credit transfer transaction) element
+     * at a time, so the document tree is never built in memory.
+     */
     @Override
-    protected PaymentFile processFileImpl(String fileContent) throws OBErrorException {
+    protected PaymentFileSummary processFileImpl(Reader fileContent, Consumer<FRFilePayment> paymentConsumer) throws OBErrorException {
+        XMLStreamReader xmlStreamReader = null;
         try {
-            logger.debug("Attempt to unmarshal XML '{}'", fileContent);
-            Document document = JAXB.unmarshal(new StringReader(fileContent), Document.class);
-            logger.debug("Unmarshalled to document");
-            final List<PaymentInstruction22> pmtInf = document.getCstmrCdtTrfInitn().getPmtInf();
-            final List<FRFilePayment> payments = new ArrayList<>();
+            xmlStreamReader = xmlInputFactory.createXMLStreamReader(fileContent);
+            xmlStreamReader.nextTag();
+            if (!DOCUMENT_ELEMENT.equals(xmlStreamReader.getLocalName())
+                    || !PAIN_001_NAMESPACE.equals(xmlStreamReader.getNamespaceURI())) {
+                throw new IllegalArgumentException("Expected root element {" + PAIN_001_NAMESPACE + "}" + DOCUMENT_ELEMENT
+                        + " but found: " + xmlStreamReader.getName());
+            }
+            final Unmarshaller unmarshaller = jaxbContext.createUnmarshaller();
+            int numberOfTransactions = 0;
             BigDecimal controlSum = BigDecimal.ZERO;
-            for (final PaymentInstruction22 paymentInstruction22 : pmtInf) {
-                for (final CreditTransferTransaction26 creditTransferTransaction26 : paymentInstruction22.getCdtTrfTxInf()) {
+            while (xmlStreamReader.hasNext()) {
+                if (xmlStreamReader.isStartElement()
+                        && CREDIT_TRANSFER_TRANSACTION_ELEMENT.equals(xmlStreamReader.getLocalName())
+                        && PAIN_001_NAMESPACE.equals(xmlStreamReader.getNamespaceURI())) {
+                    // unmarshal consumes the element and leaves the reader on the event after its end tag
+                    final CreditTransferTransaction26 creditTransferTransaction26 = unmarshaller
+                            .unmarshal(xmlStreamReader, CreditTransferTransaction26.class).getValue();
                     final FRFilePayment filePayment = toFRFilePayment(creditTransferTransaction26);
-                    payments.add(filePayment);
                     controlSum = controlSum.add(new BigDecimal(filePayment.getInstructedAmount().getAmount()));
+                    numberOfTransactions++;
+                    paymentConsumer.accept(filePayment);
+                } else {
+                    xmlStreamReader.next();
                 }
             }
-            return createPaymentFile(payments, controlSum);
+            return createPaymentFileSummary(numberOfTransactions, controlSum);
         } catch (Exception e) {
-            logger.warn("JAXB exception while attempting to unmarshal: {}", fileContent, e);
+            logger.warn("Exception while attempting to parse pain.001 file", e);
             throw new OBErrorException(OBRIErrorType.REQUEST_FILE_INVALID, e.getMessage());
+        } finally {
+            closeQuietly(xmlStreamReader);
+        }
+    }
+
+    private void closeQuietly(XMLStreamReader xmlStreamReader) {
+        if (xmlStreamReader != null) {
+            try {
+                xmlStreamReader.close();
+            } catch (XMLStreamException e) {
+                logger.debug("Failed to close XMLStreamReader", e);
+            }
         }
     }
-    
+
     private FRFilePayment toFRFilePayment(CreditTransferTransaction26 payment) {
         String remittanceReference = payment
                 .getRmtInf()
@@ -17,6 +17,7 @@ package com.forgerock.sapi.gateway.ob.uk.rs.server.common.util;
 
 import com.google.common.base.Preconditions;
 
+import java.io.Reader;
 import java.nio.charset.StandardCharsets;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
@@ -26,12 +27,35 @@ public class HashUtils {
 
     public static String computeSHA256FullHash(String contentToEncode) {
         Preconditions.checkNotNull(contentToEncode, "Cannot hash null");
+        return encodeHash(createSHA256Digest().digest(contentToEncode.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * Creates a Reader which computes the same hash as {@link #computeSHA256FullHash(String)} over the content as it
+     * is read, allowing the content to be hashed in the same pass that parses it.
+     */
+    public static HashingReader createSHA256HashingReader(Reader contentToEncode) {
+        Preconditions.checkNotNull(contentToEncode, "Cannot hash null");
+        return new HashingReader(contentToEncode, createSHA256Digest());
+    }
+
+    /**
+     * Creates a Writer which computes the same hash as {@link #computeSHA256FullHash(String)} over the content written
+     * to it, allowing content to be hashed as it is serialised.
+     */
+    public static HashingWriter createSHA256HashingWriter() {
+        return new HashingWriter(createSHA256Digest());
+    }
+
+    static MessageDigest createSHA256Digest() {
         try {
-            MessageDigest digest = MessageDigest.getInstance("SHA-256");
-            byte[] hash = digest.digest(contentToEncode.getBytes(StandardCharsets.UTF_8));
-            return Base64.getEncoder().encodeToString(hash);
+            return MessageDigest.getInstance("SHA-256");
         } catch (NoSuchAlgorithmException ex) {
             throw new IllegalStateException("Unknown algorithm for file hash: SHA-256");
         }
     }
+
+    static String encodeHash(byte[] hash) {
+        return Base64.getEncoder().encodeToString(hash);
+    }
 }
@@ -0,0 +1,181 @@
+/*
+ * Copyright © 2020-2025 ForgeRock AS (obst@forgerock.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.forgerock.sapi.gateway.ob.uk.rs.server.common.util;
+
+import java.io.FilterReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+/**
+ * Reader which feeds the UTF-8 encoding of the characters read through it into a MessageDigest, so that content can
+ * be hashed while it is being parsed without first copying it into a byte[].
+ * <p>
+ * The hash is always computed over the full content: if the consumer stops reading early, or closes the reader, the
+ * remaining content is read and hashed before the hash is returned.
+ * <p>
+ * Create instances via {@link HashUtils#createSHA256HashingReader(Reader)}.
+ */
+public class HashingReader extends FilterReader {
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private final MessageDigest digest;
+    // Unmappable chars (unpaired surrogates) are replaced, matching String.getBytes
+    private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder()
+                                                                 .onMalformedInput(CodingErrorAction.REPLACE)
+                                                                 .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    private final ByteBuffer encoded = ByteBuffer.allocate(BUFFER_SIZE);
+    // High surrogate at the end of the last read, which can only be encoded together with the next char
+    private final CharBuffer pendingSurrogate = CharBuffer.allocate(2);
+    private boolean endOfInput;
+    private String hash;
+
+    HashingReader(Reader in, MessageDigest digest) {
+        super(in);
+        this.digest = digest;
+    }
+
+    @Override
+    public int read() throws IOException {
+        final char[] singleChar = new char[1];
+        final int numRead = read(singleChar, 0, 1);
+        return numRead == -1 ? -1 : singleChar[0];
+    }
+
+    @Override
+    public int read(char[] cbuf, int off, int len) throws IOException {
+        final int numRead = super.read(cbuf, off, len);
+        if (numRead == -1) {
+            endOfInput = true;
+        } else if (numRead > 0) {
+            update(CharBuffer.wrap(cbuf, off, numRead));
+        }
+        return numRead;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        // Skipped chars must still be hashed
+        final char[] skipBuffer = new char[(int) Math.min(n, BUFFER_SIZE)];
+        long skipped = 0;
+        while (skipped < n) {
+            final int numRead = read(skipBuffer, 0, (int) Math.min(n - skipped, skipBuffer.length));
+            if (numRead == -1) {
+                break;
+            }
+            skipped += numRead;
+        }
+        return skipped;
+    }
+
+    @Override
+    public boolean markSupported() {
+        return false;
+    }
+
+    @Override
+    public void mark(int readAheadLimit) throws IOException {
+        throw new IOException("mark() not supported");
+    }
+
+    @Override
+    public void reset() throws IOException {
+        throw new IOException("reset() not supported");
+    }
+
+    /**
+     * Reads and hashes any remaining content before closing the underlying reader.
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            finish();
+        } finally {
+            super.close();
+        }
+    }
+
+    /**
+     * Returns the Base64 encoded hash of the full content, reading any content which has not yet been consumed.
+     *
+     * @return the hash in the same format as {@link HashUtils#computeSHA256FullHash(String)}
+     * @throws UncheckedIOException if the remaining content could not be read
+     */
+    public String getHash() {
+        try {
+            finish();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read content to hash", e);
+        }
+        return hash;
+    }
+
+    private void finish() throws IOException {
+        if (hash != null) {
+            return;
+        }
+        final char[] drainBuffer = new char[BUFFER_SIZE];
+        while (!endOfInput) {
+            read(drainBuffer, 0, drainBuffer.length);
+        }
+        pendingSurrogate.flip();
+        encode(pendingSurrogate, true);
+        while (encoder.flush(encoded).isOverflow()) {
+            updateDigest();
+        }
+        updateDigest();
+        hash = HashUtils.encodeHash(digest.digest());
+    }
+
+    private void update(CharBuffer chars) {
+        CharBuffer input = chars;
+        if (pendingSurrogate.position() > 0) {
+            // Complete the surrogate pair split across the previous read
+            pendingSurrogate.put(input.get()).flip();
+            encode(pendingSurrogate, false);
+            if (pendingSurrogate.hasRemaining()) {
+                throw new IllegalStateException("Failed to encode surrogate pair");
+            }
+        }
+        pendingSurrogate.clear();
+        encode(input, false);
+        if (input.hasRemaining()) {
+            pendingSurrogate.put(input.get());
+        }
+    }
+
+    private void encode(CharBuffer chars, boolean endOfChars) {
+        CoderResult result;
+        do {
+            result = encoder.encode(chars, encoded, endOfChars);
+            updateDigest();
+        } while (result.isOverflow());
+    }
+
+    private void updateDigest() {
+        encoded.flip();
+        digest.update(encoded);
+        encoded.clear();
+    }
+}
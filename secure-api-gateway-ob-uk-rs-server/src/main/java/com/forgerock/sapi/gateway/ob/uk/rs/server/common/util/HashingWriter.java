@@ -0,0 +1,92 @@
+/*
+ * Copyright © 2020-2025 ForgeRock AS (obst@forgerock.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.forgerock.sapi.gateway.ob.uk.rs.server.common.util;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+
+/**
+ * Writer which feeds the UTF-8 encoding of the characters written to it into a MessageDigest and discards them, so
+ * that content can be hashed as it is produced without first being copied into a String.
+ * <p>
+ * Create instances via {@link HashUtils#createSHA256HashingWriter()}.
+ */
+public class HashingWriter extends Writer {
+
+    private final MessageDigest digest;
+    // OutputStreamWriter encodes surrogate pairs split across writes, and replaces unpaired ones as String.getBytes does
+    private final Writer encoder;
+    private String hash;
+
+    HashingWriter(MessageDigest digest) {
+        this.digest = digest;
+        this.encoder = new OutputStreamWriter(new DigestOutputStream(OutputStream.nullOutputStream(), digest),
+                                              StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public void write(char[] cbuf, int off, int len) throws IOException {
+        checkNotFinished();
+        encoder.write(cbuf, off, len);
+    }
+
+    @Override
+    public void write(String str, int off, int len) throws IOException {
+        checkNotFinished();
+        encoder.write(str, off, len);
+    }
+
+    @Override
+    public void flush() throws IOException {
+        if (hash == null) {
+            encoder.flush();
+        }
+    }
+
+    @Override
+    public void close() {
+        // Nothing to release, the hash remains available
+    }
+
+    /**
+     * Returns the Base64 encoded hash of everything written so far, no further content may be written afterwards.
+     *
+     * @return the hash in the same format as {@link HashUtils#computeSHA256FullHash(String)}
+     */
+    public String getHash() {
+        if (hash == null) {
+            try {
+                encoder.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to encode content to hash", e);
+            }
+            hash = HashUtils.encodeHash(digest.digest());
+        }
+        return hash;
+    }
+
+    private void checkNotFinished() throws IOException {
+        if (hash != null) {
+            throw new IOException("Hash has already been computed");
+        }
+    }
+}
@@ -24,6 +24,7 @@ import java.net.URI;
 public class PaginationUtil {
 
     public static final String PAGE = "page";
+    public static final String CURSOR = "cursor";
 
     public static Links generateLinks(String httpUrl, int page, int totalPages) {
         UriComponentsBuilder uriComponentsBuilder = UriComponentsBuilder
@@ -59,6 +60,32 @@ public class PaginationUtil {
         return links;
     }
 
+    /**
+     * Generates links for a keyset (cursor) paginated resource. Keyset pages can only be walked forwards, so only
+     * self, first and next links are produced.
+     *
+     * @param uriComponentsBuilder builder for the resource URI, without any cursor
+     * @param cursor the cursor used to fetch the current page, or null if this is the first page
+     * @param nextCursor the cursor for the next page, or null if this is the last page
+     * @return the pagination links
+     */
+    public static Links generateCursorLinks(UriComponentsBuilder uriComponentsBuilder, String cursor, String nextCursor) {
+        Links links = new Links();
+
+        URI firstPageURI = uriComponentsBuilder.cloneBuilder().build().encode().toUri();
+        if (cursor == null) {
+            links.setSelf(firstPageURI);
+        } else {
+            links.setSelf(getUrlWithCursor(cursor, uriComponentsBuilder));
+            links.setFirst(firstPageURI);
+        }
+        if (nextCursor != null) {
+            links.setFirst(firstPageURI);
+            links.setNext(getUrlWithCursor(nextCursor, uriComponentsBuilder));
+        }
+        return links;
+    }
+
     public static Links generateLinksOnePager(String httpUrl) {
         URI resourceUrl = UriComponentsBuilder.fromHttpUrl(httpUrl).build().encode().toUri();
 
@@ -75,6 +102,10 @@ public class PaginationUtil {
         return builder.replaceQueryParam(PAGE, page).build().encode().toUri();
     }
 
+    private static URI getUrlWithCursor(String cursor, UriComponentsBuilder builder) {
+        return builder.cloneBuilder().replaceQueryParam(CURSOR, cursor).build().encode().toUri();
+    }
+
     private static boolean isLastPage(int page, int totalPages) {
         return page == totalPages - 1;
     }
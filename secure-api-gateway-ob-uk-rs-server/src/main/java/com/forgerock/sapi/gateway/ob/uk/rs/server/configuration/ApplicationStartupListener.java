@@ -21,8 +21,11 @@ import org.springframework.boot.context.event.ApplicationReadyEvent;
 import org.springframework.context.ApplicationListener;
 import org.springframework.context.ConfigurableApplicationContext;
 import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
 
+import com.forgerock.sapi.gateway.ob.uk.rs.server.api.discovery.AvailableApiEndpointsResolver;
 import com.forgerock.sapi.gateway.ob.uk.rs.server.api.discovery.DiscoveryApiService;
+import com.forgerock.sapi.gateway.ob.uk.rs.server.web.ApiEndpointMetricsInterceptor;
 import com.forgerock.sapi.gateway.ob.uk.rs.server.web.DisabledEndpointInterceptor;
 
 /**
@@ -40,6 +43,7 @@ public class ApplicationStartupListener implements ApplicationListener<Applicati
     public void onApplicationEvent(final ApplicationReadyEvent event) {
         final ConfigurableApplicationContext applicationContext = event.getApplicationContext();
         configureDisableEndpointInterceptorServices(applicationContext);
+        configureApiEndpointMetricsInterceptor(applicationContext);
 
         logger.info("Application ready to receive requests");
     }
@@ -48,6 +52,17 @@ public class ApplicationStartupListener implements ApplicationListener<Applicati
      * See {@link DisabledEndpointInterceptor} documentation relating to the circular dependency for this component
      */
     private void configureDisableEndpointInterceptorServices(ConfigurableApplicationContext applicationContext) {
-        applicationContext.getBean(DisabledEndpointInterceptor.class).setDiscoveryApiService(applicationContext.getBean(DiscoveryApiService.class));
+        final RequestMappingHandlerMapping requestMappingHandlerMapping = applicationContext.getBean(
+                "requestMappingHandlerMapping", RequestMappingHandlerMapping.class);
+        final DiscoveryApiService discoveryApiService = applicationContext.getBean(DiscoveryApiService.class);
+        discoveryApiService.setHandlerMethods(requestMappingHandlerMapping.getHandlerMethods().values());
+        applicationContext.getBean(DisabledEndpointInterceptor.class).setDiscoveryApiService(discoveryApiService);
+    }
+
+    /**
+     * See {@link ApiEndpointMetricsInterceptor} documentation relating to the circular dependency for this component
+     */
+    private void configureApiEndpointMetricsInterceptor(ConfigurableApplicationContext applicationContext) {
+        applicationContext.getBean(ApiEndpointMetricsInterceptor.class).setAvailableApiEndpointsResolver(applicationContext.getBean(AvailableApiEndpointsResolver.class));
     }
 }
@@ -0,0 +1,56 @@
+/*
+ * Copyright © 2020-2025 ForgeRock AS (obst@forgerock.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.forgerock.sapi.gateway.ob.uk.rs.server.configuration;
+
+import org.apache.catalina.connector.Connector;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.embedded.tomcat.TomcatServletWebServerFactory;
+import org.springframework.boot.web.server.WebServerFactoryCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import com.forgerock.sapi.gateway.ob.uk.rs.server.web.DiscoveryEndpointPortFilter;
+
+/**
+ * Serves the discovery actuator endpoint (/actuator/discovery) on a port of its own (rs.server.discovery-endpoint-port)
+ * which is not exposed by the k8s service. The other actuator endpoints, health and prometheus, stay on the server
+ * port where the probes and the metrics scraper expect them.
+ */
+@Configuration
+public class DiscoveryEndpointPortConfiguration {
+
+    private final Connector discoveryConnector = new Connector(TomcatServletWebServerFactory.DEFAULT_PROTOCOL);
+
+    public DiscoveryEndpointPortConfiguration(@Value("${rs.server.discovery-endpoint-port:8081}") int discoveryEndpointPort) {
+        discoveryConnector.setPort(discoveryEndpointPort);
+    }
+
+    @Bean
+    public WebServerFactoryCustomizer<TomcatServletWebServerFactory> discoveryEndpointConnectorCustomizer() {
+        return factory -> factory.addAdditionalTomcatConnectors(discoveryConnector);
+    }
+
+    @Bean
+    public FilterRegistrationBean<DiscoveryEndpointPortFilter> discoveryEndpointPortFilter(
+            @Value("${management.endpoints.web.base-path:/actuator}") String actuatorBasePath) {
+        final FilterRegistrationBean<DiscoveryEndpointPortFilter> registration = new FilterRegistrationBean<>(
+                new DiscoveryEndpointPortFilter(actuatorBasePath + "/discovery", discoveryConnector::getLocalPort));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright © 2020-2025 ForgeRock AS (obst@forgerock.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.forgerock.sapi.gateway.ob.uk.rs.server.configuration;
+
+import java.time.Duration;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+/**
+ * Connection pool and timeout settings for the HttpClient behind the RestTemplate used to call the RCS consent store
+ * and the cloud client (IG).
+ */
+@ConfigurationProperties(prefix = "rs.http.client")
+@Data
+public class HttpClientConfigurationProperties {
+
+    /**
+     * Maximum number of pooled connections across all hosts
+     */
+    private int maxTotalConnections = 200;
+
+    /**
+     * Maximum number of pooled connections to any one host, unless overridden in maxConnectionsPerHost
+     */
+    private int maxConnectionsPerRoute = 50;
+
+    /**
+     * Per host overrides of maxConnectionsPerRoute, keyed by the scheme://host:port of the backend
+     */
+    private Map<String, Integer> maxConnectionsPerHost = Map.of();
+
+    private Duration connectTimeout = Duration.ofSeconds(5);
+
+    /**
+     * Maximum time to wait for a response once the request has been sent
+     */
+    private Duration responseTimeout = Duration.ofSeconds(30);
+
+    /**
+     * Maximum time to wait to lease a connection from the pool when all connections to the host are in use
+     */
+    private Duration connectionRequestTimeout = Duration.ofSeconds(5);
+
+    /**
+     * How long an idle connection is kept alive when the server does not send a Keep-Alive header
+     */
+    private Duration keepAlive = Duration.ofSeconds(60);
+
+    /**
+     * Connections idle for longer than this are closed by a background evictor thread
+     */
+    private Duration maxIdleTime = Duration.ofSeconds(30);
+
+    /**
+     * Pooled connections idle for longer than this are checked before being reused
+     */
+    private Duration validateAfterInactivity = Duration.ofSeconds(2);
+}
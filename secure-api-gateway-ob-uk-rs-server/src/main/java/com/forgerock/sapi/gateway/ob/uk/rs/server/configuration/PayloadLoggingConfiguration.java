@@ -0,0 +1,67 @@
+/*
+ * Copyright © 2020-2025 ForgeRock AS (obst@forgerock.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.forgerock.sapi.gateway.ob.uk.rs.server.configuration;
+
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.forgerock.sapi.gateway.ob.uk.rs.server.common.logging.PayloadLoggingPolicy;
+
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Settings controlling how request bodies and payment files are logged, see {@link PayloadLoggingPolicy}.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "rs.logging.payload")
+@Data
+@Slf4j
+public class PayloadLoggingConfiguration {
+
+    /**
+     * Maximum number of characters of a payload to log, 0 logs the length and hash only
+     */
+    private int maxLength = 1024;
+
+    /**
+     * Log the length and SHA-256 hash of the full payload alongside the (possibly truncated) payload, this requires the
+     * full payload to be serialised so is off by default
+     */
+    private boolean hash = false;
+
+    /**
+     * Fraction (0.0 - 1.0) of payloads to log for loggers which have no entry in sampleRates
+     */
+    private double defaultSampleRate = 1.0D;
+
+    /**
+     * Fraction (0.0 - 1.0) of payloads to log, keyed by logger name prefix (package or class name)
+     */
+    private Map<String, Double> sampleRates = Map.of();
+
+    @Bean
+    public PayloadLoggingPolicy payloadLoggingPolicy(ObjectMapper objectMapper) {
+        final PayloadLoggingPolicy policy = new PayloadLoggingPolicy(maxLength, hash, defaultSampleRate, sampleRates, objectMapper);
+        log.info("Payload logging - maxLength: {}, hash: {}, defaultSampleRate: {}, sampleRates: {}",
+                 maxLength, hash, defaultSampleRate, sampleRates);
+        return policy;
+    }
+}
@@ -21,17 +21,33 @@ import static com.fasterxml.jackson.databind.DeserializationFeature.FAIL_ON_UNKN
 import static com.fasterxml.jackson.databind.DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS;
 import static com.fasterxml.jackson.databind.MapperFeature.USE_BASE_TYPE_AS_DEFAULT_IMPL;
 
+import java.net.URISyntaxException;
+import java.time.Duration;
 import java.util.List;
+import java.util.Map;
 import java.util.TimeZone;
+import java.util.concurrent.TimeUnit;
 
-import org.apache.hc.client5.http.classic.HttpClient;
+import org.apache.hc.client5.http.HttpRoute;
+import org.apache.hc.client5.http.UnsupportedSchemeException;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.DefaultSchemePortResolver;
 import org.apache.hc.client5.http.impl.classic.HttpClientBuilder;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.http.HttpHost;
+import org.apache.hc.core5.http.URIScheme;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
 import org.joda.time.DateTime;
 import org.joda.time.LocalDate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
@@ -44,32 +60,107 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.JsonNodeFactory;
 import com.fasterxml.jackson.datatype.joda.JodaModule;
 
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+
 import uk.org.openbanking.jackson.DateTimeDeserializer;
 import uk.org.openbanking.jackson.DateTimeSerializer;
 import uk.org.openbanking.jackson.LocalDateDeserializer;
 import uk.org.openbanking.jackson.LocalDateSerializer;
 
 @Configuration
+@EnableConfigurationProperties(HttpClientConfigurationProperties.class)
 public class RsApplicationConfiguration {
 
+    private final Logger logger = LoggerFactory.getLogger(getClass());
+
     @Bean
-    public RestTemplate restTemplate(@Qualifier("mappingJacksonHttpMessageConverter") MappingJackson2HttpMessageConverter converter) {
+    public RestTemplate restTemplate(@Qualifier("mappingJacksonHttpMessageConverter") MappingJackson2HttpMessageConverter converter,
+                                     CloseableHttpClient restTemplateHttpClient) {
         RestTemplate restTemplate = new RestTemplate();
-        customiseRestTemplate(converter, restTemplate);
+        customiseRestTemplate(converter, restTemplate, restTemplateHttpClient);
         return restTemplate;
     }
 
-    private void customiseRestTemplate(@Qualifier("mappingJacksonHttpMessageConverter") MappingJackson2HttpMessageConverter converter, RestTemplate restTemplate) {
+    private void customiseRestTemplate(@Qualifier("mappingJacksonHttpMessageConverter") MappingJackson2HttpMessageConverter converter, RestTemplate restTemplate,
+                                       CloseableHttpClient httpClient) {
         List<HttpMessageConverter<?>> messageConverters = restTemplate.getMessageConverters();
         messageConverters.removeIf(c -> c instanceof MappingJackson2HttpMessageConverter);
         messageConverters.add(converter);
 //        restTemplate.setErrorHandler(new ClientResponseErrorHandler());
         // support for http PATCH calls
-        HttpClient httpClient = HttpClientBuilder.create().build();
         HttpComponentsClientHttpRequestFactory requestFactory = new HttpComponentsClientHttpRequestFactory(httpClient);
         restTemplate.setRequestFactory(requestFactory);
     }
 
+    @Bean(destroyMethod = "close")
+    public PoolingHttpClientConnectionManager restTemplateConnectionManager(HttpClientConfigurationProperties properties) {
+        final PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(properties.getMaxTotalConnections())
+                .setMaxConnPerRoute(properties.getMaxConnectionsPerRoute())
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(toTimeout(properties.getConnectTimeout()))
+                        .setSocketTimeout(toTimeout(properties.getResponseTimeout()))
+                        .setValidateAfterInactivity(toTimeValue(properties.getValidateAfterInactivity()))
+                        .build())
+                .build();
+        for (Map.Entry<String, Integer> hostLimit : properties.getMaxConnectionsPerHost().entrySet()) {
+            connectionManager.setMaxPerRoute(toRoute(hostLimit.getKey()), hostLimit.getValue());
+        }
+        logger.info("RestTemplate connection pool - maxTotal: {}, maxPerRoute: {}, maxPerHost: {}",
+                properties.getMaxTotalConnections(), properties.getMaxConnectionsPerRoute(), properties.getMaxConnectionsPerHost());
+        return connectionManager;
+    }
+
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient restTemplateHttpClient(PoolingHttpClientConnectionManager restTemplateConnectionManager,
+                                                     HttpClientConfigurationProperties properties) {
+        return HttpClientBuilder.create()
+                .setConnectionManager(restTemplateConnectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(toTimeout(properties.getConnectionRequestTimeout()))
+                        .setResponseTimeout(toTimeout(properties.getResponseTimeout()))
+                        // used by the default keep-alive strategy when the server does not send a Keep-Alive header
+                        .setConnectionKeepAlive(toTimeValue(properties.getKeepAlive()))
+                        .build())
+                .evictExpiredConnections()
+                .evictIdleConnections(toTimeValue(properties.getMaxIdleTime()))
+                .build();
+    }
+
+    /**
+     * Exports the leased/pending/available gauges of the RestTemplate connection pool to the Micrometer registry
+     */
+    @Bean
+    public MeterBinder restTemplateConnectionPoolMetrics(PoolingHttpClientConnectionManager restTemplateConnectionManager) {
+        return new PoolingHttpClientConnectionManagerMetricsBinder(restTemplateConnectionManager, "rs-rest-template");
+    }
+
+    /**
+     * Creates the route which the client uses for direct requests to the host, so that the per route limit applies.
+     * The route includes the scheme, the port (defaulted from the scheme if not supplied) and whether it is secure.
+     *
+     * @param host scheme://host[:port] of the backend, the scheme defaults to http
+     */
+    static HttpRoute toRoute(String host) {
+        try {
+            final HttpHost httpHost = HttpHost.create(host);
+            final HttpHost target = new HttpHost(httpHost.getSchemeName(), httpHost.getHostName(),
+                    DefaultSchemePortResolver.INSTANCE.resolve(httpHost));
+            return new HttpRoute(target, null, URIScheme.HTTPS.same(target.getSchemeName()));
+        } catch (URISyntaxException | UnsupportedSchemeException e) {
+            throw new IllegalStateException("Invalid host in rs.http.client.max-connections-per-host: " + host, e);
+        }
+    }
+
+    private static Timeout toTimeout(Duration duration) {
+        return Timeout.of(duration.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    private static TimeValue toTimeValue(Duration duration) {
+        return TimeValue.of(duration.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
     @Bean
     public MappingJackson2HttpMessageConverter mappingJacksonHttpMessageConverter(@Qualifier("objectMapperBuilderCustomizer") Jackson2ObjectMapperBuilderCustomizer objectMapperBuilderCustomizer) {
         MappingJackson2HttpMessageConverter converter = new MappingJackson2HttpMessageConverter();
@@ -0,0 +1,95 @@
+/*
+ * Copyright © 2020-2025 ForgeRock AS (obst@forgerock.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.forgerock.sapi.gateway.ob.uk.rs.server.configuration;
+
+import java.time.Duration;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+
+/**
+ * Reports virtual threads which are pinned to their carrier thread, typically by blocking I/O inside a synchronized
+ * block, which defeats the purpose of running on virtual threads.
+ * <p>
+ * Streams the JFR jdk.VirtualThreadPinned event in process: each pinning longer than
+ * rs.server.virtual-threads.pinning-threshold is logged with the top of its stack and counted in the
+ * rs.virtual.threads.pinned meter.
+ */
+public class VirtualThreadPinningMonitor implements SmartLifecycle {
+
+    private static final String VIRTUAL_THREAD_PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final int LOGGED_STACK_DEPTH = 10;
+
+    private final Logger logger = LoggerFactory.getLogger(getClass());
+
+    private final Duration pinningThreshold;
+
+    private final Counter pinnedCounter;
+
+    private RecordingStream recordingStream;
+
+    public VirtualThreadPinningMonitor(Duration pinningThreshold, MeterRegistry meterRegistry) {
+        this.pinningThreshold = pinningThreshold;
+        this.pinnedCounter = meterRegistry == null ? null : Counter.builder("rs.virtual.threads.pinned")
+                .description("Virtual threads pinned to their carrier for longer than the pinning threshold")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void start() {
+        recordingStream = new RecordingStream();
+        recordingStream.enable(VIRTUAL_THREAD_PINNED_EVENT).withThreshold(pinningThreshold).withStackTrace();
+        recordingStream.onEvent(VIRTUAL_THREAD_PINNED_EVENT, this::onPinned);
+        recordingStream.startAsync();
+        logger.info("Monitoring virtual thread pinning, threshold: {}", pinningThreshold);
+    }
+
+    private void onPinned(RecordedEvent event) {
+        if (pinnedCounter != null) {
+            pinnedCounter.increment();
+        }
+        final String stack = event.getStackTrace() == null ? "unknown" : event.getStackTrace().getFrames().stream()
+                .limit(LOGGED_STACK_DEPTH)
+                .map(VirtualThreadPinningMonitor::describe)
+                .collect(Collectors.joining("\n\tat ", "\n\tat ", ""));
+        logger.warn("Virtual thread pinned for {}ms{}", event.getDuration().toMillis(), stack);
+    }
+
+    private static String describe(RecordedFrame frame) {
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName() + ":" + frame.getLineNumber();
+    }
+
+    @Override
+    public void stop() {
+        if (recordingStream != null) {
+            recordingStream.close();
+            recordingStream = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return recordingStream != null;
+    }
+}
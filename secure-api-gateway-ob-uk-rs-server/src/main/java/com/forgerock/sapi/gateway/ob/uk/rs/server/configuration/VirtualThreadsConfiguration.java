@@ -0,0 +1,85 @@
+/*
+ * Copyright © 2020-2025 ForgeRock AS (obst@forgerock.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.forgerock.sapi.gateway.ob.uk.rs.server.configuration;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Opt-in mode (rs.server.virtual-threads.enabled) which runs Tomcat request handling on virtual threads instead of
+ * the platform thread pool. Request handling is almost all I/O wait, on the RCS consent store (RestTemplate) and on
+ * MongoDB (synchronous driver), both of which run on the request thread and so park the virtual thread rather than
+ * holding a pool thread.
+ * <p>
+ * Virtual threads need a Java 21+ runtime, the executor is created reflectively so the RS still builds and runs on
+ * Java 17 with the mode disabled. Enabling the mode on an older runtime fails startup rather than silently falling
+ * back to platform threads.
+ */
+@Configuration
+@ConditionalOnProperty(name = "rs.server.virtual-threads.enabled", havingValue = "true")
+public class VirtualThreadsConfiguration implements DisposableBean {
+
+    private final Logger logger = LoggerFactory.getLogger(getClass());
+
+    /**
+     * Tomcat does not stop an executor it was given, the configuration owns it and shuts it down on context close,
+     * after the web server has stopped. It is deliberately not an ExecutorService bean, which would make Spring Boot
+     * back off from creating the applicationTaskExecutor.
+     */
+    private final ExecutorService requestExecutor = newVirtualThreadPerTaskExecutor();
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadsProtocolHandlerCustomizer() {
+        logger.info("Tomcat request handling will run on virtual threads");
+        return protocolHandler -> protocolHandler.setExecutor(requestExecutor);
+    }
+
+    @Override
+    public void destroy() {
+        requestExecutor.shutdown();
+    }
+
+    @Bean
+    public VirtualThreadPinningMonitor virtualThreadPinningMonitor(
+            @Value("${rs.server.virtual-threads.pinning-threshold:20ms}") Duration pinningThreshold,
+            ObjectProvider<MeterRegistry> meterRegistry) {
+        return new VirtualThreadPinningMonitor(pinningThreshold, meterRegistry.getIfAvailable());
+    }
+
+    static ExecutorService newVirtualThreadPerTaskExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException("rs.server.virtual-threads.enabled requires a Java 21+ runtime, running: "
+                    + Runtime.version());
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Failed to create virtual thread executor", e);
+        }
+    }
+}
@@ -15,6 +15,7 @@
  */
 package com.forgerock.sapi.gateway.ob.uk.rs.server.configuration;
 
+import com.forgerock.sapi.gateway.ob.uk.rs.server.web.ApiEndpointMetricsInterceptor;
 import com.forgerock.sapi.gateway.ob.uk.rs.server.web.DisabledEndpointInterceptor;
 import com.forgerock.sapi.gateway.uk.common.shared.spring.web.filter.FapiInteractionIdFilter;
 
@@ -29,8 +30,12 @@ public class WebMvcConfig implements WebMvcConfigurer {
 
     private final DisabledEndpointInterceptor disabledEndpointInterceptor;
 
-    public WebMvcConfig(DisabledEndpointInterceptor disabledEndpointInterceptor) {
+    private final ApiEndpointMetricsInterceptor apiEndpointMetricsInterceptor;
+
+    public WebMvcConfig(DisabledEndpointInterceptor disabledEndpointInterceptor,
+                        ApiEndpointMetricsInterceptor apiEndpointMetricsInterceptor) {
         this.disabledEndpointInterceptor = disabledEndpointInterceptor;
+        this.apiEndpointMetricsInterceptor = apiEndpointMetricsInterceptor;
     }
 
     @Bean
@@ -50,5 +55,6 @@ public class WebMvcConfig implements WebMvcConfigurer {
     @Override
     public void addInterceptors(InterceptorRegistry registry) {
         registry.addInterceptor(disabledEndpointInterceptor);
+        registry.addInterceptor(apiEndpointMetricsInterceptor);
     }
 }
@@ -15,6 +15,8 @@
  */
 package com.forgerock.sapi.gateway.ob.uk.rs.server.service;
 
+import com.forgerock.sapi.gateway.ob.uk.rs.server.api.discovery.AvailableApiEndpoint;
+
 /**
  * Interface for various metrics to be captured (e.g. for TPP requests to be recorded so that they can be analysed).
  */
@@ -29,4 +31,62 @@ public interface AnalyticsService {
      * @param arguments One or more optional arguments that are included in the resulting output.
      */
     void recordActivity(String text, Object... arguments);
+
+    /**
+     * Records a request handled by one of the Open Banking API endpoints implemented by this application.
+     *
+     * @param endpoint The {@link AvailableApiEndpoint} which handled the request.
+     * @param status The HTTP status of the response.
+     * @param durationNanos The time taken to handle the request, in nanoseconds.
+     */
+    void recordEndpointRequest(AvailableApiEndpoint endpoint, int status, long durationNanos);
+
+    /**
+     * Records a call made whilst handling a request, so that the time spent in each {@link Dependency} can be
+     * compared with the overall time taken by the endpoint.
+     *
+     * @param dependency The {@link Dependency} that was called.
+     * @param component The name of the component called, e.g. the bean name of a repository.
+     * @param operation The operation called on the component, e.g. the name of the method.
+     * @param durationNanos The time taken by the call, in nanoseconds.
+     * @param success <code>false</code> if the call raised an exception.
+     */
+    void recordDependencyCall(Dependency dependency, String component, String operation, long durationNanos, boolean success);
+
+    /**
+     * Records the number of items in a page of a paginated resource read.
+     *
+     * @param resource The resource paged through, e.g. the bean name of a repository.
+     * @param pageSize The number of items in the page.
+     */
+    void recordPageSize(String resource, int pageSize);
+
+    /**
+     * Records the number of transactions in a processed payment file.
+     *
+     * @param fileType The OBIE FileType of the payment file.
+     * @param numberOfTransactions The number of transactions in the file.
+     */
+    void recordFilePaymentTransactions(String fileType, int numberOfTransactions);
+
+    /**
+     * The dependencies of an API request which are timed separately.
+     */
+    enum Dependency {
+        CONSENT_STORE("consent-store"),
+        MONGO("mongo"),
+        VALIDATION("validation"),
+        CONVERSION("conversion"),
+        PAYMENT_FILE("payment-file");
+
+        private final String tagValue;
+
+        Dependency(String tagValue) {
+            this.tagValue = tagValue;
+        }
+
+        public String getTagValue() {
+            return tagValue;
+        }
+    }
 }
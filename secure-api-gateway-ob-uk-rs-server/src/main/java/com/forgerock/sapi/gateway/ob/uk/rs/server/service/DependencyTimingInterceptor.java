@@ -0,0 +1,79 @@
+/*
+ * Copyright © 2020-2025 ForgeRock AS (obst@forgerock.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.forgerock.sapi.gateway.ob.uk.rs.server.service;
+
+import java.lang.reflect.Method;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.domain.Slice;
+import org.springframework.util.function.SingletonSupplier;
+
+import com.forgerock.sapi.gateway.ob.uk.rs.server.common.payment.file.PaymentFileSummary;
+import com.forgerock.sapi.gateway.ob.uk.rs.server.service.AnalyticsService.Dependency;
+
+/**
+ * Times each call made to a dependency bean, see {@link DependencyTimingPostProcessor}.
+ * <p>
+ * Pages returned by Mongo repositories and summaries returned by payment file processors are also recorded, so that
+ * slow calls can be related to the amount of data involved.
+ */
+class DependencyTimingInterceptor implements MethodInterceptor {
+
+    private final Dependency dependency;
+
+    private final String component;
+
+    private final SingletonSupplier<AnalyticsService> analyticsService;
+
+    DependencyTimingInterceptor(Dependency dependency, String component, ObjectProvider<AnalyticsService> analyticsServiceProvider) {
+        this.dependency = dependency;
+        this.component = component;
+        this.analyticsService = SingletonSupplier.of(analyticsServiceProvider::getObject);
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        final Method method = invocation.getMethod();
+        if (method.getDeclaringClass() == Object.class) {
+            return invocation.proceed();
+        }
+        final long start = System.nanoTime();
+        boolean success = false;
+        try {
+            final Object result = invocation.proceed();
+            success = true;
+            recordResult(result);
+            return result;
+        } finally {
+            analyticsService.obtain().recordDependencyCall(dependency, component, method.getName(),
+                    System.nanoTime() - start, success);
+        }
+    }
+
+    private void recordResult(Object result) {
+        if (dependency == Dependency.MONGO && result instanceof Slice) {
+            analyticsService.obtain().recordPageSize(component, ((Slice<?>) result).getNumberOfElements());
+        } else if (dependency == Dependency.PAYMENT_FILE && result instanceof PaymentFileSummary) {
+            final PaymentFileSummary summary = (PaymentFileSummary) result;
+            if (summary.getFileType() != null) {
+                analyticsService.obtain().recordFilePaymentTransactions(summary.getFileType().getFileType(),
+                        summary.getNumberOfTransactions());
+            }
+        }
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright © 2020-2025 ForgeRock AS (obst@forgerock.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.forgerock.sapi.gateway.ob.uk.rs.server.service;
+
+import java.util.Arrays;
+import java.util.regex.Pattern;
+
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.data.repository.Repository;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+
+import com.forgerock.sapi.gateway.ob.uk.rs.server.common.payment.file.processor.PaymentFileProcessor;
+import com.forgerock.sapi.gateway.ob.uk.rs.server.service.AnalyticsService.Dependency;
+import com.forgerock.sapi.gateway.ob.uk.rs.validation.obie.OBValidationService;
+
+/**
+ * Wraps the beans an API request depends on in a {@link DependencyTimingInterceptor}, so that the time spent in each
+ * of them is recorded via the {@link AnalyticsService}:
+ * <ul>
+ *     <li>RCS consent store clients (AccountAccessConsentStoreClient, DomesticPaymentConsentStoreClient etc)</li>
+ *     <li>resource store Mongo repositories, the number of items in each page read is also recorded</li>
+ *     <li>{@link OBValidationService} beans</li>
+ *     <li>OB response factories (OBWriteDomesticConsentResponse5Factory etc), which convert the stored
+ *     resources into OB responses</li>
+ *     <li>{@link PaymentFileProcessor} beans, the number of transactions in each file is also recorded</li>
+ * </ul>
+ * This post processor is ordered so that it is applied before the consent store cache
+ * (see {@link com.forgerock.sapi.gateway.ob.uk.rs.server.service.consent.ConsentStoreClientCachePostProcessor}),
+ * consent store timings are therefore for the calls which actually reach the consent store.
+ */
+@Component
+@ConditionalOnProperty(name = "rs.metrics.dependencies.enabled", havingValue = "true", matchIfMissing = true)
+public class DependencyTimingPostProcessor implements BeanPostProcessor, Ordered {
+
+    private static final String CONSENT_STORE_CLIENT_PACKAGE = "com.forgerock.sapi.gateway.rcs.consent.store.client";
+    private static final String CONSENT_STORE_CLIENT_SUFFIX = "ConsentStoreClient";
+    private static final String REPOSITORY_PACKAGE = "com.forgerock.sapi.gateway.rs.resource.store.repo";
+    private static final String RESPONSE_FACTORY_PACKAGE = "com.forgerock.sapi.gateway.ob.uk.rs.server.api.obie";
+    private static final Pattern RESPONSE_FACTORY_NAME = Pattern.compile(".+Response\\d*Factory");
+
+    private final ObjectProvider<AnalyticsService> analyticsServiceProvider;
+
+    public DependencyTimingPostProcessor(ObjectProvider<AnalyticsService> analyticsServiceProvider) {
+        this.analyticsServiceProvider = analyticsServiceProvider;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) throws BeansException {
+        final Dependency dependency = findDependency(bean);
+        if (dependency == null) {
+            return bean;
+        }
+        final ProxyFactory proxyFactory = new ProxyFactory(bean);
+        if (dependency == Dependency.VALIDATION || dependency == Dependency.CONVERSION) {
+            // These beans are injected by class rather than by an interface
+            proxyFactory.setProxyTargetClass(true);
+        }
+        proxyFactory.addAdvice(new DependencyTimingInterceptor(dependency, beanName, analyticsServiceProvider));
+        return proxyFactory.getProxy(ClassUtils.getDefaultClassLoader());
+    }
+
+    static Dependency findDependency(Object bean) {
+        final Class<?> beanClass = ClassUtils.getUserClass(bean);
+        final Class<?>[] interfaces = ClassUtils.getAllInterfacesForClass(bean.getClass());
+        if (Arrays.stream(interfaces).anyMatch(DependencyTimingPostProcessor::isConsentStoreClient)) {
+            return Dependency.CONSENT_STORE;
+        }
+        if (bean instanceof Repository
+                && Arrays.stream(interfaces).anyMatch(type -> type.getName().startsWith(REPOSITORY_PACKAGE))) {
+            return Dependency.MONGO;
+        }
+        if (bean instanceof OBValidationService) {
+            return Dependency.VALIDATION;
+        }
+        if (bean instanceof PaymentFileProcessor) {
+            return Dependency.PAYMENT_FILE;
+        }
+        if (beanClass.getName().startsWith(RESPONSE_FACTORY_PACKAGE)
+                && RESPONSE_FACTORY_NAME.matcher(beanClass.getSimpleName()).matches()) {
+            return Dependency.CONVERSION;
+        }
+        return null;
+    }
+
+    private static boolean isConsentStoreClient(Class<?> type) {
+        return type.getName().startsWith(CONSENT_STORE_CLIENT_PACKAGE)
+                && type.getSimpleName().endsWith(CONSENT_STORE_CLIENT_SUFFIX);
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.LOWEST_PRECEDENCE;
+    }
+}
@@ -0,0 +1,132 @@
+/*
+ * Copyright © 2020-2025 ForgeRock AS (obst@forgerock.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.forgerock.sapi.gateway.ob.uk.rs.server.service;
+
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.stereotype.Component;
+
+import com.forgerock.sapi.gateway.ob.uk.rs.server.api.discovery.AvailableApiEndpoint;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Publishes the analytics as Micrometer meters, which are scraped via the prometheus actuator endpoint:
+ * <ul>
+ *     <li>rs.api.requests - timer per Open Banking API endpoint, tagged with the API group, version, endpoint and
+ *     response status</li>
+ *     <li>rs.dependency.calls - timer per call to the consent store, Mongo repositories, OBIE validation and response
+ *     conversion, tagged with the dependency, component, operation and outcome</li>
+ *     <li>rs.page.size - distribution of the number of items in each page read from a repository</li>
+ *     <li>rs.payment.file.transactions - distribution of the number of transactions in each payment file</li>
+ *     <li>rs.analytics.activity - count of each recorded activity, the activity is also logged with a recognised
+ *     prefix so that it is easy to identify the analytics events in the logs</li>
+ * </ul>
+ * The request timers and distributions publish percentile histograms, the dependency timers only do so when enabled
+ * via management.metrics.distribution.percentiles-histogram.rs.dependency.calls as there is a series per operation.
+ */
+@Component
+@Slf4j
+public class MicrometerAnalyticsService implements AnalyticsService {
+
+    static final String ACTIVITY = "rs.analytics.activity";
+    static final String API_REQUESTS = "rs.api.requests";
+    static final String DEPENDENCY_CALLS = "rs.dependency.calls";
+    static final String PAGE_SIZE = "rs.page.size";
+    static final String FILE_PAYMENT_TRANSACTIONS = "rs.payment.file.transactions";
+
+    private static final String PREFIX = "ANALYTICS: ";
+
+    private final MeterRegistry meterRegistry;
+
+    public MicrometerAnalyticsService(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void recordActivity(String text, Object... arguments) {
+        log.info(PREFIX + text, arguments);
+        Counter.builder(ACTIVITY)
+                .tag("activity", text)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void recordEndpointRequest(AvailableApiEndpoint endpoint, int status, long durationNanos) {
+        Timer.builder(API_REQUESTS)
+                .description("Requests handled by the Open Banking API endpoints")
+                .tag("group", String.valueOf(endpoint.getGroupName()))
+                .tag("version", String.valueOf(endpoint.getVersion()))
+                .tag("endpoint", endpoint.getApiReference().name())
+                .tag("status", Integer.toString(status))
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(durationNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void recordDependencyCall(Dependency dependency, String component, String operation, long durationNanos,
+                                     boolean success) {
+        Timer.builder(DEPENDENCY_CALLS)
+                .description("Calls made to the dependencies of the Open Banking API endpoints")
+                .tag("dependency", dependency.getTagValue())
+                .tag("component", component)
+                .tag("operation", operation)
+                .tag("outcome", success ? "success" : "error")
+                .register(meterRegistry)
+                .record(durationNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void recordPageSize(String resource, int pageSize) {
+        DistributionSummary.builder(PAGE_SIZE)
+                .description("Number of items in each page read from a repository")
+                .tag("resource", resource)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(pageSize);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void recordFilePaymentTransactions(String fileType, int numberOfTransactions) {
+        DistributionSummary.builder(FILE_PAYMENT_TRANSACTIONS)
+                .description("Number of transactions in each processed payment file")
+                .tag("file.type", fileType)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(numberOfTransactions);
+    }
+}
@@ -0,0 +1,173 @@
+/*
+ * Copyright © 2020-2025 ForgeRock AS (obst@forgerock.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.forgerock.sapi.gateway.ob.uk.rs.server.service.consent;
+
+import java.io.IOException;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.PropertyAccessorFactory;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+
+import lombok.Value;
+
+/**
+ * Decorates an RCS consent store client so that getConsent(consentId, apiClientId) is served from a short-lived
+ * cache. Every other call, apart from createConsent, may change the consent (consume, delete, upload file...) so the
+ * cached entries for the consent are invalidated once the call has been made.
+ * <p>
+ * Only consents in a terminal status are cached. Consents awaiting authorisation or Authorised can still be changed by
+ * the RCS, which does not tell the RS (e.g. a PSU revoking access), so they are always fetched. Consents are cached as
+ * JSON and every hit returns a new copy, callers are free to modify the consent they are given.
+ */
+class CachingConsentStoreClientHandler implements InvocationHandler {
+
+    private static final String GET_CONSENT = "getConsent";
+    private static final String CREATE_CONSENT = "createConsent";
+    private static final String CONSENT_ID = "consentId";
+    private static final String STATUS = "status";
+
+    /**
+     * Terminal consent statuses, a consent in one of these statuses is never changed again.
+     */
+    static final Set<String> CACHEABLE_STATUSES = Set.of("Consumed", "Rejected", "Revoked", "Expired");
+
+    private final Logger logger = LoggerFactory.getLogger(getClass());
+
+    private final Object consentStoreClient;
+
+    private final Cache<ConsentCacheKey, CachedConsent> cache;
+
+    private final ObjectMapper objectMapper;
+
+    CachingConsentStoreClientHandler(Object consentStoreClient, Cache<ConsentCacheKey, CachedConsent> cache, ObjectMapper objectMapper) {
+        this.consentStoreClient = consentStoreClient;
+        this.cache = cache;
+        this.objectMapper = objectMapper;
+    }
+
+    Cache<ConsentCacheKey, CachedConsent> getCache() {
+        return cache;
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        if (isGetConsent(method)) {
+            final ConsentCacheKey key = new ConsentCacheKey((String) args[0], (String) args[1]);
+            final CachedConsent cachedConsent = cache.getIfPresent(key);
+            if (cachedConsent != null) {
+                try {
+                    return objectMapper.readValue(cachedConsent.getJson(), cachedConsent.getType());
+                } catch (IOException e) {
+                    logger.warn("Failed to read cached consent: {}, fetching it from the consent store", key.getConsentId(), e);
+                    cache.invalidate(key);
+                }
+            }
+            final Object consent = invokeClient(method, args);
+            if (consent != null && isCacheable(consent)) {
+                try {
+                    cache.put(key, new CachedConsent(consent.getClass(), objectMapper.writeValueAsBytes(consent)));
+                } catch (JsonProcessingException e) {
+                    logger.warn("Failed to cache consent: {}", key.getConsentId(), e);
+                }
+            }
+            return consent;
+        }
+        if (method.getDeclaringClass() == Object.class || method.getName().startsWith(CREATE_CONSENT)) {
+            return invokeClient(method, args);
+        }
+        try {
+            return invokeClient(method, args);
+        } finally {
+            invalidate(method, args);
+        }
+    }
+
+    private static boolean isGetConsent(Method method) {
+        return GET_CONSENT.equals(method.getName())
+                && method.getParameterCount() == 2
+                && method.getParameterTypes()[0] == String.class
+                && method.getParameterTypes()[1] == String.class;
+    }
+
+    private static boolean isCacheable(Object consent) {
+        final BeanWrapper consentWrapper = PropertyAccessorFactory.forBeanPropertyAccess(consent);
+        if (!consentWrapper.isReadableProperty(STATUS)) {
+            return false;
+        }
+        final Object status = consentWrapper.getPropertyValue(STATUS);
+        return status != null && CACHEABLE_STATUSES.contains(status.toString());
+    }
+
+    private Object invokeClient(Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(consentStoreClient, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * The consentId is either the first argument, or a property of the request object (e.g. consumeConsent requests).
+     * If it cannot be found then the whole cache for this client is dropped.
+     */
+    private void invalidate(Method method, Object[] args) {
+        final String consentId = findConsentId(args);
+        if (consentId != null) {
+            logger.debug("Invalidating cached consent: {} after call to {}", consentId, method.getName());
+            cache.asMap().keySet().removeIf(key -> consentId.equals(key.getConsentId()));
+        } else {
+            logger.debug("Invalidating all cached consents after call to {}", method.getName());
+            cache.invalidateAll();
+        }
+    }
+
+    private static String findConsentId(Object[] args) {
+        if (args == null || args.length == 0) {
+            return null;
+        }
+        if (args[0] instanceof String) {
+            return (String) args[0];
+        }
+        if (args[0] != null) {
+            final BeanWrapper request = PropertyAccessorFactory.forBeanPropertyAccess(args[0]);
+            if (request.isReadableProperty(CONSENT_ID) && request.getPropertyValue(CONSENT_ID) instanceof String) {
+                return (String) request.getPropertyValue(CONSENT_ID);
+            }
+        }
+        return null;
+    }
+
+    @Value
+    static class ConsentCacheKey {
+        String consentId;
+        String apiClientId;
+    }
+
+    @Value
+    static class CachedConsent {
+        Class<?> type;
+        byte[] json;
+    }
+}
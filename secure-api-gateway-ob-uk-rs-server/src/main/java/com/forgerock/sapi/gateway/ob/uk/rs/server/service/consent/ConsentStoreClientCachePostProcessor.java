@@ -0,0 +1,123 @@
+/*
+ * Copyright © 2020-2025 ForgeRock AS (obst@forgerock.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.forgerock.sapi.gateway.ob.uk.rs.server.service.consent;
+
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.forgerock.sapi.gateway.rcs.consent.store.client.account.AccountAccessConsentStoreClient;
+import com.forgerock.sapi.gateway.rcs.consent.store.client.funds.FundsConfirmationConsentStoreClient;
+import com.forgerock.sapi.gateway.rcs.consent.store.client.payment.domestic.DomesticPaymentConsentStoreClient;
+import com.forgerock.sapi.gateway.rcs.consent.store.client.payment.domesticscheduled.DomesticScheduledPaymentConsentStoreClient;
+import com.forgerock.sapi.gateway.rcs.consent.store.client.payment.domesticstandingorder.DomesticStandingOrderConsentStoreClient;
+import com.forgerock.sapi.gateway.rcs.consent.store.client.payment.file.FilePaymentConsentStoreClient;
+import com.forgerock.sapi.gateway.rcs.consent.store.client.payment.international.InternationalPaymentConsentStoreClient;
+import com.forgerock.sapi.gateway.rcs.consent.store.client.payment.internationalscheduled.InternationalScheduledPaymentConsentStoreClient;
+import com.forgerock.sapi.gateway.rcs.consent.store.client.payment.internationalstandingorder.InternationalStandingOrderConsentStoreClient;
+import com.forgerock.sapi.gateway.rcs.consent.store.client.payment.vrp.DomesticVRPConsentStoreClient;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Wraps each RCS consent store client bean implementing one of {@link #CACHED_CLIENTS} in a
+ * {@link CachingConsentStoreClientHandler}, so that repeated reads of a consent which can no longer change, for example
+ * a TPP polling a consumed payment consent, do not each make a round trip to the consent store.
+ * <p>
+ * Each client gets its own bounded cache, entries expire after rs.consent.store.cache.ttl. Only consents in a terminal
+ * status are cached, so the authorisation or revocation of a consent in the RCS is seen straight away. Hit/miss
+ * metrics are published as cache.gets{cache=[client bean name]}.
+ */
+@Component
+@ConditionalOnProperty(name = "rs.consent.store.cache.enabled", havingValue = "true", matchIfMissing = true)
+public class ConsentStoreClientCachePostProcessor implements BeanPostProcessor, SmartInitializingSingleton {
+
+    /**
+     * The consent store client interfaces which are decorated, a client missing from this list is not cached
+     */
+    static final List<Class<?>> CACHED_CLIENTS = List.of(
+            AccountAccessConsentStoreClient.class,
+            FundsConfirmationConsentStoreClient.class,
+            DomesticPaymentConsentStoreClient.class,
+            DomesticScheduledPaymentConsentStoreClient.class,
+            DomesticStandingOrderConsentStoreClient.class,
+            FilePaymentConsentStoreClient.class,
+            InternationalPaymentConsentStoreClient.class,
+            InternationalScheduledPaymentConsentStoreClient.class,
+            InternationalStandingOrderConsentStoreClient.class,
+            DomesticVRPConsentStoreClient.class);
+
+    private final Logger logger = LoggerFactory.getLogger(getClass());
+
+    private final ObjectProvider<MeterRegistry> meterRegistryProvider;
+
+    private final ObjectProvider<ObjectMapper> objectMapperProvider;
+
+    private final long maxSize;
+
+    private final Duration ttl;
+
+    private final Map<String, CachingConsentStoreClientHandler> cachingClients = new LinkedHashMap<>();
+
+    public ConsentStoreClientCachePostProcessor(ObjectProvider<MeterRegistry> meterRegistryProvider,
+                                                ObjectProvider<ObjectMapper> objectMapperProvider,
+                                                @Value("${rs.consent.store.cache.max-size:10000}") long maxSize,
+                                                @Value("${rs.consent.store.cache.ttl:30s}") Duration ttl) {
+        this.meterRegistryProvider = meterRegistryProvider;
+        this.objectMapperProvider = objectMapperProvider;
+        this.maxSize = maxSize;
+        this.ttl = ttl;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) throws BeansException {
+        final Class<?>[] interfaces = CACHED_CLIENTS.stream()
+                .filter(client -> client.isInstance(bean))
+                .toArray(Class<?>[]::new);
+        if (interfaces.length == 0) {
+            return bean;
+        }
+        logger.info("Caching consents for {} - maxSize: {}, ttl: {}", beanName, maxSize, ttl);
+        final CachingConsentStoreClientHandler handler = new CachingConsentStoreClientHandler(bean, Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build(), objectMapperProvider.getIfAvailable(ObjectMapper::new));
+        cachingClients.put(beanName, handler);
+        return Proxy.newProxyInstance(bean.getClass().getClassLoader(), interfaces, handler);
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        meterRegistryProvider.ifAvailable(meterRegistry -> cachingClients.forEach(
+                (beanName, handler) -> CaffeineCacheMetrics.monitor(meterRegistry, handler.getCache(), beanName)));
+    }
+}
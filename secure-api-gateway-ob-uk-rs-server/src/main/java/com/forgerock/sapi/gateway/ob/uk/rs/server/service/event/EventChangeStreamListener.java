@@ -0,0 +1,93 @@
+/*
+ * Copyright © 2020-2025 ForgeRock AS (obst@forgerock.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.forgerock.sapi.gateway.ob.uk.rs.server.service.event;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.bson.Document;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.messaging.ChangeStreamRequest;
+import org.springframework.data.mongodb.core.messaging.DefaultMessageListenerContainer;
+import org.springframework.data.mongodb.core.messaging.Message;
+import org.springframework.data.mongodb.core.messaging.MessageListenerContainer;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import com.forgerock.sapi.gateway.rs.resource.store.repo.entity.event.FREventMessageEntity;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Watches a Mongo change stream for events inserted by any node and notifies the {@link EventNotificationRegistry},
+ * so that long polling requests parked on this node are woken by events stored via other nodes.
+ * <p>
+ * Change streams require Mongo to run as a replica set or sharded cluster, so this is only enabled by
+ * rs.events.polling.long-polling.change-stream.enabled. If the change stream fails, parked requests still see local
+ * inserts via {@link EventMessageSavedListener}, and all other events when they reach the long polling max-wait.
+ */
+@Component
+@ConditionalOnProperty(name = "rs.events.polling.long-polling.change-stream.enabled", havingValue = "true")
+@Slf4j
+public class EventChangeStreamListener implements SmartLifecycle {
+
+    private final MongoTemplate mongoTemplate;
+    private final EventNotificationRegistry eventNotificationRegistry;
+    private ExecutorService executorService;
+    private MessageListenerContainer messageListenerContainer;
+
+    public EventChangeStreamListener(MongoTemplate mongoTemplate, EventNotificationRegistry eventNotificationRegistry) {
+        this.mongoTemplate = mongoTemplate;
+        this.eventNotificationRegistry = eventNotificationRegistry;
+    }
+
+    @Override
+    public void start() {
+        executorService = Executors.newSingleThreadExecutor(new CustomizableThreadFactory("event-change-stream-"));
+        messageListenerContainer = new DefaultMessageListenerContainer(mongoTemplate, executorService,
+                throwable -> log.warn("Event change stream failed, long polling will only be woken by events stored on this node", throwable));
+        messageListenerContainer.start();
+        final ChangeStreamRequest<FREventMessageEntity> request = ChangeStreamRequest.<FREventMessageEntity>builder(this::onInsert)
+                .collection(mongoTemplate.getCollectionName(FREventMessageEntity.class))
+                .filter(new Document("$match", new Document("operationType", "insert")))
+                .build();
+        messageListenerContainer.register(request, FREventMessageEntity.class);
+        log.info("Watching change stream of collection: {}", mongoTemplate.getCollectionName(FREventMessageEntity.class));
+    }
+
+    private void onInsert(Message<ChangeStreamDocument<Document>, FREventMessageEntity> message) {
+        final FREventMessageEntity eventMessage = message.getBody();
+        if (eventMessage != null && !eventMessage.hasErrors()) {
+            eventNotificationRegistry.notifyNewEvents(eventMessage.getApiClientId());
+        }
+    }
+
+    @Override
+    public void stop() {
+        if (messageListenerContainer != null) {
+            messageListenerContainer.stop();
+            executorService.shutdownNow();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return messageListenerContainer != null && messageListenerContainer.isRunning();
+    }
+}
@@ -0,0 +1,192 @@
+/*
+ * Copyright © 2020-2025 ForgeRock AS (obst@forgerock.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.forgerock.sapi.gateway.ob.uk.rs.server.service.event;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import com.forgerock.sapi.gateway.ob.uk.common.datamodel.event.FREventPolling;
+import com.forgerock.sapi.gateway.ob.uk.common.error.OBErrorResponseException;
+import com.forgerock.sapi.gateway.ob.uk.common.error.OBRIErrorResponseCategory;
+import com.forgerock.sapi.gateway.ob.uk.common.error.OBRIErrorType;
+import com.google.common.base.Preconditions;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Long polling for the aggregated polling API.
+ * <p>
+ * A request with returnImmediately=false which finds no pending events is parked as a {@link DeferredResult}, freeing
+ * the servlet thread, until either new events are stored for the TPP (see {@link EventNotificationRegistry}) or the
+ * max-wait elapses, in which case an empty response is returned. When the per node limit of parked requests is reached
+ * further requests are answered immediately, as if returnImmediately was true.
+ */
+@Service
+@Slf4j
+public class EventLongPollingService implements DisposableBean {
+
+    private final EventPollingService eventPollingService;
+    private final EventNotificationRegistry eventNotificationRegistry;
+    private final boolean longPollingEnabled;
+    private final Duration maxWait;
+
+    // Runs the event queries for woken requests, so that event producers are not blocked by them
+    private final ExecutorService wakeExecutor;
+
+    public EventLongPollingService(EventPollingService eventPollingService,
+                                   EventNotificationRegistry eventNotificationRegistry,
+                                   @Value("${rs.events.polling.long-polling.enabled:true}") boolean longPollingEnabled,
+                                   @Value("${rs.events.polling.long-polling.max-wait:30s}") Duration maxWait,
+                                   @Value("${rs.events.polling.long-polling.wake-threads:4}") int wakeThreads) {
+        this.eventPollingService = eventPollingService;
+        this.eventNotificationRegistry = eventNotificationRegistry;
+        this.longPollingEnabled = longPollingEnabled;
+        this.maxWait = maxWait;
+        this.wakeExecutor = Executors.newFixedThreadPool(wakeThreads, new CustomizableThreadFactory("event-long-polling-"));
+    }
+
+    /**
+     * Fetches the pending event notifications for the TPP, waiting for new events if the TPP requested long polling
+     * and none are pending.
+     *
+     * @param responseFactory creates the response from the event notifications, it is called once, possibly on
+     *                        another thread
+     * @return the DeferredResult which is completed with the response
+     */
+    public <T> DeferredResult<T> pollEvents(FREventPolling frEventPolling, String apiClientId,
+                                            Function<EventNotifications, T> responseFactory) throws OBErrorResponseException {
+        Preconditions.checkNotNull(apiClientId);
+        Preconditions.checkNotNull(frEventPolling);
+
+        final boolean longPollingRequested = frEventPolling.getReturnImmediately() != null && !frEventPolling.isReturnImmediately();
+        if (longPollingRequested && !longPollingEnabled) {
+            log.warn("TPP: {} requested long polling on the event notification API but it is not enabled", apiClientId);
+            throw new OBErrorResponseException(
+                    HttpStatus.NOT_IMPLEMENTED,
+                    OBRIErrorResponseCategory.REQUEST_INVALID,
+                    OBRIErrorType.LONG_POLLING_NOT_SUPPORTED_FOR_EVENTS.toOBError1());
+        }
+
+        final EventNotifications eventNotifications = eventPollingService.fetchNewEvents(frEventPolling, apiClientId);
+        final boolean noEventsRequested = frEventPolling.getMaxEvents() != null && frEventPolling.getMaxEvents() <= 0;
+        if (!longPollingRequested || noEventsRequested || !eventNotifications.isEmpty()) {
+            final DeferredResult<T> result = new DeferredResult<>();
+            result.setResult(responseFactory.apply(eventNotifications));
+            return result;
+        }
+
+        log.debug("No pending events for TPP: '{}', waiting up to {} for new events", apiClientId, maxWait);
+        final DeferredResult<T> result = new DeferredResult<>(maxWait.toMillis());
+        final ParkedPoll<T> parkedPoll = new ParkedPoll<>(result, frEventPolling, apiClientId, responseFactory);
+        result.onTimeout(() -> {
+            log.debug("No new events for TPP: '{}' within {}", apiClientId, maxWait);
+            result.setResult(responseFactory.apply(EventNotifications.none()));
+        });
+        result.onCompletion(() -> eventNotificationRegistry.unregister(apiClientId, parkedPoll));
+        parkedPoll.park();
+        return result;
+    }
+
+    @Override
+    public void destroy() {
+        wakeExecutor.shutdownNow();
+    }
+
+    /**
+     * A long polling request waiting for events, registered with the {@link EventNotificationRegistry} as the listener
+     * for the TPP's events.
+     */
+    private class ParkedPoll<T> implements Runnable {
+
+        private final DeferredResult<T> result;
+        private final FREventPolling frEventPolling;
+        private final String apiClientId;
+        private final Function<EventNotifications, T> responseFactory;
+
+        private ParkedPoll(DeferredResult<T> result, FREventPolling frEventPolling, String apiClientId,
+                           Function<EventNotifications, T> responseFactory) {
+            this.result = result;
+            this.frEventPolling = frEventPolling;
+            this.apiClientId = apiClientId;
+            this.responseFactory = responseFactory;
+        }
+
+        /**
+         * Registers for notification of new events, then checks again for events to catch any stored before the
+         * registration took effect.
+         */
+        private void park() {
+            if (!eventNotificationRegistry.register(apiClientId, this)) {
+                result.setResult(responseFactory.apply(EventNotifications.none()));
+                return;
+            }
+            if (result.isSetOrExpired()) {
+                // Completed concurrently, the completion callback may have run before the registration
+                eventNotificationRegistry.unregister(apiClientId, this);
+                return;
+            }
+            try {
+                final EventNotifications eventNotifications = eventPollingService.fetchNewEvents(frEventPolling, apiClientId);
+                if (!eventNotifications.isEmpty()) {
+                    eventNotificationRegistry.unregister(apiClientId, this);
+                    result.setResult(responseFactory.apply(eventNotifications));
+                }
+            } catch (Exception e) {
+                eventNotificationRegistry.unregister(apiClientId, this);
+                result.setErrorResult(e);
+            }
+        }
+
+        /**
+         * Called by the registry on the event producer's thread, the events are fetched on the wakeExecutor.
+         */
+        @Override
+        public void run() {
+            try {
+                wakeExecutor.execute(this::wake);
+            } catch (RejectedExecutionException e) {
+                result.setResult(responseFactory.apply(EventNotifications.none()));
+            }
+        }
+
+        private void wake() {
+            if (result.isSetOrExpired()) {
+                return;
+            }
+            try {
+                final EventNotifications eventNotifications = eventPollingService.fetchNewEvents(frEventPolling, apiClientId);
+                if (eventNotifications.isEmpty()) {
+                    // The new events were acknowledged or errored by a concurrent poll, keep waiting
+                    park();
+                } else {
+                    result.setResult(responseFactory.apply(eventNotifications));
+                }
+            } catch (Exception e) {
+                result.setErrorResult(e);
+            }
+        }
+    }
+}
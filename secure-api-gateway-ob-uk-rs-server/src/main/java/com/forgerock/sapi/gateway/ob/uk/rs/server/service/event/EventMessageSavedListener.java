@@ -0,0 +1,46 @@
+/*
+ * Copyright © 2020-2025 ForgeRock AS (obst@forgerock.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.forgerock.sapi.gateway.ob.uk.rs.server.service.event;
+
+import org.springframework.data.mongodb.core.mapping.event.AbstractMongoEventListener;
+import org.springframework.data.mongodb.core.mapping.event.AfterSaveEvent;
+import org.springframework.stereotype.Component;
+
+import com.forgerock.sapi.gateway.rs.resource.store.repo.entity.event.FREventMessageEntity;
+
+/**
+ * Notifies the {@link EventNotificationRegistry} of events saved by this node, via the repository or MongoTemplate.
+ * <p>
+ * This is always active. Events stored by other nodes are only seen when the {@link EventChangeStreamListener} is
+ * enabled, otherwise requests parked on this node pick them up when they reach the long polling max-wait.
+ */
+@Component
+public class EventMessageSavedListener extends AbstractMongoEventListener<FREventMessageEntity> {
+
+    private final EventNotificationRegistry eventNotificationRegistry;
+
+    public EventMessageSavedListener(EventNotificationRegistry eventNotificationRegistry) {
+        this.eventNotificationRegistry = eventNotificationRegistry;
+    }
+
+    @Override
+    public void onAfterSave(AfterSaveEvent<FREventMessageEntity> event) {
+        final FREventMessageEntity eventMessage = event.getSource();
+        if (!eventMessage.hasErrors()) {
+            eventNotificationRegistry.notifyNewEvents(eventMessage.getApiClientId());
+        }
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright © 2020-2025 ForgeRock AS (obst@forgerock.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.forgerock.sapi.gateway.ob.uk.rs.server.service.event;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Registry of the long polling requests parked on this node, keyed by apiClientId.
+ * <p>
+ * Event producers call {@link #notifyNewEvents(String)} when events are stored for a TPP, which wakes every request
+ * parked for that TPP. Listeners are one-shot: they are removed from the registry when notified.
+ */
+@Component
+@Slf4j
+public class EventNotificationRegistry {
+
+    private final int maxParkedRequests;
+    private final Map<String, Set<Runnable>> listenersByApiClientId = new ConcurrentHashMap<>();
+    private final AtomicInteger parkedRequests = new AtomicInteger();
+
+    public EventNotificationRegistry(@Value("${rs.events.polling.long-polling.max-parked-requests:1000}") int maxParkedRequests) {
+        this.maxParkedRequests = maxParkedRequests;
+    }
+
+    /**
+     * Registers a listener to run when new events are stored for the apiClientId.
+     *
+     * @return false if the listener was not registered because the maximum number of parked requests has been reached
+     */
+    public boolean register(String apiClientId, Runnable listener) {
+        if (parkedRequests.incrementAndGet() > maxParkedRequests) {
+            parkedRequests.decrementAndGet();
+            log.warn("Unable to park long polling request for apiClient '{}', the maximum of {} parked requests has been reached",
+                     apiClientId, maxParkedRequests);
+            return false;
+        }
+        listenersByApiClientId.compute(apiClientId, (key, listeners) -> {
+            final Set<Runnable> apiClientListeners = listeners == null ? new HashSet<>() : listeners;
+            apiClientListeners.add(listener);
+            return apiClientListeners;
+        });
+        return true;
+    }
+
+    /**
+     * Removes a listener which has not been notified, for example when the request times out.
+     */
+    public void unregister(String apiClientId, Runnable listener) {
+        listenersByApiClientId.computeIfPresent(apiClientId, (key, listeners) -> {
+            if (listeners.remove(listener)) {
+                parkedRequests.decrementAndGet();
+            }
+            return listeners.isEmpty() ? null : listeners;
+        });
+    }
+
+    /**
+     * Wakes every request parked for the apiClientId. The listeners are run on the calling thread, so must not block.
+     */
+    public void notifyNewEvents(String apiClientId) {
+        if (apiClientId == null) {
+            return;
+        }
+        final Set<Runnable> listeners = listenersByApiClientId.remove(apiClientId);
+        if (listeners != null) {
+            parkedRequests.addAndGet(-listeners.size());
+            log.debug("Waking {} parked long polling requests for apiClient '{}'", listeners.size(), apiClientId);
+            listeners.forEach(Runnable::run);
+        }
+    }
+
+    public int getParkedRequests() {
+        return parkedRequests.get();
+    }
+}
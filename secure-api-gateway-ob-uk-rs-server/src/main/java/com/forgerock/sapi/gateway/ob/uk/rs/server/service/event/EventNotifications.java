@@ -0,0 +1,48 @@
+/*
+ * Copyright © 2020-2025 ForgeRock AS (obst@forgerock.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.forgerock.sapi.gateway.ob.uk.rs.server.service.event;
+
+import java.util.Collections;
+import java.util.Map;
+
+import lombok.Value;
+
+/**
+ * Event notifications to return to a TPP in an aggregated polling response.
+ */
+@Value
+public class EventNotifications {
+
+    private static final EventNotifications NONE = new EventNotifications(Collections.emptyMap(), false);
+
+    /**
+     * Serialised event notifications keyed by jti, in delivery order (oldest first)
+     */
+    Map<String, String> sets;
+
+    /**
+     * Whether further pending events exist beyond those in sets
+     */
+    boolean moreAvailable;
+
+    public static EventNotifications none() {
+        return NONE;
+    }
+
+    public boolean isEmpty() {
+        return sets.isEmpty();
+    }
+}
@@ -17,9 +17,9 @@ package com.forgerock.sapi.gateway.ob.uk.rs.server.service.event;
 
 import static com.forgerock.sapi.gateway.rs.resource.store.api.admin.events.FRDataEventsConverter.toOBEventNotification1;
 
-import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
@@ -68,10 +68,8 @@ public class EventPollingService {
 
         if (frEventPolling.getAck() != null && !frEventPolling.getAck().isEmpty()) {
             log.debug("TPP '{}' is acknowledging (and therefore deleting) the following event notifications: {}", apiClientId, frEventPolling.getAck());
-            frEventPolling.getAck()
-                    .forEach(
-                            jti -> frEventMessageRepository.deleteByApiClientIdAndJti(apiClientId, jti)
-                    );
+            final long deleted = frEventMessageRepository.deleteByApiClientIdAndJtiIn(apiClientId, frEventPolling.getAck());
+            log.debug("Deleted {} of {} acknowledged event notifications for TPP '{}'", deleted, frEventPolling.getAck().size(), apiClientId);
         }
     }
 
@@ -80,47 +78,41 @@ public class EventPollingService {
         Preconditions.checkNotNull(frEventPolling);
         if (frEventPolling.getSetErrs() != null && !frEventPolling.getSetErrs().isEmpty()) {
             log.debug("Persisting {} event notification errors for keys: {}", frEventPolling.getSetErrs().size(), frEventPolling.getSetErrs().keySet());
-            frEventPolling.getSetErrs()
-                    .forEach((key, value) -> frEventMessageRepository.findByApiClientIdAndJti(apiClientId, key)
-                            .ifPresent(event -> {
-                                event.setErrors(value);
-                                frEventMessageRepository.save(event);
-                            }));
+            final int updated = frEventMessageRepository.setErrors(apiClientId, frEventPolling.getSetErrs());
+            log.debug("Recorded errors against {} event notifications for TPP '{}'", updated, apiClientId);
         }
 
     }
 
-    public Map<String, String> fetchNewEvents(FREventPolling frEventPolling, String apiClientId) throws OBErrorResponseException {
+    /**
+     * Fetches the oldest pending event notifications for the TPP, up to the number requested (capped at the configured
+     * events limit). Only the events being returned are read from Mongo and serialised.
+     * <p>
+     * This always returns immediately, long polling is handled by {@link EventLongPollingService}.
+     */
+    public EventNotifications fetchNewEvents(FREventPolling frEventPolling, String apiClientId) throws OBErrorResponseException {
         Preconditions.checkNotNull(apiClientId);
         Preconditions.checkNotNull(frEventPolling);
         if (frEventPolling.getMaxEvents() != null && frEventPolling.getMaxEvents() <= 0) {
             // Zero notifications can be requested by TPP when they just want to send acknowledgements and/or errors to sandbox
             log.debug("Polling request for TPP: '{}' requested no event notifications so none will be returned", apiClientId);
-            return Collections.emptyMap();
+            return EventNotifications.none();
         }
 
-        // Long polling is currently optional in OB specs and as it requires more work to implement it will be left out for now.
-        if (frEventPolling.getReturnImmediately() != null && !frEventPolling.isReturnImmediately()) {
-            log.warn("TPP: {} requested long polling on the event notification API but it is not supported", apiClientId);
-            throw new OBErrorResponseException(
-                    HttpStatus.NOT_IMPLEMENTED,
-                    OBRIErrorResponseCategory.REQUEST_INVALID,
-                    OBRIErrorType.LONG_POLLING_NOT_SUPPORTED_FOR_EVENTS.toOBError1());
-        }
-
-        // Load all event notifications for TPP
-        log.debug("Loading all notifications for TPP: {}", apiClientId);
+        final int maxEvents = getMaxEvents(frEventPolling.getMaxEvents(), apiClientId);
+        log.debug("Loading up to {} pending notifications for TPP: {}", maxEvents, apiClientId);
         try {
-            return frEventMessageRepository.findByApiClientId(apiClientId).stream()
-                    .filter(event -> !event.hasErrors())
-                    .collect(
-                            Collectors.toMap(
-                                    FREventMessageEntity::getJti,
-                                    frEventMessageEntity ->
-                                            writeValueAsString(toOBEventNotification1(frEventMessageEntity))
-
-                            )
-                    );
+            // Read one more event than required to find out whether more are available
+            final List<FREventMessageEntity> pendingEvents = frEventMessageRepository.findPendingByApiClientId(apiClientId, maxEvents + 1);
+            final boolean moreAvailable = pendingEvents.size() > maxEvents;
+            if (moreAvailable) {
+                log.debug("TPP has more than {} pending event notifications. Only the first {} will be returned.", maxEvents, maxEvents);
+            }
+            final Map<String, String> eventNotifications = new LinkedHashMap<>();
+            pendingEvents.stream()
+                    .limit(maxEvents)
+                    .forEach(event -> eventNotifications.put(event.getJti(), writeValueAsString(toOBEventNotification1(event))));
+            return new EventNotifications(eventNotifications, moreAvailable);
         } catch (Exception e) {
             throw new OBErrorResponseException(
                     HttpStatus.NOT_IMPLEMENTED,
@@ -129,6 +121,14 @@ public class EventPollingService {
         }
     }
 
+    private int getMaxEvents(Integer maxEvents, String apiClientId) {
+        if (maxEvents == null || maxEvents > eventsLimit) {
+            log.debug("TPP {} requested a number of event notifications ({}) on polling that exceeds that allowed maximum on the sandbox ({}). Only {} will be returned.", apiClientId, maxEvents, eventsLimit, eventsLimit);
+            return eventsLimit;
+        }
+        return maxEvents;
+    }
+
     private String writeValueAsString(OBEventNotification1 obEventNotification1) {
         try {
             return objectMapper.writeValueAsString(obEventNotification1);
@@ -136,27 +136,4 @@ public class EventPollingService {
             throw new RuntimeException(e);
         }
     }
-
-    public Map<String, String> truncateEvents(Integer maxEvents, Map<String, String> eventNotifications, String apiClientId) {
-        Preconditions.checkNotNull(apiClientId);
-        log.debug("Request to truncate {} event notification to be max of {}", eventNotifications.size(), maxEvents);
-        if (eventNotifications.isEmpty()) {
-            return eventNotifications; // Nothing to do
-        }
-
-        if (maxEvents == null || maxEvents > eventsLimit) {
-            log.debug("TPP {} requested a number of event notifications ({}) on polling that exceeds that allowed maximum on the sandbox ({}). Only {} will be returned.", apiClientId, maxEvents, eventsLimit, eventsLimit);
-            maxEvents = eventsLimit;
-        }
-
-        if (eventNotifications.size() > maxEvents) {
-            log.debug("TPP has {} pending event notifications. Only the first {} will be returned.", eventNotifications.size(), maxEvents);
-            return eventNotifications.entrySet().stream()
-                    .limit(maxEvents)
-                    .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
-        } else {
-            return eventNotifications;
-        }
-
-    }
 }
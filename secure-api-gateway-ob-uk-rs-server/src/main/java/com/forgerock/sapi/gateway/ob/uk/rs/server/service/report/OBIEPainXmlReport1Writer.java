@@ -0,0 +1,148 @@
+/*
+ * Copyright © 2020-2025 ForgeRock AS (obst@forgerock.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.forgerock.sapi.gateway.ob.uk.rs.server.service.report;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+
+import org.joda.time.DateTime;
+import org.joda.time.DateTimeZone;
+import org.springframework.stereotype.Component;
+
+import com.forgerock.sapi.gateway.ob.uk.common.datamodel.common.FRAmount;
+import com.forgerock.sapi.gateway.ob.uk.common.datamodel.common.FRSubmissionStatus;
+import com.forgerock.sapi.gateway.ob.uk.common.datamodel.payment.FRFilePayment;
+import com.forgerock.sapi.gateway.ob.uk.rs.server.common.payment.file.FilePaymentTransactionStatus;
+import com.forgerock.sapi.gateway.rs.resource.store.repo.entity.payment.FRFilePaymentLine;
+import com.forgerock.sapi.gateway.rs.resource.store.repo.entity.payment.FRFilePaymentSubmission;
+
+/**
+ * Writes the report file of a UK.OBIE.pain.001.001.08 file payment, an ISO 20022 pain.002 customer payment status
+ * report with the status of each of the file's transactions.
+ * <p>
+ * The report is written with an {@link XMLStreamWriter} as the lines are read, so the report is never held in memory.
+ */
+@Component
+public class OBIEPainXmlReport1Writer {
+
+    static final String PAIN_002_NAMESPACE = "urn:iso:std:iso:20022:tech:xsd:pain.002.001.10";
+    private static final String ORIGINAL_MESSAGE_NAME = "pain.001.001.08";
+
+    private final XMLOutputFactory xmlOutputFactory = XMLOutputFactory.newFactory();
+
+    public void writeReport(FRFilePaymentSubmission filePayment, Stream<FRFilePaymentLine> lines,
+                            OutputStream outputStream) throws IOException {
+        try {
+            final XMLStreamWriter writer = xmlOutputFactory.createXMLStreamWriter(outputStream, StandardCharsets.UTF_8.name());
+            writer.writeStartDocument(StandardCharsets.UTF_8.name(), "1.0");
+            writer.writeStartElement("Document");
+            writer.writeDefaultNamespace(PAIN_002_NAMESPACE);
+            writer.writeStartElement("CstmrPmtStsRpt");
+
+            writer.writeStartElement("GrpHdr");
+            writeElement(writer, "MsgId", filePayment.getId());
+            writeElement(writer, "CreDtTm", DateTime.now(DateTimeZone.UTC).toString());
+            writer.writeEndElement();
+
+            writer.writeStartElement("OrgnlGrpInfAndSts");
+            writeElement(writer, "OrgnlMsgId", filePayment.getConsentId());
+            writeElement(writer, "OrgnlMsgNmId", ORIGINAL_MESSAGE_NAME);
+            writeElement(writer, "GrpSts", toGroupStatus(filePayment));
+            writer.writeEndElement();
+
+            writer.writeStartElement("OrgnlPmtInfAndSts");
+            writeElement(writer, "OrgnlPmtInfId", filePayment.getId());
+            final Iterator<FRFilePaymentLine> iterator = lines.iterator();
+            while (iterator.hasNext()) {
+                writeTransaction(writer, iterator.next());
+            }
+            writer.writeEndElement();
+
+            writer.writeEndElement();
+            writer.writeEndElement();
+            writer.writeEndDocument();
+            // Closing the writer doesn't close the output stream, which belongs to the caller
+            writer.close();
+        } catch (XMLStreamException e) {
+            throw new IOException("Failed to write pain.002 report for file payment: " + filePayment.getId(), e);
+        }
+    }
+
+    private static void writeTransaction(XMLStreamWriter writer, FRFilePaymentLine line) throws XMLStreamException {
+        final FRFilePayment payment = line.getPayment();
+        writer.writeStartElement("TxInfAndSts");
+        writeElement(writer, "StsId", line.getId());
+        writeElement(writer, "OrgnlInstrId", payment.getInstructionIdentification());
+        writeElement(writer, "OrgnlEndToEndId", payment.getEndToEndIdentification());
+        writeElement(writer, "TxSts", FilePaymentTransactionStatus.of(payment.getStatus()).getIsoCode());
+        if (line.getStatusReason() != null) {
+            writer.writeStartElement("StsRsnInf");
+            writeElement(writer, "AddtlInf", line.getStatusReason());
+            writer.writeEndElement();
+        }
+
+        writer.writeStartElement("OrgnlTxRef");
+        final FRAmount instructedAmount = payment.getInstructedAmount();
+        if (instructedAmount != null) {
+            writer.writeStartElement("Amt");
+            writer.writeStartElement("InstdAmt");
+            writer.writeAttribute("Ccy", instructedAmount.getCurrency());
+            writer.writeCharacters(instructedAmount.getAmount());
+            writer.writeEndElement();
+            writer.writeEndElement();
+        }
+        writer.writeStartElement("CdtrAcct");
+        writer.writeStartElement("Id");
+        writer.writeStartElement("Othr");
+        writeElement(writer, "Id", payment.getCreditorAccountIdentification());
+        writer.writeEndElement();
+        writer.writeEndElement();
+        writer.writeEndElement();
+        writer.writeEndElement();
+
+        writer.writeEndElement();
+    }
+
+    private static void writeElement(XMLStreamWriter writer, String name, String value) throws XMLStreamException {
+        if (value != null) {
+            writer.writeStartElement(name);
+            writer.writeCharacters(value);
+            writer.writeEndElement();
+        }
+    }
+
+    /**
+     * @return the pain.002 group status: accepted once all transactions are executed, partially accepted when some of
+     * them were rejected and pending until the file has been executed
+     */
+    private static String toGroupStatus(FRFilePaymentSubmission filePayment) {
+        final FRSubmissionStatus status = filePayment.getStatus();
+        if (status == FRSubmissionStatus.INITIATIONFAILED) {
+            return "RJCT";
+        }
+        if (status == FRSubmissionStatus.INITIATIONCOMPLETED) {
+            return filePayment.getTransactionsRejected() > 0 ? "PART" : "ACCP";
+        }
+        return "PDNG";
+    }
+}
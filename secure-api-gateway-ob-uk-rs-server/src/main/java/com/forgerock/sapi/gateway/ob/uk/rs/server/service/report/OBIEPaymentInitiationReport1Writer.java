@@ -0,0 +1,109 @@
+/*
+ * Copyright © 2020-2025 ForgeRock AS (obst@forgerock.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.forgerock.sapi.gateway.ob.uk.rs.server.service.report;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+import org.joda.time.DateTime;
+import org.joda.time.DateTimeZone;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.StreamWriteFeature;
+import com.forgerock.sapi.gateway.ob.uk.common.datamodel.common.FRAmount;
+import com.forgerock.sapi.gateway.ob.uk.common.datamodel.payment.FRFilePayment;
+import com.forgerock.sapi.gateway.ob.uk.rs.server.common.payment.file.FilePaymentTransactionStatus;
+import com.forgerock.sapi.gateway.rs.resource.store.repo.entity.payment.FRFilePaymentLine;
+import com.forgerock.sapi.gateway.rs.resource.store.repo.entity.payment.FRFilePaymentSubmission;
+
+/**
+ * Writes the report file of a UK.OBIE.PaymentInitiation.3.1 file payment, a JSON document mirroring the uploaded file
+ * with the status of each of the DomesticPayments.
+ * <p>
+ * The report is written with a {@link JsonGenerator} as the lines are read, so the report is never held in memory.
+ */
+@Component
+public class OBIEPaymentInitiationReport1Writer {
+
+    // The output stream belongs to the caller, so it is flushed but not closed when the report is complete
+    private final JsonFactory jsonFactory = JsonFactory.builder()
+            .disable(StreamWriteFeature.AUTO_CLOSE_TARGET)
+            .build();
+
+    public void writeReport(FRFilePaymentSubmission filePayment, Stream<FRFilePaymentLine> lines,
+                            OutputStream outputStream) throws IOException {
+        try (JsonGenerator generator = jsonFactory.createGenerator(outputStream, JsonEncoding.UTF8)) {
+            generator.writeStartObject();
+            generator.writeObjectFieldStart("Data");
+            generator.writeStringField("FilePaymentId", filePayment.getId());
+            generator.writeStringField("ConsentId", filePayment.getConsentId());
+            generator.writeStringField("Status", filePayment.getStatus().getValue());
+            generator.writeArrayFieldStart("DomesticPayments");
+            final Iterator<FRFilePaymentLine> iterator = lines.iterator();
+            while (iterator.hasNext()) {
+                writePayment(generator, iterator.next());
+            }
+            generator.writeEndArray();
+            generator.writeEndObject();
+            generator.writeEndObject();
+        }
+    }
+
+    private static void writePayment(JsonGenerator generator, FRFilePaymentLine line) throws IOException {
+        final FRFilePayment payment = line.getPayment();
+        generator.writeStartObject();
+        generator.writeStringField("DomesticPaymentId", line.getId());
+        if (payment.getCreated() != null) {
+            generator.writeStringField("CreationDateTime", payment.getCreated().withZone(DateTimeZone.UTC).toString());
+        }
+        generator.writeStringField("Status", FilePaymentTransactionStatus.of(payment.getStatus()).getValue());
+        if (line.getStatusReason() != null) {
+            generator.writeStringField("StatusReason", line.getStatusReason());
+        }
+        generator.writeStringField("StatusUpdateDateTime", toDateTime(line.getStatusUpdateDateTime()));
+
+        generator.writeObjectFieldStart("Initiation");
+        generator.writeStringField("InstructionIdentification", payment.getInstructionIdentification());
+        generator.writeStringField("EndToEndIdentification", payment.getEndToEndIdentification());
+        final FRAmount instructedAmount = payment.getInstructedAmount();
+        if (instructedAmount != null) {
+            generator.writeObjectFieldStart("InstructedAmount");
+            generator.writeStringField("Amount", instructedAmount.getAmount());
+            generator.writeStringField("Currency", instructedAmount.getCurrency());
+            generator.writeEndObject();
+        }
+        generator.writeObjectFieldStart("CreditorAccount");
+        generator.writeStringField("Identification", payment.getCreditorAccountIdentification());
+        generator.writeEndObject();
+        generator.writeObjectFieldStart("RemittanceInformation");
+        generator.writeStringField("Reference", payment.getRemittanceReference());
+        generator.writeStringField("Unstructured", payment.getRemittanceUnstructured());
+        generator.writeEndObject();
+        generator.writeEndObject();
+
+        generator.writeEndObject();
+    }
+
+    private static String toDateTime(Date date) {
+        return new DateTime(date, DateTimeZone.UTC).toString();
+    }
+}
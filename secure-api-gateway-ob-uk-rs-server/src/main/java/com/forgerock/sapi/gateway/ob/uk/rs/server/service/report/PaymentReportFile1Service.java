@@ -15,44 +15,82 @@
  */
 package com.forgerock.sapi.gateway.ob.uk.rs.server.service.report;
 
-import com.forgerock.sapi.gateway.ob.uk.common.error.OBErrorResponseException;
+import java.util.stream.Stream;
+
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.forgerock.sapi.gateway.ob.uk.common.error.OBErrorException;
+import com.forgerock.sapi.gateway.ob.uk.common.error.OBRIErrorType;
+import com.forgerock.sapi.gateway.ob.uk.rs.server.api.obie.payment.services.file.FilePaymentExecutionService;
+import com.forgerock.sapi.gateway.ob.uk.rs.server.common.payment.file.DefaultPaymentFileType;
+import com.forgerock.sapi.gateway.rs.resource.store.repo.entity.payment.FRFilePaymentLine;
 import com.forgerock.sapi.gateway.rs.resource.store.repo.entity.payment.FRFilePaymentSubmission;
+import com.google.common.base.Preconditions;
+
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.stereotype.Service;
 
 /**
- * Generate a file payment report from an authorised payment consent.
+ * Generate a file payment report from a submitted file payment.
+ * <p>
+ * The report reflects the status of each payment at the time it is requested, payments which are still being executed
+ * are reported as pending. It is streamed to the response as the payments are read, a batch of payments at a time.
  */
 @Service
 @Slf4j
 public class PaymentReportFile1Service {
 
-//    private final OBIEPaymentInitiationReport1Builder obiePaymentInitiationReportBuilder;
-//    private final OBIEPainXmlReport1Builder obiePainXmlReportBuilder;
-//
-//    public PaymentReportFile1Service(OBIEPaymentInitiationReport1Builder obiePaymentInitiationReportBuilder,
-//                                     OBIEPainXmlReport1Builder obiePainXmlReportBuilder) {
-//        this.obiePaymentInitiationReportBuilder = obiePaymentInitiationReportBuilder;
-//        this.obiePainXmlReportBuilder = obiePainXmlReportBuilder;
-//    }
+    private final OBIEPaymentInitiationReport1Writer obiePaymentInitiationReportWriter;
+    private final OBIEPainXmlReport1Writer obiePainXmlReportWriter;
+    private final FilePaymentExecutionService filePaymentExecutionService;
 
-    public String createPaymentReport(FRFilePaymentSubmission filePayment) throws OBErrorResponseException {
+    public PaymentReportFile1Service(OBIEPaymentInitiationReport1Writer obiePaymentInitiationReportWriter,
+                                     OBIEPainXmlReport1Writer obiePainXmlReportWriter,
+                                     FilePaymentExecutionService filePaymentExecutionService) {
+        this.obiePaymentInitiationReportWriter = obiePaymentInitiationReportWriter;
+        this.obiePainXmlReportWriter = obiePainXmlReportWriter;
+        this.filePaymentExecutionService = filePaymentExecutionService;
+    }
+
+    /**
+     * @return the content type of the report, the same as the content type of the uploaded file
+     */
+    public MediaType getReportContentType(FRFilePaymentSubmission filePayment) throws OBErrorException {
+        return getFileType(filePayment).getPaymentFileType().getContentType();
+    }
+
+    /**
+     * @return the report, which reads the file payment's lines when it is written to the response
+     */
+    public StreamingResponseBody createPaymentReport(FRFilePaymentSubmission filePayment) throws OBErrorException {
+        Preconditions.checkNotNull(filePayment, "filePayment cannot be null");
         log.debug("Create file payment report for filePayment: {}", filePayment.getId());
 
-        // TODO - determine what functionality is required
-        throw new UnsupportedOperationException("createPaymentReport not implemented");
-
-//        Preconditions.checkNotNull(filePayment, "filePayment cannot be null");
-//
-//        String fileType = filePayment.getFilePayment().getData().getInitiation().getFileType();
-//        switch (fileType) {
-//            case UK_OBIE_PAYMENT_INITIATION_V3_0:
-//                return obiePaymentInitiationReportBuilder.toPaymentReport(filePayment);
-//            case UK_OBIE_PAIN_001:
-//                return obiePainXmlReportBuilder.toPaymentReport(filePayment);
-//            default:
-//                log.error("File payment submitted with file type {} should not have passed validation. No report file is supported for this type.", fileType);
-//                throw new IllegalArgumentException("Unknown payment file type: " + fileType);
-//        }
+        final DefaultPaymentFileType fileType = getFileType(filePayment);
+        return outputStream -> {
+            try (Stream<FRFilePaymentLine> lines = filePaymentExecutionService.streamLines(filePayment.getId())) {
+                switch (fileType) {
+                    case UK_OBIE_PAYMENT_INITIATION_V3_1:
+                        obiePaymentInitiationReportWriter.writeReport(filePayment, lines, outputStream);
+                        break;
+                    case UK_OBIE_PAIN_001:
+                        obiePainXmlReportWriter.writeReport(filePayment, lines, outputStream);
+                        break;
+                    default:
+                        throw new IllegalStateException("No report file is supported for file type: " + fileType);
+                }
+            }
+        };
+    }
+
+    private static DefaultPaymentFileType getFileType(FRFilePaymentSubmission filePayment) throws OBErrorException {
+        final String fileType = filePayment.getFilePayment().getData().getInitiation().getFileType();
+        try {
+            return DefaultPaymentFileType.fromFileType(fileType);
+        } catch (UnsupportedOperationException e) {
+            log.error("File payment submitted with file type {} should not have passed validation. No report file is supported for this type.", fileType);
+            throw new OBErrorException(OBRIErrorType.REQUEST_FILE_TYPE_NOT_SUPPORTED, fileType);
+        }
     }
 }
@@ -0,0 +1,109 @@
+/*
+ * Copyright © 2020-2025 ForgeRock AS (obst@forgerock.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.forgerock.sapi.gateway.ob.uk.rs.server.service.scheduler;
+
+import org.joda.time.DateTime;
+
+import com.forgerock.sapi.gateway.rs.resource.store.repo.entity.account.FRScheduledPayment;
+import com.forgerock.sapi.gateway.rs.resource.store.repo.entity.account.FRStandingOrder;
+
+/**
+ * A scheduled payment, or payment of a standing order, queued by the {@link PaymentScheduler} for execution at its
+ * due time.
+ */
+final class DueInstruction implements Comparable<DueInstruction> {
+
+    enum Type {
+        SCHEDULED_PAYMENT("scheduled-payment"),
+        STANDING_ORDER("standing-order");
+
+        private final String tagValue;
+
+        Type(String tagValue) {
+            this.tagValue = tagValue;
+        }
+
+        String getTagValue() {
+            return tagValue;
+        }
+    }
+
+    private final Type type;
+    private final String id;
+    private final Integer shard;
+    private final long dueTime;
+    // The standing order as read when its payment was queued, null for scheduled payments
+    private final FRStandingOrder standingOrder;
+
+    private DueInstruction(Type type, String id, Integer shard, DateTime dueDateTime, FRStandingOrder standingOrder) {
+        this.type = type;
+        this.id = id;
+        this.shard = shard;
+        this.dueTime = dueDateTime.getMillis();
+        this.standingOrder = standingOrder;
+    }
+
+    static DueInstruction of(FRScheduledPayment scheduledPayment) {
+        return new DueInstruction(Type.SCHEDULED_PAYMENT, scheduledPayment.getId(), scheduledPayment.getShard(),
+                scheduledPayment.getScheduledPayment().getScheduledPaymentDateTime(), null);
+    }
+
+    static DueInstruction of(FRStandingOrder standingOrder) {
+        return new DueInstruction(Type.STANDING_ORDER, standingOrder.getId(), standingOrder.getShard(),
+                dueDateTime(standingOrder), standingOrder);
+    }
+
+    /**
+     * @return the first payment of a PENDING standing order, otherwise its next payment
+     */
+    static DateTime dueDateTime(FRStandingOrder standingOrder) {
+        return standingOrder.getStatus() == FRStandingOrder.StandingOrderStatus.PENDING
+                ? standingOrder.getStandingOrder().getFirstPaymentDateTime()
+                : standingOrder.getStandingOrder().getNextPaymentDateTime();
+    }
+
+    Type getType() {
+        return type;
+    }
+
+    String getId() {
+        return id;
+    }
+
+    Integer getShard() {
+        return shard;
+    }
+
+    long getDueTime() {
+        return dueTime;
+    }
+
+    FRStandingOrder getStandingOrder() {
+        return standingOrder;
+    }
+
+    /**
+     * @return identifies the instruction across both collections
+     */
+    String getKey() {
+        return type.name() + ":" + id;
+    }
+
+    @Override
+    public int compareTo(DueInstruction other) {
+        return Long.compare(dueTime, other.dueTime);
+    }
+}
@@ -0,0 +1,372 @@
+/*
+ * Copyright © 2020-2025 ForgeRock AS (obst@forgerock.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.forgerock.sapi.gateway.ob.uk.rs.server.service.scheduler;
+
+import static com.forgerock.sapi.gateway.rs.resource.store.repo.entity.account.FRStandingOrder.StandingOrderStatus.ACTIVE;
+import static com.forgerock.sapi.gateway.rs.resource.store.repo.entity.account.FRStandingOrder.StandingOrderStatus.COMPLETED;
+import static com.forgerock.sapi.gateway.rs.resource.store.repo.entity.account.FRStandingOrder.StandingOrderStatus.PENDING;
+import static com.forgerock.sapi.gateway.rs.resource.store.repo.entity.account.FRStandingOrder.StandingOrderStatus.REJECTED;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.joda.time.DateTime;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import com.forgerock.sapi.gateway.ob.uk.common.datamodel.account.FRStandingOrderData;
+import com.forgerock.sapi.gateway.ob.uk.rs.server.service.frequency.FrequencyService;
+import com.forgerock.sapi.gateway.rs.resource.store.repo.entity.account.FRScheduledPayment;
+import com.forgerock.sapi.gateway.rs.resource.store.repo.entity.account.FRStandingOrder;
+import com.forgerock.sapi.gateway.rs.resource.store.repo.entity.account.FRStandingOrder.StandingOrderStatus;
+import com.forgerock.sapi.gateway.rs.resource.store.repo.entity.payment.FRSchedulerLease;
+import com.forgerock.sapi.gateway.rs.resource.store.repo.mongo.payments.ScheduledPaymentExecutionRepository;
+import com.forgerock.sapi.gateway.rs.resource.store.repo.mongo.payments.ScheduledPaymentExecutionRepository.ExecutedStandingOrder;
+import com.forgerock.sapi.gateway.rs.resource.store.repo.mongo.payments.SchedulerLeaseRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Executes {@link FRScheduledPayment}s and the payments of {@link FRStandingOrder}s when they fall due.
+ * <p>
+ * The instructions are split into shards, and each RS node executes the shards it holds a lease on (see
+ * {@link ShardLeases}). Every refresh-interval the node renews its leases and reads the instructions of its shards
+ * which fall due within the next window into a queue ordered by due time. The shard is stored with each instruction,
+ * so the read only returns this node's instructions, and the nodes share the load-limit rather than each reading
+ * the same instructions. Every tick the instructions which have
+ * fallen due are taken off the queue and executed a batch at a time: scheduled payments move to COMPLETED, standing
+ * orders record the payment and advance their NextPaymentDateTime using the {@link FrequencyService}, or move to
+ * COMPLETED after their final payment. Each batch is written with bulk updates which only apply to instructions still
+ * in the state they were read in, so an instruction is never executed twice when a shard changes hands.
+ * <p>
+ * Instructions which fell due whilst no node was running are executed as soon as they are loaded, a standing order
+ * which missed several payments makes each of them in turn.
+ * <p>
+ * Publishes the meters:
+ * <ul>
+ *     <li>rs.payment.scheduler.instructions.due - instructions queued on this node, due within the window</li>
+ *     <li>rs.payment.scheduler.instructions.executed - count of executed instructions, tagged with the type</li>
+ *     <li>rs.payment.scheduler.instructions.late - count of instructions executed more than the late-threshold after
+ *     they fell due, tagged with the type</li>
+ *     <li>rs.payment.scheduler.instructions.lag - timer of the delay between an instruction falling due and its
+ *     execution, tagged with the type</li>
+ *     <li>rs.payment.scheduler.shards - number of shards leased by this node</li>
+ * </ul>
+ */
+@Component
+@ConditionalOnProperty(name = "rs.payment.scheduler.enabled", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class PaymentScheduler implements SmartLifecycle {
+
+    static final String DUE = "rs.payment.scheduler.instructions.due";
+    static final String EXECUTED = "rs.payment.scheduler.instructions.executed";
+    static final String LATE = "rs.payment.scheduler.instructions.late";
+    static final String LAG = "rs.payment.scheduler.instructions.lag";
+    static final String SHARDS = "rs.payment.scheduler.shards";
+
+    private final ScheduledPaymentExecutionRepository executionRepository;
+    private final ShardLeases shardLeases;
+    private final MeterRegistry meterRegistry;
+    private final Duration refreshInterval;
+    private final Duration window;
+    private final Duration tick;
+    private final Duration lateThreshold;
+    private final int batchSize;
+    private final int loadLimit;
+
+    // Only accessed by the scheduler thread
+    private final PriorityQueue<DueInstruction> queue = new PriorityQueue<>();
+    private final Set<String> queuedKeys = new HashSet<>();
+    private boolean windowTruncated;
+    private boolean shardsAssigned;
+
+    private final AtomicInteger dueInstructions = new AtomicInteger();
+    private ScheduledExecutorService executorService;
+
+    public PaymentScheduler(ScheduledPaymentExecutionRepository executionRepository,
+                            SchedulerLeaseRepository leaseRepository,
+                            MeterRegistry meterRegistry,
+                            @Value("${rs.payment.scheduler.node-id:}") String nodeId,
+                            @Value("${rs.payment.scheduler.lease-ttl:90s}") Duration leaseTtl,
+                            @Value("${rs.payment.scheduler.refresh-interval:30s}") Duration refreshInterval,
+                            @Value("${rs.payment.scheduler.window:5m}") Duration window,
+                            @Value("${rs.payment.scheduler.tick:1s}") Duration tick,
+                            @Value("${rs.payment.scheduler.late-threshold:1m}") Duration lateThreshold,
+                            @Value("${rs.payment.scheduler.batch-size:500}") int batchSize,
+                            @Value("${rs.payment.scheduler.load-limit:2000}") int loadLimit) {
+        if (leaseTtl.compareTo(refreshInterval) <= 0) {
+            throw new IllegalStateException("rs.payment.scheduler.lease-ttl must be longer than the refresh-interval");
+        }
+        this.executionRepository = executionRepository;
+        this.shardLeases = new ShardLeases(leaseRepository,
+                StringUtils.hasText(nodeId) ? nodeId : UUID.randomUUID().toString(), FRSchedulerLease.SHARDS, leaseTtl);
+        this.meterRegistry = meterRegistry;
+        this.refreshInterval = refreshInterval;
+        this.window = window;
+        this.tick = tick;
+        this.lateThreshold = lateThreshold;
+        this.batchSize = batchSize;
+        this.loadLimit = loadLimit;
+        Gauge.builder(DUE, dueInstructions, AtomicInteger::get)
+                .description("Scheduled instructions queued on this node, due within the load window")
+                .register(meterRegistry);
+        Gauge.builder(SHARDS, shardLeases, ShardLeases::ownedShardCount)
+                .description("Payment scheduler shards leased by this node")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void start() {
+        executorService = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("payment-scheduler-"));
+        executorService.scheduleWithFixedDelay(this::refresh, 0, refreshInterval.toMillis(), TimeUnit.MILLISECONDS);
+        executorService.scheduleWithFixedDelay(this::executeDue, tick.toMillis(), tick.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void stop() {
+        if (executorService != null) {
+            executorService.shutdownNow();
+            try {
+                executorService.awaitTermination(tick.toMillis(), TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            executorService = null;
+            shardLeases.releaseAll();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return executorService != null;
+    }
+
+    /**
+     * Renews the shard leases and loads the instructions falling due within the window.
+     */
+    void refresh() {
+        try {
+            assignMissingShards();
+            shardLeases.renew();
+            // Drop instructions of shards that were released or lost
+            queue.removeIf(instruction -> {
+                final boolean lost = !shardLeases.owns(instruction.getShard());
+                if (lost) {
+                    queuedKeys.remove(instruction.getKey());
+                }
+                return lost;
+            });
+            loadWindow();
+        } catch (RuntimeException e) {
+            log.warn("Failed to refresh the payment scheduler", e);
+        }
+    }
+
+    /**
+     * Instructions written before shards were stored with them are never read, assigns their shards once per start.
+     */
+    private void assignMissingShards() {
+        if (!shardsAssigned) {
+            final long assigned = executionRepository.assignMissingShards(batchSize);
+            if (assigned > 0) {
+                log.info("Assigned the payment scheduler shard of {} scheduled payments and standing orders", assigned);
+            }
+            shardsAssigned = true;
+        }
+    }
+
+    private void loadWindow() {
+        final Set<Integer> ownedShards = shardLeases.ownedShards();
+        if (!ownedShards.isEmpty()) {
+            final Date dueBefore = new Date(System.currentTimeMillis() + window.toMillis());
+            final List<FRScheduledPayment> scheduledPayments = executionRepository.findDueScheduledPayments(ownedShards, dueBefore, loadLimit);
+            final List<FRStandingOrder> standingOrders = executionRepository.findDueStandingOrders(ownedShards, dueBefore, loadLimit);
+            final int queued = queue.size();
+            scheduledPayments.forEach(scheduledPayment -> enqueue(DueInstruction.of(scheduledPayment)));
+            standingOrders.forEach(standingOrder -> enqueue(DueInstruction.of(standingOrder)));
+            // More instructions are due within the window than were read, read again once the queue has drained. Unless
+            // the read queued nothing new, in which case reading again straight away would return the same instructions
+            windowTruncated = (scheduledPayments.size() >= loadLimit || standingOrders.size() >= loadLimit)
+                    && queue.size() > queued;
+            log.debug("Loaded {} scheduled payments and {} standing orders due before {}, queued: {}",
+                    scheduledPayments.size(), standingOrders.size(), dueBefore, queue.size());
+        } else {
+            windowTruncated = false;
+        }
+        dueInstructions.set(queue.size());
+    }
+
+    private void enqueue(DueInstruction instruction) {
+        if (shardLeases.owns(instruction.getShard()) && queuedKeys.add(instruction.getKey())) {
+            queue.add(instruction);
+        }
+    }
+
+    /**
+     * Executes a batch of the queued instructions which have fallen due.
+     */
+    void executeDue() {
+        try {
+            final long now = System.currentTimeMillis();
+            final List<DueInstruction> batch = new ArrayList<>();
+            while (!queue.isEmpty() && queue.peek().getDueTime() <= now && batch.size() < batchSize) {
+                final DueInstruction instruction = queue.poll();
+                queuedKeys.remove(instruction.getKey());
+                batch.add(instruction);
+            }
+            if (!batch.isEmpty()) {
+                execute(batch, now);
+            }
+            if (queue.isEmpty() && windowTruncated) {
+                loadWindow();
+            }
+            dueInstructions.set(queue.size());
+        } catch (RuntimeException e) {
+            log.warn("Failed to execute due payment instructions", e);
+        }
+    }
+
+    private void execute(List<DueInstruction> batch, long now) {
+        final List<String> scheduledPaymentIds = new ArrayList<>();
+        final List<ExecutedStandingOrder> standingOrders = new ArrayList<>();
+        for (DueInstruction instruction : batch) {
+            if (instruction.getType() == DueInstruction.Type.SCHEDULED_PAYMENT) {
+                scheduledPaymentIds.add(instruction.getId());
+            } else {
+                standingOrders.add(executeStandingOrder(instruction.getStandingOrder()));
+            }
+            recordLag(instruction, now);
+        }
+        if (!scheduledPaymentIds.isEmpty()) {
+            final long completed = executionRepository.completeScheduledPayments(scheduledPaymentIds);
+            recordExecuted(DueInstruction.Type.SCHEDULED_PAYMENT, completed, scheduledPaymentIds.size());
+        }
+        if (!standingOrders.isEmpty()) {
+            final int updated = executionRepository.updateExecutedStandingOrders(standingOrders);
+            recordExecuted(DueInstruction.Type.STANDING_ORDER, updated, standingOrders.size());
+        }
+    }
+
+    /**
+     * Makes the payment of the standing order which has fallen due, the first payment of a PENDING order, otherwise
+     * the next payment.
+     *
+     * @return the standing order updated with the result of the payment
+     */
+    static ExecutedStandingOrder executeStandingOrder(FRStandingOrder standingOrder) {
+        final FRStandingOrderData data = standingOrder.getStandingOrder();
+        final StandingOrderStatus previousStatus = standingOrder.getStatus();
+        final DateTime previousNextPaymentDateTime = data.getNextPaymentDateTime();
+        final DateTime due = DueInstruction.dueDateTime(standingOrder);
+        try {
+            if (!StringUtils.hasText(data.getFrequency())) {
+                throw new IllegalArgumentException("Frequency is missing");
+            }
+            DateTime next = previousStatus == PENDING && previousNextPaymentDateTime != null && previousNextPaymentDateTime.isAfter(due)
+                    ? previousNextPaymentDateTime
+                    : FrequencyService.getNextDateTime(due, data.getFrequency());
+            standingOrder.setPaymentsExecuted(standingOrder.getPaymentsExecuted() + 1);
+            final boolean finalPayment = isFinalPayment(standingOrder, due);
+            data.setLastPaymentDateTime(due);
+            if (previousStatus == PENDING) {
+                data.setLastPaymentAmount(data.getFirstPaymentAmount());
+            } else if (finalPayment && data.getFinalPaymentAmount() != null) {
+                data.setLastPaymentAmount(data.getFinalPaymentAmount());
+            } else {
+                data.setLastPaymentAmount(data.getNextPaymentAmount());
+            }
+            if (finalPayment) {
+                standingOrder.setStatus(COMPLETED);
+                data.setNextPaymentDateTime(null);
+                data.setStandingOrderStatusCode(FRStandingOrderData.FRStandingOrderStatus.INACTIVE);
+            } else {
+                // The final payment is made on the FinalPaymentDateTime even when it is not on the frequency
+                if (data.getFinalPaymentDateTime() != null && next.isAfter(data.getFinalPaymentDateTime())) {
+                    next = data.getFinalPaymentDateTime();
+                }
+                standingOrder.setStatus(ACTIVE);
+                data.setNextPaymentDateTime(next);
+            }
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            // Orders stored via the data API are not validated, so may have a missing or invalid frequency
+            log.warn("Rejecting standing order: {}, {}", standingOrder.getId(), e.getMessage());
+            standingOrder.setStatus(REJECTED);
+            standingOrder.setRejectionReason(e.getMessage());
+            data.setStandingOrderStatusCode(FRStandingOrderData.FRStandingOrderStatus.INACTIVE);
+        }
+        return new ExecutedStandingOrder(standingOrder, previousStatus, previousNextPaymentDateTime);
+    }
+
+    private static boolean isFinalPayment(FRStandingOrder standingOrder, DateTime due) {
+        final FRStandingOrderData data = standingOrder.getStandingOrder();
+        if (StringUtils.hasText(data.getNumberOfPayments())) {
+            try {
+                if (standingOrder.getPaymentsExecuted() >= Integer.parseInt(data.getNumberOfPayments())) {
+                    return true;
+                }
+            } catch (NumberFormatException e) {
+                log.debug("Ignoring invalid NumberOfPayments: {} of standing order: {}", data.getNumberOfPayments(), standingOrder.getId());
+            }
+        }
+        return data.getFinalPaymentDateTime() != null && !due.isBefore(data.getFinalPaymentDateTime());
+    }
+
+    private void recordLag(DueInstruction instruction, long now) {
+        final long lagMillis = Math.max(0, now - instruction.getDueTime());
+        Timer.builder(LAG)
+                .description("Delay between a scheduled instruction falling due and its execution")
+                .tag("type", instruction.getType().getTagValue())
+                .register(meterRegistry)
+                .record(lagMillis, TimeUnit.MILLISECONDS);
+        if (lagMillis > lateThreshold.toMillis()) {
+            Counter.builder(LATE)
+                    .description("Scheduled instructions executed more than the late-threshold after falling due")
+                    .tag("type", instruction.getType().getTagValue())
+                    .register(meterRegistry)
+                    .increment();
+        }
+    }
+
+    private void recordExecuted(DueInstruction.Type type, long executed, int attempted) {
+        Counter.builder(EXECUTED)
+                .description("Scheduled instructions executed")
+                .tag("type", type.getTagValue())
+                .register(meterRegistry)
+                .increment(executed);
+        if (executed < attempted) {
+            log.debug("{} of {} {} instructions were already executed or changed since they were loaded",
+                    attempted - executed, attempted, type.getTagValue());
+        }
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright © 2020-2025 ForgeRock AS (obst@forgerock.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.forgerock.sapi.gateway.ob.uk.rs.server.service.scheduler;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Set;
+import java.util.TreeSet;
+
+import com.forgerock.sapi.gateway.rs.resource.store.repo.entity.payment.FRSchedulerLease;
+import com.forgerock.sapi.gateway.rs.resource.store.repo.mongo.payments.SchedulerLeaseRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * The shards of scheduled instructions leased by this node. An instruction belongs to the shard stored with it (see
+ * {@link FRSchedulerLease#shardOf}), and is only executed by the node holding the shard's lease.
+ * <p>
+ * Each renewal heartbeats this node's lease, then holds up to a fair share of the shards (the shard count divided by
+ * the number of live nodes): owned shards are renewed first, shards over the fair share are released, and free or
+ * expired shards are taken up to the fair share. So when a node joins, the others release shards for it on their next
+ * renewal, and when a node dies its shards are taken over once its leases expire.
+ */
+@Slf4j
+final class ShardLeases {
+
+    private final SchedulerLeaseRepository leaseRepository;
+    private final String nodeId;
+    private final int shards;
+    private final Duration ttl;
+
+    private volatile Set<Integer> ownedShards = Set.of();
+
+    ShardLeases(SchedulerLeaseRepository leaseRepository, String nodeId, int shards, Duration ttl) {
+        this.leaseRepository = leaseRepository;
+        this.nodeId = nodeId;
+        this.shards = shards;
+        this.ttl = ttl;
+    }
+
+    /**
+     * Renews the leases of this node, must be called more often than the lease ttl.
+     *
+     * @return the shards owned by this node
+     */
+    Set<Integer> renew() {
+        leaseRepository.tryAcquire(FRSchedulerLease.nodeLeaseId(nodeId), nodeId, ttl);
+        final long liveNodes = Math.max(1, leaseRepository.countLiveNodes());
+        final int fairShare = (int) ((shards + liveNodes - 1) / liveNodes);
+
+        final Set<Integer> previouslyOwned = ownedShards;
+        final Set<Integer> owned = new TreeSet<>();
+        for (Integer shard : previouslyOwned) {
+            if (owned.size() >= fairShare) {
+                leaseRepository.release(FRSchedulerLease.shardLeaseId(shard), nodeId);
+            } else if (leaseRepository.tryAcquire(FRSchedulerLease.shardLeaseId(shard), nodeId, ttl)) {
+                owned.add(shard);
+            }
+        }
+        // Start from a node specific shard, so that nodes starting together don't all contend for the same shards
+        final int offset = Math.floorMod(nodeId.hashCode(), shards);
+        for (int i = 0; i < shards && owned.size() < fairShare; i++) {
+            final int shard = (offset + i) % shards;
+            if (!previouslyOwned.contains(shard)
+                    && leaseRepository.tryAcquire(FRSchedulerLease.shardLeaseId(shard), nodeId, ttl)) {
+                owned.add(shard);
+            }
+        }
+        if (!owned.equals(previouslyOwned)) {
+            log.info("Node: {} now owns payment scheduler shards: {} of {}, live nodes: {}", nodeId, owned, shards, liveNodes);
+        }
+        ownedShards = Collections.unmodifiableSet(owned);
+        return ownedShards;
+    }
+
+    boolean owns(Integer shard) {
+        return shard != null && ownedShards.contains(shard);
+    }
+
+    Set<Integer> ownedShards() {
+        return ownedShards;
+    }
+
+    int ownedShardCount() {
+        return ownedShards.size();
+    }
+
+    /**
+     * Releases all leases held by this node, so that other nodes can take over its shards straight away.
+     */
+    void releaseAll() {
+        for (Integer shard : ownedShards) {
+            leaseRepository.release(FRSchedulerLease.shardLeaseId(shard), nodeId);
+        }
+        leaseRepository.release(FRSchedulerLease.nodeLeaseId(nodeId), nodeId);
+        ownedShards = Set.of();
+    }
+}
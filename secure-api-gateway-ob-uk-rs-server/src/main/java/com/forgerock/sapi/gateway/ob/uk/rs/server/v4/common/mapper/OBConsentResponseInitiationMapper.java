@@ -0,0 +1,37 @@
+/*
+ * Copyright © 2020-2025 ForgeRock AS (obst@forgerock.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.forgerock.sapi.gateway.ob.uk.rs.server.v4.common.mapper;
+
+import org.mapstruct.Mapper;
+import org.mapstruct.factory.Mappers;
+
+import uk.org.openbanking.datamodel.v4.payment.OBWriteDomesticStandingOrder3DataInitiation;
+import uk.org.openbanking.datamodel.v4.payment.OBWriteDomesticStandingOrderConsentResponse6DataInitiation;
+
+/**
+ * Maps the initiation of a v4 consent request to the initiation of the consent response, for the consents where the
+ * OB schema has different types for the two.
+ * <p>
+ * The implementation is generated at compile time, replacing the reflective FRModelMapper on the consent response paths.
+ */
+@Mapper
+public interface OBConsentResponseInitiationMapper {
+
+    OBConsentResponseInitiationMapper INSTANCE = Mappers.getMapper(OBConsentResponseInitiationMapper.class);
+
+    OBWriteDomesticStandingOrderConsentResponse6DataInitiation toOBWriteDomesticStandingOrderConsentResponse6DataInitiation(
+            OBWriteDomesticStandingOrder3DataInitiation initiation);
+}
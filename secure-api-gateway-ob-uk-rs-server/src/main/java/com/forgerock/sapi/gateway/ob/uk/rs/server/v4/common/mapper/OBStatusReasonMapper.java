@@ -0,0 +1,41 @@
+/*
+ * Copyright © 2020-2025 ForgeRock AS (obst@forgerock.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.forgerock.sapi.gateway.ob.uk.rs.server.v4.common.mapper;
+
+import java.util.List;
+
+import uk.org.openbanking.datamodel.v4.common.OBStatusReason;
+
+/**
+ * Builds the StatusReason of v4 payment and consent responses.
+ */
+public class OBStatusReasonMapper {
+
+    /**
+     * The RS does not record status reasons, responses are built from the (unset) statusReason of the new response
+     * data, which yields a single empty OBStatusReason. Equivalent to the reflective
+     * FRModelMapper.map(statusReasons, OBStatusReason.class) this replaces, without the per call reflection.
+     *
+     * @param statusReasons the statusReason of the response data being built
+     * @return an empty OBStatusReason, or null if statusReasons is null
+     */
+    public static OBStatusReason toOBStatusReason(List<OBStatusReason> statusReasons) {
+        if (statusReasons == null) {
+            return null;
+        }
+        return new OBStatusReason();
+    }
+}
@@ -15,6 +15,7 @@
  */
 package com.forgerock.sapi.gateway.ob.uk.rs.server.v4.common.util;
 
+import com.forgerock.sapi.gateway.ob.uk.rs.server.common.logging.PayloadLoggingPolicy;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
@@ -27,9 +28,12 @@ import java.util.function.Consumer;
 @Slf4j
 public class AccountDataInternalIdFilter {
     private final boolean showAccountDataInternalIds;
+    private final PayloadLoggingPolicy payloadLoggingPolicy;
 
-    public AccountDataInternalIdFilter(@Value("${rs.data.internal_ids.show:true}") boolean showAccountDataInternalIds) {
+    public AccountDataInternalIdFilter(@Value("${rs.data.internal_ids.show:true}") boolean showAccountDataInternalIds,
+                                       PayloadLoggingPolicy payloadLoggingPolicy) {
         this.showAccountDataInternalIds = showAccountDataInternalIds;
+        this.payloadLoggingPolicy = payloadLoggingPolicy;
     }
 
     public OBTransaction6 apply(final OBTransaction6 data) {
@@ -69,7 +73,10 @@ public class AccountDataInternalIdFilter {
             log.debug("Show Account Data Internal Ids is 'ON'. Data response will contain internal ids");
             return data;
         }
-        log.debug("Show Data API Internal Ids is 'OFF'. Data response will NOT contain internal ids. Data: {}", data);
+        if (payloadLoggingPolicy.shouldLog(log)) {
+            log.debug("Show Data API Internal Ids is 'OFF'. Data response will NOT contain internal ids. Data: {}",
+                      payloadLoggingPolicy.summarise(data));
+        }
         if (Objects.nonNull(data)) {
             setIdFunction.accept(null);
             log.debug("Removed id");
@@ -160,6 +160,18 @@ public class LinksHelper {
         return createSelfLink(controllerClass, FILE_PAYMENTS, id);
     }
 
+    /**
+     * Creates an instance of the OB {@link Links} class with only the 'self' link populated for a payments file
+     * details.
+     *
+     * @param controllerClass The controller class that is responsible for handling the self link.
+     * @param id The ID of the resource concerned.
+     * @return The {@link Links} instance with the populated 'self' URL.
+     */
+    public static Links createFilePaymentDetailsLink(Class<?> controllerClass, String id) {
+        return createSelfLink(controllerClass, FILE_PAYMENTS, id, DOMESTIC_PAYMENTS_DETAILS);
+    }
+
     public static Links createInternationalPaymentConsentsLink(Class<?> controllerClass, String id) {
         return createSelfLink(controllerClass, INTERNATIONAL_PAYMENT_CONSENTS, id);
     }
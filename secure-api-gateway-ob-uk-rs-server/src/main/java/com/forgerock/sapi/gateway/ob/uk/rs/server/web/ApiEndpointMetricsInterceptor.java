@@ -0,0 +1,96 @@
+/*
+ * Copyright © 2020-2025 ForgeRock AS (obst@forgerock.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.forgerock.sapi.gateway.ob.uk.rs.server.web;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import com.forgerock.sapi.gateway.ob.uk.rs.server.api.discovery.AvailableApiEndpoint;
+import com.forgerock.sapi.gateway.ob.uk.rs.server.api.discovery.AvailableApiEndpointsResolver;
+import com.forgerock.sapi.gateway.ob.uk.rs.server.api.discovery.ControllerMethod;
+import com.forgerock.sapi.gateway.ob.uk.rs.server.service.AnalyticsService;
+
+/**
+ * Times each request handled by an Open Banking API endpoint and records it via the {@link AnalyticsService}, tagged
+ * with the API group and version of the {@link AvailableApiEndpoint}. Requests to other handlers are not timed.
+ *
+ * The endpoints are provided by the AvailableApiEndpointsResolver, which cannot be injected into this bean as it
+ * depends on the RequestMappingHandlerMapping created by the WebMvc (see {@link DisabledEndpointInterceptor}). The
+ * {@link com.forgerock.sapi.gateway.ob.uk.rs.server.configuration.ApplicationStartupListener} is doing the late
+ * binding of the resolver.
+ */
+@Component
+public class ApiEndpointMetricsInterceptor implements HandlerInterceptor {
+
+    private static final String START_TIME_ATTRIBUTE = ApiEndpointMetricsInterceptor.class.getName() + ".startTime";
+
+    private final AnalyticsService analyticsService;
+
+    private volatile Map<ControllerMethod, AvailableApiEndpoint> availableApiEndpoints = Map.of();
+
+    /**
+     * The endpoint of each handler method, looked up once per method as building a ControllerMethod formats a String
+     */
+    private final Map<Method, Optional<AvailableApiEndpoint>> handlerMethodEndpoints = new ConcurrentHashMap<>();
+
+    public ApiEndpointMetricsInterceptor(AnalyticsService analyticsService) {
+        this.analyticsService = analyticsService;
+    }
+
+    public void setAvailableApiEndpointsResolver(AvailableApiEndpointsResolver availableApiEndpointsResolver) {
+        this.availableApiEndpoints = availableApiEndpointsResolver.getAvailableApiEndpoints().stream()
+                .collect(Collectors.toUnmodifiableMap(AvailableApiEndpoint::getControllerMethod, Function.identity(),
+                        (first, second) -> first));
+        handlerMethodEndpoints.clear();
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        // Async requests are dispatched more than once, the time is taken from the first dispatch
+        if (request.getAttribute(START_TIME_ATTRIBUTE) == null && findEndpoint(handler) != null) {
+            request.setAttribute(START_TIME_ATTRIBUTE, System.nanoTime());
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        final Object startTime = request.getAttribute(START_TIME_ATTRIBUTE);
+        final AvailableApiEndpoint endpoint = findEndpoint(handler);
+        if (startTime != null && endpoint != null) {
+            analyticsService.recordEndpointRequest(endpoint, response.getStatus(), System.nanoTime() - (Long) startTime);
+        }
+    }
+
+    private AvailableApiEndpoint findEndpoint(Object handler) {
+        if (!(handler instanceof HandlerMethod) || availableApiEndpoints.isEmpty()) {
+            return null;
+        }
+        final HandlerMethod handlerMethod = (HandlerMethod) handler;
+        return handlerMethodEndpoints.computeIfAbsent(handlerMethod.getMethod(), method -> Optional.ofNullable(
+                availableApiEndpoints.get(ControllerMethod.of(handlerMethod.getBeanType(), method)))).orElse(null);
+    }
+}
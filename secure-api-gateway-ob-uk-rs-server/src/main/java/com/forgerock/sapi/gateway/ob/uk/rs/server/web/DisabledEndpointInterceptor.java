@@ -24,8 +24,8 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.method.HandlerMethod;
 import org.springframework.web.servlet.HandlerInterceptor;
 
-import com.forgerock.sapi.gateway.ob.uk.rs.server.api.discovery.ControllerEndpointBlacklistHandler;
 import com.forgerock.sapi.gateway.ob.uk.rs.server.api.discovery.DiscoveryApiService;
+import com.forgerock.sapi.gateway.ob.uk.rs.server.api.discovery.DiscoveryConfigurationSnapshot;
 
 import lombok.extern.slf4j.Slf4j;
 
@@ -38,18 +38,22 @@ import lombok.extern.slf4j.Slf4j;
  *
  * The {@link com.forgerock.sapi.gateway.ob.uk.rs.server.configuration.ApplicationStartupListener} is doing the late
  * binding of the beans.
+ *
+ * Whether each handler method is disabled is worked out by the DiscoveryApiService when the configuration is bound,
+ * each request reads the current {@link DiscoveryConfigurationSnapshot} once, so that it only needs an identity lookup
+ * of its method.
  */
 @Component
 @Slf4j
 public class DisabledEndpointInterceptor implements HandlerInterceptor {
 
-    private ControllerEndpointBlacklistHandler blacklistHandler;
+    private volatile DiscoveryApiService discoveryApiService;
 
     public DisabledEndpointInterceptor() {
     }
 
     public void setDiscoveryApiService(DiscoveryApiService discoveryApiService) {
-        this.blacklistHandler = discoveryApiService.getBlacklistHandler();
+        this.discoveryApiService = discoveryApiService;
     }
 
     /**
@@ -64,7 +68,8 @@ public class DisabledEndpointInterceptor implements HandlerInterceptor {
     public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
         if (handler instanceof HandlerMethod) {
             HandlerMethod handlerMethod = (HandlerMethod) handler;
-            if (blacklistHandler.isBlacklisted(handlerMethod.getBeanType(), handlerMethod.getMethod())) {
+            final DiscoveryApiService discoveryApiService = this.discoveryApiService;
+            if (discoveryApiService != null && discoveryApiService.getSnapshot().isDisabled(handlerMethod)) {
                 log.warn("Request URI {} was BLOCKED due to RS configuration settings. " +
                         "Handler method: {}", request.getRequestURI(), handlerMethod.getMethod());
                 try {
@@ -75,8 +80,6 @@ public class DisabledEndpointInterceptor implements HandlerInterceptor {
                 return false;
             }
         }
-
-        log.debug("Request URI {} is not disabled in RS config. Allowed to proceed.", request.getRequestURI());
         return true;
     }
 }
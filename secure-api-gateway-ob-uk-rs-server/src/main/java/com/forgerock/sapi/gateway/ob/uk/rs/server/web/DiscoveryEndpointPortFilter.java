@@ -0,0 +1,63 @@
+/*
+ * Copyright © 2020-2025 ForgeRock AS (obst@forgerock.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.forgerock.sapi.gateway.ob.uk.rs.server.web;
+
+import java.io.IOException;
+import java.util.function.IntSupplier;
+
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Keeps the discovery actuator endpoint, which changes which APIs are enabled, on its own port which is not reachable
+ * through the gateway. Requests for the discovery endpoint on any other port, and requests for anything else on the
+ * discovery port, get a 404.
+ */
+public class DiscoveryEndpointPortFilter extends OncePerRequestFilter {
+
+    private final String discoveryEndpointPath;
+
+    private final IntSupplier discoveryPort;
+
+    /**
+     * @param discoveryEndpointPath path of the discovery endpoint, relative to the context path e.g. /actuator/discovery
+     * @param discoveryPort supplies the port the discovery endpoint is served on, once the web server has started
+     */
+    public DiscoveryEndpointPortFilter(String discoveryEndpointPath, IntSupplier discoveryPort) {
+        this.discoveryEndpointPath = discoveryEndpointPath;
+        this.discoveryPort = discoveryPort;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        final boolean onDiscoveryPort = request.getLocalPort() == discoveryPort.getAsInt();
+        if (onDiscoveryPort != isDiscoveryEndpoint(request)) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    private boolean isDiscoveryEndpoint(HttpServletRequest request) {
+        final String path = request.getRequestURI().substring(request.getContextPath().length());
+        return path.equals(discoveryEndpointPath) || path.startsWith(discoveryEndpointPath + "/");
+    }
+}
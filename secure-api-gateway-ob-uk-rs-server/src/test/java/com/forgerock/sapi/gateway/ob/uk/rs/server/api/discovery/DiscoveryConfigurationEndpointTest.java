@@ -0,0 +1,131 @@
+/*
+ * Copyright © 2020-2025 ForgeRock AS (obst@forgerock.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.forgerock.sapi.gateway.ob.uk.rs.server.api.discovery;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.web.method.HandlerMethod;
+
+import com.forgerock.sapi.gateway.ob.uk.rs.server.common.OBApiReference;
+
+/**
+ * Unit test for {@link DiscoveryConfigurationEndpoint}.
+ */
+class DiscoveryConfigurationEndpointTest {
+
+    private static final String GET_ACCOUNT = TestController.class.getName() + ".getAccount";
+    private static final String GET_ACCOUNTS = TestController.class.getName() + ".getAccounts";
+
+    private final TestController controller = new TestController();
+
+    private HandlerMethod getAccountHandler;
+    private HandlerMethod getAccountsHandler;
+    private DiscoveryApiService discoveryApiService;
+    private DiscoveryConfigurationEndpoint endpoint;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        getAccountHandler = handlerMethod(TestController.class.getMethod("getAccount"));
+        getAccountsHandler = handlerMethod(TestController.class.getMethod("getAccounts"));
+
+        final AvailableApiEndpointsResolver availableApiEndpointsResolver = mock(AvailableApiEndpointsResolver.class);
+        when(availableApiEndpointsResolver.getAvailableApiEndpoints()).thenReturn(List.of(
+                availableEndpoint("v3.1.10", OBApiReference.GET_ACCOUNT, getAccountHandler),
+                availableEndpoint("v3.1.10", OBApiReference.GET_ACCOUNTS, getAccountsHandler)));
+        final DiscoveryApiConfigurationProperties discoveryProperties = new DiscoveryApiConfigurationProperties();
+        discoveryProperties.setFinancialId("0015800001041REAAY");
+        discoveryProperties.setApis(Map.of(OBApiReference.GET_ACCOUNT, false));
+        discoveryApiService = new DiscoveryApiService(discoveryProperties, availableApiEndpointsResolver);
+        discoveryApiService.setHandlerMethods(List.of(getAccountHandler, getAccountsHandler));
+
+        endpoint = new DiscoveryConfigurationEndpoint(discoveryApiService);
+    }
+
+    @Test
+    void shouldListDisabledEndpoints() {
+        assertThat(endpoint.disabledEndpoints()).containsExactly(GET_ACCOUNT);
+    }
+
+    @Test
+    void shouldReplaceConfigurationWithTheOneSupplied() {
+        assertThat(endpoint.reload(null, Map.of("GetAccounts", false), null)).containsExactly(GET_ACCOUNTS);
+
+        final DiscoveryConfigurationSnapshot snapshot = discoveryApiService.getSnapshot();
+        assertThat(snapshot.getDiscoveryProperties().getFinancialId()).isEqualTo("0015800001041REAAY");
+        assertThat(snapshot.getDiscoveryProperties().getApis()).containsOnly(Map.entry(OBApiReference.GET_ACCOUNTS, false));
+        assertThat(snapshot.isDisabled(getAccountHandler)).isFalse();
+        assertThat(snapshot.isDisabled(getAccountsHandler)).isTrue();
+    }
+
+    @Test
+    void shouldDisableByVersionAndVersionOverride() {
+        assertThat(endpoint.reload(Map.of("v3.1.10", false), null, null)).containsExactlyInAnyOrder(GET_ACCOUNT, GET_ACCOUNTS);
+
+        assertThat(endpoint.reload(null, null, Map.of("v3_1_10", Map.of("GetAccounts", "false")))).containsExactly(GET_ACCOUNTS);
+    }
+
+    @Test
+    void shouldEnableAllEndpointsWhenNothingIsSupplied() {
+        assertThat(endpoint.reload(null, null, null)).isEmpty();
+        assertThat(discoveryApiService.getSnapshot().isDisabled(getAccountHandler)).isFalse();
+    }
+
+    @Test
+    void shouldRejectInvalidConfigurationAndKeepTheCurrentOne() {
+        assertThatThrownBy(() -> endpoint.reload(null, Map.of("GetAccountz", false), null))
+                .isInstanceOf(InvalidEndpointRequestException.class)
+                .hasMessageContaining("GetAccountz");
+        assertThatThrownBy(() -> endpoint.reload(Map.of("v3.1.10", "no"), null, null))
+                .isInstanceOf(InvalidEndpointRequestException.class);
+        assertThatThrownBy(() -> endpoint.reload(null, null, Map.of("v3_1_10", false)))
+                .isInstanceOf(InvalidEndpointRequestException.class);
+
+        assertThat(endpoint.disabledEndpoints()).containsExactly(GET_ACCOUNT);
+    }
+
+    private HandlerMethod handlerMethod(Method method) {
+        return new HandlerMethod(controller, method);
+    }
+
+    private static AvailableApiEndpoint availableEndpoint(String version, OBApiReference apiReference, HandlerMethod handlerMethod) {
+        return AvailableApiEndpoint.builder()
+                .version(version)
+                .apiReference(apiReference)
+                .controllerMethod(ControllerMethod.of(handlerMethod.getBeanType(), handlerMethod.getMethod()))
+                .build();
+    }
+
+    public static class TestController {
+
+        public String getAccount() {
+            return "account";
+        }
+
+        public String getAccounts() {
+            return "accounts";
+        }
+    }
+}
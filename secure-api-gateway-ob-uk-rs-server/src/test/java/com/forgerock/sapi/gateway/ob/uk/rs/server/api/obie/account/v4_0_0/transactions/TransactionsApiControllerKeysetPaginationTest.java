@@ -0,0 +1,165 @@
+/*
+ * Copyright © 2020-2025 ForgeRock AS (obst@forgerock.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.forgerock.sapi.gateway.ob.uk.rs.server.api.obie.account.v4_0_0.transactions;
+
+import com.forgerock.sapi.gateway.ob.uk.common.datamodel.account.FRFinancialAccount;
+import com.forgerock.sapi.gateway.ob.uk.common.datamodel.account.FRTransactionData;
+import com.forgerock.sapi.gateway.ob.uk.rs.server.service.account.consent.AccountResourceAccessService;
+import com.forgerock.sapi.gateway.rcs.consent.store.datamodel.account.v3_1_10.AccountAccessConsent;
+import com.forgerock.sapi.gateway.rs.resource.store.repo.entity.account.FRAccount;
+import com.forgerock.sapi.gateway.rs.resource.store.repo.entity.account.FRTransaction;
+import com.forgerock.sapi.gateway.rs.resource.store.repo.mongo.accounts.accounts.FRAccountRepository;
+import com.forgerock.sapi.gateway.rs.resource.store.repo.mongo.accounts.transactions.FRTransactionRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+import uk.org.openbanking.datamodel.v4.account.OBReadTransaction6;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.forgerock.sapi.gateway.ob.uk.common.datamodel.testsupport.v4.account.FRFinancialAccountTestDataFactory.aValidFRFinancialAccount;
+import static com.forgerock.sapi.gateway.ob.uk.common.datamodel.testsupport.v4.account.FRTransactionDataTestDataFactory.aValidFRTransactionData;
+import static com.forgerock.sapi.gateway.ob.uk.rs.server.api.obie.account.AccountResourceAccessServiceTestHelpersV4.createAuthorisedConsentAllPermissions;
+import static com.forgerock.sapi.gateway.ob.uk.rs.server.api.obie.account.AccountResourceAccessServiceTestHelpersV4.mockAccountResourceAccessServiceResponse;
+import static com.forgerock.sapi.gateway.ob.uk.rs.server.testsupport.api.HttpHeadersTestDataFactory.requiredAccountApiHeaders;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.boot.test.context.SpringBootTest.WebEnvironment.RANDOM_PORT;
+
+/**
+ * Spring Boot Test for {@link TransactionsApiController} with keyset (cursor) pagination enabled.
+ */
+@SpringBootTest(webEnvironment = RANDOM_PORT, properties = {
+        "rs.page.default.transaction.size=50",
+        "rs.page.transaction.keyset.enabled=true"
+})
+@ActiveProfiles("test")
+public class TransactionsApiControllerKeysetPaginationTest {
+
+    private static final String BASE_URL = "http://localhost:";
+    private static final String ACCOUNT_TRANSACTIONS_URI = "/open-banking/v4.0.0/aisp/accounts/{AccountId}/transactions";
+    private static final int PAGE_SIZE = 50;
+    private static final int NUM_TRANSACTIONS = 120;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private FRAccountRepository frAccountRepository;
+
+    @Autowired
+    private FRTransactionRepository frTransactionRepository;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @MockBean
+    @Qualifier("v4.0.0DefaultAccountResourceAccessService")
+    private AccountResourceAccessService accountResourceAccessService;
+
+    private String accountId;
+
+    @BeforeEach
+    public void saveData() {
+        FRFinancialAccount financialAccount = aValidFRFinancialAccount();
+        FRAccount account = FRAccount.builder()
+                .userID("AUserId")
+                .account(financialAccount)
+                .latestStatementId("5678")
+                .build();
+        frAccountRepository.save(account);
+        accountId = account.getId();
+
+        // Pairs of transactions share a bookingDateTime so that the _id tie-breaker is exercised
+        final List<FRTransaction> transactions = new ArrayList<>(NUM_TRANSACTIONS);
+        for (int i = 0; i < NUM_TRANSACTIONS; i++) {
+            FRTransactionData transactionData = aValidFRTransactionData(accountId);
+            transactions.add(FRTransaction.builder()
+                    .accountId(accountId)
+                    .transaction(transactionData)
+                    .bookingDateTime(transactionData.getBookingDateTime().minusDays(i / 2))
+                    .build());
+        }
+        frTransactionRepository.saveAll(transactions);
+    }
+
+    @AfterEach
+    public void removeData() {
+        frAccountRepository.deleteAll();
+        frTransactionRepository.deleteAll();
+    }
+
+    @Test
+    public void shouldWalkAllAccountTransactionsUsingCursorLinks() {
+        // Given
+        final AccountAccessConsent consent = createAuthorisedConsentAllPermissions(accountId);
+        mockAccountResourceAccessServiceResponse(accountResourceAccessService, consent, accountId);
+        final String url = BASE_URL + port + ACCOUNT_TRANSACTIONS_URI.replace("{AccountId}", accountId);
+
+        // When
+        int transactionCount = 0;
+        URI next = URI.create(url);
+        int pages = 0;
+        while (next != null) {
+            ResponseEntity<OBReadTransaction6> response = restTemplate.exchange(
+                    next,
+                    HttpMethod.GET,
+                    new HttpEntity<>(requiredAccountApiHeaders(consent.getId(), consent.getApiClientId())),
+                    OBReadTransaction6.class);
+
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+            assertThat(response.getBody().getMeta().getTotalPages()).isNull();
+            assertThat(response.getBody().getLinks().getLast()).isNull();
+            transactionCount += response.getBody().getData().getTransaction().size();
+            next = response.getBody().getLinks().getNext();
+            pages++;
+        }
+
+        // Then
+        assertThat(pages).isEqualTo((NUM_TRANSACTIONS + PAGE_SIZE - 1) / PAGE_SIZE);
+        assertThat(transactionCount).isEqualTo(NUM_TRANSACTIONS);
+    }
+
+    @Test
+    public void shouldRejectInvalidCursor() {
+        // Given
+        final AccountAccessConsent consent = createAuthorisedConsentAllPermissions(accountId);
+        mockAccountResourceAccessServiceResponse(accountResourceAccessService, consent, accountId);
+        final String url = BASE_URL + port + ACCOUNT_TRANSACTIONS_URI.replace("{AccountId}", accountId) + "?cursor=invalid";
+
+        // When
+        ResponseEntity<String> response = restTemplate.exchange(
+                url,
+                HttpMethod.GET,
+                new HttpEntity<>(requiredAccountApiHeaders(consent.getId(), consent.getApiClientId())),
+                String.class);
+
+        // Then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+    }
+}
@@ -24,6 +24,8 @@ import static org.springframework.http.HttpStatus.OK;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
@@ -39,6 +41,7 @@ import org.springframework.test.context.ActiveProfiles;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.joda.JodaModule;
+import com.forgerock.sapi.gateway.ob.uk.rs.server.service.event.EventNotificationRegistry;
 import com.forgerock.sapi.gateway.ob.uk.rs.server.testsupport.api.HttpHeadersTestDataFactory;
 import com.forgerock.sapi.gateway.rs.resource.store.repo.entity.event.FREventMessageEntity;
 import com.forgerock.sapi.gateway.rs.resource.store.repo.mongo.events.FREventMessageRepository;
@@ -65,6 +68,9 @@ public class AggregatedPollingApiControllerTest {
     @Autowired
     private FREventMessageRepository pendingEventsRepository;
 
+    @Autowired
+    private EventNotificationRegistry eventNotificationRegistry;
+
     @Autowired
     private TestRestTemplate restTemplate;
 
@@ -145,6 +151,51 @@ public class AggregatedPollingApiControllerTest {
         assertThat(response.getBody().getSets()).isEmpty();
     }
 
+    @Test
+    public void shouldLongPollUntilEventStored() throws Exception {
+        // Given
+        OBEventPolling1 obEventPolling = aValidOBEventPolling1().returnImmediately(false);
+        HttpHeaders headers = HttpHeadersTestDataFactory.requiredEventNotificationsHttpHeaders(API_CLIENT_ID);
+        HttpEntity<OBEventPolling1> request = new HttpEntity<>(obEventPolling, headers);
+        CompletableFuture<ResponseEntity<OBEventPollingResponse1>> responseFuture = CompletableFuture.supplyAsync(
+                () -> restTemplate.postForEntity(eventsUrl(), request, OBEventPollingResponse1.class));
+        awaitParkedRequests(1);
+
+        // When
+        FREventMessageEntity frEventMessageEntity = aValidFREventMessageEntity(API_CLIENT_ID);
+        pendingEventsRepository.save(frEventMessageEntity);
+
+        // Then
+        ResponseEntity<OBEventPollingResponse1> response = responseFuture.get(5, TimeUnit.SECONDS);
+        assertThat(response.getStatusCode()).isEqualTo(OK);
+        validateStringSet(response.getBody().getSets().get(frEventMessageEntity.getJti()), frEventMessageEntity);
+        assertThat(eventNotificationRegistry.getParkedRequests()).isZero();
+    }
+
+    @Test
+    public void shouldReturnNoEventsWhenLongPollTimesOut() {
+        // Given
+        OBEventPolling1 obEventPolling = aValidOBEventPolling1().returnImmediately(false);
+        HttpHeaders headers = HttpHeadersTestDataFactory.requiredEventNotificationsHttpHeaders(API_CLIENT_ID);
+        HttpEntity<OBEventPolling1> request = new HttpEntity<>(obEventPolling, headers);
+
+        // When
+        ResponseEntity<OBEventPollingResponse1> response = restTemplate.postForEntity(eventsUrl(), request, OBEventPollingResponse1.class);
+
+        // Then
+        assertThat(response.getStatusCode()).isEqualTo(OK);
+        assertThat(response.getBody().getSets()).isEmpty();
+        assertThat(eventNotificationRegistry.getParkedRequests()).isZero();
+    }
+
+    private void awaitParkedRequests(int parkedRequests) throws InterruptedException {
+        final long deadline = System.currentTimeMillis() + 5_000;
+        while (eventNotificationRegistry.getParkedRequests() < parkedRequests && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(eventNotificationRegistry.getParkedRequests()).isEqualTo(parkedRequests);
+    }
+
     private void validateStringSet(String set, FREventMessageEntity frEventMessageEntity) throws Exception {
         Map setMap = objectMapper.readValue(set, Map.class);
         Map<String, Object> entityMap = objectMapper.convertValue(frEventMessageEntity, new TypeReference<>() {
@@ -0,0 +1,169 @@
+/*
+ * Copyright © 2020-2025 ForgeRock AS (obst@forgerock.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.forgerock.sapi.gateway.ob.uk.rs.server.api.obie.payment.services.file;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.forgerock.sapi.gateway.ob.uk.common.datamodel.common.FRSubmissionStatus;
+import com.forgerock.sapi.gateway.ob.uk.common.datamodel.payment.FRFilePayment;
+import com.forgerock.sapi.gateway.rs.resource.store.repo.entity.payment.FRFilePaymentLine;
+import com.forgerock.sapi.gateway.rs.resource.store.repo.entity.payment.FRFilePaymentSubmission;
+import com.forgerock.sapi.gateway.rs.resource.store.repo.mongo.payments.FilePaymentExecutionRepository;
+
+/**
+ * Runs the file payment execution lease and failure writes against the embedded Mongo.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class FilePaymentExecutionMongoTest {
+
+    private static final String FILE_PAYMENT_ID = "PFP_12345";
+    private static final Duration LEASE_TTL = Duration.ofMinutes(1);
+
+    @Autowired
+    private FilePaymentExecutionRepository executionRepository;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @BeforeEach
+    @AfterEach
+    void removeData() {
+        mongoTemplate.remove(FRFilePaymentSubmission.class).all();
+        mongoTemplate.remove(FRFilePaymentLine.class).all();
+    }
+
+    @Test
+    void shouldGrantExecutionToOneNodeAtATime() {
+        mongoTemplate.save(submission(FILE_PAYMENT_ID, new Date()));
+
+        assertThat(executionRepository.tryClaimExecution(FILE_PAYMENT_ID, "node-a", LEASE_TTL)).isTrue();
+        assertThat(executionRepository.tryClaimExecution(FILE_PAYMENT_ID, "node-b", LEASE_TTL)).isFalse();
+        // The owner renews its lease
+        assertThat(executionRepository.tryClaimExecution(FILE_PAYMENT_ID, "node-a", LEASE_TTL)).isTrue();
+        assertThat(mongoTemplate.findById(FILE_PAYMENT_ID, FRFilePaymentSubmission.class).getExecutionOwner()).isEqualTo("node-a");
+    }
+
+    @Test
+    void shouldLetAnotherNodeClaimExpiredExecution() throws InterruptedException {
+        mongoTemplate.save(submission(FILE_PAYMENT_ID, new Date()));
+        assertThat(executionRepository.tryClaimExecution(FILE_PAYMENT_ID, "node-a", Duration.ofMillis(1))).isTrue();
+        Thread.sleep(20);
+
+        assertThat(executionRepository.tryClaimExecution(FILE_PAYMENT_ID, "node-b", LEASE_TTL)).isTrue();
+        // node-a no longer holds the lease so can't complete the file
+        assertThat(executionRepository.completeExecution(FILE_PAYMENT_ID, "node-a", FRSubmissionStatus.INITIATIONCOMPLETED)).isFalse();
+        assertThat(mongoTemplate.findById(FILE_PAYMENT_ID, FRFilePaymentSubmission.class).getStatus())
+                .isEqualTo(FRSubmissionStatus.INITIATIONPENDING);
+    }
+
+    @Test
+    void shouldReleaseLeaseOnCompletion() {
+        mongoTemplate.save(submission(FILE_PAYMENT_ID, new Date()));
+        executionRepository.tryClaimExecution(FILE_PAYMENT_ID, "node-a", LEASE_TTL);
+
+        assertThat(executionRepository.completeExecution(FILE_PAYMENT_ID, "node-a", FRSubmissionStatus.INITIATIONCOMPLETED)).isTrue();
+
+        final FRFilePaymentSubmission submission = mongoTemplate.findById(FILE_PAYMENT_ID, FRFilePaymentSubmission.class);
+        assertThat(submission.getStatus()).isEqualTo(FRSubmissionStatus.INITIATIONCOMPLETED);
+        assertThat(submission.getExecutionOwner()).isNull();
+        assertThat(submission.getExecutionExpiresAt()).isNull();
+        // A completed file can't be claimed again
+        assertThat(executionRepository.tryClaimExecution(FILE_PAYMENT_ID, "node-a", LEASE_TTL)).isFalse();
+    }
+
+    @Test
+    void shouldFindInterruptedExecutions() throws InterruptedException {
+        final Date now = new Date();
+        final Date startedBefore = new Date(now.getTime() - LEASE_TTL.toMillis());
+        mongoTemplate.save(submission("PFP_expired", now));
+        executionRepository.tryClaimExecution("PFP_expired", "node-a", Duration.ofMillis(1));
+        mongoTemplate.save(submission("PFP_running", now));
+        executionRepository.tryClaimExecution("PFP_running", "node-a", LEASE_TTL);
+        mongoTemplate.save(submission("PFP_never_started", new Date(startedBefore.getTime() - 1000)));
+        mongoTemplate.save(submission("PFP_just_submitted", now));
+        final FRFilePaymentSubmission completed = submission("PFP_completed", new Date(startedBefore.getTime() - 1000));
+        completed.setStatus(FRSubmissionStatus.INITIATIONCOMPLETED);
+        mongoTemplate.save(completed);
+        Thread.sleep(20);
+
+        assertThat(executionRepository.findInterruptedExecutions(startedBefore, 10))
+                .containsExactlyInAnyOrder("PFP_expired", "PFP_never_started");
+        assertThat(executionRepository.findInterruptedExecutions(startedBefore, 1)).hasSize(1);
+    }
+
+    @Test
+    void shouldRejectAllLinesWhenExecutionFails() {
+        mongoTemplate.save(submission(FILE_PAYMENT_ID, new Date()));
+        executionRepository.tryClaimExecution(FILE_PAYMENT_ID, "node-a", LEASE_TTL);
+        final List<FRFilePaymentLine> lines = List.of(
+                line(1, FRFilePayment.PaymentStatus.COMPLETED, null),
+                line(2, FRFilePayment.PaymentStatus.REJECTED, "InstructedAmount must be greater than zero"),
+                line(3, FRFilePayment.PaymentStatus.PENDING, null));
+        executionRepository.insertLines(lines);
+        executionRepository.recordProgress(FILE_PAYMENT_ID, "node-a", LEASE_TTL, 2, 1);
+
+        assertThat(executionRepository.failExecution(FILE_PAYMENT_ID, "node-b", "interrupted")).isFalse();
+        assertThat(executionRepository.failExecution(FILE_PAYMENT_ID, "node-a", "interrupted")).isTrue();
+
+        final FRFilePaymentSubmission submission = mongoTemplate.findById(FILE_PAYMENT_ID, FRFilePaymentSubmission.class);
+        assertThat(submission.getStatus()).isEqualTo(FRSubmissionStatus.INITIATIONFAILED);
+        assertThat(submission.getTransactionsProcessed()).isEqualTo(3);
+        assertThat(submission.getTransactionsRejected()).isEqualTo(3);
+        assertThat(submission.getExecutionOwner()).isNull();
+        try (Stream<FRFilePaymentLine> storedLines = executionRepository.streamLines(FILE_PAYMENT_ID, 10)) {
+            assertThat(storedLines).extracting(FRFilePaymentLine::getPayment).extracting(FRFilePayment::getStatus)
+                    .containsOnly(FRFilePayment.PaymentStatus.REJECTED);
+        }
+        // Lines which were already rejected keep their reason
+        assertThat(mongoTemplate.findById(FRFilePaymentLine.toId(FILE_PAYMENT_ID, 2), FRFilePaymentLine.class).getStatusReason())
+                .isEqualTo("InstructedAmount must be greater than zero");
+        assertThat(mongoTemplate.findById(FRFilePaymentLine.toId(FILE_PAYMENT_ID, 3), FRFilePaymentLine.class).getStatusReason())
+                .isEqualTo("interrupted");
+    }
+
+    private static FRFilePaymentSubmission submission(String id, Date created) {
+        return FRFilePaymentSubmission.builder()
+                .id(id)
+                .status(FRSubmissionStatus.INITIATIONPENDING)
+                .created(created)
+                .build();
+    }
+
+    private static FRFilePaymentLine line(int lineNumber, FRFilePayment.PaymentStatus status, String statusReason) {
+        return FRFilePaymentLine.builder()
+                .id(FRFilePaymentLine.toId(FILE_PAYMENT_ID, lineNumber))
+                .filePaymentId(FILE_PAYMENT_ID)
+                .lineNumber(lineNumber)
+                .payment(FRFilePayment.builder().status(status).build())
+                .statusReason(statusReason)
+                .statusUpdateDateTime(new Date())
+                .build();
+    }
+}
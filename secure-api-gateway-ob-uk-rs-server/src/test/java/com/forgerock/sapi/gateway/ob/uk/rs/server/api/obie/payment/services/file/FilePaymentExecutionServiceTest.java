@@ -0,0 +1,271 @@
+/*
+ * Copyright © 2020-2025 ForgeRock AS (obst@forgerock.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.forgerock.sapi.gateway.ob.uk.rs.server.api.obie.payment.services.file;
+
+import static com.forgerock.sapi.gateway.ob.uk.rs.server.util.payment.file.TestPaymentFileResources.PAIN_001_001_08_FILE_PATH;
+import static com.forgerock.sapi.gateway.ob.uk.rs.server.util.payment.file.TestPaymentFileResources.PAYMENT_INITIATION_3_1_FILE_PATH;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+
+import com.forgerock.sapi.gateway.ob.uk.common.datamodel.common.FRAmount;
+import com.forgerock.sapi.gateway.ob.uk.common.datamodel.common.FRSubmissionStatus;
+import com.forgerock.sapi.gateway.ob.uk.common.datamodel.payment.FRFilePayment;
+import com.forgerock.sapi.gateway.ob.uk.common.datamodel.payment.FRWriteFile;
+import com.forgerock.sapi.gateway.ob.uk.common.datamodel.payment.FRWriteFileData;
+import com.forgerock.sapi.gateway.ob.uk.common.datamodel.payment.FRWriteFileDataInitiation;
+import com.forgerock.sapi.gateway.ob.uk.rs.server.util.payment.file.TestPaymentFileResources;
+import com.forgerock.sapi.gateway.ob.uk.rs.server.util.payment.file.TestPaymentFileResources.TestPaymentFile;
+import com.forgerock.sapi.gateway.rcs.consent.store.datamodel.payment.file.v3_1_10.FilePaymentConsent;
+import com.forgerock.sapi.gateway.rs.resource.store.repo.entity.payment.FRFilePaymentLine;
+import com.forgerock.sapi.gateway.rs.resource.store.repo.entity.payment.FRFilePaymentSubmission;
+import com.forgerock.sapi.gateway.rs.resource.store.repo.mongo.payments.FilePaymentExecutionRepository;
+import com.forgerock.sapi.gateway.rs.resource.store.repo.mongo.payments.PaymentFileStore;
+
+class FilePaymentExecutionServiceTest {
+
+    private static final String FILE_PAYMENT_ID = "PFP_12345";
+    private static final String NODE_ID = "rs-node-1";
+    private static final Duration LEASE_TTL = Duration.ofMinutes(5);
+
+    private final PaymentFileStore paymentFileStore = mock(PaymentFileStore.class);
+    private final FilePaymentExecutionRepository executionRepository = mock(FilePaymentExecutionRepository.class);
+
+    // Small batches and queue so that files are split across several batches and the caller runs some of them
+    private final FilePaymentExecutionService executionService = new FilePaymentExecutionService(
+            new DefaultPaymentFileProcessorService(DefaultPaymentFileProcessorServiceTest.OBIE_FILE_TYPE_PROCESSORS),
+            paymentFileStore, executionRepository, 1, 1, 2, 1, NODE_ID, LEASE_TTL);
+
+    @BeforeEach
+    void claimExecutions() {
+        when(executionRepository.tryClaimExecution(any(), eq(NODE_ID), eq(LEASE_TTL))).thenReturn(true);
+        when(executionRepository.completeExecution(any(), eq(NODE_ID), any())).thenReturn(true);
+        when(executionRepository.failExecution(any(), eq(NODE_ID), any())).thenReturn(true);
+    }
+
+    @AfterEach
+    void shutdown() {
+        executionService.destroy();
+    }
+
+    @Test
+    void shouldExecuteStoredPaymentFile() {
+        final TestPaymentFile paymentFile = TestPaymentFileResources.getInstance().getPaymentFile(PAYMENT_INITIATION_3_1_FILE_PATH);
+        final String reference = PaymentFileStore.toReference(paymentFile.getFileHash());
+        when(paymentFileStore.open(eq(reference))).thenReturn(Optional.of(
+                new ByteArrayInputStream(paymentFile.getFileContent().getBytes(StandardCharsets.UTF_8))));
+
+        final FRSubmissionStatus status = executionService.execute(submission(paymentFile), consent(reference)).join();
+
+        assertThat(status).isEqualTo(FRSubmissionStatus.INITIATIONCOMPLETED);
+        final List<FRFilePaymentLine> lines = verifyLinesExecuted(paymentFile.getNumTransactions());
+        assertThat(lines).allSatisfy(line -> {
+            assertThat(line.getFilePaymentId()).isEqualTo(FILE_PAYMENT_ID);
+            assertThat(line.getId()).isEqualTo(FRFilePaymentLine.toId(FILE_PAYMENT_ID, line.getLineNumber()));
+            assertThat(line.getPayment().getStatus()).isEqualTo(FRFilePayment.PaymentStatus.COMPLETED);
+            assertThat(line.getStatusReason()).isNull();
+        });
+        verify(executionRepository).completeExecution(eq(FILE_PAYMENT_ID), eq(NODE_ID), eq(FRSubmissionStatus.INITIATIONCOMPLETED));
+    }
+
+    @Test
+    void shouldExecutePaymentFileHeldByConsent() {
+        final TestPaymentFile paymentFile = TestPaymentFileResources.getInstance().getPaymentFile(PAIN_001_001_08_FILE_PATH);
+
+        final FRSubmissionStatus status = executionService.execute(submission(paymentFile), consent(paymentFile.getFileContent())).join();
+
+        assertThat(status).isEqualTo(FRSubmissionStatus.INITIATIONCOMPLETED);
+        verifyLinesExecuted(paymentFile.getNumTransactions());
+        verify(paymentFileStore, never()).open(any());
+    }
+
+    @Test
+    void shouldFailExecutionWhenFileIsInvalid() {
+        final TestPaymentFile paymentFile = TestPaymentFileResources.getInstance().getPaymentFile(PAYMENT_INITIATION_3_1_FILE_PATH);
+
+        final FRSubmissionStatus status = executionService.execute(submission(paymentFile), consent("{\"invalid\": ")).join();
+
+        assertThat(status).isEqualTo(FRSubmissionStatus.INITIATIONFAILED);
+        verify(executionRepository).failExecution(eq(FILE_PAYMENT_ID), eq(NODE_ID), startsWith("File payment could not be executed"));
+        verify(executionRepository, never()).completeExecution(any(), any(), any());
+    }
+
+    @Test
+    void shouldFailExecutionAfterBatchesWhenFileIsTruncated() {
+        final TestPaymentFile paymentFile = TestPaymentFileResources.getInstance().getPaymentFile(PAYMENT_INITIATION_3_1_FILE_PATH);
+        // Cut the file off before its 4th payment, so that the first batch of 2 payments is submitted before it fails
+        final String fileContent = paymentFile.getFileContent();
+        int cutOff = -1;
+        for (int i = 0; i < 4; i++) {
+            cutOff = fileContent.indexOf("\"InstructionIdentification\"", cutOff + 1);
+        }
+        assertThat(cutOff).isPositive();
+
+        final FRSubmissionStatus status = executionService.execute(submission(paymentFile),
+                consent(fileContent.substring(0, cutOff))).join();
+
+        assertThat(status).isEqualTo(FRSubmissionStatus.INITIATIONFAILED);
+        // Only the submitted batch is stored, the 3rd payment never is, and no batch is written once the file is failed
+        final InOrder inOrder = inOrder(executionRepository);
+        inOrder.verify(executionRepository).tryClaimExecution(FILE_PAYMENT_ID, NODE_ID, LEASE_TTL);
+        inOrder.verify(executionRepository).insertLines(anyList());
+        inOrder.verify(executionRepository).failExecution(eq(FILE_PAYMENT_ID), eq(NODE_ID), startsWith("File payment could not be executed"));
+        inOrder.verifyNoMoreInteractions();
+        verify(executionRepository, never()).completeExecution(any(), any(), any());
+    }
+
+    @Test
+    void shouldNotExecuteFileClaimedByAnotherNode() {
+        final TestPaymentFile paymentFile = TestPaymentFileResources.getInstance().getPaymentFile(PAIN_001_001_08_FILE_PATH);
+        when(executionRepository.tryClaimExecution(eq(FILE_PAYMENT_ID), eq(NODE_ID), eq(LEASE_TTL))).thenReturn(false);
+
+        final FRSubmissionStatus status = executionService.execute(submission(paymentFile), consent(paymentFile.getFileContent())).join();
+
+        assertThat(status).isEqualTo(FRSubmissionStatus.INITIATIONPENDING);
+        verify(executionRepository, never()).insertLines(anyList());
+        verify(executionRepository, never()).completeExecution(any(), any(), any());
+        verify(executionRepository, never()).failExecution(any(), any(), any());
+    }
+
+    @Test
+    void shouldFailInterruptedExecutionsWhichCanBeClaimed() {
+        when(executionRepository.findInterruptedExecutions(any(Date.class), eq(10))).thenReturn(List.of("PFP_1", "PFP_2"));
+        when(executionRepository.tryClaimExecution(eq("PFP_2"), eq(NODE_ID), eq(LEASE_TTL))).thenReturn(false);
+
+        final int failed = executionService.recoverInterruptedExecutions(10);
+
+        assertThat(failed).isEqualTo(1);
+        verify(executionRepository).failExecution(eq("PFP_1"), eq(NODE_ID), eq(FilePaymentExecutionService.INTERRUPTED_REASON));
+        verify(executionRepository, never()).failExecution(eq("PFP_2"), any(), any());
+    }
+
+    @Test
+    void shouldNotExecuteWhenNoFileUploaded() {
+        final TestPaymentFile paymentFile = TestPaymentFileResources.getInstance().getPaymentFile(PAYMENT_INITIATION_3_1_FILE_PATH);
+
+        final FRSubmissionStatus status = executionService.execute(submission(paymentFile), consent(null)).join();
+
+        assertThat(status).isEqualTo(FRSubmissionStatus.INITIATIONPENDING);
+        verify(executionRepository, never()).insertLines(anyList());
+        verify(executionRepository, never()).tryClaimExecution(any(), any(), any());
+        verify(executionRepository, never()).completeExecution(any(), any(), any());
+    }
+
+    @Test
+    void shouldRejectPaymentWithoutPositiveAmount() {
+        final FRFilePaymentLine line = line(new FRAmount("0.00", "GBP"), "08080021325698");
+
+        executionService.executeLine(line);
+
+        assertThat(line.getPayment().getStatus()).isEqualTo(FRFilePayment.PaymentStatus.REJECTED);
+        assertThat(line.getStatusReason()).isEqualTo("InstructedAmount must be greater than zero");
+        assertThat(line.getStatusUpdateDateTime()).isNotNull();
+    }
+
+    @Test
+    void shouldRejectPaymentWithoutCreditorAccount() {
+        final FRFilePaymentLine line = line(new FRAmount("10.00", "GBP"), "");
+
+        executionService.executeLine(line);
+
+        assertThat(line.getPayment().getStatus()).isEqualTo(FRFilePayment.PaymentStatus.REJECTED);
+        assertThat(line.getStatusReason()).isEqualTo("CreditorAccount Identification is missing");
+    }
+
+    @Test
+    void shouldCompleteValidPayment() {
+        final FRFilePaymentLine line = line(new FRAmount("10.00", "GBP"), "08080021325698");
+
+        executionService.executeLine(line);
+
+        assertThat(line.getPayment().getStatus()).isEqualTo(FRFilePayment.PaymentStatus.COMPLETED);
+        assertThat(line.getStatusReason()).isNull();
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<FRFilePaymentLine> verifyLinesExecuted(int numTransactions) {
+        final ArgumentCaptor<List<FRFilePaymentLine>> insertedCaptor = ArgumentCaptor.forClass(List.class);
+        verify(executionRepository, atLeastOnce()).insertLines(insertedCaptor.capture());
+        final List<FRFilePaymentLine> lines = new ArrayList<>();
+        insertedCaptor.getAllValues().forEach(lines::addAll);
+        assertThat(lines).hasSize(numTransactions);
+        assertThat(lines).extracting(FRFilePaymentLine::getLineNumber).isSorted();
+
+        final ArgumentCaptor<Integer> processedCaptor = ArgumentCaptor.forClass(Integer.class);
+        verify(executionRepository, atLeastOnce()).recordProgress(eq(FILE_PAYMENT_ID), eq(NODE_ID), eq(LEASE_TTL),
+                processedCaptor.capture(), anyInt());
+        assertThat(processedCaptor.getAllValues().stream().mapToInt(Integer::intValue).sum()).isEqualTo(numTransactions);
+        return lines;
+    }
+
+    private static FRFilePaymentSubmission submission(TestPaymentFile paymentFile) {
+        return FRFilePaymentSubmission.builder()
+                .id(FILE_PAYMENT_ID)
+                .status(FRSubmissionStatus.INITIATIONPENDING)
+                .filePayment(FRWriteFile.builder()
+                        .data(FRWriteFileData.builder()
+                                .consentId("PFC_12345")
+                                .initiation(FRWriteFileDataInitiation.builder()
+                                        .fileType(paymentFile.getFileType().getFileType())
+                                        .build())
+                                .build())
+                        .build())
+                .build();
+    }
+
+    private static FilePaymentConsent consent(String fileContent) {
+        final FilePaymentConsent consent = new FilePaymentConsent();
+        consent.setId("PFC_12345");
+        consent.setFileContent(fileContent);
+        return consent;
+    }
+
+    private static FRFilePaymentLine line(FRAmount amount, String creditorAccountIdentification) {
+        return FRFilePaymentLine.builder()
+                .id(FRFilePaymentLine.toId(FILE_PAYMENT_ID, 1))
+                .filePaymentId(FILE_PAYMENT_ID)
+                .lineNumber(1)
+                .payment(FRFilePayment.builder()
+                        .instructedAmount(amount)
+                        .creditorAccountIdentification(creditorAccountIdentification)
+                        .status(FRFilePayment.PaymentStatus.PENDING)
+                        .build())
+                .build();
+    }
+}
@@ -24,6 +24,7 @@ import static org.mockito.Mockito.when;
 import static org.springframework.boot.test.context.SpringBootTest.WebEnvironment.RANDOM_PORT;
 
 import java.math.BigDecimal;
+import java.util.List;
 
 import com.forgerock.sapi.gateway.rcs.consent.store.client.payment.file.FilePaymentConsentStoreClient;
 import org.joda.time.DateTimeZone;
@@ -36,20 +37,28 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.boot.test.web.client.TestRestTemplate;
 import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.data.mongodb.core.MongoTemplate;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.test.context.ActiveProfiles;
 
+import com.forgerock.sapi.gateway.ob.uk.common.datamodel.common.FRSubmissionStatus;
 import com.forgerock.sapi.gateway.ob.uk.common.datamodel.converter.v3.payment.FRWriteFileConsentConverter;
 import com.forgerock.sapi.gateway.ob.uk.common.error.OBRIErrorType;
 import com.forgerock.sapi.gateway.ob.uk.rs.server.common.payment.file.DefaultPaymentFileType;
 import com.forgerock.sapi.gateway.ob.uk.rs.server.testsupport.api.HttpHeadersTestDataFactory;
+import com.forgerock.sapi.gateway.ob.uk.rs.server.util.payment.file.TestPaymentFileResources;
+import com.forgerock.sapi.gateway.ob.uk.rs.server.util.payment.file.TestPaymentFileResources.TestPaymentFile;
 import com.forgerock.sapi.gateway.rcs.consent.store.datamodel.payment.ConsumePaymentConsentRequest;
 import com.forgerock.sapi.gateway.rcs.consent.store.datamodel.payment.file.v3_1_10.FilePaymentConsent;
+import com.forgerock.sapi.gateway.rs.resource.store.repo.entity.payment.FRFilePaymentLine;
+import com.forgerock.sapi.gateway.rs.resource.store.repo.entity.payment.FRFilePaymentSubmission;
 import com.forgerock.sapi.gateway.rs.resource.store.repo.mongo.payments.FilePaymentSubmissionRepository;
+import com.forgerock.sapi.gateway.rs.resource.store.repo.mongo.payments.PaymentFileStore;
 import com.forgerock.sapi.gateway.uk.common.shared.api.meta.share.IntentType;
 
 import uk.org.openbanking.datamodel.v3.error.OBErrorResponse1;
@@ -59,6 +68,9 @@ import uk.org.openbanking.datamodel.v3.payment.OBWriteFileConsent3;
 import uk.org.openbanking.datamodel.v3.payment.OBWriteFileConsentResponse4DataStatus;
 import uk.org.openbanking.datamodel.v3.payment.OBWriteFileResponse3;
 import uk.org.openbanking.datamodel.v3.payment.OBWriteFileResponse3Data;
+import uk.org.openbanking.datamodel.v3.payment.OBWritePaymentDetailsResponse1;
+import uk.org.openbanking.datamodel.v3.payment.OBWritePaymentDetailsResponse1DataPaymentStatusInner;
+import uk.org.openbanking.datamodel.v3.payment.OBWritePaymentDetailsResponse1DataPaymentStatusInnerStatus;
 import uk.org.openbanking.testsupport.v3.payment.OBWriteFileConsentTestDataFactory;
 
 /**
@@ -86,12 +98,19 @@ public class FilePaymentsApiControllerTest {
     @Qualifier("v3.1.10RestFilePaymentConsentStoreClient")
     private FilePaymentConsentStoreClient filePaymentConsentStoreClient;
 
+    @Autowired
+    private PaymentFileStore paymentFileStore;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
     @Autowired
     private TestRestTemplate restTemplate;
 
     @AfterEach
     void removeData() {
         filePaymentsRepository.deleteAll();
+        mongoTemplate.remove(FRFilePaymentLine.class).all();
     }
 
     private static OBWriteFileConsent3 createValidConsent() {
@@ -108,7 +127,12 @@ public class FilePaymentsApiControllerTest {
     }
 
     private void mockConsentStoreGetResponse(String consentId, OBWriteFileConsent3 consentRequest, String status) {
+        mockConsentStoreGetResponse(consentId, consentRequest, status, null);
+    }
+
+    private void mockConsentStoreGetResponse(String consentId, OBWriteFileConsent3 consentRequest, String status, String fileContent) {
         final FilePaymentConsent consent = new FilePaymentConsent();
+        consent.setFileContent(fileContent);
         consent.setId(consentId);
         consent.setStatus(status);
         consent.setRequestObj(FRWriteFileConsentConverter.toFRWriteFileConsent(consentRequest));
@@ -222,16 +246,93 @@ public class FilePaymentsApiControllerTest {
     }
 
     @Test
-    public void shouldFailToGetReportFileGivenNotImplemented() {
+    public void shouldGetPaymentDetailsOfExecutedFile() throws Exception {
+        final TestPaymentFile paymentFile = TestPaymentFileResources.getInstance().getPaymentFile(TestPaymentFileResources.PAYMENT_INITIATION_3_1_FILE_PATH);
+        final String filePaymentId = submitFilePayment(paymentFile);
+
+        final ResponseEntity<OBWritePaymentDetailsResponse1> detailsResponse = restTemplate.exchange(filePaymentsDetailsUrl(filePaymentId),
+                HttpMethod.GET, new HttpEntity<>(HTTP_HEADERS), OBWritePaymentDetailsResponse1.class);
+
+        assertThat(detailsResponse.getStatusCode()).isEqualTo(HttpStatus.OK);
+        final List<OBWritePaymentDetailsResponse1DataPaymentStatusInner> paymentStatuses = detailsResponse.getBody().getData().getPaymentStatus();
+        assertThat(paymentStatuses).hasSize(paymentFile.getNumTransactions());
+        assertThat(paymentStatuses).allSatisfy(paymentStatus -> {
+            assertThat(paymentStatus.getPaymentTransactionId()).startsWith(filePaymentId);
+            assertThat(paymentStatus.getStatus()).isEqualTo(OBWritePaymentDetailsResponse1DataPaymentStatusInnerStatus.ACCEPTEDSETTLEMENTCOMPLETED);
+        });
+        assertThat(detailsResponse.getBody().getLinks().getSelf().toString()).isEqualTo(filePaymentsDetailsUrl(filePaymentId));
+    }
+
+    @Test
+    public void shouldGetJsonReportFileOfExecutedFile() throws Exception {
+        final TestPaymentFile paymentFile = TestPaymentFileResources.getInstance().getPaymentFile(TestPaymentFileResources.PAYMENT_INITIATION_3_1_FILE_PATH);
+        final String filePaymentId = submitFilePayment(paymentFile);
+
+        final ResponseEntity<String> reportResponse = restTemplate.exchange(filePaymentsReportUrl(filePaymentId),
+                HttpMethod.GET, new HttpEntity<>(HTTP_HEADERS), String.class);
+
+        assertThat(reportResponse.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(reportResponse.getHeaders().getContentType().isCompatibleWith(MediaType.APPLICATION_JSON)).isTrue();
+        assertThat(reportResponse.getBody()).contains("\"FilePaymentId\":\"" + filePaymentId + "\"");
+        assertThat(reportResponse.getBody().split("\"Status\":\"AcceptedSettlementCompleted\"", -1)).hasSize(paymentFile.getNumTransactions() + 1);
+    }
+
+    @Test
+    public void shouldGetPainReportFileOfExecutedFile() throws Exception {
+        final TestPaymentFile paymentFile = TestPaymentFileResources.getInstance().getPaymentFile(TestPaymentFileResources.PAIN_001_001_08_FILE_PATH);
+        final String filePaymentId = submitFilePayment(paymentFile);
+
+        final ResponseEntity<String> reportResponse = restTemplate.exchange(filePaymentsReportUrl(filePaymentId),
+                HttpMethod.GET, new HttpEntity<>(HTTP_HEADERS), String.class);
+
+        assertThat(reportResponse.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(reportResponse.getBody()).contains("urn:iso:std:iso:20022:tech:xsd:pain.002.001.10");
+        assertThat(reportResponse.getBody()).contains("<OrgnlPmtInfId>" + filePaymentId + "</OrgnlPmtInfId>");
+        assertThat(reportResponse.getBody().split("<TxSts>ACSC</TxSts>", -1)).hasSize(paymentFile.getNumTransactions() + 1);
+    }
+
+    @Test
+    public void shouldFailToGetReportFileGivenPaymentNotFound() {
         // Given
         String filePaymentId = "1234";
         String url = filePaymentsReportUrl(filePaymentId);
 
         // When
-        ResponseEntity response = restTemplate.exchange(url, HttpMethod.GET, new HttpEntity<>(HTTP_HEADERS), Void.class);
+        ResponseEntity<OBErrorResponse1> response = restTemplate.exchange(url, HttpMethod.GET, new HttpEntity<>(HTTP_HEADERS), OBErrorResponse1.class);
 
         // Then
-        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_IMPLEMENTED);
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(response.getBody().getErrors().get(0)).isEqualTo(OBRIErrorType.PAYMENT_SUBMISSION_NOT_FOUND.toOBError1(filePaymentId));
+    }
+
+    /**
+     * Submits a file payment for the paymentFile and waits for its payments to be executed
+     */
+    private String submitFilePayment(TestPaymentFile paymentFile) throws InterruptedException {
+        final String consentId = IntentType.PAYMENT_FILE_CONSENT.generateIntentId();
+        final OBWriteFileConsent3 filePaymentConsent = OBWriteFileConsentTestDataFactory.aValidOBWriteFileConsent3(
+                paymentFile.getFileType().getFileType(), paymentFile.getFileHash(),
+                String.valueOf(paymentFile.getNumTransactions()), paymentFile.getControlSum());
+        filePaymentConsent.getData().getInitiation().setRequestedExecutionDateTime(
+                filePaymentConsent.getData().getInitiation().getRequestedExecutionDateTime().withZone(DateTimeZone.UTC));
+        mockConsentStoreGetResponse(consentId, filePaymentConsent, OBWriteFileConsentResponse4DataStatus.AUTHORISED.toString(),
+                paymentFileStore.store(paymentFile.getFileHash(), paymentFile.getFileContent()));
+
+        final HttpEntity<OBWriteFile2> filePaymentEntity = new HttpEntity<>(createPayment(consentId, filePaymentConsent), HTTP_HEADERS);
+        final ResponseEntity<OBWriteFileResponse3> createResponse = restTemplate.exchange(filePaymentsUrl(), HttpMethod.POST, filePaymentEntity, OBWriteFileResponse3.class);
+        assertThat(createResponse.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        final String filePaymentId = createResponse.getBody().getData().getFilePaymentId();
+
+        for (int i = 0; i < 100; i++) {
+            final FRFilePaymentSubmission submission = filePaymentsRepository.findById(filePaymentId).orElseThrow();
+            if (submission.getStatus() != FRSubmissionStatus.INITIATIONPENDING) {
+                assertThat(submission.getStatus()).isEqualTo(FRSubmissionStatus.INITIATIONCOMPLETED);
+                assertThat(submission.getTransactionsProcessed()).isEqualTo(paymentFile.getNumTransactions());
+                return filePaymentId;
+            }
+            Thread.sleep(100);
+        }
+        throw new AssertionError("File payment: " + filePaymentId + " was not executed");
     }
 
     private String filePaymentsUrl() {
@@ -242,6 +343,10 @@ public class FilePaymentsApiControllerTest {
         return filePaymentsUrl() + "/" + id;
     }
 
+    private String filePaymentsDetailsUrl(String id) {
+        return filePaymentsIdUrl(id) + "/payment-details";
+    }
+
     private String filePaymentsReportUrl(String id) {
         return filePaymentsIdUrl(id) + "/report-file";
     }
@@ -27,6 +27,7 @@ import com.forgerock.sapi.gateway.rcs.consent.store.client.ConsentStoreClientExc
 import com.forgerock.sapi.gateway.rcs.consent.store.client.payment.file.FilePaymentConsentStoreClient;
 import com.forgerock.sapi.gateway.rcs.consent.store.datamodel.payment.file.v3_1_10.FilePaymentConsent;
 import com.forgerock.sapi.gateway.rcs.consent.store.datamodel.payment.file.v3_1_10.FileUploadRequest;
+import com.forgerock.sapi.gateway.rs.resource.store.repo.mongo.payments.PaymentFileStore;
 import com.forgerock.sapi.gateway.uk.common.shared.api.meta.share.IntentType;
 import org.joda.time.DateTimeZone;
 import org.junit.jupiter.api.Test;
@@ -45,7 +46,10 @@ import uk.org.openbanking.datamodel.v3.error.OBErrorResponse1;
 import uk.org.openbanking.datamodel.v4.payment.OBWriteFileConsent3;
 import uk.org.openbanking.testsupport.v4.payment.OBWriteFileConsentTestDataFactory;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.util.Date;
 import java.util.List;
 import java.util.Objects;
@@ -74,6 +78,9 @@ public class FilePaymentConsentsApiControllerTest {
     @Autowired
     private TestRestTemplate restTemplate;
 
+    @Autowired
+    private PaymentFileStore paymentFileStore;
+
     @MockBean
     @Qualifier("v4.0.0RestFilePaymentConsentStoreClient")
     private FilePaymentConsentStoreClient consentStoreClient;
@@ -93,7 +100,7 @@ public class FilePaymentConsentsApiControllerTest {
     }
 
     @Test
-    void testUploadFile() {
+    void testUploadFile() throws IOException {
         final String consentId = IntentType.PAYMENT_FILE_CONSENT.generateIntentId();
 
         final TestPaymentFile paymentFile = testPaymentFileResources.getPaymentFile(TestPaymentFileResources.PAIN_001_001_08_FILE_PATH);
@@ -112,7 +119,8 @@ public class FilePaymentConsentsApiControllerTest {
         verify(consentStoreClient).uploadFile(fileUploadRequestArgumentCaptor.capture());
         final FileUploadRequest fileUploadRequest = fileUploadRequestArgumentCaptor.getValue();
         assertThat(fileUploadRequest.getConsentId()).isEqualTo(consentId);
-        assertThat(fileUploadRequest.getFileContents()).isEqualTo(paymentFile.getFileContent());
+        assertThat(fileUploadRequest.getFileContents()).isEqualTo(PaymentFileStore.toReference(paymentFile.getFileHash()));
+        assertThat(readStoredFile(fileUploadRequest.getFileContents())).isEqualTo(paymentFile.getFileContent());
         assertThat(fileUploadRequest.getFileUploadIdempotencyKey()).isEqualTo(idempotencyKey);
         assertThat(fileUploadRequest.getApiClientId()).isEqualTo(TEST_API_CLIENT_ID);
     }
@@ -230,6 +238,24 @@ public class FilePaymentConsentsApiControllerTest {
         assertThat(fileContentResponse.getBody()).isEqualTo(expectedFileContent);
     }
 
+    @Test
+    public void testGetStoredFileForConsent() {
+        final String consentId = IntentType.PAYMENT_FILE_CONSENT.generateIntentId();
+        final TestPaymentFile paymentFile = testPaymentFileResources.getPaymentFile(TestPaymentFileResources.PAIN_001_001_08_FILE_PATH);
+        final FilePaymentConsent consent = new FilePaymentConsent();
+        consent.setRequestObj(FRWriteFileConsentConverter.toFRWriteFileConsent(createValidConsentRequest(paymentFile.getFileType(),
+                paymentFile.getFileHash(), paymentFile.getNumTransactions(), paymentFile.getControlSum())));
+        consent.setFileContent(paymentFileStore.store(paymentFile.getFileHash(), paymentFile.getFileContent()));
+        when(consentStoreClient.getConsent(eq(consentId), eq(TEST_API_CLIENT_ID))).thenReturn(consent);
+
+        final ResponseEntity<String> fileContentResponse = restTemplate.exchange(controllerUploadFileUri(consentId),
+                HttpMethod.GET, new HttpEntity<>(HTTP_HEADERS), String.class);
+
+        assertThat(fileContentResponse.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(fileContentResponse.getHeaders().getContentType()).isEqualTo(paymentFile.getFileType().getContentType());
+        assertThat(fileContentResponse.getBody()).isEqualTo(paymentFile.getFileContent());
+    }
+
     @Test
     public void failsToGetFileForConsentNoFileUploaded() {
         final String consentId = IntentType.PAYMENT_FILE_CONSENT.generateIntentId();
@@ -244,6 +270,12 @@ public class FilePaymentConsentsApiControllerTest {
     }
 
 
+    private String readStoredFile(String reference) throws IOException {
+        try (InputStream file = paymentFileStore.open(reference).orElseThrow()) {
+            return new String(file.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
     private static OBWriteFileConsent3 createValidConsentRequest(PaymentFileType paymentFileType, String fileHash,
                                                                     int numTransactions, BigDecimal controlSum) {
         final OBWriteFileConsent3 consentRequest = OBWriteFileConsentTestDataFactory.aValidOBWriteFileConsent3(
@@ -0,0 +1,243 @@
+/*
+ * Copyright © 2020-2025 ForgeRock AS (obst@forgerock.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.forgerock.sapi.gateway.ob.uk.rs.server.api.obie.payment.v4_0_0.file;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+import static org.springframework.boot.test.context.SpringBootTest.WebEnvironment.RANDOM_PORT;
+
+import java.util.List;
+
+import org.joda.time.DateTimeZone;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.forgerock.sapi.gateway.ob.uk.common.datamodel.common.FRSubmissionStatus;
+import com.forgerock.sapi.gateway.ob.uk.common.datamodel.converter.v4.common.FRPaymentDetailsStatusConverter;
+import com.forgerock.sapi.gateway.ob.uk.common.datamodel.converter.v4.payment.FRWriteFileConsentConverter;
+import com.forgerock.sapi.gateway.ob.uk.common.error.OBRIErrorType;
+import com.forgerock.sapi.gateway.ob.uk.rs.server.common.payment.file.FilePaymentTransactionStatus;
+import com.forgerock.sapi.gateway.ob.uk.rs.server.testsupport.api.HttpHeadersTestDataFactory;
+import com.forgerock.sapi.gateway.ob.uk.rs.server.util.payment.file.TestPaymentFileResources;
+import com.forgerock.sapi.gateway.ob.uk.rs.server.util.payment.file.TestPaymentFileResources.TestPaymentFile;
+import com.forgerock.sapi.gateway.rcs.consent.store.client.payment.file.FilePaymentConsentStoreClient;
+import com.forgerock.sapi.gateway.rcs.consent.store.datamodel.payment.file.v3_1_10.FilePaymentConsent;
+import com.forgerock.sapi.gateway.rs.resource.store.repo.entity.payment.FRFilePaymentLine;
+import com.forgerock.sapi.gateway.rs.resource.store.repo.entity.payment.FRFilePaymentSubmission;
+import com.forgerock.sapi.gateway.rs.resource.store.repo.mongo.payments.FilePaymentSubmissionRepository;
+import com.forgerock.sapi.gateway.rs.resource.store.repo.mongo.payments.PaymentFileStore;
+import com.forgerock.sapi.gateway.uk.common.shared.api.meta.share.IntentType;
+
+import uk.org.openbanking.datamodel.v3.error.OBErrorResponse1;
+import uk.org.openbanking.datamodel.v3.payment.OBWriteFileConsentResponse4DataStatus;
+import uk.org.openbanking.datamodel.v4.payment.OBWriteFile2;
+import uk.org.openbanking.datamodel.v4.payment.OBWriteFile2Data;
+import uk.org.openbanking.datamodel.v4.payment.OBWriteFileConsent3;
+import uk.org.openbanking.datamodel.v4.payment.OBWriteFileResponse3;
+import uk.org.openbanking.datamodel.v4.payment.OBWritePaymentDetails1;
+import uk.org.openbanking.datamodel.v4.payment.OBWritePaymentDetailsResponse1;
+import uk.org.openbanking.testsupport.v4.payment.OBWriteFileConsentTestDataFactory;
+
+/**
+ * A SpringBoot test for the payment details and report file endpoints of the {@link FilePaymentsApiController}.<br/>
+ * Coverage versions v4.0.0.
+ */
+@SpringBootTest(webEnvironment = RANDOM_PORT)
+@ActiveProfiles("test")
+public class FilePaymentsApiControllerTest {
+
+    private static final String TEST_API_CLIENT_ID = "client-123";
+    private static final HttpHeaders HTTP_HEADERS = HttpHeadersTestDataFactory.requiredPaymentHttpHeaders(TEST_API_CLIENT_ID);
+    private static final String BASE_URL = "http://localhost:";
+    private static final String FILE_PAYMENTS_URI = "/open-banking/v4.0.0/pisp/file-payments";
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private FilePaymentSubmissionRepository filePaymentsRepository;
+
+    @MockBean
+    @Qualifier("v4.0.0RestFilePaymentConsentStoreClient")
+    private FilePaymentConsentStoreClient filePaymentConsentStoreClient;
+
+    @Autowired
+    private PaymentFileStore paymentFileStore;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @AfterEach
+    void removeData() {
+        filePaymentsRepository.deleteAll();
+        mongoTemplate.remove(FRFilePaymentLine.class).all();
+    }
+
+    @Test
+    public void shouldGetPaymentDetailsOfExecutedFile() throws Exception {
+        final TestPaymentFile paymentFile = TestPaymentFileResources.getInstance().getPaymentFile(TestPaymentFileResources.PAYMENT_INITIATION_3_1_FILE_PATH);
+        final String filePaymentId = submitFilePayment(paymentFile);
+
+        final ResponseEntity<OBWritePaymentDetailsResponse1> detailsResponse = restTemplate.exchange(filePaymentsDetailsUrl(filePaymentId),
+                HttpMethod.GET, new HttpEntity<>(HTTP_HEADERS), OBWritePaymentDetailsResponse1.class);
+
+        assertThat(detailsResponse.getStatusCode()).isEqualTo(HttpStatus.OK);
+        final List<OBWritePaymentDetails1> paymentStatuses = detailsResponse.getBody().getData().getPaymentStatus();
+        assertThat(paymentStatuses).hasSize(paymentFile.getNumTransactions());
+        assertThat(paymentStatuses).extracting(OBWritePaymentDetails1::getPaymentTransactionId)
+                .containsExactly(lineIds(filePaymentId, paymentFile.getNumTransactions()));
+        assertThat(paymentStatuses).allSatisfy(paymentStatus -> {
+            assertThat(paymentStatus.getStatus()).isEqualTo(FRPaymentDetailsStatusConverter.toOBPaymentDetailsStatus(
+                    FilePaymentTransactionStatus.ACCEPTED_SETTLEMENT_COMPLETED.getValue()));
+            assertThat(paymentStatus.getStatusDetail().getStatusReason()).isEqualTo("ACSC");
+        });
+        assertThat(detailsResponse.getBody().getLinks().getSelf().toString()).isEqualTo(filePaymentsDetailsUrl(filePaymentId));
+    }
+
+    @Test
+    public void shouldGetJsonReportFileOfExecutedFile() throws Exception {
+        final TestPaymentFile paymentFile = TestPaymentFileResources.getInstance().getPaymentFile(TestPaymentFileResources.PAYMENT_INITIATION_3_1_FILE_PATH);
+        final String filePaymentId = submitFilePayment(paymentFile);
+
+        final ResponseEntity<String> reportResponse = restTemplate.exchange(filePaymentsReportUrl(filePaymentId),
+                HttpMethod.GET, new HttpEntity<>(HTTP_HEADERS), String.class);
+
+        assertThat(reportResponse.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(reportResponse.getHeaders().getContentType().isCompatibleWith(MediaType.APPLICATION_JSON)).isTrue();
+        assertThat(reportResponse.getBody()).contains("\"FilePaymentId\":\"" + filePaymentId + "\"");
+        assertThat(reportResponse.getBody().split("\"Status\":\"AcceptedSettlementCompleted\"", -1)).hasSize(paymentFile.getNumTransactions() + 1);
+    }
+
+    @Test
+    public void shouldGetPainReportFileOfExecutedFile() throws Exception {
+        final TestPaymentFile paymentFile = TestPaymentFileResources.getInstance().getPaymentFile(TestPaymentFileResources.PAIN_001_001_08_FILE_PATH);
+        final String filePaymentId = submitFilePayment(paymentFile);
+
+        final ResponseEntity<String> reportResponse = restTemplate.exchange(filePaymentsReportUrl(filePaymentId),
+                HttpMethod.GET, new HttpEntity<>(HTTP_HEADERS), String.class);
+
+        assertThat(reportResponse.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(reportResponse.getBody()).contains("urn:iso:std:iso:20022:tech:xsd:pain.002.001.10");
+        assertThat(reportResponse.getBody()).contains("<OrgnlPmtInfId>" + filePaymentId + "</OrgnlPmtInfId>");
+        assertThat(reportResponse.getBody().split("<TxSts>ACSC</TxSts>", -1)).hasSize(paymentFile.getNumTransactions() + 1);
+    }
+
+    @Test
+    public void shouldFailToGetPaymentDetailsGivenPaymentNotFound() {
+        final String filePaymentId = "1234";
+
+        final ResponseEntity<OBErrorResponse1> response = restTemplate.exchange(filePaymentsDetailsUrl(filePaymentId),
+                HttpMethod.GET, new HttpEntity<>(HTTP_HEADERS), OBErrorResponse1.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(response.getBody().getErrors().get(0)).isEqualTo(OBRIErrorType.PAYMENT_SUBMISSION_NOT_FOUND.toOBError1(filePaymentId));
+    }
+
+    @Test
+    public void shouldFailToGetReportFileGivenPaymentNotFound() {
+        final String filePaymentId = "1234";
+
+        final ResponseEntity<OBErrorResponse1> response = restTemplate.exchange(filePaymentsReportUrl(filePaymentId),
+                HttpMethod.GET, new HttpEntity<>(HTTP_HEADERS), OBErrorResponse1.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(response.getBody().getErrors().get(0)).isEqualTo(OBRIErrorType.PAYMENT_SUBMISSION_NOT_FOUND.toOBError1(filePaymentId));
+    }
+
+    /**
+     * Submits a file payment for the paymentFile and waits for its payments to be executed
+     */
+    private String submitFilePayment(TestPaymentFile paymentFile) throws InterruptedException {
+        final String consentId = IntentType.PAYMENT_FILE_CONSENT.generateIntentId();
+        final OBWriteFileConsent3 filePaymentConsent = OBWriteFileConsentTestDataFactory.aValidOBWriteFileConsent3(
+                paymentFile.getFileType().getFileType(), paymentFile.getFileHash(),
+                String.valueOf(paymentFile.getNumTransactions()), paymentFile.getControlSum());
+        filePaymentConsent.getData().getInitiation().setRequestedExecutionDateTime(
+                filePaymentConsent.getData().getInitiation().getRequestedExecutionDateTime().withZone(DateTimeZone.UTC));
+        filePaymentConsent.getData().getAuthorisation().setCompletionDateTime(
+                filePaymentConsent.getData().getAuthorisation().getCompletionDateTime().withZone(DateTimeZone.UTC));
+
+        final FilePaymentConsent consent = new FilePaymentConsent();
+        consent.setId(consentId);
+        consent.setStatus(OBWriteFileConsentResponse4DataStatus.AUTHORISED.toString());
+        consent.setRequestObj(FRWriteFileConsentConverter.toFRWriteFileConsent(filePaymentConsent));
+        consent.setAuthorisedDebtorAccountId("debtor-acc-123");
+        consent.setCharges(List.of());
+        consent.setFileContent(paymentFileStore.store(paymentFile.getFileHash(), paymentFile.getFileContent()));
+        when(filePaymentConsentStoreClient.getConsent(eq(consentId), eq(TEST_API_CLIENT_ID))).thenReturn(consent);
+
+        final OBWriteFile2 filePayment = new OBWriteFile2().data(new OBWriteFile2Data()
+                .consentId(consentId)
+                .initiation(filePaymentConsent.getData().getInitiation()));
+        final ResponseEntity<OBWriteFileResponse3> createResponse = restTemplate.exchange(filePaymentsUrl(), HttpMethod.POST,
+                new HttpEntity<>(filePayment, HTTP_HEADERS), OBWriteFileResponse3.class);
+        assertThat(createResponse.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        final String filePaymentId = createResponse.getBody().getData().getFilePaymentId();
+
+        for (int i = 0; i < 100; i++) {
+            final FRFilePaymentSubmission submission = filePaymentsRepository.findById(filePaymentId).orElseThrow();
+            if (submission.getStatus() != FRSubmissionStatus.INITIATIONPENDING) {
+                assertThat(submission.getStatus()).isEqualTo(FRSubmissionStatus.INITIATIONCOMPLETED);
+                assertThat(submission.getTransactionsProcessed()).isEqualTo(paymentFile.getNumTransactions());
+                return filePaymentId;
+            }
+            Thread.sleep(100);
+        }
+        throw new AssertionError("File payment: " + filePaymentId + " was not executed");
+    }
+
+    private static String[] lineIds(String filePaymentId, int numTransactions) {
+        final String[] lineIds = new String[numTransactions];
+        for (int i = 0; i < numTransactions; i++) {
+            lineIds[i] = FRFilePaymentLine.toId(filePaymentId, i + 1);
+        }
+        return lineIds;
+    }
+
+    private String filePaymentsUrl() {
+        return BASE_URL + port + FILE_PAYMENTS_URI;
+    }
+
+    private String filePaymentsIdUrl(String id) {
+        return filePaymentsUrl() + "/" + id;
+    }
+
+    private String filePaymentsDetailsUrl(String id) {
+        return filePaymentsIdUrl(id) + "/payment-details";
+    }
+
+    private String filePaymentsReportUrl(String id) {
+        return filePaymentsIdUrl(id) + "/report-file";
+    }
+}
@@ -0,0 +1,169 @@
+/*
+ * Copyright © 2020-2025 ForgeRock AS (obst@forgerock.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.forgerock.sapi.gateway.ob.uk.rs.server.common.logging;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.slf4j.Logger;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.forgerock.sapi.gateway.ob.uk.rs.server.common.util.HashUtils;
+
+class PayloadLoggingPolicyTest {
+
+    @Test
+    void shouldLogSmallPayloadInFull() {
+        final PayloadLoggingPolicy policy = policy(10, false, 1.0D, Map.of());
+
+        assertThat(policy.summarise(() -> "payload").toString()).isEqualTo("payload");
+    }
+
+    @Test
+    void shouldTruncateLargePayload() {
+        final PayloadLoggingPolicy policy = policy(5, false, 1.0D, Map.of());
+
+        assertThat(policy.summarise("0123456789").toString()).isEqualTo("01234... [truncated]");
+    }
+
+    @Test
+    void shouldHashFullPayload() {
+        final PayloadLoggingPolicy policy = policy(0, true, 1.0D, Map.of());
+
+        assertThat(policy.summarise(() -> "0123456789").toString())
+                .isEqualTo("... [length=10, sha256=" + HashUtils.computeSHA256FullHash("0123456789") + "]");
+    }
+
+    @Test
+    void shouldHashMultiByteCharactersAsUtf8() {
+        final String payload = "£€\uD83D\uDCB7".repeat(5000);
+        final PayloadLoggingPolicy policy = policy(4, true, 1.0D, Map.of());
+
+        assertThat(policy.summarise(payload).toString()).isEqualTo("£€\uD83D\uDCB7... [length=" + payload.length()
+                + ", sha256=" + HashUtils.computeSHA256FullHash(payload) + "]");
+    }
+
+    @Test
+    void shouldSerialiseObjectPayloadsAsJson() throws Exception {
+        final Map<String, List<Integer>> payload = Map.of("Amounts", List.of(1, 2, 3));
+        final String json = new ObjectMapper().writeValueAsString(payload);
+
+        assertThat(policy(100, false, 1.0D, Map.of()).summarise(payload).toString()).isEqualTo(json);
+        assertThat(policy(10, true, 1.0D, Map.of()).summarise(payload).toString())
+                .isEqualTo(json.substring(0, 10) + "... [length=" + json.length() + ", sha256="
+                        + HashUtils.computeSHA256FullHash(json) + "]");
+    }
+
+    @Test
+    @Timeout(10)
+    void shouldStopSerialisingOnceLimitReachedWhenNotHashing() {
+        final AtomicInteger serialised = new AtomicInteger();
+        final Iterator<String> endlessPayload = new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return true;
+            }
+
+            @Override
+            public String next() {
+                serialised.incrementAndGet();
+                return "payment";
+            }
+        };
+
+        assertThat(policy(20, false, 1.0D, Map.of()).summarise(endlessPayload).toString())
+                .isEqualTo("[\"payment\",\"payment\"... [truncated]");
+        assertThat(serialised.get()).isLessThan(10_000);
+    }
+
+    @Test
+    void shouldDescribePayloadsWhichCannotBeSerialised() {
+        final Object payload = new Object() {
+            public String getValue() {
+                throw new IllegalStateException("boom");
+            }
+        };
+
+        assertThat(policy(100, false, 1.0D, Map.of()).summarise(payload).toString())
+                .startsWith("[unable to serialise ");
+    }
+
+    @Test
+    void shouldOnlyEvaluatePayloadWhenRendered() {
+        final PayloadLoggingPolicy policy = PayloadLoggingPolicy.DEFAULT;
+        final AtomicInteger evaluations = new AtomicInteger();
+
+        final Object summary = policy.summarise(() -> "payload-" + evaluations.incrementAndGet());
+        assertThat(evaluations).hasValue(0);
+
+        assertThat(summary.toString()).startsWith("payload-1");
+        assertThat(summary.toString()).startsWith("payload-1");
+        assertThat(evaluations).hasValue(1);
+    }
+
+    @Test
+    void shouldUseMostSpecificSampleRate() {
+        final PayloadLoggingPolicy policy = policy(10, false, 0.5D,
+                Map.of("com.forgerock", 0.0D, "com.forgerock.sapi.gateway.ob.uk.rs.server.common.payment", 1.0D));
+
+        assertThat(policy.getSampleRate("org.springframework.Foo")).isEqualTo(0.5D);
+        assertThat(policy.getSampleRate("com.forgerock.Foo")).isEqualTo(0.0D);
+        assertThat(policy.getSampleRate("com.forgerock.sapi.gateway.ob.uk.rs.server.common.payment.file.Foo")).isEqualTo(1.0D);
+    }
+
+    @Test
+    void shouldNotLogWhenDebugDisabledOrNotSampled() {
+        final Logger payments = logger("com.forgerock.payments", true);
+        final Logger events = logger("com.forgerock.events", true);
+        final Logger disabled = logger("com.forgerock.payments", false);
+        final PayloadLoggingPolicy policy = policy(10, false, 1.0D, Map.of("com.forgerock.events", 0.0D));
+
+        assertThat(policy.shouldLog(payments)).isTrue();
+        assertThat(policy.shouldLog(events)).isFalse();
+        assertThat(policy.shouldLog(disabled)).isFalse();
+    }
+
+    @Test
+    void shouldRejectInvalidConfig() {
+        assertThatThrownBy(() -> policy(-1, false, 1.0D, Map.of()))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> policy(10, false, 1.5D, Map.of()))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> policy(10, false, 1.0D, Map.of("com.forgerock", -0.1D)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static PayloadLoggingPolicy policy(int maxLength, boolean hashPayloads, double defaultSampleRate,
+                                               Map<String, Double> sampleRates) {
+        return new PayloadLoggingPolicy(maxLength, hashPayloads, defaultSampleRate, sampleRates, new ObjectMapper());
+    }
+
+    private static Logger logger(String name, boolean debugEnabled) {
+        final Logger logger = mock(Logger.class);
+        given(logger.getName()).willReturn(name);
+        given(logger.isDebugEnabled()).willReturn(debugEnabled);
+        return logger;
+    }
+}
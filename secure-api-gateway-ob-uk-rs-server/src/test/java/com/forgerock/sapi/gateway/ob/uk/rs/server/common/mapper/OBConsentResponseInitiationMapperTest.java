@@ -0,0 +1,79 @@
+/*
+ * Copyright © 2020-2025 ForgeRock AS (obst@forgerock.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.forgerock.sapi.gateway.ob.uk.rs.server.common.mapper;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static uk.org.openbanking.testsupport.v3.payment.OBWriteDomesticStandingOrderConsentTestDataFactory.aValidOBWriteDomesticStandingOrder3DataInitiation;
+import static uk.org.openbanking.testsupport.v3.payment.OBWriteInternationalScheduledConsentTestDataFactory.aValidOBWriteInternationalScheduled3DataInitiation;
+import static uk.org.openbanking.testsupport.v3.payment.OBWriteInternationalScheduledConsentTestDataFactory.aValidOBWriteInternationalScheduledConsent5MandatoryFields;
+import static uk.org.openbanking.testsupport.v3.payment.OBWriteInternationalStandingOrderConsentTestDataFactory.aValidOBWriteInternationalStandingOrder4DataInitiation;
+import static uk.org.openbanking.testsupport.v3.payment.OBWriteInternationalStandingOrderConsentTestDataFactory.aValidOBWriteInternationalStandingOrderConsent6MandatoryFields;
+
+import org.junit.jupiter.api.Test;
+
+import com.forgerock.sapi.gateway.ob.uk.common.datamodel.converter.v3.mapper.FRModelMapper;
+
+import uk.org.openbanking.datamodel.v3.payment.OBWriteDomesticStandingOrder3DataInitiation;
+import uk.org.openbanking.datamodel.v3.payment.OBWriteDomesticStandingOrderConsentResponse6DataInitiation;
+import uk.org.openbanking.datamodel.v3.payment.OBWriteInternationalScheduled3DataInitiation;
+import uk.org.openbanking.datamodel.v3.payment.OBWriteInternationalScheduledConsentResponse6DataInitiation;
+import uk.org.openbanking.datamodel.v3.payment.OBWriteInternationalStandingOrder4DataInitiation;
+import uk.org.openbanking.datamodel.v3.payment.OBWriteInternationalStandingOrderConsentResponse7DataInitiation;
+
+/**
+ * Verifies that the generated mappings produce the same result as the reflective {@link FRModelMapper} they replace.
+ */
+class OBConsentResponseInitiationMapperTest {
+
+    private final OBConsentResponseInitiationMapper mapper = OBConsentResponseInitiationMapper.INSTANCE;
+
+    @Test
+    void shouldMapDomesticStandingOrderInitiationAsFRModelMapper() {
+        final OBWriteDomesticStandingOrder3DataInitiation initiation = aValidOBWriteDomesticStandingOrder3DataInitiation();
+
+        assertThat(mapper.toOBWriteDomesticStandingOrderConsentResponse6DataInitiation(initiation))
+                .isEqualTo(FRModelMapper.map(initiation, OBWriteDomesticStandingOrderConsentResponse6DataInitiation.class));
+    }
+
+    @Test
+    void shouldMapInternationalScheduledInitiationAsFRModelMapper() {
+        for (OBWriteInternationalScheduled3DataInitiation initiation : new OBWriteInternationalScheduled3DataInitiation[] {
+                aValidOBWriteInternationalScheduled3DataInitiation(),
+                aValidOBWriteInternationalScheduledConsent5MandatoryFields().getData().getInitiation()}) {
+
+            assertThat(mapper.toOBWriteInternationalScheduledConsentResponse6DataInitiation(initiation))
+                    .isEqualTo(FRModelMapper.map(initiation, OBWriteInternationalScheduledConsentResponse6DataInitiation.class));
+        }
+    }
+
+    @Test
+    void shouldMapInternationalStandingOrderInitiationAsFRModelMapper() {
+        for (OBWriteInternationalStandingOrder4DataInitiation initiation : new OBWriteInternationalStandingOrder4DataInitiation[] {
+                aValidOBWriteInternationalStandingOrder4DataInitiation(),
+                aValidOBWriteInternationalStandingOrderConsent6MandatoryFields().getData().getInitiation()}) {
+
+            assertThat(mapper.toOBWriteInternationalStandingOrderConsentResponse7DataInitiation(initiation))
+                    .isEqualTo(FRModelMapper.map(initiation, OBWriteInternationalStandingOrderConsentResponse7DataInitiation.class));
+        }
+    }
+
+    @Test
+    void shouldMapNullToNull() {
+        assertThat(mapper.toOBWriteDomesticStandingOrderConsentResponse6DataInitiation(null)).isNull();
+        assertThat(mapper.toOBWriteInternationalScheduledConsentResponse6DataInitiation(null)).isNull();
+        assertThat(mapper.toOBWriteInternationalStandingOrderConsentResponse7DataInitiation(null)).isNull();
+    }
+}
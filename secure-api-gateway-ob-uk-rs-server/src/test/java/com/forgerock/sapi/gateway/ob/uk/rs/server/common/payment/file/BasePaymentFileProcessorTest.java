@@ -18,13 +18,17 @@ package com.forgerock.sapi.gateway.ob.uk.rs.server.common.payment.file;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.AssertionsForClassTypes.catchThrowable;
 
+import java.io.StringReader;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.NullAndEmptySource;
+import org.junit.jupiter.params.provider.ValueSource;
 
+import com.forgerock.sapi.gateway.ob.uk.common.datamodel.payment.FRFilePayment;
 import com.forgerock.sapi.gateway.ob.uk.common.error.OBErrorException;
 import com.forgerock.sapi.gateway.ob.uk.common.error.OBRIErrorType;
 import com.forgerock.sapi.gateway.ob.uk.rs.server.common.payment.file.processor.PaymentFileProcessor;
@@ -52,6 +56,34 @@ public abstract class BasePaymentFileProcessorTest {
 
     }
 
+    @Test
+    void shouldStreamValidFile() throws OBErrorException {
+        final List<TestPaymentFile> files = testPaymentFileResources.getPaymentFiles().values().stream()
+                .filter(testPaymentFile -> testPaymentFile.getFileType().equals(paymentFileProcessor.getSupportedFileType()))
+                .collect(Collectors.toList());
+
+        for (final TestPaymentFile testPaymentFile : files) {
+            final List<FRFilePayment> streamedPayments = new ArrayList<>();
+            final PaymentFileSummary summary = paymentFileProcessor.processFile(
+                    new StringReader(testPaymentFile.getFileContent()), streamedPayments::add);
+
+            assertThat(summary.getControlSum()).isEqualByComparingTo(testPaymentFile.getControlSum());
+            assertThat(summary.getNumberOfTransactions()).isEqualTo(testPaymentFile.getNumTransactions());
+            assertThat(summary.getFileType()).isEqualTo(testPaymentFile.getFileType());
+
+            final List<FRFilePayment> parsedPayments = paymentFileProcessor.processFile(testPaymentFile.getFileContent()).getPayments();
+            assertThat(streamedPayments).usingRecursiveFieldByFieldElementComparatorIgnoringFields("created")
+                    .containsExactlyElementsOf(parsedPayments);
+        }
+    }
+
+    @Test
+    void shouldThrowOBErrorForInvalidStreamedFile() {
+        final Throwable throwable = catchThrowable(() -> paymentFileProcessor.processFile(new StringReader("junk"), payment -> {}));
+        assertThat(throwable).isInstanceOf(OBErrorException.class);
+        assertThat(((OBErrorException) throwable).getOBError().getErrorCode()).isEqualTo("OBRI.Request.Object.file.invalid");
+    }
+
     public static void validateProcessedPaymentFileResult(TestPaymentFile testPaymentFile, PaymentFile paymentFileResult) {
         assertThat(paymentFileResult).isNotNull();
         assertThat(paymentFileResult.getControlSum()).isEqualByComparingTo(testPaymentFile.getControlSum());
@@ -70,6 +102,17 @@ public abstract class BasePaymentFileProcessorTest {
         assertThat(obErrorException.getOBError().getMessage()).startsWith(OBRIErrorType.REQUEST_FILE_EMPTY.getMessage());
     }
 
+    @ParameterizedTest
+    @ValueSource(strings = {"{}", "{\"Data\":{\"DomesticPayments\":[]}}", "<?xml version=\"1.0\"?><Document xmlns=\"urn:iso:std:iso:20022:tech:xsd:pain.001.001.08\"/>"})
+    void shouldThrowOBErrorForFileWithoutPayments(String fileContent) {
+        final Throwable throwable = catchThrowable(() -> paymentFileProcessor.processFile(fileContent));
+        assertThat(throwable).isInstanceOf(OBErrorException.class);
+
+        final OBErrorException obErrorException = (OBErrorException) throwable;
+        assertThat(obErrorException.getOBError().getErrorCode()).isEqualTo("OBRI.Request.Object.file.invalid");
+        assertThat(obErrorException.getOBError().getMessage()).startsWith("The Payment file uploaded is invalid");
+    }
+
     @Test
     void shouldThrowOBErrorForInvalidFile() {
         final Throwable throwable = catchThrowable(() -> paymentFileProcessor.processFile("junk"));
@@ -18,11 +18,14 @@ package com.forgerock.sapi.gateway.ob.uk.rs.server.common.payment.file;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.AssertionsForClassTypes.catchThrowable;
 
+import java.util.List;
+
 import org.junit.jupiter.api.Test;
 
 import com.forgerock.sapi.gateway.ob.uk.common.error.OBErrorException;
 import com.forgerock.sapi.gateway.ob.uk.rs.server.common.payment.file.processor.json.OBIEPaymentInitiation31FileProcessor;
 import com.forgerock.sapi.gateway.ob.uk.rs.server.common.payment.file.processor.PaymentFileProcessor;
+import com.forgerock.sapi.gateway.ob.uk.rs.server.util.payment.file.TestPaymentFileResources;
 
 class OBIEPaymentInitiation31FileProcessorTest extends BasePaymentFileProcessorTest {
 
@@ -48,4 +51,24 @@ class OBIEPaymentInitiation31FileProcessorTest extends BasePaymentFileProcessorT
         assertThat(obErrorException.getOBError().getErrorCode()).isEqualTo("OBRI.Request.Object.file.invalid");
         assertThat(obErrorException.getOBError().getMessage()).startsWith("The Payment file uploaded is invalid");
     }
+
+    @Test
+    void failsWhenValidPaymentsAreFollowedByInvalidContent() {
+        final String validFile = TestPaymentFileResources.getInstance()
+                .getPaymentFile(TestPaymentFileResources.PAYMENT_INITIATION_3_1_FILE_PATH).getFileContent().trim();
+        final int endOfPayments = validFile.lastIndexOf(']');
+        final List<String> invalidFiles = List.of(
+                // Content after the end of the document
+                validFile + " trailing",
+                validFile + "{}",
+                // Malformed JSON after the DomesticPayments array
+                validFile.substring(0, endOfPayments + 1) + ", \"Other\": " + validFile.substring(endOfPayments + 1),
+                validFile.substring(0, validFile.length() - 1));
+
+        for (String invalidFile : invalidFiles) {
+            final Throwable throwable = catchThrowable(() -> createFileProcessor().processFile(invalidFile));
+            assertThat(throwable).isInstanceOf(OBErrorException.class);
+            assertThat(((OBErrorException) throwable).getOBError().getErrorCode()).isEqualTo("OBRI.Request.Object.file.invalid");
+        }
+    }
 }
\ No newline at end of file
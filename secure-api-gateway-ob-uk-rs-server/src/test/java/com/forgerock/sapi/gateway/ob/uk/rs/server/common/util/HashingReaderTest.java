@@ -0,0 +1,87 @@
+/*
+ * Copyright © 2020-2025 ForgeRock AS (obst@forgerock.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.forgerock.sapi.gateway.ob.uk.rs.server.common.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import com.forgerock.sapi.gateway.ob.uk.rs.server.util.payment.file.TestPaymentFileResources;
+
+class HashingReaderTest {
+
+    @ParameterizedTest
+    @ValueSource(strings = {"", "a", "simple ascii content", "multi-byte \u00A3\u20AC content", "surrogate pairs \uD83D\uDCB7\uD83D\uDCB8",
+                            "unpaired surrogates \uD83D and \uDCB7", "trailing high surrogate \uD83D"})
+    void shouldComputeSameHashAsHashUtils(String content) throws IOException {
+        // Read one char at a time so that every surrogate pair is split across reads
+        final HashingReader singleCharReader = HashUtils.createSHA256HashingReader(new StringReader(content));
+        final char[] buffer = new char[1];
+        while (singleCharReader.read(buffer, 0, 1) != -1) {
+            // consume
+        }
+        assertThat(singleCharReader.getHash()).isEqualTo(HashUtils.computeSHA256FullHash(content));
+
+        final HashingReader bufferedReader = HashUtils.createSHA256HashingReader(new StringReader(content));
+        assertThat(readFully(bufferedReader)).isEqualTo(content);
+        assertThat(bufferedReader.getHash()).isEqualTo(HashUtils.computeSHA256FullHash(content));
+    }
+
+    @Test
+    void shouldHashPaymentFiles() throws IOException {
+        for (TestPaymentFileResources.TestPaymentFile paymentFile : TestPaymentFileResources.getInstance().getPaymentFiles().values()) {
+            final HashingReader reader = HashUtils.createSHA256HashingReader(new StringReader(paymentFile.getFileContent()));
+            readFully(reader);
+            assertThat(reader.getHash()).isEqualTo(paymentFile.getFileHash());
+        }
+    }
+
+    @Test
+    void shouldHashUnreadContent() throws IOException {
+        final String content = "partially read content";
+        final HashingReader reader = HashUtils.createSHA256HashingReader(new StringReader(content));
+        assertThat(reader.read()).isEqualTo('p');
+        assertThat(reader.skip(5)).isEqualTo(5);
+
+        assertThat(reader.getHash()).isEqualTo(HashUtils.computeSHA256FullHash(content));
+    }
+
+    @Test
+    void shouldHashUnreadContentWhenClosed() throws IOException {
+        final String content = "closed before fully read";
+        final HashingReader reader = HashUtils.createSHA256HashingReader(new StringReader(content));
+        reader.read(new char[6], 0, 6);
+        reader.close();
+
+        assertThat(reader.getHash()).isEqualTo(HashUtils.computeSHA256FullHash(content));
+    }
+
+    private static String readFully(Reader reader) throws IOException {
+        final StringBuilder content = new StringBuilder();
+        final char[] buffer = new char[7];
+        int numRead;
+        while ((numRead = reader.read(buffer)) != -1) {
+            content.append(buffer, 0, numRead);
+        }
+        return content.toString();
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright © 2020-2025 ForgeRock AS (obst@forgerock.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.forgerock.sapi.gateway.ob.uk.rs.server.configuration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.net.URI;
+import java.util.Map;
+
+import org.apache.hc.client5.http.HttpRoute;
+import org.apache.hc.client5.http.impl.DefaultSchemePortResolver;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.routing.DefaultRoutePlanner;
+import org.apache.hc.client5.http.protocol.HttpClientContext;
+import org.apache.hc.core5.http.HttpException;
+import org.apache.hc.core5.http.HttpHost;
+import org.junit.jupiter.api.Test;
+
+class RsApplicationConfigurationTest {
+
+    private final DefaultRoutePlanner routePlanner = new DefaultRoutePlanner(DefaultSchemePortResolver.INSTANCE);
+
+    @Test
+    void shouldApplyPerHostLimitsToTheRoutesUsedByRequests() throws Exception {
+        final HttpClientConfigurationProperties properties = new HttpClientConfigurationProperties();
+        properties.setMaxConnectionsPerRoute(50);
+        properties.setMaxConnectionsPerHost(Map.of(
+                "https://rcs.example.com", 10,
+                "http://rs-store:8080", 20,
+                "test-facility-bank", 30));
+
+        try (PoolingHttpClientConnectionManager connectionManager =
+                     new RsApplicationConfiguration().restTemplateConnectionManager(properties)) {
+            assertThat(connectionManager.getMaxPerRoute(route("https://rcs.example.com/consents"))).isEqualTo(10);
+            assertThat(connectionManager.getMaxPerRoute(route("https://rcs.example.com:443/consents"))).isEqualTo(10);
+            assertThat(connectionManager.getMaxPerRoute(route("http://rs-store:8080/accounts"))).isEqualTo(20);
+            assertThat(connectionManager.getMaxPerRoute(route("http://test-facility-bank/users"))).isEqualTo(30);
+
+            // Same host on a different scheme or port is a different route
+            assertThat(connectionManager.getMaxPerRoute(route("http://rcs.example.com/consents"))).isEqualTo(50);
+            assertThat(connectionManager.getMaxPerRoute(route("http://rs-store:8081/accounts"))).isEqualTo(50);
+        }
+    }
+
+    @Test
+    void shouldRejectInvalidHost() {
+        assertThatThrownBy(() -> RsApplicationConfiguration.toRoute("ftp://rs-store"))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("ftp://rs-store");
+    }
+
+    private HttpRoute route(String uri) throws HttpException {
+        return routePlanner.determineRoute(HttpHost.create(URI.create(uri)), HttpClientContext.create());
+    }
+}
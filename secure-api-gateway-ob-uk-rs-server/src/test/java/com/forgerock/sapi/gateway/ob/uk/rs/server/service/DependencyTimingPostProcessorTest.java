@@ -0,0 +1,105 @@
+/*
+ * Copyright © 2020-2025 ForgeRock AS (obst@forgerock.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.forgerock.sapi.gateway.ob.uk.rs.server.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+import java.io.Reader;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+import com.forgerock.sapi.gateway.ob.uk.common.error.OBErrorResponseException;
+import com.forgerock.sapi.gateway.ob.uk.rs.server.common.payment.file.DefaultPaymentFileType;
+import com.forgerock.sapi.gateway.ob.uk.rs.server.common.payment.file.PaymentFileSummary;
+import com.forgerock.sapi.gateway.ob.uk.rs.server.common.payment.file.PaymentFileType;
+import com.forgerock.sapi.gateway.ob.uk.rs.server.common.payment.file.processor.PaymentFileProcessor;
+import com.forgerock.sapi.gateway.ob.uk.rs.server.service.AnalyticsService.Dependency;
+import com.forgerock.sapi.gateway.ob.uk.rs.validation.ValidationResult;
+import com.forgerock.sapi.gateway.ob.uk.rs.validation.obie.OBValidationService;
+
+import uk.org.openbanking.datamodel.v3.error.OBError1;
+
+class DependencyTimingPostProcessorTest {
+
+    private AnalyticsService analyticsService;
+    private DependencyTimingPostProcessor postProcessor;
+
+    @BeforeEach
+    void setUp() {
+        analyticsService = mock(AnalyticsService.class);
+        postProcessor = new DependencyTimingPostProcessor(new StaticListableBeanFactory(
+                Map.of("analyticsService", analyticsService)).getBeanProvider(AnalyticsService.class));
+    }
+
+    @Test
+    void shouldNotWrapOtherBeans() {
+        final Object bean = new Object();
+
+        assertThat(postProcessor.postProcessAfterInitialization(bean, "bean")).isSameAs(bean);
+    }
+
+    @Test
+    void shouldTimeValidationAndRecordFailures() throws Exception {
+        final OBValidationService<String> validationService = new OBValidationService<>(
+                value -> value.isEmpty() ? ValidationResult.failureResult(List.of(new OBError1().message("empty")))
+                        : ValidationResult.successResult());
+
+        @SuppressWarnings("unchecked")
+        final OBValidationService<String> timedValidationService = (OBValidationService<String>)
+                postProcessor.postProcessAfterInitialization(validationService, "domesticPaymentValidator");
+        assertThat(AopUtils.isCglibProxy(timedValidationService)).isTrue();
+
+        timedValidationService.validate("payment");
+        assertThatThrownBy(() -> timedValidationService.validate("")).isInstanceOf(OBErrorResponseException.class);
+
+        verify(analyticsService).recordDependencyCall(eq(Dependency.VALIDATION), eq("domesticPaymentValidator"),
+                eq("validate"), anyLong(), eq(true));
+        verify(analyticsService).recordDependencyCall(eq(Dependency.VALIDATION), eq("domesticPaymentValidator"),
+                eq("validate"), anyLong(), eq(false));
+        verifyNoMoreInteractions(analyticsService);
+    }
+
+    @Test
+    void shouldRecordNumberOfTransactionsInPaymentFile() throws Exception {
+        final PaymentFileType fileType = DefaultPaymentFileType.UK_OBIE_PAYMENT_INITIATION_V3_1.getPaymentFileType();
+        final PaymentFileProcessor paymentFileProcessor = mock(PaymentFileProcessor.class);
+        when(paymentFileProcessor.processFile(any(Reader.class), any()))
+                .thenReturn(new PaymentFileSummary(fileType, 25, BigDecimal.TEN));
+
+        final PaymentFileProcessor timedProcessor = (PaymentFileProcessor)
+                postProcessor.postProcessAfterInitialization(paymentFileProcessor, "jsonFileProcessor");
+        timedProcessor.processFile(new StringReader("file"), payment -> {});
+
+        verify(analyticsService).recordFilePaymentTransactions(fileType.getFileType(), 25);
+        verify(analyticsService).recordDependencyCall(eq(Dependency.PAYMENT_FILE), eq("jsonFileProcessor"),
+                eq("processFile"), anyLong(), eq(true));
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright © 2020-2025 ForgeRock AS (obst@forgerock.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.forgerock.sapi.gateway.ob.uk.rs.server.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.forgerock.sapi.gateway.ob.uk.rs.server.api.discovery.AvailableApiEndpoint;
+import com.forgerock.sapi.gateway.ob.uk.rs.server.common.OBApiReference;
+import com.forgerock.sapi.gateway.ob.uk.rs.server.service.AnalyticsService.Dependency;
+import com.forgerock.sapi.gateway.uk.common.shared.api.meta.obie.OBGroupName;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class MicrometerAnalyticsServiceTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private MicrometerAnalyticsService analyticsService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        analyticsService = new MicrometerAnalyticsService(meterRegistry);
+    }
+
+    @Test
+    void shouldRecordEndpointRequestTaggedWithGroupAndVersion() {
+        final AvailableApiEndpoint endpoint = AvailableApiEndpoint.builder()
+                .groupName(OBGroupName.PISP)
+                .version("v4.0.0")
+                .apiReference(OBApiReference.CREATE_DOMESTIC_PAYMENT)
+                .build();
+
+        analyticsService.recordEndpointRequest(endpoint, 201, TimeUnit.MILLISECONDS.toNanos(25));
+        analyticsService.recordEndpointRequest(endpoint, 201, TimeUnit.MILLISECONDS.toNanos(75));
+
+        final Timer timer = meterRegistry.get(MicrometerAnalyticsService.API_REQUESTS)
+                .tag("group", String.valueOf(OBGroupName.PISP))
+                .tag("version", "v4.0.0")
+                .tag("endpoint", "CREATE_DOMESTIC_PAYMENT")
+                .tag("status", "201")
+                .timer();
+        assertThat(timer.count()).isEqualTo(2);
+        assertThat(timer.totalTime(TimeUnit.MILLISECONDS)).isEqualTo(100);
+    }
+
+    @Test
+    void shouldRecordDependencyCallsByOutcome() {
+        analyticsService.recordDependencyCall(Dependency.CONSENT_STORE, "domesticPaymentConsentStoreClient",
+                "getConsent", 1000, true);
+        analyticsService.recordDependencyCall(Dependency.CONSENT_STORE, "domesticPaymentConsentStoreClient",
+                "getConsent", 1000, false);
+
+        assertThat(meterRegistry.get(MicrometerAnalyticsService.DEPENDENCY_CALLS)
+                .tag("dependency", "consent-store")
+                .tag("component", "domesticPaymentConsentStoreClient")
+                .tag("operation", "getConsent")
+                .timers()).hasSize(2);
+        assertThat(meterRegistry.get(MicrometerAnalyticsService.DEPENDENCY_CALLS).tag("outcome", "error")
+                .timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldRecordPageSizesAndFileTransactions() {
+        analyticsService.recordPageSize("FRTransactionRepository", 100);
+        analyticsService.recordPageSize("FRTransactionRepository", 20);
+        analyticsService.recordFilePaymentTransactions("UK.OBIE.pain.001.001.08", 5000);
+
+        final DistributionSummary pageSizes = meterRegistry.get(MicrometerAnalyticsService.PAGE_SIZE)
+                .tag("resource", "FRTransactionRepository").summary();
+        assertThat(pageSizes.count()).isEqualTo(2);
+        assertThat(pageSizes.max()).isEqualTo(100);
+        assertThat(meterRegistry.get(MicrometerAnalyticsService.FILE_PAYMENT_TRANSACTIONS)
+                .tag("file.type", "UK.OBIE.pain.001.001.08").summary().totalAmount()).isEqualTo(5000);
+    }
+
+    @Test
+    void shouldCountActivities() {
+        analyticsService.recordActivity("Payment submitted: {}", "pmt-1");
+        analyticsService.recordActivity("Payment submitted: {}", "pmt-2");
+
+        assertThat(meterRegistry.get(MicrometerAnalyticsService.ACTIVITY).tag("activity", "Payment submitted: {}")
+                .counter().count()).isEqualTo(2);
+    }
+}
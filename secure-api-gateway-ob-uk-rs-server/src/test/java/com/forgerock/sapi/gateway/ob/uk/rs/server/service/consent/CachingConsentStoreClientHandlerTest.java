@@ -0,0 +1,135 @@
+/*
+ * Copyright © 2020-2025 ForgeRock AS (obst@forgerock.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.forgerock.sapi.gateway.ob.uk.rs.server.service.consent;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+class CachingConsentStoreClientHandlerTest {
+
+    private TestConsentStoreClient delegate;
+    private TestConsentStoreClient cachingClient;
+
+    @BeforeEach
+    void setUp() {
+        delegate = mock(TestConsentStoreClient.class);
+        when(delegate.getConsent(any(), any())).thenAnswer(invocation -> new TestConsent(invocation.getArgument(0), "Consumed"));
+        cachingClient = (TestConsentStoreClient) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[]{TestConsentStoreClient.class},
+                new CachingConsentStoreClientHandler(delegate, Caffeine.newBuilder().maximumSize(10)
+                        .expireAfterWrite(Duration.ofMinutes(1)).build(), new ObjectMapper()));
+    }
+
+    @Test
+    void shouldCacheConsentPerConsentIdAndApiClientId() {
+        assertThat(cachingClient.getConsent("c1", "client1")).isEqualTo(new TestConsent("c1", "Consumed"));
+        assertThat(cachingClient.getConsent("c1", "client1")).isEqualTo(new TestConsent("c1", "Consumed"));
+        cachingClient.getConsent("c1", "client2");
+
+        verify(delegate, times(1)).getConsent("c1", "client1");
+        verify(delegate, times(1)).getConsent("c1", "client2");
+    }
+
+    @Test
+    void shouldNotCacheConsentUntilItIsTerminal() {
+        when(delegate.getConsent("c1", "client1")).thenReturn(new TestConsent("c1", "AwaitingAuthorisation"),
+                new TestConsent("c1", "Authorised"), new TestConsent("c1", "Revoked"));
+
+        assertThat(cachingClient.getConsent("c1", "client1").getStatus()).isEqualTo("AwaitingAuthorisation");
+        assertThat(cachingClient.getConsent("c1", "client1").getStatus()).isEqualTo("Authorised");
+        assertThat(cachingClient.getConsent("c1", "client1").getStatus()).isEqualTo("Revoked");
+        assertThat(cachingClient.getConsent("c1", "client1").getStatus()).isEqualTo("Revoked");
+
+        verify(delegate, times(3)).getConsent("c1", "client1");
+    }
+
+    @Test
+    void shouldReturnCopiesOfCachedConsent() {
+        cachingClient.getConsent("c1", "client1").setStatus("Modified");
+        final TestConsent cachedConsent = cachingClient.getConsent("c1", "client1");
+        cachedConsent.setStatus("Modified");
+
+        assertThat(cachingClient.getConsent("c1", "client1")).isEqualTo(new TestConsent("c1", "Consumed"))
+                .isNotSameAs(cachedConsent);
+        verify(delegate, times(1)).getConsent("c1", "client1");
+    }
+
+    @Test
+    void shouldInvalidateOnConsume() {
+        cachingClient.getConsent("c1", "client1");
+        cachingClient.getConsent("c2", "client1");
+        final ConsumeRequest consumeRequest = new ConsumeRequest();
+        consumeRequest.setConsentId("c1");
+
+        cachingClient.consumeConsent(consumeRequest);
+        cachingClient.getConsent("c1", "client1");
+        cachingClient.getConsent("c2", "client1");
+
+        verify(delegate, times(2)).getConsent("c1", "client1");
+        verify(delegate, times(1)).getConsent("c2", "client1");
+    }
+
+    @Test
+    void shouldInvalidateOnDeleteEvenIfDeleteFails() {
+        doThrow(new IllegalStateException("boom")).when(delegate).deleteConsent("c1", "client1");
+        cachingClient.getConsent("c1", "client1");
+
+        assertThatThrownBy(() -> cachingClient.deleteConsent("c1", "client1")).isInstanceOf(IllegalStateException.class);
+        cachingClient.getConsent("c1", "client1");
+
+        verify(delegate, times(2)).getConsent("c1", "client1");
+    }
+
+    interface TestConsentStoreClient {
+        TestConsent getConsent(String consentId, String apiClientId);
+
+        void consumeConsent(ConsumeRequest consumeRequest);
+
+        void deleteConsent(String consentId, String apiClientId);
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    static class TestConsent {
+        private String id;
+        private String status;
+    }
+
+    @Data
+    static class ConsumeRequest {
+        private String consentId;
+    }
+}
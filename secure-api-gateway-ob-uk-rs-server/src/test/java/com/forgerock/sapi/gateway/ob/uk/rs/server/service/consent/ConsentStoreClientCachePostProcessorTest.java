@@ -0,0 +1,109 @@
+/*
+ * Copyright © 2020-2025 ForgeRock AS (obst@forgerock.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.forgerock.sapi.gateway.ob.uk.rs.server.service.consent;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Date;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.forgerock.sapi.gateway.rcs.consent.store.client.account.AccountAccessConsentStoreClient;
+import com.forgerock.sapi.gateway.rcs.consent.store.datamodel.account.v3_1_10.AccountAccessConsent;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Runs the consent store client cache as it is wired into the application, with the cache enabled.
+ */
+class ConsentStoreClientCachePostProcessorTest {
+
+    private static final String CONSENT_ID = "AAC_123";
+    private static final String API_CLIENT_ID = "client-123";
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withPropertyValues("rs.consent.store.cache.enabled=true", "rs.consent.store.cache.ttl=1m")
+            .withBean(ObjectMapper.class, ObjectMapper::new)
+            .withBean(MeterRegistry.class, SimpleMeterRegistry::new)
+            .withUserConfiguration(ConsentStoreClientCachePostProcessor.class, ConsentStoreClientConfig.class);
+
+    @Test
+    void shouldServeTerminalConsentFromCache() {
+        contextRunner.run(context -> {
+            final AccountAccessConsentStoreClient delegate = context.getBean(ConsentStoreClientConfig.class).delegate;
+            when(delegate.getConsent(CONSENT_ID, API_CLIENT_ID)).thenReturn(consent("Revoked"));
+            final AccountAccessConsentStoreClient client = context.getBean(AccountAccessConsentStoreClient.class);
+
+            assertThat(client).isNotSameAs(delegate);
+            assertThat(client.getConsent(CONSENT_ID, API_CLIENT_ID).getStatus()).isEqualTo("Revoked");
+            assertThat(client.getConsent(CONSENT_ID, API_CLIENT_ID).getStatus()).isEqualTo("Revoked");
+            verify(delegate, times(1)).getConsent(CONSENT_ID, API_CLIENT_ID);
+            assertThat(context.getBean(MeterRegistry.class).find("cache.gets").tag("result", "hit").functionCounter().count())
+                    .isEqualTo(1);
+        });
+    }
+
+    @Test
+    void shouldSeeRevocationOfAuthorisedConsentInTheRcsStraightAway() {
+        contextRunner.run(context -> {
+            final AccountAccessConsentStoreClient delegate = context.getBean(ConsentStoreClientConfig.class).delegate;
+            when(delegate.getConsent(CONSENT_ID, API_CLIENT_ID)).thenReturn(consent("AwaitingAuthorisation"),
+                    consent("Authorised"), consent("Revoked"));
+            final AccountAccessConsentStoreClient client = context.getBean(AccountAccessConsentStoreClient.class);
+
+            assertThat(client.getConsent(CONSENT_ID, API_CLIENT_ID).getStatus()).isEqualTo("AwaitingAuthorisation");
+            assertThat(client.getConsent(CONSENT_ID, API_CLIENT_ID).getStatus()).isEqualTo("Authorised");
+            assertThat(client.getConsent(CONSENT_ID, API_CLIENT_ID).getStatus()).isEqualTo("Revoked");
+            verify(delegate, times(3)).getConsent(CONSENT_ID, API_CLIENT_ID);
+        });
+    }
+
+    @Test
+    void shouldNotWrapClientsWhenCacheIsDisabled() {
+        contextRunner.withPropertyValues("rs.consent.store.cache.enabled=false").run(context ->
+                assertThat(context.getBean(AccountAccessConsentStoreClient.class))
+                        .isSameAs(context.getBean(ConsentStoreClientConfig.class).delegate));
+    }
+
+    private static AccountAccessConsent consent(String status) {
+        final AccountAccessConsent consent = new AccountAccessConsent();
+        consent.setId(CONSENT_ID);
+        consent.setApiClientId(API_CLIENT_ID);
+        consent.setStatus(status);
+        consent.setStatusUpdateDateTime(new Date());
+        return consent;
+    }
+
+    @Configuration
+    static class ConsentStoreClientConfig {
+
+        private final AccountAccessConsentStoreClient delegate = mock(AccountAccessConsentStoreClient.class);
+
+        @Bean
+        AccountAccessConsentStoreClient accountAccessConsentStoreClient() {
+            return delegate;
+        }
+    }
+}
@@ -0,0 +1,146 @@
+/*
+ * Copyright © 2020-2025 ForgeRock AS (obst@forgerock.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.forgerock.sapi.gateway.ob.uk.rs.server.service.event;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import com.forgerock.sapi.gateway.ob.uk.common.datamodel.event.FREventPolling;
+import com.forgerock.sapi.gateway.ob.uk.common.error.OBErrorResponseException;
+
+/**
+ * Unit test for {@link EventLongPollingService}
+ */
+@ExtendWith(MockitoExtension.class)
+class EventLongPollingServiceTest {
+
+    private static final String API_CLIENT_ID = "client-1";
+    private static final EventNotifications PENDING_EVENTS = new EventNotifications(Map.of("jti-1", "set-1"), false);
+
+    @Mock
+    private EventPollingService eventPollingService;
+
+    private EventNotificationRegistry eventNotificationRegistry;
+
+    private EventLongPollingService eventLongPollingService;
+
+    @AfterEach
+    void shutdown() {
+        if (eventLongPollingService != null) {
+            eventLongPollingService.destroy();
+        }
+    }
+
+    private void createService(boolean longPollingEnabled, int maxParkedRequests) {
+        eventNotificationRegistry = new EventNotificationRegistry(maxParkedRequests);
+        eventLongPollingService = new EventLongPollingService(eventPollingService, eventNotificationRegistry,
+                longPollingEnabled, Duration.ofSeconds(30), 1);
+    }
+
+    @Test
+    void shouldReturnImmediatelyWhenRequested() throws Exception {
+        createService(true, 10);
+        final FREventPolling frEventPolling = polling(true);
+        when(eventPollingService.fetchNewEvents(eq(frEventPolling), eq(API_CLIENT_ID))).thenReturn(EventNotifications.none());
+
+        final DeferredResult<EventNotifications> result = eventLongPollingService.pollEvents(frEventPolling, API_CLIENT_ID, Function.identity());
+
+        assertThat(result.getResult()).isEqualTo(EventNotifications.none());
+        assertThat(eventNotificationRegistry.getParkedRequests()).isZero();
+    }
+
+    @Test
+    void shouldReturnPendingEventsWithoutWaiting() throws Exception {
+        createService(true, 10);
+        final FREventPolling frEventPolling = polling(false);
+        when(eventPollingService.fetchNewEvents(eq(frEventPolling), eq(API_CLIENT_ID))).thenReturn(PENDING_EVENTS);
+
+        final DeferredResult<EventNotifications> result = eventLongPollingService.pollEvents(frEventPolling, API_CLIENT_ID, Function.identity());
+
+        assertThat(result.getResult()).isEqualTo(PENDING_EVENTS);
+        assertThat(eventNotificationRegistry.getParkedRequests()).isZero();
+    }
+
+    @Test
+    void shouldWaitForNewEvents() throws Exception {
+        createService(true, 10);
+        final FREventPolling frEventPolling = polling(false);
+        when(eventPollingService.fetchNewEvents(eq(frEventPolling), eq(API_CLIENT_ID))).thenReturn(EventNotifications.none());
+
+        final DeferredResult<EventNotifications> result = eventLongPollingService.pollEvents(frEventPolling, API_CLIENT_ID, Function.identity());
+
+        assertThat(result.hasResult()).isFalse();
+        assertThat(eventNotificationRegistry.getParkedRequests()).isOne();
+
+        // Events stored for another TPP do not wake the request
+        eventNotificationRegistry.notifyNewEvents("another-client");
+        assertThat(eventNotificationRegistry.getParkedRequests()).isOne();
+
+        when(eventPollingService.fetchNewEvents(eq(frEventPolling), eq(API_CLIENT_ID))).thenReturn(PENDING_EVENTS);
+        eventNotificationRegistry.notifyNewEvents(API_CLIENT_ID);
+
+        assertThat(awaitResult(result)).isEqualTo(PENDING_EVENTS);
+        assertThat(eventNotificationRegistry.getParkedRequests()).isZero();
+    }
+
+    @Test
+    void shouldReturnNoEventsWhenMaxParkedRequestsReached() throws Exception {
+        createService(true, 0);
+        final FREventPolling frEventPolling = polling(false);
+        when(eventPollingService.fetchNewEvents(any(), any())).thenReturn(EventNotifications.none());
+
+        final DeferredResult<EventNotifications> result = eventLongPollingService.pollEvents(frEventPolling, API_CLIENT_ID, Function.identity());
+
+        assertThat(result.getResult()).isEqualTo(EventNotifications.none());
+        assertThat(eventNotificationRegistry.getParkedRequests()).isZero();
+    }
+
+    @Test
+    void shouldRejectLongPollingWhenDisabled() {
+        createService(false, 10);
+
+        assertThatThrownBy(() -> eventLongPollingService.pollEvents(polling(false), API_CLIENT_ID, Function.identity()))
+                .isInstanceOf(OBErrorResponseException.class)
+                .extracting("status").isEqualTo(HttpStatus.NOT_IMPLEMENTED);
+    }
+
+    private static FREventPolling polling(boolean returnImmediately) {
+        return FREventPolling.builder().maxEvents(10).returnImmediately(returnImmediately).build();
+    }
+
+    private static Object awaitResult(DeferredResult<?> result) throws InterruptedException {
+        final long deadline = System.currentTimeMillis() + 5_000;
+        while (!result.hasResult() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        return result.getResult();
+    }
+}
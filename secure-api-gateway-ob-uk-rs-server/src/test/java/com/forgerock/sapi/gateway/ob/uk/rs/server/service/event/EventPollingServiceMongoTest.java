@@ -0,0 +1,101 @@
+/*
+ * Copyright © 2020-2025 ForgeRock AS (obst@forgerock.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.forgerock.sapi.gateway.ob.uk.rs.server.service.event;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.net.URI;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.forgerock.sapi.gateway.ob.uk.common.datamodel.event.FREventPolling;
+import com.forgerock.sapi.gateway.ob.uk.common.datamodel.event.FREventPollingError;
+import com.forgerock.sapi.gateway.rs.resource.store.repo.entity.event.FREventMessageEntity;
+
+import uk.org.openbanking.datamodel.v3.event.OBEvent1;
+import uk.org.openbanking.datamodel.v3.event.OBEventResourceUpdate1;
+import uk.org.openbanking.datamodel.v3.event.OBEventSubject1;
+
+/**
+ * Runs {@link EventPollingService#fetchNewEvents} against the embedded Mongo, the filtering of events with errors is
+ * done by the query so can't be checked with a mocked repository.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class EventPollingServiceMongoTest {
+
+    private static final String API_CLIENT_ID = "abc123";
+
+    @Autowired
+    private EventPollingService eventPollingService;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @BeforeEach
+    @AfterEach
+    void removeData() {
+        mongoTemplate.remove(FREventMessageEntity.class).all();
+    }
+
+    @Test
+    void fetchNewEvents_excludeEventsWithErrorsFromResults() throws Exception {
+        // Given
+        mongoTemplate.save(anEvent("jti-01", null));
+        mongoTemplate.save(anEvent("jti-02", FREventPollingError.builder().error("err1").description("error").build()));
+        mongoTemplate.save(anEvent("jti-03", null));
+        // An error recorded by the TPP on an event already stored
+        eventPollingService.recordTppEventErrors(FREventPolling.builder()
+                .setErrs(Map.of("jti-03", FREventPollingError.builder().error("err2").description("error").build()))
+                .build(), API_CLIENT_ID);
+
+        // When
+        EventNotifications eventNotifications = eventPollingService.fetchNewEvents(FREventPolling.builder()
+                .maxEvents(null) // Do not restrict
+                .returnImmediately(true)
+                .build(), API_CLIENT_ID);
+
+        // Then
+        assertThat(eventNotifications.getSets()).containsOnlyKeys("jti-01");
+        assertThat(eventNotifications.isMoreAvailable()).isFalse();
+    }
+
+    private static FREventMessageEntity anEvent(String jti, FREventPollingError error) {
+        return FREventMessageEntity.builder()
+                .jti(jti)
+                .apiClientId(API_CLIENT_ID)
+                .iss("https://examplebank.com/")
+                .iat(1516239022)
+                .sub(URI.create("https://examplebank.com/api/open-banking/v3.0/pisp/domestic-payments/pmt-7290-003"))
+                .aud("7umx5nTR33811QyQfi")
+                .txn("dfc51628-3479-4b81-ad60-210b43d02306")
+                .toe(1516239022)
+                .events(new OBEvent1().urnColonUkColonOrgColonOpenbankingColonEventsColonResourceUpdate(
+                        new OBEventResourceUpdate1().subject(new OBEventSubject1()
+                                .subjectType("http://openbanking.org.uk/rid_http://openbanking.org.uk/rty")
+                                .httpColonOpenbankingOrgUkRid("pmt-7290-003")
+                                .httpColonOpenbankingOrgUkRty("domestic-payment"))))
+                .errors(error)
+                .build();
+    }
+}
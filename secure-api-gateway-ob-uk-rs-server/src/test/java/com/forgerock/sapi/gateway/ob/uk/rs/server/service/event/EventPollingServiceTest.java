@@ -17,10 +17,9 @@ package com.forgerock.sapi.gateway.ob.uk.rs.server.service.event;
 
 import static com.forgerock.sapi.gateway.rs.resource.store.api.admin.events.FRDataEventsConverter.toOBEventNotification1;
 import static org.assertj.core.api.Assertions.assertThat;
-import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.entry;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.any;
-import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
@@ -29,7 +28,6 @@ import java.net.URI;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
 import java.util.UUID;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -42,7 +40,6 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.forgerock.sapi.gateway.ob.uk.common.datamodel.event.FREventPolling;
 import com.forgerock.sapi.gateway.ob.uk.common.datamodel.event.FREventPollingError;
-import com.forgerock.sapi.gateway.ob.uk.common.error.OBErrorResponseException;
 import com.forgerock.sapi.gateway.rs.resource.store.repo.entity.event.FREventMessageEntity;
 import com.forgerock.sapi.gateway.rs.resource.store.repo.mongo.events.FREventMessageRepository;
 import com.google.common.collect.ImmutableList;
@@ -87,8 +84,9 @@ public class EventPollingServiceTest {
         eventPollingService.acknowledgeEvents(pollingRequest, API_CLIENT_ID);
 
         // Then
-        verify(mockRepo).deleteByApiClientIdAndJti(eq(API_CLIENT_ID), eq(JWT_ID_LIST.get(0)));
-        verify(mockRepo).deleteByApiClientIdAndJti(eq(API_CLIENT_ID), eq(JWT_ID_LIST.get(1)));
+        verify(mockRepo).deleteByApiClientIdAndJtiIn(eq(API_CLIENT_ID),
+                eq(ImmutableList.of(JWT_ID_LIST.get(0), JWT_ID_LIST.get(1), "NotFound")));
+        verifyNoMoreInteractions(mockRepo);
     }
 
     @Test
@@ -120,42 +118,22 @@ public class EventPollingServiceTest {
     }
 
     @Test
-    public void recordTppEventErrors_notificationExists_addError() {
-        // Given
-        FREventMessageEntity existingNotification = aValidFREventMessageEntity(JWT_ID_LIST.get(0));
-        FREventPolling pollingRequest = FREventPolling.builder()
-                .setErrs(
-                        Collections.singletonMap(JWT_ID_LIST.get(1),
-                                FREventPollingError.builder().error("err1").description("error msg").build())
-                )
-                .build();
-        when(mockRepo.findByApiClientIdAndJti(any(), any())).thenReturn(Optional.of(existingNotification));
-
-        // When
-        eventPollingService.recordTppEventErrors(pollingRequest, API_CLIENT_ID);
-
-        // Then
-        verify(mockRepo, times(1)).save(any());
-        assertThat(existingNotification.getErrors().getError()).isEqualTo("err1");
-        assertThat(existingNotification.getErrors().getDescription()).isEqualTo("error msg");
-    }
-
-    @Test
-    public void recordTppEventErrors_notificationDoesNotExist_doNothing() {
+    public void recordTppEventErrors_recordAllErrorsInOneBulkWrite() {
         // Given
+        Map<String, FREventPollingError> errors = ImmutableMap.of(
+                JWT_ID_LIST.get(0), FREventPollingError.builder().error("err1").description("error msg").build(),
+                JWT_ID_LIST.get(1), FREventPollingError.builder().error("err2").description("another error msg").build());
         FREventPolling pollingRequest = FREventPolling.builder()
-                .setErrs(
-                        Collections.singletonMap(JWT_ID_LIST.get(0),
-                                FREventPollingError.builder().error("err1").description("error msg").build())
-                )
+                .setErrs(errors)
                 .build();
-        when(mockRepo.findByApiClientIdAndJti(any(), any())).thenReturn(Optional.empty());
+        when(mockRepo.setErrors(any(), any())).thenReturn(2);
 
         // When
         eventPollingService.recordTppEventErrors(pollingRequest, API_CLIENT_ID);
 
         // Then
-        verify(mockRepo, times(0)).save(any());
+        verify(mockRepo).setErrors(eq(API_CLIENT_ID), eq(errors));
+        verifyNoMoreInteractions(mockRepo);
     }
 
     @Test
@@ -177,105 +155,78 @@ public class EventPollingServiceTest {
         // Given
         FREventMessageEntity existingNotification1 = aValidFREventMessageEntity(JWT_ID_LIST.get(0));
         FREventMessageEntity existingNotification2 = aValidFREventMessageEntity(JWT_ID_LIST.get(1));
-        when(mockRepo.findByApiClientId(eq(API_CLIENT_ID))).thenReturn(
+        when(mockRepo.findPendingByApiClientId(eq(API_CLIENT_ID), eq(6))).thenReturn(
                 ImmutableList.of(existingNotification1, existingNotification2)
         );
 
         // When
         FREventPolling pollingRequest = FREventPolling.builder()
-                .maxEvents(100)
+                .maxEvents(5)
                 .returnImmediately(true)
                 .build();
-        Map<String, String> eventNotifications = eventPollingService.fetchNewEvents(pollingRequest, API_CLIENT_ID);
+        EventNotifications eventNotifications = eventPollingService.fetchNewEvents(pollingRequest, API_CLIENT_ID);
 
         // Then
-        assertThat(eventNotifications.size()).isEqualTo(2);
-        assertThat(eventNotifications.get(JWT_ID_LIST.get(0))).isEqualTo(
-                objectMapper.writeValueAsString(toOBEventNotification1(existingNotification1))
-        );
-        assertThat(eventNotifications.get(JWT_ID_LIST.get(1))).isEqualTo(
-                objectMapper.writeValueAsString(toOBEventNotification1(existingNotification2))
+        assertThat(eventNotifications.isMoreAvailable()).isFalse();
+        assertThat(eventNotifications.getSets()).containsExactly(
+                entry(JWT_ID_LIST.get(0), objectMapper.writeValueAsString(toOBEventNotification1(existingNotification1))),
+                entry(JWT_ID_LIST.get(1), objectMapper.writeValueAsString(toOBEventNotification1(existingNotification2)))
         );
     }
 
     @Test
-    public void fetchNewEvents_excludeEventsWithErrorsFromResults() throws Exception {
+    public void fetchNewEvents_moreEventsThanRequested_returnFirstEventsAndMoreAvailable() throws Exception {
         // Given
-        FREventMessageEntity existingNotificationWithoutError = aValidFREventMessageEntity(JWT_ID_LIST.get(0));
-        FREventMessageEntity existingNotificationWithError = aValidFREventMessageEntity(
-                JWT_ID_LIST.get(1),
-                FREventPollingError.builder().error("err1").description("error").build()
-        );
-
-        when(mockRepo.findByApiClientId(eq(API_CLIENT_ID))).thenReturn(
-                ImmutableList.of(existingNotificationWithoutError, existingNotificationWithError)
+        FREventMessageEntity existingNotification1 = aValidFREventMessageEntity(JWT_ID_LIST.get(0));
+        FREventMessageEntity existingNotification2 = aValidFREventMessageEntity(JWT_ID_LIST.get(1));
+        when(mockRepo.findPendingByApiClientId(eq(API_CLIENT_ID), eq(2))).thenReturn(
+                ImmutableList.of(existingNotification1, existingNotification2)
         );
 
         // When
         FREventPolling pollingRequest = FREventPolling.builder()
-                .maxEvents(null) // Do not restrict
+                .maxEvents(1)
                 .returnImmediately(true)
                 .build();
-        Map<String, String> eventNotifications = eventPollingService.fetchNewEvents(pollingRequest, API_CLIENT_ID);
+        EventNotifications eventNotifications = eventPollingService.fetchNewEvents(pollingRequest, API_CLIENT_ID);
 
         // Then
-        assertThat(eventNotifications.size()).isEqualTo(1);
-        assertThat(eventNotifications.get(JWT_ID_LIST.get(0))).isEqualTo(
-                objectMapper.writeValueAsString(toOBEventNotification1(existingNotificationWithoutError))
-        );
+        assertThat(eventNotifications.isMoreAvailable()).isTrue();
+        assertThat(eventNotifications.getSets()).containsOnlyKeys(JWT_ID_LIST.get(0));
     }
 
     @Test
-    public void fetchNewEvents_zeroEventsRequested_returnNothing() throws Exception {
+    public void fetchNewEvents_maxEventsExceedsLimit_applyLimit() throws Exception {
+        // Given
+        when(mockRepo.findPendingByApiClientId(eq(API_CLIENT_ID), eq(EVENTS_LIMIT + 1))).thenReturn(Collections.emptyList());
+
         // When
         FREventPolling pollingRequest = FREventPolling.builder()
-                .maxEvents(0)
+                .maxEvents(null) // Do not restrict
                 .returnImmediately(true)
                 .build();
-        Map<String, String> eventNotifications = eventPollingService.fetchNewEvents(pollingRequest, API_CLIENT_ID);
+        EventNotifications eventNotifications = eventPollingService.fetchNewEvents(pollingRequest, API_CLIENT_ID);
 
         // Then
-        assertThat(eventNotifications.size()).isEqualTo(0);
-        verifyNoMoreInteractions(mockRepo);
+        assertThat(eventNotifications.isEmpty()).isTrue();
+        assertThat(eventNotifications.isMoreAvailable()).isFalse();
+        verify(mockRepo).findPendingByApiClientId(eq(API_CLIENT_ID), eq(EVENTS_LIMIT + 1));
     }
 
-
     @Test
-    public void fetchNewEvents_longPollingRequest_rejectUnsupported() throws Exception {
-        // Given
+    public void fetchNewEvents_zeroEventsRequested_returnNothing() throws Exception {
+        // When
         FREventPolling pollingRequest = FREventPolling.builder()
-                .maxEvents(10)
-                .returnImmediately(false)
+                .maxEvents(0)
+                .returnImmediately(true)
                 .build();
-
-        assertThatThrownBy(() ->
-                // When
-                eventPollingService.fetchNewEvents(pollingRequest, API_CLIENT_ID))
-                // Then
-                .isInstanceOf(OBErrorResponseException.class);
-    }
-
-    @Test
-    public void truncateEvents_threeEventsExist_maxOfTwo_truncateEventsToTwo() {
-        // Given
-        int maxEventsParam = 2;
-        ImmutableMap<String, String> allEventsMap = ImmutableMap.of("11111", "jwt1", "22222", "jwt2", "33333", "jwt3");
-
-        // When
-        Map<String, String> truncatedEvents = eventPollingService.truncateEvents(maxEventsParam, allEventsMap, API_CLIENT_ID);
+        EventNotifications eventNotifications = eventPollingService.fetchNewEvents(pollingRequest, API_CLIENT_ID);
 
         // Then
-        assertThat(truncatedEvents.size()).isEqualTo(2);
+        assertThat(eventNotifications.isEmpty()).isTrue();
+        verifyNoMoreInteractions(mockRepo);
     }
 
-    @Test
-    public void truncateEvents_noEvents_doNothing() {
-        // When
-        Map<String, String> truncatedEvents = eventPollingService.truncateEvents(2, Collections.emptyMap(), API_CLIENT_ID);
-
-        // Then
-        assertThat(truncatedEvents.size()).isEqualTo(0);
-    }
 
     private FREventMessageEntity aValidFREventMessageEntity() {
         return aValidFREventMessageEntity(UUID.randomUUID().toString(), null);
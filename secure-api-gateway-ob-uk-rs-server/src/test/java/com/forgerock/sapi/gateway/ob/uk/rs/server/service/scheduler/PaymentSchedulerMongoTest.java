@@ -0,0 +1,193 @@
+/*
+ * Copyright © 2020-2025 ForgeRock AS (obst@forgerock.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.forgerock.sapi.gateway.ob.uk.rs.server.service.scheduler;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+
+import org.bson.Document;
+import org.joda.time.DateTime;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.forgerock.sapi.gateway.ob.uk.common.datamodel.account.FRScheduledPaymentData;
+import com.forgerock.sapi.gateway.ob.uk.common.datamodel.account.FRStandingOrderData;
+import com.forgerock.sapi.gateway.ob.uk.common.datamodel.common.FRAmount;
+import com.forgerock.sapi.gateway.rs.resource.store.repo.entity.account.FRScheduledPayment;
+import com.forgerock.sapi.gateway.rs.resource.store.repo.entity.account.FRScheduledPayment.ScheduledPaymentStatus;
+import com.forgerock.sapi.gateway.rs.resource.store.repo.entity.account.FRStandingOrder;
+import com.forgerock.sapi.gateway.rs.resource.store.repo.entity.account.FRStandingOrder.StandingOrderStatus;
+import com.forgerock.sapi.gateway.rs.resource.store.repo.entity.payment.FRSchedulerLease;
+import com.forgerock.sapi.gateway.rs.resource.store.repo.mongo.payments.ScheduledPaymentExecutionRepository;
+import com.forgerock.sapi.gateway.rs.resource.store.repo.mongo.payments.SchedulerLeaseRepository;
+
+/**
+ * Runs the payment scheduler's lease and execution writes against the embedded Mongo.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class PaymentSchedulerMongoTest {
+
+    private static final String LEASE_ID = FRSchedulerLease.shardLeaseId(1);
+    private static final Duration LEASE_TTL = Duration.ofMinutes(1);
+    private static final FRAmount AMOUNT = FRAmount.builder().amount("10.00").currency("GBP").build();
+
+    @Autowired
+    private SchedulerLeaseRepository leaseRepository;
+
+    @Autowired
+    private ScheduledPaymentExecutionRepository executionRepository;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @BeforeEach
+    @AfterEach
+    void removeData() {
+        mongoTemplate.remove(FRSchedulerLease.class).all();
+        mongoTemplate.remove(FRScheduledPayment.class).all();
+        mongoTemplate.remove(FRStandingOrder.class).all();
+    }
+
+    @Test
+    void shouldGrantLeaseToOneNodeAtATime() {
+        assertThat(leaseRepository.tryAcquire(LEASE_ID, "node-a", LEASE_TTL)).isTrue();
+        assertThat(leaseRepository.tryAcquire(LEASE_ID, "node-b", LEASE_TTL)).isFalse();
+        // The owner renews its lease
+        assertThat(leaseRepository.tryAcquire(LEASE_ID, "node-a", LEASE_TTL)).isTrue();
+        assertThat(mongoTemplate.findById(LEASE_ID, FRSchedulerLease.class).getOwner()).isEqualTo("node-a");
+    }
+
+    @Test
+    void shouldLetAnotherNodeTakeOverExpiredLease() throws InterruptedException {
+        assertThat(leaseRepository.tryAcquire(LEASE_ID, "node-a", Duration.ofMillis(1))).isTrue();
+        Thread.sleep(20);
+
+        assertThat(leaseRepository.tryAcquire(LEASE_ID, "node-b", LEASE_TTL)).isTrue();
+        assertThat(leaseRepository.tryAcquire(LEASE_ID, "node-a", LEASE_TTL)).isFalse();
+        assertThat(mongoTemplate.findById(LEASE_ID, FRSchedulerLease.class).getOwner()).isEqualTo("node-b");
+    }
+
+    @Test
+    void shouldOnlyReleaseLeaseHeldByOwner() {
+        leaseRepository.tryAcquire(LEASE_ID, "node-a", LEASE_TTL);
+
+        leaseRepository.release(LEASE_ID, "node-b");
+        assertThat(leaseRepository.tryAcquire(LEASE_ID, "node-b", LEASE_TTL)).isFalse();
+
+        leaseRepository.release(LEASE_ID, "node-a");
+        assertThat(leaseRepository.tryAcquire(LEASE_ID, "node-b", LEASE_TTL)).isTrue();
+    }
+
+    @Test
+    void shouldCountLiveNodes() {
+        leaseRepository.tryAcquire(FRSchedulerLease.nodeLeaseId("node-a"), "node-a", LEASE_TTL);
+        leaseRepository.tryAcquire(FRSchedulerLease.nodeLeaseId("node-b"), "node-b", Duration.ofMillis(-1));
+        leaseRepository.tryAcquire(LEASE_ID, "node-a", LEASE_TTL);
+
+        assertThat(leaseRepository.countLiveNodes()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldAssignShardOnWriteAndOnlyReadOwnedShards() {
+        final FRScheduledPayment saved = mongoTemplate.save(scheduledPayment("sp-1", DateTime.now().minusMinutes(1)));
+        final int shard = FRSchedulerLease.shardOf("sp-1");
+        assertThat(saved.getShard()).isEqualTo(shard);
+
+        final Date dueBefore = DateTime.now().plusMinutes(5).toDate();
+        assertThat(executionRepository.findDueScheduledPayments(Set.of(shard), dueBefore, 10))
+                .extracting(FRScheduledPayment::getId).containsExactly("sp-1");
+        assertThat(executionRepository.findDueScheduledPayments(Set.of((shard + 1) % FRSchedulerLease.SHARDS), dueBefore, 10))
+                .isEmpty();
+    }
+
+    @Test
+    void shouldAssignShardsOfInstructionsStoredWithoutOne() {
+        mongoTemplate.insert(new Document("_id", "so-legacy").append("status", StandingOrderStatus.ACTIVE.name()),
+                mongoTemplate.getCollectionName(FRStandingOrder.class));
+
+        assertThat(executionRepository.assignMissingShards(10)).isEqualTo(1);
+        assertThat(executionRepository.assignMissingShards(10)).isZero();
+        assertThat(mongoTemplate.findById("so-legacy", FRStandingOrder.class).getShard())
+                .isEqualTo(FRSchedulerLease.shardOf("so-legacy"));
+    }
+
+    @Test
+    void shouldCompleteScheduledPaymentOnlyOnce() {
+        mongoTemplate.save(scheduledPayment("sp-1", DateTime.now().minusMinutes(1)));
+
+        assertThat(executionRepository.completeScheduledPayments(List.of("sp-1"))).isEqualTo(1);
+        // A second node executing the same instruction, e.g. whilst the shard changed hands
+        assertThat(executionRepository.completeScheduledPayments(List.of("sp-1"))).isZero();
+        assertThat(mongoTemplate.findById("sp-1", FRScheduledPayment.class).getStatus()).isEqualTo(ScheduledPaymentStatus.COMPLETED);
+    }
+
+    @Test
+    void shouldExecuteStandingOrderPaymentOnlyOnce() {
+        final DateTime nextPayment = DateTime.now().minusMinutes(1).withMillisOfSecond(0);
+        mongoTemplate.save(standingOrder("so-1", nextPayment));
+        final Set<Integer> shards = Set.of(FRSchedulerLease.shardOf("so-1"));
+        final Date dueBefore = DateTime.now().plusMinutes(5).toDate();
+        // Two nodes read the order before either executes it
+        final FRStandingOrder readByNodeA = executionRepository.findDueStandingOrders(shards, dueBefore, 10).get(0);
+        final FRStandingOrder readByNodeB = executionRepository.findDueStandingOrders(shards, dueBefore, 10).get(0);
+
+        assertThat(executionRepository.updateExecutedStandingOrders(List.of(PaymentScheduler.executeStandingOrder(readByNodeA))))
+                .isEqualTo(1);
+        assertThat(executionRepository.updateExecutedStandingOrders(List.of(PaymentScheduler.executeStandingOrder(readByNodeB))))
+                .isZero();
+
+        final FRStandingOrder stored = mongoTemplate.findById("so-1", FRStandingOrder.class);
+        assertThat(stored.getPaymentsExecuted()).isEqualTo(1);
+        assertThat(stored.getStandingOrder().getLastPaymentAmount()).isEqualTo(AMOUNT);
+        assertThat(stored.getStandingOrder().getNextPaymentDateTime().getMillis()).isEqualTo(nextPayment.plusDays(1).getMillis());
+    }
+
+    private static FRScheduledPayment scheduledPayment(String id, DateTime scheduledPaymentDateTime) {
+        return FRScheduledPayment.builder()
+                .id(id)
+                .status(ScheduledPaymentStatus.PENDING)
+                .scheduledPayment(FRScheduledPaymentData.builder()
+                        .scheduledPaymentId(id)
+                        .scheduledPaymentDateTime(scheduledPaymentDateTime)
+                        .build())
+                .build();
+    }
+
+    private static FRStandingOrder standingOrder(String id, DateTime nextPaymentDateTime) {
+        return FRStandingOrder.builder()
+                .id(id)
+                .status(StandingOrderStatus.ACTIVE)
+                .standingOrder(FRStandingOrderData.builder()
+                        .standingOrderId(id)
+                        .standingOrderStatusCode(FRStandingOrderData.FRStandingOrderStatus.ACTIVE)
+                        .frequency("EvryDay")
+                        .firstPaymentAmount(AMOUNT)
+                        .nextPaymentAmount(AMOUNT)
+                        .nextPaymentDateTime(nextPaymentDateTime)
+                        .build())
+                .build();
+    }
+}
@@ -0,0 +1,266 @@
+/*
+ * Copyright © 2020-2025 ForgeRock AS (obst@forgerock.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.forgerock.sapi.gateway.ob.uk.rs.server.service.scheduler;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.joda.time.DateTime;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import com.forgerock.sapi.gateway.ob.uk.common.datamodel.account.FRScheduledPaymentData;
+import com.forgerock.sapi.gateway.ob.uk.common.datamodel.account.FRStandingOrderData;
+import com.forgerock.sapi.gateway.ob.uk.common.datamodel.common.FRAmount;
+import com.forgerock.sapi.gateway.rs.resource.store.repo.entity.account.FRScheduledPayment;
+import com.forgerock.sapi.gateway.rs.resource.store.repo.entity.account.FRStandingOrder;
+import com.forgerock.sapi.gateway.rs.resource.store.repo.entity.account.FRStandingOrder.StandingOrderStatus;
+import com.forgerock.sapi.gateway.rs.resource.store.repo.entity.payment.FRSchedulerLease;
+import com.forgerock.sapi.gateway.rs.resource.store.repo.mongo.payments.ScheduledPaymentExecutionRepository;
+import com.forgerock.sapi.gateway.rs.resource.store.repo.mongo.payments.ScheduledPaymentExecutionRepository.ExecutedStandingOrder;
+import com.forgerock.sapi.gateway.rs.resource.store.repo.mongo.payments.SchedulerLeaseRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class PaymentSchedulerTest {
+
+    private static final String NODE_ID = "node-1";
+    private static final Duration LEASE_TTL = Duration.ofSeconds(90);
+    private static final FRAmount FIRST_AMOUNT = FRAmount.builder().amount("100.00").currency("GBP").build();
+    private static final FRAmount NEXT_AMOUNT = FRAmount.builder().amount("10.00").currency("GBP").build();
+    private static final FRAmount FINAL_AMOUNT = FRAmount.builder().amount("5.00").currency("GBP").build();
+
+    private final ScheduledPaymentExecutionRepository executionRepository = mock(ScheduledPaymentExecutionRepository.class);
+    private final SchedulerLeaseRepository leaseRepository = mock(SchedulerLeaseRepository.class);
+    private SimpleMeterRegistry meterRegistry;
+    private PaymentScheduler paymentScheduler;
+
+    @BeforeEach
+    void setUp() {
+        when(leaseRepository.tryAcquire(anyString(), eq(NODE_ID), eq(LEASE_TTL))).thenReturn(true);
+        when(leaseRepository.countLiveNodes()).thenReturn(1L);
+        meterRegistry = new SimpleMeterRegistry();
+        paymentScheduler = createPaymentScheduler(2000);
+    }
+
+    private PaymentScheduler createPaymentScheduler(int loadLimit) {
+        return new PaymentScheduler(executionRepository, leaseRepository, meterRegistry, NODE_ID, LEASE_TTL,
+                Duration.ofSeconds(30), Duration.ofMinutes(5), Duration.ofSeconds(1), Duration.ofMinutes(1), 500, loadLimit);
+    }
+
+    @Test
+    void shouldExecuteScheduledPaymentsWhenDue() {
+        final FRScheduledPayment overdue = scheduledPayment("sp-1", DateTime.now().minusHours(2));
+        final FRScheduledPayment notYetDue = scheduledPayment("sp-2", DateTime.now().plusMinutes(2));
+        when(executionRepository.findDueScheduledPayments(any(), any(), anyInt())).thenReturn(List.of(overdue, notYetDue));
+        when(executionRepository.completeScheduledPayments(anyList())).thenReturn(1L);
+
+        paymentScheduler.refresh();
+        assertThat(meterRegistry.get(PaymentScheduler.DUE).gauge().value()).isEqualTo(2);
+        paymentScheduler.executeDue();
+
+        verify(executionRepository).completeScheduledPayments(eq(List.of("sp-1")));
+        assertThat(meterRegistry.get(PaymentScheduler.DUE).gauge().value()).isEqualTo(1);
+        assertThat(meterRegistry.get(PaymentScheduler.EXECUTED).tag("type", "scheduled-payment").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get(PaymentScheduler.LATE).tag("type", "scheduled-payment").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get(PaymentScheduler.LAG).tag("type", "scheduled-payment").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldExecuteDueStandingOrders() {
+        final DateTime nextPayment = DateTime.now().minusSeconds(10);
+        final FRStandingOrder standingOrder = standingOrder("so-1", StandingOrderStatus.ACTIVE, "EvryDay", nextPayment);
+        when(executionRepository.findDueStandingOrders(any(), any(), anyInt())).thenReturn(List.of(standingOrder));
+        when(executionRepository.updateExecutedStandingOrders(anyList())).thenReturn(1);
+
+        paymentScheduler.refresh();
+        paymentScheduler.executeDue();
+
+        final ArgumentCaptor<List<ExecutedStandingOrder>> executedCaptor = ArgumentCaptor.forClass(List.class);
+        verify(executionRepository).updateExecutedStandingOrders(executedCaptor.capture());
+        final ExecutedStandingOrder executed = executedCaptor.getValue().get(0);
+        assertThat(executed.getPreviousStatus()).isEqualTo(StandingOrderStatus.ACTIVE);
+        assertThat(executed.getPreviousNextPaymentDateTime()).isEqualTo(nextPayment);
+        assertThat(executed.getStandingOrder().getStandingOrder().getNextPaymentDateTime()).isEqualTo(nextPayment.plusDays(1));
+        assertThat(meterRegistry.get(PaymentScheduler.EXECUTED).tag("type", "standing-order").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.find(PaymentScheduler.LATE).counter()).isNull();
+    }
+
+    @Test
+    void shouldNotExecuteWithoutShardLeases() {
+        when(leaseRepository.tryAcquire(anyString(), eq(NODE_ID), eq(LEASE_TTL))).thenReturn(false);
+
+        paymentScheduler.refresh();
+        paymentScheduler.executeDue();
+
+        verify(executionRepository, never()).findDueScheduledPayments(any(), any(), anyInt());
+        verify(executionRepository, never()).completeScheduledPayments(anyList());
+    }
+
+    @Test
+    void shouldOnlyReadInstructionsOfOwnedShards() {
+        paymentScheduler.refresh();
+
+        verify(executionRepository).assignMissingShards(500);
+        verify(executionRepository).findDueScheduledPayments(eq(allShards()), any(), eq(2000));
+        verify(executionRepository).findDueStandingOrders(eq(allShards()), any(), eq(2000));
+    }
+
+    @Test
+    void shouldNotReloadTruncatedWindowWhenNothingWasQueued() {
+        paymentScheduler = createPaymentScheduler(1);
+        // The instruction's shard was lost between the read and it being queued
+        final FRScheduledPayment otherShard = scheduledPayment("sp-1", DateTime.now().minusMinutes(1));
+        otherShard.setShard(null);
+        when(executionRepository.findDueScheduledPayments(any(), any(), anyInt())).thenReturn(List.of(otherShard));
+
+        paymentScheduler.refresh();
+        paymentScheduler.executeDue();
+        paymentScheduler.executeDue();
+
+        verify(executionRepository, times(1)).findDueScheduledPayments(any(), any(), anyInt());
+        verify(executionRepository, never()).completeScheduledPayments(anyList());
+    }
+
+    @Test
+    void shouldMakeFirstPaymentOfPendingStandingOrder() {
+        final DateTime firstPayment = new DateTime(2024, 1, 1, 9, 0);
+        final FRStandingOrder standingOrder = standingOrder("so-1", StandingOrderStatus.PENDING, "EvryDay", firstPayment.plusDays(1));
+        standingOrder.getStandingOrder().setFirstPaymentDateTime(firstPayment);
+
+        final ExecutedStandingOrder executed = PaymentScheduler.executeStandingOrder(standingOrder);
+
+        assertThat(executed.getPreviousStatus()).isEqualTo(StandingOrderStatus.PENDING);
+        assertThat(standingOrder.getStatus()).isEqualTo(StandingOrderStatus.ACTIVE);
+        assertThat(standingOrder.getPaymentsExecuted()).isEqualTo(1);
+        assertThat(standingOrder.getStandingOrder().getLastPaymentDateTime()).isEqualTo(firstPayment);
+        assertThat(standingOrder.getStandingOrder().getLastPaymentAmount()).isEqualTo(FIRST_AMOUNT);
+        assertThat(standingOrder.getStandingOrder().getNextPaymentDateTime()).isEqualTo(firstPayment.plusDays(1));
+    }
+
+    @Test
+    void shouldCompleteStandingOrderAfterNumberOfPayments() {
+        final DateTime nextPayment = new DateTime(2024, 1, 3, 9, 0);
+        final FRStandingOrder standingOrder = standingOrder("so-1", StandingOrderStatus.ACTIVE, "EvryDay", nextPayment);
+        standingOrder.getStandingOrder().setNumberOfPayments("3");
+        standingOrder.setPaymentsExecuted(2);
+
+        PaymentScheduler.executeStandingOrder(standingOrder);
+
+        assertThat(standingOrder.getStatus()).isEqualTo(StandingOrderStatus.COMPLETED);
+        assertThat(standingOrder.getPaymentsExecuted()).isEqualTo(3);
+        assertThat(standingOrder.getStandingOrder().getNextPaymentDateTime()).isNull();
+        assertThat(standingOrder.getStandingOrder().getLastPaymentAmount()).isEqualTo(FINAL_AMOUNT);
+        assertThat(standingOrder.getStandingOrder().getStandingOrderStatusCode()).isEqualTo(FRStandingOrderData.FRStandingOrderStatus.INACTIVE);
+    }
+
+    @Test
+    void shouldMakeFinalPaymentOnFinalPaymentDateTime() {
+        final DateTime nextPayment = new DateTime(2024, 1, 1, 9, 0);
+        final DateTime finalPayment = nextPayment.plusDays(3);
+        final FRStandingOrder standingOrder = standingOrder("so-1", StandingOrderStatus.ACTIVE, "IntrvlWkDay:01:01", nextPayment);
+        standingOrder.getStandingOrder().setFinalPaymentDateTime(finalPayment);
+
+        PaymentScheduler.executeStandingOrder(standingOrder);
+
+        assertThat(standingOrder.getStatus()).isEqualTo(StandingOrderStatus.ACTIVE);
+        assertThat(standingOrder.getStandingOrder().getLastPaymentAmount()).isEqualTo(NEXT_AMOUNT);
+        assertThat(standingOrder.getStandingOrder().getNextPaymentDateTime()).isEqualTo(finalPayment);
+
+        PaymentScheduler.executeStandingOrder(standingOrder);
+
+        assertThat(standingOrder.getStatus()).isEqualTo(StandingOrderStatus.COMPLETED);
+        assertThat(standingOrder.getStandingOrder().getLastPaymentDateTime()).isEqualTo(finalPayment);
+    }
+
+    @Test
+    void shouldRejectStandingOrderWithInvalidFrequency() {
+        final FRStandingOrder standingOrder = standingOrder("so-1", StandingOrderStatus.ACTIVE, "EvryDayx", DateTime.now());
+
+        PaymentScheduler.executeStandingOrder(standingOrder);
+
+        assertThat(standingOrder.getStatus()).isEqualTo(StandingOrderStatus.REJECTED);
+        assertThat(standingOrder.getRejectionReason()).isEqualTo("Frequency type value not found: EvryDayx");
+        assertThat(standingOrder.getPaymentsExecuted()).isZero();
+    }
+
+    @Test
+    void shouldLeaseFairShareOfShards() {
+        final ShardLeases shardLeases = new ShardLeases(leaseRepository, NODE_ID, 4, LEASE_TTL);
+        when(leaseRepository.countLiveNodes()).thenReturn(2L);
+
+        final Set<Integer> owned = shardLeases.renew();
+        assertThat(owned).hasSize(2);
+
+        // Two more nodes join, the extra shard is released for them
+        when(leaseRepository.countLiveNodes()).thenReturn(4L);
+        final Set<Integer> rebalanced = shardLeases.renew();
+        assertThat(rebalanced).hasSize(1);
+        assertThat(owned).containsAll(rebalanced);
+        owned.stream().filter(shard -> !rebalanced.contains(shard)).forEach(released ->
+                verify(leaseRepository).release(eq(FRSchedulerLease.shardLeaseId(released)), eq(NODE_ID)));
+    }
+
+    private static Set<Integer> allShards() {
+        return IntStream.range(0, FRSchedulerLease.SHARDS).boxed().collect(Collectors.toSet());
+    }
+
+    private static FRScheduledPayment scheduledPayment(String id, DateTime scheduledPaymentDateTime) {
+        return FRScheduledPayment.builder()
+                .id(id)
+                .shard(FRSchedulerLease.shardOf(id))
+                .status(FRScheduledPayment.ScheduledPaymentStatus.PENDING)
+                .scheduledPayment(FRScheduledPaymentData.builder()
+                        .scheduledPaymentId(id)
+                        .scheduledPaymentDateTime(scheduledPaymentDateTime)
+                        .build())
+                .build();
+    }
+
+    private static FRStandingOrder standingOrder(String id, StandingOrderStatus status, String frequency, DateTime nextPaymentDateTime) {
+        return FRStandingOrder.builder()
+                .id(id)
+                .shard(FRSchedulerLease.shardOf(id))
+                .status(status)
+                .standingOrder(FRStandingOrderData.builder()
+                        .standingOrderId(id)
+                        .standingOrderStatusCode(FRStandingOrderData.FRStandingOrderStatus.ACTIVE)
+                        .frequency(frequency)
+                        .firstPaymentAmount(FIRST_AMOUNT)
+                        .nextPaymentAmount(NEXT_AMOUNT)
+                        .finalPaymentAmount(FINAL_AMOUNT)
+                        .nextPaymentDateTime(nextPaymentDateTime)
+                        .build())
+                .build();
+    }
+}
@@ -0,0 +1,46 @@
+/*
+ * Copyright © 2020-2025 ForgeRock AS (obst@forgerock.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.forgerock.sapi.gateway.ob.uk.rs.server.v4.common.mapper;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+import com.forgerock.sapi.gateway.ob.uk.common.datamodel.converter.v3.mapper.FRModelMapper;
+
+import uk.org.openbanking.datamodel.v4.payment.OBWriteDomesticStandingOrder3DataInitiation;
+import uk.org.openbanking.datamodel.v4.payment.OBWriteDomesticStandingOrderConsentResponse6DataInitiation;
+import uk.org.openbanking.testsupport.v4.payment.OBWriteDomesticStandingOrderConsentTestDataFactory;
+
+/**
+ * Verifies that the generated mappings produce the same result as the reflective {@link FRModelMapper} they replace.
+ */
+class OBConsentResponseInitiationMapperTest {
+
+    @Test
+    void shouldMapDomesticStandingOrderInitiationAsFRModelMapper() {
+        final OBWriteDomesticStandingOrder3DataInitiation initiation =
+                OBWriteDomesticStandingOrderConsentTestDataFactory.aValidOBWriteDomesticStandingOrderConsent5().getData().getInitiation();
+
+        assertThat(OBConsentResponseInitiationMapper.INSTANCE.toOBWriteDomesticStandingOrderConsentResponse6DataInitiation(initiation))
+                .isEqualTo(FRModelMapper.map(initiation, OBWriteDomesticStandingOrderConsentResponse6DataInitiation.class));
+    }
+
+    @Test
+    void shouldMapNullToNull() {
+        assertThat(OBConsentResponseInitiationMapper.INSTANCE.toOBWriteDomesticStandingOrderConsentResponse6DataInitiation(null)).isNull();
+    }
+}
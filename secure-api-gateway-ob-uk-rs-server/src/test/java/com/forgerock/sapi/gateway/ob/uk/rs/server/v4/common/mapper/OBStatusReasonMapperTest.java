@@ -0,0 +1,50 @@
+/*
+ * Copyright © 2020-2025 ForgeRock AS (obst@forgerock.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.forgerock.sapi.gateway.ob.uk.rs.server.v4.common.mapper;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.forgerock.sapi.gateway.ob.uk.common.datamodel.converter.v3.mapper.FRModelMapper;
+
+import uk.org.openbanking.datamodel.v4.common.OBStatusReason;
+import uk.org.openbanking.datamodel.v4.payment.OBWriteDomesticConsentResponse5Data;
+import uk.org.openbanking.datamodel.v4.payment.OBWriteDomesticResponse5Data;
+
+/**
+ * Verifies that {@link OBStatusReasonMapper} produces the same result as the reflective {@link FRModelMapper} it
+ * replaces, for the statusReason of the new response data that it is called with.
+ */
+class OBStatusReasonMapperTest {
+
+    @Test
+    void shouldMapStatusReasonOfNewResponseDataAsFRModelMapper() {
+        for (List<OBStatusReason> statusReasons : Arrays.asList(new OBWriteDomesticConsentResponse5Data().getStatusReason(),
+                                                               new OBWriteDomesticResponse5Data().getStatusReason())) {
+            assertThat(OBStatusReasonMapper.toOBStatusReason(statusReasons))
+                    .isEqualTo(FRModelMapper.map(statusReasons, OBStatusReason.class));
+        }
+    }
+
+    @Test
+    void shouldMapNullToNull() {
+        assertThat(OBStatusReasonMapper.toOBStatusReason(null)).isNull();
+    }
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright © 2020-2025 ForgeRock AS (obst@forgerock.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.forgerock.sapi.gateway.ob.uk.rs.server.web;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+
+import com.forgerock.sapi.gateway.ob.uk.rs.server.api.discovery.AvailableApiEndpoint;
+import com.forgerock.sapi.gateway.ob.uk.rs.server.api.discovery.AvailableApiEndpointsResolver;
+import com.forgerock.sapi.gateway.ob.uk.rs.server.api.discovery.ControllerMethod;
+import com.forgerock.sapi.gateway.ob.uk.rs.server.api.discovery.DiscoveryApiConfigurationProperties;
+import com.forgerock.sapi.gateway.ob.uk.rs.server.api.discovery.DiscoveryApiService;
+import com.forgerock.sapi.gateway.ob.uk.rs.server.common.OBApiReference;
+
+/**
+ * Unit test for {@link DisabledEndpointInterceptor}.
+ */
+class DisabledEndpointInterceptorTest {
+
+    private final TestController controller = new TestController();
+
+    private HandlerMethod getAccountHandler;
+    private HandlerMethod getAccountsHandler;
+    private DiscoveryApiService discoveryApiService;
+    private DisabledEndpointInterceptor interceptor;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        getAccountHandler = new HandlerMethod(controller, TestController.class.getMethod("getAccount"));
+        getAccountsHandler = new HandlerMethod(controller, TestController.class.getMethod("getAccounts"));
+
+        final AvailableApiEndpointsResolver availableApiEndpointsResolver = mock(AvailableApiEndpointsResolver.class);
+        when(availableApiEndpointsResolver.getAvailableApiEndpoints()).thenReturn(List.of(
+                availableEndpoint(OBApiReference.GET_ACCOUNT, getAccountHandler),
+                availableEndpoint(OBApiReference.GET_ACCOUNTS, getAccountsHandler)));
+        discoveryApiService = new DiscoveryApiService(disabledApi(OBApiReference.GET_ACCOUNT), availableApiEndpointsResolver);
+
+        discoveryApiService.setHandlerMethods(List.of(getAccountHandler, getAccountsHandler));
+
+        interceptor = new DisabledEndpointInterceptor();
+        interceptor.setDiscoveryApiService(discoveryApiService);
+    }
+
+    @Test
+    void shouldBlockDisabledEndpoint() {
+        final MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertThat(interceptor.preHandle(new MockHttpServletRequest(), response, getAccountHandler)).isFalse();
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.NOT_FOUND.value());
+    }
+
+    @Test
+    void shouldAllowEnabledEndpointAndOtherHandlers() {
+        assertThat(interceptor.preHandle(new MockHttpServletRequest(), new MockHttpServletResponse(), getAccountsHandler)).isTrue();
+        assertThat(interceptor.preHandle(new MockHttpServletRequest(), new MockHttpServletResponse(), new Object())).isTrue();
+    }
+
+    @Test
+    void shouldMatchHandlerMethodsResolvedPerRequest() {
+        // The handler mapping hands out a new HandlerMethod per request, for the same Method
+        final HandlerMethod requestHandler = new HandlerMethod(controller, getAccountHandler.getMethod());
+
+        assertThat(interceptor.preHandle(new MockHttpServletRequest(), new MockHttpServletResponse(), requestHandler)).isFalse();
+    }
+
+    @Test
+    void shouldUseNewConfigurationAfterReload() {
+        discoveryApiService.reload(disabledApi(OBApiReference.GET_ACCOUNTS));
+
+        assertThat(interceptor.preHandle(new MockHttpServletRequest(), new MockHttpServletResponse(), getAccountHandler)).isTrue();
+        assertThat(interceptor.preHandle(new MockHttpServletRequest(), new MockHttpServletResponse(), getAccountsHandler)).isFalse();
+    }
+
+    @Test
+    void shouldAllowAllEndpointsBeforeDiscoveryIsBound() {
+        final DisabledEndpointInterceptor unboundInterceptor = new DisabledEndpointInterceptor();
+
+        assertThat(unboundInterceptor.preHandle(new MockHttpServletRequest(), new MockHttpServletResponse(), getAccountHandler)).isTrue();
+    }
+
+    @Test
+    void shouldFallBackToBlacklistForUnknownHandlerMethods() {
+        discoveryApiService.setHandlerMethods(List.of());
+
+        assertThat(interceptor.preHandle(new MockHttpServletRequest(), new MockHttpServletResponse(), getAccountHandler)).isFalse();
+        assertThat(interceptor.preHandle(new MockHttpServletRequest(), new MockHttpServletResponse(), getAccountsHandler)).isTrue();
+    }
+
+    private static DiscoveryApiConfigurationProperties disabledApi(OBApiReference apiReference) {
+        final DiscoveryApiConfigurationProperties discoveryProperties = new DiscoveryApiConfigurationProperties();
+        discoveryProperties.setApis(Map.of(apiReference, false));
+        return discoveryProperties;
+    }
+
+    private static AvailableApiEndpoint availableEndpoint(OBApiReference apiReference, HandlerMethod handlerMethod) {
+        return AvailableApiEndpoint.builder()
+                .version("v4.0.0")
+                .apiReference(apiReference)
+                .controllerMethod(ControllerMethod.of(handlerMethod.getBeanType(), handlerMethod.getMethod()))
+                .build();
+    }
+
+    public static class TestController {
+
+        public String getAccount() {
+            return "account";
+        }
+
+        public String getAccounts() {
+            return "accounts";
+        }
+    }
+}
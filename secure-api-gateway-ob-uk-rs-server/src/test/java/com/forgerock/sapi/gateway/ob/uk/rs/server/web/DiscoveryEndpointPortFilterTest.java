@@ -0,0 +1,85 @@
+/*
+ * Copyright © 2020-2025 ForgeRock AS (obst@forgerock.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.forgerock.sapi.gateway.ob.uk.rs.server.web;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+/**
+ * Unit test for {@link DiscoveryEndpointPortFilter}.
+ */
+class DiscoveryEndpointPortFilterTest {
+
+    private static final int SERVER_PORT = 8080;
+    private static final int DISCOVERY_PORT = 8081;
+
+    private final DiscoveryEndpointPortFilter filter = new DiscoveryEndpointPortFilter("/actuator/discovery", () -> DISCOVERY_PORT);
+
+    @Test
+    void shouldServeDiscoveryEndpointOnDiscoveryPort() throws Exception {
+        final MockFilterChain filterChain = new MockFilterChain();
+
+        final MockHttpServletResponse response = filter(DISCOVERY_PORT, "/actuator/discovery", filterChain);
+
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.OK.value());
+        assertThat(filterChain.getRequest()).isNotNull();
+    }
+
+    @Test
+    void shouldNotServeDiscoveryEndpointOnServerPort() throws Exception {
+        final MockFilterChain filterChain = new MockFilterChain();
+
+        final MockHttpServletResponse response = filter(SERVER_PORT, "/actuator/discovery", filterChain);
+
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.NOT_FOUND.value());
+        assertThat(filterChain.getRequest()).isNull();
+    }
+
+    @Test
+    void shouldServeOtherActuatorEndpointsOnServerPort() throws Exception {
+        final MockFilterChain filterChain = new MockFilterChain();
+
+        final MockHttpServletResponse response = filter(SERVER_PORT, "/actuator/prometheus", filterChain);
+
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.OK.value());
+        assertThat(filterChain.getRequest()).isNotNull();
+    }
+
+    @Test
+    void shouldNotServeAnythingElseOnDiscoveryPort() throws Exception {
+        for (String path : new String[] { "/actuator/health", "/actuator/discoveryx", "/open-banking/v3.1.10/aisp/accounts" }) {
+            final MockFilterChain filterChain = new MockFilterChain();
+
+            final MockHttpServletResponse response = filter(DISCOVERY_PORT, path, filterChain);
+
+            assertThat(response.getStatus()).as(path).isEqualTo(HttpStatus.NOT_FOUND.value());
+            assertThat(filterChain.getRequest()).as(path).isNull();
+        }
+    }
+
+    private MockHttpServletResponse filter(int localPort, String path, MockFilterChain filterChain) throws Exception {
+        final MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+        request.setLocalPort(localPort);
+        final MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, filterChain);
+        return response;
+    }
+}
@@ -0,0 +1,242 @@
+/*
+ * Copyright © 2020-2025 ForgeRock AS (obst@forgerock.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.forgerock.sapi.gateway.ob.uk.rs.validation.obie.frequency;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+
+import org.joda.time.DateTime;
+import org.joda.time.DateTimeConstants;
+import org.joda.time.DateTimeZone;
+import org.joda.time.LocalDate;
+
+import com.forgerock.sapi.gateway.uk.common.shared.api.meta.forgerock.FRFrequencyType;
+import com.forgerock.sapi.gateway.uk.common.shared.api.meta.forgerock.FRQuarterType;
+
+/**
+ * Compiled form of an OBIE standing order frequency (e.g. "IntrvlMnthDay:01:15").
+ * <p>
+ * The frequency string is parsed and matched against the {@link FRFrequencyType} pattern once, rules are cached by
+ * their frequency string, and every occurrence is then computed with constant time date arithmetic. Quarter days are
+ * resolved against a table of the (month, day) pairs matched by the {@link FRQuarterType}, built when the rule is
+ * compiled.
+ */
+public final class FrequencyRule {
+
+    /**
+     * Frequencies are supplied by TPPs, only a bounded number of distinct rules is kept.
+     */
+    static final int MAX_CACHED_RULES = 1024;
+
+    private static final Map<String, FrequencyRule> CACHE = new ConcurrentHashMap<>();
+
+    private final String frequency;
+    private final FRFrequencyType frequencyType;
+    private final int interval;
+    private final int day;
+    private final int[] quarterDays;
+
+    private FrequencyRule(String frequency, FRFrequencyType frequencyType, int interval, int day, int[] quarterDays) {
+        this.frequency = frequency;
+        this.frequencyType = frequencyType;
+        this.interval = interval;
+        this.day = day;
+        this.quarterDays = quarterDays;
+    }
+
+    /**
+     * Returns the compiled rule for a frequency, parsing it on first use.
+     *
+     * @param frequency the OBIE frequency string
+     * @return the compiled rule
+     * @throws IllegalArgumentException if the frequency is not a valid OBIE frequency
+     */
+    public static FrequencyRule of(String frequency) {
+        Objects.requireNonNull(frequency, "frequency must be supplied");
+        FrequencyRule rule = CACHE.get(frequency);
+        if (rule == null) {
+            rule = compile(frequency);
+            if (CACHE.size() < MAX_CACHED_RULES) {
+                CACHE.putIfAbsent(frequency, rule);
+            }
+        }
+        return rule;
+    }
+
+    static FrequencyRule compile(String frequency) {
+        String[] parts = frequency.split(":", 2);
+
+        FRFrequencyType frequencyType = FRFrequencyType.fromFrequencyString(parts[0]);
+        Matcher matcher = frequencyType.getPattern().matcher(frequency);
+        if (!matcher.find()) {
+            throw new IllegalArgumentException("Frequency '" + frequency + "' doesn't match regex '" + frequencyType.getPattern().pattern() + "'");
+        }
+        switch (frequencyType) {
+            case INTERVALWEEKDAY:
+            case WEEKINMONTHDAY:
+            case INTERVALMONTHDAY:
+                return new FrequencyRule(frequency, frequencyType, Integer.parseInt(matcher.group(1)),
+                        Integer.parseInt(matcher.group(2)), null);
+            case INTERVALDAY:
+                return new FrequencyRule(frequency, frequencyType, Integer.parseInt(matcher.group(1)), 0, null);
+            case QUARTERDAY:
+                return new FrequencyRule(frequency, frequencyType, 0, 0,
+                        quarterDays(FRQuarterType.fromQuarterTypeString(matcher.group(1))));
+            case EVERYDAY:
+            case EVERYWORKINGDAY:
+                return new FrequencyRule(frequency, frequencyType, 0, 0, null);
+            default:
+                throw new IllegalStateException("Frequency type should be defined at this state");
+        }
+    }
+
+    /**
+     * Collects the (month, day) pairs of a leap year that fall on a quarter day, encoded as month * 100 + day.
+     */
+    private static int[] quarterDays(FRQuarterType quarterType) {
+        int[] days = new int[366];
+        int count = 0;
+        DateTime candidate = new DateTime(2000, 1, 1, 0, 0, DateTimeZone.UTC);
+        for (int i = 0; i < 366; i++, candidate = candidate.plusDays(1)) {
+            if (quarterType.matchOneQuarter(candidate)) {
+                days[count++] = encode(candidate.getMonthOfYear(), candidate.getDayOfMonth());
+            }
+        }
+        return Arrays.copyOf(days, count);
+    }
+
+    public String getFrequency() {
+        return frequency;
+    }
+
+    public FRFrequencyType getFrequencyType() {
+        return frequencyType;
+    }
+
+    /**
+     * Calculates the occurrence that follows {@code previous}.
+     *
+     * @param previous the date of the previous payment
+     * @return the date of the next payment
+     */
+    public DateTime next(DateTime previous) {
+        switch (frequencyType) {
+            case INTERVALWEEKDAY:
+                return previous.plusWeeks(interval).withDayOfWeek(day);
+            case WEEKINMONTHDAY:
+                return previous.plusMonths(1).withDayOfMonth(1).plusWeeks(interval).withDayOfWeek(day);
+            case INTERVALMONTHDAY:
+                if (day < 0) {
+                    return previous.plusMonths(interval + 1).withDayOfMonth(1).plusDays(day);
+                }
+                // Days 29 to 31 fall on the last day of shorter months
+                DateTime month = previous.plusMonths(interval);
+                return day > month.dayOfMonth().getMaximumValue() ? month.dayOfMonth().withMaximumValue()
+                        : month.withDayOfMonth(day);
+            case QUARTERDAY:
+                return nextQuarterDay(previous);
+            case EVERYDAY:
+                return previous.plusDays(1);
+            case EVERYWORKINGDAY:
+                int dayOfWeek = previous.getDayOfWeek();
+                return previous.plusDays(dayOfWeek >= DateTimeConstants.FRIDAY ? 7 - dayOfWeek + 1 : 1);
+            case INTERVALDAY:
+                return previous.plusDays(interval);
+            default:
+                throw new IllegalStateException("Frequency type should be defined at this state");
+        }
+    }
+
+    /**
+     * Projects the next {@code count} occurrences after {@code from}.
+     *
+     * @param from  the date of the previous payment, which is not included
+     * @param count the number of occurrences to return
+     * @return the occurrences in chronological order
+     */
+    public List<DateTime> nextOccurrences(DateTime from, int count) {
+        if (count < 0) {
+            throw new IllegalArgumentException("count must not be negative: " + count);
+        }
+        List<DateTime> occurrences = new ArrayList<>(count);
+        DateTime current = from;
+        for (int i = 0; i < count; i++) {
+            current = advance(current);
+            occurrences.add(current);
+        }
+        return occurrences;
+    }
+
+    /**
+     * Projects the occurrences after {@code from} and up to and including {@code to}.
+     *
+     * @param from  the date of the previous payment, which is not included
+     * @param to    the end of the window
+     * @param limit the maximum number of occurrences to return
+     * @return the occurrences in chronological order, at most {@code limit} of them
+     */
+    public List<DateTime> occurrencesBetween(DateTime from, DateTime to, int limit) {
+        List<DateTime> occurrences = new ArrayList<>();
+        DateTime current = advance(from);
+        while (occurrences.size() < limit && !current.isAfter(to)) {
+            occurrences.add(current);
+            current = advance(current);
+        }
+        return occurrences;
+    }
+
+    private DateTime advance(DateTime previous) {
+        DateTime next = next(previous);
+        if (!next.isAfter(previous)) {
+            throw new IllegalStateException("Frequency '" + frequency + "' does not advance from '" + previous + "'");
+        }
+        return next;
+    }
+
+    private DateTime nextQuarterDay(DateTime previous) {
+        int year = previous.getYear();
+        int today = encode(previous.getMonthOfYear(), previous.getDayOfMonth());
+        for (int quarterDay : quarterDays) {
+            if (quarterDay > today && existsIn(year, quarterDay)) {
+                return previous.withDate(year, quarterDay / 100, quarterDay % 100);
+            }
+        }
+        for (int quarterDay : quarterDays) {
+            if (quarterDay <= today && existsIn(year + 1, quarterDay)) {
+                return previous.withDate(year + 1, quarterDay / 100, quarterDay % 100);
+            }
+        }
+        throw new IllegalStateException("We should always find a quarter matching for date '" + previous + "'");
+    }
+
+    private static boolean existsIn(int year, int quarterDay) {
+        return quarterDay != encode(2, 29) || new LocalDate(year, 1, 1).year().isLeap();
+    }
+
+    private static int encode(int month, int dayOfMonth) {
+        return month * 100 + dayOfMonth;
+    }
+
+    @Override
+    public String toString() {
+        return "FrequencyRule[" + frequency + "]";
+    }
+}
@@ -15,7 +15,11 @@
  */
 package com.forgerock.sapi.gateway.ob.uk.rs.validation.obie.v3.payment;
 
+import org.joda.time.DateTime;
+
+import com.forgerock.sapi.gateway.ob.uk.common.error.OBRIErrorType;
 import com.forgerock.sapi.gateway.ob.uk.rs.validation.ValidationResult;
+import com.forgerock.sapi.gateway.ob.uk.rs.validation.obie.frequency.FrequencyRule;
 import com.forgerock.sapi.gateway.ob.uk.rs.validation.obie.v3.payment.OBWriteDomesticStandingOrder3Validator.OBWriteDomesticStandingOrder3ValidationContext;
 
 import uk.org.openbanking.datamodel.v3.error.OBError1;
@@ -39,6 +43,21 @@ public class OBWriteDomesticStandingOrder3Validator extends BasePaymentRequestVa
     protected void doPaymentSpecificValidation(OBWriteDomesticStandingOrder3ValidationContext paymentReqValidationCtxt,
                                                ValidationResult<OBError1> validationResult) {
 
-        // No additional rules for OBWriteDomestic2 currently, add validation rules as required.
+        final OBWriteDomesticStandingOrder3DataInitiation initiation = paymentReqValidationCtxt.getPaymentRequestInitiation();
+        if (initiation.getFrequency() != null) {
+            try {
+                FrequencyRule.of(initiation.getFrequency());
+            } catch (IllegalArgumentException e) {
+                validationResult.addError(OBRIErrorType.DATA_INVALID_REQUEST.toOBError1(
+                        String.format("Field: frequency - %s", e.getMessage())));
+            }
+        }
+
+        final DateTime firstPaymentDateTime = initiation.getFirstPaymentDateTime();
+        final DateTime finalPaymentDateTime = initiation.getFinalPaymentDateTime();
+        if (firstPaymentDateTime != null && finalPaymentDateTime != null && finalPaymentDateTime.isBefore(firstPaymentDateTime)) {
+            validationResult.addError(OBRIErrorType.DATA_INVALID_REQUEST.toOBError1(
+                    "Field: finalPaymentDateTime - must not be before the firstPaymentDateTime"));
+        }
     }
 }
@@ -0,0 +1,130 @@
+/*
+ * Copyright © 2020-2025 ForgeRock AS (obst@forgerock.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.forgerock.sapi.gateway.ob.uk.rs.validation.obie.frequency;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowableOfType;
+
+import java.util.List;
+
+import org.joda.time.DateTime;
+import org.junit.jupiter.api.Test;
+
+import com.forgerock.sapi.gateway.uk.common.shared.api.meta.forgerock.FRFrequencyType;
+
+/**
+ * Unit test for {@link FrequencyRule}.
+ */
+class FrequencyRuleTest {
+
+    // (Saturday 6th Feb 2021)
+    private static final DateTime PREVIOUS_DATE_TIME = new DateTime(2021, 2, 6, 11, 0);
+
+    @Test
+    void shouldCacheCompiledRules() {
+        String frequency = FRFrequencyType.INTERVALDAY.getFrequencyStr() + ":02";
+
+        assertThat(FrequencyRule.of(frequency)).isSameAs(FrequencyRule.of(frequency));
+        assertThat(FrequencyRule.of(frequency).getFrequencyType()).isEqualTo(FRFrequencyType.INTERVALDAY);
+    }
+
+    @Test
+    void shouldRaiseException_unknownFrequencyType() {
+        String frequency = FRFrequencyType.EVERYDAY.getFrequencyStr() + "x";
+
+        IllegalArgumentException e = catchThrowableOfType(() -> FrequencyRule.of(frequency), IllegalArgumentException.class);
+
+        assertThat(e.getMessage()).isEqualTo("Frequency type value not found: " + frequency);
+    }
+
+    @Test
+    void shouldRaiseException_patternMismatch() {
+        FRFrequencyType frequencyType = FRFrequencyType.INTERVALDAY;
+        String frequency = frequencyType.getFrequencyStr() + ":1";
+
+        IllegalArgumentException e = catchThrowableOfType(() -> FrequencyRule.of(frequency), IllegalArgumentException.class);
+
+        assertThat(e.getMessage()).isEqualTo("Frequency '" + frequency + "' doesn't match regex '" + frequencyType.getPattern() + "'");
+    }
+
+    @Test
+    void shouldSkipWeekendsForEveryWorkingDay() {
+        FrequencyRule rule = FrequencyRule.of(FRFrequencyType.EVERYWORKINGDAY.getFrequencyStr());
+
+        List<DateTime> occurrences = rule.nextOccurrences(new DateTime(2021, 2, 4, 11, 0), 4);
+
+        assertThat(occurrences).containsExactly(
+                new DateTime(2021, 2, 5, 11, 0),
+                new DateTime(2021, 2, 8, 11, 0),
+                new DateTime(2021, 2, 9, 11, 0),
+                new DateTime(2021, 2, 10, 11, 0));
+    }
+
+    @Test
+    void shouldFindNextEnglishQuarterDays() {
+        FrequencyRule rule = FrequencyRule.of(FRFrequencyType.QUARTERDAY.getFrequencyStr() + ":ENGLISH");
+
+        List<DateTime> occurrences = rule.nextOccurrences(PREVIOUS_DATE_TIME, 5);
+
+        assertThat(occurrences).containsExactly(
+                new DateTime(2021, 3, 25, 11, 0),
+                new DateTime(2021, 6, 24, 11, 0),
+                new DateTime(2021, 9, 29, 11, 0),
+                new DateTime(2021, 12, 25, 11, 0),
+                new DateTime(2022, 3, 25, 11, 0));
+    }
+
+    @Test
+    void shouldCountBackFromMonthEndForNegativeIntervalMonthDay() {
+        FrequencyRule rule = FrequencyRule.of(FRFrequencyType.INTERVALMONTHDAY.getFrequencyStr() + ":01:-01");
+
+        assertThat(rule.next(PREVIOUS_DATE_TIME)).isEqualTo(new DateTime(2021, 3, 31, 11, 0));
+    }
+
+    @Test
+    void shouldUseLastDayOfShorterMonthsForIntervalMonthDay() {
+        FrequencyRule rule = FrequencyRule.of(FRFrequencyType.INTERVALMONTHDAY.getFrequencyStr() + ":01:31");
+
+        List<DateTime> occurrences = rule.nextOccurrences(new DateTime(2021, 1, 31, 11, 0), 3);
+
+        assertThat(occurrences).containsExactly(
+                new DateTime(2021, 2, 28, 11, 0),
+                new DateTime(2021, 3, 31, 11, 0),
+                new DateTime(2021, 4, 30, 11, 0));
+    }
+
+    @Test
+    void shouldReturnOccurrencesWithinWindow() {
+        FrequencyRule rule = FrequencyRule.of(FRFrequencyType.INTERVALDAY.getFrequencyStr() + ":07");
+
+        List<DateTime> occurrences = rule.occurrencesBetween(PREVIOUS_DATE_TIME, new DateTime(2021, 2, 27, 11, 0), 10);
+
+        assertThat(occurrences).containsExactly(
+                new DateTime(2021, 2, 13, 11, 0),
+                new DateTime(2021, 2, 20, 11, 0),
+                new DateTime(2021, 2, 27, 11, 0));
+    }
+
+    @Test
+    void shouldStopAtLimitWithinWindow() {
+        FrequencyRule rule = FrequencyRule.of(FRFrequencyType.EVERYDAY.getFrequencyStr());
+
+        List<DateTime> occurrences = rule.occurrencesBetween(PREVIOUS_DATE_TIME, PREVIOUS_DATE_TIME.plusYears(10), 3);
+
+        assertThat(occurrences).hasSize(3);
+        assertThat(occurrences.get(2)).isEqualTo(PREVIOUS_DATE_TIME.plusDays(3));
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright © 2020-2025 ForgeRock AS (obst@forgerock.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.forgerock.sapi.gateway.ob.uk.rs.validation.obie.v3.payment;
+
+import static com.forgerock.sapi.gateway.ob.uk.rs.validation.ValidationResultTest.validateErrorResult;
+import static com.forgerock.sapi.gateway.ob.uk.rs.validation.ValidationResultTest.validateSuccessResult;
+
+import java.util.List;
+
+import org.joda.time.DateTime;
+import org.junit.jupiter.api.Test;
+
+import com.forgerock.sapi.gateway.ob.uk.common.error.OBRIErrorType;
+import com.forgerock.sapi.gateway.ob.uk.rs.validation.obie.v3.payment.OBWriteDomesticStandingOrder3Validator.OBWriteDomesticStandingOrder3ValidationContext;
+
+import uk.org.openbanking.datamodel.v3.common.OBExternalPaymentContext1Code;
+import uk.org.openbanking.datamodel.v3.common.OBRisk1;
+import uk.org.openbanking.datamodel.v3.payment.OBWriteDomesticStandingOrder3;
+import uk.org.openbanking.datamodel.v3.payment.OBWriteDomesticStandingOrder3Data;
+import uk.org.openbanking.datamodel.v3.payment.OBWriteDomesticStandingOrder3DataInitiation;
+import uk.org.openbanking.datamodel.v3.payment.OBWriteDomesticStandingOrder3DataInitiationFirstPaymentAmount;
+import uk.org.openbanking.datamodel.v3.payment.OBWriteDomesticStandingOrderConsent5;
+import uk.org.openbanking.datamodel.v3.payment.OBWriteDomesticStandingOrderConsent5Data;
+
+class OBWriteDomesticStandingOrder3ValidatorTest {
+
+    private static final String AUTHORISED_STATUS = "Authorised";
+
+    private final OBWriteDomesticStandingOrder3Validator validator = new OBWriteDomesticStandingOrder3Validator();
+
+    @Test
+    public void validationSuccessWhenFrequencyAndPaymentDatesAreValid() {
+        validateSuccessResult(validator.validate(createContext(createInitiation())));
+    }
+
+    @Test
+    public void validationFailsWhenFrequencyIsInvalid() {
+        validateErrorResult(validator.validate(createContext(createInitiation().frequency("EvryDayx"))),
+                List.of(OBRIErrorType.DATA_INVALID_REQUEST.toOBError1("Field: frequency - Frequency type value not found: EvryDayx")));
+    }
+
+    @Test
+    public void validationFailsWhenFinalPaymentIsBeforeFirstPayment() {
+        final OBWriteDomesticStandingOrder3DataInitiation initiation = createInitiation();
+        initiation.finalPaymentDateTime(initiation.getFirstPaymentDateTime().minusDays(1));
+
+        validateErrorResult(validator.validate(createContext(initiation)),
+                List.of(OBRIErrorType.DATA_INVALID_REQUEST.toOBError1("Field: finalPaymentDateTime - must not be before the firstPaymentDateTime")));
+    }
+
+    private static OBWriteDomesticStandingOrder3ValidationContext createContext(OBWriteDomesticStandingOrder3DataInitiation initiation) {
+        final OBWriteDomesticStandingOrderConsent5 consent = new OBWriteDomesticStandingOrderConsent5()
+                .data(new OBWriteDomesticStandingOrderConsent5Data().initiation(initiation)).risk(createRisk());
+        final OBWriteDomesticStandingOrder3 paymentRequest = new OBWriteDomesticStandingOrder3()
+                .data(new OBWriteDomesticStandingOrder3Data().initiation(initiation)).risk(createRisk());
+
+        return new OBWriteDomesticStandingOrder3ValidationContext(paymentRequest, consent, AUTHORISED_STATUS);
+    }
+
+    private static OBRisk1 createRisk() {
+        return new OBRisk1().paymentContextCode(OBExternalPaymentContext1Code.BILLPAYMENT);
+    }
+
+    private static OBWriteDomesticStandingOrder3DataInitiation createInitiation() {
+        return new OBWriteDomesticStandingOrder3DataInitiation()
+                .frequency("IntrvlMnthDay:01:15")
+                .firstPaymentDateTime(new DateTime(2024, 1, 15, 9, 0))
+                .finalPaymentDateTime(new DateTime(2024, 12, 15, 9, 0))
+                .firstPaymentAmount(new OBWriteDomesticStandingOrder3DataInitiationFirstPaymentAmount().amount("36.99").currency("GBP"));
+    }
+}